@@ -164,6 +164,45 @@ testing {
     }
 }
 
+// The load test replays a corpus of bid requests through the evaluator, see LoadTest, and the dataset generator
+// synthesizes its inputs, see DatasetGenerator. Run them with
+// ./gradlew loadTest -PloadTestArgs="--corpus requests.ndjson --model-results /data/files --ssp ssp1"
+// ./gradlew generateDataset -PgeneratorArgs="--model-configuration ModelConfiguration.json --output /data/files --ssp ssp1"
+// ./gradlew bulkScore -PbulkScoreArgs="--archive requests.ndjson.gz --model-results /data/files --ssp ssp1"
+sourceSets {
+    create("loadTest") {
+        compileClasspath += sourceSets.main.get().output
+        runtimeClasspath += sourceSets.main.get().output
+    }
+}
+
+configurations["loadTestImplementation"].extendsFrom(configurations.implementation.get())
+configurations["loadTestRuntimeOnly"].extendsFrom(configurations.runtimeOnly.get())
+
+tasks.register<JavaExec>("loadTest") {
+    description = "Replays a corpus of bid requests through the evaluator and reports its throughput and latencies."
+    group = "verification"
+    classpath = sourceSets["loadTest"].runtimeClasspath
+    mainClass.set("com.amazon.demanddriventrafficevaluator.loadtest.LoadTest")
+    args = (project.findProperty("loadTestArgs") as String? ?: "").split(" ").filter { it.isNotBlank() }
+}
+
+tasks.register<JavaExec>("generateDataset") {
+    description = "Generates model results, configurations and requests at production scale from a model configuration."
+    group = "verification"
+    classpath = sourceSets["loadTest"].runtimeClasspath
+    mainClass.set("com.amazon.demanddriventrafficevaluator.loadtest.DatasetGenerator")
+    args = (project.findProperty("generatorArgs") as String? ?: "").split(" ").filter { it.isNotBlank() }
+}
+
+tasks.register<JavaExec>("bulkScore") {
+    description = "Scores an archive of bid requests against a set of model result files and reports the filter rates."
+    group = "verification"
+    classpath = sourceSets["loadTest"].runtimeClasspath
+    mainClass.set("com.amazon.demanddriventrafficevaluator.loadtest.BulkScoring")
+    args = (project.findProperty("bulkScoreArgs") as String? ?: "").split(" ").filter { it.isNotBlank() }
+}
+
 // Apply a specific Java toolchain to ease working on different environments.
 java {
     toolchain {
@@ -0,0 +1,104 @@
+// Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+// SPDX-License-Identifier: Apache-2.0
+
+package com.amazon.demanddriventrafficevaluator.loadtest;
+
+import com.amazon.demanddriventrafficevaluator.evaluation.readiness.ModelReadiness;
+import com.amazon.demanddriventrafficevaluator.evaluation.scoring.BulkScorer;
+import com.amazon.demanddriventrafficevaluator.evaluation.scoring.BulkScoringStatistics;
+import com.amazon.demanddriventrafficevaluator.factory.BidRequestEvaluatorOnRuleBasedModelFactory;
+import com.amazon.demanddriventrafficevaluator.util.PropertiesUtil;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.log4j.Log4j2;
+import org.apache.commons.configuration2.Configuration;
+import software.amazon.awssdk.auth.credentials.AnonymousCredentialsProvider;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+
+/**
+ * Scores an archive of OpenRTB requests against a set of model result files, and reports the filter rates
+ * overall, per model and per experiment arm.
+ * <p>
+ * The evaluator is built the way a bidder builds it, reading its configurations and model results from the
+ * files of a local directory instead of S3, and the archive is scored with a {@link BulkScorer} on a pool of
+ * as many workers as there are cores. Run with
+ * {@code ./gradlew bulkScore -PbulkScoreArgs="--archive requests.ndjson.gz --model-results /data/files --ssp ssp1"}.
+ * </p>
+ */
+@Log4j2
+public final class BulkScoring {
+
+    private static final String REGION = "us-east-1";
+    private static final double PERCENT = 100.0;
+
+    private final BulkScoringOptions options;
+    private final PrintStream out;
+
+    BulkScoring(BulkScoringOptions options, PrintStream out) {
+        this.options = options;
+        this.out = out;
+    }
+
+    public static void main(String[] args) throws IOException {
+        BulkScoringOptions options;
+        try {
+            options = BulkScoringOptions.parse(args);
+        } catch (IllegalArgumentException e) {
+            System.err.println(e.getMessage());
+            System.exit(2);
+            return;
+        }
+        new BulkScoring(options, new PrintStream(System.out, true, StandardCharsets.UTF_8)).run();
+        // the periodic loading tasks of the evaluator run on non-daemon threads
+        System.exit(0);
+    }
+
+    void run() throws IOException {
+        Configuration properties = PropertiesUtil.getProperties();
+        properties.setProperty("task.object-source.type", "FileSystem");
+        properties.setProperty("task.object-source.directory", options.getModelResultDirectory().toString());
+
+        ScheduledThreadPoolExecutor executor = new ScheduledThreadPoolExecutor(1);
+        BidRequestEvaluatorOnRuleBasedModelFactory factory = new BidRequestEvaluatorOnRuleBasedModelFactory(
+                options.getSspIdentifier(), AnonymousCredentialsProvider.create(), REGION, options.getBucket(), executor);
+        factory.getTaskInitializer().init();
+        for (ModelReadiness modelReadiness : factory.getReadiness().getModelReadinessByIdentifier().values()) {
+            if (!modelReadiness.isPresent()) {
+                log.warn("No model results of model {} were loaded, its lookups all miss", modelReadiness.getModelIdentifier());
+            }
+        }
+
+        ForkJoinPool pool = new ForkJoinPool(options.getParallelism());
+        BulkScoringStatistics statistics;
+        long startNanos = System.nanoTime();
+        try {
+            statistics = new BulkScorer(factory.getEvaluator(), pool, options.getBatchSize())
+                    .score(options.getArchive(), options.getDecisions());
+        } finally {
+            pool.shutdown();
+            executor.shutdownNow();
+        }
+        double elapsedS = (System.nanoTime() - startNanos) / 1e9;
+
+        out.printf(Locale.ROOT, "Scored %d requests on %d workers in %.1f s, %.0f requests/s%n",
+                statistics.getRequestCount(), options.getParallelism(), elapsedS, statistics.getRequestCount() / elapsedS);
+        out.printf(Locale.ROOT, "Slots: %d, %.2f%% filtered, %d default responses%n",
+                statistics.getSlotCount(), statistics.getFilterRate() * PERCENT, statistics.getDefaultResponseCount());
+        statistics.getModelStatistics().forEach((modelIdentifier, modelStatistics) ->
+                out.printf(Locale.ROOT, "Model %s: %d evaluations, %d errors, %.2f%% hits, %.2f%% filtered%n",
+                        modelIdentifier, modelStatistics.getEvaluationCount(), modelStatistics.getErrorCount(),
+                        modelStatistics.getHitRate() * PERCENT, modelStatistics.getFilterRate() * PERCENT));
+        statistics.getArmStatistics().forEach((arm, armStatistics) ->
+                out.printf(Locale.ROOT, "Arm %s: %d slots, %.2f%% low value, %.2f%% filtered%n",
+                        arm, armStatistics.getSlotCount(), armStatistics.getLowValueRate() * PERCENT,
+                        armStatistics.getFilterRate() * PERCENT));
+        if (options.getStatistics() != null) {
+            new ObjectMapper().writerWithDefaultPrettyPrinter().writeValue(options.getStatistics().toFile(), statistics);
+        }
+    }
+}
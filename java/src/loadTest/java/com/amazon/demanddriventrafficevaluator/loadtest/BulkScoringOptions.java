@@ -0,0 +1,102 @@
+// Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+// SPDX-License-Identifier: Apache-2.0
+
+package com.amazon.demanddriventrafficevaluator.loadtest;
+
+import com.amazon.demanddriventrafficevaluator.evaluation.scoring.BulkScorer;
+import lombok.Builder;
+import lombok.Getter;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+/**
+ * The options of a bulk scoring, parsed from the command line arguments, e.g.
+ * {@code --archive requests.ndjson.gz --model-results /data/files --ssp ssp1 --decisions decisions.ndjson.gz}.
+ */
+@Builder
+@Getter
+final class BulkScoringOptions {
+
+    static final String USAGE = "Usage: --archive <file> --model-results <directory> --ssp <identifier>"
+            + " [--bucket <name>] [--decisions <file>] [--statistics <file>] [--parallelism <workers>]"
+            + " [--batch-size <requests>]";
+    private static final String DEFAULT_BUCKET = "load-test";
+
+    /**
+     * The archive of OpenRTB requests scored, one JSON request per line, compressed with gzip or not.
+     */
+    private final Path archive;
+    /**
+     * The directory holding the model result and configuration files, laid out as {@code <bucket>/<key>}.
+     */
+    private final Path modelResultDirectory;
+    private final String sspIdentifier;
+    private final String bucket;
+    /**
+     * The file the decision of every request is written to, compressed if it ends with .gz, or null.
+     */
+    private final Path decisions;
+    /**
+     * The file the statistics are written to in JSON, or null.
+     */
+    private final Path statistics;
+    private final int parallelism;
+    private final int batchSize;
+
+    /**
+     * Parses the command line arguments.
+     *
+     * @param args The arguments, as pairs of option names and values.
+     * @return The options.
+     * @throws IllegalArgumentException if an option is unknown, lacks its value or a required option is missing.
+     */
+    static BulkScoringOptions parse(String[] args) {
+        BulkScoringOptionsBuilder builder = BulkScoringOptions.builder()
+                .bucket(DEFAULT_BUCKET)
+                .parallelism(Runtime.getRuntime().availableProcessors())
+                .batchSize(BulkScorer.DEFAULT_BATCH_SIZE);
+        for (int i = 0; i < args.length; i += 2) {
+            if (i + 1 == args.length) {
+                throw new IllegalArgumentException("Missing the value of option " + args[i] + ". " + USAGE);
+            }
+            String value = args[i + 1];
+            switch (args[i]) {
+                case "--archive":
+                    builder.archive(Paths.get(value));
+                    break;
+                case "--model-results":
+                    builder.modelResultDirectory(Paths.get(value));
+                    break;
+                case "--ssp":
+                    builder.sspIdentifier(value);
+                    break;
+                case "--bucket":
+                    builder.bucket(value);
+                    break;
+                case "--decisions":
+                    builder.decisions(Paths.get(value));
+                    break;
+                case "--statistics":
+                    builder.statistics(Paths.get(value));
+                    break;
+                case "--parallelism":
+                    builder.parallelism(Integer.parseInt(value));
+                    break;
+                case "--batch-size":
+                    builder.batchSize(Integer.parseInt(value));
+                    break;
+                default:
+                    throw new IllegalArgumentException("Unknown option " + args[i] + ". " + USAGE);
+            }
+        }
+        BulkScoringOptions options = builder.build();
+        if (options.archive == null || options.modelResultDirectory == null || options.sspIdentifier == null) {
+            throw new IllegalArgumentException("The archive, model result directory and SSP are required. " + USAGE);
+        }
+        if (options.parallelism <= 0 || options.batchSize <= 0) {
+            throw new IllegalArgumentException("The parallelism and batch size must be positive. " + USAGE);
+        }
+        return options;
+    }
+}
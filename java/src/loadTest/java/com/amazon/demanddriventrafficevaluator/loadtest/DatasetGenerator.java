@@ -0,0 +1,320 @@
+// Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+// SPDX-License-Identifier: Apache-2.0
+
+package com.amazon.demanddriventrafficevaluator.loadtest;
+
+import com.amazon.demanddriventrafficevaluator.evaluation.evaluator.OpenRtbRequestContext;
+import com.amazon.demanddriventrafficevaluator.evaluation.evaluator.OpenRtbRequestContextJsonDocument;
+import com.amazon.demanddriventrafficevaluator.factory.ExtractorRegistryFactory;
+import com.amazon.demanddriventrafficevaluator.factory.TransformerRegistryFactory;
+import com.amazon.demanddriventrafficevaluator.modelfeature.Extraction;
+import com.amazon.demanddriventrafficevaluator.modelfeature.ModelFeature;
+import com.amazon.demanddriventrafficevaluator.modelfeature.Transformation;
+import com.amazon.demanddriventrafficevaluator.repository.entity.ExperimentConfiguration;
+import com.amazon.demanddriventrafficevaluator.repository.entity.ExperimentDefinition;
+import com.amazon.demanddriventrafficevaluator.repository.entity.FeatureConfiguration;
+import com.amazon.demanddriventrafficevaluator.repository.entity.ModelConfiguration;
+import com.amazon.demanddriventrafficevaluator.repository.entity.ModelDefinition;
+import com.amazon.demanddriventrafficevaluator.repository.entity.TreatmentDefinition;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.common.hash.Hashing;
+import com.jayway.jsonpath.Configuration;
+import com.jayway.jsonpath.JsonPath;
+import com.jayway.jsonpath.Option;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.SplittableRandom;
+
+/**
+ * Generates a dataset at production scale from a model configuration: the model results of every model, an
+ * experiment configuration, and a corpus of OpenRTB requests hitting the model results at a given ratio.
+ * <p>
+ * The requests are synthesized from the Zipfian distributions of the features, see {@link SyntheticFeature},
+ * and the tuples of the model results are computed from synthesized requests with the extraction and
+ * transformations of the library, so that the requests produce the very tuples the models are looked up
+ * with. A hit request is one of the requests the tuples were computed from; a miss request gives the
+ * features without mapping values outside their distributions. The files are laid out like the local
+ * object source, so that the load test, see {@link LoadTest}, reads them as they are. Run with
+ * {@code ./gradlew generateDataset -PgeneratorArgs="--model-configuration ModelConfiguration.json --output /data/files --ssp ssp1"}.
+ * </p>
+ */
+public final class DatasetGenerator {
+
+    static final String EXPERIMENT_NAME = "DemandDrivenTrafficEvaluatorSoftFilter";
+    static final String EXPERIMENT_TYPE = "soft-filter";
+    static final String REQUEST_FILE_NAME = "requests.ndjson";
+    private static final String MISS_VALUE_PREFIX = "miss-";
+    private static final String KEY_DELIMITER = "|";
+    private static final Configuration DOCUMENT_CONFIGURATION = Configuration.builder().build().addOptions(Option.ALWAYS_RETURN_LIST);
+    private static final DateTimeFormatter HOUR_FORMATTER = DateTimeFormatter.ofPattern("HH");
+    private static final int ALLOCATION_ID_COUNT = 4096;
+    private static final int MAX_WEIGHT = 100;
+    private static final long EXPERIMENT_DURATION_DAYS = 365L;
+    // the samples drawn per tuple before giving up on the tuple count, when the features have too few candidates
+    private static final long MAX_SAMPLES_PER_TUPLE = 20L;
+    private static final long SAMPLE_SEED_INCREMENT = 0x9E3779B97F4A7C15L;
+    private static final long REQUEST_SEED = 0x5DEECE66DL;
+
+    private final DatasetGeneratorOptions options;
+    private final PrintStream out;
+    private final ObjectMapper mapper = new ObjectMapper();
+    private final Extraction extraction = new Extraction(ExtractorRegistryFactory.getInstance().getSingleton());
+    private final Transformation transformation = new Transformation(TransformerRegistryFactory.getInstance().getSingleton());
+    private List<SyntheticFeature> features;
+
+    DatasetGenerator(DatasetGeneratorOptions options, PrintStream out) {
+        this.options = options;
+        this.out = out;
+    }
+
+    public static void main(String[] args) throws IOException {
+        DatasetGeneratorOptions options;
+        try {
+            options = DatasetGeneratorOptions.parse(args);
+        } catch (IllegalArgumentException e) {
+            System.err.println(e.getMessage());
+            System.exit(2);
+            return;
+        }
+        new DatasetGenerator(options, new PrintStream(System.out, true, StandardCharsets.UTF_8)).run();
+    }
+
+    void run() throws IOException {
+        ModelConfiguration modelConfiguration = mapper.readValue(options.getModelConfiguration().toFile(), ModelConfiguration.class);
+        List<ModelDefinition> modelDefinitions = new ArrayList<>(modelConfiguration.getModelDefinitionByIdentifier().values());
+        features = buildFeatures(modelDefinitions);
+        for (SyntheticFeature feature : features) {
+            out.printf(Locale.ROOT, "Feature %s: %d candidates%n", feature.getName(), feature.getCardinality());
+        }
+
+        Path sspDirectory = options.getOutputDirectory().resolve(options.getBucket()).resolve(options.getSspIdentifier());
+        Path modelConfigurationFile = sspDirectory.resolve("configuration").resolve("model").resolve("config.json");
+        Files.createDirectories(modelConfigurationFile.getParent());
+        Files.copy(options.getModelConfiguration(), modelConfigurationFile, StandardCopyOption.REPLACE_EXISTING);
+        Path experimentConfigurationFile = sspDirectory.resolve("configuration").resolve("experiment").resolve("config.json");
+        Files.createDirectories(experimentConfigurationFile.getParent());
+        mapper.writerWithDefaultPrettyPrinter().writeValue(experimentConfigurationFile.toFile(), buildExperimentConfiguration(modelDefinitions));
+
+        ZonedDateTime hour = options.getHour().atZone(ZoneOffset.UTC);
+        Path hourDirectory = sspDirectory.resolve(hour.format(DateTimeFormatter.ISO_LOCAL_DATE)).resolve(hour.format(HOUR_FORMATTER));
+        Files.createDirectories(hourDirectory);
+        List<Set<Long>> tupleHashesByModel = new ArrayList<>();
+        for (int i = 0; i < modelDefinitions.size(); i++) {
+            tupleHashesByModel.add(new HashSet<>());
+        }
+        long sampleCount = writeModelResults(modelDefinitions, hourDirectory, tupleHashesByModel);
+        for (int i = 0; i < modelDefinitions.size(); i++) {
+            out.printf(Locale.ROOT, "Model %s: %d tuples%n", modelDefinitions.get(i).getIdentifier(), tupleHashesByModel.get(i).size());
+        }
+        out.printf(Locale.ROOT, "Tuples computed from %d sampled requests into %s%n", sampleCount, hourDirectory);
+
+        long hitCount = writeRequests(modelDefinitions, tupleHashesByModel, sampleCount);
+        out.printf(Locale.ROOT, "%d requests, hit ratio %.3f, into %s%n", options.getRequestCount(),
+                options.getRequestCount() == 0 ? 0.0 : hitCount / (double) options.getRequestCount(),
+                options.getOutputDirectory().resolve(REQUEST_FILE_NAME));
+    }
+
+    List<SyntheticFeature> buildFeatures(List<ModelDefinition> modelDefinitions) {
+        Set<String> fieldPaths = new LinkedHashSet<>();
+        for (ModelDefinition modelDefinition : modelDefinitions) {
+            for (FeatureConfiguration featureConfiguration : modelDefinition.getFeatures()) {
+                fieldPaths.addAll(featureConfiguration.getFields());
+            }
+        }
+        // a field holding the object of another field, e.g. $.app of $.app.publisher.id, is set by the other field
+        Set<String> objectFieldPaths = new HashSet<>();
+        for (String fieldPath : fieldPaths) {
+            if (fieldPaths.stream().anyMatch(other -> other.startsWith(fieldPath + ".") || other.startsWith(fieldPath + "["))) {
+                objectFieldPaths.add(fieldPath);
+            }
+        }
+        Map<String, SyntheticFeature> featuresByKey = new LinkedHashMap<>();
+        for (ModelDefinition modelDefinition : modelDefinitions) {
+            for (FeatureConfiguration featureConfiguration : modelDefinition.getFeatures()) {
+                DatasetGeneratorOptions.FeatureDistribution distribution = options.getFeatureDistribution(featureConfiguration.getName());
+                featuresByKey.computeIfAbsent(featureConfiguration.getName() + featureConfiguration.getFields(),
+                        key -> new SyntheticFeature(featureConfiguration, objectFieldPaths,
+                                distribution.getCardinality(), distribution.getExponent()));
+            }
+        }
+        return new ArrayList<>(featuresByKey.values());
+    }
+
+    /**
+     * Writes the distinct tuples of the sampled requests into the model result file of every model, until every
+     * model has the tuple count or too many requests were sampled.
+     *
+     * @return The number of sampled requests.
+     */
+    private long writeModelResults(List<ModelDefinition> modelDefinitions, Path hourDirectory, List<Set<Long>> tupleHashesByModel)
+            throws IOException {
+        List<BufferedWriter> writers = new ArrayList<>();
+        try {
+            for (ModelDefinition modelDefinition : modelDefinitions) {
+                writers.add(Files.newBufferedWriter(hourDirectory.resolve(modelDefinition.getIdentifier() + ".csv"), StandardCharsets.UTF_8));
+            }
+            long maxSampleCount = options.getTupleCount() * MAX_SAMPLES_PER_TUPLE;
+            int completeModelCount = 0;
+            long sampleCount = 0L;
+            while (completeModelCount < modelDefinitions.size() && sampleCount < maxSampleCount) {
+                OpenRtbRequestContext request = parse(buildRequest(sampleCount, null));
+                for (int i = 0; i < modelDefinitions.size(); i++) {
+                    Set<Long> tupleHashes = tupleHashesByModel.get(i);
+                    if (tupleHashes.size() == options.getTupleCount()) {
+                        continue;
+                    }
+                    String tuple = getTuple(modelDefinitions.get(i), request);
+                    if (tuple != null && tupleHashes.add(hash(tuple))) {
+                        writers.get(i).write(tuple);
+                        writers.get(i).newLine();
+                        if (tupleHashes.size() == options.getTupleCount()) {
+                            completeModelCount++;
+                        }
+                    }
+                }
+                sampleCount++;
+            }
+            return sampleCount;
+        } finally {
+            for (BufferedWriter writer : writers) {
+                writer.close();
+            }
+        }
+    }
+
+    /**
+     * Writes the requests of the corpus, either sampled requests the tuples were computed from or requests missing
+     * the model results.
+     *
+     * @return The number of requests whose tuples are in the model results of every model.
+     */
+    private long writeRequests(List<ModelDefinition> modelDefinitions, List<Set<Long>> tupleHashesByModel, long sampleCount)
+            throws IOException {
+        SplittableRandom random = new SplittableRandom(options.getSeed() ^ REQUEST_SEED);
+        long hitCount = 0L;
+        try (BufferedWriter writer = Files.newBufferedWriter(options.getOutputDirectory().resolve(REQUEST_FILE_NAME), StandardCharsets.UTF_8)) {
+            for (int i = 0; i < options.getRequestCount(); i++) {
+                String request = random.nextDouble() < options.getHitRatio()
+                        ? buildRequest(random.nextLong(sampleCount), null)
+                        : buildRequest(sampleCount + i, MISS_VALUE_PREFIX + i);
+                if (isHit(modelDefinitions, tupleHashesByModel, parse(request))) {
+                    hitCount++;
+                }
+                writer.write(request);
+                writer.newLine();
+            }
+        }
+        return hitCount;
+    }
+
+    /**
+     * Builds the sampled request of the given index; the same index always builds the same request.
+     */
+    String buildRequest(long index, String missValue) throws IOException {
+        SplittableRandom random = new SplittableRandom(options.getSeed() + index * SAMPLE_SEED_INCREMENT);
+        Map<String, Object> request = new LinkedHashMap<>();
+        request.put("id", "synthetic-" + index);
+        for (SyntheticFeature feature : features) {
+            feature.set(request, feature.sample(random.nextDouble()), missValue);
+        }
+        return mapper.writeValueAsString(request);
+    }
+
+    /**
+     * Computes the tuple a model is looked up with for a request, the first value of every feature joined by "|".
+     *
+     * @return The tuple, or null if a feature has no value.
+     */
+    String getTuple(ModelDefinition modelDefinition, OpenRtbRequestContext request) {
+        StringBuilder tuple = new StringBuilder();
+        List<FeatureConfiguration> featureConfigurations = modelDefinition.getFeatures();
+        for (int i = 0; i < featureConfigurations.size(); i++) {
+            ModelFeature modelFeature = transformation.transform(
+                    extraction.extract(request, featureConfigurations.get(i), modelDefinition.getFeatureExtractorType()));
+            if (modelFeature.getValues().isEmpty()) {
+                return null;
+            }
+            if (i > 0) {
+                tuple.append(KEY_DELIMITER);
+            }
+            tuple.append(modelFeature.getValues().get(0));
+        }
+        return tuple.toString();
+    }
+
+    private boolean isHit(List<ModelDefinition> modelDefinitions, List<Set<Long>> tupleHashesByModel, OpenRtbRequestContext request) {
+        for (int i = 0; i < modelDefinitions.size(); i++) {
+            String tuple = getTuple(modelDefinitions.get(i), request);
+            if (tuple == null || !tupleHashesByModel.get(i).contains(hash(tuple))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private ExperimentConfiguration buildExperimentConfiguration(List<ModelDefinition> modelDefinitions) {
+        int treatmentIdEnd = ALLOCATION_ID_COUNT * options.getTreatmentWeight() / MAX_WEIGHT - 1;
+        Instant hour = options.getHour();
+        ExperimentDefinition experimentDefinition = ExperimentDefinition.builder()
+                .name(EXPERIMENT_NAME)
+                .type(EXPERIMENT_TYPE)
+                .treatmentDefinitions(List.of(
+                        TreatmentDefinition.builder()
+                                .treatmentCode("T")
+                                .idStart(0)
+                                .idEnd(treatmentIdEnd)
+                                .weight(options.getTreatmentWeight())
+                                .build(),
+                        TreatmentDefinition.builder()
+                                .treatmentCode("C")
+                                .idStart(treatmentIdEnd + 1)
+                                .idEnd(ALLOCATION_ID_COUNT - 1)
+                                .weight(MAX_WEIGHT - options.getTreatmentWeight())
+                                .build()))
+                .salt(Long.toHexString(new SplittableRandom(options.getSeed()).nextLong()))
+                .startTimeUTC(hour.minus(1L, ChronoUnit.DAYS).toEpochMilli())
+                .endTimeUTC(hour.plus(EXPERIMENT_DURATION_DAYS, ChronoUnit.DAYS).toEpochMilli())
+                .allocationIdStart(0)
+                .allocationIdEnd(ALLOCATION_ID_COUNT - 1)
+                .hashEnabled(true)
+                .build();
+        Map<String, String> modelToExperiment = new LinkedHashMap<>();
+        for (ModelDefinition modelDefinition : modelDefinitions) {
+            modelToExperiment.put(modelDefinition.getIdentifier(), EXPERIMENT_NAME);
+        }
+        ExperimentConfiguration experimentConfiguration = new ExperimentConfiguration();
+        experimentConfiguration.setType("ExperimentConfiguration");
+        experimentConfiguration.setExperimentDefinitionByName(Map.of(EXPERIMENT_NAME, experimentDefinition));
+        experimentConfiguration.setModelToExperiment(modelToExperiment);
+        return experimentConfiguration;
+    }
+
+    private static OpenRtbRequestContext parse(String request) {
+        OpenRtbRequestContextJsonDocument document = new OpenRtbRequestContextJsonDocument();
+        document.setOpenRtbRequestContext(JsonPath.parse(request, DOCUMENT_CONFIGURATION));
+        return document;
+    }
+
+    private static long hash(String tuple) {
+        return Hashing.murmur3_128().hashString(tuple, StandardCharsets.UTF_8).asLong();
+    }
+}
@@ -0,0 +1,180 @@
+// Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+// SPDX-License-Identifier: Apache-2.0
+
+package com.amazon.demanddriventrafficevaluator.loadtest;
+
+import lombok.Builder;
+import lombok.Getter;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * The options of a dataset generation, parsed from the command line arguments, e.g.
+ * {@code --model-configuration ModelConfiguration.json --output /data/files --ssp ssp1 --tuples 5000000
+ * --feature publisherId:200000:1.1}.
+ */
+@Builder
+@Getter
+final class DatasetGeneratorOptions {
+
+    static final String USAGE = "Usage: --model-configuration <file> --output <directory> --ssp <identifier>"
+            + " [--bucket <name>] [--tuples <count per model>] [--requests <count>] [--hit-ratio <0 to 1>]"
+            + " [--cardinality <values per feature>] [--zipf-exponent <exponent>]"
+            + " [--feature <name>:<cardinality>:<exponent>]... [--treatment-weight <0 to 100>]"
+            + " [--hour <yyyy-MM-ddTHH>] [--seed <seed>]";
+    private static final String DEFAULT_BUCKET = "load-test";
+    private static final long DEFAULT_TUPLE_COUNT = 1_000_000L;
+    private static final int DEFAULT_REQUEST_COUNT = 100_000;
+    private static final double DEFAULT_HIT_RATIO = 0.5;
+    private static final int DEFAULT_CARDINALITY = 10_000;
+    private static final double DEFAULT_ZIPF_EXPONENT = 1.0;
+    private static final int DEFAULT_TREATMENT_WEIGHT = 50;
+    private static final int MAX_WEIGHT = 100;
+
+    private final Path modelConfiguration;
+    /**
+     * The directory the files are written to, laid out as {@code <bucket>/<key>} like the local object source.
+     */
+    private final Path outputDirectory;
+    private final String sspIdentifier;
+    private final String bucket;
+    /**
+     * The number of distinct tuples written in the model results of each model.
+     */
+    private final long tupleCount;
+    private final int requestCount;
+    /**
+     * The share of the requests whose tuples are all in the model results.
+     */
+    private final double hitRatio;
+    private final int cardinality;
+    private final double zipfExponent;
+    /**
+     * The cardinality and exponent of the features overriding the defaults, by feature name.
+     */
+    private final Map<String, FeatureDistribution> featureDistributions;
+    /**
+     * The share of the traffic in the treatment of the experiment, in percent.
+     */
+    private final int treatmentWeight;
+    /**
+     * The hour whose model result files are written.
+     */
+    private final Instant hour;
+    private final long seed;
+
+    /**
+     * Returns the distribution of the candidates of a feature.
+     *
+     * @param featureName The name of the feature.
+     * @return The distribution set for the feature, or else the default distribution.
+     */
+    FeatureDistribution getFeatureDistribution(String featureName) {
+        return featureDistributions.getOrDefault(featureName, new FeatureDistribution(cardinality, zipfExponent));
+    }
+
+    /**
+     * Parses the command line arguments.
+     *
+     * @param args The arguments, as pairs of option names and values.
+     * @return The options.
+     * @throws IllegalArgumentException if an option is unknown or invalid, lacks its value or a required option is missing.
+     */
+    static DatasetGeneratorOptions parse(String[] args) {
+        Map<String, FeatureDistribution> featureDistributions = new LinkedHashMap<>();
+        DatasetGeneratorOptionsBuilder builder = DatasetGeneratorOptions.builder()
+                .bucket(DEFAULT_BUCKET)
+                .tupleCount(DEFAULT_TUPLE_COUNT)
+                .requestCount(DEFAULT_REQUEST_COUNT)
+                .hitRatio(DEFAULT_HIT_RATIO)
+                .cardinality(DEFAULT_CARDINALITY)
+                .zipfExponent(DEFAULT_ZIPF_EXPONENT)
+                .featureDistributions(featureDistributions)
+                .treatmentWeight(DEFAULT_TREATMENT_WEIGHT)
+                .hour(Instant.now().truncatedTo(ChronoUnit.HOURS));
+        for (int i = 0; i < args.length; i += 2) {
+            if (i + 1 == args.length) {
+                throw new IllegalArgumentException("Missing the value of option " + args[i] + ". " + USAGE);
+            }
+            String value = args[i + 1];
+            switch (args[i]) {
+                case "--model-configuration":
+                    builder.modelConfiguration(Paths.get(value));
+                    break;
+                case "--output":
+                    builder.outputDirectory(Paths.get(value));
+                    break;
+                case "--ssp":
+                    builder.sspIdentifier(value);
+                    break;
+                case "--bucket":
+                    builder.bucket(value);
+                    break;
+                case "--tuples":
+                    builder.tupleCount(Long.parseLong(value));
+                    break;
+                case "--requests":
+                    builder.requestCount(Integer.parseInt(value));
+                    break;
+                case "--hit-ratio":
+                    builder.hitRatio(Double.parseDouble(value));
+                    break;
+                case "--cardinality":
+                    builder.cardinality(Integer.parseInt(value));
+                    break;
+                case "--zipf-exponent":
+                    builder.zipfExponent(Double.parseDouble(value));
+                    break;
+                case "--feature":
+                    String[] parts = value.split(":", -1);
+                    if (parts.length != 3) {
+                        throw new IllegalArgumentException("Invalid feature distribution " + value + ". " + USAGE);
+                    }
+                    featureDistributions.put(parts[0], new FeatureDistribution(Integer.parseInt(parts[1]), Double.parseDouble(parts[2])));
+                    break;
+                case "--treatment-weight":
+                    builder.treatmentWeight(Integer.parseInt(value));
+                    break;
+                case "--hour":
+                    builder.hour(LocalDateTime.parse(value + ":00").toInstant(ZoneOffset.UTC));
+                    break;
+                case "--seed":
+                    builder.seed(Long.parseLong(value));
+                    break;
+                default:
+                    throw new IllegalArgumentException("Unknown option " + args[i] + ". " + USAGE);
+            }
+        }
+        DatasetGeneratorOptions options = builder.build();
+        if (options.modelConfiguration == null || options.outputDirectory == null || options.sspIdentifier == null) {
+            throw new IllegalArgumentException("The model configuration, output directory and SSP are required. " + USAGE);
+        }
+        if (options.tupleCount <= 0L || options.requestCount < 0 || options.hitRatio < 0.0 || options.hitRatio > 1.0
+                || options.cardinality <= 0 || options.treatmentWeight < 0 || options.treatmentWeight > MAX_WEIGHT) {
+            throw new IllegalArgumentException("An option is out of its range. " + USAGE);
+        }
+        return options;
+    }
+
+    /**
+     * The Zipfian distribution of the candidates of a feature.
+     */
+    @Getter
+    static final class FeatureDistribution {
+
+        private final int cardinality;
+        private final double exponent;
+
+        FeatureDistribution(int cardinality, double exponent) {
+            this.cardinality = cardinality;
+            this.exponent = exponent;
+        }
+    }
+}
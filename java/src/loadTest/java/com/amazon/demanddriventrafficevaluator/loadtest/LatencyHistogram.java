@@ -0,0 +1,106 @@
+// Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+// SPDX-License-Identifier: Apache-2.0
+
+package com.amazon.demanddriventrafficevaluator.loadtest;
+
+/**
+ * A histogram of latencies in nanoseconds, with a relative precision of 1/{@link #SUB_BUCKET_HALF_COUNT}.
+ * <p>
+ * The values below {@link #SUB_BUCKET_COUNT} have a bucket each; above, every power of two is split into
+ * {@link #SUB_BUCKET_HALF_COUNT} buckets, so that the histogram covers every long value in a few thousand
+ * counters, and recording a value neither allocates nor takes a lock. A histogram is written by a single
+ * thread; the histograms of the workers are added up once they are done.
+ * </p>
+ */
+final class LatencyHistogram {
+
+    private static final int SUB_BUCKET_BITS = 7;
+    static final int SUB_BUCKET_COUNT = 1 << SUB_BUCKET_BITS;
+    static final int SUB_BUCKET_HALF_COUNT = SUB_BUCKET_COUNT / 2;
+    private static final int MAX_SHIFT = Long.SIZE - SUB_BUCKET_BITS;
+    private static final double PERCENT = 100.0;
+
+    private final long[] counts = new long[(MAX_SHIFT + 1) * SUB_BUCKET_HALF_COUNT + SUB_BUCKET_COUNT];
+    private long count;
+    private long max;
+    private double sum;
+
+    /**
+     * Records a value.
+     *
+     * @param value The value, negative values being recorded as 0.
+     */
+    void record(long value) {
+        long recorded = Math.max(value, 0L);
+        counts[index(recorded)]++;
+        count++;
+        max = Math.max(max, recorded);
+        sum += recorded;
+    }
+
+    /**
+     * Adds the values recorded by another histogram to this one.
+     *
+     * @param other The other histogram.
+     */
+    void add(LatencyHistogram other) {
+        for (int i = 0; i < counts.length; i++) {
+            counts[i] += other.counts[i];
+        }
+        count += other.count;
+        max = Math.max(max, other.max);
+        sum += other.sum;
+    }
+
+    long getCount() {
+        return count;
+    }
+
+    long getMax() {
+        return max;
+    }
+
+    double getMean() {
+        return count == 0L ? 0.0 : sum / count;
+    }
+
+    /**
+     * Returns the value at the given percentile, rounded up to the highest value of its bucket.
+     *
+     * @param percentile The percentile, between 0 and 100.
+     * @return The value, or 0 if no value was recorded.
+     */
+    long getValueAtPercentile(double percentile) {
+        if (count == 0L) {
+            return 0L;
+        }
+        long rank = Math.max(1L, (long) Math.ceil(percentile / PERCENT * count));
+        long cumulativeCount = 0L;
+        for (int i = 0; i < counts.length; i++) {
+            cumulativeCount += counts[i];
+            if (cumulativeCount >= rank) {
+                return Math.min(highestValue(i), max);
+            }
+        }
+        return max;
+    }
+
+    static int index(long value) {
+        if (value < SUB_BUCKET_COUNT) {
+            return (int) value;
+        }
+        int shift = Long.SIZE - Long.numberOfLeadingZeros(value) - SUB_BUCKET_BITS;
+        return shift * SUB_BUCKET_HALF_COUNT + (int) (value >>> shift);
+    }
+
+    static long highestValue(int index) {
+        if (index < SUB_BUCKET_COUNT) {
+            return index;
+        }
+        int shift = index / SUB_BUCKET_HALF_COUNT - 1;
+        long subBucket = index % SUB_BUCKET_HALF_COUNT + SUB_BUCKET_HALF_COUNT;
+        long highest = ((subBucket + 1) << shift) - 1;
+        // the last bucket ends past the largest long
+        return highest < 0L ? Long.MAX_VALUE : highest;
+    }
+}
@@ -0,0 +1,201 @@
+// Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+// SPDX-License-Identifier: Apache-2.0
+
+package com.amazon.demanddriventrafficevaluator.loadtest;
+
+import com.amazon.demanddriventrafficevaluator.evaluation.evaluator.BidRequestEvaluator;
+import com.amazon.demanddriventrafficevaluator.evaluation.evaluator.BidRequestEvaluatorInput;
+import com.amazon.demanddriventrafficevaluator.evaluation.readiness.EvaluatorReadiness;
+import com.amazon.demanddriventrafficevaluator.evaluation.readiness.ModelReadiness;
+import com.amazon.demanddriventrafficevaluator.evaluation.readiness.WarmUpRequestCorpus;
+import com.amazon.demanddriventrafficevaluator.evaluation.readiness.WarmUpResult;
+import com.amazon.demanddriventrafficevaluator.factory.BidRequestEvaluatorOnRuleBasedModelFactory;
+import com.amazon.demanddriventrafficevaluator.util.PropertiesUtil;
+import lombok.extern.log4j.Log4j2;
+import org.apache.commons.configuration2.Configuration;
+import software.amazon.awssdk.auth.credentials.AnonymousCredentialsProvider;
+
+import java.io.PrintStream;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Replays a corpus of OpenRTB requests through a bid request evaluator from several threads, and reports the
+ * throughput, the latency percentiles and the allocation rate of the evaluations.
+ * <p>
+ * The evaluator is built the way a bidder builds it, reading its configurations and model results from the
+ * files of a local directory instead of S3, and is warmed up with the corpus before the measurement. The
+ * model results can be reloaded at an interval during the measurement, to measure the impact of the reloads
+ * on the latencies of the requests evaluated meanwhile. Run with
+ * {@code ./gradlew loadTest -PloadTestArgs="--corpus requests.ndjson --model-results /data/files --ssp ssp1"}.
+ * </p>
+ */
+@Log4j2
+public final class LoadTest {
+
+    private static final String REGION = "us-east-1";
+    private static final double[] PERCENTILES = {50.0, 90.0, 99.0, 99.9, 99.99};
+    private static final double NANOS_PER_MICRO = 1_000.0;
+    private static final double NANOS_PER_MILLI = 1_000_000.0;
+    private static final double BYTES_PER_MEGABYTE = 1024.0 * 1024.0;
+    private static final long WORKER_JOIN_GRACE_MS = 60000L;
+
+    private final LoadTestOptions options;
+    private final PrintStream out;
+
+    LoadTest(LoadTestOptions options, PrintStream out) {
+        this.options = options;
+        this.out = out;
+    }
+
+    public static void main(String[] args) throws InterruptedException {
+        LoadTestOptions options;
+        try {
+            options = LoadTestOptions.parse(args);
+        } catch (IllegalArgumentException e) {
+            System.err.println(e.getMessage());
+            System.exit(2);
+            return;
+        }
+        new LoadTest(options, new PrintStream(System.out, true, StandardCharsets.UTF_8)).run();
+        // the periodic loading tasks of the evaluator run on non-daemon threads
+        System.exit(0);
+    }
+
+    void run() throws InterruptedException {
+        Configuration properties = PropertiesUtil.getProperties();
+        properties.setProperty("task.object-source.type", "FileSystem");
+        properties.setProperty("task.object-source.directory", options.getModelResultDirectory().toString());
+
+        ScheduledThreadPoolExecutor executor = new ScheduledThreadPoolExecutor(1);
+        BidRequestEvaluatorOnRuleBasedModelFactory factory = new BidRequestEvaluatorOnRuleBasedModelFactory(
+                options.getSspIdentifier(), AnonymousCredentialsProvider.create(), REGION, options.getBucket(), executor);
+        factory.getTaskInitializer().init();
+        EvaluatorReadiness readiness = factory.getReadiness();
+        for (ModelReadiness modelReadiness : readiness.getModelReadinessByIdentifier().values()) {
+            if (!modelReadiness.isPresent()) {
+                log.warn("No model results of model {} were loaded, its lookups all miss", modelReadiness.getModelIdentifier());
+            }
+        }
+
+        List<BidRequestEvaluatorInput> requests = WarmUpRequestCorpus.fromFile(options.getCorpus());
+        if (requests.isEmpty()) {
+            throw new IllegalStateException("The corpus " + options.getCorpus() + " holds no request.");
+        }
+        properties.setProperty("task.warm-up.corpus-file", options.getCorpus().toString());
+        BidRequestEvaluator evaluator = factory.getEvaluator();
+        WarmUpResult warmUpResult = factory.warmUp();
+        out.printf(Locale.ROOT, "Warmed up with %d requests in %d ms, stabilized: %b%n",
+                warmUpResult.getRequestCount(), warmUpResult.getDurationMs(), warmUpResult.isStabilized());
+
+        AtomicBoolean reloading = new AtomicBoolean();
+        AtomicLong reloadCount = new AtomicLong();
+        AtomicLong reloadNanos = new AtomicLong();
+        if (options.getReloadIntervalS() > 0L) {
+            executor.scheduleWithFixedDelay(() -> {
+                reloading.set(true);
+                long reloadStartNanos = System.nanoTime();
+                try {
+                    factory.reloadModelResults();
+                    reloadCount.incrementAndGet();
+                } catch (RuntimeException e) {
+                    log.error("Failed to reload the model results", e);
+                } finally {
+                    reloadNanos.addAndGet(System.nanoTime() - reloadStartNanos);
+                    reloading.set(false);
+                }
+            }, options.getReloadIntervalS(), options.getReloadIntervalS(), TimeUnit.SECONDS);
+        }
+
+        long intervalNanos = options.getRequestsPerSecond() == 0L
+                ? 0L : TimeUnit.SECONDS.toNanos(options.getThreads()) / options.getRequestsPerSecond();
+        long gcCountAtStart = getGcCount();
+        long gcTimeMsAtStart = getGcTimeMs();
+        long startNanos = System.nanoTime();
+        long endNanos = startNanos + TimeUnit.SECONDS.toNanos(options.getDurationS());
+        List<LoadTestWorker> workers = new ArrayList<>();
+        List<Thread> threads = new ArrayList<>();
+        for (int i = 0; i < options.getThreads(); i++) {
+            LoadTestWorker worker = new LoadTestWorker(evaluator, requests,
+                    (int) ((long) i * requests.size() / options.getThreads()),
+                    intervalNanos, startNanos + i * intervalNanos / options.getThreads(), endNanos, reloading::get);
+            Thread thread = new Thread(worker, "load-test-worker-" + i);
+            workers.add(worker);
+            threads.add(thread);
+            thread.start();
+        }
+        for (Thread thread : threads) {
+            thread.join(TimeUnit.SECONDS.toMillis(options.getDurationS()) + WORKER_JOIN_GRACE_MS);
+        }
+        long elapsedNanos = System.nanoTime() - startNanos;
+        executor.shutdownNow();
+
+        LatencyHistogram histogram = new LatencyHistogram();
+        LatencyHistogram reloadHistogram = new LatencyHistogram();
+        long errorCount = 0L;
+        long unsentCount = 0L;
+        long allocatedBytes = 0L;
+        for (LoadTestWorker worker : workers) {
+            histogram.add(worker.getHistogram());
+            reloadHistogram.add(worker.getReloadHistogram());
+            errorCount += worker.getErrorCount();
+            unsentCount += worker.getUnsentCount();
+            allocatedBytes += worker.getAllocatedBytes();
+        }
+        LatencyHistogram allHistogram = new LatencyHistogram();
+        allHistogram.add(histogram);
+        allHistogram.add(reloadHistogram);
+
+        double elapsedS = elapsedNanos / (double) TimeUnit.SECONDS.toNanos(1L);
+        out.printf(Locale.ROOT, "%s loop, %d threads, %.1f s%n",
+                intervalNanos == 0L ? "Closed" : "Open (" + options.getRequestsPerSecond() + " requests/s)",
+                options.getThreads(), elapsedS);
+        out.printf(Locale.ROOT, "Throughput: %.0f requests/s, %d requests, %d errors, %d unsent%n",
+                allHistogram.getCount() / elapsedS, allHistogram.getCount(), errorCount, unsentCount);
+        out.printf(Locale.ROOT, "Allocation: %.1f MB/s, %.0f bytes/request%n",
+                allocatedBytes / BYTES_PER_MEGABYTE / elapsedS,
+                allHistogram.getCount() == 0L ? 0.0 : allocatedBytes / (double) allHistogram.getCount());
+        out.printf(Locale.ROOT, "GC: %d collections, %d ms%n", getGcCount() - gcCountAtStart, getGcTimeMs() - gcTimeMsAtStart);
+        printLatencies("Latency (us)", allHistogram);
+        if (options.getReloadIntervalS() > 0L) {
+            out.printf(Locale.ROOT, "Reloads: %d, %.1f ms on average%n", reloadCount.get(),
+                    reloadCount.get() == 0L ? 0.0 : reloadNanos.get() / NANOS_PER_MILLI / reloadCount.get());
+            printLatencies("Latency outside reloads (us)", histogram);
+            printLatencies("Latency during reloads (us)", reloadHistogram);
+        }
+    }
+
+    private void printLatencies(String title, LatencyHistogram histogram) {
+        StringBuilder builder = new StringBuilder(title).append(": count ").append(histogram.getCount());
+        builder.append(String.format(Locale.ROOT, ", mean %.1f", histogram.getMean() / NANOS_PER_MICRO));
+        for (double percentile : PERCENTILES) {
+            builder.append(String.format(Locale.ROOT, ", p%s %.1f", BigDecimal.valueOf(percentile).stripTrailingZeros().toPlainString(),
+                    histogram.getValueAtPercentile(percentile) / NANOS_PER_MICRO));
+        }
+        builder.append(String.format(Locale.ROOT, ", max %.1f", histogram.getMax() / NANOS_PER_MICRO));
+        out.println(builder);
+    }
+
+    private static long getGcCount() {
+        return ManagementFactory.getGarbageCollectorMXBeans().stream()
+                .mapToLong(GarbageCollectorMXBean::getCollectionCount)
+                .filter(count -> count > 0L)
+                .sum();
+    }
+
+    private static long getGcTimeMs() {
+        return ManagementFactory.getGarbageCollectorMXBeans().stream()
+                .mapToLong(GarbageCollectorMXBean::getCollectionTime)
+                .filter(time -> time > 0L)
+                .sum();
+    }
+}
@@ -0,0 +1,102 @@
+// Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+// SPDX-License-Identifier: Apache-2.0
+
+package com.amazon.demanddriventrafficevaluator.loadtest;
+
+import lombok.Builder;
+import lombok.Getter;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+/**
+ * The options of a load test, parsed from the command line arguments, e.g.
+ * {@code --corpus requests.ndjson --model-results /data/files --ssp ssp1 --threads 8 --rate 20000 --duration-s 120}.
+ */
+@Builder
+@Getter
+final class LoadTestOptions {
+
+    static final String USAGE = "Usage: --corpus <file> --model-results <directory> --ssp <identifier>"
+            + " [--bucket <name>] [--threads <count>] [--rate <requests per second>, 0 for a closed loop]"
+            + " [--duration-s <seconds>] [--reload-interval-s <seconds>, 0 for no reloads]";
+    private static final String DEFAULT_BUCKET = "load-test";
+    private static final long DEFAULT_DURATION_S = 60L;
+
+    /**
+     * The file of OpenRTB requests replayed, one JSON request per line.
+     */
+    private final Path corpus;
+    /**
+     * The directory holding the model result and configuration files, laid out as {@code <bucket>/<key>}.
+     */
+    private final Path modelResultDirectory;
+    private final String sspIdentifier;
+    private final String bucket;
+    private final int threads;
+    /**
+     * The total rate requests are sent at, 0 sending each request of a thread as soon as the previous one completes.
+     */
+    private final long requestsPerSecond;
+    private final long durationS;
+    /**
+     * The interval between two reloads of every model's results, 0 disabling the reloads.
+     */
+    private final long reloadIntervalS;
+
+    /**
+     * Parses the command line arguments.
+     *
+     * @param args The arguments, as pairs of option names and values.
+     * @return The options.
+     * @throws IllegalArgumentException if an option is unknown, lacks its value or a required option is missing.
+     */
+    static LoadTestOptions parse(String[] args) {
+        LoadTestOptionsBuilder builder = LoadTestOptions.builder()
+                .bucket(DEFAULT_BUCKET)
+                .threads(Runtime.getRuntime().availableProcessors())
+                .durationS(DEFAULT_DURATION_S);
+        for (int i = 0; i < args.length; i += 2) {
+            if (i + 1 == args.length) {
+                throw new IllegalArgumentException("Missing the value of option " + args[i] + ". " + USAGE);
+            }
+            String value = args[i + 1];
+            switch (args[i]) {
+                case "--corpus":
+                    builder.corpus(Paths.get(value));
+                    break;
+                case "--model-results":
+                    builder.modelResultDirectory(Paths.get(value));
+                    break;
+                case "--ssp":
+                    builder.sspIdentifier(value);
+                    break;
+                case "--bucket":
+                    builder.bucket(value);
+                    break;
+                case "--threads":
+                    builder.threads(Integer.parseInt(value));
+                    break;
+                case "--rate":
+                    builder.requestsPerSecond(Long.parseLong(value));
+                    break;
+                case "--duration-s":
+                    builder.durationS(Long.parseLong(value));
+                    break;
+                case "--reload-interval-s":
+                    builder.reloadIntervalS(Long.parseLong(value));
+                    break;
+                default:
+                    throw new IllegalArgumentException("Unknown option " + args[i] + ". " + USAGE);
+            }
+        }
+        LoadTestOptions options = builder.build();
+        if (options.corpus == null || options.modelResultDirectory == null || options.sspIdentifier == null) {
+            throw new IllegalArgumentException("The corpus, model result directory and SSP are required. " + USAGE);
+        }
+        if (options.threads <= 0 || options.durationS <= 0L || options.requestsPerSecond < 0L || options.reloadIntervalS < 0L) {
+            throw new IllegalArgumentException("The threads and duration must be positive, the rate and reload interval not negative. " + USAGE);
+        }
+        return options;
+    }
+}
@@ -0,0 +1,108 @@
+// Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+// SPDX-License-Identifier: Apache-2.0
+
+package com.amazon.demanddriventrafficevaluator.loadtest;
+
+import com.amazon.demanddriventrafficevaluator.evaluation.evaluator.BidRequestEvaluator;
+import com.amazon.demanddriventrafficevaluator.evaluation.evaluator.BidRequestEvaluatorInput;
+import lombok.Getter;
+import lombok.extern.log4j.Log4j2;
+
+import java.lang.management.ManagementFactory;
+import java.util.List;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.BooleanSupplier;
+
+/**
+ * Replays the requests of a corpus through an evaluator from one thread, until the end of the load test.
+ * <p>
+ * In a closed loop, the next request is sent as soon as the previous one completes. In an open loop, the
+ * requests are scheduled at a fixed interval, and the latency of a request is measured from the time it was
+ * scheduled at rather than the time it was sent, so that a stall delaying the following requests is
+ * accounted for in their latencies instead of being hidden by the requests not sent meanwhile
+ * (coordinated omission). The requests sent while the model results are reloaded are recorded apart.
+ * </p>
+ */
+@Log4j2
+@Getter
+final class LoadTestWorker implements Runnable {
+
+    private final BidRequestEvaluator evaluator;
+    private final List<BidRequestEvaluatorInput> requests;
+    private final int firstRequestIndex;
+    private final long intervalNanos;
+    private final long startNanos;
+    private final long endNanos;
+    private final BooleanSupplier reloading;
+    private final LatencyHistogram histogram = new LatencyHistogram();
+    private final LatencyHistogram reloadHistogram = new LatencyHistogram();
+    private long errorCount;
+    private long unsentCount;
+    private long allocatedBytes;
+
+    /**
+     * Creates a worker.
+     *
+     * @param evaluator         The evaluator the requests are sent to.
+     * @param requests          The requests, replayed in a loop.
+     * @param firstRequestIndex The index of the first request sent, to spread the workers over the corpus.
+     * @param intervalNanos     The interval between two requests of the worker, 0 for a closed loop.
+     * @param startNanos        The start of the load test, in {@link System#nanoTime()}.
+     * @param endNanos          The end of the load test, in {@link System#nanoTime()}.
+     * @param reloading         Whether the model results are being reloaded.
+     */
+    LoadTestWorker(
+            BidRequestEvaluator evaluator,
+            List<BidRequestEvaluatorInput> requests,
+            int firstRequestIndex,
+            long intervalNanos,
+            long startNanos,
+            long endNanos,
+            BooleanSupplier reloading
+    ) {
+        this.evaluator = evaluator;
+        this.requests = requests;
+        this.firstRequestIndex = firstRequestIndex;
+        this.intervalNanos = intervalNanos;
+        this.startNanos = startNanos;
+        this.endNanos = endNanos;
+        this.reloading = reloading;
+    }
+
+    @Override
+    public void run() {
+        com.sun.management.ThreadMXBean threadMXBean = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long allocatedBytesAtStart = threadMXBean.getCurrentThreadAllocatedBytes();
+        int requestIndex = firstRequestIndex;
+        long scheduledNanos = startNanos;
+        while (true) {
+            long nowNanos = System.nanoTime();
+            if (nowNanos >= endNanos || scheduledNanos >= endNanos) {
+                break;
+            }
+            if (intervalNanos == 0L) {
+                scheduledNanos = nowNanos;
+            } else if (nowNanos < scheduledNanos) {
+                LockSupport.parkNanos(scheduledNanos - nowNanos);
+                continue;
+            }
+            boolean duringReload = reloading.getAsBoolean();
+            try {
+                evaluator.evaluate(requests.get(requestIndex));
+            } catch (RuntimeException e) {
+                if (errorCount++ == 0L) {
+                    log.error("Failed to evaluate a request of the corpus", e);
+                }
+            }
+            long latencyNanos = System.nanoTime() - scheduledNanos;
+            (duringReload ? reloadHistogram : histogram).record(latencyNanos);
+            requestIndex = requestIndex + 1 == requests.size() ? 0 : requestIndex + 1;
+            scheduledNanos += intervalNanos;
+        }
+        if (intervalNanos > 0L && scheduledNanos < endNanos) {
+            // the requests scheduled before the end that the worker fell too far behind to send
+            unsentCount = (endNanos - scheduledNanos + intervalNanos - 1) / intervalNanos;
+        }
+        allocatedBytes = threadMXBean.getCurrentThreadAllocatedBytes() - allocatedBytesAtStart;
+    }
+}
@@ -0,0 +1,110 @@
+// Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+// SPDX-License-Identifier: Apache-2.0
+
+package com.amazon.demanddriventrafficevaluator.loadtest;
+
+import com.amazon.demanddriventrafficevaluator.evaluation.readiness.WarmUpRequestCorpus;
+import com.amazon.demanddriventrafficevaluator.modelfeature.FeatureTransformerName;
+import com.amazon.demanddriventrafficevaluator.repository.entity.FeatureConfiguration;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * The synthetic values of a feature, set into the fields of generated requests.
+ * <p>
+ * The candidates of a feature are ranked by a Zipfian distribution. A feature taking the first non-empty of
+ * its fields, e.g. a slot size read from the video or else the banner of an impression, sets a single group
+ * of its fields per request, a pair of fields when they are concatenated first, so that the requests vary
+ * the way real traffic does; any other feature sets all its fields. A field of a feature with a mapping takes
+ * the mapped values, or a value outside the mapping; any other field takes the rank of the candidate.
+ * </p>
+ */
+final class SyntheticFeature {
+
+    static final String UNMAPPED_VALUE = "unmapped";
+
+    private final String name;
+    private final List<List<String>> fieldGroups;
+    private final List<String> mappedValues;
+    private final ZipfSampler sampler;
+
+    /**
+     * Creates the synthetic values of a feature.
+     *
+     * @param configuration    The configuration of the feature.
+     * @param objectFieldPaths The field paths holding the objects of other fields, which are set by the other fields.
+     * @param cardinality      The number of distinct values of a feature without mapping, per group of fields.
+     * @param exponent         The exponent of the Zipfian distribution of the candidates.
+     */
+    SyntheticFeature(FeatureConfiguration configuration, Set<String> objectFieldPaths, int cardinality, double exponent) {
+        this.name = configuration.getName();
+        this.fieldGroups = getFieldGroups(configuration, objectFieldPaths);
+        this.mappedValues = configuration.getMapping() == null ? List.of() : List.copyOf(configuration.getMapping().keySet());
+        int valueCount = mappedValues.isEmpty() ? cardinality : mappedValues.size() + 1;
+        this.sampler = new ZipfSampler(fieldGroups.size() * valueCount, exponent);
+    }
+
+    String getName() {
+        return name;
+    }
+
+    int getCardinality() {
+        return sampler.getCardinality();
+    }
+
+    /**
+     * Samples a candidate of the feature.
+     *
+     * @param uniform A sample of the uniform distribution over [0, 1).
+     * @return The candidate, the most frequent being 0.
+     */
+    int sample(double uniform) {
+        return sampler.sample(uniform);
+    }
+
+    /**
+     * Sets the fields of a candidate into a request.
+     *
+     * @param request   The request, as nested maps and lists.
+     * @param candidate The candidate.
+     * @param missValue The value of the fields without mapping, to make the request miss the model results,
+     *                  or null to set the value of the candidate.
+     */
+    void set(Map<String, Object> request, int candidate, String missValue) {
+        List<String> fieldGroup = fieldGroups.get(candidate % fieldGroups.size());
+        int valueIndex = candidate / fieldGroups.size();
+        String value;
+        if (!mappedValues.isEmpty()) {
+            value = valueIndex < mappedValues.size() ? mappedValues.get(valueIndex) : UNMAPPED_VALUE;
+        } else {
+            value = missValue == null ? String.valueOf(valueIndex) : missValue;
+        }
+        for (String fieldPath : fieldGroup) {
+            WarmUpRequestCorpus.setField(request, fieldPath, value);
+        }
+    }
+
+    private static List<List<String>> getFieldGroups(FeatureConfiguration configuration, Set<String> objectFieldPaths) {
+        List<String> fieldPaths = configuration.getFields();
+        List<FeatureTransformerName> transformations = configuration.getTransformations() == null
+                ? List.of() : configuration.getTransformations();
+        int firstNotEmptyIndex = transformations.indexOf(FeatureTransformerName.GetFirstNotEmpty);
+        int concatenateIndex = transformations.indexOf(FeatureTransformerName.ConcatenateByPair);
+        int groupSize = firstNotEmptyIndex < 0 ? Math.max(1, fieldPaths.size())
+                : concatenateIndex >= 0 && concatenateIndex < firstNotEmptyIndex ? 2 : 1;
+        List<List<String>> fieldGroups = new ArrayList<>();
+        for (int i = 0; i < fieldPaths.size() || i == 0; i += groupSize) {
+            List<String> fieldGroup = new ArrayList<>();
+            for (String fieldPath : fieldPaths.subList(i, Math.min(i + groupSize, fieldPaths.size()))) {
+                if (!objectFieldPaths.contains(fieldPath)) {
+                    fieldGroup.add(fieldPath);
+                }
+            }
+            fieldGroups.add(fieldGroup);
+        }
+        return fieldGroups;
+    }
+}
@@ -0,0 +1,53 @@
+// Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+// SPDX-License-Identifier: Apache-2.0
+
+package com.amazon.demanddriventrafficevaluator.loadtest;
+
+import java.util.Arrays;
+
+/**
+ * Samples ranks following a Zipfian distribution, the rank k (from 0) having a probability proportional to
+ * 1 / (k + 1)^exponent, by inverting the cumulative distribution.
+ */
+final class ZipfSampler {
+
+    private final double[] cumulativeProbabilities;
+
+    /**
+     * Creates a sampler.
+     *
+     * @param cardinality The number of ranks.
+     * @param exponent    The exponent of the distribution, 0 for a uniform distribution.
+     * @throws IllegalArgumentException if the cardinality is not positive or the exponent is negative.
+     */
+    ZipfSampler(int cardinality, double exponent) {
+        if (cardinality <= 0 || exponent < 0.0) {
+            throw new IllegalArgumentException("The cardinality must be positive and the exponent not negative.");
+        }
+        cumulativeProbabilities = new double[cardinality];
+        double sum = 0.0;
+        for (int rank = 0; rank < cardinality; rank++) {
+            sum += 1.0 / Math.pow(rank + 1.0, exponent);
+            cumulativeProbabilities[rank] = sum;
+        }
+        for (int rank = 0; rank < cardinality; rank++) {
+            cumulativeProbabilities[rank] /= sum;
+        }
+    }
+
+    int getCardinality() {
+        return cumulativeProbabilities.length;
+    }
+
+    /**
+     * Returns the rank a uniform sample maps to.
+     *
+     * @param uniform A sample of the uniform distribution over [0, 1).
+     * @return The rank, from 0 to the cardinality excluded.
+     */
+    int sample(double uniform) {
+        int index = Arrays.binarySearch(cumulativeProbabilities, uniform);
+        int rank = index >= 0 ? index : -index - 1;
+        return Math.min(rank, cumulativeProbabilities.length - 1);
+    }
+}
@@ -3,6 +3,10 @@
 
 package com.amazon.demanddriventrafficevaluator.evaluation.evaluator;
 
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.function.Consumer;
+
 /**
  * An interface for evaluating bid requests using multiple experimental models.
  * <p>
@@ -24,4 +28,43 @@ public interface BidRequestEvaluator {
      * evaluations performed on the input request.
      */
     BidRequestEvaluatorOutput evaluate(BidRequestEvaluatorInput request);
+
+    /**
+     * Processes a bid request like {@link #evaluate(BidRequestEvaluatorInput)}, and hands the context of its
+     * evaluation to the listener, e.g. to break the decisions down by model and treatment when scoring
+     * requests offline.
+     * <p>
+     * The context is not part of the output, so that the callers of {@link #evaluate(BidRequestEvaluatorInput)}
+     * neither see nor hold on to the state of the evaluation. By default the listener is not called, for
+     * implementations without a context.
+     * </p>
+     *
+     * @param request         The input containing the OpenRTB request and any additional
+     *                        data required for evaluation.
+     * @param contextListener The listener the context of the evaluation is handed to, complete once this
+     *                        method returned.
+     * @return An object encapsulating the aggregated results of all model
+     * evaluations performed on the input request.
+     */
+    default BidRequestEvaluatorOutput evaluate(BidRequestEvaluatorInput request, Consumer<EvaluationContext> contextListener) {
+        return evaluate(request);
+    }
+
+    /**
+     * Processes a bid request like {@link #evaluate(BidRequestEvaluatorInput)}, for callers that must not block,
+     * e.g. the event loop threads of a non-blocking server.
+     * <p>
+     * By default the request is evaluated inline on the calling thread, as its evaluation only reads data held
+     * in memory, and the returned future is already complete; implementations only hand the evaluation over to
+     * the executor when it could block, e.g. to bound it with a deadline.
+     * </p>
+     *
+     * @param request  The input containing the OpenRTB request and any additional
+     *                 data required for evaluation.
+     * @param executor The executor the evaluation may run on, if it does not run inline.
+     * @return A future of the output of the evaluation, which never completes exceptionally.
+     */
+    default CompletableFuture<BidRequestEvaluatorOutput> evaluateAsync(BidRequestEvaluatorInput request, Executor executor) {
+        return CompletableFuture.completedFuture(evaluate(request));
+    }
 }
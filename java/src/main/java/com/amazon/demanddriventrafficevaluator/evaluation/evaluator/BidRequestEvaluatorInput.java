@@ -13,4 +13,8 @@ import lombok.Getter;
 public class BidRequestEvaluatorInput {
     private final String openRtbRequest;
     private final Map<String, List<String>> openRtbRequestMap;
+    /**
+     * Whether to trace the evaluation of the request, regardless of the trace sampling of the evaluator.
+     */
+    private final boolean trace;
 }
@@ -5,6 +5,13 @@ package com.amazon.demanddriventrafficevaluator.evaluation.evaluator;
 
 import com.amazon.demanddriventrafficevaluator.evaluation.experiment.ExperimentContext;
 import com.amazon.demanddriventrafficevaluator.evaluation.experiment.ExperimentManager;
+import com.amazon.demanddriventrafficevaluator.evaluation.shadow.ShadowEvaluator;
+import com.amazon.demanddriventrafficevaluator.evaluation.shadow.ShadowSample;
+import com.amazon.demanddriventrafficevaluator.evaluation.trace.EvaluationTrace;
+import com.amazon.demanddriventrafficevaluator.evaluation.trace.TraceLevel;
+import com.amazon.demanddriventrafficevaluator.evaluation.trace.TraceStage;
+import com.amazon.demanddriventrafficevaluator.jfr.BidRequestEvaluationEvent;
+import com.amazon.demanddriventrafficevaluator.jfr.JfrEvents;
 import com.amazon.demanddriventrafficevaluator.repository.entity.ModelConfiguration;
 import com.amazon.demanddriventrafficevaluator.repository.entity.ModelDefinition;
 import com.amazon.demanddriventrafficevaluator.repository.provider.configuration.ConfigurationProvider;
@@ -16,9 +23,16 @@ import com.jayway.jsonpath.Option;
 import com.jayway.jsonpath.PathNotFoundException;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
 import lombok.extern.log4j.Log4j2;
 import org.apache.commons.lang3.StringUtils;
 
@@ -33,6 +47,28 @@ import static com.amazon.demanddriventrafficevaluator.util.ResponseUtil.EXTENSIO
  * appropriate responses. The class utilizes various components such as experiment
  * management, model configuration, and result aggregation to do the evaluation.
  * </p>
+ * <p>
+ * By default the request is evaluated as a whole and the response holds a single slot. When evaluating per
+ * impression, every impression of the request is evaluated and the response holds one slot per impression,
+ * in the order of the impressions; see {@link ModelEvaluator#evaluateImpressions(ModelEvaluatorInput, int)}.
+ * </p>
+ * <p>
+ * The evaluation of a request is only traced if the request asks for it, or if it is sampled; the trace is
+ * returned with the output. See {@link EvaluationTrace}.
+ * </p>
+ * <p>
+ * With a shadow evaluator, the live models of a sample of the requests are timed, and their outputs handed
+ * over to the shadow evaluator once the response is built, to be compared with their candidate versions off
+ * the request path. See {@link ShadowEvaluator}.
+ * </p>
+ * <p>
+ * With an overload bypass, a share of the requests is answered with a pass-through decision without being
+ * evaluated while the evaluator is overloaded. See {@link OverloadBypass}.
+ * </p>
+ * <p>
+ * Asynchronous evaluations run inline, unless a deadline is set: they then run on the executor of the caller,
+ * and complete with the default response if the deadline passes first.
+ * </p>
  */
 @Log4j2
 public class BidRequestEvaluatorOnRuleBasedModel implements BidRequestEvaluator {
@@ -42,19 +78,31 @@ public class BidRequestEvaluatorOnRuleBasedModel implements BidRequestEvaluator
     private static final String EMPTY_JSON_STRING = "{}";
     static final Configuration DOCUMENT_CONFIGURATION = Configuration.builder().build().addOptions(Option.ALWAYS_RETURN_LIST);
 
-    static final Response DEFAULT_RESPONSE = Response.builder()
-            .slots(List.of(Slot.builder()
-                    .filterDecision(DEFAULT_FILTER_RECOMMENDATION)
-                    .ext(ResponseUtil.buildExtension(Map.of(EXTENSION_KEYWORD_DECISION, DEFAULT_FILTER_RECOMMENDATION)))
-                    .build()))
-            .ext(ResponseUtil.buildExtension(Map.of(EXTENSION_KEYWORD_LEARNING, DEFAULT_LEARNING)))
-            .build();
+    /**
+     * The response to the requests that could not be evaluated. When evaluating per impression, the response to
+     * a request of several impressions repeats its slot once per impression, see {@link #passThroughResponse}.
+     */
+    static final Response DEFAULT_RESPONSE = buildPassThroughResponse();
+    /**
+     * The response to the requests bypassing the evaluation, the same as the default response but told apart
+     * from it by the identity of its slot. A request given as a json string is not parsed to be bypassed, so its
+     * response has a single slot even when evaluating per impression.
+     */
+    static final Response BYPASS_RESPONSE = buildPassThroughResponse();
+    static final long NO_DEADLINE = 0L;
+    private static final Consumer<EvaluationContext> NO_CONTEXT_LISTENER = evaluationContext -> { };
 
     private final String sspIdentifier;
     private final ExperimentManager experimentManager;
     private final ConfigurationProvider<ModelConfiguration> modelConfigurationProvider;
     private final ModelEvaluator modelEvaluator;
     private final ModelEvaluationResultsAggregator modelEvaluationResultsAggregator;
+    private final RequestLatencyMonitor requestLatencyMonitor;
+    private final boolean evaluatePerImpression;
+    private final int traceSamplingInterval;
+    private final ShadowEvaluator shadowEvaluator;
+    private final OverloadBypass overloadBypass;
+    private final long asyncDeadlineMs;
 
     public BidRequestEvaluatorOnRuleBasedModel(
             String sspIdentifier,
@@ -62,12 +110,39 @@ public class BidRequestEvaluatorOnRuleBasedModel implements BidRequestEvaluator
             ConfigurationProvider<ModelConfiguration> modelConfigurationProvider,
             ModelEvaluator modelEvaluator,
             ModelEvaluationResultsAggregator modelEvaluationResultsAggregator
+    ) {
+        this(sspIdentifier, experimentManager, modelConfigurationProvider, modelEvaluator, modelEvaluationResultsAggregator,
+                BidRequestEvaluatorOnRuleBasedModelOptions.builder().build());
+    }
+
+    /**
+     * Creates an evaluator with optional features, e.g. evaluating every impression or bypassing the evaluations
+     * while overloaded.
+     *
+     * @param options The optional features of the evaluator, or null to disable them all.
+     */
+    public BidRequestEvaluatorOnRuleBasedModel(
+            String sspIdentifier,
+            ExperimentManager experimentManager,
+            ConfigurationProvider<ModelConfiguration> modelConfigurationProvider,
+            ModelEvaluator modelEvaluator,
+            ModelEvaluationResultsAggregator modelEvaluationResultsAggregator,
+            BidRequestEvaluatorOnRuleBasedModelOptions options
     ) {
         this.sspIdentifier = sspIdentifier;
         this.experimentManager = experimentManager;
         this.modelConfigurationProvider = modelConfigurationProvider;
         this.modelEvaluator = modelEvaluator;
         this.modelEvaluationResultsAggregator = modelEvaluationResultsAggregator;
+        if (options == null) {
+            options = BidRequestEvaluatorOnRuleBasedModelOptions.builder().build();
+        }
+        this.requestLatencyMonitor = options.getRequestLatencyMonitor();
+        this.evaluatePerImpression = options.isEvaluatePerImpression();
+        this.traceSamplingInterval = options.getTraceSamplingInterval();
+        this.shadowEvaluator = options.getShadowEvaluator();
+        this.overloadBypass = options.getOverloadBypass();
+        this.asyncDeadlineMs = options.getAsyncDeadlineMs();
     }
 
     /**
@@ -83,12 +158,135 @@ public class BidRequestEvaluatorOnRuleBasedModel implements BidRequestEvaluator
      */
     @Override
     public BidRequestEvaluatorOutput evaluate(BidRequestEvaluatorInput input) {
-        EvaluationContext evaluationContext = new EvaluationContext();
+        return evaluate(input, NO_CONTEXT_LISTENER);
+    }
+
+    /**
+     * Evaluates a bid request like {@link #evaluate(BidRequestEvaluatorInput)}, handing the context of the
+     * evaluation to the listener; the context is complete once this method returned.
+     *
+     * @param input           The BidRequestEvaluatorInput containing the bid request to evaluate.
+     * @param contextListener The listener the context of the evaluation is handed to.
+     * @return A BidRequestEvaluatorOutput containing the evaluation response.
+     */
+    @Override
+    public BidRequestEvaluatorOutput evaluate(BidRequestEvaluatorInput input, Consumer<EvaluationContext> contextListener) {
+        BidRequestEvaluationEvent event = new BidRequestEvaluationEvent();
+        event.begin();
+        BidRequestEvaluatorOutput output;
+        if (overloadBypass == null) {
+            output = evaluateRecordingLatency(input, contextListener);
+        } else if (overloadBypass.tryEnter()) {
+            try {
+                output = evaluateRecordingLatency(input, contextListener);
+            } finally {
+                overloadBypass.exit();
+            }
+        } else {
+            output = bypass(input, contextListener);
+        }
+        event.end();
+        if (event.shouldCommit() && !JfrEvents.isSuppressed()) {
+            event.sspIdentifier = sspIdentifier;
+            event.slotCount = output.getResponse().getSlots().size();
+            event.defaultResponse = isDefaultResponse(output.getResponse());
+            event.bypassed = isPassThroughResponse(output.getResponse(), BYPASS_RESPONSE);
+            event.traced = output.getTrace() != null && output.getTrace().isEnabled();
+            event.commit();
+        }
+        return output;
+    }
+
+    /**
+     * Evaluates a bid request without blocking the calling thread on a deadline.
+     * <p>
+     * Without a deadline, the request is evaluated inline and the returned future is already complete, so that
+     * an event loop thread evaluates it without a thread hop. With a deadline, the request is evaluated on the
+     * executor, and the future completes with the default response if the deadline passes first; the evaluation
+     * itself is not interrupted and runs to its end.
+     * </p>
+     *
+     * @param input    The BidRequestEvaluatorInput containing the bid request to evaluate.
+     * @param executor The executor the evaluation runs on when a deadline is set.
+     * @return A future of the evaluation output, which never completes exceptionally.
+     */
+    @Override
+    public CompletableFuture<BidRequestEvaluatorOutput> evaluateAsync(BidRequestEvaluatorInput input, Executor executor) {
+        if (asyncDeadlineMs == NO_DEADLINE) {
+            return CompletableFuture.completedFuture(evaluate(input));
+        }
+        // built on the calling thread, so that the timer thread completing a late evaluation only hands it over
+        BidRequestEvaluatorOutput missedDeadlineOutput = missDeadline(input);
+        CompletableFuture<BidRequestEvaluatorOutput> future;
+        try {
+            future = CompletableFuture.supplyAsync(() -> evaluate(input), executor);
+        } catch (RejectedExecutionException e) {
+            return CompletableFuture.completedFuture(fallBack(input, e));
+        }
+        return future.completeOnTimeout(missedDeadlineOutput, asyncDeadlineMs, TimeUnit.MILLISECONDS)
+                .exceptionally(e -> fallBack(input, e));
+    }
+
+    private BidRequestEvaluatorOutput missDeadline(BidRequestEvaluatorInput input) {
+        EvaluationContext evaluationContext = new EvaluationContext(EvaluationTrace.start(input.isTrace(), 0));
+        evaluationContext.record(TraceLevel.ERROR, TraceStage.REQUEST,
+                "The evaluation of the bid request missed its deadline of " + asyncDeadlineMs + " ms.", null);
+        return passThroughOutput(input, evaluationContext);
+    }
+
+    private BidRequestEvaluatorOutput fallBack(BidRequestEvaluatorInput input, Throwable throwable) {
+        EvaluationContext evaluationContext = new EvaluationContext(EvaluationTrace.start(input.isTrace(), 0));
+        Throwable cause = throwable instanceof CompletionException && throwable.getCause() != null ? throwable.getCause() : throwable;
+        evaluationContext.record(TraceLevel.ERROR, TraceStage.REQUEST, "Error while evaluating bid request.", cause);
+        log.error("Error while evaluating bid request", cause);
+        return passThroughOutput(input, evaluationContext);
+    }
+
+    private BidRequestEvaluatorOutput passThroughOutput(BidRequestEvaluatorInput input, EvaluationContext evaluationContext) {
+        return BidRequestEvaluatorOutput.builder()
+                .response(passThroughResponse(DEFAULT_RESPONSE, countImpressions(input)))
+                .trace(evaluationContext.getTrace())
+                .build();
+    }
+
+    private BidRequestEvaluatorOutput evaluateRecordingLatency(
+            BidRequestEvaluatorInput input,
+            Consumer<EvaluationContext> contextListener
+    ) {
+        if (requestLatencyMonitor == null) {
+            return evaluateRequest(input, contextListener);
+        }
+        long startNanos = System.nanoTime();
+        try {
+            return evaluateRequest(input, contextListener);
+        } finally {
+            requestLatencyMonitor.record(System.nanoTime() - startNanos);
+        }
+    }
+
+    private BidRequestEvaluatorOutput bypass(BidRequestEvaluatorInput input, Consumer<EvaluationContext> contextListener) {
+        EvaluationContext evaluationContext = new EvaluationContext(EvaluationTrace.start(input.isTrace(), 0));
+        contextListener.accept(evaluationContext);
+        evaluationContext.record(TraceLevel.INFO, TraceStage.REQUEST,
+                "Bypassed the evaluation of the bid request, the evaluator is overloaded.", null);
+        return BidRequestEvaluatorOutput.builder()
+                .response(passThroughResponse(BYPASS_RESPONSE, countImpressions(input)))
+                .trace(evaluationContext.getTrace())
+                .build();
+    }
+
+    private BidRequestEvaluatorOutput evaluateRequest(
+            BidRequestEvaluatorInput input,
+            Consumer<EvaluationContext> contextListener
+    ) {
+        EvaluationContext evaluationContext = new EvaluationContext(EvaluationTrace.start(input.isTrace(), traceSamplingInterval));
+        contextListener.accept(evaluationContext);
         try {
             boolean validInput = setupEvaluationContext(input, evaluationContext);
             if (!validInput) {
                 return BidRequestEvaluatorOutput.builder()
                         .response(DEFAULT_RESPONSE)
+                        .trace(evaluationContext.getTrace())
                         .build();
             }
 
@@ -96,14 +294,27 @@ public class BidRequestEvaluatorOnRuleBasedModel implements BidRequestEvaluator
             experimentManager.setupExperimentContext(evaluationContext);
             List<ModelDefinition> modelDefinitions = getModelDefinitions(evaluationContext);
             log.debug("modelDefinitions: {}", modelDefinitions);
+            if (evaluatePerImpression) {
+                return BidRequestEvaluatorOutput.builder()
+                        .response(evaluateImpressions(evaluationContext, modelDefinitions))
+                        .trace(evaluationContext.getTrace())
+                        .build();
+            }
 
+            ShadowSample shadowSample = sampleShadow(evaluationContext, ShadowSample.WHOLE_REQUEST);
             List<ModelEvaluatorOutput> modelEvaluatorOutputs = new ArrayList<>(modelDefinitions.size());
             for (ModelDefinition modelDefinition: modelDefinitions) {
-                modelEvaluatorOutputs.add(modelEvaluator.evaluate(
+                long startNanos = shadowSample == null ? 0L : System.nanoTime();
+                ModelEvaluatorOutput modelEvaluatorOutput = modelEvaluator.evaluate(
                         ModelEvaluatorInput.builder()
-                            .context(new ModelEvaluationContext(evaluationContext))
+                            .context(new ModelEvaluationContext(evaluationContext, modelDefinition.getIdentifier()))
                             .modelDefinition(modelDefinition)
-                            .build()));
+                            .build());
+                modelEvaluatorOutputs.add(modelEvaluatorOutput);
+                if (shadowSample != null) {
+                    shadowSample.addLiveEvaluation(modelDefinition, Collections.singletonList(modelEvaluatorOutput),
+                            System.nanoTime() - startNanos);
+                }
             }
 
             log.debug("modelEvaluatorOutputs: {}", modelEvaluatorOutputs);
@@ -112,42 +323,139 @@ public class BidRequestEvaluatorOnRuleBasedModel implements BidRequestEvaluator
                     evaluationContext);
             log.debug("aggregatedModelEvaluationResult: {}", aggregatedModelEvaluationResult);
             evaluationContext.setAggregatedModelEvaluationResult(aggregatedModelEvaluationResult);
+            Response response = buildResponse(evaluationContext);
+            submitShadow(shadowSample);
             return BidRequestEvaluatorOutput.builder()
-                    .response(buildResponse(evaluationContext))
+                    .response(response)
+                    .trace(evaluationContext.getTrace())
                     .build();
         } catch (Exception e) {
-            evaluationContext.addError("Error while evaluating bid request.\n" + e.getMessage());
+            evaluationContext.record(TraceLevel.ERROR, TraceStage.REQUEST, "Error while evaluating bid request.", e);
             log.error("Error while evaluating bid request", e);
             return BidRequestEvaluatorOutput.builder()
-                    .response(DEFAULT_RESPONSE)
+                    .response(passThroughResponse(DEFAULT_RESPONSE, countImpressions(evaluationContext)))
+                    .trace(evaluationContext.getTrace())
                     .build();
         }
     }
 
+    private Response evaluateImpressions(EvaluationContext evaluationContext, List<ModelDefinition> modelDefinitions) {
+        int impressionCount = Math.max(1, evaluationContext.getOpenRtbRequestContext().getImpressionCount());
+        List<List<ModelEvaluatorOutput>> modelEvaluatorOutputsByImpression = new ArrayList<>(impressionCount);
+        for (int i = 0; i < impressionCount; i++) {
+            modelEvaluatorOutputsByImpression.add(new ArrayList<>(modelDefinitions.size()));
+        }
+        ShadowSample shadowSample = sampleShadow(evaluationContext, impressionCount);
+        for (ModelDefinition modelDefinition : modelDefinitions) {
+            long startNanos = shadowSample == null ? 0L : System.nanoTime();
+            List<ModelEvaluatorOutput> impressionOutputs = modelEvaluator.evaluateImpressions(
+                    ModelEvaluatorInput.builder()
+                            .context(new ModelEvaluationContext(evaluationContext, modelDefinition.getIdentifier()))
+                            .modelDefinition(modelDefinition)
+                            .build(),
+                    impressionCount);
+            if (shadowSample != null) {
+                shadowSample.addLiveEvaluation(modelDefinition, impressionOutputs, System.nanoTime() - startNanos);
+            }
+            for (int i = 0; i < impressionCount; i++) {
+                modelEvaluatorOutputsByImpression.get(i).add(impressionOutputs.get(i));
+            }
+        }
+
+        // the aggregator reads the outputs of the context, so aggregate each impression's outputs in turn
+        List<AggregatedModelEvaluationResult> aggregatedModelEvaluationResults = new ArrayList<>(impressionCount);
+        for (List<ModelEvaluatorOutput> modelEvaluatorOutputs : modelEvaluatorOutputsByImpression) {
+            evaluationContext.setModelEvaluatorOutputs(modelEvaluatorOutputs);
+            aggregatedModelEvaluationResults.add(modelEvaluationResultsAggregator.aggregate(evaluationContext));
+        }
+        log.debug("aggregatedModelEvaluationResults: {}", aggregatedModelEvaluationResults);
+        evaluationContext.setModelEvaluatorOutputs(modelEvaluatorOutputsByImpression.get(0));
+        evaluationContext.setModelEvaluatorOutputsByImpression(modelEvaluatorOutputsByImpression);
+        evaluationContext.setAggregatedModelEvaluationResult(aggregatedModelEvaluationResults.get(0));
+        evaluationContext.setAggregatedModelEvaluationResultsByImpression(aggregatedModelEvaluationResults);
+        Response response = Response.builder()
+                .slots(ResponseUtil.buildSlots(aggregatedModelEvaluationResults))
+                .ext(ResponseUtil.buildExtension(Map.of(EXTENSION_KEYWORD_LEARNING,
+                        aggregatedModelEvaluationResults.get(0).getTreatmentCodeInInt())))
+                .build();
+        submitShadow(shadowSample);
+        return response;
+    }
+
+    private ShadowSample sampleShadow(EvaluationContext evaluationContext, int impressionCount) {
+        return shadowEvaluator == null ? null : shadowEvaluator.sample(evaluationContext, impressionCount);
+    }
+
+    private void submitShadow(ShadowSample shadowSample) {
+        if (shadowSample != null) {
+            shadowEvaluator.submit(shadowSample);
+        }
+    }
+
     private boolean setupEvaluationContext(BidRequestEvaluatorInput input, EvaluationContext evaluationContext) {
-        boolean validInput = false;
-        String rawOpenRtbRequest = input.getOpenRtbRequest();
+        OpenRtbRequestContext openRtbRequestContext = readOpenRtbRequest(input);
+        if (openRtbRequestContext == null) {
+            evaluationContext.addError("No valid OpenRTB input was provided.");
+            log.error("No valid OpenRTB input was provided.");
+            return false;
+        }
+        evaluationContext.setOpenRtbRequestContext(openRtbRequestContext);
+        return true;
+    }
+
+    /**
+     * Reads the OpenRTB request of the input, from its json string if any, else from its map.
+     *
+     * @return The OpenRTB request, or null if the input holds none.
+     */
+    private static OpenRtbRequestContext readOpenRtbRequest(BidRequestEvaluatorInput input) {
         Map<String, List<String>> openRtbRequestMap = input.getOpenRtbRequestMap();
 
-        if (rawOpenRtbRequest != null && !rawOpenRtbRequest.isEmpty() && !rawOpenRtbRequest.equals(EMPTY_JSON_STRING)) {
+        if (hasJsonOpenRtbRequest(input)) {
             log.debug("Using json string openRTB input");
             DocumentContext openRtbRequestContext = JsonPath.parse(input.getOpenRtbRequest(), DOCUMENT_CONFIGURATION);
             OpenRtbRequestContextJsonDocument openRtbRequestContextJsonDocument = new OpenRtbRequestContextJsonDocument();
             openRtbRequestContextJsonDocument.setOpenRtbRequestContext(openRtbRequestContext);
-            evaluationContext.setOpenRtbRequestContext(openRtbRequestContextJsonDocument);
-            validInput = true;
+            return openRtbRequestContextJsonDocument;
         } else if (openRtbRequestMap != null && !openRtbRequestMap.isEmpty()) {
             log.debug("Using map openRTB input");
             OpenRtbRequestContextMap openRtbRequestContextMap = new OpenRtbRequestContextMap();
             openRtbRequestContextMap.setOpenRtbRequestContext(openRtbRequestMap);
-            evaluationContext.setOpenRtbRequestContext(openRtbRequestContextMap);
-            validInput = true;
-        } else {
-            evaluationContext.addError("No valid OpenRTB input was provided.");
-            log.error("No valid OpenRTB input was provided.");
+            return openRtbRequestContextMap;
         }
+        return null;
+    }
 
-        return validInput;
+    private static boolean hasJsonOpenRtbRequest(BidRequestEvaluatorInput input) {
+        String rawOpenRtbRequest = input.getOpenRtbRequest();
+        return rawOpenRtbRequest != null && !rawOpenRtbRequest.isEmpty() && !rawOpenRtbRequest.equals(EMPTY_JSON_STRING);
+    }
+
+    /**
+     * Returns the number of slots of the pass-through response to a request that was not evaluated, e.g.
+     * bypassed or past its deadline, without parsing the request, which would cost the evaluator what it saves
+     * by not evaluating it: 1 unless evaluating per impression the map input, whose impressions are counted
+     * from its paths. A request given as a json string gets a single slot, standing for all its impressions.
+     */
+    private int countImpressions(BidRequestEvaluatorInput input) {
+        Map<String, List<String>> openRtbRequestMap = input.getOpenRtbRequestMap();
+        if (!evaluatePerImpression || hasJsonOpenRtbRequest(input) || openRtbRequestMap == null || openRtbRequestMap.isEmpty()) {
+            return 1;
+        }
+        OpenRtbRequestContextMap openRtbRequestContextMap = new OpenRtbRequestContextMap();
+        openRtbRequestContextMap.setOpenRtbRequestContext(openRtbRequestMap);
+        return Math.max(1, openRtbRequestContextMap.getImpressionCount());
+    }
+
+    /**
+     * Returns the number of slots of the pass-through response to a request whose evaluation failed, from the
+     * request read into the context, if it was read before the failure.
+     */
+    private int countImpressions(EvaluationContext evaluationContext) {
+        if (!evaluatePerImpression || evaluationContext.getOpenRtbRequestContext() == null) {
+            return 1;
+        }
+        return Math.max(1, evaluationContext.getOpenRtbRequestContext().getImpressionCount());
     }
 
     private void setupRequestId(EvaluationContext context) {
@@ -159,7 +467,8 @@ public class BidRequestEvaluatorOnRuleBasedModel implements BidRequestEvaluator
             context.setRequestId(id);
         } catch (PathNotFoundException e) {
             String randomId = UUID.randomUUID().toString();
-            context.addDebug("Could not find id from OpenRtbRequest and use self generated UUID instead. Generated id: " + randomId);
+            context.record(TraceLevel.DEBUG, TraceStage.REQUEST,
+                    "Could not find id from OpenRtbRequest and use self generated UUID instead. Generated id:", randomId);
             context.setRequestId(randomId);
         }
     }
@@ -172,20 +481,66 @@ public class BidRequestEvaluatorOnRuleBasedModel implements BidRequestEvaluator
             ModelConfiguration modelConfiguration = modelConfigurationProvider.provide();
             modelDefinitionByIdentifier = modelConfiguration.getModelDefinitionByIdentifier();
         } catch (Exception e) {
-            context.addError("Error while loading model configuration.\n" + e.getMessage());
+            context.record(TraceLevel.ERROR, TraceStage.MODEL_CONFIGURATION, "Error while loading model configuration.", e);
             throw new IllegalStateException("Error while loading model configuration", e);
         }
         List<ModelDefinition> modelDefinitions = new ArrayList<>(modelsInExperiment.size());
         for (String modelIdentifier : modelsInExperiment) {
             if (!modelDefinitionByIdentifier.containsKey(modelIdentifier)) {
-                context.addError("Error while finding the definition of model " + modelIdentifier + " registered in the experiment.");
-                throw new IllegalStateException("Error while finding the definition of model " + modelIdentifier + " registered in the experiment.");
+                IllegalStateException exception = new IllegalStateException(
+                        "Error while finding the definition of model " + modelIdentifier + " registered in the experiment.");
+                context.record(TraceLevel.ERROR, TraceStage.MODEL_CONFIGURATION, exception.getMessage(), null);
+                throw exception;
             }
             modelDefinitions.add(modelDefinitionByIdentifier.get(modelIdentifier));
         }
         return modelDefinitions;
     }
 
+    /**
+     * Returns the pass-through response with one slot per impression, the given response itself for one slot.
+     * The slots of the response are shared, so that it can still be told apart, see
+     * {@link #isPassThroughResponse}.
+     */
+    static Response passThroughResponse(Response passThroughResponse, int slotCount) {
+        if (slotCount <= 1) {
+            return passThroughResponse;
+        }
+        return Response.builder()
+                .slots(Collections.nCopies(slotCount, passThroughResponse.getSlots().get(0)))
+                .ext(passThroughResponse.getExt())
+                .build();
+    }
+
+    /**
+     * Returns whether the response is the default response to a request that could not be evaluated, e.g.
+     * an invalid request or one whose evaluation failed, rather than a decision of the models.
+     *
+     * @param response The response returned by the evaluator.
+     * @return true if the response is the default response.
+     */
+    public static boolean isDefaultResponse(Response response) {
+        return isPassThroughResponse(response, DEFAULT_RESPONSE);
+    }
+
+    /**
+     * Returns whether the response is the given pass-through response, for any number of slots.
+     */
+    static boolean isPassThroughResponse(Response response, Response passThroughResponse) {
+        return response == passThroughResponse
+                || (!response.getSlots().isEmpty() && response.getSlots().get(0) == passThroughResponse.getSlots().get(0));
+    }
+
+    private static Response buildPassThroughResponse() {
+        return Response.builder()
+                .slots(List.of(Slot.builder()
+                        .filterDecision(DEFAULT_FILTER_RECOMMENDATION)
+                        .ext(ResponseUtil.buildExtension(Map.of(EXTENSION_KEYWORD_DECISION, DEFAULT_FILTER_RECOMMENDATION)))
+                        .build()))
+                .ext(ResponseUtil.buildExtension(Map.of(EXTENSION_KEYWORD_LEARNING, DEFAULT_LEARNING)))
+                .build();
+    }
+
     private Response buildResponse(EvaluationContext context) {
         AggregatedModelEvaluationResult aggregatedModelEvaluationResult = context.getAggregatedModelEvaluationResult();
         return Response.builder()
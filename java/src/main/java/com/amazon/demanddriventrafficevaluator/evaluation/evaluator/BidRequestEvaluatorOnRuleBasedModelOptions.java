@@ -0,0 +1,30 @@
+// Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+// SPDX-License-Identifier: Apache-2.0
+
+package com.amazon.demanddriventrafficevaluator.evaluation.evaluator;
+
+import com.amazon.demanddriventrafficevaluator.evaluation.shadow.ShadowEvaluator;
+import lombok.Builder;
+import lombok.Getter;
+
+/**
+ * The optional features of a {@link BidRequestEvaluatorOnRuleBasedModel}, all disabled by default.
+ */
+@Builder
+@Getter
+public class BidRequestEvaluatorOnRuleBasedModelOptions {
+    // the monitor the latency of the evaluations is recorded to, or null to not record it
+    private final RequestLatencyMonitor requestLatencyMonitor;
+    // whether to respond with one slot per impression, instead of a single slot
+    private final boolean evaluatePerImpression;
+    // a request is traced one time in this many, 0 to only trace the requests asking for it
+    private final int traceSamplingInterval;
+    // the evaluator of the candidate models, or null to not evaluate them
+    private final ShadowEvaluator shadowEvaluator;
+    // the bypass deciding which requests are evaluated, or null to evaluate them all
+    private final OverloadBypass overloadBypass;
+    // the time after which an asynchronous evaluation completes with the default response, 0 to run the
+    // asynchronous evaluations inline
+    @Builder.Default
+    private final long asyncDeadlineMs = BidRequestEvaluatorOnRuleBasedModel.NO_DEADLINE;
+}
@@ -3,6 +3,7 @@
 
 package com.amazon.demanddriventrafficevaluator.evaluation.evaluator;
 
+import com.amazon.demanddriventrafficevaluator.evaluation.trace.EvaluationTrace;
 import lombok.Builder;
 import lombok.Getter;
 
@@ -10,4 +11,8 @@ import lombok.Getter;
 @Getter
 public class BidRequestEvaluatorOutput {
     private final Response response;
+    /**
+     * The trace of the evaluation, {@link EvaluationTrace#DISABLED} if the request was not traced.
+     */
+    private final EvaluationTrace trace;
 }
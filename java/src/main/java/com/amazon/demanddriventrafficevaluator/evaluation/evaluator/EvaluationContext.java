@@ -4,18 +4,24 @@
 package com.amazon.demanddriventrafficevaluator.evaluation.evaluator;
 
 import com.amazon.demanddriventrafficevaluator.evaluation.experiment.ExperimentContext;
+import com.amazon.demanddriventrafficevaluator.evaluation.trace.EvaluationTrace;
+import com.amazon.demanddriventrafficevaluator.evaluation.trace.TraceLevel;
+import com.amazon.demanddriventrafficevaluator.evaluation.trace.TraceStage;
 import lombok.Getter;
-import lombok.NoArgsConstructor;
 import lombok.Setter;
 
-import java.util.ArrayList;
-import java.util.Collections;
 import java.util.List;
 
-@NoArgsConstructor
+/**
+ * The state of the evaluation of a bid request.
+ * <p>
+ * The debug info of the request is recorded to its trace, which records nothing unless the request is traced;
+ * see {@link EvaluationTrace}. A context created without a trace traces its request.
+ * </p>
+ */
 @Getter
 public class EvaluationContext {
-    private final List<String> debugInfo = new ArrayList<>();
+    private final EvaluationTrace trace;
     @Setter
     private OpenRtbRequestContext openRtbRequestContext;
     @Setter
@@ -26,21 +32,47 @@ public class EvaluationContext {
     private List<ModelEvaluatorOutput> modelEvaluatorOutputs;
     @Setter
     private AggregatedModelEvaluationResult aggregatedModelEvaluationResult;
+    @Setter
+    private List<List<ModelEvaluatorOutput>> modelEvaluatorOutputsByImpression;
+    @Setter
+    private List<AggregatedModelEvaluationResult> aggregatedModelEvaluationResultsByImpression;
+
+    public EvaluationContext() {
+        this(new EvaluationTrace());
+    }
+
+    public EvaluationContext(EvaluationTrace trace) {
+        this.trace = trace;
+    }
+
+    /**
+     * Checks whether the request is traced, to skip building the messages and details of untraced requests.
+     */
+    public boolean isTracing() {
+        return trace.isEnabled();
+    }
 
     public void addDebug(String info) {
-        debugInfo.add("[Debug] " + info + "\n");
+        record(TraceLevel.DEBUG, TraceStage.REQUEST, info, null);
     }
 
     public void addInfo(String info) {
-        debugInfo.add("[Info] " + info + "\n");
+        record(TraceLevel.INFO, TraceStage.REQUEST, info, null);
     }
 
     public void addError(String info) {
-        debugInfo.add("[Error] " + info + "\n");
+        record(TraceLevel.ERROR, TraceStage.REQUEST, info, null);
+    }
+
+    /**
+     * Records an event of the request; see {@link EvaluationTrace#record}.
+     */
+    public void record(TraceLevel level, TraceStage stage, String message, Object detail) {
+        trace.record(EvaluationTrace.REQUEST_SCOPE, level, stage, null, message, detail);
     }
 
     // Return an unmodifiable view of the debug info
     public List<String> getDebugInfo() {
-        return Collections.unmodifiableList(debugInfo);
+        return trace.getMessages(EvaluationTrace.REQUEST_SCOPE);
     }
 }
@@ -3,36 +3,80 @@
 
 package com.amazon.demanddriventrafficevaluator.evaluation.evaluator;
 
+import com.amazon.demanddriventrafficevaluator.evaluation.trace.EvaluationTrace;
+import com.amazon.demanddriventrafficevaluator.evaluation.trace.TraceLevel;
+import com.amazon.demanddriventrafficevaluator.evaluation.trace.TraceStage;
+import com.amazon.demanddriventrafficevaluator.repository.entity.ModelResult;
 import lombok.Getter;
 
-import java.util.ArrayList;
-import java.util.Collections;
 import java.util.List;
 
+/**
+ * The state of the evaluation of a model for a bid request.
+ * <p>
+ * The debug info of the model evaluation is recorded in a scope of its own of the trace of the request.
+ * </p>
+ */
 @Getter
 public class ModelEvaluationContext {
     private final EvaluationContext evaluationContext;
-
-    private final List<String> debugInfo = new ArrayList<>();
+    private final String modelIdentifier;
+    private final EvaluationTrace trace;
+    private final int scope;
 
     public ModelEvaluationContext(EvaluationContext evaluationContext) {
+        this(evaluationContext, null);
+    }
+
+    /**
+     * Creates the context of the evaluation of a model.
+     *
+     * @param modelIdentifier The identifier of the model the trace events are recorded for, or null.
+     */
+    public ModelEvaluationContext(EvaluationContext evaluationContext, String modelIdentifier) {
         this.evaluationContext = evaluationContext;
+        this.modelIdentifier = modelIdentifier;
+        EvaluationTrace requestTrace = evaluationContext.getTrace();
+        // a request context without a trace, e.g. a stub, leaves the model context with a trace of its own
+        this.trace = requestTrace == null ? new EvaluationTrace() : requestTrace;
+        this.scope = trace.openScope();
+    }
+
+    /**
+     * Checks whether the request is traced, to skip building the messages and details of untraced requests.
+     */
+    public boolean isTracing() {
+        return trace.isEnabled();
     }
 
     public void addDebug(String info) {
-        debugInfo.add("[Debug] " + info + "\n");
+        record(TraceLevel.DEBUG, TraceStage.REQUEST, info, null);
     }
 
     public void addInfo(String info) {
-        debugInfo.add("[Info] " + info + "\n");
+        record(TraceLevel.INFO, TraceStage.REQUEST, info, null);
     }
 
     public void addError(String info) {
-        debugInfo.add("[Error] " + info + "\n");
+        record(TraceLevel.ERROR, TraceStage.REQUEST, info, null);
+    }
+
+    /**
+     * Records an event of the model evaluation; see {@link EvaluationTrace#record}.
+     */
+    public void record(TraceLevel level, TraceStage stage, String message, Object detail) {
+        trace.record(scope, level, stage, modelIdentifier, message, detail);
+    }
+
+    /**
+     * Records the keys the model result was looked up with, and whether any of them was found.
+     */
+    public void recordLookup(ModelResult modelResult) {
+        trace.recordLookup(scope, modelIdentifier, modelResult);
     }
 
     // Return an unmodifiable view of the debug info
     public List<String> getDebugInfo() {
-        return Collections.unmodifiableList(debugInfo);
+        return trace.getMessages(scope);
     }
 }
@@ -4,6 +4,8 @@
 package com.amazon.demanddriventrafficevaluator.evaluation.evaluator;
 
 import com.amazon.demanddriventrafficevaluator.evaluation.experiment.ExperimentContext;
+import com.amazon.demanddriventrafficevaluator.evaluation.trace.TraceLevel;
+import com.amazon.demanddriventrafficevaluator.evaluation.trace.TraceStage;
 import com.amazon.demanddriventrafficevaluator.repository.entity.ExperimentDefinition;
 
 import java.util.List;
@@ -97,7 +99,7 @@ public class ModelEvaluationResultsMaxAggregator implements ModelEvaluationResul
                     .aggregationType(AGGREGATION_TYPE_MAX)
                     .build();
         } catch (Exception e) {
-            context.addError("Failed to aggregate model evaluation results.\n" + e.getMessage());
+            context.record(TraceLevel.ERROR, TraceStage.AGGREGATION, "Failed to aggregate model evaluation results.", e);
             log.error("Failed to aggregate model evaluation results", e);
             return AggregatedModelEvaluationResult.builder()
                     .experimentName(experimentName)
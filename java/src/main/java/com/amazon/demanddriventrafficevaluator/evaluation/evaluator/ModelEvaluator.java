@@ -5,6 +5,7 @@ package com.amazon.demanddriventrafficevaluator.evaluation.evaluator;
 
 import com.amazon.demanddriventrafficevaluator.modelfeature.ModelFeature;
 
+import java.util.Collections;
 import java.util.List;
 
 /**
@@ -40,4 +41,19 @@ public interface ModelEvaluator {
      * @return A ModelEvaluatorOutput object containing the results of the evaluation.
      */
     ModelEvaluatorOutput evaluate(ModelEvaluatorInput request);
+
+    /**
+     * Evaluates every impression of an OpenRTB request using the specified model.
+     * <p>
+     * By default the request is evaluated once and its output is used for every impression.
+     * </p>
+     *
+     * @param request         The ModelEvaluatorInput containing the ModelEvaluationContext
+     *                        and ModelDefinition required for evaluation.
+     * @param impressionCount The number of impressions of the request, at least 1.
+     * @return One ModelEvaluatorOutput per impression, in the order of the impressions.
+     */
+    default List<ModelEvaluatorOutput> evaluateImpressions(ModelEvaluatorInput request, int impressionCount) {
+        return Collections.nCopies(impressionCount, evaluate(request));
+    }
 }
@@ -21,4 +21,13 @@ public interface OpenRtbRequestContext {
      */
     List<String> findPath(String path);
 
+    /**
+     * Returns the number of impressions of the request, i.e. of entries of its imp array.
+     *
+     * @return The number of impressions, or 0 if it cannot be determined.
+     */
+    default int getImpressionCount() {
+        return 0;
+    }
+
 }
@@ -17,6 +17,8 @@ import org.apache.commons.lang3.StringUtils;
 @Log4j2
 public class OpenRtbRequestContextJsonDocument implements OpenRtbRequestContext {
 
+    private static final String IMPRESSIONS_PATH = "$.imp[*]";
+
     @Setter
     private DocumentContext openRtbRequestContext;
 
@@ -56,4 +58,20 @@ public class OpenRtbRequestContextJsonDocument implements OpenRtbRequestContext
         }
     }
 
+
+    /**
+     * Returns the number of entries of the imp array of the document.
+     *
+     * @return The number of impressions, or 0 if the document has no imp array.
+     */
+    @Override
+    public int getImpressionCount() {
+        try {
+            List<?> impressions = openRtbRequestContext.read(IMPRESSIONS_PATH);
+            return impressions == null ? 0 : impressions.size();
+        } catch (Exception e) {
+            log.debug("No impressions in the OpenRTB request", e);
+            return 0;
+        }
+    }
 }
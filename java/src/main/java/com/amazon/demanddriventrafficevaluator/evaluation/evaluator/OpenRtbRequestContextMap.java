@@ -16,6 +16,8 @@ import org.apache.commons.lang3.StringUtils;
 @Log4j2
 public class OpenRtbRequestContextMap implements OpenRtbRequestContext {
 
+    private static final String IMPRESSION_PATH_PREFIX = "$.imp[";
+
     @Setter
     private Map<String, List<String>> openRtbRequestContext;
 
@@ -53,4 +55,30 @@ public class OpenRtbRequestContextMap implements OpenRtbRequestContext {
         }
     }
 
+
+    /**
+     * Returns the number of impressions the map holds fields of, from the highest index of the paths
+     * starting with $.imp[, e.g. 2 for a map holding $.imp[0].banner.w and $.imp[1].banner.w.
+     *
+     * @return The number of impressions, or 0 if the map holds no impression field.
+     */
+    @Override
+    public int getImpressionCount() {
+        int impressionCount = 0;
+        for (String path : openRtbRequestContext.keySet()) {
+            if (!path.startsWith(IMPRESSION_PATH_PREFIX)) {
+                continue;
+            }
+            int end = path.indexOf(']', IMPRESSION_PATH_PREFIX.length());
+            if (end > IMPRESSION_PATH_PREFIX.length()) {
+                try {
+                    impressionCount = Math.max(impressionCount,
+                            Integer.parseInt(path.substring(IMPRESSION_PATH_PREFIX.length(), end)) + 1);
+                } catch (NumberFormatException e) {
+                    // a wildcard or filter does not name an impression
+                }
+            }
+        }
+        return impressionCount;
+    }
 }
@@ -0,0 +1,178 @@
+// Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+// SPDX-License-Identifier: Apache-2.0
+
+package com.amazon.demanddriventrafficevaluator.evaluation.evaluator;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+/**
+ * Sheds the evaluations of a share of the bid requests while the evaluator is overloaded.
+ * <p>
+ * The evaluator is overloaded while the smoothed latency of the evaluations, read from the
+ * {@link RequestLatencyMonitor}, is above the latency threshold, or while more evaluations than the in-flight
+ * limit are running. Once per adjustment interval, the share of the requests that bypass the evaluation grows
+ * by one step while the evaluator is overloaded, up to the maximum share, and shrinks by one step once it is
+ * not, so that the evaluations ramp back up as the latency recovers. A bypassed request is answered with a
+ * pass-through decision without extracting features or looking up model results, so that the filter never
+ * makes an overload worse. The maximum share is below 1 so that the latency of the evaluations is still
+ * sampled while bypassing.
+ * </p>
+ * <p>
+ * The adjustments are made by the request threads, at most one per interval, so that no thread of its own is
+ * needed; a request that is not bypassed costs a read of the clock, and two atomic updates if the in-flight
+ * limit is set.
+ * </p>
+ */
+public class OverloadBypass {
+
+    public static final long NO_LATENCY_THRESHOLD = 0L;
+    public static final int NO_IN_FLIGHT_LIMIT = 0;
+    static final long DEFAULT_ADJUSTMENT_INTERVAL_NANOS = TimeUnit.MILLISECONDS.toNanos(100L);
+    private static final double PERCENT = 100.0;
+
+    private final RequestLatencyMonitor requestLatencyMonitor;
+    private final long latencyThresholdNanos;
+    private final int maxInFlight;
+    private final double maxBypassRate;
+    private final double stepRate;
+    private final long adjustmentIntervalNanos;
+    private final LongSupplier nanoClock;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicLong nextAdjustmentNanos;
+    private final LongAdder bypassedCount = new LongAdder();
+    private final LongAdder evaluatedCount = new LongAdder();
+    private volatile double bypassRate;
+
+    /**
+     * Creates a bypass adjusted every {@link #DEFAULT_ADJUSTMENT_INTERVAL_NANOS}.
+     *
+     * @param requestLatencyMonitor The monitor the smoothed latency of the evaluations is read from.
+     * @param latencyThresholdNanos The latency above which the evaluator is overloaded, 0 to ignore the latency.
+     * @param maxInFlight           The number of running evaluations above which the evaluator is overloaded, 0 to ignore it.
+     * @param maxBypassPercent      The largest share of the requests bypassed, in percent, below 100.
+     * @param stepPercent           The share of the requests the bypass rate changes by at each adjustment, in percent.
+     * @throws IllegalArgumentException if a share is out of range.
+     */
+    public OverloadBypass(
+            RequestLatencyMonitor requestLatencyMonitor,
+            long latencyThresholdNanos,
+            int maxInFlight,
+            int maxBypassPercent,
+            int stepPercent
+    ) {
+        this(requestLatencyMonitor, latencyThresholdNanos, maxInFlight, maxBypassPercent, stepPercent,
+                DEFAULT_ADJUSTMENT_INTERVAL_NANOS, System::nanoTime);
+    }
+
+    OverloadBypass(
+            RequestLatencyMonitor requestLatencyMonitor,
+            long latencyThresholdNanos,
+            int maxInFlight,
+            int maxBypassPercent,
+            int stepPercent,
+            long adjustmentIntervalNanos,
+            LongSupplier nanoClock
+    ) {
+        if (maxBypassPercent < 0 || maxBypassPercent >= PERCENT) {
+            throw new IllegalArgumentException("Invalid max bypass share: " + maxBypassPercent + "%");
+        }
+        if (stepPercent <= 0 || stepPercent > PERCENT) {
+            throw new IllegalArgumentException("Invalid bypass step: " + stepPercent + "%");
+        }
+        this.requestLatencyMonitor = requestLatencyMonitor;
+        this.latencyThresholdNanos = latencyThresholdNanos;
+        this.maxInFlight = maxInFlight;
+        this.maxBypassRate = maxBypassPercent / PERCENT;
+        this.stepRate = stepPercent / PERCENT;
+        this.adjustmentIntervalNanos = adjustmentIntervalNanos;
+        this.nanoClock = nanoClock;
+        this.nextAdjustmentNanos = new AtomicLong(nanoClock.getAsLong() + adjustmentIntervalNanos);
+    }
+
+    /**
+     * Decides whether a request is evaluated. A request that is evaluated must be followed by {@link #exit()}
+     * once its evaluation ends.
+     *
+     * @return true if the request is evaluated, false if it bypasses the evaluation.
+     */
+    public boolean tryEnter() {
+        adjustIfDue();
+        double rate = bypassRate;
+        if (rate > 0.0 && ThreadLocalRandom.current().nextDouble() < rate) {
+            bypassedCount.increment();
+            return false;
+        }
+        evaluatedCount.increment();
+        if (maxInFlight != NO_IN_FLIGHT_LIMIT) {
+            inFlight.incrementAndGet();
+        }
+        return true;
+    }
+
+    /**
+     * Marks the end of the evaluation of a request admitted by {@link #tryEnter()}.
+     */
+    public void exit() {
+        if (maxInFlight != NO_IN_FLIGHT_LIMIT) {
+            inFlight.decrementAndGet();
+        }
+    }
+
+    private void adjustIfDue() {
+        long nowNanos = nanoClock.getAsLong();
+        long next = nextAdjustmentNanos.get();
+        if (nowNanos - next < 0L || !nextAdjustmentNanos.compareAndSet(next, nowNanos + adjustmentIntervalNanos)) {
+            return;
+        }
+        // only the thread winning the update adjusts the rate, so the read and write below do not race
+        bypassRate = isOverloaded()
+                ? Math.min(maxBypassRate, bypassRate + stepRate)
+                : Math.max(0.0, bypassRate - stepRate);
+    }
+
+    private boolean isOverloaded() {
+        return latencyThresholdNanos != NO_LATENCY_THRESHOLD && requestLatencyMonitor.getLatencyNanos() > latencyThresholdNanos
+                || maxInFlight != NO_IN_FLIGHT_LIMIT && inFlight.get() > maxInFlight;
+    }
+
+    /**
+     * Returns the share of the requests currently bypassing the evaluation.
+     *
+     * @return The bypass rate, between 0 and the maximum share.
+     */
+    public double getBypassRate() {
+        return bypassRate;
+    }
+
+    /**
+     * Returns the number of requests that bypassed the evaluation so far.
+     *
+     * @return The number of bypassed requests.
+     */
+    public long getBypassedCount() {
+        return bypassedCount.sum();
+    }
+
+    /**
+     * Returns the number of requests admitted to the evaluation so far.
+     *
+     * @return The number of evaluated requests.
+     */
+    public long getEvaluatedCount() {
+        return evaluatedCount.sum();
+    }
+
+    /**
+     * Returns the number of evaluations running, if the in-flight limit is set.
+     *
+     * @return The number of running evaluations, or 0 if the in-flight limit is not set.
+     */
+    public int getInFlight() {
+        return inFlight.get();
+    }
+}
@@ -0,0 +1,49 @@
+// Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+// SPDX-License-Identifier: Apache-2.0
+
+package com.amazon.demanddriventrafficevaluator.evaluation.evaluator;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Tracks the smoothed latency of the bid request evaluations.
+ * <p>
+ * The latency is an exponentially weighted moving average over a sample of one in {@link #SAMPLING_INTERVAL}
+ * evaluations, so that the request threads rarely write to the shared average. Concurrent updates may
+ * overwrite each other, which only drops samples of the average; it is meant as a cheap signal for
+ * background work to back off when the request path is slow, not as an exact metric.
+ * </p>
+ */
+public class RequestLatencyMonitor {
+
+    static final int SAMPLING_INTERVAL = 16;
+    // each sample moves the average by 1/8 of its distance to the sample
+    private static final int SMOOTHING_SHIFT = 3;
+
+    private volatile long latencyNanos;
+
+    /**
+     * Records the latency of an evaluation, if it is sampled.
+     *
+     * @param elapsedNanos The latency of the evaluation in nanoseconds.
+     */
+    public void record(long elapsedNanos) {
+        if (ThreadLocalRandom.current().nextInt(SAMPLING_INTERVAL) == 0) {
+            recordSample(elapsedNanos);
+        }
+    }
+
+    void recordSample(long elapsedNanos) {
+        long current = latencyNanos;
+        latencyNanos = current + ((elapsedNanos - current) >> SMOOTHING_SHIFT);
+    }
+
+    /**
+     * Returns the smoothed latency of the evaluations.
+     *
+     * @return The latency in nanoseconds.
+     */
+    public long getLatencyNanos() {
+        return latencyNanos;
+    }
+}
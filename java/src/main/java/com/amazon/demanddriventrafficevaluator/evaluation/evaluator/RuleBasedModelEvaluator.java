@@ -3,6 +3,10 @@
 
 package com.amazon.demanddriventrafficevaluator.evaluation.evaluator;
 
+import com.amazon.demanddriventrafficevaluator.evaluation.trace.TraceLevel;
+import com.amazon.demanddriventrafficevaluator.evaluation.trace.TraceStage;
+import com.amazon.demanddriventrafficevaluator.jfr.JfrEvents;
+import com.amazon.demanddriventrafficevaluator.jfr.ModelEvaluationEvent;
 import com.amazon.demanddriventrafficevaluator.modelfeature.Extraction;
 import com.amazon.demanddriventrafficevaluator.modelfeature.FeatureExtractorType;
 import com.amazon.demanddriventrafficevaluator.modelfeature.ModelFeature;
@@ -14,7 +18,12 @@ import com.amazon.demanddriventrafficevaluator.repository.provider.model.ModelRe
 import com.amazon.demanddriventrafficevaluator.repository.provider.model.ModelResultProviderInput;
 
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import lombok.extern.log4j.Log4j2;
 
 /**
@@ -29,13 +38,29 @@ import lombok.extern.log4j.Log4j2;
  *     <li>ModelResultProvider: for generating model results based on the transformed features</li>
  * </ul>
  * </p>
+ * <p>
+ * When evaluating every impression of a request, the features whose fields are all outside the first impression,
+ * e.g. $.device.devicetype or $.app.publisher.id, are request-level: they are extracted and transformed once for all
+ * impressions. The other features, reading fields of $.imp[0], are impression-level and read the same fields of each
+ * impression. Impressions with the same impression-level feature values share one model result lookup: the model
+ * result stores are looked up one key at a time, so the keys of a request are deduplicated rather than encoded
+ * and looked up in a batch. The feature configurations reading the fields of each impression are built once per
+ * model configuration, not once per request.
+ * </p>
  */
 @Log4j2
 public class RuleBasedModelEvaluator implements ModelEvaluator {
 
+    static final String FIRST_IMPRESSION_PATH_PREFIX = "$.imp[0]";
+    private static final String IMPRESSION_PATH_PREFIX = "$.imp[";
+    // requests rarely hold more impressions, the feature configurations of the others are not kept
+    static final int MAX_CACHED_IMPRESSIONS = 64;
+
     private final Extraction extraction;
     private final Transformation transformation;
     private final ModelResultProvider ruleBasedmodelResultProvider;
+    private final ConcurrentMap<String, ImpressionFeatureConfigurations> impressionFeatureConfigurationsByModelIdentifier =
+            new ConcurrentHashMap<>();
 
     public RuleBasedModelEvaluator(
             Extraction extraction,
@@ -74,7 +99,7 @@ public class RuleBasedModelEvaluator implements ModelEvaluator {
 
             return modelFeatures;
         } catch (Exception e) {
-            context.addError("Error while getting features.\n" + e.getMessage());
+            context.record(TraceLevel.ERROR, TraceStage.FEATURES, "Error while getting features.", e);
             throw new RuntimeException("Error while getting features", e);
         }
     }
@@ -93,30 +118,265 @@ public class RuleBasedModelEvaluator implements ModelEvaluator {
         ModelEvaluationContext context = input.getContext();
         ModelDefinition modelDefinition = input.getModelDefinition();
         log.debug("modelDefinition: {}", modelDefinition);
+        ModelEvaluationEvent event = new ModelEvaluationEvent();
+        event.begin();
+        ModelEvaluatorOutput output = null;
         try {
             List<ModelFeature> modelFeatures = getFeatures(input);
             log.debug("modelFeatures: {}", modelFeatures);
-            ModelResult modelResult = ruleBasedmodelResultProvider.provide(
-                    ModelResultProviderInput.builder()
-                            .modelDefinition(modelDefinition)
-                            .modelFeatures(modelFeatures)
-                            .build()
-            );
-            return ModelEvaluatorOutput.builder()
-                    .context(context)
-                    .status(ModelEvaluationStatus.SUCCESS)
-                    .modelResult(modelResult)
-                    .modelFeatures(modelFeatures)
-                    .modelDefinition(modelDefinition)
-                    .build();
+            output = buildOutput(context, modelDefinition, modelFeatures);
+            return output;
         } catch (Exception e) {
-            context.addError("Error while evaluating model.\n" + e.getMessage());
+            context.record(TraceLevel.ERROR, TraceStage.LOOKUP, "Error while evaluating model.", e);
             log.error("Error while evaluating model", e);
-            return ModelEvaluatorOutput.builder()
-                    .context(context)
-                    .modelDefinition(modelDefinition)
-                    .status(ModelEvaluationStatus.ERROR)
-                    .build();
+            return buildErrorOutput(context, modelDefinition);
+        } finally {
+            commit(event, modelDefinition, output);
+        }
+    }
+
+    /**
+     * Evaluates the model on every impression of the request.
+     * <p>
+     * The request-level features are extracted once, and the impression-level features once per impression.
+     * The model result is looked up once per distinct combination of impression-level feature values, and the
+     * impressions sharing a combination share its output. An impression whose features fail to be extracted
+     * gets an output with an ERROR status, without failing the other impressions.
+     * </p>
+     *
+     * @param input           The ModelEvaluatorInput containing the necessary context and model definition.
+     * @param impressionCount The number of impressions of the request, at least 1.
+     * @return One ModelEvaluatorOutput per impression, in the order of the impressions.
+     */
+    @Override
+    public List<ModelEvaluatorOutput> evaluateImpressions(ModelEvaluatorInput input, int impressionCount) {
+        ModelEvaluationContext context = input.getContext();
+        ModelDefinition modelDefinition = input.getModelDefinition();
+        List<FeatureConfiguration> featureConfigurations = modelDefinition.getFeatures();
+        OpenRtbRequestContext openRtbRequestContext = context.getEvaluationContext().getOpenRtbRequestContext();
+        ImpressionFeatureConfigurations impressionFeatureConfigurations = getImpressionFeatureConfigurations(modelDefinition);
+        // the request-level features, with null in place of the impression-level features
+        List<ModelFeature> requestLevelFeatures = new ArrayList<>(featureConfigurations.size());
+        try {
+            for (int i = 0; i < featureConfigurations.size(); i++) {
+                requestLevelFeatures.add(impressionFeatureConfigurations.isImpressionLevel(i)
+                        ? null
+                        : extractFeature(openRtbRequestContext, featureConfigurations.get(i), modelDefinition));
+            }
+        } catch (Exception e) {
+            context.record(TraceLevel.ERROR, TraceStage.FEATURES, "Error while getting request-level features.", e);
+            log.error("Error while getting request-level features", e);
+            return Collections.nCopies(impressionCount, buildErrorOutput(context, modelDefinition));
+        }
+
+        List<ModelEvaluatorOutput> outputs = new ArrayList<>(impressionCount);
+        Map<List<List<String>>, ModelEvaluatorOutput> outputByImpressionLevelValues = new HashMap<>();
+        for (int impressionIndex = 0; impressionIndex < impressionCount; impressionIndex++) {
+            try {
+                List<FeatureConfiguration> impressionFeatures = impressionFeatureConfigurations.forImpression(impressionIndex);
+                List<ModelFeature> modelFeatures = new ArrayList<>(featureConfigurations.size());
+                List<List<String>> impressionLevelValues = new ArrayList<>();
+                for (int i = 0; i < featureConfigurations.size(); i++) {
+                    ModelFeature modelFeature = requestLevelFeatures.get(i);
+                    if (modelFeature == null) {
+                        modelFeature = extractFeature(openRtbRequestContext, impressionFeatures.get(i), modelDefinition);
+                        impressionLevelValues.add(modelFeature.getValues());
+                    }
+                    modelFeatures.add(modelFeature);
+                }
+                ModelEvaluatorOutput output = outputByImpressionLevelValues.get(impressionLevelValues);
+                if (output == null) {
+                    ModelEvaluationEvent event = new ModelEvaluationEvent();
+                    event.begin();
+                    try {
+                        output = buildOutput(context, modelDefinition, modelFeatures);
+                    } finally {
+                        commit(event, modelDefinition, output);
+                    }
+                    outputByImpressionLevelValues.put(impressionLevelValues, output);
+                }
+                outputs.add(output);
+            } catch (Exception e) {
+                if (context.isTracing()) {
+                    context.record(TraceLevel.ERROR, TraceStage.FEATURES,
+                            "Error while evaluating model on impression " + impressionIndex + ".", e);
+                }
+                log.error("Error while evaluating model on impression {}", impressionIndex, e);
+                outputs.add(buildErrorOutput(context, modelDefinition));
+            }
+        }
+        return outputs;
+    }
+
+    private ModelFeature extractFeature(
+            OpenRtbRequestContext openRtbRequestContext,
+            FeatureConfiguration featureConfiguration,
+            ModelDefinition modelDefinition
+    ) {
+        ModelFeature modelFeature = extraction.extract(openRtbRequestContext, featureConfiguration, modelDefinition.getFeatureExtractorType());
+        return transformation.transform(modelFeature);
+    }
+
+    /**
+     * Returns the feature configurations of the model for each impression, built again once the model
+     * configuration is loaded again.
+     */
+    ImpressionFeatureConfigurations getImpressionFeatureConfigurations(ModelDefinition modelDefinition) {
+        String modelIdentifier = modelDefinition.getIdentifier();
+        if (modelIdentifier == null) {
+            return new ImpressionFeatureConfigurations(modelDefinition.getFeatures());
+        }
+        ImpressionFeatureConfigurations impressionFeatureConfigurations =
+                impressionFeatureConfigurationsByModelIdentifier.get(modelIdentifier);
+        if (impressionFeatureConfigurations == null
+                || impressionFeatureConfigurations.featureConfigurations != modelDefinition.getFeatures()) {
+            impressionFeatureConfigurations = new ImpressionFeatureConfigurations(modelDefinition.getFeatures());
+            impressionFeatureConfigurationsByModelIdentifier.put(modelIdentifier, impressionFeatureConfigurations);
+        }
+        return impressionFeatureConfigurations;
+    }
+
+    /**
+     * Looks up the model result of the features.
+     */
+    private ModelEvaluatorOutput buildOutput(
+            ModelEvaluationContext context,
+            ModelDefinition modelDefinition,
+            List<ModelFeature> modelFeatures
+    ) {
+        ModelResult modelResult = ruleBasedmodelResultProvider.provide(
+                ModelResultProviderInput.builder()
+                        .modelDefinition(modelDefinition)
+                        .modelFeatures(modelFeatures)
+                        .build()
+        );
+        if (context.isTracing()) {
+            context.recordLookup(modelResult);
+        }
+        return ModelEvaluatorOutput.builder()
+                .context(context)
+                .status(ModelEvaluationStatus.SUCCESS)
+                .modelResult(modelResult)
+                .modelFeatures(modelFeatures)
+                .modelDefinition(modelDefinition)
+                .build();
+    }
+
+    /**
+     * Commits the event of an evaluation, as an error without an output.
+     */
+    private static void commit(ModelEvaluationEvent event, ModelDefinition modelDefinition, ModelEvaluatorOutput output) {
+        event.end();
+        if (event.shouldCommit() && !JfrEvents.isSuppressed()) {
+            ModelResult modelResult = output == null ? null : output.getModelResult();
+            event.modelIdentifier = modelDefinition.getIdentifier();
+            event.status = output == null ? ModelEvaluationStatus.ERROR.name() : output.getStatus().name();
+            if (modelResult != null) {
+                event.keyCount = modelResult.getKeys() == null ? 0 : modelResult.getKeys().size();
+                event.hit = modelResult.isHit();
+            }
+            event.commit();
+        }
+    }
+
+    private static ModelEvaluatorOutput buildErrorOutput(ModelEvaluationContext context, ModelDefinition modelDefinition) {
+        return ModelEvaluatorOutput.builder()
+                .context(context)
+                .modelDefinition(modelDefinition)
+                .status(ModelEvaluationStatus.ERROR)
+                .build();
+    }
+
+    /**
+     * Checks whether a feature reads a field of the first impression, which is then read from each impression.
+     */
+    static boolean isImpressionLevel(FeatureConfiguration featureConfiguration) {
+        if (featureConfiguration.getFields() == null) {
+            return false;
+        }
+        for (String field : featureConfiguration.getFields()) {
+            if (field.startsWith(FIRST_IMPRESSION_PATH_PREFIX)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Returns the feature configuration reading the fields of the given impression instead of the first one.
+     */
+    static FeatureConfiguration forImpression(FeatureConfiguration featureConfiguration, int impressionIndex) {
+        if (impressionIndex == 0) {
+            return featureConfiguration;
+        }
+        List<String> fields = new ArrayList<>(featureConfiguration.getFields().size());
+        for (String field : featureConfiguration.getFields()) {
+            fields.add(field.startsWith(FIRST_IMPRESSION_PATH_PREFIX)
+                    ? IMPRESSION_PATH_PREFIX + impressionIndex + "]" + field.substring(FIRST_IMPRESSION_PATH_PREFIX.length())
+                    : field);
+        }
+        FeatureConfiguration impressionFeatureConfiguration = new FeatureConfiguration();
+        impressionFeatureConfiguration.setName(featureConfiguration.getName());
+        impressionFeatureConfiguration.setFields(fields);
+        impressionFeatureConfiguration.setTransformations(featureConfiguration.getTransformations());
+        impressionFeatureConfiguration.setMapping(featureConfiguration.getMapping());
+        impressionFeatureConfiguration.setMappingDefaultValue(featureConfiguration.getMappingDefaultValue());
+        return impressionFeatureConfiguration;
+    }
+
+    /**
+     * The feature configurations of a model, rewritten to read the fields of each impression. The configurations
+     * of an impression are built the first time a request holds it, up to {@link #MAX_CACHED_IMPRESSIONS}.
+     */
+    static final class ImpressionFeatureConfigurations {
+        private final List<FeatureConfiguration> featureConfigurations;
+        private final boolean[] impressionLevel;
+        private volatile List<List<FeatureConfiguration>> featureConfigurationsByImpression;
+
+        private ImpressionFeatureConfigurations(List<FeatureConfiguration> featureConfigurations) {
+            this.featureConfigurations = featureConfigurations;
+            this.impressionLevel = new boolean[featureConfigurations.size()];
+            for (int i = 0; i < impressionLevel.length; i++) {
+                impressionLevel[i] = RuleBasedModelEvaluator.isImpressionLevel(featureConfigurations.get(i));
+            }
+            this.featureConfigurationsByImpression = List.of(featureConfigurations);
+        }
+
+        boolean isImpressionLevel(int featureIndex) {
+            return impressionLevel[featureIndex];
+        }
+
+        List<FeatureConfiguration> forImpression(int impressionIndex) {
+            List<List<FeatureConfiguration>> byImpression = featureConfigurationsByImpression;
+            if (impressionIndex < byImpression.size()) {
+                return byImpression.get(impressionIndex);
+            }
+            if (impressionIndex >= MAX_CACHED_IMPRESSIONS) {
+                return build(impressionIndex);
+            }
+            synchronized (this) {
+                byImpression = featureConfigurationsByImpression;
+                if (impressionIndex >= byImpression.size()) {
+                    List<List<FeatureConfiguration>> grown = new ArrayList<>(impressionIndex + 1);
+                    grown.addAll(byImpression);
+                    for (int i = byImpression.size(); i <= impressionIndex; i++) {
+                        grown.add(build(i));
+                    }
+                    byImpression = Collections.unmodifiableList(grown);
+                    featureConfigurationsByImpression = byImpression;
+                }
+            }
+            return byImpression.get(impressionIndex);
+        }
+
+        private List<FeatureConfiguration> build(int impressionIndex) {
+            List<FeatureConfiguration> impressionFeatureConfigurations = new ArrayList<>(featureConfigurations.size());
+            for (int i = 0; i < featureConfigurations.size(); i++) {
+                impressionFeatureConfigurations.add(impressionLevel[i]
+                        ? RuleBasedModelEvaluator.forImpression(featureConfigurations.get(i), impressionIndex)
+                        : featureConfigurations.get(i));
+            }
+            return impressionFeatureConfigurations;
         }
     }
 }
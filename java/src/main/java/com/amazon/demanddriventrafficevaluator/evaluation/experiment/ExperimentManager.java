@@ -4,6 +4,10 @@
 package com.amazon.demanddriventrafficevaluator.evaluation.experiment;
 
 import com.amazon.demanddriventrafficevaluator.evaluation.evaluator.EvaluationContext;
+import com.amazon.demanddriventrafficevaluator.evaluation.trace.TraceLevel;
+import com.amazon.demanddriventrafficevaluator.evaluation.trace.TraceStage;
+import com.amazon.demanddriventrafficevaluator.jfr.JfrEvents;
+import com.amazon.demanddriventrafficevaluator.jfr.TreatmentAllocationEvent;
 import com.amazon.demanddriventrafficevaluator.repository.entity.ExperimentConfiguration;
 import com.amazon.demanddriventrafficevaluator.repository.entity.ExperimentDefinition;
 import com.amazon.demanddriventrafficevaluator.repository.provider.configuration.ConfigurationProvider;
@@ -58,14 +62,22 @@ public class ExperimentManager {
             ExperimentConfiguration experimentConfiguration = provider.provide();
             log.debug("experimentConfiguration: {}", experimentConfiguration);
             for (Map.Entry<String, ExperimentDefinition> entry : experimentConfiguration.getExperimentDefinitionByName().entrySet()) {
+                TreatmentAllocationEvent event = new TreatmentAllocationEvent();
+                event.begin();
                 String treatmentCode = allocator.getTreatmentCode(context.getRequestId(), entry.getValue());
+                event.end();
+                if (event.shouldCommit() && !JfrEvents.isSuppressed()) {
+                    event.experimentName = entry.getKey();
+                    event.treatmentCode = treatmentCode;
+                    event.commit();
+                }
                 handler.assignTreatmentOnExperiment(entry.getKey(), treatmentCode);
             }
             ExperimentContext experimentContext = new ExperimentContext(handler.getExperimentArrangement(), experimentConfiguration);
             log.debug("experimentContext: {}", experimentContext);
             context.setExperimentContext(experimentContext);
         } catch (Exception e) {
-            context.addError("Error while loading experiment configuration.\n" + e.getMessage());
+            context.record(TraceLevel.ERROR, TraceStage.EXPERIMENT, "Error while loading experiment configuration.", e);
             throw new IllegalStateException("Error while getting ExperimentContext", e);
         }
     }
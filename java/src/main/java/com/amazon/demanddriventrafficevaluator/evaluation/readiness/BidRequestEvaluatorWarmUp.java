@@ -0,0 +1,162 @@
+// Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+// SPDX-License-Identifier: Apache-2.0
+
+package com.amazon.demanddriventrafficevaluator.evaluation.readiness;
+
+import com.amazon.demanddriventrafficevaluator.evaluation.evaluator.BidRequestEvaluator;
+import com.amazon.demanddriventrafficevaluator.evaluation.evaluator.BidRequestEvaluatorInput;
+import com.amazon.demanddriventrafficevaluator.evaluation.evaluator.BidRequestEvaluatorOutput;
+import com.amazon.demanddriventrafficevaluator.jfr.JfrEvents;
+import lombok.extern.log4j.Log4j2;
+
+import java.lang.management.CompilationMXBean;
+import java.lang.management.ManagementFactory;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+import java.util.function.Predicate;
+
+/**
+ * Warms up a bid request evaluator by replaying requests through it until the JIT compilation stabilizes.
+ * <p>
+ * Right after the initialization, the JSON parsing, feature extraction and model result lookups run
+ * interpreted, and the first real requests see latencies of several milliseconds. The warm-up evaluates the
+ * requests in rounds of at least {@link #MIN_REQUESTS_PER_ROUND} requests, and stops once the total JIT
+ * compilation time of the JVM has not changed for a number of consecutive rounds, i.e. the code paths of
+ * the evaluation are compiled, or once it runs out of rounds or time. Where the JVM does not report its
+ * compilation time, the warm-up runs every round.
+ * </p>
+ * <p>
+ * The replayed requests are not traffic: the evaluations commit no Java Flight Recorder event.
+ * </p>
+ */
+@Log4j2
+public class BidRequestEvaluatorWarmUp {
+
+    public static final long UNLIMITED_DURATION = 0L;
+    static final int MIN_REQUESTS_PER_ROUND = 1024;
+
+    private final List<BidRequestEvaluatorInput> requests;
+    private final int maxRounds;
+    private final long maxDurationMs;
+    private final int stableRounds;
+    private final LongSupplier compilationTimeMs;
+
+    /**
+     * Creates a warm-up of bid request evaluators.
+     *
+     * @param requests      The requests replayed through the evaluator.
+     * @param maxRounds     The maximum number of rounds; 0 disables the warm-up.
+     * @param maxDurationMs The maximum duration of the warm-up; 0 does not limit it.
+     * @param stableRounds  The number of consecutive rounds without JIT compilation that end the warm-up.
+     */
+    public BidRequestEvaluatorWarmUp(
+            List<BidRequestEvaluatorInput> requests,
+            int maxRounds,
+            long maxDurationMs,
+            int stableRounds
+    ) {
+        this(requests, maxRounds, maxDurationMs, stableRounds, getCompilationTimeMs());
+    }
+
+    /**
+     * Creates a warm-up of bid request evaluators.
+     *
+     * @param compilationTimeMs The total JIT compilation time of the JVM, or null if it is not reported.
+     */
+    BidRequestEvaluatorWarmUp(
+            List<BidRequestEvaluatorInput> requests,
+            int maxRounds,
+            long maxDurationMs,
+            int stableRounds,
+            LongSupplier compilationTimeMs
+    ) {
+        if (maxRounds < 0) {
+            throw new IllegalArgumentException("Invalid warm-up max rounds: " + maxRounds);
+        }
+        if (maxDurationMs < 0L) {
+            throw new IllegalArgumentException("Invalid warm-up max duration: " + maxDurationMs);
+        }
+        if (stableRounds <= 0) {
+            throw new IllegalArgumentException("Invalid warm-up stable rounds: " + stableRounds);
+        }
+        this.requests = List.copyOf(requests);
+        this.maxRounds = maxRounds;
+        this.maxDurationMs = maxDurationMs;
+        this.stableRounds = stableRounds;
+        this.compilationTimeMs = compilationTimeMs;
+    }
+
+    /**
+     * Replays the requests through the evaluator until the JIT compilation stabilizes.
+     *
+     * @param evaluator The evaluator to warm up.
+     * @return The outcome of the warm-up.
+     */
+    public WarmUpResult run(BidRequestEvaluator evaluator) {
+        return run(evaluator, Objects::nonNull);
+    }
+
+    /**
+     * Replays the requests through the evaluator until the JIT compilation stabilizes.
+     *
+     * @param evaluator The evaluator to warm up.
+     * @param evaluated Whether the output is the evaluation of its request, rather than a default response.
+     * @return The outcome of the warm-up.
+     */
+    public WarmUpResult run(BidRequestEvaluator evaluator, Predicate<BidRequestEvaluatorOutput> evaluated) {
+        return JfrEvents.callSuppressed(() -> replay(evaluator, evaluated));
+    }
+
+    private WarmUpResult replay(BidRequestEvaluator evaluator, Predicate<BidRequestEvaluatorOutput> evaluated) {
+        if (requests.isEmpty() || maxRounds == 0) {
+            log.info("Skipping the warm-up of the bid request evaluator, with {} requests and {} rounds", requests.size(), maxRounds);
+            return WarmUpResult.builder().build();
+        }
+        long startNanos = System.nanoTime();
+        long deadlineNanos = startNanos + TimeUnit.MILLISECONDS.toNanos(maxDurationMs);
+        long lastCompilationTimeMs = compilationTimeMs == null ? 0L : compilationTimeMs.getAsLong();
+        long requestCount = 0L;
+        long evaluatedRequestCount = 0L;
+        int roundCount = 0;
+        int stableRoundCount = 0;
+        boolean stabilized = false;
+        while (roundCount < maxRounds
+                && (maxDurationMs == UNLIMITED_DURATION || System.nanoTime() - deadlineNanos < 0L)) {
+            for (int i = 0; i < Math.max(requests.size(), MIN_REQUESTS_PER_ROUND); i++) {
+                if (evaluated.test(evaluator.evaluate(requests.get(i % requests.size())))) {
+                    evaluatedRequestCount++;
+                }
+                requestCount++;
+            }
+            roundCount++;
+            if (compilationTimeMs != null) {
+                long currentCompilationTimeMs = compilationTimeMs.getAsLong();
+                stableRoundCount = currentCompilationTimeMs == lastCompilationTimeMs ? stableRoundCount + 1 : 0;
+                lastCompilationTimeMs = currentCompilationTimeMs;
+                if (stableRoundCount >= stableRounds) {
+                    stabilized = true;
+                    break;
+                }
+            }
+        }
+        WarmUpResult result = WarmUpResult.builder()
+                .requestCount(requestCount)
+                .evaluatedRequestCount(evaluatedRequestCount)
+                .roundCount(roundCount)
+                .durationMs(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos))
+                .stabilized(stabilized)
+                .build();
+        log.info("Warmed up the bid request evaluator: {}", result);
+        return result;
+    }
+
+    private static LongSupplier getCompilationTimeMs() {
+        CompilationMXBean compilationMXBean = ManagementFactory.getCompilationMXBean();
+        if (compilationMXBean == null || !compilationMXBean.isCompilationTimeMonitoringSupported()) {
+            return null;
+        }
+        return compilationMXBean::getTotalCompilationTime;
+    }
+}
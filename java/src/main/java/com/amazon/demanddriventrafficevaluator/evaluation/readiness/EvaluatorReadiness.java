@@ -0,0 +1,27 @@
+// Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+// SPDX-License-Identifier: Apache-2.0
+
+package com.amazon.demanddriventrafficevaluator.evaluation.readiness;
+
+import lombok.Builder;
+import lombok.Getter;
+import lombok.ToString;
+
+import java.util.Map;
+
+/**
+ * Whether the bid request evaluators are ready to take traffic.
+ * <p>
+ * The evaluators are ready once they are warmed up, the model configuration is loaded, and the model results
+ * of every configured model are present and fresh.
+ * </p>
+ */
+@Builder
+@Getter
+@ToString
+public class EvaluatorReadiness {
+    private final boolean ready;
+    private final boolean warmedUp;
+    private final boolean modelConfigurationLoaded;
+    private final Map<String, ModelReadiness> modelReadinessByIdentifier;
+}
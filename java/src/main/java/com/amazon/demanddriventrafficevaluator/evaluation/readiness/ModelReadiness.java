@@ -0,0 +1,23 @@
+// Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+// SPDX-License-Identifier: Apache-2.0
+
+package com.amazon.demanddriventrafficevaluator.evaluation.readiness;
+
+import lombok.Builder;
+import lombok.Getter;
+import lombok.ToString;
+
+/**
+ * Whether the model results of a configured model are present and fresh.
+ */
+@Builder
+@Getter
+@ToString
+public class ModelReadiness {
+    private final String modelIdentifier;
+    private final boolean present;
+    private final String version;
+    // the time since the model results were last confirmed current, -1 when they are not present
+    private final long ageMs;
+    private final boolean fresh;
+}
@@ -0,0 +1,202 @@
+// Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+// SPDX-License-Identifier: Apache-2.0
+
+package com.amazon.demanddriventrafficevaluator.evaluation.readiness;
+
+import com.amazon.demanddriventrafficevaluator.evaluation.evaluator.BidRequestEvaluatorInput;
+import com.amazon.demanddriventrafficevaluator.repository.entity.FeatureConfiguration;
+import com.amazon.demanddriventrafficevaluator.repository.entity.ModelConfiguration;
+import com.amazon.demanddriventrafficevaluator.repository.entity.ModelDefinition;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.log4j.Log4j2;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**
+ * Builds the bid requests a bid request evaluator is warmed up with.
+ * <p>
+ * The requests are either read from a corpus file of representative OpenRTB requests, one JSON request per
+ * line, or synthesized from the field paths of the features of the configured models, so that the warm-up
+ * extracts, transforms and looks up every feature the way real traffic does.
+ * </p>
+ */
+@Log4j2
+public final class WarmUpRequestCorpus {
+
+    // a field is left out of one synthesized request in this many, to also warm up the paths of absent fields
+    static final int ABSENT_FIELD_INTERVAL = 8;
+    static final int DISTINCT_VALUE_COUNT = 64;
+    private static final String JSON_PATH_ROOT = "$.";
+    private static final String COMMENT_PREFIX = "#";
+    private static final Pattern FIELD_PATH_SEGMENT = Pattern.compile("([A-Za-z0-9_\\-]+)(?:\\[(\\d+|\\*)])?");
+
+    private WarmUpRequestCorpus() {
+    }
+
+    /**
+     * Reads the requests of a corpus file, skipping blank lines and lines starting with #.
+     *
+     * @param file The corpus file, holding one OpenRTB request in JSON per line.
+     * @return The requests of the corpus.
+     * @throws IllegalStateException if the corpus file cannot be read.
+     */
+    public static List<BidRequestEvaluatorInput> fromFile(Path file) {
+        try (Stream<String> lines = Files.lines(file, StandardCharsets.UTF_8)) {
+            List<BidRequestEvaluatorInput> requests = new ArrayList<>();
+            lines.map(String::trim)
+                    .filter(line -> !line.isEmpty() && !line.startsWith(COMMENT_PREFIX))
+                    .forEach(line -> requests.add(BidRequestEvaluatorInput.builder().openRtbRequest(line).build()));
+            return requests;
+        } catch (IOException e) {
+            throw new IllegalStateException("Failed to read the warm-up corpus " + file, e);
+        }
+    }
+
+    /**
+     * Synthesizes requests setting every field read by the features of the configured models.
+     * <p>
+     * A field of a feature with a mapping takes the mapped values in turn, as well as a value outside the
+     * mapping, and any other field takes one of {@link #DISTINCT_VALUE_COUNT} values, so that the requests
+     * hit and miss the model results. Only plain field paths, e.g. $.imp[0].video.w, are synthesized; fields
+     * behind filters or deep scans are left out of the requests.
+     * </p>
+     *
+     * @param modelConfiguration The model configuration whose feature fields are set.
+     * @param requestCount       The number of requests to synthesize.
+     * @param mapper             The mapper serializing the requests.
+     * @return The synthesized requests.
+     */
+    public static List<BidRequestEvaluatorInput> fromModelConfiguration(
+            ModelConfiguration modelConfiguration,
+            int requestCount,
+            ObjectMapper mapper
+    ) {
+        Map<String, List<String>> valuesByFieldPath = getValuesByFieldPath(modelConfiguration);
+        List<BidRequestEvaluatorInput> requests = new ArrayList<>(requestCount);
+        for (int i = 0; i < requestCount; i++) {
+            Map<String, Object> request = new LinkedHashMap<>();
+            request.put("id", "warm-up-" + i);
+            int fieldIndex = 0;
+            for (Map.Entry<String, List<String>> fieldValues : valuesByFieldPath.entrySet()) {
+                if ((i + fieldIndex++) % ABSENT_FIELD_INTERVAL != 0) {
+                    List<String> values = fieldValues.getValue();
+                    setField(request, fieldValues.getKey(), values.get(i % values.size()));
+                }
+            }
+            try {
+                requests.add(BidRequestEvaluatorInput.builder().openRtbRequest(mapper.writeValueAsString(request)).build());
+            } catch (JsonProcessingException e) {
+                throw new IllegalStateException("Failed to synthesize a warm-up request", e);
+            }
+        }
+        return requests;
+    }
+
+    private static Map<String, List<String>> getValuesByFieldPath(ModelConfiguration modelConfiguration) {
+        Map<String, List<String>> valuesByFieldPath = new LinkedHashMap<>();
+        for (ModelDefinition modelDefinition : modelConfiguration.getModelDefinitionByIdentifier().values()) {
+            if (modelDefinition.getFeatures() == null) {
+                continue;
+            }
+            for (FeatureConfiguration feature : modelDefinition.getFeatures()) {
+                if (feature.getFields() == null) {
+                    continue;
+                }
+                for (String fieldPath : feature.getFields()) {
+                    Set<String> values = new LinkedHashSet<>(valuesByFieldPath.getOrDefault(fieldPath, List.of()));
+                    if (feature.getMapping() != null && !feature.getMapping().isEmpty()) {
+                        values.addAll(feature.getMapping().keySet());
+                        values.add("warm-up-unmapped");
+                    } else if (values.isEmpty()) {
+                        for (int i = 0; i < DISTINCT_VALUE_COUNT; i++) {
+                            values.add(String.valueOf(i));
+                        }
+                    }
+                    valuesByFieldPath.put(fieldPath, new ArrayList<>(values));
+                }
+            }
+        }
+        // a field holding the object of another field, e.g. $.app of $.app.publisher.id, is set by the other field
+        Set<String> fieldPaths = Set.copyOf(valuesByFieldPath.keySet());
+        valuesByFieldPath.keySet().removeIf(fieldPath -> fieldPaths.stream()
+                .anyMatch(otherFieldPath -> otherFieldPath.startsWith(fieldPath + ".") || otherFieldPath.startsWith(fieldPath + "[")));
+        return valuesByFieldPath;
+    }
+
+    /**
+     * Sets the field at the given path of the request, creating the objects and arrays along the path. A field
+     * already holding an object, or a path running through a field holding a value, is left as it is.
+     *
+     * @param request   The request, as nested maps and lists.
+     * @param fieldPath The JSON path of the field, e.g. $.imp[0].video.w; other paths than plain field paths are skipped.
+     * @param value     The value of the field.
+     */
+    @SuppressWarnings("unchecked")
+    public static void setField(Map<String, Object> request, String fieldPath, String value) {
+        if (!fieldPath.startsWith(JSON_PATH_ROOT)) {
+            log.debug("Not synthesizing warm-up field {}", fieldPath);
+            return;
+        }
+        String[] segments = fieldPath.substring(JSON_PATH_ROOT.length()).split("\\.", -1);
+        Map<String, Object> node = request;
+        for (int i = 0; i < segments.length; i++) {
+            Matcher matcher = FIELD_PATH_SEGMENT.matcher(segments[i]);
+            if (!matcher.matches()) {
+                log.debug("Not synthesizing warm-up field {}", fieldPath);
+                return;
+            }
+            boolean last = i == segments.length - 1;
+            String name = matcher.group(1);
+            Object child = node.get(name);
+            if (matcher.group(2) == null) {
+                if (last) {
+                    if (child == null) {
+                        node.put(name, value);
+                    }
+                    return;
+                }
+                if (child == null) {
+                    child = new LinkedHashMap<String, Object>();
+                    node.put(name, child);
+                }
+            } else {
+                int index = "*".equals(matcher.group(2)) ? 0 : Integer.parseInt(matcher.group(2));
+                if (child == null) {
+                    child = new ArrayList<>();
+                    node.put(name, child);
+                }
+                if (!(child instanceof List)) {
+                    return;
+                }
+                List<Object> elements = (List<Object>) child;
+                while (elements.size() <= index) {
+                    elements.add(last ? value : new LinkedHashMap<String, Object>());
+                }
+                if (last) {
+                    if (!(elements.get(index) instanceof Map)) {
+                        elements.set(index, value);
+                    }
+                    return;
+                }
+                child = elements.get(index);
+            }
+            if (!(child instanceof Map)) {
+                return;
+            }
+            node = (Map<String, Object>) child;
+        }
+    }
+}
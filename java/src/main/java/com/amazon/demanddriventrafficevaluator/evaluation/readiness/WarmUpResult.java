@@ -0,0 +1,24 @@
+// Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+// SPDX-License-Identifier: Apache-2.0
+
+package com.amazon.demanddriventrafficevaluator.evaluation.readiness;
+
+import lombok.Builder;
+import lombok.Getter;
+import lombok.ToString;
+
+/**
+ * The outcome of a warm-up of a bid request evaluator.
+ */
+@Builder
+@Getter
+@ToString
+public class WarmUpResult {
+    private final long requestCount;
+    // the number of requests the evaluator actually evaluated, rather than answering with its default response
+    private final long evaluatedRequestCount;
+    private final int roundCount;
+    private final long durationMs;
+    // whether the JIT compilation stopped before the warm-up ran out of rounds or time
+    private final boolean stabilized;
+}
@@ -0,0 +1,333 @@
+// Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+// SPDX-License-Identifier: Apache-2.0
+
+package com.amazon.demanddriventrafficevaluator.evaluation.scoring;
+
+import com.amazon.demanddriventrafficevaluator.evaluation.evaluator.AggregatedModelEvaluationResult;
+import com.amazon.demanddriventrafficevaluator.evaluation.evaluator.BidRequestEvaluator;
+import com.amazon.demanddriventrafficevaluator.evaluation.evaluator.BidRequestEvaluatorInput;
+import com.amazon.demanddriventrafficevaluator.evaluation.evaluator.BidRequestEvaluatorOutput;
+import com.amazon.demanddriventrafficevaluator.evaluation.evaluator.EvaluationContext;
+import com.amazon.demanddriventrafficevaluator.evaluation.evaluator.ModelEvaluationStatus;
+import com.amazon.demanddriventrafficevaluator.evaluation.evaluator.ModelEvaluatorOutput;
+import com.amazon.demanddriventrafficevaluator.evaluation.evaluator.Slot;
+import com.fasterxml.jackson.core.io.JsonStringEncoder;
+import lombok.extern.log4j.Log4j2;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.function.Consumer;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Scores an archive of bid requests offline, e.g. to measure the filter rates of a set of model result files
+ * before they are published.
+ * <p>
+ * The archive holds one OpenRTB request in JSON per line, and may be compressed with gzip. Its lines are read
+ * in batches, which are evaluated in parallel on a ForkJoinPool with the evaluator a bidder uses, so that the
+ * requests go through the same extraction, transformations and lookups as in production. Each worker of the
+ * pool keeps a context of its own across the batches, holding its statistics and the buffer its decisions are
+ * written into, so that the workers share no state while scoring; the statistics of the workers are merged at
+ * the end. The number of batches read ahead is bounded, so that archives of any size are scored in constant
+ * memory, and the decisions are written in the order of the archive, one JSON object per line.
+ * </p>
+ */
+@Log4j2
+public class BulkScorer {
+
+    public static final int DEFAULT_BATCH_SIZE = 512;
+    // batches read ahead per worker, to keep the workers busy while the head batch is written
+    private static final int PENDING_BATCHES_PER_WORKER = 4;
+    private static final int GZIP_MAGIC_FIRST_BYTE = 0x1f;
+    private static final int GZIP_MAGIC_SECOND_BYTE = 0x8b;
+    private static final String GZIP_EXTENSION = ".gz";
+    private static final int IO_BUFFER_SIZE = 1 << 16;
+
+    private final BidRequestEvaluator evaluator;
+    private final ForkJoinPool pool;
+    private final int batchSize;
+    private final int maxPendingBatches;
+
+    public BulkScorer(BidRequestEvaluator evaluator) {
+        this(evaluator, ForkJoinPool.commonPool());
+    }
+
+    public BulkScorer(BidRequestEvaluator evaluator, ForkJoinPool pool) {
+        this(evaluator, pool, DEFAULT_BATCH_SIZE);
+    }
+
+    /**
+     * Creates a bulk scorer.
+     *
+     * @param evaluator The evaluator scoring the requests, which must be thread-safe.
+     * @param pool      The pool evaluating the batches, whose parallelism sets the number of workers.
+     * @param batchSize The number of lines of the archive evaluated per task.
+     * @throws IllegalArgumentException if the batch size is not positive.
+     */
+    public BulkScorer(BidRequestEvaluator evaluator, ForkJoinPool pool, int batchSize) {
+        if (batchSize <= 0) {
+            throw new IllegalArgumentException("Invalid batch size: " + batchSize);
+        }
+        this.evaluator = evaluator;
+        this.pool = pool;
+        this.batchSize = batchSize;
+        this.maxPendingBatches = PENDING_BATCHES_PER_WORKER * pool.getParallelism();
+    }
+
+    /**
+     * Scores the requests of an archive file.
+     *
+     * @param archive   The archive, holding one OpenRTB request in JSON per line, compressed with gzip or not.
+     * @param decisions The file the decisions are written to, compressed with gzip if its name ends with .gz,
+     *                  or null to only compute the statistics.
+     * @return The statistics of the decisions.
+     * @throws IOException if the archive cannot be read or the decisions cannot be written.
+     */
+    public BulkScoringStatistics score(Path archive, Path decisions) throws IOException {
+        try (InputStream in = decompress(Files.newInputStream(archive));
+             Writer writer = decisions == null ? null : newWriter(decisions)) {
+            return score(in, writer);
+        }
+    }
+
+    /**
+     * Scores the requests of an archive stream.
+     * <p>
+     * Blank lines are skipped but counted, so that the line of a decision is its line in the archive. Each
+     * decision holds the request id, the experiment arm, the filter decision of every slot and the value of
+     * every model, null for a model which failed to evaluate; the request id and arm are null for requests
+     * answered with the default response.
+     * </p>
+     *
+     * @param archive   The archive, holding one OpenRTB request in JSON per line, uncompressed.
+     * @param decisions The writer the decisions are written to, one JSON object per line, or null to only
+     *                  compute the statistics.
+     * @return The statistics of the decisions.
+     * @throws IOException if the archive cannot be read or the decisions cannot be written.
+     */
+    public BulkScoringStatistics score(InputStream archive, Writer decisions) throws IOException {
+        long startMs = System.currentTimeMillis();
+        boolean writeDecisions = decisions != null;
+        Queue<WorkerContext> workerContexts = new ConcurrentLinkedQueue<>();
+        ThreadLocal<WorkerContext> workerContext = ThreadLocal.withInitial(() -> {
+            WorkerContext context = new WorkerContext();
+            workerContexts.add(context);
+            return context;
+        });
+        Deque<ForkJoinTask<String>> pendingBatches = new ArrayDeque<>();
+        BufferedReader reader = new BufferedReader(new InputStreamReader(archive, StandardCharsets.UTF_8), IO_BUFFER_SIZE);
+        try {
+            List<String> lines = new ArrayList<>(batchSize);
+            long lineNumber = 0L;
+            String line;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                lines.add(line);
+                if (lines.size() == batchSize) {
+                    pendingBatches.add(submit(workerContext, lines, lineNumber - lines.size() + 1, writeDecisions));
+                    lines = new ArrayList<>(batchSize);
+                    if (pendingBatches.size() >= maxPendingBatches) {
+                        write(pendingBatches.poll().join(), decisions);
+                    }
+                }
+            }
+            if (!lines.isEmpty()) {
+                pendingBatches.add(submit(workerContext, lines, lineNumber - lines.size() + 1, writeDecisions));
+            }
+            while (!pendingBatches.isEmpty()) {
+                write(pendingBatches.poll().join(), decisions);
+            }
+        } catch (IOException | RuntimeException e) {
+            pendingBatches.forEach(batch -> batch.cancel(false));
+            throw e;
+        }
+
+        // the joins of the batches make the statistics of the workers visible to this thread
+        BulkScoringStatistics statistics = new BulkScoringStatistics();
+        for (WorkerContext context : workerContexts) {
+            statistics.merge(context.statistics);
+        }
+        log.info("Scored {} requests on {} workers in {} ms, {} of the slots filtered",
+                statistics.getRequestCount(), workerContexts.size(), System.currentTimeMillis() - startMs,
+                statistics.getFilterRate());
+        return statistics;
+    }
+
+    private ForkJoinTask<String> submit(
+            ThreadLocal<WorkerContext> workerContext,
+            List<String> lines,
+            long firstLineNumber,
+            boolean writeDecisions
+    ) {
+        return pool.submit(() -> evaluateBatch(workerContext.get(), lines, firstLineNumber, writeDecisions));
+    }
+
+    private String evaluateBatch(WorkerContext context, List<String> lines, long firstLineNumber, boolean writeDecisions) {
+        StringBuilder decisions = context.decisions;
+        decisions.setLength(0);
+        for (int i = 0; i < lines.size(); i++) {
+            String request = lines.get(i);
+            if (request.isBlank()) {
+                continue;
+            }
+            context.evaluationContext = null;
+            BidRequestEvaluatorOutput output = evaluator.evaluate(
+                    BidRequestEvaluatorInput.builder().openRtbRequest(request).build(), context);
+            context.statistics.record(output, context.evaluationContext);
+            if (writeDecisions) {
+                appendDecision(decisions, firstLineNumber + i, output, context.evaluationContext);
+                decisions.append('\n');
+            }
+        }
+        return writeDecisions ? decisions.toString() : null;
+    }
+
+    private static void write(String decisions, Writer writer) throws IOException {
+        if (writer != null) {
+            writer.write(decisions);
+        }
+    }
+
+    /**
+     * Appends the decision of a request as a JSON object, e.g.
+     * {@code {"line":12,"requestId":"r1","arm":"soft-filter-1/T","decisions":[0.0],"models":{"m1":0.0,"m2":null}}}.
+     * <p>
+     * A request evaluated per impression holds the values of the models of every impression instead, in the
+     * order of its slots, e.g. {@code "models":[{"m1":0.0},{"m1":1.0}]}.
+     * </p>
+     *
+     * @param builder    The builder the decision is appended to.
+     * @param lineNumber The line of the request in the archive, from 1.
+     * @param output     The output of the evaluation of the request.
+     * @param context    The context of the evaluation of the request, or null if the evaluator has none.
+     */
+    static void appendDecision(
+            StringBuilder builder,
+            long lineNumber,
+            BidRequestEvaluatorOutput output,
+            EvaluationContext context
+    ) {
+        AggregatedModelEvaluationResult aggregatedResult = context == null ? null : context.getAggregatedModelEvaluationResult();
+        builder.append("{\"line\":").append(lineNumber).append(",\"requestId\":");
+        appendString(builder, aggregatedResult == null ? null : context.getRequestId());
+        builder.append(",\"arm\":");
+        appendString(builder, aggregatedResult == null ? null : BulkScoringStatistics.getArm(aggregatedResult));
+        builder.append(",\"decisions\":[");
+        List<Slot> slots = output.getResponse().getSlots();
+        for (int i = 0; i < slots.size(); i++) {
+            if (i > 0) {
+                builder.append(',');
+            }
+            builder.append(slots.get(i).getFilterDecision());
+        }
+        builder.append("],\"models\":");
+        if (aggregatedResult != null && context.getAggregatedModelEvaluationResultsByImpression() != null) {
+            List<List<ModelEvaluatorOutput>> modelEvaluatorOutputsByImpression =
+                    BulkScoringStatistics.getModelEvaluatorOutputsByImpression(context);
+            builder.append('[');
+            for (int i = 0; i < context.getAggregatedModelEvaluationResultsByImpression().size(); i++) {
+                if (i > 0) {
+                    builder.append(',');
+                }
+                appendModels(builder, i < modelEvaluatorOutputsByImpression.size()
+                        ? modelEvaluatorOutputsByImpression.get(i)
+                        : null);
+            }
+            builder.append(']');
+        } else {
+            appendModels(builder, aggregatedResult == null ? null : context.getModelEvaluatorOutputs());
+        }
+        builder.append('}');
+    }
+
+    private static void appendModels(StringBuilder builder, List<ModelEvaluatorOutput> modelEvaluatorOutputs) {
+        builder.append('{');
+        if (modelEvaluatorOutputs != null) {
+            boolean first = true;
+            for (ModelEvaluatorOutput modelEvaluatorOutput : modelEvaluatorOutputs) {
+                if (!first) {
+                    builder.append(',');
+                }
+                first = false;
+                appendString(builder, modelEvaluatorOutput.getModelDefinition().getIdentifier());
+                builder.append(':');
+                if (modelEvaluatorOutput.getStatus() == ModelEvaluationStatus.SUCCESS && modelEvaluatorOutput.getModelResult() != null) {
+                    builder.append(modelEvaluatorOutput.getModelResult().getValue());
+                } else {
+                    builder.append("null");
+                }
+            }
+        }
+        builder.append('}');
+    }
+
+    private static void appendString(StringBuilder builder, String value) {
+        if (value == null) {
+            builder.append("null");
+            return;
+        }
+        builder.append('"');
+        JsonStringEncoder.getInstance().quoteAsString(value, builder);
+        builder.append('"');
+    }
+
+    /**
+     * Wraps a stream in a gzip decompressing stream if it starts with the gzip magic bytes.
+     *
+     * @param in The stream, compressed with gzip or not.
+     * @return The decompressed stream.
+     * @throws IOException if the stream cannot be read.
+     */
+    static InputStream decompress(InputStream in) throws IOException {
+        BufferedInputStream buffered = new BufferedInputStream(in, IO_BUFFER_SIZE);
+        buffered.mark(2);
+        int firstByte = buffered.read();
+        int secondByte = buffered.read();
+        buffered.reset();
+        if (firstByte == GZIP_MAGIC_FIRST_BYTE && secondByte == GZIP_MAGIC_SECOND_BYTE) {
+            return new GZIPInputStream(buffered, IO_BUFFER_SIZE);
+        }
+        return buffered;
+    }
+
+    private static Writer newWriter(Path decisions) throws IOException {
+        OutputStream out = Files.newOutputStream(decisions);
+        if (decisions.getFileName().toString().endsWith(GZIP_EXTENSION)) {
+            out = new GZIPOutputStream(out, IO_BUFFER_SIZE);
+        }
+        return new OutputStreamWriter(out, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * The state a worker reuses across the batches it evaluates, which also receives the context of the
+     * request it evaluates.
+     */
+    private static final class WorkerContext implements Consumer<EvaluationContext> {
+        private final BulkScoringStatistics statistics = new BulkScoringStatistics();
+        private final StringBuilder decisions = new StringBuilder();
+        private EvaluationContext evaluationContext;
+
+        @Override
+        public void accept(EvaluationContext evaluationContext) {
+            this.evaluationContext = evaluationContext;
+        }
+    }
+}
@@ -0,0 +1,220 @@
+// Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+// SPDX-License-Identifier: Apache-2.0
+
+package com.amazon.demanddriventrafficevaluator.evaluation.scoring;
+
+import com.amazon.demanddriventrafficevaluator.evaluation.evaluator.AggregatedModelEvaluationResult;
+import com.amazon.demanddriventrafficevaluator.evaluation.evaluator.BidRequestEvaluatorOutput;
+import com.amazon.demanddriventrafficevaluator.evaluation.evaluator.EvaluationContext;
+import com.amazon.demanddriventrafficevaluator.evaluation.evaluator.ModelEvaluationStatus;
+import com.amazon.demanddriventrafficevaluator.evaluation.evaluator.ModelEvaluatorOutput;
+import com.amazon.demanddriventrafficevaluator.evaluation.evaluator.Slot;
+import lombok.Getter;
+
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * The statistics of the decisions of a bulk scoring, overall, per model and per experiment arm.
+ * <p>
+ * A slot is filtered when its filter decision is below 1.0, i.e. when the bidder would skip it. A model
+ * filters a request when it evaluated successfully to a value below 1.0; with several impressions evaluated
+ * apart, the models are counted on every impression. An arm, i.e. an experiment and its treatment code,
+ * counts the slots whose score is below 1.0, which the treatment filters and the control lets through.
+ * </p>
+ * <p>
+ * The statistics are not thread-safe: each worker of a bulk scoring records its own and they are merged once
+ * the workers are done.
+ * </p>
+ */
+@Getter
+public class BulkScoringStatistics {
+
+    static final double HIGH_VALUE = 1.0;
+    private static final String ARM_SEPARATOR = "/";
+
+    private long requestCount;
+    /**
+     * The number of requests answered with the default response, as they were invalid or failed to evaluate.
+     */
+    private long defaultResponseCount;
+    private long slotCount;
+    private long filteredSlotCount;
+    private final Map<String, ModelStatistics> modelStatistics = new TreeMap<>();
+    /**
+     * The statistics of the arms, by experiment name and treatment code, e.g. {@code soft-filter-1/T}.
+     */
+    private final Map<String, ArmStatistics> armStatistics = new TreeMap<>();
+
+    /**
+     * Records the decisions of an evaluated request.
+     *
+     * @param output  The output of the evaluation of the request.
+     * @param context The context of the evaluation of the request, or null if the evaluator has none.
+     */
+    public void record(BidRequestEvaluatorOutput output, EvaluationContext context) {
+        requestCount++;
+        for (Slot slot : output.getResponse().getSlots()) {
+            slotCount++;
+            if (slot.getFilterDecision() < HIGH_VALUE) {
+                filteredSlotCount++;
+            }
+        }
+        if (context == null || context.getAggregatedModelEvaluationResult() == null) {
+            defaultResponseCount++;
+            return;
+        }
+        for (List<ModelEvaluatorOutput> modelEvaluatorOutputs : getModelEvaluatorOutputsByImpression(context)) {
+            for (ModelEvaluatorOutput modelEvaluatorOutput : modelEvaluatorOutputs) {
+                modelStatistics.computeIfAbsent(modelEvaluatorOutput.getModelDefinition().getIdentifier(),
+                        modelIdentifier -> new ModelStatistics()).record(modelEvaluatorOutput);
+            }
+        }
+        List<AggregatedModelEvaluationResult> aggregatedResults = context.getAggregatedModelEvaluationResultsByImpression() == null
+                ? List.of(context.getAggregatedModelEvaluationResult())
+                : context.getAggregatedModelEvaluationResultsByImpression();
+        for (AggregatedModelEvaluationResult aggregatedResult : aggregatedResults) {
+            armStatistics.computeIfAbsent(getArm(aggregatedResult), arm -> new ArmStatistics()).record(aggregatedResult);
+        }
+    }
+
+    /**
+     * Adds the statistics of another worker to these statistics.
+     *
+     * @param other The statistics to add.
+     */
+    public void merge(BulkScoringStatistics other) {
+        requestCount += other.requestCount;
+        defaultResponseCount += other.defaultResponseCount;
+        slotCount += other.slotCount;
+        filteredSlotCount += other.filteredSlotCount;
+        other.modelStatistics.forEach((modelIdentifier, statistics) ->
+                modelStatistics.computeIfAbsent(modelIdentifier, key -> new ModelStatistics()).merge(statistics));
+        other.armStatistics.forEach((arm, statistics) ->
+                armStatistics.computeIfAbsent(arm, key -> new ArmStatistics()).merge(statistics));
+    }
+
+    /**
+     * @return The share of the slots filtered, 0 if no slot was scored.
+     */
+    public double getFilterRate() {
+        return rate(filteredSlotCount, slotCount);
+    }
+
+    /**
+     * Returns the outputs of the models for every impression of an evaluated request, a single list unless the
+     * request was evaluated per impression, and none if the models were not evaluated.
+     */
+    static List<List<ModelEvaluatorOutput>> getModelEvaluatorOutputsByImpression(EvaluationContext context) {
+        if (context.getModelEvaluatorOutputsByImpression() != null) {
+            return context.getModelEvaluatorOutputsByImpression();
+        }
+        return context.getModelEvaluatorOutputs() == null ? List.of() : List.of(context.getModelEvaluatorOutputs());
+    }
+
+    static String getArm(AggregatedModelEvaluationResult aggregatedResult) {
+        return aggregatedResult.getExperimentName() + ARM_SEPARATOR + aggregatedResult.getTreatmentCode();
+    }
+
+    private static double rate(long count, long total) {
+        return total == 0L ? 0.0 : (double) count / total;
+    }
+
+    /**
+     * The statistics of the evaluations of a model.
+     */
+    @Getter
+    public static final class ModelStatistics {
+
+        private long evaluationCount;
+        /**
+         * The number of evaluations which failed or timed out.
+         */
+        private long errorCount;
+        private long hitCount;
+        private long filteredCount;
+
+        void record(ModelEvaluatorOutput output) {
+            evaluationCount++;
+            if (output.getStatus() != ModelEvaluationStatus.SUCCESS || output.getModelResult() == null) {
+                errorCount++;
+                return;
+            }
+            if (output.getModelResult().isHit()) {
+                hitCount++;
+            }
+            if (output.getModelResult().getValue() < HIGH_VALUE) {
+                filteredCount++;
+            }
+        }
+
+        void merge(ModelStatistics other) {
+            evaluationCount += other.evaluationCount;
+            errorCount += other.errorCount;
+            hitCount += other.hitCount;
+            filteredCount += other.filteredCount;
+        }
+
+        /**
+         * @return The share of the evaluations hitting the model results, 0 if the model was not evaluated.
+         */
+        public double getHitRate() {
+            return rate(hitCount, evaluationCount);
+        }
+
+        /**
+         * @return The share of the evaluations the model filters, 0 if the model was not evaluated.
+         */
+        public double getFilterRate() {
+            return rate(filteredCount, evaluationCount);
+        }
+    }
+
+    /**
+     * The statistics of the slots of an experiment arm.
+     */
+    @Getter
+    public static final class ArmStatistics {
+
+        private long slotCount;
+        /**
+         * The number of slots whose aggregated score is below 1.0, whatever the treatment.
+         */
+        private long lowValueSlotCount;
+        /**
+         * The number of slots whose score with treatment is below 1.0, i.e. filtered in this arm.
+         */
+        private long filteredSlotCount;
+
+        void record(AggregatedModelEvaluationResult aggregatedResult) {
+            slotCount++;
+            if (aggregatedResult.getScore() < HIGH_VALUE) {
+                lowValueSlotCount++;
+            }
+            if (aggregatedResult.getScoreWithTreatment() < HIGH_VALUE) {
+                filteredSlotCount++;
+            }
+        }
+
+        void merge(ArmStatistics other) {
+            slotCount += other.slotCount;
+            lowValueSlotCount += other.lowValueSlotCount;
+            filteredSlotCount += other.filteredSlotCount;
+        }
+
+        /**
+         * @return The share of the slots of low value, 0 if the arm has no slot.
+         */
+        public double getLowValueRate() {
+            return rate(lowValueSlotCount, slotCount);
+        }
+
+        /**
+         * @return The share of the slots filtered, 0 if the arm has no slot.
+         */
+        public double getFilterRate() {
+            return rate(filteredSlotCount, slotCount);
+        }
+    }
+}
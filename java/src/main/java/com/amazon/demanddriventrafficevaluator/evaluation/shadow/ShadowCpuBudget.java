@@ -0,0 +1,83 @@
+// Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+// SPDX-License-Identifier: Apache-2.0
+
+package com.amazon.demanddriventrafficevaluator.evaluation.shadow;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Limits the CPU time spent on shadow evaluations to a share of one core.
+ * <p>
+ * The budget is a token bucket kept as the time at which the CPU time spent so far is repaid: each
+ * evaluation pushes that time forward by its CPU time divided by the share, and new evaluations are only
+ * started once it has passed. Up to {@link #MAX_BURST_NANOS} of budget accrues while no evaluation runs.
+ * Checking the budget is a read of the clock and of a volatile field, so it is cheap enough for the
+ * request threads.
+ * </p>
+ */
+public class ShadowCpuBudget {
+
+    public static final int UNLIMITED_PERCENT = 0;
+    static final long MAX_BURST_NANOS = TimeUnit.SECONDS.toNanos(1L);
+    private static final int PERCENT = 100;
+
+    private final int cpuPercent;
+    private final LongSupplier nanoClock;
+    private final AtomicLong repaidAtNanos;
+    private final AtomicLong spentCpuNanos = new AtomicLong();
+
+    public ShadowCpuBudget(int cpuPercent) {
+        this(cpuPercent, System::nanoTime);
+    }
+
+    /**
+     * Creates a CPU budget.
+     *
+     * @param cpuPercent The share of one core the shadow evaluations may use, in percent; 0 disables the limit.
+     * @param nanoClock  The clock the budget accrues with, in nanoseconds.
+     * @throws IllegalArgumentException if the share is out of range.
+     */
+    ShadowCpuBudget(int cpuPercent, LongSupplier nanoClock) {
+        if (cpuPercent < 0 || cpuPercent > PERCENT) {
+            throw new IllegalArgumentException("Invalid shadow evaluation CPU budget: " + cpuPercent + "%");
+        }
+        this.cpuPercent = cpuPercent;
+        this.nanoClock = nanoClock;
+        this.repaidAtNanos = new AtomicLong(nanoClock.getAsLong() - MAX_BURST_NANOS);
+    }
+
+    /**
+     * Checks whether an evaluation may start.
+     *
+     * @return true if the CPU time spent so far is repaid, or the budget is unlimited.
+     */
+    public boolean isAvailable() {
+        return cpuPercent == UNLIMITED_PERCENT || nanoClock.getAsLong() - repaidAtNanos.get() >= 0L;
+    }
+
+    /**
+     * Charges the CPU time of an evaluation to the budget.
+     *
+     * @param cpuNanos The CPU time of the evaluation in nanoseconds.
+     */
+    public void charge(long cpuNanos) {
+        spentCpuNanos.addAndGet(cpuNanos);
+        if (cpuPercent == UNLIMITED_PERCENT) {
+            return;
+        }
+        long repayNanos = cpuNanos * PERCENT / cpuPercent;
+        long nowNanos = nanoClock.getAsLong();
+        repaidAtNanos.updateAndGet(repaidAt -> Math.max(repaidAt, nowNanos - MAX_BURST_NANOS) + repayNanos);
+    }
+
+    /**
+     * Returns the CPU time charged to the budget so far.
+     *
+     * @return The CPU time in nanoseconds.
+     */
+    public long getSpentCpuNanos() {
+        return spentCpuNanos.get();
+    }
+}
@@ -0,0 +1,36 @@
+// Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+// SPDX-License-Identifier: Apache-2.0
+
+package com.amazon.demanddriventrafficevaluator.evaluation.shadow;
+
+import lombok.Builder;
+import lombok.Getter;
+import lombok.ToString;
+
+import java.util.List;
+
+/**
+ * The outcome of the shadow evaluations so far.
+ */
+@Builder
+@Getter
+@ToString
+public class ShadowEvaluationReport {
+    /**
+     * The number of requests sampled and handed over to the shadow executor.
+     */
+    private final long sampledCount;
+    /**
+     * The number of sampled requests skipped because the CPU budget was spent.
+     */
+    private final long overBudgetCount;
+    /**
+     * The number of sampled requests dropped because too many samples were pending.
+     */
+    private final long droppedCount;
+    /**
+     * The CPU time spent on shadow evaluations, in nanoseconds.
+     */
+    private final long cpuNanos;
+    private final List<ShadowModelReport> modelReports;
+}
@@ -0,0 +1,322 @@
+// Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+// SPDX-License-Identifier: Apache-2.0
+
+package com.amazon.demanddriventrafficevaluator.evaluation.shadow;
+
+import com.amazon.demanddriventrafficevaluator.evaluation.evaluator.EvaluationContext;
+import com.amazon.demanddriventrafficevaluator.evaluation.evaluator.ModelEvaluationContext;
+import com.amazon.demanddriventrafficevaluator.evaluation.evaluator.ModelEvaluationStatus;
+import com.amazon.demanddriventrafficevaluator.evaluation.evaluator.ModelEvaluator;
+import com.amazon.demanddriventrafficevaluator.evaluation.evaluator.ModelEvaluatorInput;
+import com.amazon.demanddriventrafficevaluator.evaluation.evaluator.ModelEvaluatorOutput;
+import com.amazon.demanddriventrafficevaluator.evaluation.trace.EvaluationTrace;
+import com.amazon.demanddriventrafficevaluator.repository.entity.ModelConfiguration;
+import com.amazon.demanddriventrafficevaluator.repository.entity.ModelDefinition;
+import com.amazon.demanddriventrafficevaluator.repository.provider.configuration.ConfigurationProvider;
+import lombok.extern.log4j.Log4j2;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+/**
+ * Evaluates candidate versions of the live models on a sample of the requests, off the request path.
+ * <p>
+ * A candidate is a model of the model configuration whose definition names the live model it shadows, see
+ * {@link ModelDefinition#getShadowOf()}; it is loaded like any other model, under its own identifier. One
+ * request in the sampling interval is sampled while the request thread evaluates the live models, and then
+ * handed over to the shadow executor, which evaluates the candidates of the live models of the request and
+ * compares their decisions and latencies with the live ones. The response of the request is built from the
+ * live models only, and nothing the shadow evaluations do, including failing, reaches it.
+ * </p>
+ * <p>
+ * The shadow work is bounded in three ways, so that it cannot take resources from the live traffic: the
+ * sampling interval, a limit on the samples pending on the executor, and a CPU budget, a share of one core
+ * that the CPU time of the shadow evaluations may not exceed; samples are skipped while the budget is spent.
+ * </p>
+ */
+@Log4j2
+public class ShadowEvaluator {
+
+    private final ModelEvaluator modelEvaluator;
+    private final ConfigurationProvider<ModelConfiguration> modelConfigurationProvider;
+    private final Executor executor;
+    private final int samplingInterval;
+    private final int maxPendingSamples;
+    private final ShadowCpuBudget cpuBudget;
+    private final LongSupplier cpuClock;
+    private final AtomicInteger pendingCount = new AtomicInteger();
+    private final LongAdder sampledCount = new LongAdder();
+    private final LongAdder overBudgetCount = new LongAdder();
+    private final LongAdder droppedCount = new LongAdder();
+    private final Map<String, CandidateStatistics> statisticsByCandidate = new ConcurrentHashMap<>();
+    private volatile CandidateIndex candidateIndex = new CandidateIndex(null, Map.of());
+
+    /**
+     * Creates a shadow evaluator.
+     *
+     * @param modelEvaluator             The evaluator of the candidate models.
+     * @param modelConfigurationProvider The provider of the model configuration defining the candidates.
+     * @param executor                   The executor the candidates are evaluated on.
+     * @param samplingInterval           One request in this many is sampled.
+     * @param maxPendingSamples          The most samples waiting for or under evaluation; more are dropped.
+     * @param cpuBudget                  The budget of the CPU time of the shadow evaluations.
+     * @throws IllegalArgumentException if the sampling interval or max pending samples is not positive.
+     */
+    public ShadowEvaluator(
+            ModelEvaluator modelEvaluator,
+            ConfigurationProvider<ModelConfiguration> modelConfigurationProvider,
+            Executor executor,
+            int samplingInterval,
+            int maxPendingSamples,
+            ShadowCpuBudget cpuBudget
+    ) {
+        this(modelEvaluator, modelConfigurationProvider, executor, samplingInterval, maxPendingSamples, cpuBudget,
+                getCpuClock());
+    }
+
+    ShadowEvaluator(
+            ModelEvaluator modelEvaluator,
+            ConfigurationProvider<ModelConfiguration> modelConfigurationProvider,
+            Executor executor,
+            int samplingInterval,
+            int maxPendingSamples,
+            ShadowCpuBudget cpuBudget,
+            LongSupplier cpuClock
+    ) {
+        if (samplingInterval <= 0) {
+            throw new IllegalArgumentException("Invalid shadow evaluation sampling interval: " + samplingInterval);
+        }
+        if (maxPendingSamples <= 0) {
+            throw new IllegalArgumentException("Invalid shadow evaluation max pending samples: " + maxPendingSamples);
+        }
+        this.modelEvaluator = modelEvaluator;
+        this.modelConfigurationProvider = modelConfigurationProvider;
+        this.executor = executor;
+        this.samplingInterval = samplingInterval;
+        this.maxPendingSamples = maxPendingSamples;
+        this.cpuBudget = cpuBudget;
+        this.cpuClock = cpuClock;
+    }
+
+    /**
+     * Samples a request for shadow evaluation. Called by the request thread once the context of the request
+     * is set up, before its live models are evaluated.
+     *
+     * @param context         The context of the request.
+     * @param impressionCount The number of impressions evaluated apart, or {@link ShadowSample#WHOLE_REQUEST}.
+     * @return The sample to add the live evaluations to, or null if the request is not sampled, no live model
+     * has a candidate, or the shadow work is over its limits.
+     */
+    public ShadowSample sample(EvaluationContext context, int impressionCount) {
+        if (ThreadLocalRandom.current().nextInt(samplingInterval) != 0) {
+            return null;
+        }
+        try {
+            Map<String, List<ModelDefinition>> candidatesByLiveModel = getCandidatesByLiveModel();
+            if (candidatesByLiveModel.isEmpty()) {
+                return null;
+            }
+            if (!cpuBudget.isAvailable()) {
+                overBudgetCount.increment();
+                return null;
+            }
+            if (pendingCount.get() >= maxPendingSamples) {
+                droppedCount.increment();
+                return null;
+            }
+            // the candidates record to a context of their own, so that the trace of the request is left untouched
+            EvaluationContext shadowContext = new EvaluationContext(EvaluationTrace.DISABLED);
+            shadowContext.setOpenRtbRequestContext(context.getOpenRtbRequestContext());
+            shadowContext.setRequestId(context.getRequestId());
+            shadowContext.setExperimentContext(context.getExperimentContext());
+            return new ShadowSample(shadowContext, impressionCount, candidatesByLiveModel);
+        } catch (RuntimeException e) {
+            log.warn("Failed to sample a request for shadow evaluation", e);
+            return null;
+        }
+    }
+
+    /**
+     * Hands a sample over to the shadow executor. Called by the request thread once its response is built.
+     *
+     * @param sample The sample, holding the live evaluations of the request.
+     */
+    public void submit(ShadowSample sample) {
+        if (sample.getLiveEvaluations().isEmpty()) {
+            return;
+        }
+        if (pendingCount.incrementAndGet() > maxPendingSamples) {
+            pendingCount.decrementAndGet();
+            droppedCount.increment();
+            return;
+        }
+        try {
+            executor.execute(() -> evaluate(sample));
+            sampledCount.increment();
+        } catch (RejectedExecutionException e) {
+            pendingCount.decrementAndGet();
+            droppedCount.increment();
+        }
+    }
+
+    void evaluate(ShadowSample sample) {
+        long startCpuNanos = cpuClock.getAsLong();
+        try {
+            for (ShadowSample.LiveEvaluation liveEvaluation : sample.getLiveEvaluations()) {
+                for (ModelDefinition candidate : liveEvaluation.candidates) {
+                    ModelEvaluatorInput input = ModelEvaluatorInput.builder()
+                            .context(new ModelEvaluationContext(sample.getContext(), candidate.getIdentifier()))
+                            .modelDefinition(candidate)
+                            .build();
+                    long startNanos = System.nanoTime();
+                    List<ModelEvaluatorOutput> candidateOutputs = sample.getImpressionCount() == ShadowSample.WHOLE_REQUEST
+                            ? List.of(modelEvaluator.evaluate(input))
+                            : modelEvaluator.evaluateImpressions(input, sample.getImpressionCount());
+                    long latencyNanos = System.nanoTime() - startNanos;
+                    statisticsByCandidate.computeIfAbsent(candidate.getIdentifier(),
+                                    candidateIdentifier -> new CandidateStatistics(liveEvaluation.modelIdentifier))
+                            .record(liveEvaluation, candidateOutputs, latencyNanos);
+                }
+            }
+        } catch (RuntimeException e) {
+            log.warn("Failed to evaluate the candidate models of request {} in shadow", sample.getContext().getRequestId(), e);
+        } finally {
+            pendingCount.decrementAndGet();
+            cpuBudget.charge(cpuClock.getAsLong() - startCpuNanos);
+        }
+    }
+
+    /**
+     * Reports how the candidates compare with their live models so far.
+     *
+     * @return The report, with the candidates sorted by identifier.
+     */
+    public ShadowEvaluationReport getReport() {
+        List<ShadowModelReport> modelReports = new ArrayList<>();
+        statisticsByCandidate.entrySet().stream()
+                .sorted(Map.Entry.comparingByKey())
+                .forEach(entry -> modelReports.add(entry.getValue().toReport(entry.getKey())));
+        return ShadowEvaluationReport.builder()
+                .sampledCount(sampledCount.sum())
+                .overBudgetCount(overBudgetCount.sum())
+                .droppedCount(droppedCount.sum())
+                .cpuNanos(cpuBudget.getSpentCpuNanos())
+                .modelReports(modelReports)
+                .build();
+    }
+
+    private Map<String, List<ModelDefinition>> getCandidatesByLiveModel() {
+        ModelConfiguration modelConfiguration = modelConfigurationProvider.provide();
+        CandidateIndex index = candidateIndex;
+        if (index.modelConfiguration != modelConfiguration) {
+            index = new CandidateIndex(modelConfiguration, indexCandidates(modelConfiguration));
+            candidateIndex = index;
+        }
+        return index.candidatesByLiveModel;
+    }
+
+    static Map<String, List<ModelDefinition>> indexCandidates(ModelConfiguration modelConfiguration) {
+        Map<String, List<ModelDefinition>> candidatesByLiveModel = new LinkedHashMap<>();
+        for (ModelDefinition modelDefinition : modelConfiguration.getModelDefinitionByIdentifier().values()) {
+            String liveModelIdentifier = modelDefinition.getShadowOf();
+            if (liveModelIdentifier != null && !liveModelIdentifier.equals(modelDefinition.getIdentifier())) {
+                candidatesByLiveModel.computeIfAbsent(liveModelIdentifier, identifier -> new ArrayList<>()).add(modelDefinition);
+            }
+        }
+        return candidatesByLiveModel;
+    }
+
+    private static LongSupplier getCpuClock() {
+        ThreadMXBean threadMXBean = ManagementFactory.getThreadMXBean();
+        // without thread CPU time, the wall-clock time of the evaluations is charged instead
+        return threadMXBean.isCurrentThreadCpuTimeSupported() && threadMXBean.isThreadCpuTimeEnabled()
+                ? threadMXBean::getCurrentThreadCpuTime : System::nanoTime;
+    }
+
+    private static boolean isFiltered(ModelEvaluatorOutput output) {
+        return output.getModelResult().getValue() < 1.0;
+    }
+
+    private static boolean isSuccess(ModelEvaluatorOutput output) {
+        return output.getStatus() == ModelEvaluationStatus.SUCCESS && output.getModelResult() != null;
+    }
+
+    /**
+     * The candidates of the live models of a model configuration.
+     */
+    private static final class CandidateIndex {
+        private final ModelConfiguration modelConfiguration;
+        private final Map<String, List<ModelDefinition>> candidatesByLiveModel;
+
+        private CandidateIndex(ModelConfiguration modelConfiguration, Map<String, List<ModelDefinition>> candidatesByLiveModel) {
+            this.modelConfiguration = modelConfiguration;
+            this.candidatesByLiveModel = candidatesByLiveModel;
+        }
+    }
+
+    /**
+     * The counters of a candidate, updated by the threads of the shadow executor.
+     */
+    private static final class CandidateStatistics {
+        private final String liveModelIdentifier;
+        private final LongAdder sampleCount = new LongAdder();
+        private final LongAdder evaluationCount = new LongAdder();
+        private final LongAdder agreementCount = new LongAdder();
+        private final LongAdder liveOnlyFilteredCount = new LongAdder();
+        private final LongAdder candidateOnlyFilteredCount = new LongAdder();
+        private final LongAdder errorCount = new LongAdder();
+        private final LongAdder liveLatencyNanos = new LongAdder();
+        private final LongAdder candidateLatencyNanos = new LongAdder();
+
+        private CandidateStatistics(String liveModelIdentifier) {
+            this.liveModelIdentifier = liveModelIdentifier;
+        }
+
+        private void record(ShadowSample.LiveEvaluation liveEvaluation, List<ModelEvaluatorOutput> candidateOutputs, long latencyNanos) {
+            sampleCount.increment();
+            liveLatencyNanos.add(liveEvaluation.latencyNanos);
+            candidateLatencyNanos.add(latencyNanos);
+            int slotCount = Math.min(liveEvaluation.outputs.size(), candidateOutputs.size());
+            for (int i = 0; i < slotCount; i++) {
+                ModelEvaluatorOutput liveOutput = liveEvaluation.outputs.get(i);
+                ModelEvaluatorOutput candidateOutput = candidateOutputs.get(i);
+                evaluationCount.increment();
+                if (!isSuccess(liveOutput) || !isSuccess(candidateOutput)) {
+                    errorCount.increment();
+                } else if (isFiltered(liveOutput) == isFiltered(candidateOutput)) {
+                    agreementCount.increment();
+                } else if (isFiltered(liveOutput)) {
+                    liveOnlyFilteredCount.increment();
+                } else {
+                    candidateOnlyFilteredCount.increment();
+                }
+            }
+        }
+
+        private ShadowModelReport toReport(String candidateModelIdentifier) {
+            long samples = sampleCount.sum();
+            return ShadowModelReport.builder()
+                    .liveModelIdentifier(liveModelIdentifier)
+                    .candidateModelIdentifier(candidateModelIdentifier)
+                    .evaluationCount(evaluationCount.sum())
+                    .agreementCount(agreementCount.sum())
+                    .liveOnlyFilteredCount(liveOnlyFilteredCount.sum())
+                    .candidateOnlyFilteredCount(candidateOnlyFilteredCount.sum())
+                    .errorCount(errorCount.sum())
+                    .meanLiveLatencyNanos(samples == 0L ? 0L : liveLatencyNanos.sum() / samples)
+                    .meanCandidateLatencyNanos(samples == 0L ? 0L : candidateLatencyNanos.sum() / samples)
+                    .build();
+        }
+    }
+}
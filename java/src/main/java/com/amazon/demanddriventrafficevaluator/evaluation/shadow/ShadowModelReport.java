@@ -0,0 +1,53 @@
+// Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+// SPDX-License-Identifier: Apache-2.0
+
+package com.amazon.demanddriventrafficevaluator.evaluation.shadow;
+
+import lombok.Builder;
+import lombok.Getter;
+import lombok.ToString;
+
+/**
+ * How a candidate model version compares with the live model it shadows, over the sampled requests.
+ * <p>
+ * The decisions are compared per slot: they agree when both models filter the slot, i.e. evaluate below
+ * 1.0, or both let it through. A slot where either model failed to evaluate is only counted as an error.
+ * </p>
+ */
+@Builder
+@Getter
+@ToString
+public class ShadowModelReport {
+    private final String liveModelIdentifier;
+    private final String candidateModelIdentifier;
+    /**
+     * The number of slots both models were evaluated for.
+     */
+    private final long evaluationCount;
+    private final long agreementCount;
+    /**
+     * The number of slots the live model filters and the candidate lets through.
+     */
+    private final long liveOnlyFilteredCount;
+    /**
+     * The number of slots the candidate filters and the live model lets through.
+     */
+    private final long candidateOnlyFilteredCount;
+    private final long errorCount;
+    /**
+     * The mean time the live model took to evaluate a sampled request, on the request thread.
+     */
+    private final long meanLiveLatencyNanos;
+    /**
+     * The mean time the candidate took to evaluate a sampled request, on the shadow executor.
+     */
+    private final long meanCandidateLatencyNanos;
+
+    /**
+     * @return The share of the compared slots the models agree on, 0 if no slot was compared.
+     */
+    public double getAgreementRate() {
+        long comparedCount = agreementCount + liveOnlyFilteredCount + candidateOnlyFilteredCount;
+        return comparedCount == 0L ? 0.0 : (double) agreementCount / comparedCount;
+    }
+}
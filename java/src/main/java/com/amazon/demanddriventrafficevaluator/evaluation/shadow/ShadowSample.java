@@ -0,0 +1,82 @@
+// Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+// SPDX-License-Identifier: Apache-2.0
+
+package com.amazon.demanddriventrafficevaluator.evaluation.shadow;
+
+import com.amazon.demanddriventrafficevaluator.evaluation.evaluator.EvaluationContext;
+import com.amazon.demanddriventrafficevaluator.evaluation.evaluator.ModelEvaluatorOutput;
+import com.amazon.demanddriventrafficevaluator.repository.entity.ModelDefinition;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A request sampled for shadow evaluation, with the outputs of its live models that have candidate versions.
+ * <p>
+ * A sample is filled by the request thread while it evaluates the live models, and then handed over to the
+ * shadow executor, which evaluates the candidates on a context of its own so that nothing it records reaches
+ * the response or the trace of the request.
+ * </p>
+ */
+public final class ShadowSample {
+
+    /**
+     * The impression count of a request evaluated as a whole, instead of per impression.
+     */
+    public static final int WHOLE_REQUEST = 0;
+
+    private final EvaluationContext context;
+    private final int impressionCount;
+    private final Map<String, List<ModelDefinition>> candidatesByLiveModel;
+    private final List<LiveEvaluation> liveEvaluations = new ArrayList<>();
+
+    ShadowSample(EvaluationContext context, int impressionCount, Map<String, List<ModelDefinition>> candidatesByLiveModel) {
+        this.context = context;
+        this.impressionCount = impressionCount;
+        this.candidatesByLiveModel = candidatesByLiveModel;
+    }
+
+    /**
+     * Adds the evaluation of a live model, if the model has candidate versions.
+     *
+     * @param liveModel    The definition of the live model.
+     * @param outputs      The outputs of the live model, one per impression, or a single one for the whole request.
+     * @param latencyNanos The time the live model took to evaluate, in nanoseconds.
+     */
+    public void addLiveEvaluation(ModelDefinition liveModel, List<ModelEvaluatorOutput> outputs, long latencyNanos) {
+        List<ModelDefinition> candidates = candidatesByLiveModel.get(liveModel.getIdentifier());
+        if (candidates != null) {
+            liveEvaluations.add(new LiveEvaluation(liveModel.getIdentifier(), candidates, outputs, latencyNanos));
+        }
+    }
+
+    EvaluationContext getContext() {
+        return context;
+    }
+
+    int getImpressionCount() {
+        return impressionCount;
+    }
+
+    List<LiveEvaluation> getLiveEvaluations() {
+        return liveEvaluations;
+    }
+
+    /**
+     * The evaluation of a live model, and the candidate versions to compare it with.
+     */
+    static final class LiveEvaluation {
+        final String modelIdentifier;
+        final List<ModelDefinition> candidates;
+        final List<ModelEvaluatorOutput> outputs;
+        final long latencyNanos;
+
+        LiveEvaluation(String modelIdentifier, List<ModelDefinition> candidates, List<ModelEvaluatorOutput> outputs, long latencyNanos) {
+            this.modelIdentifier = modelIdentifier;
+            this.candidates = candidates;
+            this.outputs = outputs;
+            this.latencyNanos = latencyNanos;
+        }
+    }
+}
@@ -0,0 +1,226 @@
+// Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+// SPDX-License-Identifier: Apache-2.0
+
+package com.amazon.demanddriventrafficevaluator.evaluation.trace;
+
+import com.amazon.demanddriventrafficevaluator.repository.entity.ModelResult;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * The diagnostic events recorded while evaluating a bid request.
+ * <p>
+ * Tracing is meant for a few requests only: those asking for it and a sample of the others. An untraced request
+ * shares the {@link #DISABLED} trace, which records nothing, so the callers only guard the events whose message
+ * or detail would have to be built with {@link #isEnabled()}. A trace records structured events, each with its
+ * level, stage, model, message, detail and time since the start of the trace, into arrays reused across
+ * {@link #reset()}; the events are only formatted into text when they are read.
+ * </p>
+ * <p>
+ * The events of the request itself are recorded in the {@link #REQUEST_SCOPE}, and those of each model
+ * evaluation in a scope of their own, see {@link #openScope()}.
+ * </p>
+ */
+public final class EvaluationTrace {
+
+    public static final EvaluationTrace DISABLED = new EvaluationTrace(false);
+    public static final int REQUEST_SCOPE = 0;
+    private static final int INITIAL_CAPACITY = 16;
+    private static final long NANOS_PER_MICRO = 1_000L;
+
+    private final boolean enabled;
+    private long startNanos;
+    private int lastScope;
+    private int size;
+    private int[] scopes;
+    private TraceLevel[] levels;
+    private TraceStage[] stages;
+    private String[] modelIdentifiers;
+    private String[] messages;
+    private Object[] details;
+    private long[] elapsedNanos;
+
+    public EvaluationTrace() {
+        this(true);
+    }
+
+    private EvaluationTrace(boolean enabled) {
+        this.enabled = enabled;
+        this.startNanos = System.nanoTime();
+    }
+
+    /**
+     * Starts the trace of a bid request.
+     *
+     * @param requested        Whether the request asks to be traced.
+     * @param samplingInterval The request is traced one time in this many, 0 to only trace the requests asking for it.
+     * @return A new trace if the request is traced, {@link #DISABLED} otherwise.
+     */
+    public static EvaluationTrace start(boolean requested, int samplingInterval) {
+        if (requested || samplingInterval > 0 && ThreadLocalRandom.current().nextInt(samplingInterval) == 0) {
+            return new EvaluationTrace();
+        }
+        return DISABLED;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Opens the scope of the events of a model evaluation.
+     *
+     * @return The new scope, or {@link #REQUEST_SCOPE} if the trace is disabled.
+     */
+    public synchronized int openScope() {
+        return enabled ? ++lastScope : REQUEST_SCOPE;
+    }
+
+    /**
+     * Records an event.
+     *
+     * @param scope           The scope of the event.
+     * @param level           The level of the event.
+     * @param stage           The stage of the evaluation the event is recorded in.
+     * @param modelIdentifier The identifier of the model the event relates to, or null.
+     * @param message         The message of the event.
+     * @param detail          The detail of the event, formatted only when read, or null.
+     *                        The message of a {@link Throwable} follows the message of the event on its own line.
+     */
+    public synchronized void record(
+            int scope,
+            TraceLevel level,
+            TraceStage stage,
+            String modelIdentifier,
+            String message,
+            Object detail
+    ) {
+        if (!enabled) {
+            return;
+        }
+        if (scopes == null) {
+            allocate(INITIAL_CAPACITY);
+        } else if (size == scopes.length) {
+            allocate(size * 2);
+        }
+        scopes[size] = scope;
+        levels[size] = level;
+        stages[size] = stage;
+        modelIdentifiers[size] = modelIdentifier;
+        messages[size] = message;
+        details[size] = detail;
+        elapsedNanos[size] = System.nanoTime() - startNanos;
+        size++;
+    }
+
+    /**
+     * Records the keys a model result was looked up with, and whether any of them was found.
+     *
+     * @param scope           The scope of the model evaluation.
+     * @param modelIdentifier The identifier of the model.
+     * @param modelResult     The model result of the lookup.
+     */
+    public void recordLookup(int scope, String modelIdentifier, ModelResult modelResult) {
+        record(scope, TraceLevel.DEBUG, TraceStage.LOOKUP, modelIdentifier,
+                modelResult.isHit() ? "Model result lookup hit." : "Model result lookup missed.", modelResult);
+    }
+
+    public synchronized int size() {
+        return size;
+    }
+
+    /**
+     * Formats the messages of the events of a scope, one "[Level] message\n" line per event.
+     *
+     * @param scope The scope whose events are formatted.
+     * @return The messages of the scope, in the order they were recorded.
+     */
+    public synchronized List<String> getMessages(int scope) {
+        if (size == 0) {
+            return Collections.emptyList();
+        }
+        List<String> scopeMessages = new ArrayList<>();
+        for (int i = 0; i < size; i++) {
+            if (scopes[i] == scope) {
+                StringBuilder builder = new StringBuilder(levels[i].getPrefix());
+                appendMessage(builder, i);
+                scopeMessages.add(builder.append('\n').toString());
+            }
+        }
+        return Collections.unmodifiableList(scopeMessages);
+    }
+
+    /**
+     * Formats every event of the trace, one line per event, with the time since the start of the trace,
+     * the stage, the scope and the model of the event.
+     *
+     * @return The text of the trace.
+     */
+    public synchronized String format() {
+        StringBuilder builder = new StringBuilder();
+        for (int i = 0; i < size; i++) {
+            builder.append('+').append(elapsedNanos[i] / NANOS_PER_MICRO).append("us ")
+                    .append(stages[i]).append(" #").append(scopes[i]);
+            if (modelIdentifiers[i] != null) {
+                builder.append(' ').append(modelIdentifiers[i]);
+            }
+            builder.append(' ').append(levels[i].getPrefix());
+            appendMessage(builder, i);
+            builder.append('\n');
+        }
+        return builder.toString();
+    }
+
+    /**
+     * Clears the events and restarts the trace, keeping its buffers for the next request.
+     */
+    public synchronized void reset() {
+        if (!enabled) {
+            return;
+        }
+        if (scopes != null) {
+            Arrays.fill(levels, 0, size, null);
+            Arrays.fill(stages, 0, size, null);
+            Arrays.fill(modelIdentifiers, 0, size, null);
+            Arrays.fill(messages, 0, size, null);
+            Arrays.fill(details, 0, size, null);
+        }
+        size = 0;
+        lastScope = REQUEST_SCOPE;
+        startNanos = System.nanoTime();
+    }
+
+    @Override
+    public String toString() {
+        return format();
+    }
+
+    private void appendMessage(StringBuilder builder, int index) {
+        builder.append(messages[index]);
+        Object detail = details[index];
+        if (detail instanceof Throwable) {
+            builder.append('\n').append(((Throwable) detail).getMessage());
+        } else if (detail instanceof ModelResult) {
+            ModelResult modelResult = (ModelResult) detail;
+            builder.append(" keys: ").append(modelResult.getKeys())
+                    .append(", values: ").append(modelResult.getValues())
+                    .append(", value: ").append(modelResult.getValue());
+        } else if (detail != null) {
+            builder.append(' ').append(detail);
+        }
+    }
+
+    private void allocate(int capacity) {
+        scopes = scopes == null ? new int[capacity] : Arrays.copyOf(scopes, capacity);
+        levels = levels == null ? new TraceLevel[capacity] : Arrays.copyOf(levels, capacity);
+        stages = stages == null ? new TraceStage[capacity] : Arrays.copyOf(stages, capacity);
+        modelIdentifiers = modelIdentifiers == null ? new String[capacity] : Arrays.copyOf(modelIdentifiers, capacity);
+        messages = messages == null ? new String[capacity] : Arrays.copyOf(messages, capacity);
+        details = details == null ? new Object[capacity] : Arrays.copyOf(details, capacity);
+        elapsedNanos = elapsedNanos == null ? new long[capacity] : Arrays.copyOf(elapsedNanos, capacity);
+    }
+}
@@ -0,0 +1,20 @@
+// Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+// SPDX-License-Identifier: Apache-2.0
+
+package com.amazon.demanddriventrafficevaluator.evaluation.trace;
+
+public enum TraceLevel {
+    DEBUG("[Debug] "),
+    INFO("[Info] "),
+    ERROR("[Error] ");
+
+    private final String prefix;
+
+    TraceLevel(String prefix) {
+        this.prefix = prefix;
+    }
+
+    public String getPrefix() {
+        return prefix;
+    }
+}
@@ -0,0 +1,16 @@
+// Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+// SPDX-License-Identifier: Apache-2.0
+
+package com.amazon.demanddriventrafficevaluator.evaluation.trace;
+
+/**
+ * The stages of the evaluation of a bid request the trace events are recorded in.
+ */
+public enum TraceStage {
+    REQUEST,
+    EXPERIMENT,
+    MODEL_CONFIGURATION,
+    FEATURES,
+    LOOKUP,
+    AGGREGATION
+}
@@ -6,20 +6,25 @@ package com.amazon.demanddriventrafficevaluator.factory;
 import lombok.NonNull;
 import software.amazon.awssdk.auth.credentials.AwsCredentialsProvider;
 import software.amazon.awssdk.regions.Region;
+import software.amazon.awssdk.services.s3.S3AsyncClient;
+import software.amazon.awssdk.services.s3.S3AsyncClientBuilder;
 import software.amazon.awssdk.services.s3.S3Client;
 
+import java.net.URI;
+
 /**
  * A singleton factory class for creating and managing AWS service clients.
  * <p>
  * This class provides a centralized way to create and access AWS service clients,
- * specifically the S3Client. It uses lazy initialization and double-checked locking
- * to ensure thread-safe creation of the S3Client instance.
+ * specifically the S3Client and the S3AsyncClient. It uses lazy initialization and double-checked
+ * locking to ensure thread-safe creation of the client instances.
  * </p>
  */
 public class AWSServiceClientFactory {
 
     private static final AWSServiceClientFactory INSTANCE = new AWSServiceClientFactory();
     private volatile S3Client s3Client;
+    private volatile S3AsyncClient s3AsyncClient;
 
     private AWSServiceClientFactory() {
     }
@@ -42,4 +47,31 @@ public class AWSServiceClientFactory {
         }
         return s3Client;
     }
+
+    /**
+     * Gets the S3AsyncClient, creating it on the first call.
+     *
+     * @param awsCredentialsProvider The credentials provider.
+     * @param region                 The region of the client.
+     * @param endpointOverride       The endpoint of an S3-compatible service to use instead of S3, or null for S3.
+     * @return The S3AsyncClient.
+     */
+    public S3AsyncClient getS3AsyncClient(@NonNull AwsCredentialsProvider awsCredentialsProvider, @NonNull String region, URI endpointOverride) {
+        if (s3AsyncClient == null) {
+            synchronized (this) {
+                if (s3AsyncClient == null) {
+                    S3AsyncClientBuilder builder = S3AsyncClient.builder()
+                            .region(Region.of(region))
+                            .credentialsProvider(awsCredentialsProvider)
+                            .crossRegionAccessEnabled(true);
+                    if (endpointOverride != null) {
+                        // S3-compatible services are addressed by path rather than by virtual host
+                        builder.endpointOverride(endpointOverride).forcePathStyle(true);
+                    }
+                    s3AsyncClient = builder.build();
+                }
+            }
+        }
+        return s3AsyncClient;
+    }
 }
@@ -4,9 +4,12 @@
 package com.amazon.demanddriventrafficevaluator.factory;
 
 import com.amazon.demanddriventrafficevaluator.evaluation.evaluator.BidRequestEvaluator;
+import com.amazon.demanddriventrafficevaluator.evaluation.readiness.EvaluatorReadiness;
+import com.amazon.demanddriventrafficevaluator.evaluation.readiness.WarmUpResult;
 import com.amazon.demanddriventrafficevaluator.task.TaskInitializer;
 import software.amazon.awssdk.auth.credentials.AwsCredentialsProvider;
 
+import java.util.Map;
 import java.util.concurrent.ScheduledThreadPoolExecutor;
 
 /**
@@ -15,7 +18,7 @@ import java.util.concurrent.ScheduledThreadPoolExecutor;
  * This class provides static factory methods to create specific implementations of
  * BidRequestEvaluatorFactory based on the provided parameters. It also defines abstract
  * methods that concrete implementations must provide to access the TaskInitializer
- * and BidRequestEvaluator.
+ * and BidRequestEvaluator. Implementations may also warm up the evaluators and report their readiness.
  * </p>
  */
 public abstract class BidRequestEvaluatorFactory {
@@ -32,4 +35,26 @@ public abstract class BidRequestEvaluatorFactory {
 
     public abstract BidRequestEvaluator getEvaluator();
 
+    /**
+     * Warms up the evaluators before they take traffic. Does nothing by default.
+     *
+     * @return The outcome of the warm-up.
+     */
+    public WarmUpResult warmUp() {
+        return WarmUpResult.builder().build();
+    }
+
+    /**
+     * Reports whether the evaluators are ready to take traffic. By default, the evaluators are reported ready
+     * without any check, as they were before readiness was reported.
+     *
+     * @return The readiness of the evaluators.
+     */
+    public EvaluatorReadiness getReadiness() {
+        return EvaluatorReadiness.builder()
+                .ready(true)
+                .modelReadinessByIdentifier(Map.of())
+                .build();
+    }
+
 }
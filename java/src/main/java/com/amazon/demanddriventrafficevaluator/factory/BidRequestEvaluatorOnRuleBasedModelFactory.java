@@ -5,32 +5,69 @@ package com.amazon.demanddriventrafficevaluator.factory;
 
 import com.amazon.demanddriventrafficevaluator.evaluation.evaluator.BidRequestEvaluator;
 import com.amazon.demanddriventrafficevaluator.evaluation.evaluator.BidRequestEvaluatorOnRuleBasedModel;
+import com.amazon.demanddriventrafficevaluator.evaluation.evaluator.BidRequestEvaluatorOnRuleBasedModelOptions;
 import com.amazon.demanddriventrafficevaluator.evaluation.evaluator.ModelEvaluationResultsAggregator;
 import com.amazon.demanddriventrafficevaluator.evaluation.evaluator.ModelEvaluationResultsMaxAggregator;
 import com.amazon.demanddriventrafficevaluator.evaluation.evaluator.ModelEvaluator;
+import com.amazon.demanddriventrafficevaluator.evaluation.evaluator.OverloadBypass;
 import com.amazon.demanddriventrafficevaluator.evaluation.evaluator.RuleBasedModelEvaluator;
 import com.amazon.demanddriventrafficevaluator.evaluation.experiment.ExperimentManager;
+import com.amazon.demanddriventrafficevaluator.evaluation.readiness.BidRequestEvaluatorWarmUp;
+import com.amazon.demanddriventrafficevaluator.evaluation.readiness.EvaluatorReadiness;
+import com.amazon.demanddriventrafficevaluator.evaluation.readiness.ModelReadiness;
+import com.amazon.demanddriventrafficevaluator.evaluation.readiness.WarmUpRequestCorpus;
+import com.amazon.demanddriventrafficevaluator.evaluation.readiness.WarmUpResult;
+import com.amazon.demanddriventrafficevaluator.evaluation.shadow.ShadowEvaluationReport;
+import com.amazon.demanddriventrafficevaluator.evaluation.shadow.ShadowEvaluator;
 import com.amazon.demanddriventrafficevaluator.modelfeature.Extraction;
 import com.amazon.demanddriventrafficevaluator.modelfeature.Transformation;
 import com.amazon.demanddriventrafficevaluator.modelfeature.extractor.ExtractorRegistry;
 import com.amazon.demanddriventrafficevaluator.modelfeature.transformer.TransformerRegistry;
 import com.amazon.demanddriventrafficevaluator.repository.dao.Dao;
 import com.amazon.demanddriventrafficevaluator.repository.dao.LocalCacheDao;
+import com.amazon.demanddriventrafficevaluator.repository.dao.ModelResultStoreDao;
 import com.amazon.demanddriventrafficevaluator.repository.entity.ModelConfiguration;
+import com.amazon.demanddriventrafficevaluator.repository.entity.ModelDefinition;
+import com.amazon.demanddriventrafficevaluator.repository.filter.ModelResultFilterRegistry;
+import com.amazon.demanddriventrafficevaluator.repository.loader.model.ModelMemoryFootprint;
+import com.amazon.demanddriventrafficevaluator.repository.loader.model.ModelMemoryFootprintReporter;
+import com.amazon.demanddriventrafficevaluator.repository.loader.model.ModelResultLoaderInput;
+import com.amazon.demanddriventrafficevaluator.repository.loader.model.ModelResultStatus;
+import com.amazon.demanddriventrafficevaluator.repository.loader.model.RuleBasedModelResultLoader;
 import com.amazon.demanddriventrafficevaluator.repository.localcache.LocalCacheRegistry;
 import com.amazon.demanddriventrafficevaluator.repository.provider.configuration.ConfigurationProvider;
-import com.amazon.demanddriventrafficevaluator.repository.provider.configuration.ModelConfigurationProvider;
+import com.amazon.demanddriventrafficevaluator.repository.provider.configuration.ConfigurationHolder;
+import com.amazon.demanddriventrafficevaluator.repository.provider.model.ModelResultMemo;
 import com.amazon.demanddriventrafficevaluator.repository.provider.model.ModelResultProvider;
 import com.amazon.demanddriventrafficevaluator.repository.provider.model.RuleBasedModelResultProvider;
 import com.amazon.demanddriventrafficevaluator.task.TaskInitializer;
+import com.amazon.demanddriventrafficevaluator.util.PropertiesUtil;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.log4j.Log4j2;
+import org.apache.commons.configuration2.Configuration;
 import software.amazon.awssdk.auth.credentials.AwsCredentialsProvider;
 
+import java.nio.file.Paths;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 import java.util.concurrent.ScheduledThreadPoolExecutor;
 
+@Log4j2
 public class BidRequestEvaluatorOnRuleBasedModelFactory extends BidRequestEvaluatorFactory {
 
+    private static final int DEFAULT_WARM_UP_MAX_ROUNDS = 100;
+    private static final long DEFAULT_WARM_UP_MAX_DURATION_MS = 30000L;
+    private static final int DEFAULT_WARM_UP_STABLE_ROUNDS = 3;
+    private static final int DEFAULT_WARM_UP_SYNTHETIC_REQUEST_COUNT = 256;
+    private static final long DEFAULT_READINESS_MAX_MODEL_RESULT_AGE_MS = RuleBasedModelResultLoader.DEFAULT_MAX_STORE_STALENESS_MS;
+    private static final long UNLIMITED_MODEL_RESULT_AGE = 0L;
+
     final String sspIdentifier;
     final DefaultTaskInitializerFactory defaultTaskInitializerFactory;
+    private volatile boolean warmedUp;
 
     public BidRequestEvaluatorOnRuleBasedModelFactory(String supplierName, AwsCredentialsProvider credentialsProvider, String region, String bucket) {
         this.sspIdentifier = supplierName;
@@ -56,23 +93,221 @@ public class BidRequestEvaluatorOnRuleBasedModelFactory extends BidRequestEvalua
                 experimentManager,
                 modelConfigurationProvider,
                 modelEvaluator,
-                modelEvaluationResultsAggregator
+                modelEvaluationResultsAggregator,
+                BidRequestEvaluatorOnRuleBasedModelOptions.builder()
+                        .requestLatencyMonitor(RequestLatencyMonitorFactory.getInstance().getSingleton())
+                        .evaluatePerImpression(PropertiesUtil.getTaskProperties().getBoolean("evaluation.per-impression.enabled", false))
+                        .traceSamplingInterval(PropertiesUtil.getTaskProperties().getInt("evaluation.trace.sampling-interval", 0))
+                        .shadowEvaluator(ShadowEvaluatorFactory.getInstance().getSingleton(this::provideModelEvaluator).orElse(null))
+                        .overloadBypass(OverloadBypassFactory.getInstance().getSingleton().orElse(null))
+                        .asyncDeadlineMs(PropertiesUtil.getTaskProperties().getLong("evaluation.async.deadline-ms", 0L))
+                        .build()
         );
     }
 
-    ModelConfigurationProvider provideModelConfigurationProvider() {
-        LocalCacheRegistry localCacheRegistry = DefaultLocalCacheRegistryFactory.getInstance().getDefaultLocalCacheRegistrySingleton();
-        return new ModelConfigurationProvider(new LocalCacheDao<>(localCacheRegistry));
+    /**
+     * Warms up the evaluators by replaying requests until the JIT compilation stabilizes.
+     * <p>
+     * The requests are read from the corpus file set by task.warm-up.corpus-file, or else synthesized from
+     * the feature fields of the model configuration, which must be loaded. They are replayed through an
+     * evaluator of their own, which records no request latency, samples no request for shadow evaluation,
+     * bypasses no request and memoizes no model result, so that the replay does not pass for traffic. The
+     * evaluators are reported ready only once a warm-up has evaluated requests, unless the warm-up is
+     * disabled with task.warm-up.max-rounds = 0.
+     * </p>
+     *
+     * @return The outcome of the warm-up.
+     * @throws IllegalStateException if the corpus file cannot be read or the model configuration is not loaded.
+     */
+    @Override
+    public WarmUpResult warmUp() {
+        Configuration taskProperties = PropertiesUtil.getTaskProperties();
+        String corpusFile = taskProperties.getString("warm-up.corpus-file", null);
+        int maxRounds = taskProperties.getInt("warm-up.max-rounds", DEFAULT_WARM_UP_MAX_ROUNDS);
+        BidRequestEvaluatorWarmUp warmUp = new BidRequestEvaluatorWarmUp(
+                corpusFile == null
+                        ? WarmUpRequestCorpus.fromModelConfiguration(provideModelConfigurationProvider().provide(),
+                                taskProperties.getInt("warm-up.synthetic-request-count", DEFAULT_WARM_UP_SYNTHETIC_REQUEST_COUNT),
+                                new ObjectMapper())
+                        : WarmUpRequestCorpus.fromFile(Paths.get(corpusFile)),
+                maxRounds,
+                taskProperties.getLong("warm-up.max-duration-ms", DEFAULT_WARM_UP_MAX_DURATION_MS),
+                taskProperties.getInt("warm-up.stable-rounds", DEFAULT_WARM_UP_STABLE_ROUNDS)
+        );
+        WarmUpResult result = warmUp.run(provideWarmUpEvaluator(),
+                output -> output != null && !BidRequestEvaluatorOnRuleBasedModel.isDefaultResponse(output.getResponse()));
+        if (result.getEvaluatedRequestCount() < result.getRequestCount()) {
+            log.warn("{} of the {} warm-up requests could not be evaluated",
+                    result.getRequestCount() - result.getEvaluatedRequestCount(), result.getRequestCount());
+        }
+        warmedUp = maxRounds == 0 || result.getEvaluatedRequestCount() > 0;
+        return result;
+    }
+
+    /**
+     * Reports whether the evaluators are ready to take traffic, with the presence and freshness of the model
+     * results of every configured model.
+     * <p>
+     * The model results of a model are fresh when they were last confirmed current within
+     * task.readiness.max-model-result-age-ms, 0 disabling the check. The candidate model versions evaluated in
+     * shadow are reported, but do not hold the evaluators back from being ready.
+     * </p>
+     *
+     * @return The readiness of the evaluators.
+     */
+    @Override
+    public EvaluatorReadiness getReadiness() {
+        long maxModelResultAgeMs = PropertiesUtil.getTaskProperties().getLong(
+                "readiness.max-model-result-age-ms", DEFAULT_READINESS_MAX_MODEL_RESULT_AGE_MS);
+        ModelConfiguration modelConfiguration;
+        try {
+            modelConfiguration = provideModelConfigurationProvider().provide();
+        } catch (IllegalStateException e) {
+            return EvaluatorReadiness.builder()
+                    .warmedUp(warmedUp)
+                    .modelReadinessByIdentifier(Map.of())
+                    .build();
+        }
+        RuleBasedModelResultLoader modelResultLoader = defaultTaskInitializerFactory.getModelResultLoader();
+        long nowMs = Instant.now().toEpochMilli();
+        Map<String, ModelReadiness> modelReadinessByIdentifier = new LinkedHashMap<>();
+        boolean modelResultsReady = true;
+        for (Map.Entry<String, ModelDefinition> entry : modelConfiguration.getModelDefinitionByIdentifier().entrySet()) {
+            String modelIdentifier = entry.getKey();
+            Optional<ModelResultStatus> status = modelResultLoader == null
+                    ? Optional.empty() : modelResultLoader.getModelResultStatus(modelIdentifier);
+            long ageMs = status.map(modelResultStatus -> nowMs - modelResultStatus.getConfirmedAtMs()).orElse(-1L);
+            boolean fresh = status.isPresent() && (maxModelResultAgeMs == UNLIMITED_MODEL_RESULT_AGE || ageMs <= maxModelResultAgeMs);
+            modelReadinessByIdentifier.put(modelIdentifier, ModelReadiness.builder()
+                    .modelIdentifier(modelIdentifier)
+                    .present(status.isPresent())
+                    .version(status.map(ModelResultStatus::getVersion).orElse(null))
+                    .ageMs(ageMs)
+                    .fresh(fresh)
+                    .build());
+            if (entry.getValue().getShadowOf() == null) {
+                modelResultsReady &= fresh;
+            }
+        }
+        return EvaluatorReadiness.builder()
+                .ready(warmedUp && modelResultsReady)
+                .warmedUp(warmedUp)
+                .modelConfigurationLoaded(true)
+                .modelReadinessByIdentifier(modelReadinessByIdentifier)
+                .build();
+    }
+
+    /**
+     * Reloads the model results of every configured model, even if their model result files are unchanged.
+     * <p>
+     * Meant for load tests and operations, e.g. to measure the impact of reloads on the evaluations. The
+     * reloads run on the calling thread.
+     * </p>
+     *
+     * @return The number of models whose model results were reloaded.
+     * @throws IllegalStateException if the task initializer was not created or the model configuration is not loaded.
+     */
+    public int reloadModelResults() {
+        RuleBasedModelResultLoader modelResultLoader = defaultTaskInitializerFactory.getModelResultLoader();
+        if (modelResultLoader == null) {
+            throw new IllegalStateException("The model results cannot be reloaded before the task initializer is created.");
+        }
+        ModelConfiguration modelConfiguration = provideModelConfigurationProvider().provide();
+        String bucket = PropertiesUtil.getFileSharingS3BucketProperties().getString("adsp", defaultTaskInitializerFactory.getBucket());
+        int reloaded = 0;
+        for (ModelDefinition modelDefinition : modelConfiguration.getModelDefinitionByIdentifier().values()) {
+            ModelResultLoaderInput modelResultLoaderInput = new ModelResultLoaderInput(
+                    bucket,
+                    modelDefinition.getIdentifier() + ".csv",
+                    sspIdentifier,
+                    modelDefinition.getIdentifier(),
+                    modelDefinition.getType()
+            );
+            if (modelResultLoader.reload(modelResultLoaderInput)) {
+                reloaded++;
+            }
+        }
+        return reloaded;
+    }
+
+    /**
+     * Reports the memory taken by the model results of every configured model whose model results are present.
+     * <p>
+     * Meant for sizing hosts: the footprint of each model lists its entry count, its retained bytes, the
+     * distribution of its key lengths, its version and load time, and the projection made for the last new
+     * model result file before it was parsed. The same footprints are emitted periodically as
+     * ModelMemoryFootprint Java Flight Recorder events.
+     * </p>
+     *
+     * @return The footprints, in the order of the models of the model configuration.
+     * @throws IllegalStateException if the task initializer was not created or the model configuration is not loaded.
+     */
+    public List<ModelMemoryFootprint> getModelMemoryFootprints() {
+        ModelMemoryFootprintReporter reporter = defaultTaskInitializerFactory.getModelMemoryFootprintReporter();
+        if (reporter == null) {
+            throw new IllegalStateException("The model memory footprints cannot be reported before the task initializer is created.");
+        }
+        ModelConfiguration modelConfiguration = provideModelConfigurationProvider().provide();
+        return reporter.getMemoryFootprints(modelConfiguration.getModelDefinitionByIdentifier().keySet());
+    }
+
+    /**
+     * Reports how the candidate model versions evaluated in shadow compare with their live models so far.
+     * <p>
+     * The same comparisons are emitted periodically as ShadowEvaluation Java Flight Recorder events.
+     * </p>
+     *
+     * @return The report, or an empty Optional if shadow evaluation is disabled or no evaluator was created.
+     */
+    public Optional<ShadowEvaluationReport> getShadowEvaluationReport() {
+        return ShadowEvaluatorFactory.getInstance().getCreated().map(ShadowEvaluator::getReport);
+    }
+
+    /**
+     * Returns the bypass shedding the evaluations while the evaluators are overloaded, to read its bypass rate
+     * and counts.
+     * <p>
+     * The same metrics are emitted periodically as OverloadBypass Java Flight Recorder events.
+     * </p>
+     *
+     * @return The bypass, or an empty Optional if the bypass is disabled.
+     */
+    public Optional<OverloadBypass> getOverloadBypass() {
+        return OverloadBypassFactory.getInstance().getSingleton();
+    }
+
+    BidRequestEvaluator provideWarmUpEvaluator() {
+        return new BidRequestEvaluatorOnRuleBasedModel(
+                sspIdentifier,
+                ExperimentManagerFactory.getInstance().provideExperimentManager(),
+                provideModelConfigurationProvider(),
+                provideModelEvaluator(null),
+                provideModelEvaluationResultsAggregator(),
+                BidRequestEvaluatorOnRuleBasedModelOptions.builder()
+                        .evaluatePerImpression(PropertiesUtil.getTaskProperties().getBoolean("evaluation.per-impression.enabled", false))
+                        .build()
+        );
+    }
+
+    ConfigurationHolder<ModelConfiguration> provideModelConfigurationProvider() {
+        return ConfigurationHolderFactory.getInstance().getModelConfigurationHolder();
     }
 
     ModelEvaluator provideModelEvaluator() {
+        return provideModelEvaluator(ModelResultMemoFactory.getInstance().getSingleton().orElse(null));
+    }
+
+    ModelEvaluator provideModelEvaluator(ModelResultMemo modelResultMemo) {
         ExtractorRegistry extractorRegistry = ExtractorRegistryFactory.getInstance().getSingleton();
         Extraction extraction = new Extraction(extractorRegistry);
         TransformerRegistry transformerRegistry = TransformerRegistryFactory.getInstance().getSingleton();
         Transformation transformation = new Transformation(transformerRegistry);
         LocalCacheRegistry localCacheRegistry = DefaultLocalCacheRegistryFactory.getInstance().getDefaultLocalCacheRegistrySingleton();
-        Dao<String, Double> ruleBasedModelResultDao = new LocalCacheDao<>(localCacheRegistry);
-        ModelResultProvider ruleBasedmodelResultProvider = new RuleBasedModelResultProvider(ruleBasedModelResultDao);
+        Dao<String, Double> ruleBasedModelResultDao = new ModelResultStoreDao(
+                ModelResultStoreRegistryFactory.getInstance().getSingleton(), new LocalCacheDao<>(localCacheRegistry));
+        ModelResultFilterRegistry modelResultFilterRegistry = ModelResultFilterRegistryFactory.getInstance().getSingleton();
+        ModelResultProvider ruleBasedmodelResultProvider = new RuleBasedModelResultProvider(
+                ruleBasedModelResultDao, modelResultFilterRegistry, modelResultMemo);
         return new RuleBasedModelEvaluator(extraction, transformation, ruleBasedmodelResultProvider);
     }
 
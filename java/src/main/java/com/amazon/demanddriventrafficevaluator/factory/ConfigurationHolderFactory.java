@@ -0,0 +1,43 @@
+// Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+// SPDX-License-Identifier: Apache-2.0
+
+package com.amazon.demanddriventrafficevaluator.factory;
+
+import com.amazon.demanddriventrafficevaluator.repository.entity.ExperimentConfiguration;
+import com.amazon.demanddriventrafficevaluator.repository.entity.ModelConfiguration;
+import com.amazon.demanddriventrafficevaluator.repository.provider.configuration.ConfigurationHolder;
+
+/**
+ * A singleton factory class for creating and managing the holders of the model and experiment configurations.
+ * <p>
+ * The holders are shared between the configuration loaders, which publish to them, and the evaluators
+ * and treatment allocator, which read from them or subscribe to their changes.
+ * </p>
+ */
+public class ConfigurationHolderFactory {
+
+    private static final ConfigurationHolderFactory INSTANCE = new ConfigurationHolderFactory();
+    private ConfigurationHolder<ModelConfiguration> modelConfigurationHolder;
+    private ConfigurationHolder<ExperimentConfiguration> experimentConfigurationHolder;
+
+    private ConfigurationHolderFactory() {
+    }
+
+    public static ConfigurationHolderFactory getInstance() {
+        return INSTANCE;
+    }
+
+    public synchronized ConfigurationHolder<ModelConfiguration> getModelConfigurationHolder() {
+        if (modelConfigurationHolder == null) {
+            modelConfigurationHolder = new ConfigurationHolder<>("Model Configuration");
+        }
+        return modelConfigurationHolder;
+    }
+
+    public synchronized ConfigurationHolder<ExperimentConfiguration> getExperimentConfigurationHolder() {
+        if (experimentConfigurationHolder == null) {
+            experimentConfigurationHolder = new ConfigurationHolder<>("Experiment Configuration");
+        }
+        return experimentConfigurationHolder;
+    }
+}
@@ -3,43 +3,71 @@
 
 package com.amazon.demanddriventrafficevaluator.factory;
 
+import com.amazon.demanddriventrafficevaluator.jfr.ModelMemoryFootprintEvent;
 import com.amazon.demanddriventrafficevaluator.modelfeature.ModelFeatureOperator;
 import com.amazon.demanddriventrafficevaluator.modelfeature.Registry;
 import com.amazon.demanddriventrafficevaluator.modelfeature.extractor.Extractor;
 import com.amazon.demanddriventrafficevaluator.modelfeature.transformer.Transformer;
 import com.amazon.demanddriventrafficevaluator.repository.dao.Dao;
+import com.amazon.demanddriventrafficevaluator.repository.dao.FileSystemObjectDao;
 import com.amazon.demanddriventrafficevaluator.repository.dao.LocalCacheDao;
+import com.amazon.demanddriventrafficevaluator.repository.dao.ObjectSourceType;
 import com.amazon.demanddriventrafficevaluator.repository.dao.S3ObjectDao;
+import com.amazon.demanddriventrafficevaluator.repository.dao.S3RangedObjectDao;
 import com.amazon.demanddriventrafficevaluator.repository.entity.ExperimentConfiguration;
 import com.amazon.demanddriventrafficevaluator.repository.entity.ModelConfiguration;
 import com.amazon.demanddriventrafficevaluator.repository.loader.DefaultLoader;
 import com.amazon.demanddriventrafficevaluator.repository.loader.configuration.ConfigurationLoaderInput;
 import com.amazon.demanddriventrafficevaluator.repository.loader.configuration.DefaultConfigurationLoader;
-import com.amazon.demanddriventrafficevaluator.repository.loader.configuration.ExperimentConfigurationLoader;
+import com.amazon.demanddriventrafficevaluator.repository.loader.model.KeyLengthDistribution;
+import com.amazon.demanddriventrafficevaluator.repository.loader.model.ModelMemoryFootprint;
+import com.amazon.demanddriventrafficevaluator.repository.loader.model.ModelMemoryFootprintReporter;
+import com.amazon.demanddriventrafficevaluator.repository.loader.model.ModelResultLoadThrottle;
 import com.amazon.demanddriventrafficevaluator.repository.loader.model.ModelResultLoaderInput;
 import com.amazon.demanddriventrafficevaluator.repository.loader.model.RuleBasedModelResultLoader;
+import com.amazon.demanddriventrafficevaluator.repository.loader.model.RuleBasedModelResultLoaderOptions;
 import com.amazon.demanddriventrafficevaluator.repository.localcache.LocalCacheRegistry;
 import com.amazon.demanddriventrafficevaluator.repository.provider.configuration.ConfigurationProvider;
-import com.amazon.demanddriventrafficevaluator.repository.provider.configuration.ModelConfigurationProvider;
+import com.amazon.demanddriventrafficevaluator.repository.store.ModelResultStoreFactory;
+import com.amazon.demanddriventrafficevaluator.repository.store.ModelResultStoreType;
+import com.amazon.demanddriventrafficevaluator.repository.store.OffHeapModelResultStoreFactory;
+import com.amazon.demanddriventrafficevaluator.repository.store.PerfectHashModelResultStoreFactory;
+import com.amazon.demanddriventrafficevaluator.repository.store.SharedModelResultStoreFactory;
 import com.amazon.demanddriventrafficevaluator.task.InitializerTask;
 import com.amazon.demanddriventrafficevaluator.task.InitializerTaskOnOneShotTask;
 import com.amazon.demanddriventrafficevaluator.task.InitializerTaskOnPeriodicTask;
 import com.amazon.demanddriventrafficevaluator.task.TaskConfiguration;
 import com.amazon.demanddriventrafficevaluator.task.TaskInitializer;
 import com.amazon.demanddriventrafficevaluator.task.dataloading.ConfigurationPeriodicLoadingTask;
+import com.amazon.demanddriventrafficevaluator.task.dataloading.ModelResultFileWatchInitializerTask;
+import com.amazon.demanddriventrafficevaluator.task.dataloading.ModelResultFileWatchTask;
+import com.amazon.demanddriventrafficevaluator.task.dataloading.ModelResultInitialLoadInitializerTask;
 import com.amazon.demanddriventrafficevaluator.task.dataloading.ModelResultPeriodicLoadingInitializerTask;
 import com.amazon.demanddriventrafficevaluator.task.dataloading.ModelResultPeriodicLoadingTask;
+import com.amazon.demanddriventrafficevaluator.task.dataloading.ModelResultPrefetchInitializerTask;
+import com.amazon.demanddriventrafficevaluator.task.dataloading.ModelResultPrefetchTask;
 import com.amazon.demanddriventrafficevaluator.task.registrysetup.ModelFeatureOperatorRegistrySetupTask;
 import com.amazon.demanddriventrafficevaluator.util.PropertiesUtil;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import jdk.jfr.FlightRecorder;
 import lombok.extern.log4j.Log4j2;
 import org.apache.commons.configuration2.Configuration;
 import software.amazon.awssdk.auth.credentials.AwsCredentialsProvider;
+import software.amazon.awssdk.services.s3.S3AsyncClient;
 import software.amazon.awssdk.services.s3.S3Client;
 
 import java.io.InputStream;
+import java.net.URI;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
 import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 
 import static com.amazon.demanddriventrafficevaluator.repository.dao.LocalCacheDao.CACHE_KEY_EXPERIMENT_CONFIGURATION;
 import static com.amazon.demanddriventrafficevaluator.repository.dao.LocalCacheDao.CACHE_KEY_MODEL_CONFIGURATION;
@@ -60,6 +88,21 @@ public class DefaultTaskInitializerFactory {
     private static final int DEFAULT_MAXIMUM_ATTEMPTS = 5;
     private static final long DEFAULT_MIN_DELAY_BEFORE_ATTEMPT_MS = 100L;
     private static final long DEFAULT_MAX_DELAY_BEFORE_ATTEMPT_MS = 30000L;
+    private static final double DEFAULT_MODEL_RESULT_FILTER_FALSE_POSITIVE_RATE = 0.0;
+    private static final String DEFAULT_MODEL_RESULT_STORE_TYPE = ModelResultStoreType.OffHeap.name();
+    private static final String DEFAULT_SHARED_MODEL_RESULT_STORE_DIRECTORY = "/dev/shm/model-result-store";
+    private static final int DEFAULT_MODEL_RESULT_LOAD_PARALLELISM = 4;
+    private static final int DEFAULT_MODEL_RESULT_FALLBACK_HOURS = 1;
+    private static final boolean DEFAULT_MODEL_RESULT_PREFETCH_ENABLED = true;
+    private static final long DEFAULT_MODEL_RESULT_PREFETCH_POLL_INTERVAL_MS = 10000L;
+    private static final long DEFAULT_MODEL_RESULT_PREFETCH_WINDOW_BEFORE_HOUR_MS = 300000L;
+    private static final long DEFAULT_MODEL_RESULT_PREFETCH_WINDOW_AFTER_HOUR_MS = 600000L;
+    private static final long DEFAULT_OBJECT_SOURCE_PART_SIZE_BYTES = 8L * 1024 * 1024;
+    private static final int DEFAULT_OBJECT_SOURCE_MAX_IN_FLIGHT_PARTS = 4;
+    private static final boolean DEFAULT_MODEL_RESULT_FILE_WATCH_ENABLED = true;
+    private static final long DEFAULT_MODEL_RESULT_FILE_WATCH_DEBOUNCE_MS = 50L;
+    private static final long DEFAULT_MODEL_RESULT_LOAD_THROTTLE_MAX_PAUSE_MS = 1000L;
+    private static final boolean DEFAULT_MODEL_RESULT_INITIAL_LOAD_ENABLED = true;
 
     private final ObjectMapper mapper = new ObjectMapper();
     private final LocalCacheRegistry localCacheRegistry = DefaultLocalCacheRegistryFactory.getInstance().getDefaultLocalCacheRegistrySingleton();
@@ -70,22 +113,48 @@ public class DefaultTaskInitializerFactory {
     private final String bucket;
 
     private ScheduledThreadPoolExecutor executor = new ScheduledThreadPoolExecutor(5);
+    private volatile RuleBasedModelResultLoader modelResultLoader;
+    private volatile ModelMemoryFootprintReporter modelMemoryFootprintReporter;
+    private Runnable modelMemoryFootprintEventHook;
 
     public DefaultTaskInitializerFactory(String sspIdentifier, AwsCredentialsProvider credentialsProvider, String region, String bucket) {
         this.sspIdentifier = sspIdentifier;
         this.s3Client = AWSServiceClientFactory.getInstance().getS3Client(credentialsProvider, region);
-        this.fileDao = new S3ObjectDao(s3Client);
+        this.fileDao = getFileDao(s3Client, credentialsProvider, region);
         this.bucket = bucket;
     }
 
     public DefaultTaskInitializerFactory(String sspIdentifier, AwsCredentialsProvider credentialsProvider, String region, String bucket, ScheduledThreadPoolExecutor executor) {
         this.sspIdentifier = sspIdentifier;
         this.s3Client = AWSServiceClientFactory.getInstance().getS3Client(credentialsProvider, region);
-        this.fileDao = new S3ObjectDao(s3Client);
+        this.fileDao = getFileDao(s3Client, credentialsProvider, region);
         this.bucket = bucket;
         this.executor = executor;
     }
 
+    private static Dao<String, InputStream> getFileDao(S3Client s3Client, AwsCredentialsProvider credentialsProvider, String region) {
+        Configuration taskProperties = PropertiesUtil.getTaskProperties();
+        ObjectSourceType objectSourceType = ObjectSourceType.fromString(
+                taskProperties.getString("object-source.type", ObjectSourceType.S3.name()));
+        if (objectSourceType == ObjectSourceType.FileSystem) {
+            String directory = taskProperties.getString("object-source.directory", null);
+            if (directory == null) {
+                throw new IllegalStateException("The object source directory is required to read files from the file system.");
+            }
+            return new FileSystemObjectDao(Paths.get(directory));
+        }
+        if (objectSourceType == ObjectSourceType.S3Ranged) {
+            String endpoint = taskProperties.getString("object-source.s3-endpoint", null);
+            S3AsyncClient s3AsyncClient = AWSServiceClientFactory.getInstance().getS3AsyncClient(
+                    credentialsProvider, region, endpoint == null ? null : URI.create(endpoint));
+            return new S3RangedObjectDao(
+                    s3AsyncClient,
+                    taskProperties.getLong("object-source.part-size-bytes", DEFAULT_OBJECT_SOURCE_PART_SIZE_BYTES),
+                    taskProperties.getInt("object-source.max-in-flight-parts", DEFAULT_OBJECT_SOURCE_MAX_IN_FLIGHT_PARTS));
+        }
+        return new S3ObjectDao(s3Client);
+    }
+
     public TaskInitializer getTaskInitializer() {
         log.warn("getTaskInitializer Initializing task initializer");
         Configuration taskProperties = PropertiesUtil.getTaskProperties();
@@ -93,25 +162,29 @@ public class DefaultTaskInitializerFactory {
         if (overallTimeoutMs <= 0L) {
             throw new IllegalStateException("Invalid overall execution timeout which should be larger than 0.");
         }
-        return new TaskInitializer(getStageOneTasks(), getStageTwoTasks(), overallTimeoutMs);
+        int maxConcurrentTasks = taskProperties.getInt("overall.max-concurrent-tasks", TaskInitializer.UNLIMITED_CONCURRENT_TASKS);
+        return new TaskInitializer(getInitializerTasks(), overallTimeoutMs, maxConcurrentTasks);
     }
 
-    private List<InitializerTask> getStageOneTasks() {
+    /**
+     * Returns the initialization tasks: the configurations are loaded and the model feature operators are
+     * registered independently, and the model result tasks only wait for the model configuration.
+     */
+    private List<InitializerTask> getInitializerTasks() {
         InitializerTask experimentConfigurationPeriodicLoadingTask = getInitializerTaskForPeriodicLoadingExperimentConfiguration();
         InitializerTask modelConfigurationPeriodicLoadingTask = getInitializerTaskForPeriodicLoadingModelConfiguration();
         InitializerTask ModelFeatureExtractorRegistrationInitializerTask = getInitializerTaskForRegisteringModelFeatureExtractor();
         InitializerTask ModelFeatureTransformerRegistrationInitializerTask = getInitializerTaskForRegisteringModelFeatureTransformer();
-        return List.of(
+        List<InitializerTask> initializerTasks = new ArrayList<>(List.of(
                 experimentConfigurationPeriodicLoadingTask,
                 modelConfigurationPeriodicLoadingTask,
                 ModelFeatureExtractorRegistrationInitializerTask,
                 ModelFeatureTransformerRegistrationInitializerTask
-        );
-    }
-
-    private List<InitializerTask> getStageTwoTasks() {
-        InitializerTask modelResultPeriodicLoadingInitializerTask = getInitializerTaskForPeriodicLoadingRuleBasedModelResult();
-        return List.of(modelResultPeriodicLoadingInitializerTask);
+        ));
+        for (InitializerTask modelResultTask : getInitializerTasksForLoadingRuleBasedModelResult()) {
+            initializerTasks.add(modelResultTask.dependsOn(modelConfigurationPeriodicLoadingTask));
+        }
+        return initializerTasks;
     }
 
     private InitializerTaskOnPeriodicTask getInitializerTaskForPeriodicLoadingModelConfiguration() {
@@ -119,7 +192,7 @@ public class DefaultTaskInitializerFactory {
         Dao<String, String> fileIdentifierCacheDao = new LocalCacheDao<>(localCacheRegistry);
         DefaultLoader<ConfigurationLoaderInput> modelConfigurationLoader = new DefaultConfigurationLoader<>(
                 fileIdentifierCacheDao, fileDao, modelConfigurationCacheDao, CACHE_KEY_MODEL_CONFIGURATION, ModelConfiguration.class,
-                mapper
+                mapper, ConfigurationHolderFactory.getInstance().getModelConfigurationHolder()
         );
         TaskConfiguration taskConfiguration = getTaskConfigurationFromProperties("model-configuration");
         return getInitializerTaskForPeriodicLoadingConfiguration(
@@ -137,18 +210,16 @@ public class DefaultTaskInitializerFactory {
     private InitializerTaskOnPeriodicTask getInitializerTaskForPeriodicLoadingExperimentConfiguration() {
         LocalCacheDao<String, ExperimentConfiguration> experimentConfigurationCacheDao = new LocalCacheDao<>(localCacheRegistry);
         Dao<String, String> fileIdentifierCacheDao = new LocalCacheDao<>(localCacheRegistry);
-        DefaultConfigurationLoader<ExperimentConfiguration> defaultConfigurationLoader = new DefaultConfigurationLoader<>(
+        // subscribes the treatment allocator to the loaded configurations, so that loading an invalid one fails
+        ExperimentManagerFactory.getInstance().provideTreatmentAllocator();
+        DefaultConfigurationLoader<ExperimentConfiguration> experimentConfigurationLoader = new DefaultConfigurationLoader<>(
                 fileIdentifierCacheDao,
                 fileDao,
                 experimentConfigurationCacheDao,
                 CACHE_KEY_EXPERIMENT_CONFIGURATION,
                 ExperimentConfiguration.class,
-                mapper
-        );
-        ExperimentConfigurationLoader experimentConfigurationLoader = new ExperimentConfigurationLoader(
-                defaultConfigurationLoader,
-                ExperimentManagerFactory.getInstance().provideExperimentConfigurationProvider(),
-                ExperimentManagerFactory.getInstance().provideTreatmentAllocator()
+                mapper,
+                ConfigurationHolderFactory.getInstance().getExperimentConfigurationHolder()
         );
         TaskConfiguration taskConfiguration = getTaskConfigurationFromProperties("experiment-configuration");
         return getInitializerTaskForPeriodicLoadingConfiguration(
@@ -163,16 +234,42 @@ public class DefaultTaskInitializerFactory {
         );
     }
 
-    private InitializerTask getInitializerTaskForPeriodicLoadingRuleBasedModelResult() {
-        LocalCacheDao<String, ModelConfiguration> modelConfigurationCacheDao = new LocalCacheDao<>(localCacheRegistry);
-        ConfigurationProvider<ModelConfiguration> modelConfigurationProvider = new ModelConfigurationProvider(modelConfigurationCacheDao);
+    private List<InitializerTask> getInitializerTasksForLoadingRuleBasedModelResult() {
+        ConfigurationProvider<ModelConfiguration> modelConfigurationProvider = ConfigurationHolderFactory.getInstance().getModelConfigurationHolder();
         Dao<String, Double> modelResultsCacheDao = new LocalCacheDao<>(localCacheRegistry);
         Dao<String, String> fileIdentifierCacheDao = new LocalCacheDao<>(localCacheRegistry);
-        DefaultLoader<ModelResultLoaderInput> modelResultLoader = new RuleBasedModelResultLoader(
-                fileIdentifierCacheDao, modelResultsCacheDao, fileDao
+        Configuration taskProperties = PropertiesUtil.getTaskProperties();
+        double filterFalsePositiveRate = taskProperties.getDouble(
+                "model-result.filter.false-positive-rate", DEFAULT_MODEL_RESULT_FILTER_FALSE_POSITIVE_RATE);
+        ModelResultLoadThrottle loadThrottle = getModelResultLoadThrottle(taskProperties);
+        RuleBasedModelResultLoader modelResultLoader = new RuleBasedModelResultLoader(
+                fileIdentifierCacheDao, modelResultsCacheDao, fileDao,
+                RuleBasedModelResultLoaderOptions.builder()
+                        .modelResultFilterRegistry(ModelResultFilterRegistryFactory.getInstance().getSingleton())
+                        .filterFalsePositiveRate(filterFalsePositiveRate)
+                        .modelResultStoreRegistry(ModelResultStoreRegistryFactory.getInstance().getSingleton())
+                        .modelResultStoreFactory(getModelResultStoreFactory(taskProperties))
+                        .maxStoreStalenessMs(taskProperties.getLong("model-result.store.max-staleness-ms",
+                                RuleBasedModelResultLoader.DEFAULT_MAX_STORE_STALENESS_MS))
+                        .maxFallbackHours(taskProperties.getInt("model-result.fallback-hours", DEFAULT_MODEL_RESULT_FALLBACK_HOURS))
+                        .maxDeltaOverlayRatio(taskProperties.getDouble("model-result.delta.max-overlay-ratio",
+                                RuleBasedModelResultLoader.DELTA_DISABLED))
+                        .loadThrottle(loadThrottle)
+                        .build()
         );
+        this.modelResultLoader = modelResultLoader;
+        this.modelMemoryFootprintReporter = new ModelMemoryFootprintReporter(
+                modelResultLoader, localCacheRegistry, ModelResultStoreRegistryFactory.getInstance().getSingleton());
+        registerModelMemoryFootprintEvent(modelConfigurationProvider, modelMemoryFootprintReporter);
         TaskConfiguration taskConfiguration = getTaskConfigurationFromProperties("model-result.rule-based");
-        return getInitializerTaskForPeriodicLoadingModelResult(
+        int loadParallelism = taskProperties.getInt("model-result.load-parallelism", DEFAULT_MODEL_RESULT_LOAD_PARALLELISM);
+        // throttled loads also yield the CPUs to the request threads, where the JVM maps thread priorities to the OS
+        ExecutorService modelLoadingExecutor = Executors.newFixedThreadPool(loadParallelism, new ThreadFactoryBuilder()
+                .setNameFormat("model-result-loader-%d")
+                .setDaemon(true)
+                .setPriority(loadThrottle == null ? Thread.NORM_PRIORITY : Thread.MIN_PRIORITY)
+                .build());
+        InitializerTask periodicLoadingTask = getInitializerTaskForPeriodicLoadingModelResult(
                 "RuleBasedModelResultPeriodicLoading",
                 taskConfiguration.getPeriodMs(),
                 taskConfiguration.getMaximumAttempts(),
@@ -180,10 +277,166 @@ public class DefaultTaskInitializerFactory {
                 taskConfiguration.getMaxDelayBeforeAttemptMs(),
                 executor,
                 modelConfigurationProvider,
-                modelResultLoader
+                modelResultLoader,
+                modelLoadingExecutor,
+                taskProperties.getLong("model-result.load-timeout-ms", taskConfiguration.getPeriodMs())
+        );
+        List<InitializerTask> initializerTasks = new ArrayList<>();
+        initializerTasks.add(periodicLoadingTask);
+        if (taskProperties.getBoolean("model-result.initial-load.enabled", DEFAULT_MODEL_RESULT_INITIAL_LOAD_ENABLED)) {
+            initializerTasks.add(new ModelResultInitialLoadInitializerTask(
+                    sspIdentifier,
+                    "RuleBasedModelResultInitialLoad",
+                    taskConfiguration.getMaximumAttempts(),
+                    taskConfiguration.getMinDelayBeforeAttemptMs(),
+                    taskConfiguration.getMaxDelayBeforeAttemptMs(),
+                    modelConfigurationProvider,
+                    modelResultLoader,
+                    bucket
+            ));
+        }
+        if (fileDao instanceof FileSystemObjectDao
+                && taskProperties.getBoolean("model-result.file-watch.enabled", DEFAULT_MODEL_RESULT_FILE_WATCH_ENABLED)) {
+            ModelResultFileWatchTask fileWatchTask = new ModelResultFileWatchTask(
+                    sspIdentifier,
+                    "RuleBasedModelResultFileWatch",
+                    executor,
+                    modelConfigurationProvider,
+                    modelResultLoader,
+                    (FileSystemObjectDao) fileDao,
+                    bucket,
+                    modelLoadingExecutor,
+                    taskProperties.getLong("model-result.file-watch.debounce-ms", DEFAULT_MODEL_RESULT_FILE_WATCH_DEBOUNCE_MS)
+            );
+            initializerTasks.add(new ModelResultFileWatchInitializerTask(
+                    "RuleBasedModelResultFileWatchInitializer",
+                    taskConfiguration.getMaximumAttempts(),
+                    taskConfiguration.getMinDelayBeforeAttemptMs(),
+                    taskConfiguration.getMaxDelayBeforeAttemptMs(),
+                    fileWatchTask
+            ));
+        }
+        if (!taskProperties.getBoolean("model-result.prefetch.enabled", DEFAULT_MODEL_RESULT_PREFETCH_ENABLED)) {
+            return initializerTasks;
+        }
+        ModelResultPrefetchTask prefetchTask = new ModelResultPrefetchTask(
+                sspIdentifier,
+                "RuleBasedModelResultPrefetch",
+                taskProperties.getLong("model-result.prefetch.poll-interval-ms", DEFAULT_MODEL_RESULT_PREFETCH_POLL_INTERVAL_MS),
+                executor,
+                modelConfigurationProvider,
+                modelResultLoader,
+                bucket,
+                modelLoadingExecutor,
+                taskProperties.getLong("model-result.prefetch.window-before-hour-ms", DEFAULT_MODEL_RESULT_PREFETCH_WINDOW_BEFORE_HOUR_MS),
+                taskProperties.getLong("model-result.prefetch.window-after-hour-ms", DEFAULT_MODEL_RESULT_PREFETCH_WINDOW_AFTER_HOUR_MS)
         );
+        initializerTasks.add(new ModelResultPrefetchInitializerTask(
+                "RuleBasedModelResultPrefetchInitializer",
+                taskConfiguration.getMaximumAttempts(),
+                taskConfiguration.getMinDelayBeforeAttemptMs(),
+                taskConfiguration.getMaxDelayBeforeAttemptMs(),
+                prefetchTask
+        ));
+        return initializerTasks;
+    }
+
+    /**
+     * Returns the loader of the model results of the last task initializer created.
+     *
+     * @return The model result loader, or null if no task initializer was created.
+     */
+    RuleBasedModelResultLoader getModelResultLoader() {
+        return modelResultLoader;
+    }
+
+    /**
+     * Returns the reporter of the memory taken by the model results of the last task initializer created.
+     *
+     * @return The reporter, or null if no task initializer was created.
+     */
+    ModelMemoryFootprintReporter getModelMemoryFootprintReporter() {
+        return modelMemoryFootprintReporter;
+    }
+
+    String getBucket() {
+        return bucket;
+    }
+
+    /**
+     * Emits a {@link ModelMemoryFootprintEvent} for every configured model at the period of the event, replacing
+     * the events of the previous task initializer.
+     */
+    private synchronized void registerModelMemoryFootprintEvent(
+            ConfigurationProvider<ModelConfiguration> modelConfigurationProvider,
+            ModelMemoryFootprintReporter reporter
+    ) {
+        if (modelMemoryFootprintEventHook != null) {
+            FlightRecorder.removePeriodicEvent(modelMemoryFootprintEventHook);
+        }
+        modelMemoryFootprintEventHook = () -> {
+            ModelConfiguration modelConfiguration;
+            try {
+                modelConfiguration = modelConfigurationProvider.provide();
+            } catch (IllegalStateException e) {
+                // no model is loaded before the model configuration
+                return;
+            }
+            for (ModelMemoryFootprint footprint : reporter.getMemoryFootprints(
+                    modelConfiguration.getModelDefinitionByIdentifier().keySet())) {
+                KeyLengthDistribution keyLengthDistribution = footprint.getKeyLengthDistribution();
+                ModelMemoryFootprintEvent event = new ModelMemoryFootprintEvent();
+                event.modelIdentifier = footprint.getModelIdentifier();
+                event.eTag = footprint.getVersion();
+                event.loadedAtMs = footprint.getLoadedAtMs();
+                event.entries = footprint.getEntryCount();
+                event.retainedBytes = footprint.getRetainedBytes();
+                event.meanKeyLength = keyLengthDistribution == null ? 0.0 : keyLengthDistribution.getMean();
+                event.maxKeyLength = keyLengthDistribution == null ? 0 : keyLengthDistribution.getMaxLength();
+                event.projectedBytes = footprint.getLastProjection() == null ? 0L : footprint.getLastProjection().getProjectedBytes();
+                event.commit();
+            }
+        };
+        FlightRecorder.addPeriodicEvent(ModelMemoryFootprintEvent.class, modelMemoryFootprintEventHook);
+    }
+
+    private ModelResultLoadThrottle getModelResultLoadThrottle(Configuration taskProperties) {
+        long maxRowsPerSecond = taskProperties.getLong(
+                "model-result.load-throttle.max-rows-per-second", ModelResultLoadThrottle.UNLIMITED_ROWS_PER_SECOND);
+        long pauseLatencyThresholdUs = taskProperties.getLong(
+                "model-result.load-throttle.pause-latency-threshold-us", ModelResultLoadThrottle.NO_PAUSE_LATENCY_THRESHOLD);
+        if (maxRowsPerSecond == ModelResultLoadThrottle.UNLIMITED_ROWS_PER_SECOND
+                && pauseLatencyThresholdUs == ModelResultLoadThrottle.NO_PAUSE_LATENCY_THRESHOLD) {
+            return null;
+        }
+        return new ModelResultLoadThrottle(
+                maxRowsPerSecond,
+                RequestLatencyMonitorFactory.getInstance().getSingleton()::getLatencyNanos,
+                TimeUnit.MICROSECONDS.toNanos(pauseLatencyThresholdUs),
+                TimeUnit.MILLISECONDS.toNanos(taskProperties.getLong(
+                        "model-result.load-throttle.max-pause-ms", DEFAULT_MODEL_RESULT_LOAD_THROTTLE_MAX_PAUSE_MS)));
     }
 
+    private ModelResultStoreFactory getModelResultStoreFactory(Configuration taskProperties) {
+        ModelResultStoreType storeType = ModelResultStoreType.fromString(
+                taskProperties.getString("model-result.store.type", DEFAULT_MODEL_RESULT_STORE_TYPE));
+        String directory = taskProperties.getString("model-result.store.directory", null);
+        Path storeDirectory = directory == null ? null : Paths.get(directory);
+        switch (storeType) {
+            case PerfectHash:
+                int parallelism = taskProperties.getInt("model-result.store.build-parallelism",
+                        Runtime.getRuntime().availableProcessors());
+                return new PerfectHashModelResultStoreFactory(storeDirectory, new ForkJoinPool(parallelism));
+            case OffHeap:
+                return new OffHeapModelResultStoreFactory(storeDirectory);
+            case Shared:
+                return new SharedModelResultStoreFactory(
+                        storeDirectory == null ? Paths.get(DEFAULT_SHARED_MODEL_RESULT_STORE_DIRECTORY) : storeDirectory);
+            case Cache:
+            default:
+                return null;
+        }
+    }
 
     private InitializerTaskOnPeriodicTask getInitializerTaskForPeriodicLoadingConfiguration(
             String taskName,
@@ -222,7 +475,9 @@ public class DefaultTaskInitializerFactory {
             long maxDelayBeforeAttemptMs,
             ScheduledThreadPoolExecutor executor,
             ConfigurationProvider<ModelConfiguration> modelConfigurationProvider,
-            DefaultLoader<ModelResultLoaderInput> modelResultLoader
+            DefaultLoader<ModelResultLoaderInput> modelResultLoader,
+            ExecutorService modelLoadingExecutor,
+            long modelLoadTimeoutMs
     ) {
         ModelResultPeriodicLoadingTask task = new ModelResultPeriodicLoadingTask(
                 sspIdentifier,
@@ -231,7 +486,9 @@ public class DefaultTaskInitializerFactory {
                 executor,
                 modelConfigurationProvider,
                 modelResultLoader,
-                bucket
+                bucket,
+                modelLoadingExecutor,
+                modelLoadTimeoutMs
         );
         return new ModelResultPeriodicLoadingInitializerTask(
                 taskName + "Initializer",
@@ -7,18 +7,15 @@ import com.amazon.demanddriventrafficevaluator.evaluation.experiment.ExperimentH
 import com.amazon.demanddriventrafficevaluator.evaluation.experiment.ExperimentManager;
 import com.amazon.demanddriventrafficevaluator.evaluation.experiment.TreatmentAllocator;
 import com.amazon.demanddriventrafficevaluator.evaluation.experiment.TreatmentAllocatorOnRandom;
-import com.amazon.demanddriventrafficevaluator.repository.dao.Dao;
-import com.amazon.demanddriventrafficevaluator.repository.dao.LocalCacheDao;
 import com.amazon.demanddriventrafficevaluator.repository.entity.ExperimentConfiguration;
-import com.amazon.demanddriventrafficevaluator.repository.localcache.LocalCacheRegistry;
 import com.amazon.demanddriventrafficevaluator.repository.provider.configuration.ConfigurationProvider;
-import com.amazon.demanddriventrafficevaluator.repository.provider.configuration.ExperimentConfigurationProvider;
 
 /**
  * A singleton factory class for creating and managing components related to experiment management.
  * <p>
  * This class provides centralized access to ExperimentManager, ExperimentConfigurationProvider,
- * and TreatmentAllocator instances. It uses lazy initialization and synchronization to ensure
+ * and TreatmentAllocator instances. The experiment configuration is provided by its shared holder,
+ * to which the TreatmentAllocator is subscribed. It uses lazy initialization and synchronization to ensure
  * thread-safe creation of these components.
  * </p>
  */
@@ -52,9 +49,7 @@ public class ExperimentManagerFactory {
             return experimentConfigurationProvider;
         }
         synchronized (this) {
-            LocalCacheRegistry localCacheRegistry = DefaultLocalCacheRegistryFactory.getInstance().getDefaultLocalCacheRegistrySingleton();
-            Dao<String, ExperimentConfiguration> cacheDao = new LocalCacheDao<String, ExperimentConfiguration>(localCacheRegistry);
-            experimentConfigurationProvider = new ExperimentConfigurationProvider(cacheDao);
+            experimentConfigurationProvider = ConfigurationHolderFactory.getInstance().getExperimentConfigurationHolder();
             return experimentConfigurationProvider;
         }
     }
@@ -64,7 +59,11 @@ public class ExperimentManagerFactory {
             return treatmentAllocator;
         }
         synchronized (this) {
-            treatmentAllocator = new TreatmentAllocatorOnRandom();
+            TreatmentAllocator allocator = new TreatmentAllocatorOnRandom();
+            // the thresholds of the allocator are rebuilt whenever a new experiment configuration is loaded
+            ConfigurationHolderFactory.getInstance().getExperimentConfigurationHolder().subscribe(
+                    (experimentConfiguration, version) -> allocator.updateConfiguration(experimentConfiguration));
+            treatmentAllocator = allocator;
             return treatmentAllocator;
         }
     }
@@ -7,6 +7,7 @@ import com.amazon.demanddriventrafficevaluator.repository.localcache.LocalCacheR
 import com.amazon.demanddriventrafficevaluator.repository.localcache.LocalCacheRegistryImpl;
 import com.amazon.demanddriventrafficevaluator.repository.localcache.builder.LocalCacheBuilder;
 import com.amazon.demanddriventrafficevaluator.repository.localcache.builder.LocalCacheFactory;
+import com.amazon.demanddriventrafficevaluator.util.PropertiesUtil;
 import com.google.common.cache.Cache;
 import org.apache.commons.lang3.tuple.ImmutablePair;
 
@@ -19,7 +20,9 @@ import java.util.concurrent.ConcurrentMap;
  * <p>
  * This class provides a mechanism to create and retrieve a singleton instance of
  * LocalCacheRegistry. It uses lazy initialization and double-checked locking to
- * ensure thread-safe creation of the singleton instance.
+ * ensure thread-safe creation of the singleton instance. The model result caches created with the default
+ * configuration sample one entry in task.local-cache.byte-size-sample-rate to estimate their memory footprint,
+ * 0 disabling the sampling.
  * </p>
  */
 public abstract class LocalCacheRegistryFactory {
@@ -31,6 +34,11 @@ public abstract class LocalCacheRegistryFactory {
             return defaultLocalCacheRegistry;
         }
         synchronized (this) {
+            if (defaultLocalCacheRegistry != null) {
+                return defaultLocalCacheRegistry;
+            }
+            LocalCacheRegistryImpl.LOCAL_CACHE_BUILDER_CONFIG_BUILDER.populateByteSizeSampleRate(
+                    PropertiesUtil.getTaskProperties().getInt("local-cache.byte-size-sample-rate", 0));
             boolean useDefaultLocalCacheBuilderConfig = true;
             ConcurrentMap<String, ImmutablePair<Integer, Cache>> cacheMap = new ConcurrentHashMap<>();
             Map<String, LocalCacheBuilder> localCacheBuilderMap = getLocalCacheBuilderMap();
@@ -0,0 +1,35 @@
+// Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+// SPDX-License-Identifier: Apache-2.0
+
+package com.amazon.demanddriventrafficevaluator.factory;
+
+import com.amazon.demanddriventrafficevaluator.repository.filter.ModelResultFilterRegistry;
+
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * A singleton factory class for creating and managing the ModelResultFilterRegistry.
+ * <p>
+ * The registry is shared between the model result loader, which publishes the filters,
+ * and the model result provider, which consults them.
+ * </p>
+ */
+public class ModelResultFilterRegistryFactory {
+
+    private static final ModelResultFilterRegistryFactory INSTANCE = new ModelResultFilterRegistryFactory();
+    private ModelResultFilterRegistry modelResultFilterRegistry;
+
+    private ModelResultFilterRegistryFactory() {
+    }
+
+    public static ModelResultFilterRegistryFactory getInstance() {
+        return INSTANCE;
+    }
+
+    public synchronized ModelResultFilterRegistry getSingleton() {
+        if (modelResultFilterRegistry == null) {
+            modelResultFilterRegistry = new ModelResultFilterRegistry(new ConcurrentHashMap<>());
+        }
+        return modelResultFilterRegistry;
+    }
+}
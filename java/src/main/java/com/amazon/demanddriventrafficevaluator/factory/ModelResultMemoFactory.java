@@ -0,0 +1,46 @@
+// Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+// SPDX-License-Identifier: Apache-2.0
+
+package com.amazon.demanddriventrafficevaluator.factory;
+
+import com.amazon.demanddriventrafficevaluator.repository.provider.model.ModelResultMemo;
+import com.amazon.demanddriventrafficevaluator.util.PropertiesUtil;
+
+import java.util.Optional;
+
+/**
+ * A singleton factory class for creating and managing the ModelResultMemo.
+ * <p>
+ * The memo is shared between the model result providers of all evaluators, and its hit rate and memory
+ * footprint can be read from it to size it. Its capacity is read from the task property
+ * model-result.memo.capacity; the memo is disabled by default.
+ * </p>
+ */
+public class ModelResultMemoFactory {
+
+    private static final ModelResultMemoFactory INSTANCE = new ModelResultMemoFactory();
+    private static final int DISABLED_CAPACITY = 0;
+    private Optional<ModelResultMemo> modelResultMemo;
+
+    private ModelResultMemoFactory() {
+    }
+
+    public static ModelResultMemoFactory getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Returns the memo, if enabled.
+     *
+     * @return The memo, or an empty Optional if the memo is disabled.
+     */
+    public synchronized Optional<ModelResultMemo> getSingleton() {
+        if (modelResultMemo == null) {
+            int capacity = PropertiesUtil.getTaskProperties().getInt("model-result.memo.capacity", DISABLED_CAPACITY);
+            modelResultMemo = capacity == DISABLED_CAPACITY
+                    ? Optional.empty()
+                    : Optional.of(new ModelResultMemo(capacity, ModelResultStoreRegistryFactory.getInstance().getSingleton()));
+        }
+        return modelResultMemo;
+    }
+}
@@ -0,0 +1,39 @@
+// Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+// SPDX-License-Identifier: Apache-2.0
+
+package com.amazon.demanddriventrafficevaluator.factory;
+
+import com.amazon.demanddriventrafficevaluator.repository.store.ModelResultStoreRegistry;
+import com.amazon.demanddriventrafficevaluator.util.PropertiesUtil;
+
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * A singleton factory class for creating and managing the ModelResultStoreRegistry.
+ * <p>
+ * The registry is shared between the model result loader, which registers the stores,
+ * and the model result provider, which reads from them. Its memory budget is read from the
+ * task property model-result.store.memory-budget-bytes, unlimited by default.
+ * </p>
+ */
+public class ModelResultStoreRegistryFactory {
+
+    private static final ModelResultStoreRegistryFactory INSTANCE = new ModelResultStoreRegistryFactory();
+    private ModelResultStoreRegistry modelResultStoreRegistry;
+
+    private ModelResultStoreRegistryFactory() {
+    }
+
+    public static ModelResultStoreRegistryFactory getInstance() {
+        return INSTANCE;
+    }
+
+    public synchronized ModelResultStoreRegistry getSingleton() {
+        if (modelResultStoreRegistry == null) {
+            long memoryBudgetBytes = PropertiesUtil.getTaskProperties().getLong(
+                    "model-result.store.memory-budget-bytes", ModelResultStoreRegistry.UNLIMITED_MEMORY_BUDGET);
+            modelResultStoreRegistry = new ModelResultStoreRegistry(new ConcurrentHashMap<>(), memoryBudgetBytes);
+        }
+        return modelResultStoreRegistry;
+    }
+}
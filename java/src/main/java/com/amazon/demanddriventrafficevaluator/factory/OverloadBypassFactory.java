@@ -0,0 +1,72 @@
+// Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+// SPDX-License-Identifier: Apache-2.0
+
+package com.amazon.demanddriventrafficevaluator.factory;
+
+import com.amazon.demanddriventrafficevaluator.evaluation.evaluator.OverloadBypass;
+import com.amazon.demanddriventrafficevaluator.jfr.OverloadBypassEvent;
+import com.amazon.demanddriventrafficevaluator.util.PropertiesUtil;
+import jdk.jfr.FlightRecorder;
+import org.apache.commons.configuration2.Configuration;
+
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A singleton factory class for creating and managing the OverloadBypass.
+ * <p>
+ * The bypass is shared between the evaluators, so that it counts all the running evaluations, and reads the
+ * latency recorded to the shared RequestLatencyMonitor. It is configured with the task properties
+ * evaluation.bypass.latency-threshold-us, evaluation.bypass.max-in-flight, evaluation.bypass.max-percent and
+ * evaluation.bypass.step-percent; the bypass is disabled by default. Once created, it emits an
+ * {@link OverloadBypassEvent} at the period of the event.
+ * </p>
+ */
+public class OverloadBypassFactory {
+
+    private static final OverloadBypassFactory INSTANCE = new OverloadBypassFactory();
+    private static final int DEFAULT_MAX_BYPASS_PERCENT = 90;
+    private static final int DEFAULT_STEP_PERCENT = 10;
+    private Optional<OverloadBypass> overloadBypass;
+
+    private OverloadBypassFactory() {
+    }
+
+    public static OverloadBypassFactory getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Returns the bypass, if enabled.
+     *
+     * @return The bypass, or an empty Optional if neither the latency threshold nor the in-flight limit is set.
+     */
+    public synchronized Optional<OverloadBypass> getSingleton() {
+        if (overloadBypass == null) {
+            Configuration taskProperties = PropertiesUtil.getTaskProperties();
+            long latencyThresholdUs = taskProperties.getLong("evaluation.bypass.latency-threshold-us", OverloadBypass.NO_LATENCY_THRESHOLD);
+            int maxInFlight = taskProperties.getInt("evaluation.bypass.max-in-flight", OverloadBypass.NO_IN_FLIGHT_LIMIT);
+            if (latencyThresholdUs == OverloadBypass.NO_LATENCY_THRESHOLD && maxInFlight == OverloadBypass.NO_IN_FLIGHT_LIMIT) {
+                overloadBypass = Optional.empty();
+            } else {
+                OverloadBypass bypass = new OverloadBypass(
+                        RequestLatencyMonitorFactory.getInstance().getSingleton(),
+                        TimeUnit.MICROSECONDS.toNanos(latencyThresholdUs),
+                        maxInFlight,
+                        taskProperties.getInt("evaluation.bypass.max-percent", DEFAULT_MAX_BYPASS_PERCENT),
+                        taskProperties.getInt("evaluation.bypass.step-percent", DEFAULT_STEP_PERCENT)
+                );
+                FlightRecorder.addPeriodicEvent(OverloadBypassEvent.class, () -> {
+                    OverloadBypassEvent event = new OverloadBypassEvent();
+                    event.bypassRate = bypass.getBypassRate();
+                    event.bypassed = bypass.getBypassedCount();
+                    event.evaluated = bypass.getEvaluatedCount();
+                    event.inFlight = bypass.getInFlight();
+                    event.commit();
+                });
+                overloadBypass = Optional.of(bypass);
+            }
+        }
+        return overloadBypass;
+    }
+}
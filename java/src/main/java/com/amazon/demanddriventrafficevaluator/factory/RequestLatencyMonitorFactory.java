@@ -0,0 +1,33 @@
+// Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+// SPDX-License-Identifier: Apache-2.0
+
+package com.amazon.demanddriventrafficevaluator.factory;
+
+import com.amazon.demanddriventrafficevaluator.evaluation.evaluator.RequestLatencyMonitor;
+
+/**
+ * A singleton factory class for creating and managing the RequestLatencyMonitor.
+ * <p>
+ * The monitor is shared between the bid request evaluators, which record their latency,
+ * and the model result load throttle, which pauses loads while the latency is high.
+ * </p>
+ */
+public class RequestLatencyMonitorFactory {
+
+    private static final RequestLatencyMonitorFactory INSTANCE = new RequestLatencyMonitorFactory();
+    private RequestLatencyMonitor requestLatencyMonitor;
+
+    private RequestLatencyMonitorFactory() {
+    }
+
+    public static RequestLatencyMonitorFactory getInstance() {
+        return INSTANCE;
+    }
+
+    public synchronized RequestLatencyMonitor getSingleton() {
+        if (requestLatencyMonitor == null) {
+            requestLatencyMonitor = new RequestLatencyMonitor();
+        }
+        return requestLatencyMonitor;
+    }
+}
@@ -0,0 +1,103 @@
+// Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+// SPDX-License-Identifier: Apache-2.0
+
+package com.amazon.demanddriventrafficevaluator.factory;
+
+import com.amazon.demanddriventrafficevaluator.evaluation.evaluator.ModelEvaluator;
+import com.amazon.demanddriventrafficevaluator.evaluation.shadow.ShadowCpuBudget;
+import com.amazon.demanddriventrafficevaluator.evaluation.shadow.ShadowEvaluator;
+import com.amazon.demanddriventrafficevaluator.evaluation.shadow.ShadowModelReport;
+import com.amazon.demanddriventrafficevaluator.jfr.ShadowEvaluationEvent;
+import com.amazon.demanddriventrafficevaluator.util.PropertiesUtil;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import jdk.jfr.FlightRecorder;
+import org.apache.commons.configuration2.Configuration;
+
+import java.util.Optional;
+import java.util.concurrent.Executors;
+import java.util.function.Supplier;
+
+/**
+ * A singleton factory class for creating and managing the ShadowEvaluator.
+ * <p>
+ * The shadow evaluator, its executor and its CPU budget are shared between all evaluators, so that the budget
+ * bounds the shadow work of the whole process. It is configured with the task properties
+ * evaluation.shadow.sampling-interval, evaluation.shadow.cpu-budget-percent and
+ * evaluation.shadow.max-pending-samples; shadow evaluation is disabled by default. Once created, it emits a
+ * {@link ShadowEvaluationEvent} for every candidate at the period of the event.
+ * </p>
+ */
+public class ShadowEvaluatorFactory {
+
+    private static final ShadowEvaluatorFactory INSTANCE = new ShadowEvaluatorFactory();
+    private static final int DISABLED_SAMPLING_INTERVAL = 0;
+    private static final int DEFAULT_CPU_BUDGET_PERCENT = 5;
+    private static final int DEFAULT_MAX_PENDING_SAMPLES = 1024;
+    private Optional<ShadowEvaluator> shadowEvaluator;
+
+    private ShadowEvaluatorFactory() {
+    }
+
+    public static ShadowEvaluatorFactory getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Returns the shadow evaluator, if enabled.
+     *
+     * @param modelEvaluatorSupplier Supplies the evaluator of the candidate models when the shadow evaluator is created.
+     * @return The shadow evaluator, or an empty Optional if shadow evaluation is disabled.
+     */
+    public synchronized Optional<ShadowEvaluator> getSingleton(Supplier<ModelEvaluator> modelEvaluatorSupplier) {
+        if (shadowEvaluator == null) {
+            Configuration taskProperties = PropertiesUtil.getTaskProperties();
+            int samplingInterval = taskProperties.getInt("evaluation.shadow.sampling-interval", DISABLED_SAMPLING_INTERVAL);
+            if (samplingInterval == DISABLED_SAMPLING_INTERVAL) {
+                shadowEvaluator = Optional.empty();
+            } else {
+                ShadowEvaluator evaluator = new ShadowEvaluator(
+                        modelEvaluatorSupplier.get(),
+                        ConfigurationHolderFactory.getInstance().getModelConfigurationHolder(),
+                        // a single thread of low priority, so that the shadow work yields to the request threads
+                        Executors.newSingleThreadExecutor(new ThreadFactoryBuilder()
+                                .setNameFormat("shadow-evaluator-%d")
+                                .setDaemon(true)
+                                .setPriority(Thread.MIN_PRIORITY)
+                                .build()),
+                        samplingInterval,
+                        taskProperties.getInt("evaluation.shadow.max-pending-samples", DEFAULT_MAX_PENDING_SAMPLES),
+                        new ShadowCpuBudget(taskProperties.getInt("evaluation.shadow.cpu-budget-percent", DEFAULT_CPU_BUDGET_PERCENT))
+                );
+                FlightRecorder.addPeriodicEvent(ShadowEvaluationEvent.class, () -> emitShadowEvaluationEvents(evaluator));
+                shadowEvaluator = Optional.of(evaluator);
+            }
+        }
+        return shadowEvaluator;
+    }
+
+    /**
+     * Returns the shadow evaluator, if it was created and is enabled.
+     *
+     * @return The shadow evaluator, or an empty Optional if it was not created or shadow evaluation is disabled.
+     */
+    public synchronized Optional<ShadowEvaluator> getCreated() {
+        return shadowEvaluator == null ? Optional.empty() : shadowEvaluator;
+    }
+
+    private static void emitShadowEvaluationEvents(ShadowEvaluator evaluator) {
+        for (ShadowModelReport report : evaluator.getReport().getModelReports()) {
+            ShadowEvaluationEvent event = new ShadowEvaluationEvent();
+            event.liveModelIdentifier = report.getLiveModelIdentifier();
+            event.candidateModelIdentifier = report.getCandidateModelIdentifier();
+            event.evaluations = report.getEvaluationCount();
+            event.agreements = report.getAgreementCount();
+            event.liveOnlyFiltered = report.getLiveOnlyFilteredCount();
+            event.candidateOnlyFiltered = report.getCandidateOnlyFilteredCount();
+            event.errors = report.getErrorCount();
+            event.agreementRate = report.getAgreementRate();
+            event.meanLiveLatency = report.getMeanLiveLatencyNanos();
+            event.meanCandidateLatency = report.getMeanCandidateLatencyNanos();
+            event.commit();
+        }
+    }
+}
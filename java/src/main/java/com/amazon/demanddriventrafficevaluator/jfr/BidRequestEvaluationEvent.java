@@ -0,0 +1,44 @@
+// Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+// SPDX-License-Identifier: Apache-2.0
+
+package com.amazon.demanddriventrafficevaluator.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Threshold;
+
+/**
+ * The evaluation of a bid request.
+ * <p>
+ * Only the evaluations slower than the threshold, 5 ms by default, are recorded, to line up the latency
+ * outliers with the reloads and GC pauses of the same recording.
+ * </p>
+ */
+@Name(JfrEvents.NAME_PREFIX + "BidRequestEvaluation")
+@Label("Bid Request Evaluation")
+@Category({JfrEvents.CATEGORY, "Evaluation"})
+@Description("The evaluation of a bid request")
+@StackTrace(false)
+@Threshold("5 ms")
+public class BidRequestEvaluationEvent extends jdk.jfr.Event {
+    @Label("SSP Identifier")
+    public String sspIdentifier;
+
+    @Label("Slot Count")
+    @Description("The number of slots of the response")
+    public int slotCount;
+
+    @Label("Default Response")
+    @Description("Whether the request was answered with the default response, e.g. after an error")
+    public boolean defaultResponse;
+
+    @Label("Bypassed")
+    @Description("Whether the request bypassed the evaluation, the evaluator being overloaded")
+    public boolean bypassed;
+
+    @Label("Traced")
+    public boolean traced;
+}
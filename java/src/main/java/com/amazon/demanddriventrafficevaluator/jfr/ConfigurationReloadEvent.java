@@ -0,0 +1,34 @@
+// Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+// SPDX-License-Identifier: Apache-2.0
+
+package com.amazon.demanddriventrafficevaluator.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * The check of a configuration file for changes, and its reload if it changed.
+ */
+@Name(JfrEvents.NAME_PREFIX + "ConfigurationReload")
+@Label("Configuration Reload")
+@Category({JfrEvents.CATEGORY, "Loading"})
+@Description("The check of a configuration file for changes, and its reload if it changed")
+@StackTrace(false)
+public class ConfigurationReloadEvent extends jdk.jfr.Event {
+    @Label("Configuration Type")
+    public String configurationType;
+
+    @Label("File Key")
+    public String fileKey;
+
+    @Label("ETag")
+    @Description("The ETag of the file, or the content hash of a local file")
+    public String eTag;
+
+    @Label("Reloaded")
+    @Description("Whether a new configuration was loaded")
+    public boolean reloaded;
+}
@@ -0,0 +1,54 @@
+// Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+// SPDX-License-Identifier: Apache-2.0
+
+package com.amazon.demanddriventrafficevaluator.jfr;
+
+import java.util.function.Supplier;
+
+/**
+ * The names shared by the Java Flight Recorder events of the library.
+ * <p>
+ * The events are enabled, disabled and given thresholds through the standard JFR settings, e.g. a .jfc file,
+ * under their names, com.amazon.demanddriventrafficevaluator.&lt;event&gt;. A disabled event costs a check of
+ * its settings, so the events are created unconditionally, and their fields only set if they are committed.
+ * </p>
+ * <p>
+ * The events of the evaluations are not committed while the evaluations replay requests rather than serve
+ * traffic, e.g. during a warm-up, see {@link #callSuppressed}.
+ * </p>
+ */
+public final class JfrEvents {
+    public static final String NAME_PREFIX = "com.amazon.demanddriventrafficevaluator.";
+    public static final String CATEGORY = "Dynamic Traffic Engine";
+
+    private static final ThreadLocal<Boolean> SUPPRESSED = new ThreadLocal<>();
+
+    private JfrEvents() {
+    }
+
+    /**
+     * Calls the supplier without committing the events of the evaluations it runs on the calling thread.
+     *
+     * @param supplier The supplier to call.
+     * @return The value of the supplier.
+     */
+    public static <T> T callSuppressed(Supplier<T> supplier) {
+        Boolean suppressed = SUPPRESSED.get();
+        SUPPRESSED.set(Boolean.TRUE);
+        try {
+            return supplier.get();
+        } finally {
+            if (suppressed == null) {
+                SUPPRESSED.remove();
+            }
+        }
+    }
+
+    /**
+     * Returns whether the events of the evaluations are not to be committed on the calling thread. Checked
+     * once an event is to be committed, so that it costs nothing to the evaluations that commit no event.
+     */
+    public static boolean isSuppressed() {
+        return SUPPRESSED.get() != null;
+    }
+}
@@ -0,0 +1,39 @@
+// Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+// SPDX-License-Identifier: Apache-2.0
+
+package com.amazon.demanddriventrafficevaluator.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * The evaluation of a model for a bid request, or for an impression of it.
+ * <p>
+ * There is one event per model and request, so the event is disabled by default.
+ * </p>
+ */
+@Name(JfrEvents.NAME_PREFIX + "ModelEvaluation")
+@Label("Model Evaluation")
+@Category({JfrEvents.CATEGORY, "Evaluation"})
+@Description("The evaluation of a model for a bid request")
+@StackTrace(false)
+@Enabled(false)
+public class ModelEvaluationEvent extends jdk.jfr.Event {
+    @Label("Model Identifier")
+    public String modelIdentifier;
+
+    @Label("Status")
+    public String status;
+
+    @Label("Key Count")
+    @Description("The number of keys the model result was looked up with")
+    public int keyCount;
+
+    @Label("Hit")
+    @Description("Whether the value of any key was found")
+    public boolean hit;
+}
@@ -0,0 +1,56 @@
+// Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+// SPDX-License-Identifier: Apache-2.0
+
+package com.amazon.demanddriventrafficevaluator.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Period;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timestamp;
+
+/**
+ * The memory taken by the model results of a model, emitted periodically for every loaded model.
+ */
+@Name(JfrEvents.NAME_PREFIX + "ModelMemoryFootprint")
+@Label("Model Memory Footprint")
+@Category({JfrEvents.CATEGORY, "Memory"})
+@Description("The memory taken by the model results of a model")
+@Period("60 s")
+@StackTrace(false)
+public class ModelMemoryFootprintEvent extends jdk.jfr.Event {
+    @Label("Model Identifier")
+    public String modelIdentifier;
+
+    @Label("ETag")
+    @Description("The version of the model results in use, e.g. the ETag of their file")
+    public String eTag;
+
+    @Label("Loaded At")
+    @Description("The time the model results in use went live")
+    @Timestamp(Timestamp.MILLISECONDS_SINCE_EPOCH)
+    public long loadedAtMs;
+
+    @Label("Entries")
+    public long entries;
+
+    @Label("Retained Bytes")
+    @Description("The bytes taken by the model results, estimated for the model result cache")
+    @DataAmount
+    public long retainedBytes;
+
+    @Label("Mean Key Length")
+    @Description("The mean length of the keys of the last model result file parsed, 0 if none was parsed")
+    public double meanKeyLength;
+
+    @Label("Max Key Length")
+    public int maxKeyLength;
+
+    @Label("Projected Bytes")
+    @Description("The bytes projected for the last new model result file before it was parsed, 0 if none was projected")
+    @DataAmount
+    public long projectedBytes;
+}
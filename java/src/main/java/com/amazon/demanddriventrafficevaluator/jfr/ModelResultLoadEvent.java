@@ -0,0 +1,45 @@
+// Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+// SPDX-License-Identifier: Apache-2.0
+
+package com.amazon.demanddriventrafficevaluator.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * The check of the model results of a model for changes, and their load if they changed.
+ */
+@Name(JfrEvents.NAME_PREFIX + "ModelResultLoad")
+@Label("Model Result Load")
+@Category({JfrEvents.CATEGORY, "Loading"})
+@Description("The check of the model results of a model for changes, and their load if they changed")
+@StackTrace(false)
+public class ModelResultLoadEvent extends jdk.jfr.Event {
+    @Label("Model Identifier")
+    public String modelIdentifier;
+
+    @Label("File Key")
+    @Description("The key of the model result file in use")
+    public String fileKey;
+
+    @Label("ETag")
+    @Description("The version of the model results in use, e.g. the ETag of their file")
+    public String eTag;
+
+    @Label("Loaded")
+    @Description("Whether new model results were loaded")
+    public boolean loaded;
+
+    @Label("Rows")
+    @Description("The number of rows read, 0 if the model results were not read from a file")
+    public long rows;
+
+    @Label("Bytes")
+    @Description("The size of the rows read")
+    @DataAmount
+    public long bytes;
+}
@@ -0,0 +1,39 @@
+// Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+// SPDX-License-Identifier: Apache-2.0
+
+package com.amazon.demanddriventrafficevaluator.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Percentage;
+import jdk.jfr.Period;
+import jdk.jfr.StackTrace;
+
+/**
+ * The share of the bid requests bypassing the evaluation because the evaluator is overloaded, emitted
+ * periodically. The counts are cumulative.
+ */
+@Name(JfrEvents.NAME_PREFIX + "OverloadBypass")
+@Label("Overload Bypass")
+@Category({JfrEvents.CATEGORY, "Evaluation"})
+@Description("The share of the bid requests bypassing the evaluation because the evaluator is overloaded")
+@Period("1 s")
+@StackTrace(false)
+public class OverloadBypassEvent extends jdk.jfr.Event {
+    @Label("Bypass Rate")
+    @Description("The share of the requests currently bypassing the evaluation")
+    @Percentage
+    public double bypassRate;
+
+    @Label("Bypassed")
+    public long bypassed;
+
+    @Label("Evaluated")
+    public long evaluated;
+
+    @Label("In Flight")
+    @Description("The number of running evaluations, 0 if the in-flight limit is not set")
+    public int inFlight;
+}
@@ -0,0 +1,61 @@
+// Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+// SPDX-License-Identifier: Apache-2.0
+
+package com.amazon.demanddriventrafficevaluator.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Percentage;
+import jdk.jfr.Period;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+/**
+ * How a candidate model version compares with the live model it shadows, emitted periodically for every
+ * candidate evaluated so far. The counts are cumulative.
+ */
+@Name(JfrEvents.NAME_PREFIX + "ShadowEvaluation")
+@Label("Shadow Evaluation")
+@Category({JfrEvents.CATEGORY, "Shadow"})
+@Description("How a candidate model version compares with the live model it shadows")
+@Period("60 s")
+@StackTrace(false)
+public class ShadowEvaluationEvent extends jdk.jfr.Event {
+    @Label("Live Model Identifier")
+    public String liveModelIdentifier;
+
+    @Label("Candidate Model Identifier")
+    public String candidateModelIdentifier;
+
+    @Label("Evaluations")
+    @Description("The number of slots both models were evaluated for")
+    public long evaluations;
+
+    @Label("Agreements")
+    public long agreements;
+
+    @Label("Live Only Filtered")
+    @Description("The number of slots the live model filters and the candidate lets through")
+    public long liveOnlyFiltered;
+
+    @Label("Candidate Only Filtered")
+    @Description("The number of slots the candidate filters and the live model lets through")
+    public long candidateOnlyFiltered;
+
+    @Label("Errors")
+    public long errors;
+
+    @Label("Agreement Rate")
+    @Percentage
+    public double agreementRate;
+
+    @Label("Mean Live Latency")
+    @Timespan(Timespan.NANOSECONDS)
+    public long meanLiveLatency;
+
+    @Label("Mean Candidate Latency")
+    @Timespan(Timespan.NANOSECONDS)
+    public long meanCandidateLatency;
+}
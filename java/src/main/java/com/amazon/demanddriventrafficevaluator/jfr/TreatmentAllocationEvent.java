@@ -0,0 +1,31 @@
+// Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+// SPDX-License-Identifier: Apache-2.0
+
+package com.amazon.demanddriventrafficevaluator.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * The allocation of the treatment of an experiment to a bid request.
+ * <p>
+ * There is one event per experiment and request, so the event is disabled by default.
+ * </p>
+ */
+@Name(JfrEvents.NAME_PREFIX + "TreatmentAllocation")
+@Label("Treatment Allocation")
+@Category({JfrEvents.CATEGORY, "Evaluation"})
+@Description("The allocation of the treatment of an experiment to a bid request")
+@StackTrace(false)
+@Enabled(false)
+public class TreatmentAllocationEvent extends jdk.jfr.Event {
+    @Label("Experiment Name")
+    public String experimentName;
+
+    @Label("Treatment Code")
+    public String treatmentCode;
+}
@@ -0,0 +1,147 @@
+// Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+// SPDX-License-Identifier: Apache-2.0
+
+package com.amazon.demanddriventrafficevaluator.repository.dao;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.hash.Hasher;
+import com.google.common.hash.Hashing;
+import lombok.Getter;
+import lombok.extern.log4j.Log4j2;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.Optional;
+
+/**
+ * A Data Access Object (DAO) implementation for reading objects from the local file system.
+ * <p>
+ * Objects are shipped to the host out-of-band, e.g. by rsync or a sidecar, into a root directory that
+ * mirrors the S3 layout: the object with a given key in a given bucket is the file root/bucket/key.
+ * The returned input streams carry a file identifier in place of the ETag of S3 objects. It is derived
+ * from the content hash of the file, so that a file that is copied again with the same content is not
+ * reloaded; the hash is only recomputed when the size or the modification time of the file changes.
+ * </p>
+ * <p>
+ * Note: This implementation only supports reading objects. The put and clear operations are not
+ * supported and will throw an UnsupportedOperationException if called.
+ * </p>
+ */
+@Log4j2
+public class FileSystemObjectDao implements Dao<String, InputStream> {
+
+    private static final int HASH_BUFFER_SIZE = 1 << 16;
+    // files are partitioned by hour, so only the versions of recently read files are worth keeping
+    private static final int MAX_TRACKED_FILE_COUNT = 1024;
+
+    @Getter
+    private final Path rootDirectory;
+    private final Cache<Path, FileVersion> fileVersionByPath = CacheBuilder.newBuilder()
+            .maximumSize(MAX_TRACKED_FILE_COUNT)
+            .build();
+
+    public FileSystemObjectDao(Path rootDirectory) {
+        this.rootDirectory = rootDirectory.toAbsolutePath().normalize();
+    }
+
+    /**
+     * Opens a local file as an InputStream.
+     *
+     * @param bucketName The name of the bucket, i.e. the directory under the root directory.
+     * @param key        The key of the object, i.e. the path of the file relative to the bucket directory.
+     * @return An Optional containing the FileSystemObjectInputStream of the file if found, or an empty Optional
+     * if not found, if the key points outside the root directory or if an error occurs.
+     */
+    @Override
+    public Optional<InputStream> get(String bucketName, String key) {
+        Path file = getFile(bucketName, key);
+        if (!file.startsWith(rootDirectory)) {
+            log.error("Object key {} in bucket {} points outside of {}", key, bucketName, rootDirectory);
+            return Optional.empty();
+        }
+        try {
+            // identify the file before opening it: if it is replaced in between, the next load sees the new identifier
+            String fileIdentifier = getFileIdentifier(file);
+            return Optional.of(new FileSystemObjectInputStream(Files.newInputStream(file), fileIdentifier, Files.size(file)));
+        } catch (NoSuchFileException e) {
+            log.debug("Object with key {} not found in {}", key, rootDirectory);
+            return Optional.empty();
+        } catch (IOException e) {
+            log.error("Error getting object with key {} from {}", key, rootDirectory, e);
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Returns the local file of an object.
+     *
+     * @param bucketName The name of the bucket.
+     * @param key        The key of the object.
+     * @return The path of the file.
+     */
+    public Path getFile(String bucketName, String key) {
+        return rootDirectory.resolve(bucketName).resolve(key).normalize();
+    }
+
+    private String getFileIdentifier(Path file) throws IOException {
+        BasicFileAttributes attributes = Files.readAttributes(file, BasicFileAttributes.class);
+        long size = attributes.size();
+        long lastModifiedMs = attributes.lastModifiedTime().toMillis();
+        FileVersion fileVersion = fileVersionByPath.getIfPresent(file);
+        if (fileVersion != null && fileVersion.size == size && fileVersion.lastModifiedMs == lastModifiedMs) {
+            return fileVersion.contentHash;
+        }
+        Hasher hasher = Hashing.murmur3_128().newHasher();
+        byte[] buffer = new byte[HASH_BUFFER_SIZE];
+        try (InputStream inputStream = Files.newInputStream(file)) {
+            int length;
+            while ((length = inputStream.read(buffer)) > 0) {
+                hasher.putBytes(buffer, 0, length);
+            }
+        }
+        String contentHash = hasher.hash().toString();
+        fileVersionByPath.put(file, new FileVersion(size, lastModifiedMs, contentHash));
+        return contentHash;
+    }
+
+    /**
+     * This operation is not supported for local files in this implementation.
+     *
+     * @param bucketName The name of the bucket.
+     * @param key        The key of the object.
+     * @param value      The InputStream to be stored.
+     * @throws UnsupportedOperationException always, as this operation is not supported.
+     */
+    @Override
+    public void put(String bucketName, String key, InputStream value) {
+        throw new UnsupportedOperationException();
+    }
+
+    /**
+     * This operation is not supported for local files in this implementation.
+     *
+     * @param bucketName The name of the bucket.
+     * @throws UnsupportedOperationException always, as this operation is not supported.
+     */
+    @Override
+    public void clear(String bucketName) {
+        throw new UnsupportedOperationException();
+    }
+
+    private static final class FileVersion {
+        private final long size;
+        private final long lastModifiedMs;
+        private final String contentHash;
+
+        private FileVersion(long size, long lastModifiedMs, String contentHash) {
+            this.size = size;
+            this.lastModifiedMs = lastModifiedMs;
+            this.contentHash = contentHash;
+        }
+    }
+}
@@ -0,0 +1,34 @@
+// Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+// SPDX-License-Identifier: Apache-2.0
+
+package com.amazon.demanddriventrafficevaluator.repository.dao;
+
+import lombok.Getter;
+
+import java.io.FilterInputStream;
+import java.io.InputStream;
+
+/**
+ * The input stream of a local file read through {@link FileSystemObjectDao}.
+ * <p>
+ * It carries the file identifier of the file, which plays the role the ETag plays for S3 objects, and the size of the file.
+ * </p>
+ */
+@Getter
+public class FileSystemObjectInputStream extends FilterInputStream {
+
+    public static final long UNKNOWN_CONTENT_LENGTH = -1L;
+
+    private final String fileIdentifier;
+    private final long contentLength;
+
+    public FileSystemObjectInputStream(InputStream inputStream, String fileIdentifier) {
+        this(inputStream, fileIdentifier, UNKNOWN_CONTENT_LENGTH);
+    }
+
+    public FileSystemObjectInputStream(InputStream inputStream, String fileIdentifier, long contentLength) {
+        super(inputStream);
+        this.fileIdentifier = fileIdentifier;
+        this.contentLength = contentLength;
+    }
+}
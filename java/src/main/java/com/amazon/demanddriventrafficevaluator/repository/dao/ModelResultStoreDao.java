@@ -0,0 +1,81 @@
+// Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+// SPDX-License-Identifier: Apache-2.0
+
+package com.amazon.demanddriventrafficevaluator.repository.dao;
+
+import com.amazon.demanddriventrafficevaluator.repository.store.ModelResultStore;
+import com.amazon.demanddriventrafficevaluator.repository.store.ModelResultStoreRegistry;
+
+import java.util.Optional;
+
+/**
+ * A Data Access Object (DAO) implementation for reading model results from the model result stores.
+ * <p>
+ * The identifier is the model identifier and the key is the model result key. When a store is
+ * registered for the model, the value is read from the store; otherwise the lookup is delegated to
+ * the fallback DAO, typically the local cache the model results were loaded into. A reference to
+ * the store is held for the duration of the lookup, so that a concurrent reload cannot free it.
+ * </p>
+ * <p>
+ * Note: Stores are immutable and replaced as a whole by the model result loader, so the put operation
+ * is not supported and will throw an UnsupportedOperationException if called.
+ * </p>
+ */
+public class ModelResultStoreDao implements Dao<String, Double> {
+
+    private final ModelResultStoreRegistry modelResultStoreRegistry;
+    private final Dao<String, Double> fallbackDao;
+
+    public ModelResultStoreDao(ModelResultStoreRegistry modelResultStoreRegistry, Dao<String, Double> fallbackDao) {
+        this.modelResultStoreRegistry = modelResultStoreRegistry;
+        this.fallbackDao = fallbackDao;
+    }
+
+    /**
+     * Retrieves the model result of the key from the model's store, or from the fallback DAO.
+     *
+     * @param modelIdentifier The identifier of the model.
+     * @param key             The model result key.
+     * @return An Optional containing the model result if the key is listed, or an empty Optional otherwise.
+     */
+    @Override
+    public Optional<Double> get(String modelIdentifier, String key) {
+        while (true) {
+            Optional<ModelResultStore> store = modelResultStoreRegistry.get(modelIdentifier);
+            if (store.isEmpty()) {
+                return fallbackDao.get(modelIdentifier, key);
+            }
+            if (store.get().tryAcquire()) {
+                try {
+                    return store.get().contains(key) ? Optional.of(store.get().getValue()) : Optional.empty();
+                } finally {
+                    store.get().release();
+                }
+            }
+            // the store was replaced and released after it was looked up, so look up its replacement
+        }
+    }
+
+    /**
+     * This operation is not supported for model result stores.
+     *
+     * @param modelIdentifier The identifier of the model.
+     * @param key             The model result key.
+     * @param value           The model result.
+     * @throws UnsupportedOperationException always, as stores are immutable.
+     */
+    @Override
+    public void put(String modelIdentifier, String key, Double value) {
+        throw new UnsupportedOperationException();
+    }
+
+    /**
+     * Removes the model's store, so that lookups fall back to the fallback DAO.
+     *
+     * @param modelIdentifier The identifier of the model.
+     */
+    @Override
+    public void clear(String modelIdentifier) {
+        modelResultStoreRegistry.deregister(modelIdentifier);
+    }
+}
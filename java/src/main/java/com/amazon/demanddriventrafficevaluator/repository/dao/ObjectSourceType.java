@@ -0,0 +1,14 @@
+// Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+// SPDX-License-Identifier: Apache-2.0
+
+package com.amazon.demanddriventrafficevaluator.repository.dao;
+
+public enum ObjectSourceType {
+    S3,  // configuration and model result files are read from S3
+    S3Ranged,  // configuration and model result files are read from S3 with parallel ranged GETs, for large model result files
+    FileSystem;  // configuration and model result files are shipped to the host and read from the local file system
+
+    public static ObjectSourceType fromString(String value) {
+        return ObjectSourceType.valueOf(value);
+    }
+}
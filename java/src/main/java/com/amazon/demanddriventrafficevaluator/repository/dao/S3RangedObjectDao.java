@@ -0,0 +1,186 @@
+// Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+// SPDX-License-Identifier: Apache-2.0
+
+package com.amazon.demanddriventrafficevaluator.repository.dao;
+
+import lombok.extern.log4j.Log4j2;
+import software.amazon.awssdk.core.ResponseBytes;
+import software.amazon.awssdk.core.ResponseInputStream;
+import software.amazon.awssdk.core.async.AsyncResponseTransformer;
+import software.amazon.awssdk.http.AbortableInputStream;
+import software.amazon.awssdk.services.s3.S3AsyncClient;
+import software.amazon.awssdk.services.s3.model.GetObjectRequest;
+import software.amazon.awssdk.services.s3.model.GetObjectResponse;
+import software.amazon.awssdk.services.s3.model.S3Exception;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+/**
+ * A Data Access Object (DAO) implementation reading Amazon S3 objects with parallel ranged GETs.
+ * <p>
+ * A single GET streams the object over a single connection, which caps the throughput of large model
+ * result files. This DAO fetches the object in parts of a fixed size through the S3AsyncClient instead,
+ * keeping up to a given number of parts in flight ahead of the reader, and hands the parts to the reader
+ * in order as one input stream. The memory held by a stream is therefore bounded by
+ * (maxInFlightParts + 1) * partSizeBytes, whatever the size of the object.
+ * </p>
+ * <p>
+ * The first part is fetched before the stream is returned; its response carries the ETag and the size
+ * of the object, and the other parts are only fetched while the ETag still matches, so that the parts
+ * of an object replaced during the download are never mixed.
+ * </p>
+ * <p>
+ * Note: This implementation only supports retrieving objects from S3. The put and clear operations are
+ * not supported and will throw an UnsupportedOperationException if called.
+ * </p>
+ */
+@Log4j2
+public class S3RangedObjectDao implements Dao<String, InputStream> {
+
+    private static final int RANGE_NOT_SATISFIABLE_STATUS_CODE = 416;
+
+    private final S3AsyncClient s3AsyncClient;
+    private final long partSizeBytes;
+    private final int maxInFlightParts;
+
+    /**
+     * Creates a DAO reading S3 objects with parallel ranged GETs.
+     *
+     * @param s3AsyncClient    The async S3 client.
+     * @param partSizeBytes    The size of the parts the objects are fetched in, in bytes.
+     * @param maxInFlightParts The maximum number of parts fetched ahead of the reader of an object.
+     */
+    public S3RangedObjectDao(S3AsyncClient s3AsyncClient, long partSizeBytes, int maxInFlightParts) {
+        if (partSizeBytes <= 0L || partSizeBytes > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Invalid part size: " + partSizeBytes);
+        }
+        if (maxInFlightParts <= 0) {
+            throw new IllegalArgumentException("Invalid maximum number of parts in flight: " + maxInFlightParts);
+        }
+        this.s3AsyncClient = s3AsyncClient;
+        this.partSizeBytes = partSizeBytes;
+        this.maxInFlightParts = maxInFlightParts;
+    }
+
+    /**
+     * Retrieves an object from Amazon S3 as an InputStream.
+     * <p>
+     * The first part of the object is fetched before returning, the remaining parts are fetched in the
+     * background while the stream is read. The stream is a ResponseInputStream whose response carries
+     * the ETag and the size of the whole object, and aborting it cancels the parts in flight.
+     * </p>
+     *
+     * @param bucketName The name of the S3 bucket containing the object.
+     * @param key        The key of the object in the S3 bucket.
+     * @return An Optional containing the InputStream of the S3 object if found, or an empty Optional if not found or if an error occurs.
+     */
+    @Override
+    public Optional<InputStream> get(String bucketName, String key) {
+        try {
+            ResponseBytes<GetObjectResponse> firstPart;
+            try {
+                firstPart = s3AsyncClient.getObject(
+                        getPartRequest(bucketName, key, 0L, partSizeBytes, null),
+                        AsyncResponseTransformer.<GetObjectResponse>toBytes()).join();
+            } catch (CompletionException e) {
+                if (!(e.getCause() instanceof S3Exception)
+                        || ((S3Exception) e.getCause()).statusCode() != RANGE_NOT_SATISFIABLE_STATUS_CODE) {
+                    throw e;
+                }
+                // an empty object has no byte to range over
+                firstPart = s3AsyncClient.getObject(
+                        GetObjectRequest.builder().bucket(bucketName).key(key).build(),
+                        AsyncResponseTransformer.<GetObjectResponse>toBytes()).join();
+            }
+            GetObjectResponse firstPartResponse = firstPart.response();
+            byte[] firstPartBytes = firstPart.asByteArrayUnsafe();
+            long objectSize = getObjectSize(firstPartResponse, firstPartBytes.length);
+            GetObjectResponse response = firstPartResponse.toBuilder()
+                    .contentLength(objectSize)
+                    .contentRange(null)
+                    .build();
+            if (objectSize == firstPartBytes.length) {
+                return Optional.of(new ResponseInputStream<>(response, new ByteArrayInputStream(firstPartBytes)));
+            }
+            S3RangedObjectInputStream inputStream = new S3RangedObjectInputStream(
+                    this, bucketName, key, response.eTag(), objectSize, firstPartBytes, maxInFlightParts);
+            return Optional.of(new ResponseInputStream<>(response, AbortableInputStream.create(inputStream, inputStream::abort)));
+        } catch (Exception e) {
+            log.error("Error getting object with key {} from S3", key, e);
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Starts fetching the part of an object starting at the given offset.
+     *
+     * @param bucketName The name of the S3 bucket containing the object.
+     * @param key        The key of the object in the S3 bucket.
+     * @param eTag       The ETag the object must still have.
+     * @param start      The offset of the first byte of the part.
+     * @param length     The length of the part, in bytes.
+     * @return The future bytes of the part.
+     */
+    CompletableFuture<ResponseBytes<GetObjectResponse>> getPart(
+            String bucketName, String key, String eTag, long start, long length) {
+        return s3AsyncClient.getObject(getPartRequest(bucketName, key, start, length, eTag),
+                AsyncResponseTransformer.<GetObjectResponse>toBytes());
+    }
+
+    long getPartSizeBytes() {
+        return partSizeBytes;
+    }
+
+    private static GetObjectRequest getPartRequest(String bucketName, String key, long start, long length, String eTag) {
+        return GetObjectRequest.builder()
+                .bucket(bucketName)
+                .key(key)
+                .range("bytes=" + start + "-" + (start + length - 1))
+                .ifMatch(eTag)
+                .build();
+    }
+
+    /**
+     * Gets the size of the object from the Content-Range header, e.g. "bytes 0-8388607/123456789", of the first part.
+     * If the header is missing, the whole object was returned.
+     */
+    private static long getObjectSize(GetObjectResponse firstPartResponse, int firstPartLength) {
+        String contentRange = firstPartResponse.contentRange();
+        if (contentRange == null) {
+            return firstPartLength;
+        }
+        int separatorIndex = contentRange.lastIndexOf('/');
+        if (separatorIndex < 0 || separatorIndex == contentRange.length() - 1 || contentRange.endsWith("*")) {
+            throw new IllegalStateException("Unexpected content range: " + contentRange);
+        }
+        return Long.parseLong(contentRange.substring(separatorIndex + 1).trim());
+    }
+
+    /**
+     * This operation is not supported for S3 objects in this implementation.
+     *
+     * @param bucketName The name of the S3 bucket.
+     * @param key        The key of the object in the S3 bucket.
+     * @param value      The InputStream to be stored.
+     * @throws UnsupportedOperationException always, as this operation is not supported.
+     */
+    @Override
+    public void put(String bucketName, String key, InputStream value) {
+        throw new UnsupportedOperationException();
+    }
+
+    /**
+     * This operation is not supported for S3 objects in this implementation.
+     *
+     * @param bucketName The name of the S3 bucket.
+     * @throws UnsupportedOperationException always, as this operation is not supported.
+     */
+    @Override
+    public void clear(String bucketName) {
+        throw new UnsupportedOperationException();
+    }
+}
@@ -0,0 +1,165 @@
+// Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+// SPDX-License-Identifier: Apache-2.0
+
+package com.amazon.demanddriventrafficevaluator.repository.dao;
+
+import software.amazon.awssdk.core.ResponseBytes;
+import software.amazon.awssdk.services.s3.model.GetObjectResponse;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+
+/**
+ * The input stream of an S3 object read through {@link S3RangedObjectDao}.
+ * <p>
+ * The stream starts with the first part of the object, which is already fetched, and keeps up to
+ * maxInFlightParts of the following parts in flight. Each time the reader moves on to the next part,
+ * the part after the last one in flight is requested, so that the download runs ahead of the reader
+ * by a bounded number of parts. The stream is not thread-safe, like the streams of the S3Client.
+ * </p>
+ */
+final class S3RangedObjectInputStream extends InputStream {
+
+    private static final byte[] NO_BYTES = new byte[0];
+
+    private final S3RangedObjectDao dao;
+    private final String bucketName;
+    private final String key;
+    private final String eTag;
+    private final long objectSize;
+    private final int maxInFlightParts;
+    private final Deque<Part> inFlightParts = new ArrayDeque<>();
+    private long nextPartStart;
+    private byte[] currentPart;
+    private int position;
+    private boolean closed;
+
+    S3RangedObjectInputStream(
+            S3RangedObjectDao dao,
+            String bucketName,
+            String key,
+            String eTag,
+            long objectSize,
+            byte[] firstPart,
+            int maxInFlightParts
+    ) {
+        this.dao = dao;
+        this.bucketName = bucketName;
+        this.key = key;
+        this.eTag = eTag;
+        this.objectSize = objectSize;
+        this.maxInFlightParts = maxInFlightParts;
+        this.currentPart = firstPart;
+        this.nextPartStart = firstPart.length;
+        requestParts();
+    }
+
+    @Override
+    public int read() throws IOException {
+        if (!hasRemainingBytes()) {
+            return -1;
+        }
+        return currentPart[position++] & 0xFF;
+    }
+
+    @Override
+    public int read(byte[] bytes, int offset, int length) throws IOException {
+        Objects.checkFromIndexSize(offset, length, bytes.length);
+        if (length == 0) {
+            return 0;
+        }
+        if (!hasRemainingBytes()) {
+            return -1;
+        }
+        int readLength = Math.min(length, currentPart.length - position);
+        System.arraycopy(currentPart, position, bytes, offset, readLength);
+        position += readLength;
+        return readLength;
+    }
+
+    @Override
+    public int available() {
+        return closed ? 0 : currentPart.length - position;
+    }
+
+    @Override
+    public void close() {
+        abort();
+    }
+
+    /**
+     * Cancels the parts in flight and releases the buffered part.
+     */
+    void abort() {
+        closed = true;
+        Part part;
+        while ((part = inFlightParts.poll()) != null) {
+            part.bytes.cancel(true);
+        }
+        currentPart = NO_BYTES;
+        position = 0;
+    }
+
+    private boolean hasRemainingBytes() throws IOException {
+        if (closed) {
+            throw new IOException("Stream of object " + key + " is closed");
+        }
+        while (position == currentPart.length) {
+            Part part = inFlightParts.poll();
+            if (part == null) {
+                return false;
+            }
+            currentPart = await(part);
+            position = 0;
+            requestParts();
+        }
+        return true;
+    }
+
+    private void requestParts() {
+        while (inFlightParts.size() < maxInFlightParts && nextPartStart < objectSize) {
+            long length = Math.min(dao.getPartSizeBytes(), objectSize - nextPartStart);
+            inFlightParts.add(new Part(nextPartStart, length, dao.getPart(bucketName, key, eTag, nextPartStart, length)));
+            nextPartStart += length;
+        }
+    }
+
+    private byte[] await(Part part) throws IOException {
+        byte[] bytes;
+        try {
+            bytes = part.bytes.get().asByteArrayUnsafe();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            abort();
+            throw new InterruptedIOException("Interrupted while downloading object " + key);
+        } catch (ExecutionException e) {
+            abort();
+            throw new IOException("Failed to download bytes " + part.start + " to " + (part.start + part.length - 1)
+                    + " of object " + key, e.getCause());
+        }
+        if (bytes.length != part.length) {
+            abort();
+            throw new IOException("Expected " + part.length + " bytes from offset " + part.start + " of object " + key
+                    + " but got " + bytes.length);
+        }
+        return bytes;
+    }
+
+    private static final class Part {
+        private final long start;
+        private final long length;
+        private final CompletableFuture<ResponseBytes<GetObjectResponse>> bytes;
+
+        private Part(long start, long length, CompletableFuture<ResponseBytes<GetObjectResponse>> bytes) {
+            this.start = start;
+            this.length = length;
+            this.bytes = bytes;
+        }
+    }
+}
@@ -41,4 +41,12 @@ public class ModelDefinition {
 
     @JsonProperty("features")
     private List<FeatureConfiguration> features;
+
+    /**
+     * The identifier of the live model this model is a candidate version of, or null for a live model.
+     * A candidate is loaded like any other model, and evaluated in shadow of the live model on a sample of
+     * the requests, without affecting their responses.
+     */
+    @JsonProperty("shadowOf")
+    private String shadowOf;
 }
@@ -19,4 +19,8 @@ public class ModelResult {
     private final double value;
     private final List<Double> values;
     private List<String> keys;
+    /**
+     * Whether the value of any key was found.
+     */
+    private final boolean hit;
 }
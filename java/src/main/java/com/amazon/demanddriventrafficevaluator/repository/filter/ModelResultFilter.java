@@ -0,0 +1,195 @@
+// Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+// SPDX-License-Identifier: Apache-2.0
+
+package com.amazon.demanddriventrafficevaluator.repository.filter;
+
+import com.google.common.hash.HashFunction;
+import com.google.common.hash.Hashing;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+/**
+ * An immutable, cache-line blocked Bloom filter over the keys of one model result file.
+ * <p>
+ * The filter answers "definitely absent" or "possibly present" for a model result key. Every key
+ * maps to a single 512-bit block (one cache line), and all of its probe bits live in that block,
+ * so a negative lookup costs one key hash plus one cache-line read instead of a full cache probe.
+ * </p>
+ * <p>
+ * Instances are created through {@link Builder}, which collects 64-bit key hashes while the model
+ * result file is streamed and sizes the bit array from the final key count and the configured
+ * false-positive rate. Confining probes to one block makes the actual rate somewhat higher than the
+ * target for very low rates, so after construction the filter measures its actual false-positive
+ * rate by probing random hashes that were never inserted.
+ * </p>
+ */
+public final class ModelResultFilter {
+
+    private static final HashFunction HASH_FUNCTION = Hashing.murmur3_128();
+    private static final int WORDS_PER_BLOCK = 8;
+    private static final int BITS_PER_BLOCK = WORDS_PER_BLOCK * Long.SIZE;
+    private static final int MAX_HASH_FUNCTIONS = 16;
+    private static final int FALSE_POSITIVE_RATE_SAMPLE_SIZE = 100000;
+    private static final long FALSE_POSITIVE_RATE_SAMPLE_SEED = 0x5DEECE66DL;
+    private static final long MIX_CONSTANT = 0x9E3779B97F4A7C15L;
+
+    private final long[] words;
+    private final int blockCount;
+    private final int hashFunctionCount;
+    private final long entryCount;
+    private final double expectedFalsePositiveRate;
+    private final double measuredFalsePositiveRate;
+
+    private ModelResultFilter(long[] hashes, int hashCount, double expectedFalsePositiveRate) {
+        this.entryCount = hashCount;
+        this.expectedFalsePositiveRate = expectedFalsePositiveRate;
+        double bitsPerKey = -Math.log(expectedFalsePositiveRate) / (Math.log(2) * Math.log(2));
+        long totalBits = (long) Math.ceil(Math.max(1, hashCount) * bitsPerKey);
+        this.blockCount = (int) Math.max(1L, Math.min(Integer.MAX_VALUE / WORDS_PER_BLOCK,
+                (totalBits + BITS_PER_BLOCK - 1) / BITS_PER_BLOCK));
+        this.hashFunctionCount = (int) Math.max(1L, Math.min(MAX_HASH_FUNCTIONS, Math.round(bitsPerKey * Math.log(2))));
+        this.words = new long[blockCount * WORDS_PER_BLOCK];
+        for (int i = 0; i < hashCount; i++) {
+            putHash(hashes[i]);
+        }
+        this.measuredFalsePositiveRate = hashCount == 0 ? 0.0 : measureFalsePositiveRate();
+    }
+
+    /**
+     * Hashes a model result key into the 64-bit value used by the filter.
+     *
+     * @param key The model result key, i.e. one line of the model result file.
+     * @return The 64-bit hash of the key.
+     */
+    public static long hash(String key) {
+        return HASH_FUNCTION.hashUnencodedChars(key).asLong();
+    }
+
+    /**
+     * Creates a builder that collects keys for a filter with the given target false-positive rate.
+     *
+     * @param falsePositiveRate The target false-positive rate, strictly between 0 and 1.
+     * @return A new builder.
+     * @throws IllegalArgumentException if the false-positive rate is out of range.
+     */
+    public static Builder builder(double falsePositiveRate) {
+        return new Builder(falsePositiveRate);
+    }
+
+    /**
+     * Checks whether the key might be present in the model result file.
+     *
+     * @param key The model result key to check.
+     * @return false if the key is definitely absent, true if it might be present.
+     */
+    public boolean mightContain(String key) {
+        return mightContainHash(hash(key));
+    }
+
+    /**
+     * Checks whether a key with the given hash might be present in the model result file.
+     *
+     * @param hash The 64-bit hash of the key, as computed by {@link #hash(String)}.
+     * @return false if the key is definitely absent, true if it might be present.
+     */
+    public boolean mightContainHash(long hash) {
+        int offset = blockOffset(hash);
+        long mixed = hash * MIX_CONSTANT;
+        int h1 = (int) mixed;
+        int h2 = (int) (mixed >>> 32);
+        for (int i = 0; i < hashFunctionCount; i++) {
+            int bit = (h1 + i * h2) >>> 23;
+            if ((words[offset + (bit >>> 6)] & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    public long getEntryCount() {
+        return entryCount;
+    }
+
+    public double getExpectedFalsePositiveRate() {
+        return expectedFalsePositiveRate;
+    }
+
+    public double getMeasuredFalsePositiveRate() {
+        return measuredFalsePositiveRate;
+    }
+
+    public int getHashFunctionCount() {
+        return hashFunctionCount;
+    }
+
+    /**
+     * Returns the memory used by the filter's bit array.
+     *
+     * @return The size of the bit array in bytes.
+     */
+    public long getMemoryFootprintBytes() {
+        return (long) words.length * Long.BYTES;
+    }
+
+    private void putHash(long hash) {
+        int offset = blockOffset(hash);
+        long mixed = hash * MIX_CONSTANT;
+        int h1 = (int) mixed;
+        int h2 = (int) (mixed >>> 32);
+        for (int i = 0; i < hashFunctionCount; i++) {
+            int bit = (h1 + i * h2) >>> 23;
+            words[offset + (bit >>> 6)] |= 1L << bit;
+        }
+    }
+
+    private int blockOffset(long hash) {
+        // multiply-shift range reduction of the upper 32 bits onto [0, blockCount)
+        return (int) (((hash >>> 32) * blockCount) >>> 32) * WORDS_PER_BLOCK;
+    }
+
+    private double measureFalsePositiveRate() {
+        SplittableRandom random = new SplittableRandom(FALSE_POSITIVE_RATE_SAMPLE_SEED);
+        int falsePositives = 0;
+        for (int i = 0; i < FALSE_POSITIVE_RATE_SAMPLE_SIZE; i++) {
+            if (mightContainHash(random.nextLong())) {
+                falsePositives++;
+            }
+        }
+        return (double) falsePositives / FALSE_POSITIVE_RATE_SAMPLE_SIZE;
+    }
+
+    /**
+     * Collects key hashes while a model result file is streamed and builds the filter at the end.
+     * <p>
+     * The number of rows is not known until the file is fully read, so the builder buffers one
+     * 64-bit hash per key and sizes the filter once in {@link #build()}.
+     * </p>
+     */
+    public static final class Builder {
+        private static final int INITIAL_CAPACITY = 1024;
+
+        private final double falsePositiveRate;
+        private long[] hashes = new long[INITIAL_CAPACITY];
+        private int hashCount = 0;
+
+        private Builder(double falsePositiveRate) {
+            if (!(falsePositiveRate > 0.0 && falsePositiveRate < 1.0)) {
+                throw new IllegalArgumentException("False-positive rate should be between 0 and 1: " + falsePositiveRate);
+            }
+            this.falsePositiveRate = falsePositiveRate;
+        }
+
+        public Builder put(String key) {
+            if (hashCount == hashes.length) {
+                hashes = Arrays.copyOf(hashes, hashes.length * 2);
+            }
+            hashes[hashCount++] = hash(key);
+            return this;
+        }
+
+        public ModelResultFilter build() {
+            return new ModelResultFilter(hashes, hashCount, falsePositiveRate);
+        }
+    }
+}
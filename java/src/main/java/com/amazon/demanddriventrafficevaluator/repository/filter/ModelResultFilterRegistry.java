@@ -0,0 +1,36 @@
+// Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+// SPDX-License-Identifier: Apache-2.0
+
+package com.amazon.demanddriventrafficevaluator.repository.filter;
+
+import java.util.Optional;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * A registry holding the current {@link ModelResultFilter} of each model.
+ * <p>
+ * The model result loader publishes a filter once a model result file is fully loaded, and the
+ * model result provider consults it before looking up the model result cache. A model without a
+ * registered filter is treated as "every key might be present", so lookups fall through to the cache.
+ * </p>
+ */
+public class ModelResultFilterRegistry {
+
+    private final ConcurrentMap<String, ModelResultFilter> filterByModelIdentifier;
+
+    public ModelResultFilterRegistry(ConcurrentMap<String, ModelResultFilter> filterByModelIdentifier) {
+        this.filterByModelIdentifier = filterByModelIdentifier;
+    }
+
+    public Optional<ModelResultFilter> get(String modelIdentifier) {
+        return Optional.ofNullable(filterByModelIdentifier.get(modelIdentifier));
+    }
+
+    public void register(String modelIdentifier, ModelResultFilter filter) {
+        filterByModelIdentifier.put(modelIdentifier, filter);
+    }
+
+    public void deregister(String modelIdentifier) {
+        filterByModelIdentifier.remove(modelIdentifier);
+    }
+}
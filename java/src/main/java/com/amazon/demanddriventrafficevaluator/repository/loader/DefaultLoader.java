@@ -4,6 +4,7 @@
 package com.amazon.demanddriventrafficevaluator.repository.loader;
 
 import com.amazon.demanddriventrafficevaluator.repository.dao.Dao;
+import com.amazon.demanddriventrafficevaluator.repository.dao.FileSystemObjectInputStream;
 import lombok.extern.log4j.Log4j2;
 import software.amazon.awssdk.core.ResponseInputStream;
 import software.amazon.awssdk.services.s3.model.GetObjectResponse;
@@ -26,6 +27,8 @@ import static com.amazon.demanddriventrafficevaluator.repository.dao.LocalCacheD
 @Log4j2
 public abstract class DefaultLoader<T extends LoaderInput> implements Loader<T> {
 
+    private static final String INVALID_FILE_IDENTIFIER = "";
+
     public Dao<String, String> fileIdentifierCacheDao;
 
     /**
@@ -53,23 +56,58 @@ public abstract class DefaultLoader<T extends LoaderInput> implements Loader<T>
 
     public abstract String getS3ObjectKey(T input);
 
+    /**
+     * Determines whether a load can be interrupted, e.g. once it timed out, without leaving partly loaded data
+     * behind.
+     * <p>
+     * Loads are not interruptible by default: an interrupted load may leave the data it was replacing in place
+     * only in part.
+     * </p>
+     *
+     * @param input The input of the load.
+     * @return true if the load can be interrupted, false otherwise.
+     */
+    public boolean isInterruptible(T input) {
+        return false;
+    }
+
     /**
      * Determines whether the data should be refreshed based on the file identifier (ETag).
      * <p>
-     * This method compares the ETag of the S3 object with the cached file identifier.
+     * This method compares the ETag of the S3 object, or the content hash of the local file, with the cached file identifier.
      * If they differ or if there's no cached identifier, it indicates that a refresh is needed.
      * If a refresh is needed, then the cache entry is updated to the newest file identifier.
      * </p>
      *
      * @param fileIdentifierCacheKey The key used to cache the file identifier.
-     * @param inputStream            The input stream of the S3 object, expected to be a ResponseInputStream.
+     * @param inputStream            The input stream of the object, expected to be a ResponseInputStream or a FileSystemObjectInputStream.
      * @return true if the data should be refreshed, false otherwise.
      */
 
     public boolean shouldRefresh(String fileIdentifierCacheKey, InputStream inputStream) {
         try {
-            ResponseInputStream<GetObjectResponse> responseInputStream = (ResponseInputStream<GetObjectResponse>) inputStream;
-            String fileIdentifier = responseInputStream.response().eTag();
+            String fileIdentifier = getFileIdentifier(inputStream)
+                    .orElseThrow(() -> new IllegalStateException("No fileIdentifier in the input stream"));
+            return shouldRefresh(fileIdentifierCacheKey, fileIdentifier);
+        } catch (Exception e) {
+            log.error("Fail to get fileIdentifier either from GetObjectResponse or the cache, so that not refresh", e);
+            return false;
+        }
+    }
+
+    /**
+     * Determines whether the data should be refreshed based on a file identifier obtained without reading the file.
+     * <p>
+     * If the file identifier differs from the cached one or if there's no cached identifier, the cache entry
+     * is updated to the given file identifier and a refresh is needed.
+     * </p>
+     *
+     * @param fileIdentifierCacheKey The key used to cache the file identifier.
+     * @param fileIdentifier         The current identifier of the file.
+     * @return true if the data should be refreshed, false otherwise.
+     */
+    public boolean shouldRefresh(String fileIdentifierCacheKey, String fileIdentifier) {
+        try {
             Optional<String> fileIdentifierInCache = fileIdentifierCacheDao.get(
                     CACHE_IDENTIFIER_FILE_IDENTIFIER,
                     fileIdentifierCacheKey);
@@ -80,8 +118,54 @@ public abstract class DefaultLoader<T extends LoaderInput> implements Loader<T>
                 return true;
             }
         } catch (Exception e) {
-            log.error("Fail to get fileIdentifier either from GetObjectResponse or the cache, so that not refresh", e);
+            log.error("Fail to get fileIdentifier from the cache, so that not refresh", e);
             return false;
         }
     }
+
+    /**
+     * Forgets the cached file identifier, so that the next load refreshes the data even if the file is unchanged.
+     *
+     * @param fileIdentifierCacheKey The key used to cache the file identifier.
+     */
+    public void invalidateFileIdentifier(String fileIdentifierCacheKey) {
+        fileIdentifierCacheDao.put(CACHE_IDENTIFIER_FILE_IDENTIFIER, fileIdentifierCacheKey, INVALID_FILE_IDENTIFIER);
+    }
+
+    /**
+     * Gets the file identifier (ETag, or content hash of a local file) of the file behind the input stream.
+     *
+     * @param inputStream The input stream of the object, expected to be a ResponseInputStream or a FileSystemObjectInputStream.
+     * @return An Optional containing the file identifier, or an empty Optional if the stream carries none.
+     */
+    public Optional<String> getFileIdentifier(InputStream inputStream) {
+        if (inputStream instanceof FileSystemObjectInputStream) {
+            return Optional.of(((FileSystemObjectInputStream) inputStream).getFileIdentifier());
+        }
+        if (inputStream instanceof ResponseInputStream
+                && ((ResponseInputStream<?>) inputStream).response() instanceof GetObjectResponse) {
+            GetObjectResponse response = (GetObjectResponse) ((ResponseInputStream<?>) inputStream).response();
+            return Optional.ofNullable(response.eTag());
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * Gets the size of the file behind the input stream.
+     *
+     * @param inputStream The input stream of the object, expected to be a ResponseInputStream or a FileSystemObjectInputStream.
+     * @return An Optional containing the size in bytes, or an empty Optional if the stream does not carry it.
+     */
+    public Optional<Long> getContentLength(InputStream inputStream) {
+        if (inputStream instanceof FileSystemObjectInputStream) {
+            long contentLength = ((FileSystemObjectInputStream) inputStream).getContentLength();
+            return contentLength == FileSystemObjectInputStream.UNKNOWN_CONTENT_LENGTH ? Optional.empty() : Optional.of(contentLength);
+        }
+        if (inputStream instanceof ResponseInputStream
+                && ((ResponseInputStream<?>) inputStream).response() instanceof GetObjectResponse) {
+            GetObjectResponse response = (GetObjectResponse) ((ResponseInputStream<?>) inputStream).response();
+            return Optional.ofNullable(response.contentLength());
+        }
+        return Optional.empty();
+    }
 }
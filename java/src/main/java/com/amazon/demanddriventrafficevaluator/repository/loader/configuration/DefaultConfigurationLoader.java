@@ -3,10 +3,12 @@
 
 package com.amazon.demanddriventrafficevaluator.repository.loader.configuration;
 
+import com.amazon.demanddriventrafficevaluator.jfr.ConfigurationReloadEvent;
 import com.amazon.demanddriventrafficevaluator.repository.dao.Dao;
 import com.amazon.demanddriventrafficevaluator.repository.dao.LocalCacheDao;
 import com.amazon.demanddriventrafficevaluator.repository.entity.Configuration;
 import com.amazon.demanddriventrafficevaluator.repository.loader.DefaultLoader;
+import com.amazon.demanddriventrafficevaluator.repository.provider.configuration.ConfigurationHolder;
 import com.fasterxml.jackson.databind.ObjectMapper;
 
 import java.io.IOException;
@@ -22,6 +24,10 @@ import static com.amazon.demanddriventrafficevaluator.repository.dao.LocalCacheD
  * files from S3, deserialize them into configuration objects, and cache these objects.
  * It supports any configuration type that extends the Configuration interface.
  * </p>
+ * <p>
+ * When given a {@link ConfigurationHolder}, the loader also publishes every new configuration to it,
+ * which notifies the holder's listeners.
+ * </p>
  *
  * @param <T> The type of Configuration this loader handles, must extend Configuration.
  */
@@ -33,6 +39,7 @@ public class DefaultConfigurationLoader<T extends Configuration> extends Default
     private final Dao<String, InputStream> fileDao;
     private final Dao<String, T> configurationCacheDao;
     private final ObjectMapper mapper;
+    private final ConfigurationHolder<T> configurationHolder;
 
     public DefaultConfigurationLoader(
             Dao<String, String> fileIdentifierCacheDao,
@@ -41,6 +48,23 @@ public class DefaultConfigurationLoader<T extends Configuration> extends Default
             String configurationCacheKey,
             Class<T> type,
             ObjectMapper mapper
+    ) {
+        this(fileIdentifierCacheDao, fileDao, configurationCacheDao, configurationCacheKey, type, mapper, null);
+    }
+
+    /**
+     * Creates a loader that also publishes the configurations it loads.
+     *
+     * @param configurationHolder The holder the configurations are published to, or null to only cache them.
+     */
+    public DefaultConfigurationLoader(
+            Dao<String, String> fileIdentifierCacheDao,
+            Dao<String, InputStream> fileDao,
+            LocalCacheDao<String, T> configurationCacheDao,
+            String configurationCacheKey,
+            Class<T> type,
+            ObjectMapper mapper,
+            ConfigurationHolder<T> configurationHolder
     ) {
         super.fileIdentifierCacheDao = fileIdentifierCacheDao;
         this.fileDao = fileDao;
@@ -48,6 +72,7 @@ public class DefaultConfigurationLoader<T extends Configuration> extends Default
         this.configurationCacheKey = configurationCacheKey;
         this.type = type;
         this.mapper = mapper;
+        this.configurationHolder = configurationHolder;
     }
 
     /**
@@ -58,7 +83,7 @@ public class DefaultConfigurationLoader<T extends Configuration> extends Default
      *   <li>Retrieves the S3 object key for the configuration file</li>
      *   <li>Fetches the configuration file from S3</li>
      *   <li>Checks if the configuration needs to be refreshed</li>
-     *   <li>If refresh is needed, deserializes the configuration and caches it</li>
+     *   <li>If refresh is needed, deserializes the configuration, caches it and publishes it to the holder</li>
      * </ol>
      * </p>
      *
@@ -70,20 +95,40 @@ public class DefaultConfigurationLoader<T extends Configuration> extends Default
     @Override
     public boolean load(ConfigurationLoaderInput input) {
         String fileKey = getS3ObjectKey(input);
+        ConfigurationReloadEvent event = new ConfigurationReloadEvent();
+        event.begin();
+        boolean reloaded = false;
+        String fileIdentifier = null;
         try (InputStream configurationStream = fileDao.get(input.getS3Bucket(), fileKey)
                 .orElseThrow(() -> new IllegalArgumentException("Cannot Access to the Data with key: " + fileKey))) {
+            if (event.isEnabled()) {
+                fileIdentifier = getFileIdentifier(configurationStream).orElse(null);
+            }
             if (!shouldRefresh(configurationCacheKey, configurationStream)) {
                 log.debug("Configuration is not refreshed");
                 return false;
             }
             T configuration = mapper.readValue(configurationStream, type);
             configurationCacheDao.put(CACHE_IDENTIFIER_CONFIGURATION, configurationCacheKey, configuration);
+            if (configurationHolder != null) {
+                configurationHolder.publish(configuration);
+            }
+            reloaded = true;
             return true;
         } catch (IOException e) {
             log.error("Cannot deserialize the Json to the POJO or due to I/O for file {}", fileKey, e);
             return false;
         } catch (Exception e) {
             throw new IllegalStateException("Cannot load Configurations into the cache", e);
+        } finally {
+            event.end();
+            if (event.shouldCommit()) {
+                event.configurationType = type.getSimpleName();
+                event.fileKey = fileKey;
+                event.eTag = fileIdentifier;
+                event.reloaded = reloaded;
+                event.commit();
+            }
         }
     }
 
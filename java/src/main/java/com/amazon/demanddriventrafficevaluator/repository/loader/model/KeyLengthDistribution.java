@@ -0,0 +1,123 @@
+// Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+// SPDX-License-Identifier: Apache-2.0
+
+package com.amazon.demanddriventrafficevaluator.repository.loader.model;
+
+import java.util.Arrays;
+
+/**
+ * The distribution of the lengths of the keys of a model result file, in characters.
+ * <p>
+ * Lengths up to {@link #MAX_TRACKED_LENGTH} are counted exactly; longer keys share a single bucket, whose
+ * percentiles are reported as the max length.
+ * </p>
+ */
+public final class KeyLengthDistribution {
+
+    static final int MAX_TRACKED_LENGTH = 1024;
+
+    private final long[] countByLength;
+    private final long count;
+    private final long totalLength;
+    private final int minLength;
+    private final int maxLength;
+
+    private KeyLengthDistribution(long[] countByLength, long count, long totalLength, int minLength, int maxLength) {
+        this.countByLength = countByLength;
+        this.count = count;
+        this.totalLength = totalLength;
+        this.minLength = minLength;
+        this.maxLength = maxLength;
+    }
+
+    /**
+     * Creates a recorder of key lengths, which is not thread-safe.
+     *
+     * @return A new recorder.
+     */
+    public static Recorder recorder() {
+        return new Recorder();
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    public long getTotalLength() {
+        return totalLength;
+    }
+
+    /**
+     * @return The length of the shortest key, 0 if no key was recorded.
+     */
+    public int getMinLength() {
+        return minLength;
+    }
+
+    /**
+     * @return The length of the longest key, 0 if no key was recorded.
+     */
+    public int getMaxLength() {
+        return maxLength;
+    }
+
+    /**
+     * @return The mean length of the keys, 0 if no key was recorded.
+     */
+    public double getMean() {
+        return count == 0L ? 0.0 : (double) totalLength / count;
+    }
+
+    /**
+     * Returns the length at the given percentile.
+     *
+     * @param percentile The percentile, from 0 to 100.
+     * @return The smallest length that at least the given percentage of the keys do not exceed, 0 if no key was recorded.
+     * @throws IllegalArgumentException if the percentile is out of range.
+     */
+    public int getPercentile(double percentile) {
+        if (percentile < 0.0 || percentile > 100.0) {
+            throw new IllegalArgumentException("Invalid percentile: " + percentile);
+        }
+        if (count == 0L) {
+            return 0;
+        }
+        long rank = Math.max(1L, (long) Math.ceil(percentile / 100.0 * count));
+        long cumulativeCount = 0L;
+        for (int length = minLength; length <= MAX_TRACKED_LENGTH; length++) {
+            cumulativeCount += countByLength[length];
+            if (cumulativeCount >= rank) {
+                return length;
+            }
+        }
+        return maxLength;
+    }
+
+    /**
+     * Records the lengths of the keys as they are parsed.
+     */
+    public static final class Recorder {
+        // the last bucket counts the keys longer than the max tracked length
+        private final long[] countByLength = new long[MAX_TRACKED_LENGTH + 2];
+        private long count = 0L;
+        private long totalLength = 0L;
+        private int minLength = Integer.MAX_VALUE;
+        private int maxLength = 0;
+
+        private Recorder() {
+        }
+
+        public void record(int length) {
+            countByLength[Math.min(length, MAX_TRACKED_LENGTH + 1)]++;
+            count++;
+            totalLength += length;
+            minLength = Math.min(minLength, length);
+            maxLength = Math.max(maxLength, length);
+        }
+
+        public KeyLengthDistribution build() {
+            return new KeyLengthDistribution(Arrays.copyOf(countByLength, countByLength.length), count, totalLength,
+                    count == 0L ? 0 : minLength, maxLength);
+        }
+    }
+}
@@ -0,0 +1,28 @@
+// Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+// SPDX-License-Identifier: Apache-2.0
+
+package com.amazon.demanddriventrafficevaluator.repository.loader.model;
+
+import lombok.Builder;
+import lombok.Getter;
+
+/**
+ * The memory taken by the model results of a model.
+ */
+@Builder
+@Getter
+public class ModelMemoryFootprint {
+    private final String modelIdentifier;
+    private final String version;
+    private final String objectKey;
+    private final long loadedAtMs;
+    private final long entryCount;
+    // exact for model result stores, estimated for the model result cache
+    private final long retainedBytes;
+    // the number of cache entries measured for the estimate, 0 when it is not sampled from the cache
+    private final long sampledEntryCount;
+    // null when no model result file of the model was parsed by this process
+    private final KeyLengthDistribution keyLengthDistribution;
+    // null when no model result file was projected since the model results were first loaded
+    private final ModelMemoryProjection lastProjection;
+}
@@ -0,0 +1,172 @@
+// Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+// SPDX-License-Identifier: Apache-2.0
+
+package com.amazon.demanddriventrafficevaluator.repository.loader.model;
+
+import com.amazon.demanddriventrafficevaluator.repository.localcache.LocalCacheRegistry;
+import com.amazon.demanddriventrafficevaluator.repository.localcache.builder.LocalCacheBuilderConfig;
+import com.amazon.demanddriventrafficevaluator.repository.localcache.exception.LocalCacheNotFoundException;
+import com.amazon.demanddriventrafficevaluator.repository.store.ModelResultStore;
+import com.amazon.demanddriventrafficevaluator.repository.store.ModelResultStoreRegistry;
+import com.google.common.cache.Cache;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Reports the memory taken by the model results of every loaded model.
+ * <p>
+ * The footprint of a model result store is the one the store reports. The footprint of the model results held
+ * in the model result cache is estimated: when the cache of the model is configured with a byte size sample rate
+ * of N, one entry in N is measured, otherwise the entries are assumed to have the mean key length of the last
+ * model result file parsed. Entries are costed as a Guava cache entry with write expiry, a compact string key
+ * and a boxed value, on a 64-bit JVM with compressed references.
+ * </p>
+ */
+public class ModelMemoryFootprintReporter {
+
+    // the entry, its strong value reference and its slot in the hash table
+    static final long CACHE_ENTRY_OVERHEAD_BYTES = 72L;
+    static final long STRING_OVERHEAD_BYTES = 24L;
+    static final long ARRAY_OVERHEAD_BYTES = 16L;
+    static final long DOUBLE_BYTES = 16L;
+    private static final long OBJECT_ALIGNMENT_BYTES = 8L;
+    private static final int LATIN1_MAX_CHAR = 0xFF;
+
+    private final RuleBasedModelResultLoader modelResultLoader;
+    private final LocalCacheRegistry localCacheRegistry;
+    private final ModelResultStoreRegistry modelResultStoreRegistry;
+
+    /**
+     * Creates a reporter.
+     *
+     * @param modelResultLoader        The loader of the model results.
+     * @param localCacheRegistry       The registry of the model result cache.
+     * @param modelResultStoreRegistry The registry of the model result stores, or null if stores are disabled.
+     */
+    public ModelMemoryFootprintReporter(
+            RuleBasedModelResultLoader modelResultLoader,
+            LocalCacheRegistry localCacheRegistry,
+            ModelResultStoreRegistry modelResultStoreRegistry
+    ) {
+        this.modelResultLoader = modelResultLoader;
+        this.localCacheRegistry = localCacheRegistry;
+        this.modelResultStoreRegistry = modelResultStoreRegistry;
+    }
+
+    /**
+     * Returns the memory footprints of the given models whose model results are present.
+     *
+     * @param modelIdentifiers The identifiers of the models.
+     * @return The footprints, in the order of the models.
+     */
+    public List<ModelMemoryFootprint> getMemoryFootprints(Collection<String> modelIdentifiers) {
+        List<ModelMemoryFootprint> footprints = new ArrayList<>();
+        for (String modelIdentifier : modelIdentifiers) {
+            getMemoryFootprint(modelIdentifier).ifPresent(footprints::add);
+        }
+        return footprints;
+    }
+
+    /**
+     * Returns the memory footprint of the model results of the given model.
+     *
+     * @param modelIdentifier The identifier of the model.
+     * @return An Optional containing the footprint, or an empty Optional if no model results are present for the model.
+     */
+    public Optional<ModelMemoryFootprint> getMemoryFootprint(String modelIdentifier) {
+        Optional<ModelResultStatus> status = modelResultLoader.getModelResultStatus(modelIdentifier);
+        if (status.isEmpty()) {
+            return Optional.empty();
+        }
+        KeyLengthDistribution keyLengthDistribution = modelResultLoader.getLoadStatistics(modelIdentifier)
+                .map(ModelResultLoadStatistics::getKeyLengthDistribution)
+                .orElse(null);
+        ModelMemoryFootprint.ModelMemoryFootprintBuilder footprint = ModelMemoryFootprint.builder()
+                .modelIdentifier(modelIdentifier)
+                .version(status.get().getVersion())
+                .objectKey(status.get().getObjectKey())
+                .loadedAtMs(status.get().getLoadedAtMs())
+                .keyLengthDistribution(keyLengthDistribution)
+                .lastProjection(modelResultLoader.getMemoryProjection(modelIdentifier).orElse(null));
+        Optional<ModelResultStore> store = modelResultStoreRegistry == null
+                ? Optional.empty() : modelResultStoreRegistry.get(modelIdentifier);
+        if (store.isPresent()) {
+            return Optional.of(footprint
+                    .entryCount(store.get().getEntryCount())
+                    .retainedBytes(store.get().getMemoryFootprintBytes())
+                    .build());
+        }
+        Optional<LocalCacheBuilderConfig> cacheConfig = localCacheRegistry.getCacheConfig(modelIdentifier);
+        if (cacheConfig.isEmpty()) {
+            // the model result file had no rows, so no cache was created for the model
+            return Optional.of(footprint.build());
+        }
+        Cache<?, ?> cache;
+        try {
+            cache = localCacheRegistry.getCache(modelIdentifier);
+        } catch (LocalCacheNotFoundException e) {
+            return Optional.of(footprint.build());
+        }
+        long entryCount = cache.size();
+        Integer sampleRate = cacheConfig.get().getPopulateByteSizeSampleRate();
+        footprint.entryCount(entryCount);
+        if (sampleRate == null || sampleRate <= 0 || entryCount == 0L) {
+            double meanKeyLength = keyLengthDistribution == null ? 0.0 : keyLengthDistribution.getMean();
+            return Optional.of(footprint
+                    .retainedBytes(Math.round(entryCount * estimateCacheEntryBytes(meanKeyLength)))
+                    .build());
+        }
+        // the iteration order of the cache follows the hashes of the keys, so its first entries are a fair sample
+        long sampleSize = (entryCount + sampleRate - 1) / sampleRate;
+        long sampledEntryCount = 0L;
+        long sampledBytes = 0L;
+        for (Object key : cache.asMap().keySet()) {
+            if (sampledEntryCount == sampleSize) {
+                break;
+            }
+            sampledBytes += estimateCacheEntryBytes(key.toString());
+            sampledEntryCount++;
+        }
+        return Optional.of(footprint
+                .sampledEntryCount(sampledEntryCount)
+                .retainedBytes(sampledEntryCount == 0L ? 0L : Math.round((double) sampledBytes / sampledEntryCount * entryCount))
+                .build());
+    }
+
+    /**
+     * Estimates the bytes taken by an entry of the model result cache.
+     *
+     * @param key The key of the entry.
+     * @return The estimated bytes of the entry.
+     */
+    static long estimateCacheEntryBytes(String key) {
+        int bytesPerChar = 1;
+        for (int i = 0; i < key.length(); i++) {
+            if (key.charAt(i) > LATIN1_MAX_CHAR) {
+                bytesPerChar = 2;
+                break;
+            }
+        }
+        return CACHE_ENTRY_OVERHEAD_BYTES + STRING_OVERHEAD_BYTES + align(ARRAY_OVERHEAD_BYTES + (long) bytesPerChar * key.length())
+                + DOUBLE_BYTES;
+    }
+
+    /**
+     * Estimates the bytes taken by an entry of the model result cache whose key has the given length in Latin-1 characters.
+     *
+     * @param keyLength The length of the key.
+     * @return The estimated bytes of the entry.
+     */
+    static double estimateCacheEntryBytes(double keyLength) {
+        // the padding of the key's array averages half the alignment
+        return CACHE_ENTRY_OVERHEAD_BYTES + STRING_OVERHEAD_BYTES + ARRAY_OVERHEAD_BYTES + keyLength + OBJECT_ALIGNMENT_BYTES / 2.0
+                + DOUBLE_BYTES;
+    }
+
+    private static long align(long bytes) {
+        return (bytes + OBJECT_ALIGNMENT_BYTES - 1) / OBJECT_ALIGNMENT_BYTES * OBJECT_ALIGNMENT_BYTES;
+    }
+}
@@ -0,0 +1,23 @@
+// Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+// SPDX-License-Identifier: Apache-2.0
+
+package com.amazon.demanddriventrafficevaluator.repository.loader.model;
+
+import lombok.Builder;
+import lombok.Getter;
+
+/**
+ * The memory the model results of a new model result file were projected to take, before the file was parsed.
+ */
+@Builder
+@Getter
+public class ModelMemoryProjection {
+    private final String modelIdentifier;
+    private final String objectKey;
+    private final long fileSizeBytes;
+    private final long projectedEntryCount;
+    // the bytes taken by the model results the file replaces
+    private final long currentBytes;
+    private final long projectedBytes;
+    private final long projectedAtMs;
+}
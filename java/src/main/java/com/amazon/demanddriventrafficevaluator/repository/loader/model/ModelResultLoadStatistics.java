@@ -0,0 +1,22 @@
+// Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+// SPDX-License-Identifier: Apache-2.0
+
+package com.amazon.demanddriventrafficevaluator.repository.loader.model;
+
+import lombok.Builder;
+import lombok.Getter;
+
+/**
+ * The statistics of the last model result file parsed for a model.
+ */
+@Builder
+@Getter
+public class ModelResultLoadStatistics {
+    private final String fileIdentifier;
+    private final long itemCount;
+    private final long itemTotalSize;
+    private final long loadDurationMs;
+    private final long throttleDurationMs;
+    // the lengths of the keys of the last full model result file parsed, kept when a delta is applied over it
+    private final KeyLengthDistribution keyLengthDistribution;
+}
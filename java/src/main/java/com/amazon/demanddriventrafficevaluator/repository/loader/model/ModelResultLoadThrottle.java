@@ -0,0 +1,164 @@
+// Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+// SPDX-License-Identifier: Apache-2.0
+
+package com.amazon.demanddriventrafficevaluator.repository.loader.model;
+
+import com.google.common.util.concurrent.RateLimiter;
+
+import java.io.InterruptedIOException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Paces the rows parsed by model result loads, so that a reload trades speed for the tail latency of the
+ * request threads it shares the CPUs with.
+ * <p>
+ * The rows of all loads sharing the throttle are limited to a maximum rate by a token bucket, and a load
+ * pauses while the latency of the request path, e.g. the smoothed evaluation latency, exceeds a threshold.
+ * A pause lasts at most max pause per batch of rows, so that a load always makes progress even under
+ * sustained load. Rows are paced in batches of {@link #ROWS_PER_BATCH}, so the shared token bucket and the
+ * latency are only consulted once per batch.
+ * </p>
+ */
+public class ModelResultLoadThrottle {
+
+    public static final long UNLIMITED_ROWS_PER_SECOND = 0L;
+    public static final long NO_PAUSE_LATENCY_THRESHOLD = 0L;
+    static final int ROWS_PER_BATCH = 256;
+    private static final long PAUSE_INTERVAL_NANOS = TimeUnit.MILLISECONDS.toNanos(10L);
+
+    private final RateLimiter rateLimiter;
+    private final LongSupplier requestLatencyNanos;
+    private final long pauseLatencyThresholdNanos;
+    private final long maxPauseNanos;
+    private final AtomicLong throttledNanos = new AtomicLong();
+    private final AtomicLong pauseCount = new AtomicLong();
+
+    /**
+     * Creates a throttle of model result loads.
+     *
+     * @param maxRowsPerSecond           The maximum number of rows parsed per second by all loads; 0 disables the limit.
+     * @param requestLatencyNanos        The latency of the request path in nanoseconds, or null to disable pauses.
+     * @param pauseLatencyThresholdNanos The request latency above which loads pause; 0 disables pauses.
+     * @param maxPauseNanos              The longest a load pauses per batch of rows.
+     */
+    public ModelResultLoadThrottle(
+            long maxRowsPerSecond,
+            LongSupplier requestLatencyNanos,
+            long pauseLatencyThresholdNanos,
+            long maxPauseNanos
+    ) {
+        if (maxRowsPerSecond < 0L) {
+            throw new IllegalArgumentException("Invalid model result load max rows per second: " + maxRowsPerSecond);
+        }
+        if (pauseLatencyThresholdNanos < 0L) {
+            throw new IllegalArgumentException("Invalid model result load pause latency threshold: " + pauseLatencyThresholdNanos);
+        }
+        if (maxPauseNanos < 0L) {
+            throw new IllegalArgumentException("Invalid model result load max pause: " + maxPauseNanos);
+        }
+        this.rateLimiter = maxRowsPerSecond == UNLIMITED_ROWS_PER_SECOND ? null : RateLimiter.create(maxRowsPerSecond);
+        this.requestLatencyNanos = pauseLatencyThresholdNanos == NO_PAUSE_LATENCY_THRESHOLD ? null : requestLatencyNanos;
+        this.pauseLatencyThresholdNanos = pauseLatencyThresholdNanos;
+        this.maxPauseNanos = maxPauseNanos;
+    }
+
+    /**
+     * Starts pacing a load.
+     *
+     * @return The pacer of the rows of the load.
+     */
+    public Pacer newPacer() {
+        return new Pacer(this);
+    }
+
+    /**
+     * Returns the time all loads spent waiting for the throttle, in milliseconds.
+     *
+     * @return The total throttle time.
+     */
+    public long getThrottledDurationMs() {
+        return TimeUnit.NANOSECONDS.toMillis(throttledNanos.get());
+    }
+
+    /**
+     * Returns how many times a load paused because the request latency exceeded the threshold.
+     *
+     * @return The number of pauses.
+     */
+    public long getPauseCount() {
+        return pauseCount.get();
+    }
+
+    private long acquire(int rows) throws InterruptedIOException {
+        long startNanos = System.nanoTime();
+        if (rateLimiter != null) {
+            rateLimiter.acquire(rows);
+        }
+        if (requestLatencyNanos != null && requestLatencyNanos.getAsLong() > pauseLatencyThresholdNanos) {
+            pauseCount.incrementAndGet();
+            long pauseDeadlineNanos = startNanos + maxPauseNanos;
+            try {
+                long remainingNanos;
+                while ((remainingNanos = pauseDeadlineNanos - System.nanoTime()) > 0L
+                        && requestLatencyNanos.getAsLong() > pauseLatencyThresholdNanos) {
+                    TimeUnit.NANOSECONDS.sleep(Math.min(remainingNanos, PAUSE_INTERVAL_NANOS));
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException("Interrupted while the model result load was paused");
+            }
+        }
+        long elapsedNanos = System.nanoTime() - startNanos;
+        throttledNanos.addAndGet(elapsedNanos);
+        return elapsedNanos;
+    }
+
+    /**
+     * Paces the rows of a single load. A pacer is used by the thread running the load only, while the
+     * progress it reports can be read from any thread.
+     */
+    public static final class Pacer {
+
+        private final ModelResultLoadThrottle throttle;
+        private volatile long rowCount;
+        private volatile long throttledNanos;
+        private int pendingRows;
+
+        private Pacer(ModelResultLoadThrottle throttle) {
+            this.throttle = throttle;
+        }
+
+        /**
+         * Accounts for a parsed row, waiting for the throttle once a batch of rows is complete.
+         *
+         * @throws InterruptedIOException if the thread is interrupted while the load is paused.
+         */
+        public void onRow() throws InterruptedIOException {
+            rowCount++;
+            if (++pendingRows == ROWS_PER_BATCH) {
+                pendingRows = 0;
+                throttledNanos += throttle.acquire(ROWS_PER_BATCH);
+            }
+        }
+
+        /**
+         * Returns the number of rows parsed so far.
+         *
+         * @return The number of rows.
+         */
+        public long getRowCount() {
+            return rowCount;
+        }
+
+        /**
+         * Returns the time the load spent waiting for the throttle so far, in milliseconds.
+         *
+         * @return The throttle time of the load.
+         */
+        public long getThrottledDurationMs() {
+            return TimeUnit.NANOSECONDS.toMillis(throttledNanos);
+        }
+    }
+}
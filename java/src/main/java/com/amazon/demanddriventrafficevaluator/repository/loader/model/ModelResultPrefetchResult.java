@@ -0,0 +1,10 @@
+// Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+// SPDX-License-Identifier: Apache-2.0
+
+package com.amazon.demanddriventrafficevaluator.repository.loader.model;
+
+public enum ModelResultPrefetchResult {
+    Unavailable,  // the model result file of the hour is not available yet, or cannot be prefetched
+    Staged,  // the model results of the hour are loaded and switched to at the start of the hour
+    Live  // the model results of the hour are in use
+}
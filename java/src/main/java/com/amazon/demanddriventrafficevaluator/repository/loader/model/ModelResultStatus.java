@@ -0,0 +1,23 @@
+// Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+// SPDX-License-Identifier: Apache-2.0
+
+package com.amazon.demanddriventrafficevaluator.repository.loader.model;
+
+import lombok.Builder;
+import lombok.Getter;
+
+/**
+ * The status of the model results currently used for a model.
+ */
+@Builder
+@Getter
+public class ModelResultStatus {
+    private final String modelIdentifier;
+    // the key of the model result file last found current, null if the model results were never read from a file
+    private final String objectKey;
+    private final String version;
+    // 0 when the model results were never confirmed by a load of this process
+    private final long confirmedAtMs;
+    // the time the model results in use went live, 0 when they were not loaded by this process
+    private final long loadedAtMs;
+}
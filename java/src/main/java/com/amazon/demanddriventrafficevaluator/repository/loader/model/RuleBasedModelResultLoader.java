@@ -3,29 +3,98 @@
 
 package com.amazon.demanddriventrafficevaluator.repository.loader.model;
 
+import com.amazon.demanddriventrafficevaluator.jfr.ModelResultLoadEvent;
 import com.amazon.demanddriventrafficevaluator.repository.dao.Dao;
+import com.amazon.demanddriventrafficevaluator.repository.filter.ModelResultFilter;
+import com.amazon.demanddriventrafficevaluator.repository.filter.ModelResultFilterRegistry;
 import com.amazon.demanddriventrafficevaluator.repository.loader.DefaultLoader;
+import com.amazon.demanddriventrafficevaluator.repository.store.DeltaModelResultStore;
+import com.amazon.demanddriventrafficevaluator.repository.store.ModelResultStore;
+import com.amazon.demanddriventrafficevaluator.repository.store.ModelResultStoreBuilder;
+import com.amazon.demanddriventrafficevaluator.repository.store.ModelResultStoreFactory;
+import com.amazon.demanddriventrafficevaluator.repository.store.ModelResultStoreRegistry;
+import com.amazon.demanddriventrafficevaluator.repository.store.PublishedModelResultStore;
+import com.amazon.demanddriventrafficevaluator.repository.store.exception.ModelResultStoreMemoryBudgetExceededException;
 import com.google.common.annotations.VisibleForTesting;
 import lombok.extern.log4j.Log4j2;
+import software.amazon.awssdk.core.exception.AbortedException;
+import software.amazon.awssdk.http.Abortable;
 import software.amazon.awssdk.services.sso.model.ResourceNotFoundException;
 
 import java.io.BufferedReader;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
+import java.io.InterruptedIOException;
 import java.nio.charset.StandardCharsets;
+import java.time.Clock;
 import java.time.Instant;
 import java.time.ZoneOffset;
 import java.time.ZonedDateTime;
 import java.time.format.DateTimeFormatter;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Locale;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
 
 /**
  * A loader class for loading rule-based model results from S3 and caching them.
  * <p>
  * This class extends DefaultLoader and specializes in loading model results from S3,
  * processing them line by line, and storing them in a cache. It keeps track of the
- * number of items loaded and their total size.
+ * number of items loaded and their total size per model. The loader can load several
+ * models concurrently, as all state of a load is local to it or kept per model.
+ * </p>
+ * <p>
+ * When a model result filter registry and a false-positive rate are provided, the loader also
+ * builds a {@link ModelResultFilter} over the loaded keys and publishes it once the file is fully
+ * loaded, so that the model result provider can skip cache lookups for keys that are definitely absent.
+ * </p>
+ * <p>
+ * When a model result store registry and factory are provided, the model results are loaded into an
+ * immutable {@link ModelResultStore} instead of the cache. The new store replaces the previous one only
+ * once it is fully built, and a store persisted for the same file version is restored without parsing.
+ * A store published by another process on the same host is used without even fetching the file.
+ * Stores are sized from the loaded rows and are never evicted or expired; a store is only withdrawn when
+ * the model result file of the current hour has been missing for longer than the max staleness, and a
+ * store that does not fit in the registry's memory budget fails the load.
+ * </p>
+ * <p>
+ * When the model result file of the current hour is missing, the loader can fall back to the files of
+ * up to max fallback hours before. With stores enabled, the file of an upcoming hour can be prefetched:
+ * its store is built ahead of time and switched to exactly at the start of its hour, either by
+ * {@link #activatePrefetchedStores()} or by the first load of that hour. Loads, prefetches and switches
+ * of the same model are serialized, so that an older file never replaces a newer one.
+ * </p>
+ * <p>
+ * With stores private to this process, the loader can also apply model result deltas. A delta object
+ * sits next to the model result file of its hour, with ".delta" inserted before the file extension, and
+ * lists the keys added and removed since the version of the model results it is based on:
+ * <pre>
+ * #base=&lt;version of the model results the delta applies to, e.g. the ETag of the previous file&gt;
+ * +&lt;added key&gt;
+ * -&lt;removed key&gt;
+ * </pre>
+ * If the live store of the model is of the base version, the delta is applied as a
+ * {@link DeltaModelResultStore} over it, whose version is the identifier of the delta object, without
+ * reading the full model result file. Otherwise, or once the keys changed since the last full load exceed
+ * the max delta overlay ratio of the number of model results, the full model result file is loaded instead.
+ * </p>
+ * <p>
+ * The rows parsed by loads and prefetches are paced by a {@link ModelResultLoadThrottle}, if provided, so that
+ * refreshes do not hurt the latency of the request threads. The number of rows parsed so far by the load of a
+ * model is reported by {@link #getLoadProgress(String)}, and the time a load waited for the throttle is part of
+ * its statistics.
+ * </p>
+ * <p>
+ * Before a new model result file is parsed, the memory its model results will take is projected from the size
+ * of the file and the keys and entries of the model results it replaces, and logged with a warning if the
+ * model result stores would exceed their memory budget. The last projection of a model is reported by
+ * {@link #getMemoryProjection(String)}.
  * </p>
  */
 @Log4j2
@@ -36,21 +105,95 @@ public class RuleBasedModelResultLoader extends DefaultLoader<ModelResultLoaderI
     private static final DateTimeFormatter HOUR_FORMATTER = DateTimeFormatter.ofPattern("HH")
             .withLocale(Locale.ROOT)
             .withZone(ZoneOffset.UTC);
+    private static final String UNKNOWN_FILE_IDENTIFIER = "unknown";
+    private static final String PUBLISHED_FILE_IDENTIFIER_PREFIX = "published:";
+    /**
+     * Matches the TTL of the model result cache: a store is withdrawn once the model result file of the
+     * current hour has been missing for 70 minutes, so that stale model rules are not applied to future hours.
+     */
+    public static final long DEFAULT_MAX_STORE_STALENESS_MS = 4200000L;
+    public static final int NO_FALLBACK_HOURS = 0;
+    public static final double DELTA_DISABLED = 0.0;
+    private static final String DELTA_BASE_HEADER_PREFIX = "#base=";
+    private static final String DELTA_OBJECT_KEY_INFIX = ".delta";
 
     private final Dao<String, InputStream> fileDao;
     private final Dao<String, Double> modelResultsCacheDao;
-
-    long putItemCounter = 0;
-    long putItemTotalSize = 0;
+    private final ModelResultFilterRegistry modelResultFilterRegistry;
+    private final double filterFalsePositiveRate;
+    private final ModelResultStoreRegistry modelResultStoreRegistry;
+    private final ModelResultStoreFactory modelResultStoreFactory;
+    private final long maxStoreStalenessMs;
+    private final int maxFallbackHours;
+    private final double maxDeltaOverlayRatio;
+    private final ModelResultLoadThrottle loadThrottle;
+    private final Clock clock;
+    private final ConcurrentMap<String, Long> confirmedAtMsByModelIdentifier = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, String> loadedObjectKeyByModelIdentifier = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, PrefetchedStore> prefetchedStoreByModelIdentifier = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, Object> modelLocks = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, ModelResultLoadStatistics> loadStatisticsByModelIdentifier = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, ModelResultLoadThrottle.Pacer> loadInProgressByModelIdentifier = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, Long> loadedAtMsByModelIdentifier = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, ModelMemoryProjection> memoryProjectionByModelIdentifier = new ConcurrentHashMap<>();
 
     public RuleBasedModelResultLoader(
             Dao<String, String> fileIdentifierCacheDao,
             Dao<String, Double> modelResultsCacheDao,
             Dao<String, InputStream> fileDao
     ) {
+        this(fileIdentifierCacheDao, modelResultsCacheDao, fileDao, RuleBasedModelResultLoaderOptions.builder().build());
+    }
+
+    /**
+     * Creates a loader with optional features, e.g. model result filters or stores.
+     *
+     * @param fileIdentifierCacheDao The DAO holding the identifiers of the loaded files.
+     * @param modelResultsCacheDao   The DAO holding the model results when stores are disabled.
+     * @param fileDao                The DAO used to read the model result files.
+     * @param options                The optional features of the loader, or null to disable them all.
+     * @throws IllegalArgumentException if an option is out of its range.
+     */
+    public RuleBasedModelResultLoader(
+            Dao<String, String> fileIdentifierCacheDao,
+            Dao<String, Double> modelResultsCacheDao,
+            Dao<String, InputStream> fileDao,
+            RuleBasedModelResultLoaderOptions options
+    ) {
+        if (options == null) {
+            options = RuleBasedModelResultLoaderOptions.builder().build();
+        }
+        double filterFalsePositiveRate = options.getFilterFalsePositiveRate();
+        long maxStoreStalenessMs = options.getMaxStoreStalenessMs();
+        int maxFallbackHours = options.getMaxFallbackHours();
+        double maxDeltaOverlayRatio = options.getMaxDeltaOverlayRatio();
+        if (maxDeltaOverlayRatio < 0.0) {
+            throw new IllegalArgumentException("Invalid model result delta max overlay ratio: " + maxDeltaOverlayRatio);
+        }
+        if (maxFallbackHours < 0) {
+            throw new IllegalArgumentException("Invalid model result fallback hours: " + maxFallbackHours);
+        }
+        if (maxStoreStalenessMs < 0L) {
+            throw new IllegalArgumentException("Invalid model result store max staleness: " + maxStoreStalenessMs);
+        }
+        if (filterFalsePositiveRate < 0.0 || filterFalsePositiveRate >= 1.0) {
+            throw new IllegalArgumentException("Invalid model result filter false-positive rate: " + filterFalsePositiveRate);
+        }
         super.fileIdentifierCacheDao = fileIdentifierCacheDao;
         this.modelResultsCacheDao = modelResultsCacheDao;
         this.fileDao = fileDao;
+        this.modelResultFilterRegistry = options.getModelResultFilterRegistry();
+        this.filterFalsePositiveRate = filterFalsePositiveRate;
+        this.modelResultStoreRegistry = options.getModelResultStoreRegistry();
+        this.modelResultStoreFactory = options.getModelResultStoreFactory();
+        this.maxStoreStalenessMs = maxStoreStalenessMs;
+        this.maxFallbackHours = maxFallbackHours;
+        this.maxDeltaOverlayRatio = maxDeltaOverlayRatio;
+        this.loadThrottle = options.getLoadThrottle() == null
+                ? new ModelResultLoadThrottle(ModelResultLoadThrottle.UNLIMITED_ROWS_PER_SECOND, null,
+                        ModelResultLoadThrottle.NO_PAUSE_LATENCY_THRESHOLD, 0L)
+                : options.getLoadThrottle();
+        this.clock = options.getClock() == null ? Clock.systemUTC() : options.getClock();
     }
 
     /**
@@ -58,11 +201,17 @@ public class RuleBasedModelResultLoader extends DefaultLoader<ModelResultLoaderI
      * <p>
      * This method performs the following steps:
      * <ol>
+     *   <li>If stores are enabled and another process published a store of the model, uses it without fetching the file</li>
      *   <li>Retrieves the S3 object key for the model results file</li>
-     *   <li>Fetches the file from S3</li>
+     *   <li>If deltas are enabled and the delta of the hour is based on the live store, applies it without fetching the file</li>
+     *   <li>Fetches the file from S3, falling back to the files of previous hours if it is missing</li>
      *   <li>Checks if the results need to be refreshed</li>
-     *   <li>If refresh is needed, reads the file line by line and caches each result</li>
+     *   <li>If the store of the file version was prefetched, switches to it</li>
+     *   <li>If stores are enabled and a store of the file version was persisted before, restores it</li>
+     *   <li>If refresh is needed, reads the file line by line and caches each result, or adds it to a new store</li>
      *   <li>Keeps track of the number of items loaded and their total size</li>
+     *   <li>If stores are enabled, builds the store and replaces the model's previous store</li>
+     *   <li>If filtering is enabled, builds and publishes the model result filter</li>
      * </ol>
      * </p>
      *
@@ -72,42 +221,805 @@ public class RuleBasedModelResultLoader extends DefaultLoader<ModelResultLoaderI
      */
     @Override
     public boolean load(ModelResultLoaderInput input) {
-        putItemCounter = 0L;
-        putItemTotalSize = 0L;
         String modelIdentifier = input.getModelIdentifier();
-        String fileKey = getS3ObjectKey(input);
+        synchronized (getModelLock(modelIdentifier)) {
+            ModelResultLoadEvent event = new ModelResultLoadEvent();
+            event.begin();
+            ModelResultLoadStatistics previousStatistics = loadStatisticsByModelIdentifier.get(modelIdentifier);
+            boolean loaded = false;
+            try {
+                loaded = loadModel(input);
+                return loaded;
+            } finally {
+                event.end();
+                if (event.shouldCommit()) {
+                    commit(event, modelIdentifier, loaded, previousStatistics);
+                }
+            }
+        }
+    }
+
+    private void commit(ModelResultLoadEvent event, String modelIdentifier, boolean loaded, ModelResultLoadStatistics previousStatistics) {
+        event.modelIdentifier = modelIdentifier;
+        event.fileKey = loadedObjectKeyByModelIdentifier.get(modelIdentifier);
+        event.loaded = loaded;
+        ModelResultLoadStatistics statistics = loadStatisticsByModelIdentifier.get(modelIdentifier);
+        if (loaded && statistics != null && statistics != previousStatistics) {
+            // the model results were read from a file or a delta by this load
+            event.eTag = statistics.getFileIdentifier();
+            event.rows = statistics.getItemCount();
+            event.bytes = statistics.getItemTotalSize();
+        } else {
+            event.eTag = modelResultStoreRegistry == null
+                    ? null
+                    : modelResultStoreRegistry.get(modelIdentifier).map(ModelResultStore::getVersion).orElse(null);
+        }
+        event.commit();
+    }
+
+    private boolean loadModel(ModelResultLoaderInput input) {
+        long loadStartNanos = System.nanoTime();
+        long itemCount = 0L;
+        long itemTotalSize = 0L;
+        String fileIdentifier = UNKNOWN_FILE_IDENTIFIER;
+        String modelIdentifier = input.getModelIdentifier();
+        Instant now = clock.instant();
+        String fileKey = getS3ObjectKey(input, now);
+        double value = input.getModelType().getCacheValue();
+        ModelResultFilter filter = null;
+        ModelResultStore store = null;
+        ModelResultStoreBuilder storeBuilder = null;
+        boolean refreshing = false;
+        boolean loaded = false;
+        ModelResultLoadThrottle.Pacer pacer = loadThrottle.newPacer();
+        KeyLengthDistribution.Recorder keyLengths = KeyLengthDistribution.recorder();
+
+        if (isStoreEnabled()) {
+            Optional<Boolean> loadedFromPublishedStore = loadPublishedStore(modelIdentifier, fileKey, value, now);
+            if (loadedFromPublishedStore.isPresent()) {
+                return loadedFromPublishedStore.get();
+            }
+        }
+        if (isDeltaEnabled()) {
+            Optional<Boolean> loadedFromDelta = loadDelta(input, fileKey, now);
+            if (loadedFromDelta.isPresent()) {
+                return loadedFromDelta.get();
+            }
+        }
+
+        Optional<InputStream> file = fileDao.get(input.getS3Bucket(), fileKey);
+        String loadedFileKey = fileKey;
+        for (int fallbackHours = 1; file.isEmpty() && fallbackHours <= maxFallbackHours; fallbackHours++) {
+            loadedFileKey = getS3ObjectKey(input, now.minus(fallbackHours, ChronoUnit.HOURS));
+            file = fileDao.get(input.getS3Bucket(), loadedFileKey);
+        }
+        if (file.isPresent() && !loadedFileKey.equals(fileKey)) {
+            log.info("Model result file {} not found, falling back to {}", fileKey, loadedFileKey);
+        }
 
         // write a function to split resultLocation into identifier and key
-        try (InputStream inputStream = fileDao.get(input.getS3Bucket(), fileKey)
+        try (InputStream inputStream = file
                 .orElseThrow(() -> ResourceNotFoundException.builder().message("Model result file not found: " + fileKey).build());
              BufferedReader reader = getBufferedReader(inputStream)) {
+            confirmedAtMsByModelIdentifier.put(modelIdentifier, now.toEpochMilli());
+            loadedObjectKeyByModelIdentifier.put(modelIdentifier, loadedFileKey);
+            PrefetchedStore prefetchedStore = takePrefetchedStore(modelIdentifier, loadedFileKey);
             if (!shouldRefresh(modelIdentifier, inputStream)) {
+                if (prefetchedStore != null) {
+                    prefetchedStore.release();
+                }
                 log.debug("RuleBasedModelResultLoader is not refreshed");
                 return false;
             }
+            // the new file identifier is recorded already, so it is invalidated again unless the file is loaded
+            refreshing = true;
 
-            // invalidate cache since new model is detected
-            modelResultsCacheDao.clear(modelIdentifier);
+            fileIdentifier = getFileIdentifier(inputStream).orElse(UNKNOWN_FILE_IDENTIFIER);
+            if (prefetchedStore != null) {
+                if (prefetchedStore.version.equals(fileIdentifier)) {
+                    // the body is not needed, so do not download it
+                    if (inputStream instanceof Abortable) {
+                        ((Abortable) inputStream).abort();
+                    }
+                    publishPrefetchedStore(modelIdentifier, prefetchedStore);
+                    loaded = true;
+                    return true;
+                }
+                // the file was replaced after it was prefetched
+                prefetchedStore.release();
+            }
+            projectMemoryFootprint(modelIdentifier, loadedFileKey, inputStream, now);
+            if (isStoreEnabled()) {
+                String version = fileIdentifier;
+                Optional<ModelResultStore> restoredStore = modelResultStoreFactory.restore(modelIdentifier, version, value);
+                if (restoredStore.isPresent()) {
+                    // the body is not needed, so do not download it
+                    if (inputStream instanceof Abortable) {
+                        ((Abortable) inputStream).abort();
+                    }
+                    publish(modelIdentifier, restoredStore.get(), null);
+                    log.info("Restored {} model results of version {} for model {}, store size: {} bytes",
+                            restoredStore.get().getEntryCount(), version, modelIdentifier,
+                            restoredStore.get().getMemoryFootprintBytes());
+                    loaded = true;
+                    return true;
+                }
+                // the previous store stays live until the new one is fully built
+                storeBuilder = modelResultStoreFactory.newBuilder(modelIdentifier, version, value, loadedFileKey);
+            } else {
+                // invalidate cache since new model is detected
+                modelResultsCacheDao.clear(modelIdentifier);
+                if (isFilterEnabled()) {
+                    // the previous filter would reject keys added by the new file, so lookups bypass filtering until it is rebuilt
+                    modelResultFilterRegistry.deregister(modelIdentifier);
+                }
+            }
+            ModelResultFilter.Builder filterBuilder = isFilterEnabled() ? ModelResultFilter.builder(filterFalsePositiveRate) : null;
 
+            loadInProgressByModelIdentifier.put(modelIdentifier, pacer);
             String modelResult;
             while ((modelResult = reader.readLine()) != null) {
-                modelResultsCacheDao.put(modelIdentifier, modelResult, input.getModelType().getCacheValue());
-                putItemCounter++;
-                putItemTotalSize += modelResult.length();
+                checkInterrupted(loadedFileKey);
+                pacer.onRow();
+                if (storeBuilder != null) {
+                    storeBuilder.put(modelResult);
+                } else {
+                    modelResultsCacheDao.put(modelIdentifier, modelResult, value);
+                }
+                if (filterBuilder != null) {
+                    filterBuilder.put(modelResult);
+                }
+                keyLengths.record(modelResult.length());
+                itemCount++;
+                itemTotalSize += modelResult.length();
+            }
+            if (filterBuilder != null) {
+                filter = filterBuilder.build();
+            }
+            if (storeBuilder != null) {
+                store = storeBuilder.build();
             }
+            publish(modelIdentifier, store, filter);
+            loaded = true;
         } catch (ResourceNotFoundException e) {
             log.warn(e);
+            if (isStoreEnabled()) {
+                withdrawStaleStore(modelIdentifier);
+            }
+            return false;
+        } catch (InterruptedIOException | AbortedException e) {
+            // the thread was interrupted, e.g. by the timeout of the load
+            log.warn("Load of model result file {} was interrupted", fileKey);
             return false;
         } catch (IOException e) {
             log.error("Failed to read model result file due to I/O for file {}", fileKey, e);
             return false;
+        } catch (ModelResultStoreMemoryBudgetExceededException e) {
+            // invalidated by publish already
+            refreshing = false;
+            throw new IllegalStateException("Fail to load model result file within the model result store memory budget: " + fileKey, e);
         } catch (Exception e) {
             throw new IllegalStateException("Fail to load model result file due to unknown issue: " + fileKey, e);
+        } finally {
+            loadInProgressByModelIdentifier.remove(modelIdentifier, pacer);
+            if (storeBuilder != null && store == null) {
+                storeBuilder.abort();
+            }
+            if (refreshing && !loaded) {
+                // load the file again next time rather than keeping the model results of a partial load
+                invalidateFileIdentifier(modelIdentifier);
+            }
+        }
+        loadStatisticsByModelIdentifier.put(modelIdentifier, ModelResultLoadStatistics.builder()
+                .fileIdentifier(fileIdentifier)
+                .itemCount(itemCount)
+                .itemTotalSize(itemTotalSize)
+                .loadDurationMs(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - loadStartNanos))
+                .throttleDurationMs(pacer.getThrottledDurationMs())
+                .keyLengthDistribution(keyLengths.build())
+                .build());
+        log.info("Loaded {} model results for model {}, total size: {}, throttled for {} ms", itemCount, modelIdentifier,
+                itemTotalSize, pacer.getThrottledDurationMs());
+        if (store != null) {
+            log.info("Model result store of model {}: {} entries, {} bytes, model result stores use {} of {} bytes", modelIdentifier,
+                    store.getEntryCount(), store.getMemoryFootprintBytes(),
+                    modelResultStoreRegistry.getMemoryFootprintBytes(), modelResultStoreRegistry.getMemoryBudgetBytes());
+        }
+        if (filter != null) {
+            log.info("Model result filter of model {}: {} bytes, false-positive rate: {} (target {})", modelIdentifier,
+                    filter.getMemoryFootprintBytes(), filter.getMeasuredFalsePositiveRate(), filter.getExpectedFalsePositiveRate());
         }
-        log.info("Loaded {} model results, total size: {}", putItemCounter, putItemTotalSize);
         return true;
     }
 
+    /**
+     * Loads the model results of the given model even if its model result file is unchanged, e.g. to measure
+     * the impact of reloads on the evaluations.
+     *
+     * @param input The input containing necessary information for loading the model results.
+     * @return true if the results were loaded, false if the file was not found.
+     * @throws IllegalStateException if there's an error during the loading process.
+     */
+    public boolean reload(ModelResultLoaderInput input) {
+        String modelIdentifier = input.getModelIdentifier();
+        synchronized (getModelLock(modelIdentifier)) {
+            invalidateFileIdentifier(modelIdentifier);
+            invalidateFileIdentifier(PUBLISHED_FILE_IDENTIFIER_PREFIX + modelIdentifier);
+            return load(input);
+        }
+    }
+
+    /**
+     * Prefetches the model result file of the given hour.
+     * <p>
+     * For an hour that has not started yet, the store of the hour's file is built in the background and
+     * kept aside until the hour starts, when {@link #activatePrefetchedStores()} or the first load of the hour
+     * switches to it. Prefetching an upcoming hour requires stores that are private to this process; when
+     * stores are disabled or shared across processes, the file is left to the loads of its hour. For an hour
+     * that has started, the model is simply loaded.
+     * </p>
+     *
+     * @param input     The input containing necessary information for loading the model results.
+     * @param hourStart The start of the hour whose model result file is prefetched.
+     * @return Whether the model results of the hour are staged, live or not available yet.
+     * @throws IllegalStateException if there's an error during the loading process.
+     */
+    public ModelResultPrefetchResult prefetch(ModelResultLoaderInput input, Instant hourStart) {
+        String modelIdentifier = input.getModelIdentifier();
+        String fileKey = getS3ObjectKey(input, hourStart);
+        if (!hourStart.isAfter(clock.instant())) {
+            load(input);
+            return fileKey.equals(loadedObjectKeyByModelIdentifier.get(modelIdentifier))
+                    ? ModelResultPrefetchResult.Live : ModelResultPrefetchResult.Unavailable;
+        }
+        if (!isStoreEnabled() || modelResultStoreFactory.isSharedAcrossProcesses()) {
+            return ModelResultPrefetchResult.Unavailable;
+        }
+        PrefetchedStore stagedStore = prefetchedStoreByModelIdentifier.get(modelIdentifier);
+        if (stagedStore != null && stagedStore.fileKey.equals(fileKey)) {
+            return ModelResultPrefetchResult.Staged;
+        }
+        Optional<InputStream> file = fileDao.get(input.getS3Bucket(), fileKey);
+        if (file.isEmpty()) {
+            return ModelResultPrefetchResult.Unavailable;
+        }
+
+        long loadStartNanos = System.nanoTime();
+        double value = input.getModelType().getCacheValue();
+        long itemCount = 0L;
+        long itemTotalSize = 0L;
+        String version;
+        ModelResultStore store = null;
+        ModelResultStoreBuilder storeBuilder = null;
+        ModelResultFilter filter = null;
+        ModelResultLoadThrottle.Pacer pacer = loadThrottle.newPacer();
+        KeyLengthDistribution.Recorder keyLengths = KeyLengthDistribution.recorder();
+        try (InputStream inputStream = file.get();
+             BufferedReader reader = getBufferedReader(inputStream)) {
+            version = getFileIdentifier(inputStream).orElse(UNKNOWN_FILE_IDENTIFIER);
+            Optional<ModelResultStore> restoredStore = modelResultStoreFactory.restore(modelIdentifier, version, value);
+            if (restoredStore.isPresent()) {
+                // the body is not needed, so do not download it
+                if (inputStream instanceof Abortable) {
+                    ((Abortable) inputStream).abort();
+                }
+                store = restoredStore.get();
+            } else {
+                ModelResultFilter.Builder filterBuilder = isFilterEnabled() ? ModelResultFilter.builder(filterFalsePositiveRate) : null;
+                storeBuilder = modelResultStoreFactory.newBuilder(modelIdentifier, version, value, fileKey);
+                loadInProgressByModelIdentifier.put(modelIdentifier, pacer);
+                String modelResult;
+                while ((modelResult = reader.readLine()) != null) {
+                    checkInterrupted(fileKey);
+                    pacer.onRow();
+                    storeBuilder.put(modelResult);
+                    if (filterBuilder != null) {
+                        filterBuilder.put(modelResult);
+                    }
+                    keyLengths.record(modelResult.length());
+                    itemCount++;
+                    itemTotalSize += modelResult.length();
+                }
+                store = storeBuilder.build();
+                if (filterBuilder != null) {
+                    filter = filterBuilder.build();
+                }
+            }
+        } catch (InterruptedIOException | AbortedException e) {
+            log.warn("Prefetch of model result file {} was interrupted", fileKey);
+            return ModelResultPrefetchResult.Unavailable;
+        } catch (IOException e) {
+            log.error("Failed to read model result file due to I/O for file {}", fileKey, e);
+            return ModelResultPrefetchResult.Unavailable;
+        } catch (Exception e) {
+            throw new IllegalStateException("Fail to prefetch model result file due to unknown issue: " + fileKey, e);
+        } finally {
+            loadInProgressByModelIdentifier.remove(modelIdentifier, pacer);
+            if (storeBuilder != null && store == null) {
+                storeBuilder.abort();
+            }
+        }
+
+        PrefetchedStore prefetchedStore = new PrefetchedStore(hourStart, fileKey, version, store, filter,
+                ModelResultLoadStatistics.builder()
+                        .fileIdentifier(version)
+                        .itemCount(itemCount)
+                        .itemTotalSize(itemTotalSize)
+                        .loadDurationMs(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - loadStartNanos))
+                        .throttleDurationMs(pacer.getThrottledDurationMs())
+                        .keyLengthDistribution(itemCount == 0L && store.getEntryCount() > 0L ? null : keyLengths.build())
+                        .build());
+        synchronized (getModelLock(modelIdentifier)) {
+            PrefetchedStore previousStore = prefetchedStoreByModelIdentifier.put(modelIdentifier, prefetchedStore);
+            if (previousStore != null) {
+                previousStore.release();
+            }
+        }
+        log.info("Prefetched {} model results of version {} for model {} from {}, to be used from {}",
+                store.getEntryCount(), version, modelIdentifier, fileKey, hourStart);
+        // the hour may have started while the store was built
+        activatePrefetchedStores();
+        return ModelResultPrefetchResult.Staged;
+    }
+
+    /**
+     * Switches every model whose prefetched hour has started to its prefetched store.
+     *
+     * @return The number of models switched to their prefetched stores.
+     */
+    public int activatePrefetchedStores() {
+        Instant now = clock.instant();
+        int activatedCount = 0;
+        for (String modelIdentifier : prefetchedStoreByModelIdentifier.keySet()) {
+            synchronized (getModelLock(modelIdentifier)) {
+                PrefetchedStore prefetchedStore = prefetchedStoreByModelIdentifier.get(modelIdentifier);
+                if (prefetchedStore == null || prefetchedStore.hourStart.isAfter(now)) {
+                    continue;
+                }
+                prefetchedStoreByModelIdentifier.remove(modelIdentifier);
+                confirmedAtMsByModelIdentifier.put(modelIdentifier, now.toEpochMilli());
+                loadedObjectKeyByModelIdentifier.put(modelIdentifier, prefetchedStore.fileKey);
+                if (!shouldRefresh(modelIdentifier, prefetchedStore.version)) {
+                    // the same version is already in use
+                    prefetchedStore.release();
+                    continue;
+                }
+                try {
+                    publishPrefetchedStore(modelIdentifier, prefetchedStore);
+                    activatedCount++;
+                } catch (ModelResultStoreMemoryBudgetExceededException e) {
+                    // logged by publish, the next load of the hour reads the file again
+                }
+            }
+        }
+        return activatedCount;
+    }
+
+    private PrefetchedStore takePrefetchedStore(String modelIdentifier, String fileKey) {
+        PrefetchedStore prefetchedStore = prefetchedStoreByModelIdentifier.get(modelIdentifier);
+        if (prefetchedStore == null || !prefetchedStore.fileKey.equals(fileKey)) {
+            return null;
+        }
+        prefetchedStoreByModelIdentifier.remove(modelIdentifier);
+        return prefetchedStore;
+    }
+
+    private void publishPrefetchedStore(String modelIdentifier, PrefetchedStore prefetchedStore) {
+        publish(modelIdentifier, prefetchedStore.store, prefetchedStore.filter);
+        loadStatisticsByModelIdentifier.put(modelIdentifier, prefetchedStore.statistics);
+        log.info("Switched model {} to the prefetched store of version {} from {}, store size: {} bytes",
+                modelIdentifier, prefetchedStore.version, prefetchedStore.fileKey, prefetchedStore.store.getMemoryFootprintBytes());
+    }
+
+    private Object getModelLock(String modelIdentifier) {
+        return modelLocks.computeIfAbsent(modelIdentifier, key -> new Object());
+    }
+
+    /**
+     * Loads the model's store published by another process, without reading the model result file.
+     * <p>
+     * The published store is only used if it was built from the model result file of the current hour and
+     * published within the max staleness, so that readers stop following a writer that died and read the
+     * model result file themselves.
+     * </p>
+     *
+     * @return An Optional containing the result of the load if a published store was used, or an empty
+     * Optional if the model result file has to be read.
+     */
+    private Optional<Boolean> loadPublishedStore(String modelIdentifier, String fileKey, double value, Instant now) {
+        Optional<PublishedModelResultStore> published = modelResultStoreFactory.getPublishedStore(modelIdentifier);
+        if (published.isEmpty()) {
+            return Optional.empty();
+        }
+        String publishedVersion = published.get().getVersion();
+        if (!fileKey.equals(published.get().getSourceKey())) {
+            log.debug("Published store of model {} was built from {}, not from {}", modelIdentifier,
+                    published.get().getSourceKey(), fileKey);
+            return Optional.empty();
+        }
+        if (maxStoreStalenessMs != 0L && now.toEpochMilli() - published.get().getPublishedAtMs() > maxStoreStalenessMs) {
+            log.info("Published store of model {} of version {} is older than {} ms, reading {} instead", modelIdentifier,
+                    publishedVersion, maxStoreStalenessMs, fileKey);
+            return Optional.empty();
+        }
+        Optional<ModelResultStore> publishedStore = modelResultStoreFactory.restore(modelIdentifier, publishedVersion, value);
+        if (publishedStore.isEmpty()) {
+            return Optional.empty();
+        }
+        confirmedAtMsByModelIdentifier.put(modelIdentifier, now.toEpochMilli());
+        loadedObjectKeyByModelIdentifier.put(modelIdentifier, fileKey);
+        // tracked apart from the file's own identifier, so that a store built from the file is still replaced
+        if (!shouldRefresh(PUBLISHED_FILE_IDENTIFIER_PREFIX + modelIdentifier, publishedVersion)) {
+            publishedStore.get().release();
+            log.debug("RuleBasedModelResultLoader is not refreshed");
+            return Optional.of(false);
+        }
+        publish(modelIdentifier, publishedStore.get(), null);
+        log.info("Loaded published store of {} model results of version {} for model {}, store size: {} bytes",
+                publishedStore.get().getEntryCount(), publishedVersion, modelIdentifier,
+                publishedStore.get().getMemoryFootprintBytes());
+        return Optional.of(true);
+    }
+
+    /**
+     * Applies the model result delta of the hour to the model's live store, without reading the model result file.
+     *
+     * @return An Optional containing the result of the load if the delta was applied, or an empty Optional if the
+     * full model result file has to be read, including when the delta is already live.
+     */
+    private Optional<Boolean> loadDelta(ModelResultLoaderInput input, String fileKey, Instant now) {
+        String modelIdentifier = input.getModelIdentifier();
+        Optional<ModelResultStore> liveStore = modelResultStoreRegistry.get(modelIdentifier);
+        if (liveStore.isEmpty()) {
+            return Optional.empty();
+        }
+        String deltaKey = getDeltaS3ObjectKey(fileKey);
+        Optional<InputStream> delta = fileDao.get(input.getS3Bucket(), deltaKey);
+        if (delta.isEmpty()) {
+            return Optional.empty();
+        }
+        long loadStartNanos = System.nanoTime();
+        String deltaVersion;
+        List<String> addedKeys = new ArrayList<>();
+        List<String> removedKeys = new ArrayList<>();
+        long itemTotalSize = 0L;
+        try (InputStream inputStream = delta.get();
+             BufferedReader reader = getBufferedReader(inputStream)) {
+            Optional<String> deltaFileIdentifier = getFileIdentifier(inputStream);
+            if (deltaFileIdentifier.isEmpty()) {
+                abort(inputStream);
+                return Optional.empty();
+            }
+            deltaVersion = deltaFileIdentifier.get();
+            if (deltaVersion.equals(liveStore.get().getVersion())) {
+                // the delta is already live, but the full model result file may have been replaced since
+                abort(inputStream);
+                return Optional.empty();
+            }
+            String header = reader.readLine();
+            String baseVersion = header != null && header.startsWith(DELTA_BASE_HEADER_PREFIX)
+                    ? header.substring(DELTA_BASE_HEADER_PREFIX.length()) : null;
+            if (!liveStore.get().getVersion().equals(baseVersion)) {
+                abort(inputStream);
+                log.info("Model result delta {} is based on version {}, but model {} is at version {}, loading {} instead",
+                        deltaKey, baseVersion, modelIdentifier, liveStore.get().getVersion(), fileKey);
+                return Optional.empty();
+            }
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.startsWith("+")) {
+                    addedKeys.add(line.substring(1));
+                } else if (line.startsWith("-")) {
+                    removedKeys.add(line.substring(1));
+                } else if (!line.isEmpty()) {
+                    abort(inputStream);
+                    log.warn("Malformed line in model result delta {}, loading {} instead", deltaKey, fileKey);
+                    return Optional.empty();
+                }
+                itemTotalSize += line.length() - 1;
+            }
+        } catch (IOException e) {
+            log.error("Failed to read model result delta due to I/O for file {}, loading {} instead", deltaKey, fileKey, e);
+            return Optional.empty();
+        }
+
+        ModelResultStore store = liveStore.get();
+        if (!store.tryAcquire()) {
+            // the store was replaced in between, so the delta is checked against the new store at the next load
+            return Optional.empty();
+        }
+        DeltaModelResultStore deltaStore;
+        try {
+            deltaStore = DeltaModelResultStore.apply(store, deltaVersion, addedKeys, removedKeys);
+        } finally {
+            store.release();
+        }
+        if (deltaStore.getOverlayEntryCount() > maxDeltaOverlayRatio * Math.max(1L, deltaStore.getEntryCount())) {
+            deltaStore.release();
+            log.info("Model result deltas of model {} changed {} keys since version {}, loading {} instead", modelIdentifier,
+                    deltaStore.getOverlayEntryCount(), deltaStore.getBaseVersion(), fileKey);
+            return Optional.empty();
+        }
+        // removed keys keep passing the filter until the next full load, but it would reject added keys
+        ModelResultFilter filter = isFilterEnabled() && addedKeys.isEmpty()
+                ? modelResultFilterRegistry.get(modelIdentifier).orElse(null) : null;
+        try {
+            publish(modelIdentifier, deltaStore, filter);
+        } catch (ModelResultStoreMemoryBudgetExceededException e) {
+            throw new IllegalStateException("Fail to apply model result delta within the model result store memory budget: " + deltaKey, e);
+        }
+        confirmedAtMsByModelIdentifier.put(modelIdentifier, now.toEpochMilli());
+        loadedObjectKeyByModelIdentifier.put(modelIdentifier, fileKey);
+        recordFileIdentifier(input, fileKey);
+        ModelResultLoadStatistics previousStatistics = loadStatisticsByModelIdentifier.get(modelIdentifier);
+        loadStatisticsByModelIdentifier.put(modelIdentifier, ModelResultLoadStatistics.builder()
+                .fileIdentifier(deltaVersion)
+                .itemCount(addedKeys.size() + removedKeys.size())
+                .itemTotalSize(itemTotalSize)
+                .loadDurationMs(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - loadStartNanos))
+                .keyLengthDistribution(previousStatistics == null ? null : previousStatistics.getKeyLengthDistribution())
+                .build());
+        log.info("Applied model result delta {} to model {}: {} keys added, {} keys removed, {} entries, store size: {} bytes",
+                deltaKey, modelIdentifier, addedKeys.size(), removedKeys.size(), deltaStore.getEntryCount(),
+                deltaStore.getMemoryFootprintBytes());
+        return Optional.of(true);
+    }
+
+    /**
+     * Records the identifier of the full model result file next to an applied delta, so that the following loads
+     * only read the full file once it is replaced.
+     */
+    private void recordFileIdentifier(ModelResultLoaderInput input, String fileKey) {
+        Optional<InputStream> file = fileDao.get(input.getS3Bucket(), fileKey);
+        if (file.isEmpty()) {
+            return;
+        }
+        try (InputStream inputStream = file.get()) {
+            Optional<String> fileIdentifier = getFileIdentifier(inputStream);
+            abort(inputStream);
+            // the result does not matter, the model results of the file are already live through the delta
+            fileIdentifier.ifPresent(identifier -> shouldRefresh(input.getModelIdentifier(), identifier));
+        } catch (IOException e) {
+            log.warn("Failed to close model result file {}", fileKey, e);
+        }
+    }
+
+    /**
+     * Stops a load whose thread is interrupted, e.g. by the timeout of its task, even when it is not throttled.
+     */
+    private static void checkInterrupted(String fileKey) throws InterruptedIOException {
+        if (Thread.currentThread().isInterrupted()) {
+            throw new InterruptedIOException("Load of model result file interrupted: " + fileKey);
+        }
+    }
+
+    private static void abort(InputStream inputStream) {
+        // the body is not needed, so do not download it
+        if (inputStream instanceof Abortable) {
+            ((Abortable) inputStream).abort();
+        }
+    }
+
+    private void publish(String modelIdentifier, ModelResultStore store, ModelResultFilter filter) {
+        if (isFilterEnabled()) {
+            // withdraw the previous filter first, so that it is never paired with a store holding new keys
+            modelResultFilterRegistry.deregister(modelIdentifier);
+        }
+        if (store != null) {
+            try {
+                modelResultStoreRegistry.register(modelIdentifier, store);
+            } catch (ModelResultStoreMemoryBudgetExceededException e) {
+                store.release();
+                // load the file again next time, as the budget may have been freed by then
+                invalidateFileIdentifier(modelIdentifier);
+                invalidateFileIdentifier(PUBLISHED_FILE_IDENTIFIER_PREFIX + modelIdentifier);
+                log.error("Rejected model result store of model {}, model result stores use {} of {} bytes, {} stores rejected so far",
+                        modelIdentifier, modelResultStoreRegistry.getMemoryFootprintBytes(),
+                        modelResultStoreRegistry.getMemoryBudgetBytes(), modelResultStoreRegistry.getRejectedRegistrationCount());
+                throw e;
+            }
+        }
+        if (filter != null) {
+            modelResultFilterRegistry.register(modelIdentifier, filter);
+        }
+        loadedAtMsByModelIdentifier.put(modelIdentifier, clock.instant().toEpochMilli());
+    }
+
+    /**
+     * Projects the memory the model results of a new model result file will take, before the file is parsed.
+     * <p>
+     * The number of entries is projected from the size of the file and the mean key length of the last file
+     * parsed, and the bytes of an entry are those of the model's store in use or, with the cache, its estimate.
+     * Nothing is projected before the first file of the model is parsed.
+     * </p>
+     */
+    private void projectMemoryFootprint(String modelIdentifier, String fileKey, InputStream inputStream, Instant now) {
+        Optional<Long> fileSizeBytes = getContentLength(inputStream);
+        ModelResultLoadStatistics statistics = loadStatisticsByModelIdentifier.get(modelIdentifier);
+        if (fileSizeBytes.isEmpty() || statistics == null || statistics.getKeyLengthDistribution() == null
+                || statistics.getKeyLengthDistribution().getCount() == 0L) {
+            return;
+        }
+        double meanKeyLength = statistics.getKeyLengthDistribution().getMean();
+        Optional<ModelResultStore> store = isStoreEnabled() ? modelResultStoreRegistry.get(modelIdentifier) : Optional.empty();
+        long currentBytes;
+        double bytesPerEntry;
+        if (store.isPresent()) {
+            if (store.get().getEntryCount() == 0L) {
+                return;
+            }
+            currentBytes = store.get().getMemoryFootprintBytes();
+            bytesPerEntry = (double) currentBytes / store.get().getEntryCount();
+        } else if (isStoreEnabled()) {
+            // the store was withdrawn, so there is nothing to project from
+            return;
+        } else {
+            bytesPerEntry = ModelMemoryFootprintReporter.estimateCacheEntryBytes(meanKeyLength);
+            currentBytes = Math.round(statistics.getItemCount() * bytesPerEntry);
+        }
+        // every row is a key followed by a line break, and keys are expected to be ASCII
+        long projectedEntryCount = Math.round(fileSizeBytes.get() / (meanKeyLength + 1.0));
+        long projectedBytes = Math.round(projectedEntryCount * bytesPerEntry);
+        memoryProjectionByModelIdentifier.put(modelIdentifier, ModelMemoryProjection.builder()
+                .modelIdentifier(modelIdentifier)
+                .objectKey(fileKey)
+                .fileSizeBytes(fileSizeBytes.get())
+                .projectedEntryCount(projectedEntryCount)
+                .currentBytes(currentBytes)
+                .projectedBytes(projectedBytes)
+                .projectedAtMs(now.toEpochMilli())
+                .build());
+        log.info("Model results of model {} from {} ({} bytes) are projected to take {} bytes for {} entries, replacing {} bytes",
+                modelIdentifier, fileKey, fileSizeBytes.get(), projectedBytes, projectedEntryCount, currentBytes);
+        if (store.isEmpty()) {
+            return;
+        }
+        long memoryBudgetBytes = modelResultStoreRegistry.getMemoryBudgetBytes();
+        long storesMemoryFootprintBytes = modelResultStoreRegistry.getMemoryFootprintBytes();
+        // the store in use stays live until the new one is built, so both are held at the peak
+        log.info("Model result stores are projected to peak at {} bytes while the store of model {} is built",
+                storesMemoryFootprintBytes + projectedBytes, modelIdentifier);
+        if (memoryBudgetBytes != ModelResultStoreRegistry.UNLIMITED_MEMORY_BUDGET
+                && storesMemoryFootprintBytes - currentBytes + projectedBytes > memoryBudgetBytes) {
+            log.warn("Model result store of model {} from {} is projected to bring model result stores to {} bytes, over their budget of {} bytes",
+                    modelIdentifier, fileKey, storesMemoryFootprintBytes - currentBytes + projectedBytes, memoryBudgetBytes);
+        }
+    }
+
+    /**
+     * Withdraws the model's store once its model result file has been missing for longer than the max staleness.
+     */
+    private void withdrawStaleStore(String modelIdentifier) {
+        Long confirmedAtMs = confirmedAtMsByModelIdentifier.get(modelIdentifier);
+        if (maxStoreStalenessMs == 0L || confirmedAtMs == null
+                || clock.instant().toEpochMilli() - confirmedAtMs <= maxStoreStalenessMs) {
+            return;
+        }
+        confirmedAtMsByModelIdentifier.remove(modelIdentifier);
+        if (modelResultStoreRegistry.get(modelIdentifier).isPresent()) {
+            modelResultStoreRegistry.deregister(modelIdentifier);
+            if (isFilterEnabled()) {
+                modelResultFilterRegistry.deregister(modelIdentifier);
+            }
+            // load the file again once it is back, even if it is unchanged
+            invalidateFileIdentifier(modelIdentifier);
+            invalidateFileIdentifier(PUBLISHED_FILE_IDENTIFIER_PREFIX + modelIdentifier);
+            log.warn("Withdrew model result store of model {}, as its model result file has been missing for over {} ms",
+                    modelIdentifier, maxStoreStalenessMs);
+        }
+    }
+
+    /**
+     * Returns the statistics of the last model result file parsed for the given model.
+     *
+     * @param modelIdentifier The identifier of the model.
+     * @return An Optional containing the statistics, or an empty Optional if no file was parsed for the model.
+     */
+    public Optional<ModelResultLoadStatistics> getLoadStatistics(String modelIdentifier) {
+        return Optional.ofNullable(loadStatisticsByModelIdentifier.get(modelIdentifier));
+    }
+
+    /**
+     * Returns the status of the model results currently used for the given model.
+     * <p>
+     * The model results are present once a store is live for the model or, when stores are disabled, once a
+     * model result file of the model has been parsed. The confirmation time is the last time a load found the
+     * model result file of the version in use to be current, so that its age tells how fresh the model results are.
+     * </p>
+     *
+     * @param modelIdentifier The identifier of the model.
+     * @return An Optional containing the status, or an empty Optional if no model results are present for the model.
+     */
+    public Optional<ModelResultStatus> getModelResultStatus(String modelIdentifier) {
+        String version;
+        if (isStoreEnabled()) {
+            Optional<ModelResultStore> store = modelResultStoreRegistry.get(modelIdentifier);
+            if (store.isEmpty()) {
+                return Optional.empty();
+            }
+            version = store.get().getVersion();
+        } else {
+            ModelResultLoadStatistics statistics = loadStatisticsByModelIdentifier.get(modelIdentifier);
+            if (statistics == null) {
+                return Optional.empty();
+            }
+            version = statistics.getFileIdentifier();
+        }
+        return Optional.of(ModelResultStatus.builder()
+                .modelIdentifier(modelIdentifier)
+                .objectKey(loadedObjectKeyByModelIdentifier.get(modelIdentifier))
+                .version(version)
+                .confirmedAtMs(confirmedAtMsByModelIdentifier.getOrDefault(modelIdentifier, 0L))
+                .loadedAtMs(loadedAtMsByModelIdentifier.getOrDefault(modelIdentifier, 0L))
+                .build());
+    }
+
+    /**
+     * Returns the memory projected for the model results of the last new model result file of the given model,
+     * before the file was parsed.
+     *
+     * @param modelIdentifier The identifier of the model.
+     * @return An Optional containing the projection, or an empty Optional if no file of the model was projected.
+     */
+    public Optional<ModelMemoryProjection> getMemoryProjection(String modelIdentifier) {
+        return Optional.ofNullable(memoryProjectionByModelIdentifier.get(modelIdentifier));
+    }
+
+    /**
+     * Returns the number of rows parsed so far by the load or prefetch of a model that is in progress.
+     *
+     * @param modelIdentifier The identifier of the model.
+     * @return An Optional containing the number of rows parsed, or an empty Optional if the model is not being loaded.
+     */
+    public Optional<Long> getLoadProgress(String modelIdentifier) {
+        return Optional.ofNullable(loadInProgressByModelIdentifier.get(modelIdentifier))
+                .map(ModelResultLoadThrottle.Pacer::getRowCount);
+    }
+
+    /**
+     * Returns the model result filter currently published for the given model.
+     * <p>
+     * The filter exposes its memory footprint and measured false-positive rate. No filter is
+     * returned when filtering is disabled or while the model's result file is being reloaded.
+     * </p>
+     *
+     * @param modelIdentifier The identifier of the model.
+     * @return An Optional containing the model's filter, or an empty Optional if there is none.
+     */
+    public Optional<ModelResultFilter> getModelResultFilter(String modelIdentifier) {
+        if (!isFilterEnabled()) {
+            return Optional.empty();
+        }
+        return modelResultFilterRegistry.get(modelIdentifier);
+    }
+
+    private boolean isFilterEnabled() {
+        return modelResultFilterRegistry != null && filterFalsePositiveRate > 0.0;
+    }
+
+    /**
+     * Determines whether a load can be interrupted: only when stores are enabled, as the new model results are
+     * then added to a store built off to the side and only replace the previous ones once complete. Without
+     * stores, the model results are cleared from the cache before the new ones are cached, so an interrupted
+     * load would leave the model with part of its model results.
+     *
+     * @param input The input of the load.
+     * @return true if stores are enabled, false otherwise.
+     */
+    @Override
+    public boolean isInterruptible(ModelResultLoaderInput input) {
+        return isStoreEnabled();
+    }
+
+    private boolean isStoreEnabled() {
+        return modelResultStoreRegistry != null && modelResultStoreFactory != null;
+    }
+
+    private boolean isDeltaEnabled() {
+        // an overlay cannot be published to other processes, which would keep building stores from the full file
+        return maxDeltaOverlayRatio > 0.0 && isStoreEnabled() && !modelResultStoreFactory.isSharedAcrossProcesses();
+    }
+
     /**
      * Generates the S3 object key for the model results file.
      * <p>
@@ -120,19 +1032,68 @@ public class RuleBasedModelResultLoader extends DefaultLoader<ModelResultLoaderI
      */
     @Override
     public String getS3ObjectKey(ModelResultLoaderInput input) {
-        ZonedDateTime now = Instant.now().atZone(ZoneOffset.UTC);
+        return getS3ObjectKey(input, clock.instant());
+    }
+
+    /**
+     * Generates the S3 object key for the model results file of the hour containing the given time.
+     *
+     * @param input The input containing necessary information for generating the S3 key.
+     * @param time  A time within the hour of the model results file.
+     * @return The S3 object key as a String.
+     */
+    public String getS3ObjectKey(ModelResultLoaderInput input, Instant time) {
+        ZonedDateTime hour = time.atZone(ZoneOffset.UTC);
         return new StringBuilder(input.getVendor())
                 .append('/')
-                .append(now.format(DATE_FORMATTER))
+                .append(hour.format(DATE_FORMATTER))
                 .append('/')
-                .append(now.format(HOUR_FORMATTER))
+                .append(hour.format(HOUR_FORMATTER))
                 .append('/')
                 .append(input.getS3ObjectKey())
                 .toString();
     }
 
+    /**
+     * Generates the S3 object key of the model result delta next to the given model result file,
+     * e.g. vendor/2024-05-20/11/model.delta.csv for vendor/2024-05-20/11/model.csv.
+     *
+     * @param fileKey The S3 object key of the model result file.
+     * @return The S3 object key of the delta.
+     */
+    public static String getDeltaS3ObjectKey(String fileKey) {
+        int extensionIndex = fileKey.lastIndexOf('.');
+        if (extensionIndex <= fileKey.lastIndexOf('/')) {
+            return fileKey + DELTA_OBJECT_KEY_INFIX;
+        }
+        return fileKey.substring(0, extensionIndex) + DELTA_OBJECT_KEY_INFIX + fileKey.substring(extensionIndex);
+    }
+
     @VisibleForTesting
     protected BufferedReader getBufferedReader(InputStream inputStream) {
         return new BufferedReader(new InputStreamReader(inputStream, StandardCharsets.UTF_8));
     }
+
+    private static final class PrefetchedStore {
+        private final Instant hourStart;
+        private final String fileKey;
+        private final String version;
+        private final ModelResultStore store;
+        private final ModelResultFilter filter;
+        private final ModelResultLoadStatistics statistics;
+
+        private PrefetchedStore(Instant hourStart, String fileKey, String version, ModelResultStore store,
+                                ModelResultFilter filter, ModelResultLoadStatistics statistics) {
+            this.hourStart = hourStart;
+            this.fileKey = fileKey;
+            this.version = version;
+            this.store = store;
+            this.filter = filter;
+            this.statistics = statistics;
+        }
+
+        private void release() {
+            store.release();
+        }
+    }
 }
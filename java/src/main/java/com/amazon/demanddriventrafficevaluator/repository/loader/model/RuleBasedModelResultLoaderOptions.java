@@ -0,0 +1,45 @@
+// Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+// SPDX-License-Identifier: Apache-2.0
+
+package com.amazon.demanddriventrafficevaluator.repository.loader.model;
+
+import com.amazon.demanddriventrafficevaluator.repository.filter.ModelResultFilterRegistry;
+import com.amazon.demanddriventrafficevaluator.repository.store.ModelResultStoreFactory;
+import com.amazon.demanddriventrafficevaluator.repository.store.ModelResultStoreRegistry;
+import lombok.Builder;
+import lombok.Getter;
+
+import java.time.Clock;
+
+/**
+ * The optional features of a {@link RuleBasedModelResultLoader}, all disabled by default but the withdrawal of
+ * stale stores.
+ */
+@Builder
+@Getter
+public class RuleBasedModelResultLoaderOptions {
+    // the registry the built filters are published to, or null to disable filtering
+    private final ModelResultFilterRegistry modelResultFilterRegistry;
+    // the target false-positive rate of the filters; 0 disables filtering
+    private final double filterFalsePositiveRate;
+    // the registry the built stores are registered to, or null to load the model results into the cache
+    private final ModelResultStoreRegistry modelResultStoreRegistry;
+    // the factory building the stores, or null to load the model results into the cache
+    private final ModelResultStoreFactory modelResultStoreFactory;
+    // how long a store stays registered while the model result file of the current hour is missing;
+    // 0 keeps it until the file is found again
+    @Builder.Default
+    private final long maxStoreStalenessMs = RuleBasedModelResultLoader.DEFAULT_MAX_STORE_STALENESS_MS;
+    // how many hours back the most recent model result file is looked for when the file of the current hour
+    // is missing; 0 disables the fallback
+    @Builder.Default
+    private final int maxFallbackHours = RuleBasedModelResultLoader.NO_FALLBACK_HOURS;
+    // how many keys, relative to the number of model results, the deltas applied since the last full load may
+    // add and remove before the full model result file is loaded again; 0 disables deltas
+    @Builder.Default
+    private final double maxDeltaOverlayRatio = RuleBasedModelResultLoader.DELTA_DISABLED;
+    // the throttle pacing the rows parsed by loads, or null to parse them at full speed
+    private final ModelResultLoadThrottle loadThrottle;
+    // the clock the hour of the model result file is taken from, or null for the system clock
+    private final Clock clock;
+}
@@ -8,6 +8,8 @@ import com.amazon.demanddriventrafficevaluator.repository.localcache.exception.L
 import com.amazon.demanddriventrafficevaluator.repository.localcache.exception.LocalCacheRegistrationException;
 import com.google.common.cache.Cache;
 
+import java.util.Optional;
+
 /**
  * An interface defining operations for managing local caches.
  * <p>
@@ -45,4 +47,12 @@ public interface LocalCacheRegistry {
      *                                         This could include configuration errors, resource allocation issues, etc.
      */
     void registerCache(LocalCacheBuilderConfig localCacheBuilderConfig) throws LocalCacheRegistrationException;
+
+    /**
+     * Retrieves the configuration a cache was last registered with, without creating the cache.
+     *
+     * @param name The name of the cache.
+     * @return An Optional containing the configuration, or an empty Optional if no cache is registered with the given name.
+     */
+    Optional<LocalCacheBuilderConfig> getCacheConfig(String name);
 }
@@ -12,6 +12,8 @@ import com.amazon.demanddriventrafficevaluator.repository.localcache.exception.L
 import com.google.common.cache.Cache;
 import org.apache.commons.lang3.tuple.ImmutablePair;
 
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
 
 /**
@@ -31,6 +33,8 @@ public class LocalCacheRegistryImpl implements LocalCacheRegistry {
      * This ensures that we minimize the rate of incorrect filtering decisions, lowering our FPR.
      * We apply a 10 minute buffer since refreshes are staggered over 5 minutes, so we want to
      * avoid invalidating the cache prematurely.
+     * Model results are only put into this cache with the Cache model result store type; the other
+     * store types size each store from its model result file and are not subject to these limits.
      */
     public static final LocalCacheBuilderConfig.LocalCacheBuilderConfigBuilder LOCAL_CACHE_BUILDER_CONFIG_BUILDER =
             LocalCacheBuilderConfig.builder()
@@ -50,6 +54,7 @@ public class LocalCacheRegistryImpl implements LocalCacheRegistry {
     private final boolean useDefaultLocalCacheBuilderConfig;
     private final LocalCacheFactory localCacheFactory;
     private final ConcurrentMap<String, ImmutablePair<Integer, Cache>> cacheMap;
+    private final ConcurrentMap<String, LocalCacheBuilderConfig> configMap = new ConcurrentHashMap<>();
 
     public LocalCacheRegistryImpl(boolean useDefaultLocalCacheBuilderConfig,
                                   ConcurrentMap<String, ImmutablePair<Integer, Cache>> cacheMap,
@@ -127,9 +132,21 @@ public class LocalCacheRegistryImpl implements LocalCacheRegistry {
                 cacheMap.put(cacheName, ImmutablePair.of(localCacheBuilderConfig.hashCode(), newCache));
                 existingLocalCache.getRight().cleanUp();
             }
+            configMap.put(cacheName, localCacheBuilderConfig);
         } catch (Exception e) {
             throw new LocalCacheRegistrationException(
                     String.format("Error registering cache with name %s", cacheName), e);
         }
     }
+
+    /**
+     * Retrieves the configuration a cache was last registered with, without creating the cache.
+     *
+     * @param name The name of the cache.
+     * @return An Optional containing the configuration, or an empty Optional if no cache is registered with the given name.
+     */
+    @Override
+    public Optional<LocalCacheBuilderConfig> getCacheConfig(String name) {
+        return Optional.ofNullable(configMap.get(name));
+    }
 }
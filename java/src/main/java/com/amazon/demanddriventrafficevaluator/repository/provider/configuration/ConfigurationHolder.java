@@ -0,0 +1,129 @@
+// Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+// SPDX-License-Identifier: Apache-2.0
+
+package com.amazon.demanddriventrafficevaluator.repository.provider.configuration;
+
+import com.amazon.demanddriventrafficevaluator.repository.entity.Configuration;
+import lombok.extern.log4j.Log4j2;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * A provider holding the current configuration of a type, published by its loader.
+ * <p>
+ * The configuration and its version are held in a single volatile snapshot, so that providing the
+ * configuration on the request path is one volatile read, without any cache lookup or allocation.
+ * Publications are serialized, and each notifies the subscribed listeners in order on the publishing
+ * thread, which lets the objects derived from a configuration be rebuilt once per change.
+ * </p>
+ *
+ * @param <R> The type of Configuration this holder holds.
+ */
+@Log4j2
+public class ConfigurationHolder<R extends Configuration> implements ConfigurationProvider<R> {
+
+    private final String name;
+    private final List<ConfigurationListener<R>> listeners = new CopyOnWriteArrayList<>();
+    private volatile Snapshot<R> snapshot;
+
+    /**
+     * Creates a holder without configuration.
+     *
+     * @param name The name of the configuration, used in error messages.
+     */
+    public ConfigurationHolder(String name) {
+        this.name = name;
+    }
+
+    /**
+     * Provides the current configuration.
+     *
+     * @return The configuration last published.
+     * @throws IllegalStateException if no configuration has been published yet.
+     */
+    @Override
+    public R provide() {
+        Snapshot<R> current = snapshot;
+        if (current == null) {
+            throw new IllegalStateException("Cannot get " + name + ": it has not been loaded yet");
+        }
+        return current.configuration;
+    }
+
+    /**
+     * Returns the version of the current configuration.
+     *
+     * @return The version, starting at 1 for the first publication, or 0 if no configuration has been published.
+     */
+    public long getVersion() {
+        Snapshot<R> current = snapshot;
+        return current == null ? 0L : current.version;
+    }
+
+    /**
+     * Makes the given configuration current and notifies the listeners.
+     * <p>
+     * Every listener is notified even if another one fails; the first failure is then rethrown, with the
+     * others suppressed, so that the loader publishing the configuration reports it.
+     * </p>
+     *
+     * @param configuration The configuration to publish.
+     */
+    public synchronized void publish(R configuration) {
+        if (configuration == null) {
+            throw new IllegalArgumentException("Cannot publish a null " + name);
+        }
+        Snapshot<R> published = new Snapshot<>(configuration, getVersion() + 1L);
+        snapshot = published;
+        RuntimeException failure = null;
+        for (ConfigurationListener<R> listener : listeners) {
+            try {
+                listener.onConfigurationChange(published.configuration, published.version);
+            } catch (RuntimeException e) {
+                log.error("Failed to apply version {} of {}", published.version, name, e);
+                if (failure == null) {
+                    failure = e;
+                } else {
+                    failure.addSuppressed(e);
+                }
+            }
+        }
+        if (failure != null) {
+            throw failure;
+        }
+    }
+
+    /**
+     * Subscribes a listener to the configurations published from now on. The listener is also notified of
+     * the current configuration, if any, before this method returns.
+     *
+     * @param listener The listener to notify.
+     */
+    public synchronized void subscribe(ConfigurationListener<R> listener) {
+        listeners.add(listener);
+        Snapshot<R> current = snapshot;
+        if (current != null) {
+            listener.onConfigurationChange(current.configuration, current.version);
+        }
+    }
+
+    /**
+     * Stops notifying a listener.
+     *
+     * @param listener The listener to remove.
+     */
+    public void unsubscribe(ConfigurationListener<R> listener) {
+        listeners.remove(listener);
+    }
+
+    private static final class Snapshot<R> {
+        private final R configuration;
+        private final long version;
+
+        private Snapshot(R configuration, long version) {
+            this.configuration = configuration;
+            this.version = version;
+        }
+    }
+}
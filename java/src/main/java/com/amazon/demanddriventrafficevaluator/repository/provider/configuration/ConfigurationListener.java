@@ -0,0 +1,23 @@
+// Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+// SPDX-License-Identifier: Apache-2.0
+
+package com.amazon.demanddriventrafficevaluator.repository.provider.configuration;
+
+import com.amazon.demanddriventrafficevaluator.repository.entity.Configuration;
+
+/**
+ * A listener notified of every configuration published to a {@link ConfigurationHolder}, so that the
+ * objects derived from the configuration are rebuilt once per change instead of on every request.
+ *
+ * @param <R> The type of Configuration listened to.
+ */
+@FunctionalInterface
+public interface ConfigurationListener<R extends Configuration> {
+    /**
+     * Handles a new configuration.
+     *
+     * @param configuration The configuration published.
+     * @param version       The version of the configuration, increasing with every publication.
+     */
+    void onConfigurationChange(R configuration, long version);
+}
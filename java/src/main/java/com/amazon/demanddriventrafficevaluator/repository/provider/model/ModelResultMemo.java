@@ -0,0 +1,235 @@
+// Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+// SPDX-License-Identifier: Apache-2.0
+
+package com.amazon.demanddriventrafficevaluator.repository.provider.model;
+
+import com.amazon.demanddriventrafficevaluator.modelfeature.ModelFeature;
+import com.amazon.demanddriventrafficevaluator.repository.entity.ModelResult;
+import com.amazon.demanddriventrafficevaluator.repository.store.ModelResultStoreRegistry;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * A bounded memo of the model results of the transformed feature tuples of each model.
+ * <p>
+ * A small share of the feature tuples covers most of the traffic, so the memo spares building the keys and
+ * looking them up for every request. Entries are keyed by a 64-bit hash of the model identifier and its
+ * feature values, and tagged with the snapshot version of the model's store; an entry only answers for
+ * the version it was computed from, so swapping the store of a model invalidates its entries at once.
+ * Models without a registered store, i.e. whose results live in the local cache, are not memoized, as the
+ * cache is updated in place while the model results are loaded.
+ * </p>
+ * <p>
+ * The memo is a fixed table of slots indexed by the hash, each holding the last entry stored to it, so it
+ * is bounded and lock-free: concurrent stores to a slot race and the last one wins, which only costs a
+ * miss. An entry of an outdated version is overwritten by the next result of its tuple. Memoized results
+ * are shared between the requests and must not be modified.
+ * </p>
+ */
+public class ModelResultMemo {
+
+    // shallow sizes, with compressed references
+    private static final long ENTRY_BYTES = 40L;
+    private static final long MODEL_RESULT_BYTES = 24L;
+    private static final long LIST_BYTES = 40L;
+    private static final long REFERENCE_BYTES = 4L;
+    private static final long STRING_BYTES = 40L;
+    private static final long DOUBLE_BYTES = 16L;
+
+    private final ModelResultStoreRegistry modelResultStoreRegistry;
+    private final AtomicReferenceArray<Entry> entries;
+    private final int mask;
+    private final AtomicInteger entryCount = new AtomicInteger();
+    private final LongAdder memoryFootprintBytes = new LongAdder();
+    private final LongAdder hitCount = new LongAdder();
+    private final LongAdder missCount = new LongAdder();
+
+    /**
+     * Creates a memo.
+     *
+     * @param capacity                 The maximum number of memoized results, rounded up to a power of two.
+     * @param modelResultStoreRegistry The registry providing the snapshot versions of the model stores.
+     */
+    public ModelResultMemo(int capacity, ModelResultStoreRegistry modelResultStoreRegistry) {
+        if (capacity <= 0 || capacity > 1 << 30) {
+            throw new IllegalArgumentException("Invalid model result memo capacity: " + capacity);
+        }
+        int tableSize = Integer.highestOneBit(capacity) == capacity ? capacity : Integer.highestOneBit(capacity) << 1;
+        this.modelResultStoreRegistry = modelResultStoreRegistry;
+        this.entries = new AtomicReferenceArray<>(tableSize);
+        this.mask = tableSize - 1;
+    }
+
+    /**
+     * Returns the memoized model result of the feature tuple, or computes and memoizes it.
+     *
+     * @param modelIdentifier     The identifier of the model.
+     * @param modelFeatures       The transformed features of the request.
+     * @param modelResultSupplier Computes the model result on a miss.
+     * @return The model result of the feature tuple.
+     */
+    public ModelResult getOrCompute(String modelIdentifier, List<ModelFeature> modelFeatures, Supplier<ModelResult> modelResultSupplier) {
+        // read the version before computing, so that a result is never tagged with a later version than its store
+        long snapshotVersion = modelResultStoreRegistry.getSnapshotVersion(modelIdentifier);
+        if (snapshotVersion == ModelResultStoreRegistry.NO_SNAPSHOT || modelFeatures == null) {
+            return modelResultSupplier.get();
+        }
+        long hash = hash(modelIdentifier, modelFeatures);
+        int index = (int) hash & mask;
+        Entry entry = entries.get(index);
+        if (entry != null && entry.matches(snapshotVersion, hash, modelIdentifier, modelFeatures)) {
+            hitCount.increment();
+            return entry.modelResult;
+        }
+        missCount.increment();
+        ModelResult modelResult = modelResultSupplier.get();
+        Entry newEntry = new Entry(modelIdentifier, snapshotVersion, hash, copyValues(modelFeatures), modelResult);
+        Entry previousEntry = entries.getAndSet(index, newEntry);
+        if (previousEntry == null) {
+            entryCount.incrementAndGet();
+        }
+        memoryFootprintBytes.add(newEntry.memoryFootprintBytes - (previousEntry == null ? 0L : previousEntry.memoryFootprintBytes));
+        return modelResult;
+    }
+
+    /**
+     * Returns the maximum number of memoized results.
+     *
+     * @return The number of slots of the memo.
+     */
+    public int getCapacity() {
+        return entries.length();
+    }
+
+    /**
+     * Returns the number of memoized results, including those of outdated store versions not overwritten yet.
+     *
+     * @return The number of occupied slots.
+     */
+    public int getEntryCount() {
+        return entryCount.get();
+    }
+
+    /**
+     * Returns an estimate of the memory held by the memoized results and their feature tuples.
+     *
+     * @return The estimated size of the entries in bytes, excluding the table of slots.
+     */
+    public long getMemoryFootprintBytes() {
+        return memoryFootprintBytes.sum();
+    }
+
+    public long getHitCount() {
+        return hitCount.sum();
+    }
+
+    public long getMissCount() {
+        return missCount.sum();
+    }
+
+    /**
+     * Returns the share of the lookups of memoized models answered from the memo.
+     *
+     * @return The hit rate between 0 and 1, or 0 if there was no lookup.
+     */
+    public double getHitRate() {
+        long hits = hitCount.sum();
+        long lookups = hits + missCount.sum();
+        return lookups == 0L ? 0.0 : (double) hits / lookups;
+    }
+
+    static long hash(String modelIdentifier, List<ModelFeature> modelFeatures) {
+        long hash = mix(modelIdentifier.hashCode());
+        for (ModelFeature modelFeature : modelFeatures) {
+            List<String> values = modelFeature.getValues();
+            // the number of values separates the features, so that moving a value to the next feature changes the hash
+            hash = mix(hash ^ (values == null ? -1 : values.size()));
+            if (values != null) {
+                for (String value : values) {
+                    hash = mix(hash ^ (value == null ? 0 : value.hashCode()));
+                }
+            }
+        }
+        return hash;
+    }
+
+    // the finalizer of MurmurHash3, spreading every input bit over the 64 bits of the hash
+    private static long mix(long hash) {
+        hash = (hash ^ (hash >>> 33)) * 0xff51afd7ed558ccdL;
+        hash = (hash ^ (hash >>> 33)) * 0xc4ceb9fe1a85ec53L;
+        return hash ^ (hash >>> 33);
+    }
+
+    private static List<List<String>> copyValues(List<ModelFeature> modelFeatures) {
+        List<List<String>> values = new ArrayList<>(modelFeatures.size());
+        for (ModelFeature modelFeature : modelFeatures) {
+            values.add(modelFeature.getValues() == null ? null : new ArrayList<>(modelFeature.getValues()));
+        }
+        return values;
+    }
+
+    private static final class Entry {
+        private final String modelIdentifier;
+        private final long snapshotVersion;
+        private final long hash;
+        private final List<List<String>> featureValues;
+        private final ModelResult modelResult;
+        private final long memoryFootprintBytes;
+
+        private Entry(String modelIdentifier, long snapshotVersion, long hash, List<List<String>> featureValues, ModelResult modelResult) {
+            this.modelIdentifier = modelIdentifier;
+            this.snapshotVersion = snapshotVersion;
+            this.hash = hash;
+            this.featureValues = featureValues;
+            this.modelResult = modelResult;
+            this.memoryFootprintBytes = estimateMemoryFootprintBytes(featureValues, modelResult);
+        }
+
+        /**
+         * Checks the version and hash, then the feature values themselves, so that colliding tuples never share results.
+         */
+        private boolean matches(long snapshotVersion, long hash, String modelIdentifier, List<ModelFeature> modelFeatures) {
+            if (this.snapshotVersion != snapshotVersion || this.hash != hash
+                    || !this.modelIdentifier.equals(modelIdentifier) || featureValues.size() != modelFeatures.size()) {
+                return false;
+            }
+            for (int i = 0; i < featureValues.size(); i++) {
+                List<String> values = featureValues.get(i);
+                if (values == null ? modelFeatures.get(i).getValues() != null : !values.equals(modelFeatures.get(i).getValues())) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private static long estimateMemoryFootprintBytes(List<List<String>> featureValues, ModelResult modelResult) {
+            long bytes = ENTRY_BYTES + LIST_BYTES + featureValues.size() * REFERENCE_BYTES;
+            for (List<String> values : featureValues) {
+                bytes += estimateStringListBytes(values);
+            }
+            if (modelResult != null) {
+                bytes += MODEL_RESULT_BYTES + estimateStringListBytes(modelResult.getKeys());
+                if (modelResult.getValues() != null) {
+                    bytes += LIST_BYTES + modelResult.getValues().size() * (REFERENCE_BYTES + DOUBLE_BYTES);
+                }
+            }
+            return bytes;
+        }
+
+        private static long estimateStringListBytes(List<String> values) {
+            if (values == null) {
+                return 0L;
+            }
+            long bytes = LIST_BYTES + values.size() * REFERENCE_BYTES;
+            for (String value : values) {
+                bytes += value == null ? 0L : STRING_BYTES + value.length();
+            }
+            return bytes;
+        }
+    }
+}
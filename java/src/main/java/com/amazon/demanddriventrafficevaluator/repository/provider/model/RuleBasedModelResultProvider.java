@@ -6,6 +6,8 @@ package com.amazon.demanddriventrafficevaluator.repository.provider.model;
 import com.amazon.demanddriventrafficevaluator.modelfeature.ModelFeature;
 import com.amazon.demanddriventrafficevaluator.repository.dao.Dao;
 import com.amazon.demanddriventrafficevaluator.repository.entity.ModelResult;
+import com.amazon.demanddriventrafficevaluator.repository.filter.ModelResultFilter;
+import com.amazon.demanddriventrafficevaluator.repository.filter.ModelResultFilterRegistry;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Optional;
@@ -20,6 +22,14 @@ import lombok.extern.log4j.Log4j2;
  * providing model results based on input features. It uses a DAO to retrieve
  * results from a data store, typically a cache.
  * </p>
+ * <p>
+ * When a model result filter registry is provided, the model's filter is consulted first and keys
+ * that are definitely absent are resolved to the default value without a data store lookup.
+ * </p>
+ * <p>
+ * When a model result memo is provided, the model results of the feature tuples of models served from a
+ * store are memoized, and a repeated tuple skips building and looking up its keys.
+ * </p>
  */
 @Log4j2
 public class RuleBasedModelResultProvider implements ModelResultProvider {
@@ -27,9 +37,25 @@ public class RuleBasedModelResultProvider implements ModelResultProvider {
     private static final String KEY_DELIMITER = "|";
 
     private final Dao<String, Double> ruleBasedModelResultDao;
+    private final ModelResultFilterRegistry modelResultFilterRegistry;
+    private final ModelResultMemo modelResultMemo;
 
     public RuleBasedModelResultProvider(Dao<String, Double> ruleBasedModelResultDao) {
+        this(ruleBasedModelResultDao, null);
+    }
+
+    public RuleBasedModelResultProvider(Dao<String, Double> ruleBasedModelResultDao, ModelResultFilterRegistry modelResultFilterRegistry) {
+        this(ruleBasedModelResultDao, modelResultFilterRegistry, null);
+    }
+
+    public RuleBasedModelResultProvider(
+            Dao<String, Double> ruleBasedModelResultDao,
+            ModelResultFilterRegistry modelResultFilterRegistry,
+            ModelResultMemo modelResultMemo
+    ) {
         this.ruleBasedModelResultDao = ruleBasedModelResultDao;
+        this.modelResultFilterRegistry = modelResultFilterRegistry;
+        this.modelResultMemo = modelResultMemo;
     }
 
     /**
@@ -47,16 +73,28 @@ public class RuleBasedModelResultProvider implements ModelResultProvider {
      */
     @Override
     public ModelResult provide(ModelResultProviderInput input) {
+        if (modelResultMemo == null) {
+            return lookUp(input);
+        }
+        return modelResultMemo.getOrCompute(input.getModelDefinition().getIdentifier(), input.getModelFeatures(), () -> lookUp(input));
+    }
+
+    private ModelResult lookUp(ModelResultProviderInput input) {
         List<String> keys = buildKeys(input.getModelFeatures());
         log.debug("In RuleBasedModelResultProvider keys: {}", keys);
         String cacheIdentifier = input.getModelDefinition().getIdentifier();
         double defaultValue = input.getModelDefinition().getType().getDefaultValue();
+        ModelResultFilter filter = modelResultFilterRegistry == null
+                ? null
+                : modelResultFilterRegistry.get(cacheIdentifier).orElse(null);
 
         List<Double> values = new ArrayList<>(keys.size());
         double value = defaultValue;
         boolean cacheHit = false;
         for (String key: keys) {
-            Optional<Double> keyValue = ruleBasedModelResultDao.get(cacheIdentifier, key);
+            Optional<Double> keyValue = filter != null && !filter.mightContain(key)
+                    ? Optional.empty()
+                    : ruleBasedModelResultDao.get(cacheIdentifier, key);
             if (keyValue.isPresent() && !cacheHit) {
                 cacheHit = true;
                 value = keyValue.get();
@@ -68,6 +106,7 @@ public class RuleBasedModelResultProvider implements ModelResultProvider {
                 .keys(keys)
                 .values(values)
                 .value(value)
+                .hit(cacheHit)
                 .build();
     }
 
@@ -0,0 +1,176 @@
+// Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+// SPDX-License-Identifier: Apache-2.0
+
+package com.amazon.demanddriventrafficevaluator.repository.store;
+
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * An immutable model result store made of a base store and the keys added to and removed from it by
+ * model result deltas.
+ * <p>
+ * Applying a delta copies the added and removed keys of the previous overlay, never the keys of the base
+ * store, so the cost of a new version is proportional to the churn since the base store was built rather
+ * than to the size of the model. Successive deltas are folded into a single overlay over the same base
+ * store, so lookups cost at most two hash set probes before the base store is read.
+ * </p>
+ * <p>
+ * The overlay holds its own reference to the base store, which it releases once the last reference to
+ * the overlay is released, so the base store stays readable while the overlay is live even after the
+ * registry replaced it.
+ * </p>
+ */
+public final class DeltaModelResultStore implements ModelResultStore {
+
+    // a rough estimate of the heap held by one key of a HashSet: the entry, the table slot and the string
+    private static final long BYTES_PER_KEY_OVERHEAD = 96L;
+
+    private final ModelResultStore baseStore;
+    private final Set<String> addedKeys;
+    private final Set<String> removedKeys;
+    private final String version;
+    private final long entryCount;
+    private final long overlayMemoryFootprintBytes;
+    private final AtomicInteger references = new AtomicInteger(1);
+
+    private DeltaModelResultStore(ModelResultStore baseStore, Set<String> addedKeys, Set<String> removedKeys, String version) {
+        this.baseStore = baseStore;
+        this.addedKeys = addedKeys;
+        this.removedKeys = removedKeys;
+        this.version = version;
+        this.entryCount = baseStore.getEntryCount() + addedKeys.size() - removedKeys.size();
+        this.overlayMemoryFootprintBytes = getMemoryFootprintBytes(addedKeys) + getMemoryFootprintBytes(removedKeys);
+    }
+
+    /**
+     * Applies a delta to a store.
+     * <p>
+     * If the store is itself an overlay, the delta is folded into a copy of its added and removed keys over
+     * the same base store. The given store is left unchanged and keeps its own references.
+     * </p>
+     *
+     * @param store       The store of the version the delta is based on.
+     * @param version     The version of the delta, i.e. of the resulting store.
+     * @param addedKeys   The keys added by the delta.
+     * @param removedKeys The keys removed by the delta.
+     * @return The new store, holding one reference.
+     * @throws IllegalStateException if the base store is already released.
+     */
+    public static DeltaModelResultStore apply(ModelResultStore store, String version,
+                                              Collection<String> addedKeys, Collection<String> removedKeys) {
+        ModelResultStore baseStore = store;
+        Set<String> newAddedKeys = new HashSet<>();
+        Set<String> newRemovedKeys = new HashSet<>();
+        if (store instanceof DeltaModelResultStore) {
+            DeltaModelResultStore overlay = (DeltaModelResultStore) store;
+            baseStore = overlay.baseStore;
+            newAddedKeys.addAll(overlay.addedKeys);
+            newRemovedKeys.addAll(overlay.removedKeys);
+        }
+        if (!baseStore.tryAcquire()) {
+            throw new IllegalStateException("Model result store of version " + baseStore.getVersion() + " is already released");
+        }
+        try {
+            for (String key : removedKeys) {
+                newAddedKeys.remove(key);
+                if (baseStore.contains(key)) {
+                    newRemovedKeys.add(key);
+                }
+            }
+            for (String key : addedKeys) {
+                newRemovedKeys.remove(key);
+                if (!baseStore.contains(key)) {
+                    newAddedKeys.add(key);
+                }
+            }
+        } catch (RuntimeException e) {
+            baseStore.release();
+            throw e;
+        }
+        return new DeltaModelResultStore(baseStore, newAddedKeys, newRemovedKeys, version);
+    }
+
+    @Override
+    public boolean contains(String key) {
+        if (removedKeys.contains(key)) {
+            return false;
+        }
+        return addedKeys.contains(key) || baseStore.contains(key);
+    }
+
+    @Override
+    public double getValue() {
+        return baseStore.getValue();
+    }
+
+    @Override
+    public String getVersion() {
+        return version;
+    }
+
+    @Override
+    public long getEntryCount() {
+        return entryCount;
+    }
+
+    /**
+     * Returns the memory held by the overlay and its base store, as the overlay keeps the base store alive.
+     *
+     * @return The estimated size of the store in bytes.
+     */
+    @Override
+    public long getMemoryFootprintBytes() {
+        return baseStore.getMemoryFootprintBytes() + overlayMemoryFootprintBytes;
+    }
+
+    /**
+     * Returns the version of the full model result file the overlay is based on.
+     *
+     * @return The version of the base store.
+     */
+    public String getBaseVersion() {
+        return baseStore.getVersion();
+    }
+
+    /**
+     * Returns the number of keys the overlay adds to or removes from its base store.
+     *
+     * @return The number of added and removed keys.
+     */
+    public long getOverlayEntryCount() {
+        return addedKeys.size() + removedKeys.size();
+    }
+
+    @Override
+    public boolean tryAcquire() {
+        int current;
+        do {
+            current = references.get();
+            if (current <= 0) {
+                return false;
+            }
+        } while (!references.compareAndSet(current, current + 1));
+        return true;
+    }
+
+    @Override
+    public void release() {
+        int remaining = references.decrementAndGet();
+        if (remaining == 0) {
+            baseStore.release();
+        } else if (remaining < 0) {
+            throw new IllegalStateException("Model result store of version " + version + " is released more than acquired");
+        }
+    }
+
+    private static long getMemoryFootprintBytes(Set<String> keys) {
+        long bytes = 0L;
+        for (String key : keys) {
+            bytes += BYTES_PER_KEY_OVERHEAD + 2L * key.length();
+        }
+        return bytes;
+    }
+}
@@ -0,0 +1,67 @@
+// Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+// SPDX-License-Identifier: Apache-2.0
+
+package com.amazon.demanddriventrafficevaluator.repository.store;
+
+import lombok.extern.log4j.Log4j2;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.nio.ByteBuffer;
+
+/**
+ * Frees the native memory of direct and mapped buffers without waiting for the buffers to be collected.
+ * <p>
+ * The JDK offers no public way to free a direct buffer, so this goes through sun.misc.Unsafe#invokeCleaner,
+ * which the jdk.unsupported module keeps accessible. Where it is not available, the memory is returned when
+ * the buffer is collected, as it would be otherwise.
+ * </p>
+ */
+@Log4j2
+final class DirectBuffers {
+
+    private static final Method INVOKE_CLEANER = findInvokeCleaner();
+    private static final Object UNSAFE = INVOKE_CLEANER == null ? null : findUnsafe();
+
+    private DirectBuffers() {
+    }
+
+    /**
+     * Frees the native memory of the buffer, which must not be accessed afterwards.
+     *
+     * @param buffer The buffer, as allocated or mapped, not a slice or duplicate of it.
+     * @return true if the memory was freed, false if it is left to the collection of the buffer.
+     */
+    static boolean free(ByteBuffer buffer) {
+        if (buffer == null || !buffer.isDirect() || UNSAFE == null) {
+            return false;
+        }
+        try {
+            INVOKE_CLEANER.invoke(UNSAFE, buffer);
+            return true;
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            log.debug("Failed to free direct buffer, its memory is returned once it is collected", e);
+            return false;
+        }
+    }
+
+    private static Method findInvokeCleaner() {
+        try {
+            return Class.forName("sun.misc.Unsafe").getMethod("invokeCleaner", ByteBuffer.class);
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            log.warn("Direct buffers cannot be freed explicitly, their memory is returned once they are collected", e);
+            return null;
+        }
+    }
+
+    private static Object findUnsafe() {
+        try {
+            Field theUnsafe = Class.forName("sun.misc.Unsafe").getDeclaredField("theUnsafe");
+            theUnsafe.setAccessible(true);
+            return theUnsafe.get(null);
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            log.warn("Direct buffers cannot be freed explicitly, their memory is returned once they are collected", e);
+            return null;
+        }
+    }
+}
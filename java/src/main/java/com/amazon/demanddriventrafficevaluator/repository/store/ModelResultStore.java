@@ -0,0 +1,72 @@
+// Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+// SPDX-License-Identifier: Apache-2.0
+
+package com.amazon.demanddriventrafficevaluator.repository.store;
+
+/**
+ * An immutable snapshot of the results of one model, as loaded from one version of its model result file.
+ * <p>
+ * Every line of a rule-based model result file is a key tuple, and every listed tuple carries the same
+ * value, determined by the model type. A store therefore only needs to answer membership queries for
+ * keys and report the single value of its members. A new store is built on every reload and swapped in
+ * as a whole, so readers never observe a partially loaded model.
+ * </p>
+ * <p>
+ * Stores holding resources outside the heap are reference counted. The registry holds one reference
+ * to the live store and releases it when the store is replaced; readers acquire a reference around
+ * their lookups, so the resources are freed only once the last in-flight reader is done.
+ * </p>
+ */
+public interface ModelResultStore {
+
+    /**
+     * Checks whether the key is listed in the model result file.
+     *
+     * @param key The model result key.
+     * @return true if the key is a member of the store, false otherwise.
+     */
+    boolean contains(String key);
+
+    /**
+     * Returns the value of every key in the store.
+     *
+     * @return The model result value of the store's keys.
+     */
+    double getValue();
+
+    /**
+     * Returns the version of the model result file the store was built from, typically its ETag.
+     *
+     * @return The version of the model result file.
+     */
+    String getVersion();
+
+    /**
+     * Returns the number of distinct keys in the store.
+     *
+     * @return The number of keys.
+     */
+    long getEntryCount();
+
+    /**
+     * Returns an estimate of the memory held by the store.
+     *
+     * @return The estimated size of the store in bytes.
+     */
+    long getMemoryFootprintBytes();
+
+    /**
+     * Acquires a reference to the store before reading from it.
+     *
+     * @return true if the reference was acquired, false if the store is already released and must not be read.
+     */
+    default boolean tryAcquire() {
+        return true;
+    }
+
+    /**
+     * Releases a reference acquired by {@link #tryAcquire()}, or the registry's reference to the store.
+     */
+    default void release() {
+    }
+}
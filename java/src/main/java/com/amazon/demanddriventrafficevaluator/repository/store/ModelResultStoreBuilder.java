@@ -0,0 +1,31 @@
+// Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+// SPDX-License-Identifier: Apache-2.0
+
+package com.amazon.demanddriventrafficevaluator.repository.store;
+
+/**
+ * Collects the keys of a model result file while it is streamed and builds a {@link ModelResultStore}.
+ */
+public interface ModelResultStoreBuilder {
+
+    /**
+     * Adds one key, i.e. one line of the model result file.
+     *
+     * @param key The model result key.
+     */
+    void put(String key);
+
+    /**
+     * Builds the store from all keys added so far.
+     *
+     * @return The built store.
+     * @throws IllegalStateException if the store cannot be built.
+     */
+    ModelResultStore build();
+
+    /**
+     * Discards the keys added so far, e.g. when the load of the model result file fails or is cancelled.
+     * Does nothing once the store is built.
+     */
+    void abort();
+}
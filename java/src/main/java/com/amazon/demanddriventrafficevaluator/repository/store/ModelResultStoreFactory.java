@@ -0,0 +1,76 @@
+// Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+// SPDX-License-Identifier: Apache-2.0
+
+package com.amazon.demanddriventrafficevaluator.repository.store;
+
+import java.util.Optional;
+
+/**
+ * A factory for one kind of {@link ModelResultStore}.
+ * <p>
+ * The model result loader asks the factory for a builder whenever a new version of a model result file
+ * is detected. Factories that persist built stores can also restore a store for a version that was
+ * built before, so that the file does not need to be parsed again. Factories sharing stores between
+ * processes also report the version published by another process, so that the file does not even
+ * need to be downloaded.
+ * </p>
+ */
+public interface ModelResultStoreFactory {
+
+    /**
+     * Creates a builder for a new store.
+     *
+     * @param modelIdentifier The identifier of the model.
+     * @param version         The version of the model result file, typically its ETag.
+     * @param value           The value of every key in the model result file.
+     * @return A new builder.
+     */
+    ModelResultStoreBuilder newBuilder(String modelIdentifier, String version, double value);
+
+    /**
+     * Creates a builder for a new store built from the given model result file.
+     *
+     * @param modelIdentifier The identifier of the model.
+     * @param version         The version of the model result file, typically its ETag.
+     * @param value           The value of every key in the model result file.
+     * @param sourceKey       The key of the model result file.
+     * @return A new builder.
+     */
+    default ModelResultStoreBuilder newBuilder(String modelIdentifier, String version, double value, String sourceKey) {
+        return newBuilder(modelIdentifier, version, value);
+    }
+
+    /**
+     * Restores a previously built store for the given version of the model result file.
+     *
+     * @param modelIdentifier The identifier of the model.
+     * @param version         The version of the model result file, typically its ETag.
+     * @param value           The value of every key in the model result file.
+     * @return An Optional containing the restored store, or an empty Optional if there is none.
+     */
+    default Optional<ModelResultStore> restore(String modelIdentifier, String version, double value) {
+        return Optional.empty();
+    }
+
+    /**
+     * Returns the model's store published by another process, whose version can be restored through
+     * {@link #restore(String, String, double)} instead of reading the model result file.
+     *
+     * @param modelIdentifier The identifier of the model.
+     * @return An Optional containing the published store, or an empty Optional if this process has to
+     * read the model result file itself.
+     */
+    default Optional<PublishedModelResultStore> getPublishedStore(String modelIdentifier) {
+        return Optional.empty();
+    }
+
+    /**
+     * Returns whether the stores built by this factory are published to other processes once built, in
+     * which case a store must not be built ahead of the time it is meant to be used.
+     *
+     * @return true if built stores are visible to other processes.
+     */
+    default boolean isSharedAcrossProcesses() {
+        return false;
+    }
+}
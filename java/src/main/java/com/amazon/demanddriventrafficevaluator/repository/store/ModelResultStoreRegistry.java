@@ -0,0 +1,152 @@
+// Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+// SPDX-License-Identifier: Apache-2.0
+
+package com.amazon.demanddriventrafficevaluator.repository.store;
+
+import com.amazon.demanddriventrafficevaluator.repository.store.exception.ModelResultStoreMemoryBudgetExceededException;
+
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * A registry holding the live {@link ModelResultStore} of each model.
+ * <p>
+ * The model result loader registers a new store once it is fully built, which atomically replaces
+ * the previous store of the model. Stores held by the registry are never evicted or expired.
+ * </p>
+ * <p>
+ * The registry owns one reference to every registered store and releases it when the store is
+ * replaced or deregistered.
+ * </p>
+ * <p>
+ * With a memory budget, the registry rejects a store whose registration would make the registered
+ * stores use more memory than the budget, so that a model too large to fit fails to load instead of
+ * displacing other models. The previous store of the model stays live in that case. The budget covers
+ * registered stores only; while a model is reloaded its new store is built next to the previous one.
+ * </p>
+ * <p>
+ * Every registration gets a new snapshot version, unique across models and never reused, so that results
+ * derived from a store can be tagged with the version of the store and dropped once it is replaced.
+ * </p>
+ */
+public class ModelResultStoreRegistry {
+
+    public static final long UNLIMITED_MEMORY_BUDGET = 0L;
+    public static final long NO_SNAPSHOT = 0L;
+
+    private final ConcurrentMap<String, ModelResultStore> storeByModelIdentifier;
+    private final ConcurrentMap<String, Long> snapshotVersionByModelIdentifier = new ConcurrentHashMap<>();
+    private final long memoryBudgetBytes;
+    private long lastSnapshotVersion = NO_SNAPSHOT;
+    private long memoryFootprintBytes = 0L;
+    private long rejectedRegistrationCount = 0L;
+
+    public ModelResultStoreRegistry(ConcurrentMap<String, ModelResultStore> storeByModelIdentifier) {
+        this(storeByModelIdentifier, UNLIMITED_MEMORY_BUDGET);
+    }
+
+    /**
+     * Creates a registry with a memory budget.
+     *
+     * @param storeByModelIdentifier The map holding the registered stores.
+     * @param memoryBudgetBytes      The maximum memory footprint of all registered stores in bytes,
+     *                               or {@link #UNLIMITED_MEMORY_BUDGET}.
+     */
+    public ModelResultStoreRegistry(ConcurrentMap<String, ModelResultStore> storeByModelIdentifier, long memoryBudgetBytes) {
+        if (memoryBudgetBytes < 0L) {
+            throw new IllegalArgumentException("Invalid model result store memory budget: " + memoryBudgetBytes);
+        }
+        this.storeByModelIdentifier = storeByModelIdentifier;
+        this.memoryBudgetBytes = memoryBudgetBytes;
+    }
+
+    public Optional<ModelResultStore> get(String modelIdentifier) {
+        return Optional.ofNullable(storeByModelIdentifier.get(modelIdentifier));
+    }
+
+    /**
+     * Registers the store of a model, replacing and releasing its previous store.
+     *
+     * @param modelIdentifier The identifier of the model.
+     * @param store           The new store of the model.
+     * @throws ModelResultStoreMemoryBudgetExceededException if the store does not fit in the memory budget;
+     *                                                       the store is not registered and not released.
+     */
+    public synchronized void register(String modelIdentifier, ModelResultStore store) {
+        ModelResultStore previousStore = storeByModelIdentifier.get(modelIdentifier);
+        if (previousStore == store) {
+            return;
+        }
+        long previousFootprintBytes = previousStore == null ? 0L : previousStore.getMemoryFootprintBytes();
+        long newMemoryFootprintBytes = memoryFootprintBytes - previousFootprintBytes + store.getMemoryFootprintBytes();
+        if (memoryBudgetBytes != UNLIMITED_MEMORY_BUDGET && newMemoryFootprintBytes > memoryBudgetBytes) {
+            rejectedRegistrationCount++;
+            throw new ModelResultStoreMemoryBudgetExceededException(String.format(
+                    "Model result store of model %s needs %d bytes, but only %d of the %d bytes memory budget are free",
+                    modelIdentifier, store.getMemoryFootprintBytes(),
+                    memoryBudgetBytes - memoryFootprintBytes + previousFootprintBytes, memoryBudgetBytes));
+        }
+        storeByModelIdentifier.put(modelIdentifier, store);
+        // the version is set after the store, so that a reader seeing the version also sees the store
+        snapshotVersionByModelIdentifier.put(modelIdentifier, ++lastSnapshotVersion);
+        memoryFootprintBytes = newMemoryFootprintBytes;
+        if (previousStore != null) {
+            previousStore.release();
+        }
+    }
+
+    public synchronized void deregister(String modelIdentifier) {
+        snapshotVersionByModelIdentifier.remove(modelIdentifier);
+        ModelResultStore previousStore = storeByModelIdentifier.remove(modelIdentifier);
+        if (previousStore != null) {
+            memoryFootprintBytes -= previousStore.getMemoryFootprintBytes();
+            previousStore.release();
+        }
+    }
+
+    /**
+     * Returns the snapshot version of the store of a model.
+     * <p>
+     * A result read after this method returned a version was read from the store of that version or from
+     * a later one, never from an earlier one.
+     * </p>
+     *
+     * @param modelIdentifier The identifier of the model.
+     * @return The version of the registered store, or {@link #NO_SNAPSHOT} if no store is registered.
+     */
+    public long getSnapshotVersion(String modelIdentifier) {
+        return snapshotVersionByModelIdentifier.getOrDefault(modelIdentifier, NO_SNAPSHOT);
+    }
+
+    /**
+     * Returns the memory footprint of all registered stores.
+     *
+     * @return The sum of the memory footprints of the registered stores in bytes.
+     */
+    public synchronized long getMemoryFootprintBytes() {
+        return memoryFootprintBytes;
+    }
+
+    public long getMemoryBudgetBytes() {
+        return memoryBudgetBytes;
+    }
+
+    /**
+     * Returns the number of stores rejected because they did not fit in the memory budget.
+     *
+     * @return The number of rejected registrations since the registry was created.
+     */
+    public synchronized long getRejectedRegistrationCount() {
+        return rejectedRegistrationCount;
+    }
+
+    /**
+     * Returns the number of entries in all registered stores.
+     *
+     * @return The sum of the entry counts of the registered stores.
+     */
+    public long getEntryCount() {
+        return storeByModelIdentifier.values().stream().mapToLong(ModelResultStore::getEntryCount).sum();
+    }
+}
@@ -0,0 +1,15 @@
+// Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+// SPDX-License-Identifier: Apache-2.0
+
+package com.amazon.demanddriventrafficevaluator.repository.store;
+
+public enum ModelResultStoreType {
+    Cache,  // model results are put into the local cache one by one
+    PerfectHash,  // model results are loaded into a PerfectHashModelResultStore
+    OffHeap,  // model results are loaded into an OffHeapModelResultStore
+    Shared;  // model results are loaded into an OffHeapModelResultStore shared by all processes on the host
+
+    public static ModelResultStoreType fromString(String value) {
+        return ModelResultStoreType.valueOf(value);
+    }
+}
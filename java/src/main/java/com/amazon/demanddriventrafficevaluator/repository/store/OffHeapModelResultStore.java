@@ -0,0 +1,350 @@
+// Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+// SPDX-License-Identifier: Apache-2.0
+
+package com.amazon.demanddriventrafficevaluator.repository.store;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntFunction;
+
+/**
+ * An immutable model result store kept outside the Java heap, in a single direct or mapped ByteBuffer.
+ * <p>
+ * The buffer holds a header, an open-addressing hash index and the UTF-8 bytes of every key:
+ * <ul>
+ *   <li>header: magic, format version, value, entry count, index capacity, index and data offsets, version</li>
+ *   <li>index: one 8-byte slot per bucket, holding the upper 32 bits of the key hash and the key's offset
+ *   in the data region plus one, or 0 for an empty bucket</li>
+ *   <li>data: one record per key, holding the 2-byte length and the UTF-8 bytes of the key</li>
+ * </ul>
+ * Lookups hash the UTF-8 encoding of the key while walking its chars and compare it against the stored
+ * bytes in place, so no byte array is allocated per lookup and nothing of the model is scanned by the GC.
+ * </p>
+ * <p>
+ * The store is reference counted: it is created with one reference owned by the registry, readers
+ * acquire a reference around their lookups, and the buffer is dropped and the release callback run
+ * (e.g. to delete a mapped file) once the last reference is released. A store owning its buffer, such as
+ * one it built, also frees or unmaps the buffer then rather than when the buffer is collected, so lookups
+ * must never run on a store without holding a reference.
+ * </p>
+ */
+public final class OffHeapModelResultStore implements ModelResultStore {
+
+    static final int MAGIC = 0x4F484D53;
+    static final int FORMAT_VERSION = 1;
+
+    private static final int MAGIC_OFFSET = 0;
+    private static final int FORMAT_VERSION_OFFSET = 4;
+    private static final int VALUE_OFFSET = 8;
+    private static final int ENTRY_COUNT_OFFSET = 16;
+    private static final int CAPACITY_OFFSET = 20;
+    private static final int INDEX_OFFSET_OFFSET = 24;
+    private static final int DATA_OFFSET_OFFSET = 28;
+    private static final int DATA_LENGTH_OFFSET = 32;
+    private static final int VERSION_LENGTH_OFFSET = 36;
+    private static final int VERSION_OFFSET = 38;
+
+    static final int KEY_LENGTH_BYTES = 2;
+    private static final int SLOT_BYTES = 8;
+    private static final int MAX_VERSION_BYTES = 0xFFFF;
+    private static final long FNV_OFFSET_BASIS = 0xCBF29CE484222325L;
+    private static final long FNV_PRIME = 0x100000001B3L;
+
+    private final String version;
+    private final double value;
+    private final int entryCount;
+    private final int capacity;
+    private final int indexOffset;
+    private final int dataOffset;
+    private final long memoryFootprintBytes;
+    private final boolean ownsBuffer;
+    private final Runnable onRelease;
+    private final AtomicInteger references = new AtomicInteger(1);
+    private volatile ByteBuffer buffer;
+
+    private OffHeapModelResultStore(ByteBuffer buffer, boolean ownsBuffer, Runnable onRelease) {
+        if (buffer.capacity() < VERSION_OFFSET
+                || buffer.getInt(MAGIC_OFFSET) != MAGIC
+                || buffer.getInt(FORMAT_VERSION_OFFSET) != FORMAT_VERSION) {
+            throw new IllegalStateException("Not an off-heap model result store");
+        }
+        this.value = buffer.getDouble(VALUE_OFFSET);
+        this.entryCount = buffer.getInt(ENTRY_COUNT_OFFSET);
+        this.capacity = buffer.getInt(CAPACITY_OFFSET);
+        this.indexOffset = buffer.getInt(INDEX_OFFSET_OFFSET);
+        this.dataOffset = buffer.getInt(DATA_OFFSET_OFFSET);
+        int versionLength = buffer.getShort(VERSION_LENGTH_OFFSET) & 0xFFFF;
+        if (Integer.bitCount(capacity) != 1
+                || (long) indexOffset + (long) capacity * SLOT_BYTES != dataOffset
+                || (long) dataOffset + buffer.getInt(DATA_LENGTH_OFFSET) > buffer.capacity()
+                || VERSION_OFFSET + versionLength > indexOffset) {
+            throw new IllegalStateException("Corrupted off-heap model result store");
+        }
+        byte[] versionBytes = new byte[versionLength];
+        for (int i = 0; i < versionLength; i++) {
+            versionBytes[i] = buffer.get(VERSION_OFFSET + i);
+        }
+        this.version = new String(versionBytes, StandardCharsets.UTF_8);
+        this.memoryFootprintBytes = buffer.capacity();
+        this.ownsBuffer = ownsBuffer;
+        this.onRelease = onRelease;
+        this.buffer = buffer;
+    }
+
+    /**
+     * Opens a store over a buffer laid out by {@link #build(StagedRecords, String, double, IntFunction, Runnable)}.
+     *
+     * @param buffer    The buffer holding the store; it is not copied, nor freed by the store.
+     * @param onRelease The callback run once the last reference to the store is released.
+     * @return The store, holding one reference.
+     * @throws IllegalStateException if the buffer does not hold a store.
+     */
+    public static OffHeapModelResultStore open(ByteBuffer buffer, Runnable onRelease) {
+        return new OffHeapModelResultStore(buffer, false, onRelease);
+    }
+
+    /**
+     * Opens a store taking over a buffer, e.g. a mapping of a store file, which it frees once released.
+     */
+    static OffHeapModelResultStore openOwned(ByteBuffer buffer, Runnable onRelease) {
+        return new OffHeapModelResultStore(buffer, true, onRelease);
+    }
+
+    /**
+     * Lays out a store in a buffer obtained from the allocator and opens it. The store owns the buffer.
+     *
+     * @param records   The staged key records.
+     * @param version   The version of the model result file.
+     * @param value     The value of every key.
+     * @param allocator Allocates a writable buffer of the requested size, e.g. direct or mapped.
+     * @param onRelease The callback run once the last reference to the store is released and its buffer freed.
+     * @return The store, holding one reference.
+     * @throws IllegalStateException if the store would not fit in one buffer.
+     */
+    static OffHeapModelResultStore build(StagedRecords records, String version, double value,
+                                         IntFunction<ByteBuffer> allocator, Runnable onRelease) {
+        byte[] versionBytes = version.getBytes(StandardCharsets.UTF_8);
+        if (versionBytes.length > MAX_VERSION_BYTES) {
+            throw new IllegalStateException("Model result file version is too long: " + version);
+        }
+        int recordCount = records.getCount();
+        int dataLength = records.getLength();
+        int capacity = Integer.highestOneBit(Math.max(2, recordCount) * 2 - 1) << 1;
+        int indexOffset = (VERSION_OFFSET + versionBytes.length + SLOT_BYTES - 1) & -SLOT_BYTES;
+        long dataOffset = indexOffset + (long) capacity * SLOT_BYTES;
+        long size = dataOffset + dataLength;
+        if (recordCount > Integer.MAX_VALUE / 4 || size > Integer.MAX_VALUE) {
+            throw new IllegalStateException("Too many model results for an off-heap store: " + recordCount);
+        }
+
+        ByteBuffer buffer = allocator.apply((int) size);
+        buffer.putInt(MAGIC_OFFSET, MAGIC);
+        buffer.putInt(FORMAT_VERSION_OFFSET, FORMAT_VERSION);
+        buffer.putDouble(VALUE_OFFSET, value);
+        buffer.putInt(CAPACITY_OFFSET, capacity);
+        buffer.putInt(INDEX_OFFSET_OFFSET, indexOffset);
+        buffer.putInt(DATA_OFFSET_OFFSET, (int) dataOffset);
+        buffer.putInt(DATA_LENGTH_OFFSET, dataLength);
+        buffer.putShort(VERSION_LENGTH_OFFSET, (short) versionBytes.length);
+        for (int i = 0; i < versionBytes.length; i++) {
+            buffer.put(VERSION_OFFSET + i, versionBytes[i]);
+        }
+        for (int i = 0; i < capacity; i++) {
+            buffer.putLong(indexOffset + i * SLOT_BYTES, 0L);
+        }
+        records.copyTo(buffer, (int) dataOffset);
+
+        int entryCount = 0;
+        int mask = capacity - 1;
+        int recordOffset = 0;
+        while (recordOffset < dataLength) {
+            int position = (int) dataOffset + recordOffset;
+            int length = buffer.getShort(position) & 0xFFFF;
+            long hash = hashBytes(buffer, position + KEY_LENGTH_BYTES, length);
+            int tag = (int) (hash >>> 32);
+            int bucket = (int) hash & mask;
+            boolean duplicate = false;
+            long slot;
+            while ((slot = buffer.getLong(indexOffset + bucket * SLOT_BYTES)) != 0L) {
+                if ((int) (slot >>> 32) == tag && recordEquals(buffer, (int) dataOffset + (int) slot - 1, position)) {
+                    duplicate = true;
+                    break;
+                }
+                bucket = (bucket + 1) & mask;
+            }
+            if (!duplicate) {
+                buffer.putLong(indexOffset + bucket * SLOT_BYTES, ((long) tag << 32) | ((recordOffset + 1) & 0xFFFFFFFFL));
+                entryCount++;
+            }
+            recordOffset += KEY_LENGTH_BYTES + length;
+        }
+        buffer.putInt(ENTRY_COUNT_OFFSET, entryCount);
+        return new OffHeapModelResultStore(buffer, true, onRelease);
+    }
+
+    @Override
+    public boolean contains(String key) {
+        ByteBuffer current = buffer;
+        if (current == null) {
+            throw new IllegalStateException("Model result store of version " + version + " is already released");
+        }
+        long hash = hashUtf8(key);
+        int tag = (int) (hash >>> 32);
+        int mask = capacity - 1;
+        int bucket = (int) hash & mask;
+        long slot;
+        while ((slot = current.getLong(indexOffset + bucket * SLOT_BYTES)) != 0L) {
+            if ((int) (slot >>> 32) == tag) {
+                int position = dataOffset + (int) slot - 1;
+                int length = current.getShort(position) & 0xFFFF;
+                if (equalsUtf8(key, current, position + KEY_LENGTH_BYTES, length)) {
+                    return true;
+                }
+            }
+            bucket = (bucket + 1) & mask;
+        }
+        return false;
+    }
+
+    @Override
+    public boolean tryAcquire() {
+        int current;
+        do {
+            current = references.get();
+            if (current <= 0) {
+                return false;
+            }
+        } while (!references.compareAndSet(current, current + 1));
+        return true;
+    }
+
+    @Override
+    public void release() {
+        int remaining = references.decrementAndGet();
+        if (remaining == 0) {
+            ByteBuffer releasedBuffer = buffer;
+            buffer = null;
+            if (ownsBuffer) {
+                DirectBuffers.free(releasedBuffer);
+            }
+            if (onRelease != null) {
+                onRelease.run();
+            }
+        } else if (remaining < 0) {
+            throw new IllegalStateException("Model result store of version " + version + " is released more than acquired");
+        }
+    }
+
+    public boolean isReleased() {
+        return references.get() <= 0;
+    }
+
+    @Override
+    public double getValue() {
+        return value;
+    }
+
+    @Override
+    public String getVersion() {
+        return version;
+    }
+
+    @Override
+    public long getEntryCount() {
+        return entryCount;
+    }
+
+    @Override
+    public long getMemoryFootprintBytes() {
+        return memoryFootprintBytes;
+    }
+
+    private static boolean recordEquals(ByteBuffer buffer, int position, int otherPosition) {
+        int length = buffer.getShort(position) & 0xFFFF;
+        if (length != (buffer.getShort(otherPosition) & 0xFFFF)) {
+            return false;
+        }
+        for (int i = 0; i < length; i++) {
+            if (buffer.get(position + KEY_LENGTH_BYTES + i) != buffer.get(otherPosition + KEY_LENGTH_BYTES + i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static long hashBytes(ByteBuffer buffer, int position, int length) {
+        long hash = FNV_OFFSET_BASIS;
+        for (int i = 0; i < length; i++) {
+            hash = (hash ^ (buffer.get(position + i) & 0xFF)) * FNV_PRIME;
+        }
+        return mix(hash);
+    }
+
+    private static long hashUtf8(String key) {
+        long hash = FNV_OFFSET_BASIS;
+        int i = 0;
+        while (i < key.length()) {
+            long encoded = encodeUtf8(key, i);
+            int byteCount = (int) (encoded >>> 32);
+            for (int shift = (byteCount - 1) * 8; shift >= 0; shift -= 8) {
+                hash = (hash ^ (((int) encoded >>> shift) & 0xFF)) * FNV_PRIME;
+            }
+            i += byteCount == 4 ? 2 : 1;
+        }
+        return mix(hash);
+    }
+
+    private static boolean equalsUtf8(String key, ByteBuffer buffer, int position, int length) {
+        int end = position + length;
+        int i = 0;
+        while (i < key.length()) {
+            long encoded = encodeUtf8(key, i);
+            int byteCount = (int) (encoded >>> 32);
+            if (position + byteCount > end) {
+                return false;
+            }
+            for (int shift = (byteCount - 1) * 8; shift >= 0; shift -= 8) {
+                if ((buffer.get(position++) & 0xFF) != (((int) encoded >>> shift) & 0xFF)) {
+                    return false;
+                }
+            }
+            i += byteCount == 4 ? 2 : 1;
+        }
+        return position == end;
+    }
+
+    /**
+     * Encodes the code point at the given index as UTF-8, the same way String.getBytes does.
+     *
+     * @return The number of bytes in the upper 32 bits and the bytes, first byte highest, in the lower 32 bits.
+     */
+    private static long encodeUtf8(String key, int index) {
+        char c = key.charAt(index);
+        if (c < 0x80) {
+            return 1L << 32 | c;
+        }
+        if (c < 0x800) {
+            return 2L << 32 | (0xC0 | c >>> 6) << 8 | (0x80 | c & 0x3F);
+        }
+        if (Character.isSurrogate(c)) {
+            if (Character.isHighSurrogate(c) && index + 1 < key.length() && Character.isLowSurrogate(key.charAt(index + 1))) {
+                int codePoint = Character.toCodePoint(c, key.charAt(index + 1));
+                return 4L << 32 | (0xFFFFFFFFL & ((0xF0 | codePoint >>> 18) << 24
+                        | (0x80 | codePoint >>> 12 & 0x3F) << 16
+                        | (0x80 | codePoint >>> 6 & 0x3F) << 8
+                        | (0x80 | codePoint & 0x3F)));
+            }
+            // unpaired surrogates are encoded as '?'
+            return 1L << 32 | '?';
+        }
+        return 3L << 32 | (0xE0 | c >>> 12) << 16 | (0x80 | c >>> 6 & 0x3F) << 8 | (0x80 | c & 0x3F);
+    }
+
+    private static long mix(long hash) {
+        // splitmix64 finalizer, spreading the FNV hash over the bucket and tag bits
+        hash = (hash ^ (hash >>> 30)) * 0xBF58476D1CE4E5B9L;
+        hash = (hash ^ (hash >>> 27)) * 0x94D049BB133111EBL;
+        return hash ^ (hash >>> 31);
+    }
+}
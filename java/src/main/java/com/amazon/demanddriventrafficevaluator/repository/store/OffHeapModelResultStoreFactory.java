@@ -0,0 +1,103 @@
+// Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+// SPDX-License-Identifier: Apache-2.0
+
+package com.amazon.demanddriventrafficevaluator.repository.store;
+
+import lombok.extern.log4j.Log4j2;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * A factory for {@link OffHeapModelResultStore}s.
+ * <p>
+ * Without a directory, every store lives in a direct ByteBuffer. With a directory, every store is
+ * written to a new file in that directory and memory-mapped, so that its pages are managed by the
+ * operating system's page cache; the file is deleted once the store is released, i.e. once it was
+ * replaced by a newer load and the last lookup on it has finished. The keys are staged on the heap while
+ * the model result file is read, so that the direct buffer or mapping is allocated once, at its exact size,
+ * and it is freed or unmapped as soon as the store is released.
+ * </p>
+ */
+@Log4j2
+public class OffHeapModelResultStoreFactory implements ModelResultStoreFactory {
+
+    private static final String FILE_EXTENSION = ".ohs";
+
+    private final Path directory;
+
+    /**
+     * Creates a factory.
+     *
+     * @param directory The directory the stores are mapped from, or null to keep them in direct buffers.
+     */
+    public OffHeapModelResultStoreFactory(Path directory) {
+        this.directory = directory;
+    }
+
+    @Override
+    public ModelResultStoreBuilder newBuilder(String modelIdentifier, String version, double value) {
+        return new ModelResultStoreBuilder() {
+            private StagedRecords records = new StagedRecords();
+
+            @Override
+            public void put(String key) {
+                records.append(key);
+            }
+
+            @Override
+            public ModelResultStore build() {
+                StagedRecords stagedRecords = records;
+                records = null;
+                if (directory == null) {
+                    return OffHeapModelResultStore.build(stagedRecords, version, value, ByteBuffer::allocateDirect, null);
+                }
+                Path file = createFile(directory, modelIdentifier);
+                try {
+                    return OffHeapModelResultStore.build(stagedRecords, version, value,
+                            size -> map(file, size), () -> deleteQuietly(file));
+                } catch (RuntimeException e) {
+                    deleteQuietly(file);
+                    throw e;
+                }
+            }
+
+            @Override
+            public void abort() {
+                records = null;
+            }
+        };
+    }
+
+    static Path createFile(Path directory, String modelIdentifier) {
+        try {
+            Files.createDirectories(directory);
+            return Files.createTempFile(directory, modelIdentifier.replaceAll("[^A-Za-z0-9_-]", "_") + ".", FILE_EXTENSION);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to create off-heap store file in " + directory, e);
+        }
+    }
+
+    static MappedByteBuffer map(Path file, int size) {
+        // the mapping stays valid after the channel is closed
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            return channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to map off-heap store file " + file, e);
+        }
+    }
+
+    static void deleteQuietly(Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            log.warn("Failed to delete file {}", file, e);
+        }
+    }
+}
@@ -0,0 +1,346 @@
+// Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+// SPDX-License-Identifier: Apache-2.0
+
+package com.amazon.demanddriventrafficevaluator.repository.store;
+
+import com.google.common.hash.HashFunction;
+import com.google.common.hash.Hashing;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.Supplier;
+
+/**
+ * An immutable model result store indexed by a minimal perfect hash function.
+ * <p>
+ * The key set is indexed with a BBHash-style minimal perfect hash function: keys are hashed into a
+ * cascade of bit arrays, each key lands in the first level where it does not collide with another
+ * key, and the rank of its bit over all levels is its slot. Every slot holds a 24-bit fingerprint of
+ * the key that owns it, so keys that are not members are rejected with a false-positive probability
+ * of about 6e-8. The store takes about 3.5 bytes per key regardless of key length, and a lookup reads
+ * one or two cache lines per level visited.
+ * </p>
+ * <p>
+ * Duplicated keys are collapsed before construction. Keys that are still not placed after the last
+ * level are kept in a small sorted overflow array of full hashes instead.
+ * </p>
+ */
+public final class PerfectHashModelResultStore implements ModelResultStore {
+
+    private static final HashFunction HASH_FUNCTION = Hashing.murmur3_128();
+    private static final int FILE_MAGIC = 0x4D504853;
+    private static final int FILE_FORMAT_VERSION = 1;
+    private static final double GAMMA = 2.0;
+    private static final int MAX_LEVELS = 24;
+    private static final int FINGERPRINT_SEED = MAX_LEVELS;
+    private static final int FINGERPRINT_BYTES = 3;
+    private static final int WORDS_PER_RANK_BLOCK = 8;
+    private static final int MAX_KEY_COUNT = 500_000_000;
+
+    private final String version;
+    private final double value;
+    private final long[] bits;
+    private final int[] levelWordOffsets;
+    private final int[] ranks;
+    private final byte[] fingerprints;
+    private final long[] overflowHashes;
+    private final int slotCount;
+
+    private PerfectHashModelResultStore(String version, double value, long[] bits, int[] levelWordOffsets,
+                                        byte[] fingerprints, long[] overflowHashes) {
+        this.version = version;
+        this.value = value;
+        this.bits = bits;
+        this.levelWordOffsets = levelWordOffsets;
+        this.overflowHashes = overflowHashes;
+        this.ranks = new int[(bits.length + WORDS_PER_RANK_BLOCK - 1) / WORDS_PER_RANK_BLOCK];
+        int rank = 0;
+        for (int word = 0; word < bits.length; word++) {
+            if (word % WORDS_PER_RANK_BLOCK == 0) {
+                ranks[word / WORDS_PER_RANK_BLOCK] = rank;
+            }
+            rank += Long.bitCount(bits[word]);
+        }
+        this.slotCount = rank;
+        this.fingerprints = fingerprints == null ? new byte[slotCount * FINGERPRINT_BYTES] : fingerprints;
+        if (this.fingerprints.length != slotCount * FINGERPRINT_BYTES) {
+            throw new IllegalStateException("Fingerprint table does not match the perfect hash function");
+        }
+    }
+
+    /**
+     * Hashes a model result key into the 64-bit value the store is built from.
+     *
+     * @param key The model result key.
+     * @return The 64-bit hash of the key.
+     */
+    public static long hash(String key) {
+        return HASH_FUNCTION.hashUnencodedChars(key).asLong();
+    }
+
+    /**
+     * Builds a store from the hashes of its keys.
+     * <p>
+     * Each level is built in parallel on the given pool: all remaining distinct keys mark their bit in a
+     * "seen" array and, if it was already marked, in a "collided" array; keys on collided bits move
+     * on to the next level. Fingerprints are then filled in parallel as well.
+     * </p>
+     *
+     * @param hashes  The key hashes, as computed by {@link #hash(String)}; only the first count are used.
+     * @param count   The number of key hashes.
+     * @param version The version of the model result file.
+     * @param value   The value of every key.
+     * @param pool    The pool the construction runs on.
+     * @return The built store.
+     * @throws IllegalStateException if there are too many keys.
+     */
+    public static PerfectHashModelResultStore build(long[] hashes, int count, String version, double value, ForkJoinPool pool) {
+        if (count > MAX_KEY_COUNT) {
+            throw new IllegalStateException("Too many keys for a perfect hash model result store: " + count);
+        }
+        long[] remaining = distinct(hashes, count);
+        List<long[]> levels = new ArrayList<>();
+        while (remaining.length > 0 && levels.size() < MAX_LEVELS) {
+            long[] currentKeys = remaining;
+            int level = levels.size();
+            int words = (int) Math.max(1L, (long) Math.ceil(currentKeys.length * GAMMA / Long.SIZE));
+            long sizeBits = (long) words * Long.SIZE;
+            AtomicLongArray seen = new AtomicLongArray(words);
+            AtomicLongArray collided = new AtomicLongArray(words);
+            invoke(pool, () -> {
+                Arrays.stream(currentKeys).parallel().forEach(hash -> {
+                    long position = reduce(levelHash(hash, level), sizeBits);
+                    if (setBit(seen, position)) {
+                        setBit(collided, position);
+                    }
+                });
+                return null;
+            });
+            long[] levelBits = new long[words];
+            for (int word = 0; word < words; word++) {
+                levelBits[word] = seen.get(word) & ~collided.get(word);
+            }
+            levels.add(levelBits);
+            remaining = invoke(pool, () -> Arrays.stream(currentKeys).parallel()
+                    .filter(hash -> isBitSet(collided, reduce(levelHash(hash, level), sizeBits)))
+                    .toArray());
+        }
+
+        int[] levelWordOffsets = new int[levels.size() + 1];
+        for (int level = 0; level < levels.size(); level++) {
+            levelWordOffsets[level + 1] = Math.addExact(levelWordOffsets[level], levels.get(level).length);
+        }
+        long[] bits = new long[levelWordOffsets[levels.size()]];
+        for (int level = 0; level < levels.size(); level++) {
+            long[] levelBits = levels.get(level);
+            System.arraycopy(levelBits, 0, bits, levelWordOffsets[level], levelBits.length);
+        }
+        long[] overflowHashes = Arrays.stream(remaining).sorted().distinct().toArray();
+
+        PerfectHashModelResultStore store = new PerfectHashModelResultStore(
+                version, value, bits, levelWordOffsets, null, overflowHashes);
+        invoke(pool, () -> {
+            Arrays.stream(hashes, 0, count).parallel().forEach(store::writeFingerprint);
+            return null;
+        });
+        return store;
+    }
+
+    private static long[] distinct(long[] hashes, int count) {
+        long[] sorted = Arrays.copyOf(hashes, count);
+        Arrays.parallelSort(sorted);
+        int distinctCount = 0;
+        for (int i = 0; i < sorted.length; i++) {
+            if (i == 0 || sorted[i] != sorted[i - 1]) {
+                sorted[distinctCount++] = sorted[i];
+            }
+        }
+        return distinctCount == sorted.length ? sorted : Arrays.copyOf(sorted, distinctCount);
+    }
+
+    /**
+     * Reads a store previously written by {@link #writeTo(DataOutputStream)}.
+     *
+     * @param input The stream to read from.
+     * @return The store.
+     * @throws IOException if the stream cannot be read or is not a serialized store.
+     */
+    public static PerfectHashModelResultStore readFrom(DataInputStream input) throws IOException {
+        if (input.readInt() != FILE_MAGIC || input.readInt() != FILE_FORMAT_VERSION) {
+            throw new IOException("Not a serialized perfect hash model result store");
+        }
+        String version = input.readUTF();
+        double value = input.readDouble();
+        int[] levelWordOffsets = new int[input.readInt()];
+        for (int i = 0; i < levelWordOffsets.length; i++) {
+            levelWordOffsets[i] = input.readInt();
+        }
+        long[] bits = new long[input.readInt()];
+        for (int i = 0; i < bits.length; i++) {
+            bits[i] = input.readLong();
+        }
+        byte[] fingerprints = new byte[input.readInt()];
+        input.readFully(fingerprints);
+        long[] overflowHashes = new long[input.readInt()];
+        for (int i = 0; i < overflowHashes.length; i++) {
+            overflowHashes[i] = input.readLong();
+        }
+        try {
+            return new PerfectHashModelResultStore(version, value, bits, levelWordOffsets, fingerprints, overflowHashes);
+        } catch (IllegalStateException e) {
+            throw new IOException("Corrupted perfect hash model result store", e);
+        }
+    }
+
+    /**
+     * Writes the store so that it can be restored with {@link #readFrom(DataInputStream)}.
+     *
+     * @param output The stream to write to.
+     * @throws IOException if the stream cannot be written.
+     */
+    public void writeTo(DataOutputStream output) throws IOException {
+        output.writeInt(FILE_MAGIC);
+        output.writeInt(FILE_FORMAT_VERSION);
+        output.writeUTF(version);
+        output.writeDouble(value);
+        output.writeInt(levelWordOffsets.length);
+        for (int offset : levelWordOffsets) {
+            output.writeInt(offset);
+        }
+        output.writeInt(bits.length);
+        for (long word : bits) {
+            output.writeLong(word);
+        }
+        output.writeInt(fingerprints.length);
+        output.write(fingerprints);
+        output.writeInt(overflowHashes.length);
+        for (long hash : overflowHashes) {
+            output.writeLong(hash);
+        }
+    }
+
+    @Override
+    public boolean contains(String key) {
+        return containsHash(hash(key));
+    }
+
+    /**
+     * Checks whether a key with the given hash is a member of the store.
+     *
+     * @param hash The 64-bit hash of the key, as computed by {@link #hash(String)}.
+     * @return true if the key is a member of the store, false otherwise.
+     */
+    public boolean containsHash(long hash) {
+        int slot = slotOf(hash);
+        if (slot >= 0) {
+            return readFingerprint(slot) == fingerprint(hash);
+        }
+        return overflowHashes.length > 0 && Arrays.binarySearch(overflowHashes, hash) >= 0;
+    }
+
+    @Override
+    public double getValue() {
+        return value;
+    }
+
+    @Override
+    public String getVersion() {
+        return version;
+    }
+
+    @Override
+    public long getEntryCount() {
+        return (long) slotCount + overflowHashes.length;
+    }
+
+    @Override
+    public long getMemoryFootprintBytes() {
+        return (long) bits.length * Long.BYTES
+                + (long) ranks.length * Integer.BYTES
+                + (long) levelWordOffsets.length * Integer.BYTES
+                + fingerprints.length
+                + (long) overflowHashes.length * Long.BYTES;
+    }
+
+    public int getLevelCount() {
+        return levelWordOffsets.length - 1;
+    }
+
+    private int slotOf(long hash) {
+        for (int level = 0; level < levelWordOffsets.length - 1; level++) {
+            int wordOffset = levelWordOffsets[level];
+            long sizeBits = (long) (levelWordOffsets[level + 1] - wordOffset) * Long.SIZE;
+            long position = (long) wordOffset * Long.SIZE + reduce(levelHash(hash, level), sizeBits);
+            if ((bits[(int) (position >>> 6)] & (1L << position)) != 0) {
+                return rank(position);
+            }
+        }
+        return -1;
+    }
+
+    private int rank(long position) {
+        int word = (int) (position >>> 6);
+        int block = word / WORDS_PER_RANK_BLOCK;
+        int rank = ranks[block];
+        for (int i = block * WORDS_PER_RANK_BLOCK; i < word; i++) {
+            rank += Long.bitCount(bits[i]);
+        }
+        return rank + Long.bitCount(bits[word] & ((1L << position) - 1));
+    }
+
+    private void writeFingerprint(long hash) {
+        int slot = slotOf(hash);
+        if (slot < 0) {
+            return;
+        }
+        int fingerprint = fingerprint(hash);
+        int offset = slot * FINGERPRINT_BYTES;
+        fingerprints[offset] = (byte) (fingerprint >>> 16);
+        fingerprints[offset + 1] = (byte) (fingerprint >>> 8);
+        fingerprints[offset + 2] = (byte) fingerprint;
+    }
+
+    private int readFingerprint(int slot) {
+        int offset = slot * FINGERPRINT_BYTES;
+        return (fingerprints[offset] & 0xFF) << 16
+                | (fingerprints[offset + 1] & 0xFF) << 8
+                | (fingerprints[offset + 2] & 0xFF);
+    }
+
+    private static int fingerprint(long hash) {
+        return (int) (levelHash(hash, FINGERPRINT_SEED) >>> 40);
+    }
+
+    private static long levelHash(long hash, int level) {
+        // splitmix64 finalizer over the key hash offset by the level, so that levels are independent
+        long x = hash + (level + 1) * 0x9E3779B97F4A7C15L;
+        x = (x ^ (x >>> 30)) * 0xBF58476D1CE4E5B9L;
+        x = (x ^ (x >>> 27)) * 0x94D049BB133111EBL;
+        return x ^ (x >>> 31);
+    }
+
+    private static long reduce(long hash, long sizeBits) {
+        // multiply-shift range reduction of the upper 32 bits onto [0, sizeBits)
+        return ((hash >>> 32) * sizeBits) >>> 32;
+    }
+
+    private static boolean setBit(AtomicLongArray array, long position) {
+        long mask = 1L << position;
+        long previous = array.getAndAccumulate((int) (position >>> 6), mask, (current, bit) -> current | bit);
+        return (previous & mask) != 0;
+    }
+
+    private static boolean isBitSet(AtomicLongArray array, long position) {
+        return (array.get((int) (position >>> 6)) & (1L << position)) != 0;
+    }
+
+    private static <T> T invoke(ForkJoinPool pool, Supplier<T> task) {
+        return pool.submit(task::get).join();
+    }
+}
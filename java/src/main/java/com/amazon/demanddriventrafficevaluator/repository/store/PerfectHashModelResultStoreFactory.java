@@ -0,0 +1,158 @@
+// Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+// SPDX-License-Identifier: Apache-2.0
+
+package com.amazon.demanddriventrafficevaluator.repository.store;
+
+import lombok.extern.log4j.Log4j2;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Arrays;
+import java.util.Optional;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * A factory for {@link PerfectHashModelResultStore}s.
+ * <p>
+ * Stores are built on the given ForkJoinPool. When a directory is configured, every built store is
+ * also written to a local file named after the model and the version (ETag) of its model result file,
+ * and a later load of the same version restores the store from that file instead of building it again.
+ * Files of older versions of the same model are deleted once a newer version is written.
+ * </p>
+ */
+@Log4j2
+public class PerfectHashModelResultStoreFactory implements ModelResultStoreFactory {
+
+    private static final String FILE_EXTENSION = ".mph";
+    private static final int INITIAL_CAPACITY = 1024;
+    private static final int IO_BUFFER_SIZE = 1 << 16;
+
+    private final Path directory;
+    private final ForkJoinPool pool;
+
+    /**
+     * Creates a factory.
+     *
+     * @param directory The directory built stores are persisted to, or null to disable persistence.
+     * @param pool      The pool stores are built on.
+     */
+    public PerfectHashModelResultStoreFactory(Path directory, ForkJoinPool pool) {
+        this.directory = directory;
+        this.pool = pool;
+    }
+
+    @Override
+    public ModelResultStoreBuilder newBuilder(String modelIdentifier, String version, double value) {
+        return new ModelResultStoreBuilder() {
+            private long[] hashes = new long[INITIAL_CAPACITY];
+            private int hashCount = 0;
+
+            @Override
+            public void put(String key) {
+                if (hashCount == hashes.length) {
+                    hashes = Arrays.copyOf(hashes, hashes.length * 2);
+                }
+                hashes[hashCount++] = PerfectHashModelResultStore.hash(key);
+            }
+
+            @Override
+            public ModelResultStore build() {
+                PerfectHashModelResultStore store = PerfectHashModelResultStore.build(hashes, hashCount, version, value, pool);
+                hashes = null;
+                persist(modelIdentifier, store);
+                return store;
+            }
+
+            @Override
+            public void abort() {
+                hashes = null;
+            }
+        };
+    }
+
+    /**
+     * Restores the store of the given version from its local file, if it was persisted before.
+     * <p>
+     * A file that cannot be read, or that holds a different version or value, is deleted and
+     * ignored, so that the store is built again from the model result file.
+     * </p>
+     */
+    @Override
+    public Optional<ModelResultStore> restore(String modelIdentifier, String version, double value) {
+        if (directory == null) {
+            return Optional.empty();
+        }
+        Path file = getFile(modelIdentifier, version);
+        if (!Files.isRegularFile(file)) {
+            return Optional.empty();
+        }
+        try (DataInputStream input = new DataInputStream(new BufferedInputStream(Files.newInputStream(file), IO_BUFFER_SIZE))) {
+            PerfectHashModelResultStore store = PerfectHashModelResultStore.readFrom(input);
+            if (store.getVersion().equals(version) && store.getValue() == value) {
+                return Optional.of(store);
+            }
+            log.warn("Ignoring perfect hash store file {} built for version {} and value {}", file, store.getVersion(), store.getValue());
+        } catch (IOException e) {
+            log.warn("Failed to restore perfect hash store from file {}", file, e);
+        }
+        deleteQuietly(file);
+        return Optional.empty();
+    }
+
+    private void persist(String modelIdentifier, PerfectHashModelResultStore store) {
+        if (directory == null) {
+            return;
+        }
+        Path file = getFile(modelIdentifier, store.getVersion());
+        Path temporaryFile = null;
+        try {
+            Files.createDirectories(directory);
+            temporaryFile = Files.createTempFile(directory, file.getFileName().toString(), ".tmp");
+            try (DataOutputStream output = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temporaryFile), IO_BUFFER_SIZE))) {
+                store.writeTo(output);
+            }
+            Files.move(temporaryFile, file, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            deleteStaleFiles(modelIdentifier, file);
+        } catch (IOException e) {
+            // the store is still usable, it just has to be built again after a restart
+            log.warn("Failed to persist perfect hash store for model {} to {}", modelIdentifier, file, e);
+            if (temporaryFile != null) {
+                deleteQuietly(temporaryFile);
+            }
+        }
+    }
+
+    private void deleteStaleFiles(String modelIdentifier, Path currentFile) throws IOException {
+        String glob = toFileNameComponent(modelIdentifier) + ".*" + FILE_EXTENSION;
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory, glob)) {
+            for (Path file : files) {
+                if (!file.equals(currentFile)) {
+                    deleteQuietly(file);
+                }
+            }
+        }
+    }
+
+    Path getFile(String modelIdentifier, String version) {
+        return directory.resolve(toFileNameComponent(modelIdentifier) + "." + toFileNameComponent(version) + FILE_EXTENSION);
+    }
+
+    private static String toFileNameComponent(String value) {
+        return value.replaceAll("[^A-Za-z0-9_-]", "_");
+    }
+
+    private static void deleteQuietly(Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            log.warn("Failed to delete file {}", file, e);
+        }
+    }
+}
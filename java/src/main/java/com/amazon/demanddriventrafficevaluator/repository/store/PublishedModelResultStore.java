@@ -0,0 +1,20 @@
+// Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+// SPDX-License-Identifier: Apache-2.0
+
+package com.amazon.demanddriventrafficevaluator.repository.store;
+
+import lombok.Builder;
+import lombok.Getter;
+
+/**
+ * The description of a model's store published by another process.
+ */
+@Builder
+@Getter
+public class PublishedModelResultStore {
+    // the version of the model result file the store was built from, typically its ETag
+    private final String version;
+    // the key of the model result file the store was built from, null if the publisher did not record it
+    private final String sourceKey;
+    private final long publishedAtMs;
+}
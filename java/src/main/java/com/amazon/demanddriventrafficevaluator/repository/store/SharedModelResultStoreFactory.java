@@ -0,0 +1,240 @@
+// Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+// SPDX-License-Identifier: Apache-2.0
+
+package com.amazon.demanddriventrafficevaluator.repository.store;
+
+import lombok.extern.log4j.Log4j2;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.channels.OverlappingFileLockException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.Optional;
+import java.util.Properties;
+
+/**
+ * A factory for {@link OffHeapModelResultStore}s shared by all processes on a host.
+ * <p>
+ * All processes point the factory at the same directory, typically on a memory-backed file system
+ * such as /dev/shm. The process holding the lock on the directory's lock file is the writer: it builds
+ * every store into a new snapshot file in the directory and then publishes it by atomically renaming
+ * a manifest naming the snapshot, its version, its value, the model result file it was built from and
+ * the time it was published over the model's previous manifest. The
+ * other processes are readers: they follow the manifests, map the published snapshots read-only and
+ * so neither download nor hold their own copy of the model results.
+ * </p>
+ * <p>
+ * The lock is released by the operating system when the writer exits, and the next process that checks
+ * it takes over. A reader that has to load a model before a snapshot of it is published, e.g. at
+ * start-up, builds a private store in a direct buffer and switches to the shared snapshot once one is
+ * published. Superseded snapshot files are deleted by the writer; processes still mapping them keep
+ * their pages until they release the store.
+ * </p>
+ */
+@Log4j2
+public class SharedModelResultStoreFactory implements ModelResultStoreFactory {
+
+    private static final String LOCK_FILE_NAME = "writer.lock";
+    private static final String MANIFEST_EXTENSION = ".manifest";
+    private static final String MANIFEST_VERSION = "version";
+    private static final String MANIFEST_VALUE = "value";
+    private static final String MANIFEST_SNAPSHOT = "snapshot";
+    private static final String MANIFEST_SOURCE_KEY = "source-key";
+    private static final String MANIFEST_PUBLISHED_AT_MS = "published-at-ms";
+
+    private final Path directory;
+    private final OffHeapModelResultStoreFactory privateStoreFactory = new OffHeapModelResultStoreFactory(null);
+    private FileChannel lockChannel;
+    private FileLock writerLock;
+
+    /**
+     * Creates a factory.
+     *
+     * @param directory The directory shared by all processes on the host.
+     */
+    public SharedModelResultStoreFactory(Path directory) {
+        this.directory = directory;
+    }
+
+    @Override
+    public ModelResultStoreBuilder newBuilder(String modelIdentifier, String version, double value) {
+        return newBuilder(modelIdentifier, version, value, null);
+    }
+
+    @Override
+    public ModelResultStoreBuilder newBuilder(String modelIdentifier, String version, double value, String sourceKey) {
+        if (!isWriter()) {
+            return privateStoreFactory.newBuilder(modelIdentifier, version, value);
+        }
+        return new ModelResultStoreBuilder() {
+            private StagedRecords records = new StagedRecords();
+
+            @Override
+            public void put(String key) {
+                records.append(key);
+            }
+
+            @Override
+            public ModelResultStore build() {
+                StagedRecords stagedRecords = records;
+                records = null;
+                Path snapshot = OffHeapModelResultStoreFactory.createFile(directory, modelIdentifier);
+                try {
+                    MappedByteBuffer[] mapped = new MappedByteBuffer[1];
+                    OffHeapModelResultStore store = OffHeapModelResultStore.build(stagedRecords, version, value,
+                            size -> mapped[0] = OffHeapModelResultStoreFactory.map(snapshot, size), null);
+                    mapped[0].force();
+                    publish(modelIdentifier, snapshot, version, value, sourceKey);
+                    return store;
+                } catch (IOException e) {
+                    OffHeapModelResultStoreFactory.deleteQuietly(snapshot);
+                    throw new IllegalStateException("Failed to publish shared model result store for model " + modelIdentifier, e);
+                } catch (RuntimeException e) {
+                    OffHeapModelResultStoreFactory.deleteQuietly(snapshot);
+                    throw e;
+                }
+            }
+
+            @Override
+            public void abort() {
+                records = null;
+            }
+        };
+    }
+
+    /**
+     * Maps the snapshot of the given version, if it is the one currently published for the model.
+     */
+    @Override
+    public Optional<ModelResultStore> restore(String modelIdentifier, String version, double value) {
+        Optional<Properties> manifest = readManifest(modelIdentifier);
+        if (manifest.isEmpty()
+                || !version.equals(manifest.get().getProperty(MANIFEST_VERSION))
+                || !String.valueOf(value).equals(manifest.get().getProperty(MANIFEST_VALUE))) {
+            return Optional.empty();
+        }
+        Path snapshot = directory.resolve(manifest.get().getProperty(MANIFEST_SNAPSHOT, ""));
+        try (FileChannel channel = FileChannel.open(snapshot, StandardOpenOption.READ)) {
+            return Optional.of(OffHeapModelResultStore.openOwned(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()), null));
+        } catch (NoSuchFileException e) {
+            // the writer published a newer snapshot and deleted this one after the manifest was read
+            log.debug("Shared model result store snapshot {} was superseded", snapshot);
+        } catch (IOException | RuntimeException e) {
+            log.warn("Failed to map shared model result store snapshot {}", snapshot, e);
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * Returns the model's store published by the writer, unless this process is the writer.
+     */
+    @Override
+    public Optional<PublishedModelResultStore> getPublishedStore(String modelIdentifier) {
+        if (isWriter()) {
+            return Optional.empty();
+        }
+        return readManifest(modelIdentifier).map(manifest -> PublishedModelResultStore.builder()
+                .version(manifest.getProperty(MANIFEST_VERSION))
+                .sourceKey(manifest.getProperty(MANIFEST_SOURCE_KEY))
+                .publishedAtMs(parsePublishedAtMs(manifest.getProperty(MANIFEST_PUBLISHED_AT_MS)))
+                .build());
+    }
+
+    private static long parsePublishedAtMs(String publishedAtMs) {
+        try {
+            return publishedAtMs == null ? 0L : Long.parseLong(publishedAtMs);
+        } catch (NumberFormatException e) {
+            // treated as published too long ago to be used
+            return 0L;
+        }
+    }
+
+    @Override
+    public boolean isSharedAcrossProcesses() {
+        return true;
+    }
+
+    /**
+     * Checks whether this process is the writer, trying to become the writer if there is none.
+     *
+     * @return true if this process holds the writer lock.
+     */
+    public synchronized boolean isWriter() {
+        if (writerLock != null && writerLock.isValid()) {
+            return true;
+        }
+        try {
+            if (lockChannel == null || !lockChannel.isOpen()) {
+                Files.createDirectories(directory);
+                lockChannel = FileChannel.open(directory.resolve(LOCK_FILE_NAME),
+                        StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+            }
+            writerLock = lockChannel.tryLock();
+            if (writerLock != null) {
+                log.info("This process is now the writer of shared model result stores in {}", directory);
+            }
+        } catch (OverlappingFileLockException e) {
+            // another factory in this process is the writer
+            writerLock = null;
+        } catch (IOException e) {
+            log.warn("Failed to acquire the writer lock of shared model result stores in {}", directory, e);
+            writerLock = null;
+        }
+        return writerLock != null;
+    }
+
+    private void publish(String modelIdentifier, Path snapshot, String version, double value, String sourceKey) throws IOException {
+        Optional<Properties> previousManifest = readManifest(modelIdentifier);
+        Properties manifest = new Properties();
+        manifest.setProperty(MANIFEST_VERSION, version);
+        manifest.setProperty(MANIFEST_VALUE, String.valueOf(value));
+        manifest.setProperty(MANIFEST_SNAPSHOT, snapshot.getFileName().toString());
+        if (sourceKey != null) {
+            manifest.setProperty(MANIFEST_SOURCE_KEY, sourceKey);
+        }
+        manifest.setProperty(MANIFEST_PUBLISHED_AT_MS, String.valueOf(Instant.now().toEpochMilli()));
+        Path manifestFile = getManifestFile(modelIdentifier);
+        Path temporaryFile = Files.createTempFile(directory, manifestFile.getFileName().toString(), ".tmp");
+        try {
+            try (OutputStream output = Files.newOutputStream(temporaryFile)) {
+                manifest.store(output, null);
+            }
+            Files.move(temporaryFile, manifestFile, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException e) {
+            OffHeapModelResultStoreFactory.deleteQuietly(temporaryFile);
+            throw e;
+        }
+        previousManifest
+                .map(previous -> previous.getProperty(MANIFEST_SNAPSHOT))
+                .filter(previousSnapshot -> !previousSnapshot.equals(snapshot.getFileName().toString()))
+                .ifPresent(previousSnapshot -> OffHeapModelResultStoreFactory.deleteQuietly(directory.resolve(previousSnapshot)));
+    }
+
+    private Optional<Properties> readManifest(String modelIdentifier) {
+        Path manifestFile = getManifestFile(modelIdentifier);
+        try (InputStream input = Files.newInputStream(manifestFile)) {
+            Properties manifest = new Properties();
+            manifest.load(input);
+            return Optional.of(manifest);
+        } catch (NoSuchFileException e) {
+            return Optional.empty();
+        } catch (IOException e) {
+            log.warn("Failed to read shared model result store manifest {}", manifestFile, e);
+            return Optional.empty();
+        }
+    }
+
+    Path getManifestFile(String modelIdentifier) {
+        return directory.resolve(modelIdentifier.replaceAll("[^A-Za-z0-9_-]", "_") + MANIFEST_EXTENSION);
+    }
+}
@@ -0,0 +1,98 @@
+// Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+// SPDX-License-Identifier: Apache-2.0
+
+package com.amazon.demanddriventrafficevaluator.repository.store;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The key records of an {@link OffHeapModelResultStore} staged while its model result file is read.
+ * <p>
+ * Every record is a 2-byte length followed by the UTF-8 bytes of the key. The records are appended to
+ * fixed-size chunks on the heap, so that staging neither copies the records already staged when it grows
+ * nor holds native memory, and the store's buffer is allocated once, at its exact size, when it is built.
+ * </p>
+ */
+final class StagedRecords {
+
+    private static final int MAX_KEY_BYTES = 0xFFFF;
+    private static final int KEY_LENGTH_BYTES = OffHeapModelResultStore.KEY_LENGTH_BYTES;
+    private static final int CHUNK_BYTES = 1 << 20;
+
+    private final List<byte[]> chunks = new ArrayList<>();
+    private byte[] chunk;
+    private int chunkPosition;
+    private long length = 0L;
+    private int count = 0;
+
+    /**
+     * Appends the record of a key.
+     *
+     * @param key The model result key.
+     * @throws IllegalStateException if the key is too long, or the records would not fit in one store.
+     */
+    void append(String key) {
+        byte[] bytes = key.getBytes(StandardCharsets.UTF_8);
+        if (bytes.length > MAX_KEY_BYTES) {
+            throw new IllegalStateException("Model result key is too long: " + bytes.length + " bytes");
+        }
+        if (length + KEY_LENGTH_BYTES + bytes.length > Integer.MAX_VALUE) {
+            throw new IllegalStateException("Too many model results for an off-heap store");
+        }
+        write((byte) (bytes.length >>> 8));
+        write((byte) bytes.length);
+        int written = 0;
+        while (written < bytes.length) {
+            if (chunk == null || chunkPosition == chunk.length) {
+                newChunk();
+            }
+            int copied = Math.min(bytes.length - written, chunk.length - chunkPosition);
+            System.arraycopy(bytes, written, chunk, chunkPosition, copied);
+            chunkPosition += copied;
+            written += copied;
+        }
+        length += KEY_LENGTH_BYTES + bytes.length;
+        count++;
+    }
+
+    /**
+     * Copies the records, back to back, into the buffer from the given offset.
+     */
+    void copyTo(ByteBuffer buffer, int offset) {
+        ByteBuffer target = buffer.duplicate();
+        target.position(offset);
+        for (byte[] stagedChunk : chunks) {
+            target.put(stagedChunk, 0, stagedChunk == chunk ? chunkPosition : stagedChunk.length);
+        }
+    }
+
+    /**
+     * Returns the number of bytes of all records.
+     */
+    int getLength() {
+        return (int) length;
+    }
+
+    /**
+     * Returns the number of records.
+     */
+    int getCount() {
+        return count;
+    }
+
+    private void write(byte b) {
+        if (chunk == null || chunkPosition == chunk.length) {
+            newChunk();
+        }
+        chunk[chunkPosition++] = b;
+    }
+
+    private void newChunk() {
+        chunk = new byte[CHUNK_BYTES];
+        chunkPosition = 0;
+        chunks.add(chunk);
+    }
+}
@@ -0,0 +1,14 @@
+// Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+// SPDX-License-Identifier: Apache-2.0
+
+package com.amazon.demanddriventrafficevaluator.repository.store.exception;
+
+/**
+ * Thrown when registering a model result store would exceed the memory budget of all model result stores.
+ */
+public class ModelResultStoreMemoryBudgetExceededException extends IllegalStateException {
+
+    public ModelResultStoreMemoryBudgetExceededException(String message) {
+        super(message);
+    }
+}
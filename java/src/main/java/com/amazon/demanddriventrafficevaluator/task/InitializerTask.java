@@ -5,12 +5,26 @@ package com.amazon.demanddriventrafficevaluator.task;
 
 import lombok.Getter;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * A task run once by the {@link TaskInitializer}, with retries.
+ * <p>
+ * A task starts as soon as the tasks it depends on are complete. Running a task may discover follow-up
+ * tasks, e.g. one load per model of a loaded configuration, which are run next and are part of the task:
+ * the tasks depending on it wait for its follow-up tasks too.
+ * </p>
+ */
 @Getter
 public abstract class InitializerTask implements Runnable {
     private final String name;
     private final int maximumAttempts;
     private final long minDelayBeforeAttemptMs;
     private final long maxDelayBeforeAttemptMs;
+    private final List<InitializerTask> dependencies = new ArrayList<>();
 
     protected InitializerTask(
             String name,
@@ -23,4 +37,42 @@ public abstract class InitializerTask implements Runnable {
         this.minDelayBeforeAttemptMs = minDelayBeforeAttemptMs;
         this.maxDelayBeforeAttemptMs = maxDelayBeforeAttemptMs;
     }
+
+    /**
+     * Makes this task wait for the given tasks to complete before it starts.
+     *
+     * @param tasks The tasks this task depends on.
+     * @return This task.
+     */
+    public InitializerTask dependsOn(InitializerTask... tasks) {
+        dependencies.addAll(Arrays.asList(tasks));
+        return this;
+    }
+
+    /**
+     * Returns the tasks that must complete before this task starts.
+     *
+     * @return The tasks this task depends on.
+     */
+    public List<InitializerTask> getDependencies() {
+        return Collections.unmodifiableList(dependencies);
+    }
+
+    /**
+     * Returns the tasks discovered by the last successful run of this task.
+     *
+     * @return The follow-up tasks, none by default.
+     */
+    public List<InitializerTask> getFollowUpTasks() {
+        return List.of();
+    }
+
+    /**
+     * Returns whether the initialization carries on when this task fails, instead of failing.
+     *
+     * @return false by default.
+     */
+    public boolean isOptional() {
+        return false;
+    }
 }
@@ -3,35 +3,106 @@
 
 package com.amazon.demanddriventrafficevaluator.task;
 
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import lombok.extern.log4j.Log4j2;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
-import java.util.concurrent.CompletionService;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.ExecutionException;
-import java.util.concurrent.ExecutorCompletionService;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
-import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
 import java.util.concurrent.TimeUnit;
-import lombok.extern.log4j.Log4j2;
+import java.util.concurrent.TimeoutException;
+import java.util.stream.Collectors;
 
 /**
- * A class responsible for initializing and executing tasks in multiple stages.
+ * A class responsible for initializing and executing tasks as a dependency graph.
+ * <p>
+ * Every task starts on a shared executor as soon as the tasks it depends on, see
+ * {@link InitializerTask#dependsOn(InitializerTask...)}, and their follow-up tasks are complete, so that the
+ * initialization takes as long as its longest chain of dependent tasks rather than the sum of fixed stages.
+ * Tasks are retried, the required tasks must complete within the overall timeout, and a failing task
+ * fails the initialization unless it is optional. Optional tasks are waited for until the overall timeout
+ * too, but one that is still running then is left to complete in the background instead of failing the
+ * initialization. The duration of every task is logged and kept.
+ * </p>
  * <p>
- * This class manages the execution of initialization tasks in two stages, with
- * support for retries, timeouts, and parallel execution.
+ * Each initialization runs its tasks, including the follow-up tasks they start, on an executor of its own,
+ * which is shut down when the initialization returns.
  * </p>
  */
 @Log4j2
 public class TaskInitializer {
-    private final List<InitializerTask> stageOneTasks;
-    private final List<InitializerTask> stageTwoTasks;
+    public static final int UNLIMITED_CONCURRENT_TASKS = 0;
+
+    private final List<InitializerTask> tasks;
+    private final Map<InitializerTask, List<InitializerTask>> stageDependencies;
     private final long overallTimeoutMs;
-    private ExecutorService executorPool;
-    private long taskElapsedTime = 0L;
+    private final int maxConcurrentTasks;
+    private final ConcurrentMap<String, Long> taskDurationMsByName = new ConcurrentHashMap<>();
+    private final Map<InitializerTask, CompletableFuture<Void>> optionalCompletionByTask = new ConcurrentHashMap<>();
+    private final Set<InitializerTask> runningTasks = ConcurrentHashMap.newKeySet();
 
+    /**
+     * Creates an initializer running the tasks in the order of their dependencies.
+     *
+     * @param tasks            The tasks, which must include the tasks they depend on.
+     * @param overallTimeoutMs The time within which all tasks must complete.
+     */
+    public TaskInitializer(List<InitializerTask> tasks, long overallTimeoutMs) {
+        this(tasks, overallTimeoutMs, UNLIMITED_CONCURRENT_TASKS);
+    }
+
+    /**
+     * Creates an initializer running the tasks in the order of their dependencies, with at most the given
+     * number of tasks running at once.
+     *
+     * @param tasks              The tasks, which must include the tasks they depend on.
+     * @param overallTimeoutMs   The time within which all tasks must complete.
+     * @param maxConcurrentTasks The maximum number of tasks running at once; 0 disables the limit.
+     * @throws IllegalArgumentException if the maximum number of tasks running at once is negative.
+     */
+    public TaskInitializer(List<InitializerTask> tasks, long overallTimeoutMs, int maxConcurrentTasks) {
+        if (maxConcurrentTasks < 0) {
+            throw new IllegalArgumentException("Invalid maximum number of concurrent initialization tasks: " + maxConcurrentTasks);
+        }
+        this.tasks = tasks == null ? List.of() : List.copyOf(tasks);
+        this.stageDependencies = Map.of();
+        this.overallTimeoutMs = overallTimeoutMs;
+        this.maxConcurrentTasks = maxConcurrentTasks;
+    }
+
+    /**
+     * Creates an initializer running the tasks in two stages: every stage two task depends on all stage
+     * one tasks. Stage two is ignored without stage one tasks.
+     *
+     * @param stageOneTasks    The tasks of the first stage.
+     * @param stageTwoTasks    The tasks of the second stage.
+     * @param overallTimeoutMs The time within which all tasks must complete.
+     */
     public TaskInitializer(List<InitializerTask> stageOneTasks, List<InitializerTask> stageTwoTasks, long overallTimeoutMs) {
-        this.stageOneTasks = stageOneTasks;
-        this.stageTwoTasks = stageTwoTasks;
+        List<InitializerTask> allTasks = new ArrayList<>();
+        Map<InitializerTask, List<InitializerTask>> dependencies = new HashMap<>();
+        if (stageOneTasks != null && !stageOneTasks.isEmpty()) {
+            allTasks.addAll(stageOneTasks);
+            if (stageTwoTasks != null) {
+                allTasks.addAll(stageTwoTasks);
+                stageTwoTasks.forEach(task -> dependencies.put(task, stageOneTasks));
+            }
+        }
+        this.tasks = allTasks;
+        this.stageDependencies = dependencies;
         this.overallTimeoutMs = overallTimeoutMs;
+        this.maxConcurrentTasks = UNLIMITED_CONCURRENT_TASKS;
     }
 
     /**
@@ -52,97 +123,217 @@ public class TaskInitializer {
     }
 
     /**
-     * Initializes and executes all tasks in both stages.
+     * Initializes and executes all tasks.
      * <p>
-     * This method executes stage one tasks, followed by stage two tasks if present.
-     * It manages the execution pool and handles overall timeout.
+     * This method starts the tasks without dependencies, starts every other task once its dependencies
+     * complete, and waits for all required tasks within the overall timeout. It fails as soon as a required task
+     * fails, and then stops the tasks still running. Optional tasks are waited for until the overall timeout.
      * </p>
+     *
+     * @throws IllegalStateException if the dependencies of the tasks form a cycle or a dependency is not a task.
+     * @throws RuntimeException      if a task fails or the tasks fail to complete within the overall timeout.
      */
     public void init() {
-        if (stageOneTasks != null && !stageOneTasks.isEmpty()) {
-            try {
-                executeTasks(stageOneTasks, "StageOne", System.currentTimeMillis());
-                if (stageTwoTasks != null && !stageTwoTasks.isEmpty()) {
-                    executeTasks(stageTwoTasks, "StageTwo", System.currentTimeMillis());
+        if (tasks.isEmpty()) {
+            log.warn("No initialization tasks defined.");
+            return;
+        }
+        List<InitializerTask> orderedTasks = sortByDependencies();
+        long startTime = System.currentTimeMillis();
+        optionalCompletionByTask.clear();
+        runningTasks.clear();
+        ExecutorService executorPool = createExecutorService();
+        boolean completed = false;
+        try {
+            Map<InitializerTask, CompletableFuture<Void>> completionByTask = new HashMap<>();
+            List<CompletableFuture<Void>> requiredCompletions = new ArrayList<>();
+            CompletableFuture<Void> firstFailure = new CompletableFuture<>();
+            for (InitializerTask task : orderedTasks) {
+                CompletableFuture<?>[] prerequisites = getDependencies(task).stream()
+                        .map(completionByTask::get)
+                        .toArray(CompletableFuture<?>[]::new);
+                CompletableFuture<Void> completion = CompletableFuture.allOf(prerequisites)
+                        .thenComposeAsync(ignored -> executeTask(task, startTime, executorPool), executorPool);
+                completion.whenComplete((ignored, e) -> {
+                    if (e != null) {
+                        firstFailure.completeExceptionally(e);
+                    }
+                });
+                completionByTask.put(task, completion);
+                if (task.isOptional()) {
+                    optionalCompletionByTask.put(task, completion);
+                } else {
+                    requiredCompletions.add(completion);
                 }
-            } finally {
+            }
+            awaitTasks(CompletableFuture.allOf(requiredCompletions.toArray(CompletableFuture<?>[]::new)),
+                    firstFailure, startTime);
+            awaitOptionalTasks(startTime);
+            completed = true;
+        } finally {
+            if (completed) {
+                // optional tasks still running complete in the background, but start no follow-up tasks
                 executorPool.shutdown();
-                try {
-                    executorPool.awaitTermination(60000, TimeUnit.MILLISECONDS);
-                } catch (InterruptedException e) {
-                    log.error("exception awaiting termination", e);
-                }
+            } else {
+                // interrupts the tasks still running or waiting to retry, which no longer matter
+                executorPool.shutdownNow();
             }
-        } else {
-            log.warn("No initialization tasks defined.");
         }
     }
 
-    private ExecutorService createExecutorService(int size) {
-        executorPool = Executors.newFixedThreadPool(size);
-        return executorPool;
+    /**
+     * Returns the duration of every task run by the last initialization, including its retries.
+     *
+     * @return The durations in milliseconds by task name.
+     */
+    public Map<String, Long> getTaskDurationsMs() {
+        return Collections.unmodifiableMap(new HashMap<>(taskDurationMsByName));
     }
 
     /**
-     * Iterates through task results, handling timeouts and exceptions.
-     *
-     * @param completionService The CompletionService managing the tasks.
-     * @param tasks             List of tasks being executed.
-     * @param startTime         The start time of task execution.
-     * @throws RuntimeException if a task times out or fails.
+     * Creates the executor of an initialization, bounded by the maximum number of tasks running at once
+     * rather than by the number of tasks, as tasks start follow-up tasks while they run.
      */
-    private void tasksResultIterator(CompletionService<Void> completionService, List<InitializerTask> tasks, long startTime) {
-        int executedTaskCount = 0;
-        long elapsed;
-
-        while ((taskElapsedTime < overallTimeoutMs)
-                && ((elapsed = System.currentTimeMillis() - startTime) < overallTimeoutMs)
-                && (executedTaskCount < tasks.size())
-        ) {
-            try {
-                Future<?> completionFuture = completionService.poll(overallTimeoutMs - elapsed,
-                        TimeUnit.MILLISECONDS);
-                if (completionFuture == null) {
-                    throw new RuntimeException("Timed out after " + executedTaskCount + " tasks and "
-                            + ((System.currentTimeMillis() - startTime)) + " ms");
-                }
-                completionFuture.get();
-                executedTaskCount++;
-            } catch (ExecutionException e) {
-                throw new RuntimeException(String.format("Task %s execution failed with following exception %s ",
-                        tasks.get(executedTaskCount).getName(), e.getCause()));
-            } catch (InterruptedException e) {
-                throw new RuntimeException(String.format("Task %s execution interrupted with following exception %s ",
-                        tasks.get(executedTaskCount).getName(), e.getCause()));
-            }
-            taskElapsedTime += elapsed;
-        }
+    private ExecutorService createExecutorService() {
+        ThreadFactory threadFactory = new ThreadFactoryBuilder().setNameFormat("task-initializer-%d").setDaemon(true).build();
+        return maxConcurrentTasks == UNLIMITED_CONCURRENT_TASKS
+                ? Executors.newCachedThreadPool(threadFactory)
+                : Executors.newFixedThreadPool(maxConcurrentTasks, threadFactory);
+    }
+
+    private List<InitializerTask> getDependencies(InitializerTask task) {
+        List<InitializerTask> dependencies = new ArrayList<>(task.getDependencies());
+        dependencies.addAll(stageDependencies.getOrDefault(task, List.of()));
+        return dependencies;
     }
 
     /**
-     * Executes a list of tasks for a given stage.
-     *
-     * @param tasks     List of tasks to execute.
-     * @param stageName Name of the current stage.
-     * @param startTime Start time of the stage execution.
-     * @throws RuntimeException if tasks fail to complete within the overall timeout.
+     * Sorts the tasks so that every task comes after the tasks it depends on.
      */
-    private void executeTasks(List<InitializerTask> tasks, String stageName, long startTime) {
-        CompletionService<Void> completionService = new ExecutorCompletionService<>(createExecutorService(tasks.size()));
+    private List<InitializerTask> sortByDependencies() {
+        Map<InitializerTask, Boolean> sortedByTask = new HashMap<>();
+        List<InitializerTask> orderedTasks = new ArrayList<>(tasks.size());
+        tasks.forEach(task -> sortedByTask.put(task, false));
         for (InitializerTask task : tasks) {
-            completionService.submit(() -> {
-                submitTask(startTime, task);
-                return null;
-            });
+            visit(task, sortedByTask, new ArrayList<>(), orderedTasks);
         }
+        return orderedTasks;
+    }
+
+    private void visit(InitializerTask task, Map<InitializerTask, Boolean> sortedByTask, List<InitializerTask> path,
+                       List<InitializerTask> orderedTasks) {
+        if (!sortedByTask.containsKey(task)) {
+            throw new IllegalStateException("Initialization task " + path.get(path.size() - 1).getName()
+                    + " depends on task " + task.getName() + ", which is not part of the initialization");
+        }
+        if (sortedByTask.get(task)) {
+            return;
+        }
+        if (path.contains(task)) {
+            throw new IllegalStateException("Initialization tasks have a dependency cycle through task " + task.getName());
+        }
+        path.add(task);
+        for (InitializerTask dependency : getDependencies(task)) {
+            visit(dependency, sortedByTask, path, orderedTasks);
+        }
+        path.remove(path.size() - 1);
+        sortedByTask.put(task, true);
+        orderedTasks.add(task);
+    }
+
+    /**
+     * Runs a task, then its follow-up tasks, which complete the task unless they are optional.
+     */
+    private CompletableFuture<Void> executeTask(InitializerTask task, long startTime, ExecutorService executorPool) {
+        long taskStartTime = System.currentTimeMillis();
+        runningTasks.add(task);
         try {
-            tasksResultIterator(completionService, tasks, startTime);
+            submitTask(startTime, task);
+        } catch (RuntimeException e) {
+            taskDurationMsByName.put(task.getName(), System.currentTimeMillis() - taskStartTime);
+            if (task.isOptional()) {
+                log.warn("Optional initialization task {} failed, initialization continues without it", task.getName(), e);
+                return CompletableFuture.completedFuture(null);
+            }
+            throw new RuntimeException(String.format("Task %s execution failed with following exception %s ",
+                    task.getName(), e), e);
         } finally {
-            if (taskElapsedTime > overallTimeoutMs) {
-                throw new RuntimeException(String.format(stageName + " tasks Initialization failed to complete in %s ms", overallTimeoutMs));
+            runningTasks.remove(task);
+        }
+        long durationMs = System.currentTimeMillis() - taskStartTime;
+        taskDurationMsByName.put(task.getName(), durationMs);
+        log.info("Initialization task {} completed in {} ms, {} ms after initialization started",
+                task.getName(), durationMs, System.currentTimeMillis() - startTime);
+        List<CompletableFuture<Void>> requiredCompletions = new ArrayList<>();
+        for (InitializerTask followUpTask : task.getFollowUpTasks()) {
+            CompletableFuture<Void> completion = CompletableFuture.completedFuture(null)
+                    .thenComposeAsync(ignored -> executeTask(followUpTask, startTime, executorPool), executorPool);
+            if (followUpTask.isOptional()) {
+                optionalCompletionByTask.put(followUpTask, completion);
+            } else {
+                requiredCompletions.add(completion);
+            }
+        }
+        return CompletableFuture.allOf(requiredCompletions.toArray(CompletableFuture<?>[]::new));
+    }
+
+    /**
+     * Waits for all tasks to complete, or for the first task to fail.
+     *
+     * @throws RuntimeException if a task fails, or times out.
+     */
+    private void awaitTasks(CompletableFuture<Void> allTasks, CompletableFuture<Void> firstFailure, long startTime) {
+        try {
+            CompletableFuture.anyOf(allTasks, firstFailure).get(overallTimeoutMs, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            // name the tasks that hung, so that the timeout can be traced to them
+            throw new RuntimeException(String.format(
+                    "Tasks initialization failed to complete in %s ms, tasks still running: %s, completed tasks: %s",
+                    overallTimeoutMs, runningTasks.stream().map(InitializerTask::getName).collect(Collectors.toList()),
+                    taskDurationMsByName.keySet()));
+        } catch (ExecutionException e) {
+            throw e.getCause() instanceof RuntimeException ? (RuntimeException) e.getCause() : new RuntimeException(e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Tasks initialization interrupted", e);
+        }
+        log.info("Tasks initialization completed in {} seconds", (System.currentTimeMillis() - startTime) / (double) 1000);
+    }
+
+    /**
+     * Waits for the optional tasks until the overall timeout, including the optional follow-up tasks they start.
+     */
+    private void awaitOptionalTasks(long startTime) {
+        if (optionalCompletionByTask.isEmpty()) {
+            return;
+        }
+        Set<InitializerTask> awaitedTasks = new HashSet<>();
+        while (awaitedTasks.size() < optionalCompletionByTask.size()) {
+            awaitedTasks.addAll(optionalCompletionByTask.keySet());
+            long remainingMs = startTime + overallTimeoutMs - System.currentTimeMillis();
+            try {
+                CompletableFuture.allOf(awaitedTasks.stream()
+                                .map(optionalCompletionByTask::get)
+                                .toArray(CompletableFuture<?>[]::new))
+                        .get(Math.max(0L, remainingMs), TimeUnit.MILLISECONDS);
+            } catch (TimeoutException e) {
+                log.warn("Optional initialization tasks {} did not complete in {} ms, initialization continues without them",
+                        optionalCompletionByTask.entrySet().stream()
+                                .filter(entry -> !entry.getValue().isDone())
+                                .map(entry -> entry.getKey().getName())
+                                .collect(Collectors.toList()),
+                        overallTimeoutMs);
+                return;
+            } catch (ExecutionException e) {
+                // a failing optional task does not complete exceptionally, but one that could not be started does
+                log.warn("Optional initialization task could not be run", e.getCause());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new RuntimeException("Tasks initialization interrupted", e);
             }
-            log.debug("{} tasks initialization completed in {} seconds", stageName, ((System.currentTimeMillis() - startTime) / (double) 1000));
         }
+        log.info("Optional initialization tasks completed {} seconds after initialization started",
+                (System.currentTimeMillis() - startTime) / (double) 1000);
     }
 
     /**
@@ -0,0 +1,24 @@
+// Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+// SPDX-License-Identifier: Apache-2.0
+
+package com.amazon.demanddriventrafficevaluator.task.dataloading;
+
+import com.amazon.demanddriventrafficevaluator.task.InitializerTask;
+
+public class ModelResultFileWatchInitializerTask extends InitializerTask {
+
+    private final ModelResultFileWatchTask task;
+
+    public ModelResultFileWatchInitializerTask(String taskName, int maximumAttempts, long minDelayBeforeAttemptMs, long maxDelayBeforeAttemptMs, ModelResultFileWatchTask task) {
+        super(taskName, maximumAttempts, minDelayBeforeAttemptMs, maxDelayBeforeAttemptMs);
+        this.task = task;
+    }
+
+    /**
+     * Starts watching the local model result files.
+     */
+    @Override
+    public void run() {
+        task.initialize();
+    }
+}
@@ -0,0 +1,269 @@
+// Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+// SPDX-License-Identifier: Apache-2.0
+
+package com.amazon.demanddriventrafficevaluator.task.dataloading;
+
+import com.amazon.demanddriventrafficevaluator.repository.dao.FileSystemObjectDao;
+import com.amazon.demanddriventrafficevaluator.repository.entity.ModelConfiguration;
+import com.amazon.demanddriventrafficevaluator.repository.entity.ModelDefinition;
+import com.amazon.demanddriventrafficevaluator.repository.loader.model.ModelResultLoaderInput;
+import com.amazon.demanddriventrafficevaluator.repository.loader.model.RuleBasedModelResultLoader;
+import com.amazon.demanddriventrafficevaluator.repository.provider.configuration.ConfigurationProvider;
+import com.amazon.demanddriventrafficevaluator.util.PropertiesUtil;
+import com.google.common.annotations.VisibleForTesting;
+import lombok.Getter;
+import lombok.extern.log4j.Log4j2;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.time.DateTimeException;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * A task loading the model result files shipped to the local file system as soon as they arrive.
+ * <p>
+ * The task watches the vendor directory of the {@link FileSystemObjectDao}, i.e. root/bucket/vendor, and
+ * every date and hour directory below it with a WatchService on a dedicated daemon thread. When a model
+ * result file of a configured model is created or modified, the model is loaded after a short debounce
+ * delay, which coalesces the events of a single copy, instead of at the next run of the periodic model
+ * result loading task. A file of an upcoming hour is prefetched and switched to at the start of its hour.
+ * Files should be moved into place atomically, e.g. by rsync, so that a partially written file is never
+ * loaded; a file written in place is loaded again once the writes stop.
+ * </p>
+ */
+@Log4j2
+public class ModelResultFileWatchTask implements Closeable {
+
+    private static final String MODEL_RESULT_FILE_EXTENSION = ".csv";
+    private static final String MODEL_RESULT_DELTA_FILE_EXTENSION = ".delta.csv";
+
+    @Getter
+    private final String taskName;
+    private final String sspIdentifier;
+    private final FileSystemObjectDao fileDao;
+    private final String s3Bucket;
+    private final ScheduledThreadPoolExecutor executor;
+    private final ConfigurationProvider<ModelConfiguration> modelConfigurationProvider;
+    private final RuleBasedModelResultLoader modelResultLoader;
+    private final ExecutorService modelLoadingExecutor;
+    private final long debounceMs;
+    private final ConcurrentMap<String, ScheduledFuture<?>> pendingLoadByModelIdentifier = new ConcurrentHashMap<>();
+    private WatchService watchService;
+    private Path vendorDirectory;
+
+    /**
+     * Creates a task loading the model result files as soon as they arrive.
+     *
+     * @param sspIdentifier              The identifier of the SSP.
+     * @param taskName                   The name of the task.
+     * @param executor                   The executor the debounced loads are scheduled on.
+     * @param modelConfigurationProvider The provider of the model configuration.
+     * @param modelResultLoader          The loader of the model results.
+     * @param fileDao                    The DAO reading the model result files from the local file system.
+     * @param s3Bucket                   The default bucket of the model result files.
+     * @param modelLoadingExecutor       The executor the models are loaded on.
+     * @param debounceMs                 How long a model result file must stay unchanged before it is loaded.
+     */
+    public ModelResultFileWatchTask(
+            String sspIdentifier,
+            String taskName,
+            ScheduledThreadPoolExecutor executor,
+            ConfigurationProvider<ModelConfiguration> modelConfigurationProvider,
+            RuleBasedModelResultLoader modelResultLoader,
+            FileSystemObjectDao fileDao,
+            String s3Bucket,
+            ExecutorService modelLoadingExecutor,
+            long debounceMs
+    ) {
+        if (debounceMs < 0L) {
+            throw new IllegalArgumentException("Invalid file watch debounce: " + debounceMs);
+        }
+        this.sspIdentifier = sspIdentifier;
+        this.taskName = taskName;
+        this.executor = executor;
+        this.modelConfigurationProvider = modelConfigurationProvider;
+        this.modelResultLoader = modelResultLoader;
+        this.fileDao = fileDao;
+        this.s3Bucket = s3Bucket;
+        this.modelLoadingExecutor = modelLoadingExecutor;
+        this.debounceMs = debounceMs;
+    }
+
+    /**
+     * Initializes the task by registering the vendor directory and its subdirectories and starting the watch thread.
+     *
+     * @throws IllegalStateException if the directories cannot be watched.
+     */
+    public synchronized void initialize() {
+        if (watchService != null) {
+            return;
+        }
+        vendorDirectory = fileDao.getFile(getS3Bucket(), sspIdentifier);
+        try {
+            Files.createDirectories(vendorDirectory);
+            watchService = FileSystems.getDefault().newWatchService();
+            register(vendorDirectory);
+        } catch (IOException e) {
+            throw new IllegalStateException(taskName + ": failed to watch " + vendorDirectory, e);
+        }
+        Thread watchThread = new Thread(this::watch, taskName);
+        watchThread.setDaemon(true);
+        watchThread.start();
+        log.info("{}: watching {} for model result files", taskName, vendorDirectory);
+    }
+
+    /**
+     * Stops watching the directories.
+     */
+    @Override
+    public synchronized void close() throws IOException {
+        if (watchService != null) {
+            watchService.close();
+        }
+    }
+
+    private void watch() {
+        try {
+            while (true) {
+                WatchKey watchKey = watchService.take();
+                Path directory = (Path) watchKey.watchable();
+                for (WatchEvent<?> event : watchKey.pollEvents()) {
+                    if (event.kind() == StandardWatchEventKinds.OVERFLOW) {
+                        log.warn("{}: missed file events in {}, rescanning", taskName, directory);
+                        register(vendorDirectory);
+                        continue;
+                    }
+                    Path path = directory.resolve((Path) event.context());
+                    if (Files.isDirectory(path)) {
+                        register(path);
+                    } else {
+                        onFileChanged(path);
+                    }
+                }
+                watchKey.reset();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ClosedWatchServiceException e) {
+            log.info("{}: stopped watching {}", taskName, vendorDirectory);
+        } catch (Exception e) {
+            log.error("{}: watching {} failed", taskName, vendorDirectory, e);
+        }
+    }
+
+    /**
+     * Registers the directory and its subdirectories, and handles the files they already contain, which
+     * may have been created before the directory was registered.
+     */
+    private void register(Path directory) {
+        try (Stream<Path> paths = Files.walk(directory)) {
+            paths.forEach(path -> {
+                if (Files.isDirectory(path)) {
+                    try {
+                        path.register(watchService, StandardWatchEventKinds.ENTRY_CREATE, StandardWatchEventKinds.ENTRY_MODIFY);
+                    } catch (IOException e) {
+                        log.error("{}: failed to watch {}", taskName, path, e);
+                    }
+                } else if (!path.equals(directory)) {
+                    onFileChanged(path);
+                }
+            });
+        } catch (IOException | RuntimeException e) {
+            log.error("{}: failed to register {}", taskName, directory, e);
+        }
+    }
+
+    /**
+     * Schedules the load of the model whose result file changed, replacing a load scheduled for an earlier change.
+     * <p>
+     * Only files at date/hour/model.csv below the vendor directory are model result files, next to their deltas
+     * at date/hour/model.delta.csv; temporary files whose name starts with a dot, as written by rsync, are ignored.
+     * </p>
+     */
+    @VisibleForTesting
+    void onFileChanged(Path file) {
+        Path relativePath = vendorDirectory.relativize(file);
+        String fileName = file.getFileName().toString();
+        if (relativePath.getNameCount() != 3 || fileName.startsWith(".") || !fileName.endsWith(MODEL_RESULT_FILE_EXTENSION)) {
+            return;
+        }
+        Optional<Instant> hourStart = parseHourStart(relativePath.getName(0).toString(), relativePath.getName(1).toString());
+        if (hourStart.isEmpty()) {
+            return;
+        }
+        // a model result delta is applied by the load of its model, like the model result file it sits next to
+        String extension = fileName.endsWith(MODEL_RESULT_DELTA_FILE_EXTENSION)
+                ? MODEL_RESULT_DELTA_FILE_EXTENSION : MODEL_RESULT_FILE_EXTENSION;
+        String modelIdentifier = fileName.substring(0, fileName.length() - extension.length());
+        pendingLoadByModelIdentifier.compute(modelIdentifier, (key, pendingLoad) -> {
+            if (pendingLoad != null) {
+                pendingLoad.cancel(false);
+            }
+            return executor.schedule(() -> load(modelIdentifier, hourStart.get()), debounceMs, TimeUnit.MILLISECONDS);
+        });
+    }
+
+    private void load(String modelIdentifier, Instant hourStart) {
+        ModelDefinition modelDefinition;
+        try {
+            modelDefinition = modelConfigurationProvider.provide().getModelDefinitionByIdentifier().get(modelIdentifier);
+        } catch (Exception e) {
+            log.error("{}: failed to get the model configuration to load model {}", taskName, modelIdentifier, e);
+            return;
+        }
+        if (modelDefinition == null) {
+            log.debug("{}: ignoring model result file of unknown model {}", taskName, modelIdentifier);
+            return;
+        }
+        ModelResultLoaderInput modelResultLoaderInput = new ModelResultLoaderInput(
+                getS3Bucket(),
+                modelIdentifier + MODEL_RESULT_FILE_EXTENSION,
+                sspIdentifier,
+                modelIdentifier,
+                modelDefinition.getType()
+        );
+        try {
+            modelLoadingExecutor.execute(() -> {
+                try {
+                    log.info("{}: model result file of model {} for hour {} arrived, loading it: {}", taskName,
+                            modelIdentifier, hourStart, modelResultLoader.prefetch(modelResultLoaderInput, hourStart));
+                } catch (Exception e) {
+                    log.error("{}: loading model {} failed", taskName, modelIdentifier, e);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            log.error("{}: loading model {} was rejected", taskName, modelIdentifier, e);
+        }
+    }
+
+    private String getS3Bucket() {
+        return PropertiesUtil.getFileSharingS3BucketProperties().getString("adsp", s3Bucket);
+    }
+
+    private static Optional<Instant> parseHourStart(String date, String hour) {
+        try {
+            return Optional.of(LocalDate.parse(date).atTime(Integer.parseInt(hour), 0).toInstant(ZoneOffset.UTC));
+        } catch (DateTimeException | NumberFormatException e) {
+            return Optional.empty();
+        }
+    }
+}
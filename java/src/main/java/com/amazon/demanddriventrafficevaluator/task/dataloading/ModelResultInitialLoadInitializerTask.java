@@ -0,0 +1,91 @@
+// Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+// SPDX-License-Identifier: Apache-2.0
+
+package com.amazon.demanddriventrafficevaluator.task.dataloading;
+
+import com.amazon.demanddriventrafficevaluator.repository.entity.ModelConfiguration;
+import com.amazon.demanddriventrafficevaluator.repository.entity.ModelDefinition;
+import com.amazon.demanddriventrafficevaluator.repository.loader.DefaultLoader;
+import com.amazon.demanddriventrafficevaluator.repository.loader.model.ModelResultLoaderInput;
+import com.amazon.demanddriventrafficevaluator.repository.provider.configuration.ConfigurationProvider;
+import com.amazon.demanddriventrafficevaluator.task.InitializerTask;
+import com.amazon.demanddriventrafficevaluator.util.PropertiesUtil;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A task loading the model results of every configured model once during the initialization.
+ * <p>
+ * The periodic model result loading task first runs after a random delay of up to its period, so without
+ * this task the model results would only become available minutes after the initialization. Running this
+ * task reads the model configuration and discovers one {@link ModelResultLoadInitializerTask} per model as
+ * its follow-up tasks, so that the models are loaded concurrently, each as its own task of the initialization.
+ * The task must depend on the task loading the model configuration.
+ * </p>
+ */
+public class ModelResultInitialLoadInitializerTask extends InitializerTask {
+
+    private final String sspIdentifier;
+    private final ConfigurationProvider<ModelConfiguration> modelConfigurationProvider;
+    private final DefaultLoader<ModelResultLoaderInput> modelResultLoader;
+    private final String s3Bucket;
+    private volatile List<InitializerTask> modelResultLoadTasks = List.of();
+
+    public ModelResultInitialLoadInitializerTask(
+            String sspIdentifier,
+            String taskName,
+            int maximumAttempts,
+            long minDelayBeforeAttemptMs,
+            long maxDelayBeforeAttemptMs,
+            ConfigurationProvider<ModelConfiguration> modelConfigurationProvider,
+            DefaultLoader<ModelResultLoaderInput> modelResultLoader,
+            String s3Bucket
+    ) {
+        super(taskName, maximumAttempts, minDelayBeforeAttemptMs, maxDelayBeforeAttemptMs);
+        this.sspIdentifier = sspIdentifier;
+        this.modelConfigurationProvider = modelConfigurationProvider;
+        this.modelResultLoader = modelResultLoader;
+        this.s3Bucket = s3Bucket;
+    }
+
+    /**
+     * Creates the load task of every model of the current model configuration.
+     *
+     * @throws IllegalStateException if the model configuration is not loaded.
+     */
+    @Override
+    public void run() {
+        ModelConfiguration modelConfiguration = modelConfigurationProvider.provide();
+        String s3Bucket = PropertiesUtil.getFileSharingS3BucketProperties().getString("adsp", this.s3Bucket);
+        List<InitializerTask> tasks = new ArrayList<>();
+        for (ModelDefinition modelDefinition : modelConfiguration.getModelDefinitionByIdentifier().values()) {
+            ModelResultLoaderInput modelResultLoaderInput = new ModelResultLoaderInput(
+                    s3Bucket,
+                    modelDefinition.getIdentifier() + ".csv",
+                    sspIdentifier,
+                    modelDefinition.getIdentifier(),
+                    modelDefinition.getType()
+            );
+            tasks.add(new ModelResultLoadInitializerTask(
+                    getName() + ":" + modelDefinition.getIdentifier(),
+                    getMaximumAttempts(),
+                    getMinDelayBeforeAttemptMs(),
+                    getMaxDelayBeforeAttemptMs(),
+                    modelResultLoader,
+                    modelResultLoaderInput
+            ));
+        }
+        modelResultLoadTasks = tasks;
+    }
+
+    /**
+     * Returns the load tasks of the models found by the last run.
+     *
+     * @return One task per model.
+     */
+    @Override
+    public List<InitializerTask> getFollowUpTasks() {
+        return modelResultLoadTasks;
+    }
+}
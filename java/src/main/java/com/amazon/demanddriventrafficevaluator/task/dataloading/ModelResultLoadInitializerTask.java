@@ -0,0 +1,51 @@
+// Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+// SPDX-License-Identifier: Apache-2.0
+
+package com.amazon.demanddriventrafficevaluator.task.dataloading;
+
+import com.amazon.demanddriventrafficevaluator.repository.loader.DefaultLoader;
+import com.amazon.demanddriventrafficevaluator.repository.loader.model.ModelResultLoaderInput;
+import com.amazon.demanddriventrafficevaluator.task.InitializerTask;
+import lombok.extern.log4j.Log4j2;
+
+/**
+ * The initial load of the model results of a single model.
+ * <p>
+ * The task is optional: a model whose results fail to load is loaded again by the periodic model result
+ * loading task, so it does not fail the initialization.
+ * </p>
+ */
+@Log4j2
+public class ModelResultLoadInitializerTask extends InitializerTask {
+
+    private final DefaultLoader<ModelResultLoaderInput> modelResultLoader;
+    private final ModelResultLoaderInput modelResultLoaderInput;
+
+    public ModelResultLoadInitializerTask(
+            String taskName,
+            int maximumAttempts,
+            long minDelayBeforeAttemptMs,
+            long maxDelayBeforeAttemptMs,
+            DefaultLoader<ModelResultLoaderInput> modelResultLoader,
+            ModelResultLoaderInput modelResultLoaderInput
+    ) {
+        super(taskName, maximumAttempts, minDelayBeforeAttemptMs, maxDelayBeforeAttemptMs);
+        this.modelResultLoader = modelResultLoader;
+        this.modelResultLoaderInput = modelResultLoaderInput;
+    }
+
+    /**
+     * Loads the model results of the model.
+     */
+    @Override
+    public void run() {
+        boolean loaded = modelResultLoader.load(modelResultLoaderInput);
+        log.debug("{}: initial load of model {} loaded new results: {}", getName(),
+                modelResultLoaderInput.getModelIdentifier(), loaded);
+    }
+
+    @Override
+    public boolean isOptional() {
+        return true;
+    }
+}
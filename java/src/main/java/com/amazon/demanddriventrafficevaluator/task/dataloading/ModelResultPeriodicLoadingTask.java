@@ -10,9 +10,21 @@ import com.amazon.demanddriventrafficevaluator.repository.loader.model.ModelResu
 import com.amazon.demanddriventrafficevaluator.repository.provider.configuration.ConfigurationProvider;
 import com.amazon.demanddriventrafficevaluator.task.PeriodicTaskWithRandomizedStart;
 import com.amazon.demanddriventrafficevaluator.util.PropertiesUtil;
+import com.google.common.util.concurrent.MoreExecutors;
+import lombok.extern.log4j.Log4j2;
 import org.apache.commons.configuration2.Configuration;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 
 /**
  * A periodic task for loading model results at regular intervals.
@@ -22,12 +34,25 @@ import java.util.concurrent.ScheduledThreadPoolExecutor;
  * ConfigurationProvider to obtain model configurations and a DefaultLoader to
  * handle the actual loading process for each model.
  * </p>
+ * <p>
+ * The models are loaded concurrently on the model loading executor, whose size bounds the number of
+ * models loaded at once, so that a refresh takes about as long as the largest model rather than the sum
+ * of all models. Every model load is isolated: a failing load is logged without affecting the others,
+ * and a load running for longer than the model load timeout is cancelled if the loader can interrupt it
+ * without leaving partly loaded model results behind. Otherwise, the load is reported as overdue and left
+ * to complete.
+ * </p>
  */
+@Log4j2
 public class ModelResultPeriodicLoadingTask extends PeriodicTaskWithRandomizedStart {
 
+    public static final long NO_MODEL_LOAD_TIMEOUT = 0L;
+
     private final ConfigurationProvider<ModelConfiguration> modelConfigurationProvider;
     private final DefaultLoader<ModelResultLoaderInput> modelResultLoader;
     private final String s3Bucket;
+    private final ExecutorService modelLoadingExecutor;
+    private final long modelLoadTimeoutMs;
 
 
     public ModelResultPeriodicLoadingTask(
@@ -38,11 +63,45 @@ public class ModelResultPeriodicLoadingTask extends PeriodicTaskWithRandomizedSt
             ConfigurationProvider<ModelConfiguration> modelConfigurationProvider,
             DefaultLoader<ModelResultLoaderInput> modelResultLoader,
             String s3Bucket
+    ) {
+        this(sspIdentifier, taskName, periodMs, executor, modelConfigurationProvider, modelResultLoader, s3Bucket,
+                MoreExecutors.newDirectExecutorService(), NO_MODEL_LOAD_TIMEOUT);
+    }
+
+    /**
+     * Creates a task loading the models concurrently.
+     *
+     * @param sspIdentifier              The identifier of the SSP.
+     * @param taskName                   The name of the task.
+     * @param periodMs                   The period of the task in milliseconds.
+     * @param executor                   The executor scheduling the task and the model load timeouts.
+     * @param modelConfigurationProvider The provider of the model configuration.
+     * @param modelResultLoader          The loader of the model results, which must support concurrent loads.
+     * @param s3Bucket                   The default S3 bucket of the model result files.
+     * @param modelLoadingExecutor       The executor the models are loaded on; its size is the parallelism.
+     * @param modelLoadTimeoutMs         The maximum duration of one model load, or {@link #NO_MODEL_LOAD_TIMEOUT};
+     *                                   only the loads the loader can interrupt are cancelled once it passes.
+     */
+    public ModelResultPeriodicLoadingTask(
+            String sspIdentifier,
+            String taskName,
+            long periodMs,
+            ScheduledThreadPoolExecutor executor,
+            ConfigurationProvider<ModelConfiguration> modelConfigurationProvider,
+            DefaultLoader<ModelResultLoaderInput> modelResultLoader,
+            String s3Bucket,
+            ExecutorService modelLoadingExecutor,
+            long modelLoadTimeoutMs
     ) {
         super(sspIdentifier, taskName, periodMs, executor);
+        if (modelLoadTimeoutMs < 0L) {
+            throw new IllegalArgumentException("Invalid model load timeout: " + modelLoadTimeoutMs);
+        }
         this.modelConfigurationProvider = modelConfigurationProvider;
         this.modelResultLoader = modelResultLoader;
         this.s3Bucket = s3Bucket;
+        this.modelLoadingExecutor = modelLoadingExecutor;
+        this.modelLoadTimeoutMs = modelLoadTimeoutMs;
     }
 
     /**
@@ -54,7 +113,8 @@ public class ModelResultPeriodicLoadingTask extends PeriodicTaskWithRandomizedSt
      *   <li>Obtains the S3 bucket information from properties</li>
      *   <li>Iterates through each model definition in the configuration</li>
      *   <li>Creates a ModelResultLoaderInput for each model</li>
-     *   <li>Triggers the loading process for each model's results</li>
+     *   <li>Triggers the loading process for each model's results on the model loading executor</li>
+     *   <li>Waits for all model loads to complete, fail or time out</li>
      * </ol>
      * </p>
      */
@@ -64,6 +124,7 @@ public class ModelResultPeriodicLoadingTask extends PeriodicTaskWithRandomizedSt
         Configuration fileSharingS3BucketProperties = PropertiesUtil.getFileSharingS3BucketProperties();
         String s3Bucket = fileSharingS3BucketProperties.getString("adsp", this.s3Bucket);
 
+        List<ModelLoad> modelLoads = new ArrayList<>();
         for (ModelDefinition modelDefinition : modelConfiguration.getModelDefinitionByIdentifier().values()) {
             ModelResultLoaderInput modelResultLoaderInput = new ModelResultLoaderInput(
                     s3Bucket,
@@ -72,8 +133,49 @@ public class ModelResultPeriodicLoadingTask extends PeriodicTaskWithRandomizedSt
                     modelDefinition.getIdentifier(),
                     modelDefinition.getType()
             );
-            modelResultLoader.load(modelResultLoaderInput);
+            submit(modelResultLoaderInput).ifPresent(modelLoads::add);
+        }
+        for (ModelLoad modelLoad : modelLoads) {
+            try {
+                modelLoad.future.get();
+            } catch (CancellationException e) {
+                log.error("{}: loading model {} timed out after {} ms", getTaskName(), modelLoad.modelIdentifier, modelLoadTimeoutMs);
+            } catch (ExecutionException e) {
+                log.error("{}: loading model {} failed", getTaskName(), modelLoad.modelIdentifier, e.getCause());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                modelLoads.stream().filter(load -> load.interruptible).forEach(load -> load.future.cancel(true));
+                log.warn("{}: interrupted while loading models", getTaskName());
+                return;
+            }
+        }
+    }
+
+    private Optional<ModelLoad> submit(ModelResultLoaderInput modelResultLoaderInput) {
+        FutureTask<Boolean> future = new FutureTask<>(() -> modelResultLoader.load(modelResultLoaderInput));
+        boolean interruptible = modelResultLoader.isInterruptible(modelResultLoaderInput);
+        Runnable onTimeout = interruptible
+                ? () -> future.cancel(true)
+                : () -> log.warn("{}: loading model {} takes longer than {} ms, letting it complete as it cannot be interrupted",
+                        getTaskName(), modelResultLoaderInput.getModelIdentifier(), modelLoadTimeoutMs);
+        try {
+            modelLoadingExecutor.execute(() -> {
+                // the timeout starts when the load starts, not while it waits for a free loading thread
+                ScheduledFuture<?> timeout = modelLoadTimeoutMs == NO_MODEL_LOAD_TIMEOUT ? null
+                        : getExecutor().schedule(onTimeout, modelLoadTimeoutMs, TimeUnit.MILLISECONDS);
+                try {
+                    future.run();
+                } finally {
+                    if (timeout != null) {
+                        timeout.cancel(false);
+                    }
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            log.error("{}: loading model {} was rejected", getTaskName(), modelResultLoaderInput.getModelIdentifier(), e);
+            return Optional.empty();
         }
+        return Optional.of(new ModelLoad(modelResultLoaderInput.getModelIdentifier(), future, interruptible));
     }
 
     /**
@@ -88,4 +190,16 @@ public class ModelResultPeriodicLoadingTask extends PeriodicTaskWithRandomizedSt
     public void initialize() {
         schedulePeriodically();
     }
+
+    private static class ModelLoad {
+        private final String modelIdentifier;
+        private final FutureTask<Boolean> future;
+        private final boolean interruptible;
+
+        private ModelLoad(String modelIdentifier, FutureTask<Boolean> future, boolean interruptible) {
+            this.modelIdentifier = modelIdentifier;
+            this.future = future;
+            this.interruptible = interruptible;
+        }
+    }
 }
@@ -0,0 +1,24 @@
+// Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+// SPDX-License-Identifier: Apache-2.0
+
+package com.amazon.demanddriventrafficevaluator.task.dataloading;
+
+import com.amazon.demanddriventrafficevaluator.task.InitializerTask;
+
+public class ModelResultPrefetchInitializerTask extends InitializerTask {
+
+    private final ModelResultPrefetchTask task;
+
+    public ModelResultPrefetchInitializerTask(String taskName, int maximumAttempts, long minDelayBeforeAttemptMs, long maxDelayBeforeAttemptMs, ModelResultPrefetchTask task) {
+        super(taskName, maximumAttempts, minDelayBeforeAttemptMs, maxDelayBeforeAttemptMs);
+        this.task = task;
+    }
+
+    /**
+     * Schedules the prefetching window of the upcoming hour boundary.
+     */
+    @Override
+    public void run() {
+        task.initialize();
+    }
+}
@@ -0,0 +1,228 @@
+// Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+// SPDX-License-Identifier: Apache-2.0
+
+package com.amazon.demanddriventrafficevaluator.task.dataloading;
+
+import com.amazon.demanddriventrafficevaluator.repository.entity.ModelConfiguration;
+import com.amazon.demanddriventrafficevaluator.repository.entity.ModelDefinition;
+import com.amazon.demanddriventrafficevaluator.repository.loader.model.ModelResultLoaderInput;
+import com.amazon.demanddriventrafficevaluator.repository.loader.model.ModelResultPrefetchResult;
+import com.amazon.demanddriventrafficevaluator.repository.loader.model.RuleBasedModelResultLoader;
+import com.amazon.demanddriventrafficevaluator.repository.provider.configuration.ConfigurationProvider;
+import com.amazon.demanddriventrafficevaluator.task.PeriodicTaskWithRandomizedStart;
+import com.amazon.demanddriventrafficevaluator.util.PropertiesUtil;
+import com.google.common.annotations.VisibleForTesting;
+import lombok.extern.log4j.Log4j2;
+import org.apache.commons.configuration2.Configuration;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A task prefetching the model result files of every hour around the hour boundary.
+ * <p>
+ * The model result files are partitioned by hour, so the periodic model result loading task only finds
+ * the files of a new hour when its randomized schedule happens to fire after they were uploaded. This task
+ * polls for the files of the upcoming hour at the period of the task, but only within a window around the
+ * hour boundary, and otherwise stays idle. Before the boundary, the stores of the files found are built in
+ * the background on the prefetching executor and switched to exactly at the boundary; after the boundary,
+ * the files not found yet are loaded as soon as they appear. The window of an hour ends early once every
+ * model is switched to, or prefetched for, that hour.
+ * </p>
+ */
+@Log4j2
+public class ModelResultPrefetchTask extends PeriodicTaskWithRandomizedStart {
+
+    private final ConfigurationProvider<ModelConfiguration> modelConfigurationProvider;
+    private final RuleBasedModelResultLoader modelResultLoader;
+    private final String s3Bucket;
+    private final ExecutorService prefetchingExecutor;
+    private final long windowBeforeHourMs;
+    private final long windowAfterHourMs;
+    private final Set<String> prefetchedModelIdentifiers = ConcurrentHashMap.newKeySet();
+    private final Set<String> prefetchingModelIdentifiers = ConcurrentHashMap.newKeySet();
+    private volatile Instant hourStart;
+
+    /**
+     * Creates a task prefetching the model result files around the hour boundary.
+     *
+     * @param sspIdentifier              The identifier of the SSP.
+     * @param taskName                   The name of the task.
+     * @param pollIntervalMs             The interval between two polls within the window, in milliseconds.
+     * @param executor                   The executor scheduling the polls and the switch at the hour boundary.
+     * @param modelConfigurationProvider The provider of the model configuration.
+     * @param modelResultLoader          The loader of the model results.
+     * @param s3Bucket                   The default S3 bucket of the model result files.
+     * @param prefetchingExecutor        The executor the model result files are downloaded and built on.
+     * @param windowBeforeHourMs         How long before the hour boundary the polling starts, in milliseconds.
+     * @param windowAfterHourMs          How long after the hour boundary the polling stops, in milliseconds.
+     */
+    public ModelResultPrefetchTask(
+            String sspIdentifier,
+            String taskName,
+            long pollIntervalMs,
+            ScheduledThreadPoolExecutor executor,
+            ConfigurationProvider<ModelConfiguration> modelConfigurationProvider,
+            RuleBasedModelResultLoader modelResultLoader,
+            String s3Bucket,
+            ExecutorService prefetchingExecutor,
+            long windowBeforeHourMs,
+            long windowAfterHourMs
+    ) {
+        super(sspIdentifier, taskName, pollIntervalMs, executor);
+        if (pollIntervalMs <= 0L) {
+            throw new IllegalArgumentException("Invalid prefetch poll interval: " + pollIntervalMs);
+        }
+        if (windowBeforeHourMs < 0L || windowAfterHourMs < 0L
+                || windowBeforeHourMs + windowAfterHourMs >= TimeUnit.HOURS.toMillis(1)) {
+            throw new IllegalArgumentException("Invalid prefetch window: " + windowBeforeHourMs + " ms before and "
+                    + windowAfterHourMs + " ms after the hour");
+        }
+        this.modelConfigurationProvider = modelConfigurationProvider;
+        this.modelResultLoader = modelResultLoader;
+        this.s3Bucket = s3Bucket;
+        this.prefetchingExecutor = prefetchingExecutor;
+        this.windowBeforeHourMs = windowBeforeHourMs;
+        this.windowAfterHourMs = windowAfterHourMs;
+    }
+
+    /**
+     * Polls once for the model result files of the hour of the current window.
+     * <p>
+     * Every model that is neither prefetched for the hour yet nor being prefetched is submitted to the
+     * prefetching executor, so that a large file does not delay the poll of the other models.
+     * </p>
+     *
+     * @return true if every model is prefetched for the hour, so that the window can end.
+     */
+    public boolean poll() {
+        Instant pollHourStart = hourStart;
+        ModelConfiguration modelConfiguration = modelConfigurationProvider.provide();
+        Configuration fileSharingS3BucketProperties = PropertiesUtil.getFileSharingS3BucketProperties();
+        String s3Bucket = fileSharingS3BucketProperties.getString("adsp", this.s3Bucket);
+
+        boolean complete = true;
+        for (ModelDefinition modelDefinition : modelConfiguration.getModelDefinitionByIdentifier().values()) {
+            String modelIdentifier = modelDefinition.getIdentifier();
+            if (prefetchedModelIdentifiers.contains(modelIdentifier)) {
+                continue;
+            }
+            complete = false;
+            if (!prefetchingModelIdentifiers.add(modelIdentifier)) {
+                continue;
+            }
+            ModelResultLoaderInput modelResultLoaderInput = new ModelResultLoaderInput(
+                    s3Bucket,
+                    modelIdentifier + ".csv",
+                    getSspIdentifier(),
+                    modelIdentifier,
+                    modelDefinition.getType()
+            );
+            try {
+                prefetchingExecutor.execute(() -> prefetch(modelResultLoaderInput, pollHourStart));
+            } catch (RejectedExecutionException e) {
+                prefetchingModelIdentifiers.remove(modelIdentifier);
+                log.error("{}: prefetching model {} was rejected", getTaskName(), modelIdentifier, e);
+            }
+        }
+        return complete;
+    }
+
+    private void prefetch(ModelResultLoaderInput modelResultLoaderInput, Instant pollHourStart) {
+        String modelIdentifier = modelResultLoaderInput.getModelIdentifier();
+        try {
+            ModelResultPrefetchResult result = modelResultLoader.prefetch(modelResultLoaderInput, pollHourStart);
+            if (result != ModelResultPrefetchResult.Unavailable && pollHourStart.equals(hourStart)) {
+                prefetchedModelIdentifiers.add(modelIdentifier);
+            }
+        } catch (Exception e) {
+            log.error("{}: prefetching model {} for hour {} failed", getTaskName(), modelIdentifier, pollHourStart, e);
+        } finally {
+            prefetchingModelIdentifiers.remove(modelIdentifier);
+        }
+    }
+
+    /**
+     * Polls for the model result files and schedules the next poll, or the next window once this one is over.
+     */
+    @Override
+    public void executeTask() {
+        if (hourStart == null) {
+            throw new IllegalStateException(getTaskName() + ": the task is not initialized");
+        }
+        boolean complete = false;
+        try {
+            complete = poll();
+        } catch (Exception e) {
+            log.error("{}: task failed", getTaskName(), e);
+        }
+        Instant now = Instant.now();
+        Instant windowEnd = hourStart.plusMillis(windowAfterHourMs);
+        if ((complete && !now.isBefore(hourStart)) || !now.plusMillis(getPeriodMs()).isBefore(windowEnd)) {
+            scheduleNextWindow(now);
+        } else {
+            getExecutor().schedule(this::executeTask, getPeriodMs(), TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * Initializes the task by scheduling the window of the upcoming hour boundary.
+     * <p>
+     * If the task starts within the window after an hour boundary, the window of that boundary is polled
+     * right away.
+     * </p>
+     */
+    @Override
+    public void initialize() {
+        Instant now = Instant.now();
+        Instant currentHourStart = now.truncatedTo(ChronoUnit.HOURS);
+        if (now.isBefore(currentHourStart.plusMillis(windowAfterHourMs))) {
+            startWindow(currentHourStart, now);
+        } else {
+            scheduleNextWindow(now);
+        }
+    }
+
+    private void scheduleNextWindow(Instant now) {
+        Instant nextHourStart = now.truncatedTo(ChronoUnit.HOURS).plus(1, ChronoUnit.HOURS);
+        long delayMs = Math.max(0L, nextHourStart.toEpochMilli() - windowBeforeHourMs - now.toEpochMilli());
+        log.debug("{}: prefetching the model results of {} in {} ms", getTaskName(), nextHourStart, delayMs);
+        getExecutor().schedule(() -> startWindow(nextHourStart, Instant.now()), delayMs, TimeUnit.MILLISECONDS);
+    }
+
+    @VisibleForTesting
+    void startWindow(Instant windowHourStart, Instant now) {
+        hourStart = windowHourStart;
+        prefetchedModelIdentifiers.clear();
+        long switchDelayMs = windowHourStart.toEpochMilli() - now.toEpochMilli();
+        if (switchDelayMs > 0L) {
+            // every prefetched store is switched to at the same well-defined instant
+            getExecutor().schedule(this::activatePrefetchedStores, switchDelayMs, TimeUnit.MILLISECONDS);
+        }
+        executeTask();
+    }
+
+    private void activatePrefetchedStores() {
+        try {
+            int activatedCount = modelResultLoader.activatePrefetchedStores();
+            log.info("{}: switched {} models to their prefetched model results", getTaskName(), activatedCount);
+        } catch (Exception e) {
+            log.error("{}: switching to the prefetched model results failed", getTaskName(), e);
+        }
+    }
+
+    /**
+     * Returns the start of the hour of the current or last window.
+     *
+     * @return The start of the hour, or null if no window started yet.
+     */
+    public Instant getHourStart() {
+        return hourStart;
+    }
+}
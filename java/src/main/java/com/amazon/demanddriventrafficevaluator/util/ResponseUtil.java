@@ -49,6 +49,23 @@ public class ResponseUtil {
                 .build());
     }
 
+    /**
+     * Builds one Slot object per impression, in the order of the impressions.
+     *
+     * @param aggregatedModelEvaluationResults The aggregated model evaluation result of each impression.
+     * @return A List containing the Slot object of each impression with its filter decision and extension.
+     */
+    public static List<Slot> buildSlots(List<AggregatedModelEvaluationResult> aggregatedModelEvaluationResults) {
+        List<Slot> slots = new ArrayList<>(aggregatedModelEvaluationResults.size());
+        for (AggregatedModelEvaluationResult aggregatedModelEvaluationResult : aggregatedModelEvaluationResults) {
+            slots.add(Slot.builder()
+                    .filterDecision(aggregatedModelEvaluationResult.getScoreWithTreatment())
+                    .ext(buildExtension(Map.of(EXTENSION_KEYWORD_DECISION, aggregatedModelEvaluationResult.getScore())))
+                    .build());
+        }
+        return slots;
+    }
+
     /**
      * Builds an extension string from a map of key-value pairs.
      *
@@ -6,31 +6,48 @@ package com.amazon.demanddriventrafficevaluator.evaluation.evaluator;
 import com.amazon.demanddriventrafficevaluator.BaseTestCase;
 import com.amazon.demanddriventrafficevaluator.evaluation.experiment.ExperimentContext;
 import com.amazon.demanddriventrafficevaluator.evaluation.experiment.ExperimentManager;
+import com.amazon.demanddriventrafficevaluator.evaluation.shadow.ShadowEvaluator;
+import com.amazon.demanddriventrafficevaluator.evaluation.shadow.ShadowSample;
+import com.amazon.demanddriventrafficevaluator.evaluation.trace.EvaluationTrace;
 import com.amazon.demanddriventrafficevaluator.repository.entity.ExperimentConfiguration;
 import com.amazon.demanddriventrafficevaluator.repository.entity.ModelConfiguration;
+import com.amazon.demanddriventrafficevaluator.repository.entity.ModelDefinition;
 import com.amazon.demanddriventrafficevaluator.repository.provider.configuration.ConfigurationProvider;
 import java.util.Collections;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentCaptor;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import software.amazon.awssdk.utils.ImmutableMap;
 
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
+import static com.amazon.demanddriventrafficevaluator.evaluation.evaluator.BidRequestEvaluatorOnRuleBasedModel.BYPASS_RESPONSE;
 import static com.amazon.demanddriventrafficevaluator.evaluation.evaluator.BidRequestEvaluatorOnRuleBasedModel.DEFAULT_RESPONSE;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
@@ -51,7 +68,6 @@ class BidRequestEvaluatorOnRuleBasedModelTest extends BaseTestCase {
     private ModelEvaluator modelEvaluator;
     @Mock
     private ModelEvaluationResultsAggregator modelEvaluationResultsAggregator;
-    @InjectMocks
     private BidRequestEvaluatorOnRuleBasedModel evaluator;
     private ExperimentConfiguration experimentConfiguration;
     private ModelConfiguration modelConfiguration;
@@ -105,9 +121,10 @@ class BidRequestEvaluatorOnRuleBasedModelTest extends BaseTestCase {
                 .thenReturn(modelEvaluatorOutput);
         when(modelEvaluationResultsAggregator.aggregate(any(EvaluationContext.class)))
                 .thenReturn(aggregatedResult);
+        List<EvaluationContext> listenedContexts = new ArrayList<>();
 
         // Execute
-        BidRequestEvaluatorOutput output = evaluator.evaluate(input);
+        BidRequestEvaluatorOutput output = evaluator.evaluate(input, listenedContexts::add);
 
         // Verify
         EvaluationContext capturedContext = contextCaptor.getValue();
@@ -121,6 +138,9 @@ class BidRequestEvaluatorOnRuleBasedModelTest extends BaseTestCase {
         assertEquals(1.0, slot.getFilterDecision());
         assertTrue(slot.getExt().contains("{\"decision\":0.0}"));
         assertTrue(output.getResponse().getExt().contains("{\"amazontest\":{\"learning\":1}}"));
+        assertEquals(List.of(capturedContext), listenedContexts);
+        assertSame(aggregatedResult, capturedContext.getAggregatedModelEvaluationResult());
+        assertEquals(List.of(modelEvaluatorOutput), capturedContext.getModelEvaluatorOutputs());
 
         verify(experimentManager).setupExperimentContext(any(EvaluationContext.class));
         verify(modelConfigurationProvider).provide();
@@ -318,6 +338,7 @@ class BidRequestEvaluatorOnRuleBasedModelTest extends BaseTestCase {
         String openRtbRequest = "{\"test\": \"value\"}";
         BidRequestEvaluatorInput input = BidRequestEvaluatorInput.builder()
                 .openRtbRequest(openRtbRequest)
+                .trace(true)
                 .build();
 
         // Setup mocks
@@ -341,7 +362,7 @@ class BidRequestEvaluatorOnRuleBasedModelTest extends BaseTestCase {
         assertTrue(debugInfo.get(0).contains("[Debug] Could not find id from OpenRtbRequest and use self generated UUID instead."));
         assertEquals("""
                 [Error] Error while loading model configuration.
-                Cannot invoke "com.amazon.demanddriventrafficevaluator.repository.entity.ModelConfiguration.getModelDefinitionByIdentifier()" because "modelConfiguration" is null                                                 
+                Cannot invoke "com.amazon.demanddriventrafficevaluator.repository.entity.ModelConfiguration.getModelDefinitionByIdentifier()" because "modelConfiguration" is null
                 """, debugInfo.get(1));
         assertEquals("""
                 [Error] Error while evaluating bid request.
@@ -352,6 +373,7 @@ class BidRequestEvaluatorOnRuleBasedModelTest extends BaseTestCase {
         openRtbRequest = "{\"id\": null}";
         input = BidRequestEvaluatorInput.builder()
                 .openRtbRequest(openRtbRequest)
+                .trace(true)
                 .build();
 
         // Execute
@@ -366,7 +388,7 @@ class BidRequestEvaluatorOnRuleBasedModelTest extends BaseTestCase {
         assertTrue(debugInfo.get(0).contains("[Debug] Could not find id from OpenRtbRequest and use self generated UUID instead."));
         assertEquals("""
                 [Error] Error while loading model configuration.
-                Cannot invoke "com.amazon.demanddriventrafficevaluator.repository.entity.ModelConfiguration.getModelDefinitionByIdentifier()" because "modelConfiguration" is null                                                 
+                Cannot invoke "com.amazon.demanddriventrafficevaluator.repository.entity.ModelConfiguration.getModelDefinitionByIdentifier()" because "modelConfiguration" is null
                 """, debugInfo.get(1));
         assertEquals("""
                 [Error] Error while evaluating bid request.
@@ -381,6 +403,7 @@ class BidRequestEvaluatorOnRuleBasedModelTest extends BaseTestCase {
         openRtbRequest.put("test", Collections.singletonList("value"));
         BidRequestEvaluatorInput input = BidRequestEvaluatorInput.builder()
                 .openRtbRequestMap(openRtbRequest)
+                .trace(true)
                 .build();
 
         // Setup mocks
@@ -403,7 +426,7 @@ class BidRequestEvaluatorOnRuleBasedModelTest extends BaseTestCase {
         assertTrue(debugInfo.get(0).contains("[Debug] Could not find id from OpenRtbRequest and use self generated UUID instead."));
         assertEquals("""
                 [Error] Error while loading model configuration.
-                Cannot invoke "com.amazon.demanddriventrafficevaluator.repository.entity.ModelConfiguration.getModelDefinitionByIdentifier()" because "modelConfiguration" is null                                                 
+                Cannot invoke "com.amazon.demanddriventrafficevaluator.repository.entity.ModelConfiguration.getModelDefinitionByIdentifier()" because "modelConfiguration" is null
                 """, debugInfo.get(1));
         assertEquals("""
                 [Error] Error while evaluating bid request.
@@ -415,6 +438,7 @@ class BidRequestEvaluatorOnRuleBasedModelTest extends BaseTestCase {
         openRtbRequest.put("id", null);
         input = BidRequestEvaluatorInput.builder()
                 .openRtbRequestMap(openRtbRequest)
+                .trace(true)
                 .build();
 
         // Execute
@@ -429,7 +453,7 @@ class BidRequestEvaluatorOnRuleBasedModelTest extends BaseTestCase {
         assertTrue(debugInfo.get(0).contains("[Debug] Could not find id from OpenRtbRequest and use self generated UUID instead."));
         assertEquals("""
                 [Error] Error while loading model configuration.
-                Cannot invoke "com.amazon.demanddriventrafficevaluator.repository.entity.ModelConfiguration.getModelDefinitionByIdentifier()" because "modelConfiguration" is null                                                 
+                Cannot invoke "com.amazon.demanddriventrafficevaluator.repository.entity.ModelConfiguration.getModelDefinitionByIdentifier()" because "modelConfiguration" is null
                 """, debugInfo.get(1));
         assertEquals("""
                 [Error] Error while evaluating bid request.
@@ -476,12 +500,474 @@ class BidRequestEvaluatorOnRuleBasedModelTest extends BaseTestCase {
         assertEquals(DEFAULT_RESPONSE, output.getResponse());
     }
 
+    @Test
+    void testEvaluateRecordsLatency() {
+        RequestLatencyMonitor requestLatencyMonitor = mock(RequestLatencyMonitor.class);
+        evaluator = new BidRequestEvaluatorOnRuleBasedModel(
+                SSP_IDENTIFIER,
+                experimentManager,
+                modelConfigurationProvider,
+                modelEvaluator,
+                modelEvaluationResultsAggregator,
+                BidRequestEvaluatorOnRuleBasedModelOptions.builder()
+                        .requestLatencyMonitor(requestLatencyMonitor)
+                        .build()
+        );
+        BidRequestEvaluatorInput input = BidRequestEvaluatorInput.builder()
+                .openRtbRequest(null)
+                .openRtbRequestMap(null)
+                .build();
+
+        // Execute
+        BidRequestEvaluatorOutput output = evaluator.evaluate(input);
+
+        // Verify
+        assertEquals(DEFAULT_RESPONSE, output.getResponse());
+        verify(requestLatencyMonitor).record(anyLong());
+    }
+
+    @Test
+    void testEvaluateWithoutTrace() {
+        BidRequestEvaluatorInput input = BidRequestEvaluatorInput.builder()
+                .openRtbRequest(null)
+                .build();
+
+        // Execute
+        BidRequestEvaluatorOutput output = evaluator.evaluate(input);
+
+        // Verify nothing is recorded
+        assertEquals(DEFAULT_RESPONSE, output.getResponse());
+        assertSame(EvaluationTrace.DISABLED, output.getTrace());
+        assertEquals(0, output.getTrace().size());
+    }
+
+    @Test
+    void testEvaluateWithSampledTrace() {
+        evaluator = new BidRequestEvaluatorOnRuleBasedModel(
+                SSP_IDENTIFIER,
+                experimentManager,
+                modelConfigurationProvider,
+                modelEvaluator,
+                modelEvaluationResultsAggregator,
+                BidRequestEvaluatorOnRuleBasedModelOptions.builder()
+                        .traceSamplingInterval(1)
+                        .build()
+        );
+        BidRequestEvaluatorInput input = BidRequestEvaluatorInput.builder()
+                .openRtbRequest(null)
+                .build();
+
+        // Execute
+        BidRequestEvaluatorOutput output = evaluator.evaluate(input);
+
+        // Verify
+        assertEquals(DEFAULT_RESPONSE, output.getResponse());
+        assertTrue(output.getTrace().isEnabled());
+        assertEquals(List.of("[Error] No valid OpenRTB input was provided.\n"),
+                output.getTrace().getMessages(EvaluationTrace.REQUEST_SCOPE));
+    }
+
+    @Test
+    void testEvaluateAsyncInline() throws Exception {
+        Executor executor = mock(Executor.class);
+        BidRequestEvaluatorInput input = BidRequestEvaluatorInput.builder()
+                .openRtbRequest(null)
+                .build();
+
+        // Execute
+        CompletableFuture<BidRequestEvaluatorOutput> future = evaluator.evaluateAsync(input, executor);
+
+        // Verify the request is evaluated on the calling thread
+        assertTrue(future.isDone());
+        assertSame(DEFAULT_RESPONSE, future.get().getResponse());
+        verifyNoInteractions(executor);
+    }
+
+    @Test
+    void testEvaluateAsyncWithDeadline() throws Exception {
+        evaluator = asyncEvaluator(1000L);
+        AtomicInteger executions = new AtomicInteger();
+        Executor executor = command -> {
+            executions.incrementAndGet();
+            command.run();
+        };
+        BidRequestEvaluatorInput input = BidRequestEvaluatorInput.builder()
+                .openRtbRequest(null)
+                .trace(true)
+                .build();
+
+        // Execute
+        BidRequestEvaluatorOutput output = evaluator.evaluateAsync(input, executor).get(5L, TimeUnit.SECONDS);
+
+        // Verify the request is evaluated on the executor
+        assertEquals(1, executions.get());
+        assertSame(DEFAULT_RESPONSE, output.getResponse());
+        assertEquals(List.of("[Error] No valid OpenRTB input was provided.\n"),
+                output.getTrace().getMessages(EvaluationTrace.REQUEST_SCOPE));
+    }
+
+    @Test
+    void testEvaluateAsyncMissingDeadline() throws Exception {
+        evaluator = asyncEvaluator(10L);
+        BidRequestEvaluatorInput input = BidRequestEvaluatorInput.builder()
+                .openRtbRequest("{\"id\":\"" + REQUEST_ID + "\"}")
+                .trace(true)
+                .build();
+
+        // Execute with an executor that never runs the evaluation
+        BidRequestEvaluatorOutput output = evaluator.evaluateAsync(input, command -> { }).get(5L, TimeUnit.SECONDS);
+
+        // Verify
+        assertSame(DEFAULT_RESPONSE, output.getResponse());
+        assertEquals(List.of("[Error] The evaluation of the bid request missed its deadline of 10 ms.\n"),
+                output.getTrace().getMessages(EvaluationTrace.REQUEST_SCOPE));
+        verifyNoInteractions(experimentManager, modelEvaluator);
+    }
+
+    @Test
+    void testEvaluateAsyncRejected() throws Exception {
+        evaluator = asyncEvaluator(1000L);
+        BidRequestEvaluatorInput input = BidRequestEvaluatorInput.builder()
+                .openRtbRequest("{\"id\":\"" + REQUEST_ID + "\"}")
+                .build();
+
+        // Execute
+        CompletableFuture<BidRequestEvaluatorOutput> future = evaluator.evaluateAsync(input, command -> {
+            throw new RejectedExecutionException();
+        });
+
+        // Verify
+        assertTrue(future.isDone());
+        assertSame(DEFAULT_RESPONSE, future.get().getResponse());
+        verifyNoInteractions(experimentManager, modelEvaluator);
+    }
+
+    @Test
+    void testEvaluateBypassedWhenOverloaded() {
+        RequestLatencyMonitor requestLatencyMonitor = mock(RequestLatencyMonitor.class);
+        OverloadBypass overloadBypass = mock(OverloadBypass.class);
+        evaluator = new BidRequestEvaluatorOnRuleBasedModel(
+                SSP_IDENTIFIER,
+                experimentManager,
+                modelConfigurationProvider,
+                modelEvaluator,
+                modelEvaluationResultsAggregator,
+                BidRequestEvaluatorOnRuleBasedModelOptions.builder()
+                        .requestLatencyMonitor(requestLatencyMonitor)
+                        .overloadBypass(overloadBypass)
+                        .build()
+        );
+        when(overloadBypass.tryEnter()).thenReturn(false);
+        BidRequestEvaluatorInput input = BidRequestEvaluatorInput.builder()
+                .openRtbRequest("{\"id\":\"" + REQUEST_ID + "\"}")
+                .trace(true)
+                .build();
+
+        // Execute
+        BidRequestEvaluatorOutput output = evaluator.evaluate(input);
+
+        // Verify the pass-through decision is returned without evaluating the request
+        assertSame(BYPASS_RESPONSE, output.getResponse());
+        assertEquals(1.0, output.getResponse().getSlots().get(0).getFilterDecision());
+        assertEquals(List.of("[Info] Bypassed the evaluation of the bid request, the evaluator is overloaded.\n"),
+                output.getTrace().getMessages(EvaluationTrace.REQUEST_SCOPE));
+        verify(overloadBypass, never()).exit();
+        verifyNoInteractions(experimentManager, modelEvaluator, modelEvaluationResultsAggregator, requestLatencyMonitor);
+    }
+
+    @Test
+    void testEvaluateAdmittedByOverloadBypass() {
+        OverloadBypass overloadBypass = mock(OverloadBypass.class);
+        evaluator = new BidRequestEvaluatorOnRuleBasedModel(
+                SSP_IDENTIFIER,
+                experimentManager,
+                modelConfigurationProvider,
+                modelEvaluator,
+                modelEvaluationResultsAggregator,
+                BidRequestEvaluatorOnRuleBasedModelOptions.builder()
+                        .overloadBypass(overloadBypass)
+                        .build()
+        );
+        when(overloadBypass.tryEnter()).thenReturn(true);
+        BidRequestEvaluatorInput input = BidRequestEvaluatorInput.builder()
+                .openRtbRequest(null)
+                .build();
+
+        // Execute
+        BidRequestEvaluatorOutput output = evaluator.evaluate(input);
+
+        // Verify
+        assertSame(DEFAULT_RESPONSE, output.getResponse());
+        verify(overloadBypass).exit();
+    }
+
+    @Test
+    void testEvaluateWithShadowEvaluator() {
+        ShadowEvaluator shadowEvaluator = mock(ShadowEvaluator.class);
+        ShadowSample shadowSample = mock(ShadowSample.class);
+        evaluator = new BidRequestEvaluatorOnRuleBasedModel(
+                SSP_IDENTIFIER,
+                experimentManager,
+                modelConfigurationProvider,
+                modelEvaluator,
+                modelEvaluationResultsAggregator,
+                BidRequestEvaluatorOnRuleBasedModelOptions.builder()
+                        .shadowEvaluator(shadowEvaluator)
+                        .build()
+        );
+        // Prepare test data
+        String openRtbRequest = "{\"id\":\"" + REQUEST_ID + "\"}";
+        BidRequestEvaluatorInput input = BidRequestEvaluatorInput.builder()
+                .openRtbRequest(openRtbRequest)
+                .build();
+        ModelEvaluatorOutput modelEvaluatorOutput = ModelEvaluatorOutput.builder()
+                .build();
+        AggregatedModelEvaluationResult aggregatedResult = AggregatedModelEvaluationResult.builder()
+                .score(0.0)
+                .scoreWithTreatment(1.0)
+                .treatmentCodeInInt(1)
+                .build();
+
+        // Setup mocks
+        ArgumentCaptor<EvaluationContext> contextCaptor = ArgumentCaptor.forClass(EvaluationContext.class);
+        doAnswer(invocation -> {
+            EvaluationContext context = invocation.getArgument(0);
+            context.setExperimentContext(experimentContext);
+            return null;
+        }).when(experimentManager).setupExperimentContext(contextCaptor.capture());
+        when(modelConfigurationProvider.provide()).thenReturn(modelConfiguration);
+        when(modelEvaluator.evaluate(any(ModelEvaluatorInput.class)))
+                .thenReturn(modelEvaluatorOutput);
+        when(modelEvaluationResultsAggregator.aggregate(any(EvaluationContext.class)))
+                .thenReturn(aggregatedResult);
+        when(shadowEvaluator.sample(any(EvaluationContext.class), eq(ShadowSample.WHOLE_REQUEST)))
+                .thenReturn(shadowSample);
+
+        // Execute
+        BidRequestEvaluatorOutput output = evaluator.evaluate(input);
+
+        // Verify the live outputs are handed over, and the response is built from them only
+        assertEquals(1.0, output.getResponse().getSlots().get(0).getFilterDecision());
+        assertTrue(output.getResponse().getExt().contains("{\"amazontest\":{\"learning\":1}}"));
+        assertEquals(List.of(modelEvaluatorOutput), contextCaptor.getValue().getModelEvaluatorOutputs());
+        verify(shadowEvaluator).sample(contextCaptor.getValue(), ShadowSample.WHOLE_REQUEST);
+        verify(shadowSample).addLiveEvaluation(any(ModelDefinition.class), eq(List.of(modelEvaluatorOutput)), anyLong());
+        verify(shadowEvaluator).submit(shadowSample);
+        verify(modelEvaluator).evaluate(any(ModelEvaluatorInput.class));
+    }
+
+    @Test
+    void testEvaluatePerImpression() {
+        evaluator = new BidRequestEvaluatorOnRuleBasedModel(
+                SSP_IDENTIFIER,
+                experimentManager,
+                modelConfigurationProvider,
+                modelEvaluator,
+                modelEvaluationResultsAggregator,
+                BidRequestEvaluatorOnRuleBasedModelOptions.builder()
+                        .evaluatePerImpression(true)
+                        .build()
+        );
+        // Prepare test data
+        Map<String, List<String>> openRtbRequest = new HashMap<>();
+        openRtbRequest.put("$.id", Collections.singletonList(REQUEST_ID));
+        openRtbRequest.put("$.imp[0].banner.w", Collections.singletonList("300"));
+        openRtbRequest.put("$.imp[1].video.w", Collections.singletonList("640"));
+        BidRequestEvaluatorInput input = BidRequestEvaluatorInput.builder()
+                .openRtbRequestMap(openRtbRequest)
+                .build();
+        ModelEvaluatorOutput firstImpressionOutput = ModelEvaluatorOutput.builder().build();
+        ModelEvaluatorOutput secondImpressionOutput = ModelEvaluatorOutput.builder().build();
+        AggregatedModelEvaluationResult firstImpressionResult = AggregatedModelEvaluationResult.builder()
+                .score(0.0)
+                .scoreWithTreatment(0.0)
+                .treatmentCodeInInt(0)
+                .build();
+        AggregatedModelEvaluationResult secondImpressionResult = AggregatedModelEvaluationResult.builder()
+                .score(1.0)
+                .scoreWithTreatment(1.0)
+                .treatmentCodeInInt(0)
+                .build();
+
+        // Setup mocks
+        ArgumentCaptor<EvaluationContext> contextCaptor = ArgumentCaptor.forClass(EvaluationContext.class);
+        doAnswer(invocation -> {
+            EvaluationContext context = invocation.getArgument(0);
+            context.setExperimentContext(experimentContext);
+            return null;
+        }).when(experimentManager).setupExperimentContext(contextCaptor.capture());
+        when(modelConfigurationProvider.provide()).thenReturn(modelConfiguration);
+        when(modelEvaluator.evaluateImpressions(any(ModelEvaluatorInput.class), eq(2)))
+                .thenReturn(List.of(firstImpressionOutput, secondImpressionOutput));
+        when(modelEvaluationResultsAggregator.aggregate(any(EvaluationContext.class)))
+                .thenReturn(firstImpressionResult, secondImpressionResult);
+
+        // Execute
+        BidRequestEvaluatorOutput output = evaluator.evaluate(input);
+
+        // Verify
+        List<Slot> slots = output.getResponse().getSlots();
+        assertEquals(2, slots.size());
+        assertEquals(0.0, slots.get(0).getFilterDecision());
+        assertEquals(1.0, slots.get(1).getFilterDecision());
+        assertTrue(output.getResponse().getExt().contains("{\"amazontest\":{\"learning\":0}}"));
+
+        EvaluationContext capturedContext = contextCaptor.getValue();
+        assertEquals(List.of(firstImpressionResult, secondImpressionResult),
+                capturedContext.getAggregatedModelEvaluationResultsByImpression());
+        assertEquals(List.of(firstImpressionOutput), capturedContext.getModelEvaluatorOutputs());
+        assertEquals(List.of(List.of(firstImpressionOutput), List.of(secondImpressionOutput)),
+                capturedContext.getModelEvaluatorOutputsByImpression());
+        verify(modelEvaluator, never()).evaluate(any(ModelEvaluatorInput.class));
+        verify(modelEvaluationResultsAggregator, times(2)).aggregate(any(EvaluationContext.class));
+    }
+
+    @Test
+    void testEvaluatePerImpressionWithModelConfigurationError() {
+        evaluator = new BidRequestEvaluatorOnRuleBasedModel(
+                SSP_IDENTIFIER,
+                experimentManager,
+                modelConfigurationProvider,
+                modelEvaluator,
+                modelEvaluationResultsAggregator,
+                BidRequestEvaluatorOnRuleBasedModelOptions.builder()
+                        .evaluatePerImpression(true)
+                        .build()
+        );
+        BidRequestEvaluatorInput input = BidRequestEvaluatorInput.builder()
+                .openRtbRequestMap(twoImpressionRequest())
+                .build();
+
+        // Setup mocks
+        doAnswer(invocation -> {
+            EvaluationContext context = invocation.getArgument(0);
+            context.setExperimentContext(experimentContext);
+            return null;
+        }).when(experimentManager).setupExperimentContext(any(EvaluationContext.class));
+        when(modelConfigurationProvider.provide())
+                .thenThrow(new RuntimeException("Configuration error"));
+
+        // Execute
+        BidRequestEvaluatorOutput output = evaluator.evaluate(input);
+
+        // Verify the default response has a pass-through slot per impression
+        assertPassThroughSlots(output.getResponse(), 2);
+        assertTrue(BidRequestEvaluatorOnRuleBasedModel.isDefaultResponse(output.getResponse()));
+        assertFalse(BidRequestEvaluatorOnRuleBasedModel.isPassThroughResponse(output.getResponse(), BYPASS_RESPONSE));
+    }
+
+    @Test
+    void testEvaluatePerImpressionBypassedWhenOverloaded() {
+        OverloadBypass overloadBypass = mock(OverloadBypass.class);
+        evaluator = new BidRequestEvaluatorOnRuleBasedModel(
+                SSP_IDENTIFIER,
+                experimentManager,
+                modelConfigurationProvider,
+                modelEvaluator,
+                modelEvaluationResultsAggregator,
+                BidRequestEvaluatorOnRuleBasedModelOptions.builder()
+                        .evaluatePerImpression(true)
+                        .overloadBypass(overloadBypass)
+                        .build()
+        );
+        when(overloadBypass.tryEnter()).thenReturn(false);
+        BidRequestEvaluatorInput input = BidRequestEvaluatorInput.builder()
+                .openRtbRequestMap(twoImpressionRequest())
+                .build();
+
+        // Execute
+        BidRequestEvaluatorOutput output = evaluator.evaluate(input);
+
+        // Verify the bypass response has a pass-through slot per impression
+        assertPassThroughSlots(output.getResponse(), 2);
+        assertTrue(BidRequestEvaluatorOnRuleBasedModel.isPassThroughResponse(output.getResponse(), BYPASS_RESPONSE));
+        assertFalse(BidRequestEvaluatorOnRuleBasedModel.isDefaultResponse(output.getResponse()));
+        verifyNoInteractions(experimentManager, modelEvaluator, modelEvaluationResultsAggregator);
+    }
+
+    @Test
+    void testEvaluatePerImpressionBypassedJsonRequestIsNotParsed() {
+        OverloadBypass overloadBypass = mock(OverloadBypass.class);
+        evaluator = new BidRequestEvaluatorOnRuleBasedModel(
+                SSP_IDENTIFIER,
+                experimentManager,
+                modelConfigurationProvider,
+                modelEvaluator,
+                modelEvaluationResultsAggregator,
+                BidRequestEvaluatorOnRuleBasedModelOptions.builder()
+                        .evaluatePerImpression(true)
+                        .overloadBypass(overloadBypass)
+                        .build()
+        );
+        when(overloadBypass.tryEnter()).thenReturn(false);
+        BidRequestEvaluatorInput input = BidRequestEvaluatorInput.builder()
+                .openRtbRequest("{\"id\":\"" + REQUEST_ID + "\",\"imp\":[{\"id\":\"1\"},{\"id\":\"2\"}]}")
+                .build();
+
+        // Execute
+        BidRequestEvaluatorOutput output = evaluator.evaluate(input);
+
+        // Verify a single pass-through slot stands for both impressions
+        assertPassThroughSlots(output.getResponse(), 1);
+        assertTrue(BidRequestEvaluatorOnRuleBasedModel.isPassThroughResponse(output.getResponse(), BYPASS_RESPONSE));
+    }
+
+    @Test
+    void testEvaluatePerImpressionAsyncMissingDeadline() throws Exception {
+        evaluator = new BidRequestEvaluatorOnRuleBasedModel(
+                SSP_IDENTIFIER,
+                experimentManager,
+                modelConfigurationProvider,
+                modelEvaluator,
+                modelEvaluationResultsAggregator,
+                BidRequestEvaluatorOnRuleBasedModelOptions.builder()
+                        .evaluatePerImpression(true)
+                        .asyncDeadlineMs(10L)
+                        .build()
+        );
+        BidRequestEvaluatorInput input = BidRequestEvaluatorInput.builder()
+                .openRtbRequestMap(twoImpressionRequest())
+                .build();
+
+        // Execute with an executor that never runs the evaluation
+        BidRequestEvaluatorOutput output = evaluator.evaluateAsync(input, command -> { }).get(5L, TimeUnit.SECONDS);
+
+        // Verify the default response has a pass-through slot per impression
+        assertPassThroughSlots(output.getResponse(), 2);
+        assertTrue(BidRequestEvaluatorOnRuleBasedModel.isPassThroughResponse(output.getResponse(), DEFAULT_RESPONSE));
+        verifyNoInteractions(experimentManager, modelEvaluator);
+    }
+
+    @Test
+    void testEvaluatePerImpressionWithMissingRequest() {
+        evaluator = new BidRequestEvaluatorOnRuleBasedModel(
+                SSP_IDENTIFIER,
+                experimentManager,
+                modelConfigurationProvider,
+                modelEvaluator,
+                modelEvaluationResultsAggregator,
+                BidRequestEvaluatorOnRuleBasedModelOptions.builder()
+                        .evaluatePerImpression(true)
+                        .build()
+        );
+        BidRequestEvaluatorInput input = BidRequestEvaluatorInput.builder()
+                .openRtbRequest(null)
+                .build();
+
+        // Execute
+        BidRequestEvaluatorOutput output = evaluator.evaluate(input);
+
+        // Verify a request without impressions to count gets the single-slot default response
+        assertSame(DEFAULT_RESPONSE, output.getResponse());
+    }
+
     @Test
     void testEvaluateWithModelConfigurationError() {
         // Prepare test data
         String openRtbRequest = "{\"id\":\"" + REQUEST_ID + "\"}";
         BidRequestEvaluatorInput input = BidRequestEvaluatorInput.builder()
                 .openRtbRequest(openRtbRequest)
+                .trace(true)
                 .build();
 
         // Setup mocks
@@ -520,6 +1006,7 @@ class BidRequestEvaluatorOnRuleBasedModelTest extends BaseTestCase {
         String openRtbRequest = "{\"id\":\"" + REQUEST_ID + "\"}";
         BidRequestEvaluatorInput input = BidRequestEvaluatorInput.builder()
                 .openRtbRequest(openRtbRequest)
+                .trace(true)
                 .build();
         modelConfiguration.setModelDefinitionByIdentifier(new HashMap<>());
 
@@ -555,4 +1042,33 @@ class BidRequestEvaluatorOnRuleBasedModelTest extends BaseTestCase {
     protected Class<?> getResourceClass() {
         return BidRequestEvaluatorOnRuleBasedModelTest.class;
     }
+
+    private static Map<String, List<String>> twoImpressionRequest() {
+        Map<String, List<String>> openRtbRequest = new HashMap<>();
+        openRtbRequest.put("$.id", Collections.singletonList(REQUEST_ID));
+        openRtbRequest.put("$.imp[0].banner.w", Collections.singletonList("300"));
+        openRtbRequest.put("$.imp[1].video.w", Collections.singletonList("640"));
+        return openRtbRequest;
+    }
+
+    private static void assertPassThroughSlots(Response response, int slotCount) {
+        assertEquals(slotCount, response.getSlots().size());
+        for (Slot slot : response.getSlots()) {
+            assertEquals(DEFAULT_RESPONSE.getSlots().get(0), slot);
+        }
+        assertEquals(DEFAULT_RESPONSE.getExt(), response.getExt());
+    }
+
+    private BidRequestEvaluatorOnRuleBasedModel asyncEvaluator(long asyncDeadlineMs) {
+        return new BidRequestEvaluatorOnRuleBasedModel(
+                SSP_IDENTIFIER,
+                experimentManager,
+                modelConfigurationProvider,
+                modelEvaluator,
+                modelEvaluationResultsAggregator,
+                BidRequestEvaluatorOnRuleBasedModelOptions.builder()
+                        .asyncDeadlineMs(asyncDeadlineMs)
+                        .build()
+        );
+    }
 }
@@ -4,6 +4,8 @@
 package com.amazon.demanddriventrafficevaluator.evaluation.evaluator;
 
 import com.amazon.demanddriventrafficevaluator.evaluation.experiment.ExperimentContext;
+import com.amazon.demanddriventrafficevaluator.evaluation.trace.TraceLevel;
+import com.amazon.demanddriventrafficevaluator.evaluation.trace.TraceStage;
 import com.amazon.demanddriventrafficevaluator.repository.entity.ExperimentDefinition;
 import com.amazon.demanddriventrafficevaluator.repository.entity.ModelDefinition;
 import com.amazon.demanddriventrafficevaluator.repository.entity.ModelResult;
@@ -20,7 +22,9 @@ import java.util.Map;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -92,7 +96,7 @@ class ModelEvaluationResultsMaxAggregatorTest {
         assertEquals(experimentName, result.getExperimentName());
         assertEquals(1.0, result.getScore());
         assertEquals(1.0, result.getScoreWithTreatment());
-        verify(mockContext).addError(anyString());
+        verify(mockContext).record(eq(TraceLevel.ERROR), eq(TraceStage.AGGREGATION), anyString(), any());
     }
 
     @Test
@@ -120,7 +124,7 @@ class ModelEvaluationResultsMaxAggregatorTest {
         assertEquals(experimentName, result.getExperimentName());
         assertEquals(1.0, result.getScore());
         assertEquals(1.0, result.getScoreWithTreatment());
-        verify(mockContext).addError(anyString());
+        verify(mockContext).record(eq(TraceLevel.ERROR), eq(TraceStage.AGGREGATION), anyString(), any());
     }
 
     @Test
@@ -136,7 +140,7 @@ class ModelEvaluationResultsMaxAggregatorTest {
         assertEquals("UnknownExperiment", result.getExperimentName());
         assertEquals(1.0, result.getScore());
         assertEquals(1.0, result.getScoreWithTreatment());
-        verify(mockContext).addError(anyString());
+        verify(mockContext).record(eq(TraceLevel.ERROR), eq(TraceStage.AGGREGATION), anyString(), any());
     }
 
     private ModelEvaluatorOutput createModelEvaluatorOutput(String modelId, double value, ModelEvaluationStatus status) {
@@ -73,4 +73,13 @@ public class OpenRtbRequestContextJsonDocumentTest {
         contextDocument.setOpenRtbRequestContext(JsonPath.parse(newString, DOCUMENT_CONFIGURATION));
         assertEquals(List.of("newValue"), contextDocument.findPath("$.newKey"));
     }
+
+    @Test
+    void testGetImpressionCount() {
+        assertEquals(0, contextDocument.getImpressionCount());
+
+        contextDocument.setOpenRtbRequestContext(JsonPath.parse(
+                "{\"imp\": [{\"banner\": {}}, {\"video\": {}}]}", DOCUMENT_CONFIGURATION));
+        assertEquals(2, contextDocument.getImpressionCount());
+    }
 }
@@ -85,4 +85,16 @@ public class OpenRtbRequestContextMapTest {
         contextMap.setOpenRtbRequestContext(newMap);
         assertEquals(Collections.singletonList("newValue"), contextMap.findPath("newKey"));
     }
+
+    @Test
+    void testGetImpressionCount() {
+        assertEquals(0, contextMap.getImpressionCount());
+
+        Map<String, List<String>> newMap = new HashMap<>();
+        newMap.put("$.imp[0].banner.w", Collections.singletonList("300"));
+        newMap.put("$.imp[2].video.w", Collections.singletonList("640"));
+        newMap.put("$.imp[*].tagid", Collections.singletonList("tag"));
+        contextMap.setOpenRtbRequestContext(newMap);
+        assertEquals(3, contextMap.getImpressionCount());
+    }
 }
@@ -0,0 +1,115 @@
+// Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+// SPDX-License-Identifier: Apache-2.0
+
+package com.amazon.demanddriventrafficevaluator.evaluation.evaluator;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class OverloadBypassTest {
+
+    private static final long INTERVAL_NANOS = 1000L;
+    private static final double DELTA = 1e-9;
+
+    private final AtomicLong nowNanos = new AtomicLong();
+    private RequestLatencyMonitor requestLatencyMonitor;
+
+    @BeforeEach
+    void setUp() {
+        requestLatencyMonitor = new RequestLatencyMonitor();
+    }
+
+    @Test
+    void testRampsUpWhileLatencyIsHighAndBackDownAsItRecovers() {
+        OverloadBypass bypass = new OverloadBypass(requestLatencyMonitor, 500L, OverloadBypass.NO_IN_FLIGHT_LIMIT,
+                30, 10, INTERVAL_NANOS, nowNanos::get);
+        requestLatencyMonitor.recordSample(8000L);
+
+        double[] expectedRates = {0.1, 0.2, 0.3, 0.3};
+        for (double expectedRate : expectedRates) {
+            enterAfterInterval(bypass);
+            assertEquals(expectedRate, bypass.getBypassRate(), DELTA);
+        }
+
+        for (int i = 0; i < 20; i++) {
+            requestLatencyMonitor.recordSample(0L);
+        }
+        expectedRates = new double[]{0.2, 0.1, 0.0, 0.0};
+        for (double expectedRate : expectedRates) {
+            enterAfterInterval(bypass);
+            assertEquals(expectedRate, bypass.getBypassRate(), DELTA);
+        }
+    }
+
+    @Test
+    void testAdjustsOncePerInterval() {
+        OverloadBypass bypass = new OverloadBypass(requestLatencyMonitor, 500L, OverloadBypass.NO_IN_FLIGHT_LIMIT,
+                90, 10, INTERVAL_NANOS, nowNanos::get);
+        requestLatencyMonitor.recordSample(8000L);
+
+        enterAfterInterval(bypass);
+        nowNanos.addAndGet(INTERVAL_NANOS - 1L);
+        enter(bypass);
+
+        assertEquals(0.1, bypass.getBypassRate(), DELTA);
+    }
+
+    @Test
+    void testInFlightLimit() {
+        OverloadBypass bypass = new OverloadBypass(requestLatencyMonitor, OverloadBypass.NO_LATENCY_THRESHOLD, 1,
+                90, 10, INTERVAL_NANOS, nowNanos::get);
+
+        assertTrue(bypass.tryEnter());
+        assertTrue(bypass.tryEnter());
+        assertEquals(2, bypass.getInFlight());
+        enterAfterInterval(bypass);
+        assertEquals(0.1, bypass.getBypassRate(), DELTA);
+
+        bypass.exit();
+        bypass.exit();
+        assertEquals(0, bypass.getInFlight());
+        enterAfterInterval(bypass);
+        assertEquals(0.0, bypass.getBypassRate(), DELTA);
+    }
+
+    @Test
+    void testBypassesShareOfRequests() {
+        OverloadBypass bypass = new OverloadBypass(requestLatencyMonitor, 500L, OverloadBypass.NO_IN_FLIGHT_LIMIT,
+                90, 100, INTERVAL_NANOS, nowNanos::get);
+        requestLatencyMonitor.recordSample(8000L);
+        nowNanos.addAndGet(INTERVAL_NANOS);
+
+        for (int i = 0; i < 1000; i++) {
+            enter(bypass);
+        }
+
+        assertEquals(0.9, bypass.getBypassRate(), DELTA);
+        assertEquals(1000L, bypass.getBypassedCount() + bypass.getEvaluatedCount());
+        assertTrue(bypass.getBypassedCount() > 800L);
+        assertTrue(bypass.getEvaluatedCount() > 0L);
+    }
+
+    @Test
+    void testInvalidArguments() {
+        assertThrows(IllegalArgumentException.class, () -> new OverloadBypass(requestLatencyMonitor, 500L, 0, 100, 10));
+        assertThrows(IllegalArgumentException.class, () -> new OverloadBypass(requestLatencyMonitor, 500L, 0, -1, 10));
+        assertThrows(IllegalArgumentException.class, () -> new OverloadBypass(requestLatencyMonitor, 500L, 0, 90, 0));
+    }
+
+    private void enterAfterInterval(OverloadBypass bypass) {
+        nowNanos.addAndGet(INTERVAL_NANOS);
+        enter(bypass);
+    }
+
+    private static void enter(OverloadBypass bypass) {
+        if (bypass.tryEnter()) {
+            bypass.exit();
+        }
+    }
+}
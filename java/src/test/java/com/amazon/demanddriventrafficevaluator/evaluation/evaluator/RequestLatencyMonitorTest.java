@@ -0,0 +1,50 @@
+// Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+// SPDX-License-Identifier: Apache-2.0
+
+package com.amazon.demanddriventrafficevaluator.evaluation.evaluator;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RequestLatencyMonitorTest {
+
+    private RequestLatencyMonitor requestLatencyMonitor;
+
+    @BeforeEach
+    void setUp() {
+        requestLatencyMonitor = new RequestLatencyMonitor();
+    }
+
+    @Test
+    void testRecordSample_MovesLatencyTowardsSample() {
+        requestLatencyMonitor.recordSample(8000L);
+        assertEquals(1000L, requestLatencyMonitor.getLatencyNanos());
+
+        requestLatencyMonitor.recordSample(1000L);
+        assertEquals(1000L, requestLatencyMonitor.getLatencyNanos());
+    }
+
+    @Test
+    void testRecordSample_ConvergesToSteadyLatency() {
+        for (int i = 0; i < 200; i++) {
+            requestLatencyMonitor.recordSample(50000L);
+        }
+        assertTrue(requestLatencyMonitor.getLatencyNanos() > 49000L);
+
+        for (int i = 0; i < 200; i++) {
+            requestLatencyMonitor.recordSample(10000L);
+        }
+        assertTrue(requestLatencyMonitor.getLatencyNanos() < 11000L);
+    }
+
+    @Test
+    void testRecord_SamplesEvaluations() {
+        for (int i = 0; i < RequestLatencyMonitor.SAMPLING_INTERVAL * 1000; i++) {
+            requestLatencyMonitor.record(80000L);
+        }
+        assertTrue(requestLatencyMonitor.getLatencyNanos() > 70000L);
+    }
+}
@@ -0,0 +1,251 @@
+// Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+// SPDX-License-Identifier: Apache-2.0
+
+package com.amazon.demanddriventrafficevaluator.evaluation.evaluator;
+
+import com.amazon.demanddriventrafficevaluator.jfr.JfrEvents;
+import com.amazon.demanddriventrafficevaluator.jfr.ModelEvaluationEvent;
+import com.amazon.demanddriventrafficevaluator.modelfeature.Extraction;
+import com.amazon.demanddriventrafficevaluator.modelfeature.FeatureExtractorType;
+import com.amazon.demanddriventrafficevaluator.modelfeature.ModelFeature;
+import com.amazon.demanddriventrafficevaluator.modelfeature.Transformation;
+import com.amazon.demanddriventrafficevaluator.modelfeature.extractor.ExtractorRegistry;
+import com.amazon.demanddriventrafficevaluator.modelfeature.extractor.JsonExtractor;
+import com.amazon.demanddriventrafficevaluator.modelfeature.transformer.TransformerRegistry;
+import com.amazon.demanddriventrafficevaluator.repository.entity.FeatureConfiguration;
+import com.amazon.demanddriventrafficevaluator.repository.entity.ModelDefinition;
+import com.amazon.demanddriventrafficevaluator.repository.entity.ModelResult;
+import com.amazon.demanddriventrafficevaluator.repository.provider.model.ModelResultProvider;
+import com.amazon.demanddriventrafficevaluator.repository.provider.model.ModelResultProviderInput;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class RuleBasedModelEvaluatorTest {
+
+    @Mock
+    private ModelResultProvider mockModelResultProvider;
+
+    private RuleBasedModelEvaluator evaluator;
+    private ModelDefinition modelDefinition;
+    private EvaluationContext evaluationContext;
+
+    @BeforeEach
+    void setUp() {
+        ExtractorRegistry extractorRegistry = new ExtractorRegistry(new HashMap<>());
+        extractorRegistry.register(FeatureExtractorType.JsonExtractor.toString(), new JsonExtractor());
+        evaluator = new RuleBasedModelEvaluator(
+                new Extraction(extractorRegistry),
+                new Transformation(new TransformerRegistry(new HashMap<>())),
+                mockModelResultProvider
+        );
+        modelDefinition = new ModelDefinition();
+        modelDefinition.setIdentifier("model1");
+        modelDefinition.setFeatureExtractorType(FeatureExtractorType.JsonExtractor);
+        modelDefinition.setFeatures(List.of(
+                createFeatureConfiguration("country", "$.device.geo.country"),
+                createFeatureConfiguration("slotSize", "$.imp[0].banner.w"),
+                createFeatureConfiguration("publisherId", "$.app.publisher.id")
+        ));
+        Map<String, List<String>> openRtbRequest = new HashMap<>();
+        openRtbRequest.put("$.device.geo.country", List.of("US"));
+        openRtbRequest.put("$.app.publisher.id", List.of("publisher1"));
+        openRtbRequest.put("$.imp[0].banner.w", List.of("300"));
+        openRtbRequest.put("$.imp[1].banner.w", List.of("728"));
+        openRtbRequest.put("$.imp[2].banner.w", List.of("300"));
+        OpenRtbRequestContextMap openRtbRequestContext = new OpenRtbRequestContextMap();
+        openRtbRequestContext.setOpenRtbRequestContext(openRtbRequest);
+        evaluationContext = new EvaluationContext();
+        evaluationContext.setOpenRtbRequestContext(openRtbRequestContext);
+    }
+
+    @Test
+    void testEvaluateImpressions() {
+        // Arrange
+        ModelResult firstModelResult = ModelResult.builder().value(0.0).build();
+        ModelResult secondModelResult = ModelResult.builder().value(1.0).build();
+        ArgumentCaptor<ModelResultProviderInput> inputCaptor = ArgumentCaptor.forClass(ModelResultProviderInput.class);
+        when(mockModelResultProvider.provide(any(ModelResultProviderInput.class))).thenReturn(firstModelResult, secondModelResult);
+
+        // Act
+        List<ModelEvaluatorOutput> outputs = evaluator.evaluateImpressions(buildInput(), 3);
+
+        // Assert
+        assertEquals(3, outputs.size());
+        assertSame(firstModelResult, outputs.get(0).getModelResult());
+        assertSame(secondModelResult, outputs.get(1).getModelResult());
+        // the third impression has the slot size of the first one and shares its lookup
+        assertSame(outputs.get(0), outputs.get(2));
+        verify(mockModelResultProvider, times(2)).provide(inputCaptor.capture());
+
+        List<ModelFeature> secondImpressionFeatures = inputCaptor.getAllValues().get(1).getModelFeatures();
+        assertEquals(List.of("US"), secondImpressionFeatures.get(0).getValues());
+        assertEquals(List.of("728"), secondImpressionFeatures.get(1).getValues());
+        assertEquals(List.of("publisher1"), secondImpressionFeatures.get(2).getValues());
+        // the request-level features are extracted once for all impressions
+        assertSame(inputCaptor.getAllValues().get(0).getModelFeatures().get(0), secondImpressionFeatures.get(0));
+        // the context traces the request, recording each lookup once
+        assertEquals(2, outputs.get(0).getContext().getDebugInfo().size());
+        assertTrue(outputs.get(0).getContext().getDebugInfo().get(0).startsWith("[Debug] Model result lookup missed."));
+    }
+
+    @Test
+    void testEvaluateImpressions_RequestLevelFeatureError() {
+        // Arrange
+        // a feature without transformation list fails to be transformed
+        modelDefinition.getFeatures().get(0).setTransformations(null);
+
+        // Act
+        List<ModelEvaluatorOutput> outputs = evaluator.evaluateImpressions(buildInput(), 2);
+
+        // Assert
+        assertEquals(2, outputs.size());
+        assertEquals(ModelEvaluationStatus.ERROR, outputs.get(0).getStatus());
+        assertEquals(ModelEvaluationStatus.ERROR, outputs.get(1).getStatus());
+        assertFalse(outputs.get(0).getContext().getDebugInfo().isEmpty());
+    }
+
+    @Test
+    void testEvaluate_CommitsFlightRecorderEvent(@TempDir Path tempDir) throws IOException {
+        // Arrange
+        ModelResult modelResult = ModelResult.builder()
+                .keys(List.of("key1", "key2"))
+                .values(List.of(0.0, 1.0))
+                .value(1.0)
+                .hit(true)
+                .build();
+        when(mockModelResultProvider.provide(any(ModelResultProviderInput.class))).thenReturn(modelResult);
+        Path recordingFile = tempDir.resolve("model-evaluation.jfr");
+
+        // Act
+        try (Recording recording = new Recording()) {
+            recording.enable(ModelEvaluationEvent.class);
+            recording.start();
+            evaluator.evaluate(buildInput());
+            recording.stop();
+            recording.dump(recordingFile);
+        }
+
+        // Assert
+        List<RecordedEvent> events = RecordingFile.readAllEvents(recordingFile).stream()
+                .filter(event -> event.getEventType().getName().equals(JfrEvents.NAME_PREFIX + "ModelEvaluation"))
+                .toList();
+        assertEquals(1, events.size());
+        assertEquals("model1", events.get(0).getString("modelIdentifier"));
+        assertEquals("SUCCESS", events.get(0).getString("status"));
+        assertEquals(2, events.get(0).getInt("keyCount"));
+        assertTrue(events.get(0).getBoolean("hit"));
+    }
+
+    @Test
+    void testEvaluateImpressions_CommitsFlightRecorderEventOnError(@TempDir Path tempDir) throws IOException {
+        // Arrange
+        when(mockModelResultProvider.provide(any(ModelResultProviderInput.class))).thenThrow(new IllegalStateException("lookup failed"));
+        Path recordingFile = tempDir.resolve("model-evaluation.jfr");
+
+        // Act
+        List<ModelEvaluatorOutput> outputs;
+        try (Recording recording = new Recording()) {
+            recording.enable(ModelEvaluationEvent.class);
+            recording.start();
+            outputs = evaluator.evaluateImpressions(buildInput(), 2);
+            recording.stop();
+            recording.dump(recordingFile);
+        }
+
+        // Assert
+        assertEquals(ModelEvaluationStatus.ERROR, outputs.get(0).getStatus());
+        assertEquals(ModelEvaluationStatus.ERROR, outputs.get(1).getStatus());
+        List<RecordedEvent> events = RecordingFile.readAllEvents(recordingFile).stream()
+                .filter(event -> event.getEventType().getName().equals(JfrEvents.NAME_PREFIX + "ModelEvaluation"))
+                .toList();
+        assertEquals(2, events.size());
+        assertEquals("ERROR", events.get(0).getString("status"));
+        assertEquals("ERROR", events.get(1).getString("status"));
+    }
+
+    @Test
+    void testGetImpressionFeatureConfigurations() {
+        RuleBasedModelEvaluator.ImpressionFeatureConfigurations impressionFeatureConfigurations =
+                evaluator.getImpressionFeatureConfigurations(modelDefinition);
+
+        List<FeatureConfiguration> secondImpression = impressionFeatureConfigurations.forImpression(1);
+
+        assertSame(modelDefinition.getFeatures(), impressionFeatureConfigurations.forImpression(0));
+        assertEquals(List.of("$.imp[1].banner.w"), secondImpression.get(1).getFields());
+        // the request-level features are shared by all impressions
+        assertSame(modelDefinition.getFeatures().get(0), secondImpression.get(0));
+        assertTrue(impressionFeatureConfigurations.isImpressionLevel(1));
+        assertFalse(impressionFeatureConfigurations.isImpressionLevel(2));
+        // the feature configurations are built once per model configuration
+        assertSame(impressionFeatureConfigurations, evaluator.getImpressionFeatureConfigurations(modelDefinition));
+        assertSame(secondImpression, impressionFeatureConfigurations.forImpression(1));
+        // and again once the model configuration is loaded again
+        modelDefinition.setFeatures(List.of(createFeatureConfiguration("slotHeight", "$.imp[0].banner.h")));
+        List<FeatureConfiguration> reloadedSecondImpression =
+                evaluator.getImpressionFeatureConfigurations(modelDefinition).forImpression(1);
+        assertEquals(List.of("$.imp[1].banner.h"), reloadedSecondImpression.get(0).getFields());
+        // impressions beyond the cached ones are built for each request
+        int uncachedImpression = RuleBasedModelEvaluator.MAX_CACHED_IMPRESSIONS;
+        List<FeatureConfiguration> uncached = impressionFeatureConfigurations.forImpression(uncachedImpression);
+        assertEquals(List.of("$.imp[" + uncachedImpression + "].banner.w"), uncached.get(1).getFields());
+    }
+
+    @Test
+    void testIsImpressionLevel() {
+        assertTrue(RuleBasedModelEvaluator.isImpressionLevel(createFeatureConfiguration("slotSize", "$.imp[0].banner.w")));
+        assertFalse(RuleBasedModelEvaluator.isImpressionLevel(createFeatureConfiguration("country", "$.device.geo.country")));
+        assertFalse(RuleBasedModelEvaluator.isImpressionLevel(createFeatureConfiguration("tagIds", "$.imp[*].tagid")));
+    }
+
+    @Test
+    void testForImpression() {
+        FeatureConfiguration featureConfiguration = createFeatureConfiguration("slotSize", "$.imp[0].banner.w");
+        featureConfiguration.setMapping(Map.of("300", "medium"));
+
+        FeatureConfiguration secondImpression = RuleBasedModelEvaluator.forImpression(featureConfiguration, 1);
+
+        assertSame(featureConfiguration, RuleBasedModelEvaluator.forImpression(featureConfiguration, 0));
+        assertEquals(List.of("$.imp[1].banner.w"), secondImpression.getFields());
+        assertEquals("slotSize", secondImpression.getName());
+        assertSame(featureConfiguration.getMapping(), secondImpression.getMapping());
+    }
+
+    private ModelEvaluatorInput buildInput() {
+        return ModelEvaluatorInput.builder()
+                .context(new ModelEvaluationContext(evaluationContext))
+                .modelDefinition(modelDefinition)
+                .build();
+    }
+
+    private static FeatureConfiguration createFeatureConfiguration(String name, String field) {
+        FeatureConfiguration featureConfiguration = new FeatureConfiguration();
+        featureConfiguration.setName(name);
+        featureConfiguration.setFields(List.of(field));
+        featureConfiguration.setTransformations(List.of());
+        return featureConfiguration;
+    }
+}
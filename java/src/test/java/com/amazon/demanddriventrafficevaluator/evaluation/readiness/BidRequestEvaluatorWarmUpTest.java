@@ -0,0 +1,143 @@
+// Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+// SPDX-License-Identifier: Apache-2.0
+
+package com.amazon.demanddriventrafficevaluator.evaluation.readiness;
+
+import com.amazon.demanddriventrafficevaluator.evaluation.evaluator.BidRequestEvaluator;
+import com.amazon.demanddriventrafficevaluator.evaluation.evaluator.BidRequestEvaluatorInput;
+import com.amazon.demanddriventrafficevaluator.evaluation.evaluator.BidRequestEvaluatorOutput;
+import com.amazon.demanddriventrafficevaluator.jfr.JfrEvents;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class BidRequestEvaluatorWarmUpTest {
+
+    private static final List<BidRequestEvaluatorInput> REQUESTS = List.of(
+            BidRequestEvaluatorInput.builder().openRtbRequest("{\"id\":\"1\"}").build(),
+            BidRequestEvaluatorInput.builder().openRtbRequest("{\"id\":\"2\"}").build());
+
+    @Mock
+    private BidRequestEvaluator mockEvaluator;
+
+    @Test
+    void testRun_StopsOnceCompilationStabilizes() {
+        // compiles during the first 3 rounds, then stays stable
+        AtomicLong compilationTimeMs = new AtomicLong();
+        AtomicLong readCount = new AtomicLong();
+        BidRequestEvaluatorWarmUp warmUp = new BidRequestEvaluatorWarmUp(REQUESTS, 100, BidRequestEvaluatorWarmUp.UNLIMITED_DURATION, 2,
+                () -> readCount.incrementAndGet() <= 4 ? compilationTimeMs.addAndGet(10L) : compilationTimeMs.get());
+
+        WarmUpResult result = warmUp.run(mockEvaluator);
+
+        assertTrue(result.isStabilized());
+        assertEquals(5, result.getRoundCount());
+        assertEquals(5L * BidRequestEvaluatorWarmUp.MIN_REQUESTS_PER_ROUND, result.getRequestCount());
+        verify(mockEvaluator, times(5 * BidRequestEvaluatorWarmUp.MIN_REQUESTS_PER_ROUND / 2)).evaluate(REQUESTS.get(0));
+        verify(mockEvaluator, times(5 * BidRequestEvaluatorWarmUp.MIN_REQUESTS_PER_ROUND / 2)).evaluate(REQUESTS.get(1));
+    }
+
+    @Test
+    void testRun_StopsAfterMaxRounds() {
+        AtomicLong compilationTimeMs = new AtomicLong();
+        BidRequestEvaluatorWarmUp warmUp = new BidRequestEvaluatorWarmUp(REQUESTS, 3, BidRequestEvaluatorWarmUp.UNLIMITED_DURATION, 2,
+                () -> compilationTimeMs.addAndGet(10L));
+
+        WarmUpResult result = warmUp.run(mockEvaluator);
+
+        assertFalse(result.isStabilized());
+        assertEquals(3, result.getRoundCount());
+    }
+
+    @Test
+    void testRun_WithoutCompilationTimeRunsEveryRound() {
+        BidRequestEvaluatorWarmUp warmUp = new BidRequestEvaluatorWarmUp(REQUESTS, 2, BidRequestEvaluatorWarmUp.UNLIMITED_DURATION, 1, null);
+
+        WarmUpResult result = warmUp.run(mockEvaluator);
+
+        assertFalse(result.isStabilized());
+        assertEquals(2, result.getRoundCount());
+        assertEquals(2L * BidRequestEvaluatorWarmUp.MIN_REQUESTS_PER_ROUND, result.getRequestCount());
+    }
+
+    @Test
+    void testRun_CountsEvaluatedRequests() {
+        BidRequestEvaluatorOutput evaluatedOutput = BidRequestEvaluatorOutput.builder().build();
+        BidRequestEvaluatorOutput defaultOutput = BidRequestEvaluatorOutput.builder().build();
+        when(mockEvaluator.evaluate(REQUESTS.get(0))).thenReturn(evaluatedOutput);
+        when(mockEvaluator.evaluate(REQUESTS.get(1))).thenReturn(defaultOutput);
+        BidRequestEvaluatorWarmUp warmUp = new BidRequestEvaluatorWarmUp(REQUESTS, 1, BidRequestEvaluatorWarmUp.UNLIMITED_DURATION, 1, null);
+
+        WarmUpResult result = warmUp.run(mockEvaluator, output -> output == evaluatedOutput);
+
+        assertEquals(BidRequestEvaluatorWarmUp.MIN_REQUESTS_PER_ROUND, result.getRequestCount());
+        assertEquals(BidRequestEvaluatorWarmUp.MIN_REQUESTS_PER_ROUND / 2, result.getEvaluatedRequestCount());
+    }
+
+    @Test
+    void testRun_NoEvaluatedRequests() {
+        BidRequestEvaluatorWarmUp warmUp = new BidRequestEvaluatorWarmUp(REQUESTS, 1, BidRequestEvaluatorWarmUp.UNLIMITED_DURATION, 1, null);
+
+        // the mock evaluator returns no output
+        WarmUpResult result = warmUp.run(mockEvaluator);
+
+        assertEquals(BidRequestEvaluatorWarmUp.MIN_REQUESTS_PER_ROUND, result.getRequestCount());
+        assertEquals(0L, result.getEvaluatedRequestCount());
+    }
+
+    @Test
+    void testRun_SuppressesJfrEvents() {
+        when(mockEvaluator.evaluate(any())).thenAnswer(invocation -> {
+            assertTrue(JfrEvents.isSuppressed());
+            return BidRequestEvaluatorOutput.builder().build();
+        });
+        BidRequestEvaluatorWarmUp warmUp = new BidRequestEvaluatorWarmUp(REQUESTS, 1, BidRequestEvaluatorWarmUp.UNLIMITED_DURATION, 1, null);
+
+        WarmUpResult result = warmUp.run(mockEvaluator);
+
+        assertEquals(result.getRequestCount(), result.getEvaluatedRequestCount());
+        assertFalse(JfrEvents.isSuppressed());
+    }
+
+    @Test
+    void testRun_Disabled() {
+        BidRequestEvaluatorWarmUp warmUp = new BidRequestEvaluatorWarmUp(REQUESTS, 0, BidRequestEvaluatorWarmUp.UNLIMITED_DURATION, 1, null);
+
+        WarmUpResult result = warmUp.run(mockEvaluator);
+
+        assertEquals(0, result.getRoundCount());
+        verify(mockEvaluator, never()).evaluate(any());
+    }
+
+    @Test
+    void testRun_NoRequests() {
+        BidRequestEvaluatorWarmUp warmUp = new BidRequestEvaluatorWarmUp(List.of(), 10, BidRequestEvaluatorWarmUp.UNLIMITED_DURATION, 1, null);
+
+        WarmUpResult result = warmUp.run(mockEvaluator);
+
+        assertEquals(0L, result.getRequestCount());
+        verify(mockEvaluator, never()).evaluate(any());
+    }
+
+    @Test
+    void testConstructor_InvalidArguments() {
+        assertThrows(IllegalArgumentException.class, () -> new BidRequestEvaluatorWarmUp(REQUESTS, -1, 0L, 1));
+        assertThrows(IllegalArgumentException.class, () -> new BidRequestEvaluatorWarmUp(REQUESTS, 1, -1L, 1));
+        assertThrows(IllegalArgumentException.class, () -> new BidRequestEvaluatorWarmUp(REQUESTS, 1, 0L, 0));
+    }
+}
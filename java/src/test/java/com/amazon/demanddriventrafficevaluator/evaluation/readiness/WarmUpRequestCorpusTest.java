@@ -0,0 +1,115 @@
+// Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+// SPDX-License-Identifier: Apache-2.0
+
+package com.amazon.demanddriventrafficevaluator.evaluation.readiness;
+
+import com.amazon.demanddriventrafficevaluator.evaluation.evaluator.BidRequestEvaluatorInput;
+import com.amazon.demanddriventrafficevaluator.repository.entity.FeatureConfiguration;
+import com.amazon.demanddriventrafficevaluator.repository.entity.ModelConfiguration;
+import com.amazon.demanddriventrafficevaluator.repository.entity.ModelDefinition;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.jayway.jsonpath.DocumentContext;
+import com.jayway.jsonpath.JsonPath;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class WarmUpRequestCorpusTest {
+
+    @Test
+    void testFromFile(@TempDir Path directory) throws IOException {
+        Path corpusFile = directory.resolve("corpus.jsonl");
+        Files.write(corpusFile, List.of("{\"id\":\"1\"}", "", "# comment", "{\"id\":\"2\"}"));
+
+        List<BidRequestEvaluatorInput> requests = WarmUpRequestCorpus.fromFile(corpusFile);
+
+        assertEquals(2, requests.size());
+        assertEquals("{\"id\":\"1\"}", requests.get(0).getOpenRtbRequest());
+        assertEquals("{\"id\":\"2\"}", requests.get(1).getOpenRtbRequest());
+    }
+
+    @Test
+    void testFromFile_Missing(@TempDir Path directory) {
+        assertThrows(IllegalStateException.class, () -> WarmUpRequestCorpus.fromFile(directory.resolve("missing.jsonl")));
+    }
+
+    @Test
+    void testFromModelConfiguration() {
+        ModelConfiguration modelConfiguration = getModelConfiguration(
+                getFeature(List.of("$.app"), Map.of("0", "site", "1", "app")),
+                getFeature(List.of("$.app.publisher.id", "$.site.publisher.id"), null),
+                getFeature(List.of("$.imp[0].video.w"), null),
+                getFeature(List.of("$.imp[?(@.video)].id"), null));
+
+        List<BidRequestEvaluatorInput> requests = WarmUpRequestCorpus.fromModelConfiguration(
+                modelConfiguration, WarmUpRequestCorpus.ABSENT_FIELD_INTERVAL, new ObjectMapper());
+
+        assertEquals(WarmUpRequestCorpus.ABSENT_FIELD_INTERVAL, requests.size());
+        int absentVideoWidthCount = 0;
+        for (int i = 0; i < requests.size(); i++) {
+            DocumentContext request = JsonPath.parse(requests.get(i).getOpenRtbRequest());
+            assertEquals("warm-up-" + i, request.read("$.id"));
+            if (requests.get(i).getOpenRtbRequest().contains("\"video\"")) {
+                assertEquals(String.valueOf(i), request.read("$.imp[0].video.w"));
+            } else {
+                absentVideoWidthCount++;
+            }
+        }
+        // every field is left out of one request in ABSENT_FIELD_INTERVAL
+        assertEquals(1, absentVideoWidthCount);
+        DocumentContext request = JsonPath.parse(requests.get(1).getOpenRtbRequest());
+        assertEquals("1", request.read("$.app.publisher.id"));
+        assertEquals("1", request.read("$.site.publisher.id"));
+    }
+
+    @Test
+    void testFromModelConfiguration_MappedValues() {
+        ModelConfiguration modelConfiguration = getModelConfiguration(
+                getFeature(List.of("$.device.geo.country"), Map.of("US", "1")));
+
+        List<BidRequestEvaluatorInput> requests = WarmUpRequestCorpus.fromModelConfiguration(modelConfiguration, 3, new ObjectMapper());
+
+        assertFalse(requests.get(0).getOpenRtbRequest().contains("country"));
+        assertEquals("warm-up-unmapped", JsonPath.parse(requests.get(1).getOpenRtbRequest()).read("$.device.geo.country"));
+        assertEquals("US", JsonPath.parse(requests.get(2).getOpenRtbRequest()).read("$.device.geo.country"));
+    }
+
+    @Test
+    void testSetField() {
+        Map<String, Object> request = new LinkedHashMap<>();
+
+        WarmUpRequestCorpus.setField(request, "$.imp[1].banner.w", "300");
+        WarmUpRequestCorpus.setField(request, "$.imp[1].banner.h", "250");
+        WarmUpRequestCorpus.setField(request, "$.imp[1]", "ignored");
+        WarmUpRequestCorpus.setField(request, "$.imp[1].banner.w.unit", "ignored");
+        WarmUpRequestCorpus.setField(request, "$..id", "ignored");
+
+        assertEquals(Map.of("imp", List.of(Map.of(), Map.of("banner", Map.of("w", "300", "h", "250")))), request);
+    }
+
+    private static ModelConfiguration getModelConfiguration(FeatureConfiguration... features) {
+        ModelDefinition modelDefinition = new ModelDefinition();
+        modelDefinition.setIdentifier("model");
+        modelDefinition.setFeatures(List.of(features));
+        ModelConfiguration modelConfiguration = new ModelConfiguration();
+        modelConfiguration.setModelDefinitionByIdentifier(Map.of("model", modelDefinition));
+        return modelConfiguration;
+    }
+
+    private static FeatureConfiguration getFeature(List<String> fields, Map<String, String> mapping) {
+        FeatureConfiguration feature = new FeatureConfiguration();
+        feature.setFields(fields);
+        feature.setMapping(mapping);
+        return feature;
+    }
+}
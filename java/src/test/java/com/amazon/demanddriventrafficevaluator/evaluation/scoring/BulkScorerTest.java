@@ -0,0 +1,239 @@
+// Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+// SPDX-License-Identifier: Apache-2.0
+
+package com.amazon.demanddriventrafficevaluator.evaluation.scoring;
+
+import com.amazon.demanddriventrafficevaluator.evaluation.evaluator.BidRequestEvaluator;
+import com.amazon.demanddriventrafficevaluator.evaluation.evaluator.BidRequestEvaluatorInput;
+import com.amazon.demanddriventrafficevaluator.evaluation.evaluator.AggregatedModelEvaluationResult;
+import com.amazon.demanddriventrafficevaluator.evaluation.evaluator.BidRequestEvaluatorOutput;
+import com.amazon.demanddriventrafficevaluator.evaluation.evaluator.EvaluationContext;
+import com.amazon.demanddriventrafficevaluator.evaluation.scoring.BulkScoringStatisticsTest.Evaluation;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStreamWriter;
+import java.io.StringWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Consumer;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+import static com.amazon.demanddriventrafficevaluator.evaluation.scoring.BulkScoringStatisticsTest.defaultEvaluation;
+import static com.amazon.demanddriventrafficevaluator.evaluation.scoring.BulkScoringStatisticsTest.errorOutput;
+import static com.amazon.demanddriventrafficevaluator.evaluation.scoring.BulkScoringStatisticsTest.evaluation;
+import static com.amazon.demanddriventrafficevaluator.evaluation.scoring.BulkScoringStatisticsTest.modelOutput;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class BulkScorerTest {
+
+    private static final int REQUEST_COUNT = 1000;
+
+    @Mock
+    private BidRequestEvaluator mockEvaluator;
+
+    private final ForkJoinPool pool = new ForkJoinPool(4);
+
+    @AfterEach
+    void tearDown() {
+        pool.shutdownNow();
+    }
+
+    @Test
+    void testScore_WritesTheDecisionsInTheOrderOfTheArchive() throws IOException {
+        // the even requests are filtered by the treatment, the odd ones are of high value
+        when(mockEvaluator.evaluate(any(BidRequestEvaluatorInput.class), any())).thenAnswer(invocation ->
+                evaluate(invocation.getArgument(0), invocation.getArgument(1)));
+        StringBuilder archive = new StringBuilder();
+        for (int i = 0; i < REQUEST_COUNT; i++) {
+            archive.append(i).append('\n');
+        }
+        StringWriter decisions = new StringWriter();
+
+        BulkScoringStatistics statistics = new BulkScorer(mockEvaluator, pool, 7).score(toStream(archive.toString()), decisions);
+
+        assertEquals(REQUEST_COUNT, statistics.getRequestCount());
+        assertEquals(REQUEST_COUNT / 2, statistics.getFilteredSlotCount());
+        assertEquals(REQUEST_COUNT, statistics.getModelStatistics().get("m1").getEvaluationCount());
+        assertEquals(REQUEST_COUNT / 2, statistics.getArmStatistics().get("soft-filter-1/T").getSlotCount());
+        String[] lines = decisions.toString().split("\n");
+        assertEquals(REQUEST_COUNT, lines.length);
+        for (int i = 0; i < REQUEST_COUNT; i++) {
+            assertTrue(lines[i].startsWith("{\"line\":" + (i + 1) + ",\"requestId\":\"request-" + (i % 2 == 0 ? "T" : "C") + "\""),
+                    lines[i]);
+        }
+    }
+
+    @Test
+    void testScore_SkipsBlankLines() throws IOException {
+        when(mockEvaluator.evaluate(any(BidRequestEvaluatorInput.class), any())).thenAnswer(invocation ->
+                evaluate(invocation.getArgument(0), invocation.getArgument(1)));
+        StringWriter decisions = new StringWriter();
+
+        BulkScoringStatistics statistics = new BulkScorer(mockEvaluator, pool, 2).score(toStream("0\n\n  \n1\n"), decisions);
+
+        assertEquals(2L, statistics.getRequestCount());
+        verify(mockEvaluator, times(2)).evaluate(any(BidRequestEvaluatorInput.class), any());
+        String[] lines = decisions.toString().split("\n");
+        assertEquals(2, lines.length);
+        assertTrue(lines[0].startsWith("{\"line\":1,"));
+        assertTrue(lines[1].startsWith("{\"line\":4,"));
+    }
+
+    @Test
+    void testScore_WithoutDecisions() throws IOException {
+        when(mockEvaluator.evaluate(any(BidRequestEvaluatorInput.class), any())).thenAnswer(invocation ->
+                listen(defaultEvaluation(), invocation.getArgument(1)));
+
+        BulkScoringStatistics statistics = new BulkScorer(mockEvaluator, pool).score(toStream("{}\n{}\n{}"), null);
+
+        assertEquals(3L, statistics.getRequestCount());
+        assertEquals(3L, statistics.getDefaultResponseCount());
+    }
+
+    @Test
+    void testScore_CompressedFiles(@TempDir Path directory) throws IOException {
+        when(mockEvaluator.evaluate(any(BidRequestEvaluatorInput.class), any())).thenAnswer(invocation ->
+                evaluate(invocation.getArgument(0), invocation.getArgument(1)));
+        Path archive = directory.resolve("requests.ndjson.gz");
+        try (Writer writer = new OutputStreamWriter(new GZIPOutputStream(Files.newOutputStream(archive)), StandardCharsets.UTF_8)) {
+            writer.write("0\n1\n2\n");
+        }
+        Path decisions = directory.resolve("decisions.ndjson.gz");
+
+        BulkScoringStatistics statistics = new BulkScorer(mockEvaluator, pool).score(archive, decisions);
+
+        assertEquals(3L, statistics.getRequestCount());
+        try (InputStream in = new GZIPInputStream(Files.newInputStream(decisions))) {
+            String[] lines = new String(in.readAllBytes(), StandardCharsets.UTF_8).split("\n");
+            assertEquals(3, lines.length);
+            assertTrue(lines[2].startsWith("{\"line\":3,"));
+        }
+    }
+
+    @Test
+    void testScore_UncompressedFile(@TempDir Path directory) throws IOException {
+        when(mockEvaluator.evaluate(any(BidRequestEvaluatorInput.class), any())).thenAnswer(invocation ->
+                evaluate(invocation.getArgument(0), invocation.getArgument(1)));
+        Path archive = directory.resolve("requests.ndjson");
+        Files.writeString(archive, "0\n1\n");
+        Path decisions = directory.resolve("decisions.ndjson");
+
+        BulkScoringStatistics statistics = new BulkScorer(mockEvaluator, pool).score(archive, decisions);
+
+        assertEquals(2L, statistics.getRequestCount());
+        assertEquals(2, Files.readAllLines(decisions).size());
+    }
+
+    @Test
+    void testScore_PropagatesTheFailureOfAnEvaluation() {
+        when(mockEvaluator.evaluate(any(BidRequestEvaluatorInput.class), any())).thenThrow(new IllegalStateException("failed"));
+        BulkScorer scorer = new BulkScorer(mockEvaluator, pool, 1);
+
+        assertThrows(RuntimeException.class, () -> scorer.score(toStream("{}\n{}\n"), new StringWriter()));
+    }
+
+    @Test
+    void testConstructor_InvalidBatchSize() {
+        assertThrows(IllegalArgumentException.class, () -> new BulkScorer(mockEvaluator, pool, 0));
+    }
+
+    @Test
+    void testAppendDecision() {
+        StringBuilder builder = new StringBuilder();
+        Evaluation evaluation = evaluation("T", 0.0, modelOutput("m\"1", 0.0, true), errorOutput("m2"));
+
+        BulkScorer.appendDecision(builder, 12L, evaluation.output, evaluation.context);
+
+        assertEquals("{\"line\":12,\"requestId\":\"request-T\",\"arm\":\"soft-filter-1/T\",\"decisions\":[0.0],"
+                + "\"models\":{\"m\\\"1\":0.0,\"m2\":null}}", builder.toString());
+    }
+
+    @Test
+    void testAppendDecision_DefaultResponse() {
+        StringBuilder builder = new StringBuilder();
+        Evaluation evaluation = defaultEvaluation();
+
+        BulkScorer.appendDecision(builder, 1L, evaluation.output, evaluation.context);
+
+        assertEquals("{\"line\":1,\"requestId\":null,\"arm\":null,\"decisions\":[1.0],\"models\":{}}", builder.toString());
+    }
+
+    @Test
+    void testAppendDecision_WithoutContext() {
+        StringBuilder builder = new StringBuilder();
+
+        BulkScorer.appendDecision(builder, 1L, defaultEvaluation().output, null);
+
+        assertEquals("{\"line\":1,\"requestId\":null,\"arm\":null,\"decisions\":[1.0],\"models\":{}}", builder.toString());
+    }
+
+    @Test
+    void testAppendDecision_EveryImpression() {
+        StringBuilder builder = new StringBuilder();
+        Evaluation evaluation = evaluation("T", 0.0, modelOutput("m1", 0.0, true), errorOutput("m2"));
+        evaluation.context.setModelEvaluatorOutputsByImpression(List.of(
+                List.of(modelOutput("m1", 0.0, true), errorOutput("m2")),
+                List.of(modelOutput("m1", 1.0, true), modelOutput("m2", 0.5, true))));
+        evaluation.context.setAggregatedModelEvaluationResultsByImpression(List.of(
+                evaluation.context.getAggregatedModelEvaluationResult(),
+                AggregatedModelEvaluationResult.builder().experimentName("soft-filter-1").treatmentCode("T").build()));
+
+        BulkScorer.appendDecision(builder, 3L, evaluation.output, evaluation.context);
+
+        assertEquals("{\"line\":3,\"requestId\":\"request-T\",\"arm\":\"soft-filter-1/T\",\"decisions\":[0.0],"
+                + "\"models\":[{\"m1\":0.0,\"m2\":null},{\"m1\":1.0,\"m2\":0.5}]}", builder.toString());
+    }
+
+    @Test
+    void testDecompress_DetectsGzip() throws IOException {
+        byte[] plain = "{\"id\":\"1\"}\n".getBytes(StandardCharsets.UTF_8);
+        ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+        try (GZIPOutputStream out = new GZIPOutputStream(compressed)) {
+            out.write(plain);
+        }
+
+        try (InputStream in = BulkScorer.decompress(new ByteArrayInputStream(compressed.toByteArray()))) {
+            assertEquals(new String(plain, StandardCharsets.UTF_8), new String(in.readAllBytes(), StandardCharsets.UTF_8));
+        }
+        try (InputStream in = BulkScorer.decompress(new ByteArrayInputStream(plain))) {
+            assertEquals(new String(plain, StandardCharsets.UTF_8), new String(in.readAllBytes(), StandardCharsets.UTF_8));
+        }
+    }
+
+    private static BidRequestEvaluatorOutput evaluate(BidRequestEvaluatorInput input, Consumer<EvaluationContext> contextListener) {
+        boolean filtered = Integer.parseInt(input.getOpenRtbRequest()) % 2 == 0;
+        return listen(filtered
+                ? evaluation("T", 0.0, modelOutput("m1", 0.0, true))
+                : evaluation("C", 1.0, modelOutput("m1", 1.0, true)), contextListener);
+    }
+
+    private static BidRequestEvaluatorOutput listen(Evaluation evaluation, Consumer<EvaluationContext> contextListener) {
+        contextListener.accept(evaluation.context);
+        return evaluation.output;
+    }
+
+    private static InputStream toStream(String archive) {
+        return new ByteArrayInputStream(archive.getBytes(StandardCharsets.UTF_8));
+    }
+}
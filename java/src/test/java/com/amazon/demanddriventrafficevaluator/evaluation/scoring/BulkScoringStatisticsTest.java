@@ -0,0 +1,213 @@
+// Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+// SPDX-License-Identifier: Apache-2.0
+
+package com.amazon.demanddriventrafficevaluator.evaluation.scoring;
+
+import com.amazon.demanddriventrafficevaluator.evaluation.evaluator.AggregatedModelEvaluationResult;
+import com.amazon.demanddriventrafficevaluator.evaluation.evaluator.BidRequestEvaluatorOutput;
+import com.amazon.demanddriventrafficevaluator.evaluation.evaluator.EvaluationContext;
+import com.amazon.demanddriventrafficevaluator.evaluation.evaluator.ModelEvaluationStatus;
+import com.amazon.demanddriventrafficevaluator.evaluation.evaluator.ModelEvaluatorOutput;
+import com.amazon.demanddriventrafficevaluator.evaluation.evaluator.Response;
+import com.amazon.demanddriventrafficevaluator.evaluation.evaluator.Slot;
+import com.amazon.demanddriventrafficevaluator.repository.entity.ModelDefinition;
+import com.amazon.demanddriventrafficevaluator.repository.entity.ModelResult;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class BulkScoringStatisticsTest {
+
+    private static final String EXPERIMENT_NAME = "soft-filter-1";
+
+    @Test
+    void testRecord() {
+        BulkScoringStatistics statistics = new BulkScoringStatistics();
+
+        // filtered by the treatment
+        record(statistics, evaluation("T", 0.0, modelOutput("m1", 0.0, true), modelOutput("m2", 0.0, false)));
+        // low value, let through by the control
+        record(statistics, evaluation("C", 1.0, modelOutput("m1", 0.0, true), modelOutput("m2", 0.0, false)));
+        // high value
+        record(statistics, evaluation("T", 1.0, modelOutput("m1", 1.0, true), errorOutput("m2")));
+        record(statistics, defaultEvaluation());
+
+        assertEquals(4L, statistics.getRequestCount());
+        assertEquals(1L, statistics.getDefaultResponseCount());
+        assertEquals(4L, statistics.getSlotCount());
+        assertEquals(1L, statistics.getFilteredSlotCount());
+        assertEquals(0.25, statistics.getFilterRate());
+
+        BulkScoringStatistics.ModelStatistics m1 = statistics.getModelStatistics().get("m1");
+        assertEquals(3L, m1.getEvaluationCount());
+        assertEquals(0L, m1.getErrorCount());
+        assertEquals(3L, m1.getHitCount());
+        assertEquals(2L, m1.getFilteredCount());
+        BulkScoringStatistics.ModelStatistics m2 = statistics.getModelStatistics().get("m2");
+        assertEquals(3L, m2.getEvaluationCount());
+        assertEquals(1L, m2.getErrorCount());
+        assertEquals(0.0, m2.getHitRate());
+        assertEquals(2.0 / 3.0, m2.getFilterRate());
+
+        BulkScoringStatistics.ArmStatistics treatment = statistics.getArmStatistics().get(EXPERIMENT_NAME + "/T");
+        assertEquals(2L, treatment.getSlotCount());
+        assertEquals(1L, treatment.getLowValueSlotCount());
+        assertEquals(0.5, treatment.getFilterRate());
+        BulkScoringStatistics.ArmStatistics control = statistics.getArmStatistics().get(EXPERIMENT_NAME + "/C");
+        assertEquals(1L, control.getSlotCount());
+        assertEquals(1.0, control.getLowValueRate());
+        assertEquals(0L, control.getFilteredSlotCount());
+    }
+
+    @Test
+    void testRecord_CountsTheArmsOfEveryImpression() {
+        BulkScoringStatistics statistics = new BulkScoringStatistics();
+        Evaluation evaluation = evaluation("T", 0.0, modelOutput("m1", 0.0, true));
+        evaluation.context.setAggregatedModelEvaluationResultsByImpression(List.of(
+                aggregatedResult("T", 0.0), aggregatedResult("T", 1.0)));
+
+        record(statistics, evaluation);
+
+        assertEquals(2L, statistics.getArmStatistics().get(EXPERIMENT_NAME + "/T").getSlotCount());
+        assertEquals(1L, statistics.getArmStatistics().get(EXPERIMENT_NAME + "/T").getFilteredSlotCount());
+        assertEquals(1L, statistics.getModelStatistics().get("m1").getEvaluationCount());
+    }
+
+    @Test
+    void testRecord_CountsTheModelsOfEveryImpression() {
+        BulkScoringStatistics statistics = new BulkScoringStatistics();
+        Evaluation evaluation = evaluation("T", 0.0, modelOutput("m1", 0.0, true));
+        evaluation.context.setModelEvaluatorOutputsByImpression(List.of(
+                List.of(modelOutput("m1", 0.0, true)), List.of(modelOutput("m1", 1.0, false))));
+        evaluation.context.setAggregatedModelEvaluationResultsByImpression(List.of(
+                aggregatedResult("T", 0.0), aggregatedResult("T", 1.0)));
+
+        record(statistics, evaluation);
+
+        BulkScoringStatistics.ModelStatistics m1 = statistics.getModelStatistics().get("m1");
+        assertEquals(2L, m1.getEvaluationCount());
+        assertEquals(1L, m1.getHitCount());
+        assertEquals(1L, m1.getFilteredCount());
+    }
+
+    @Test
+    void testRecord_WithoutContext() {
+        BulkScoringStatistics statistics = new BulkScoringStatistics();
+
+        statistics.record(defaultEvaluation().output, null);
+
+        assertEquals(1L, statistics.getRequestCount());
+        assertEquals(1L, statistics.getDefaultResponseCount());
+    }
+
+    @Test
+    void testMerge() {
+        BulkScoringStatistics first = new BulkScoringStatistics();
+        record(first, evaluation("T", 0.0, modelOutput("m1", 0.0, true)));
+        BulkScoringStatistics second = new BulkScoringStatistics();
+        record(second, evaluation("C", 1.0, modelOutput("m1", 0.0, true), modelOutput("m2", 1.0, true)));
+        record(second, defaultEvaluation());
+
+        first.merge(second);
+
+        assertEquals(3L, first.getRequestCount());
+        assertEquals(1L, first.getDefaultResponseCount());
+        assertEquals(3L, first.getSlotCount());
+        assertEquals(1L, first.getFilteredSlotCount());
+        assertEquals(2L, first.getModelStatistics().get("m1").getFilteredCount());
+        assertEquals(1L, first.getModelStatistics().get("m2").getEvaluationCount());
+        assertEquals(1L, first.getArmStatistics().get(EXPERIMENT_NAME + "/T").getSlotCount());
+        assertEquals(1L, first.getArmStatistics().get(EXPERIMENT_NAME + "/C").getSlotCount());
+        assertEquals(0L, first.getArmStatistics().get(EXPERIMENT_NAME + "/C").getLowValueSlotCount());
+    }
+
+    @Test
+    void testRates_NothingRecorded() {
+        BulkScoringStatistics statistics = new BulkScoringStatistics();
+
+        assertEquals(0.0, statistics.getFilterRate());
+        assertEquals(0.0, new BulkScoringStatistics.ModelStatistics().getFilterRate());
+        assertEquals(0.0, new BulkScoringStatistics.ArmStatistics().getLowValueRate());
+    }
+
+    static Evaluation evaluation(String treatmentCode, double scoreWithTreatment, ModelEvaluatorOutput... modelOutputs) {
+        // the max of the values of the models, like the aggregator
+        double score = 0.0;
+        for (ModelEvaluatorOutput modelOutput : modelOutputs) {
+            if (modelOutput.getStatus() == ModelEvaluationStatus.SUCCESS) {
+                score = Math.max(score, modelOutput.getModelResult().getValue());
+            }
+        }
+        EvaluationContext context = new EvaluationContext();
+        context.setRequestId("request-" + treatmentCode);
+        context.setModelEvaluatorOutputs(List.of(modelOutputs));
+        context.setAggregatedModelEvaluationResult(AggregatedModelEvaluationResult.builder()
+                .experimentName(EXPERIMENT_NAME)
+                .treatmentCode(treatmentCode)
+                .score(score)
+                .scoreWithTreatment(scoreWithTreatment)
+                .build());
+        return new Evaluation(output(scoreWithTreatment), context);
+    }
+
+    static Evaluation defaultEvaluation() {
+        return new Evaluation(output(1.0), new EvaluationContext());
+    }
+
+    static ModelEvaluatorOutput modelOutput(String modelIdentifier, double value, boolean hit) {
+        return ModelEvaluatorOutput.builder()
+                .status(ModelEvaluationStatus.SUCCESS)
+                .modelResult(ModelResult.builder().value(value).hit(hit).build())
+                .modelDefinition(modelDefinition(modelIdentifier))
+                .build();
+    }
+
+    static ModelEvaluatorOutput errorOutput(String modelIdentifier) {
+        return ModelEvaluatorOutput.builder()
+                .status(ModelEvaluationStatus.ERROR)
+                .modelDefinition(modelDefinition(modelIdentifier))
+                .build();
+    }
+
+    private static void record(BulkScoringStatistics statistics, Evaluation evaluation) {
+        statistics.record(evaluation.output, evaluation.context);
+    }
+
+    private static BidRequestEvaluatorOutput output(double filterDecision) {
+        return BidRequestEvaluatorOutput.builder()
+                .response(Response.builder()
+                        .slots(List.of(Slot.builder().filterDecision(filterDecision).build()))
+                        .build())
+                .build();
+    }
+
+    private static AggregatedModelEvaluationResult aggregatedResult(String treatmentCode, double scoreWithTreatment) {
+        return AggregatedModelEvaluationResult.builder()
+                .experimentName(EXPERIMENT_NAME)
+                .treatmentCode(treatmentCode)
+                .score(scoreWithTreatment)
+                .scoreWithTreatment(scoreWithTreatment)
+                .build();
+    }
+
+    private static ModelDefinition modelDefinition(String modelIdentifier) {
+        ModelDefinition modelDefinition = new ModelDefinition();
+        modelDefinition.setIdentifier(modelIdentifier);
+        return modelDefinition;
+    }
+
+    /**
+     * The output of the evaluation of a request, with the context the evaluator hands to its listener.
+     */
+    static final class Evaluation {
+        final BidRequestEvaluatorOutput output;
+        final EvaluationContext context;
+
+        Evaluation(BidRequestEvaluatorOutput output, EvaluationContext context) {
+            this.output = output;
+            this.context = context;
+        }
+    }
+}
@@ -0,0 +1,63 @@
+// Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+// SPDX-License-Identifier: Apache-2.0
+
+package com.amazon.demanddriventrafficevaluator.evaluation.shadow;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ShadowCpuBudgetTest {
+
+    private final AtomicLong nowNanos = new AtomicLong(TimeUnit.SECONDS.toNanos(100L));
+
+    @Test
+    void testChargeSpendsBudgetUntilRepaid() {
+        ShadowCpuBudget budget = new ShadowCpuBudget(10, nowNanos::get);
+        assertTrue(budget.isAvailable());
+
+        // the accrued burst of 1s is spent by 150ms of CPU time at 10%
+        budget.charge(TimeUnit.MILLISECONDS.toNanos(150L));
+        assertFalse(budget.isAvailable());
+
+        nowNanos.addAndGet(TimeUnit.MILLISECONDS.toNanos(499L));
+        assertFalse(budget.isAvailable());
+        nowNanos.addAndGet(TimeUnit.MILLISECONDS.toNanos(1L));
+        assertTrue(budget.isAvailable());
+        assertEquals(TimeUnit.MILLISECONDS.toNanos(150L), budget.getSpentCpuNanos());
+    }
+
+    @Test
+    void testBurstIsBounded() {
+        ShadowCpuBudget budget = new ShadowCpuBudget(50, nowNanos::get);
+
+        // an hour idle only accrues the burst of 1s, i.e. 500ms of CPU time at 50%
+        nowNanos.addAndGet(TimeUnit.HOURS.toNanos(1L));
+        budget.charge(TimeUnit.MILLISECONDS.toNanos(500L));
+        assertTrue(budget.isAvailable());
+        budget.charge(1L);
+        assertFalse(budget.isAvailable());
+    }
+
+    @Test
+    void testUnlimited() {
+        ShadowCpuBudget budget = new ShadowCpuBudget(ShadowCpuBudget.UNLIMITED_PERCENT, nowNanos::get);
+
+        budget.charge(TimeUnit.HOURS.toNanos(1L));
+
+        assertTrue(budget.isAvailable());
+        assertEquals(TimeUnit.HOURS.toNanos(1L), budget.getSpentCpuNanos());
+    }
+
+    @Test
+    void testInvalidPercent() {
+        assertThrows(IllegalArgumentException.class, () -> new ShadowCpuBudget(-1));
+        assertThrows(IllegalArgumentException.class, () -> new ShadowCpuBudget(101));
+    }
+}
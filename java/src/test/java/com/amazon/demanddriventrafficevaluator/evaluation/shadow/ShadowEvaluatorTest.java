@@ -0,0 +1,257 @@
+// Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+// SPDX-License-Identifier: Apache-2.0
+
+package com.amazon.demanddriventrafficevaluator.evaluation.shadow;
+
+import com.amazon.demanddriventrafficevaluator.evaluation.evaluator.EvaluationContext;
+import com.amazon.demanddriventrafficevaluator.evaluation.evaluator.ModelEvaluationStatus;
+import com.amazon.demanddriventrafficevaluator.evaluation.evaluator.ModelEvaluator;
+import com.amazon.demanddriventrafficevaluator.evaluation.evaluator.ModelEvaluatorInput;
+import com.amazon.demanddriventrafficevaluator.evaluation.evaluator.ModelEvaluatorOutput;
+import com.amazon.demanddriventrafficevaluator.evaluation.trace.EvaluationTrace;
+import com.amazon.demanddriventrafficevaluator.repository.entity.ModelConfiguration;
+import com.amazon.demanddriventrafficevaluator.repository.entity.ModelDefinition;
+import com.amazon.demanddriventrafficevaluator.repository.entity.ModelResult;
+import com.amazon.demanddriventrafficevaluator.repository.provider.configuration.ConfigurationProvider;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ShadowEvaluatorTest {
+
+    private static final String LIVE_MODEL_IDENTIFIER = "adsp_low-value_v2";
+    private static final String CANDIDATE_MODEL_IDENTIFIER = "adsp_low-value_v3";
+    private static final String OTHER_MODEL_IDENTIFIER = "adsp_high-value_v1";
+    private static final String REQUEST_ID = "test-request-id";
+
+    @Mock
+    private ModelEvaluator modelEvaluator;
+    @Mock
+    private ConfigurationProvider<ModelConfiguration> modelConfigurationProvider;
+
+    private final AtomicLong cpuNanos = new AtomicLong();
+    private ModelDefinition liveModel;
+    private ModelDefinition candidateModel;
+    private ModelDefinition otherModel;
+    private ModelConfiguration modelConfiguration;
+    private EvaluationContext context;
+
+    @BeforeEach
+    void setUp() {
+        liveModel = modelDefinition(LIVE_MODEL_IDENTIFIER, null);
+        candidateModel = modelDefinition(CANDIDATE_MODEL_IDENTIFIER, LIVE_MODEL_IDENTIFIER);
+        otherModel = modelDefinition(OTHER_MODEL_IDENTIFIER, null);
+        Map<String, ModelDefinition> modelDefinitionByIdentifier = new LinkedHashMap<>();
+        modelDefinitionByIdentifier.put(LIVE_MODEL_IDENTIFIER, liveModel);
+        modelDefinitionByIdentifier.put(CANDIDATE_MODEL_IDENTIFIER, candidateModel);
+        modelDefinitionByIdentifier.put(OTHER_MODEL_IDENTIFIER, otherModel);
+        modelConfiguration = new ModelConfiguration();
+        modelConfiguration.setModelDefinitionByIdentifier(modelDefinitionByIdentifier);
+        context = new EvaluationContext(EvaluationTrace.start(true, 0));
+        context.setRequestId(REQUEST_ID);
+    }
+
+    @Test
+    void testEvaluateWholeRequest() {
+        when(modelConfigurationProvider.provide()).thenReturn(modelConfiguration);
+        ArgumentCaptor<ModelEvaluatorInput> inputCaptor = ArgumentCaptor.forClass(ModelEvaluatorInput.class);
+        when(modelEvaluator.evaluate(inputCaptor.capture())).thenAnswer(invocation -> {
+            cpuNanos.addAndGet(1000L);
+            return output(0.0);
+        });
+        ShadowEvaluator shadowEvaluator = shadowEvaluator(Runnable::run, ShadowCpuBudget.UNLIMITED_PERCENT);
+
+        ShadowSample sample = shadowEvaluator.sample(context, ShadowSample.WHOLE_REQUEST);
+        assertNotNull(sample);
+        sample.addLiveEvaluation(liveModel, List.of(output(1.0)), 300L);
+        sample.addLiveEvaluation(otherModel, List.of(output(1.0)), 400L);
+        shadowEvaluator.submit(sample);
+
+        // the candidate is evaluated on a context of its own
+        ModelEvaluatorInput input = inputCaptor.getValue();
+        assertSame(candidateModel, input.getModelDefinition());
+        assertNotSame(context, input.getContext().getEvaluationContext());
+        assertEquals(REQUEST_ID, input.getContext().getEvaluationContext().getRequestId());
+        assertEquals(0, context.getTrace().size());
+
+        ShadowEvaluationReport report = shadowEvaluator.getReport();
+        assertEquals(1L, report.getSampledCount());
+        assertEquals(0L, report.getDroppedCount());
+        assertEquals(1000L, report.getCpuNanos());
+        assertEquals(1, report.getModelReports().size());
+        ShadowModelReport modelReport = report.getModelReports().get(0);
+        assertEquals(LIVE_MODEL_IDENTIFIER, modelReport.getLiveModelIdentifier());
+        assertEquals(CANDIDATE_MODEL_IDENTIFIER, modelReport.getCandidateModelIdentifier());
+        assertEquals(1L, modelReport.getEvaluationCount());
+        assertEquals(0L, modelReport.getAgreementCount());
+        assertEquals(0L, modelReport.getLiveOnlyFilteredCount());
+        assertEquals(1L, modelReport.getCandidateOnlyFilteredCount());
+        assertEquals(0.0, modelReport.getAgreementRate());
+        assertEquals(300L, modelReport.getMeanLiveLatencyNanos());
+    }
+
+    @Test
+    void testEvaluateImpressions() {
+        when(modelConfigurationProvider.provide()).thenReturn(modelConfiguration);
+        when(modelEvaluator.evaluateImpressions(any(ModelEvaluatorInput.class), eq(3)))
+                .thenReturn(List.of(output(0.0), output(0.0), errorOutput()));
+        ShadowEvaluator shadowEvaluator = shadowEvaluator(Runnable::run, ShadowCpuBudget.UNLIMITED_PERCENT);
+
+        ShadowSample sample = shadowEvaluator.sample(context, 3);
+        sample.addLiveEvaluation(liveModel, List.of(output(0.0), output(1.0), output(1.0)), 300L);
+        shadowEvaluator.submit(sample);
+
+        ShadowModelReport modelReport = shadowEvaluator.getReport().getModelReports().get(0);
+        assertEquals(3L, modelReport.getEvaluationCount());
+        assertEquals(1L, modelReport.getAgreementCount());
+        assertEquals(1L, modelReport.getCandidateOnlyFilteredCount());
+        assertEquals(1L, modelReport.getErrorCount());
+        assertEquals(0.5, modelReport.getAgreementRate());
+    }
+
+    @Test
+    void testSampleWithoutCandidates() {
+        candidateModel.setShadowOf(null);
+        when(modelConfigurationProvider.provide()).thenReturn(modelConfiguration);
+        ShadowEvaluator shadowEvaluator = shadowEvaluator(Runnable::run, ShadowCpuBudget.UNLIMITED_PERCENT);
+
+        assertNull(shadowEvaluator.sample(context, ShadowSample.WHOLE_REQUEST));
+    }
+
+    @Test
+    void testSampleWithReloadedModelConfiguration() {
+        ModelConfiguration reloadedModelConfiguration = new ModelConfiguration();
+        reloadedModelConfiguration.setModelDefinitionByIdentifier(Map.of(LIVE_MODEL_IDENTIFIER, liveModel));
+        when(modelConfigurationProvider.provide()).thenReturn(modelConfiguration, reloadedModelConfiguration);
+        ShadowEvaluator shadowEvaluator = shadowEvaluator(Runnable::run, ShadowCpuBudget.UNLIMITED_PERCENT);
+
+        assertNotNull(shadowEvaluator.sample(context, ShadowSample.WHOLE_REQUEST));
+        assertNull(shadowEvaluator.sample(context, ShadowSample.WHOLE_REQUEST));
+    }
+
+    @Test
+    void testSampleOverBudget() {
+        when(modelConfigurationProvider.provide()).thenReturn(modelConfiguration);
+        when(modelEvaluator.evaluate(any(ModelEvaluatorInput.class))).thenAnswer(invocation -> {
+            // far more than the burst of the budget
+            cpuNanos.addAndGet(ShadowCpuBudget.MAX_BURST_NANOS);
+            return output(1.0);
+        });
+        ShadowEvaluator shadowEvaluator = shadowEvaluator(Runnable::run, 1);
+
+        ShadowSample sample = shadowEvaluator.sample(context, ShadowSample.WHOLE_REQUEST);
+        sample.addLiveEvaluation(liveModel, List.of(output(1.0)), 300L);
+        shadowEvaluator.submit(sample);
+
+        assertNull(shadowEvaluator.sample(context, ShadowSample.WHOLE_REQUEST));
+        ShadowEvaluationReport report = shadowEvaluator.getReport();
+        assertEquals(1L, report.getSampledCount());
+        assertEquals(1L, report.getOverBudgetCount());
+        assertEquals(1L, report.getModelReports().get(0).getAgreementCount());
+    }
+
+    @Test
+    void testSubmitWithRejectingExecutor() {
+        when(modelConfigurationProvider.provide()).thenReturn(modelConfiguration);
+        ShadowEvaluator shadowEvaluator = shadowEvaluator(command -> {
+            throw new RejectedExecutionException();
+        }, ShadowCpuBudget.UNLIMITED_PERCENT);
+
+        ShadowSample sample = shadowEvaluator.sample(context, ShadowSample.WHOLE_REQUEST);
+        sample.addLiveEvaluation(liveModel, List.of(output(1.0)), 300L);
+        shadowEvaluator.submit(sample);
+
+        ShadowEvaluationReport report = shadowEvaluator.getReport();
+        assertEquals(0L, report.getSampledCount());
+        assertEquals(1L, report.getDroppedCount());
+        verifyNoInteractions(modelEvaluator);
+    }
+
+    @Test
+    void testSubmitWithoutLiveEvaluations() {
+        when(modelConfigurationProvider.provide()).thenReturn(modelConfiguration);
+        ShadowEvaluator shadowEvaluator = shadowEvaluator(Runnable::run, ShadowCpuBudget.UNLIMITED_PERCENT);
+
+        ShadowSample sample = shadowEvaluator.sample(context, ShadowSample.WHOLE_REQUEST);
+        sample.addLiveEvaluation(otherModel, List.of(output(1.0)), 400L);
+        shadowEvaluator.submit(sample);
+
+        assertEquals(0L, shadowEvaluator.getReport().getSampledCount());
+        verifyNoInteractions(modelEvaluator);
+    }
+
+    @Test
+    void testEvaluateWithCandidateError() {
+        when(modelConfigurationProvider.provide()).thenReturn(modelConfiguration);
+        when(modelEvaluator.evaluate(any(ModelEvaluatorInput.class))).thenThrow(new IllegalStateException("test"));
+        ShadowEvaluator shadowEvaluator = shadowEvaluator(Runnable::run, ShadowCpuBudget.UNLIMITED_PERCENT);
+
+        ShadowSample sample = shadowEvaluator.sample(context, ShadowSample.WHOLE_REQUEST);
+        sample.addLiveEvaluation(liveModel, List.of(output(1.0)), 300L);
+        shadowEvaluator.submit(sample);
+
+        ShadowEvaluationReport report = shadowEvaluator.getReport();
+        assertEquals(1L, report.getSampledCount());
+        assertTrue(report.getModelReports().isEmpty());
+        // the failed sample is no longer pending
+        assertNotNull(shadowEvaluator.sample(context, ShadowSample.WHOLE_REQUEST));
+        verify(modelEvaluator).evaluate(any(ModelEvaluatorInput.class));
+    }
+
+    @Test
+    void testInvalidArguments() {
+        assertThrows(IllegalArgumentException.class, () -> new ShadowEvaluator(modelEvaluator, modelConfigurationProvider,
+                Runnable::run, 0, 1, new ShadowCpuBudget(ShadowCpuBudget.UNLIMITED_PERCENT)));
+        assertThrows(IllegalArgumentException.class, () -> new ShadowEvaluator(modelEvaluator, modelConfigurationProvider,
+                Runnable::run, 1, 0, new ShadowCpuBudget(ShadowCpuBudget.UNLIMITED_PERCENT)));
+    }
+
+    private ShadowEvaluator shadowEvaluator(Executor executor, int cpuBudgetPercent) {
+        return new ShadowEvaluator(modelEvaluator, modelConfigurationProvider, executor, 1, 1,
+                new ShadowCpuBudget(cpuBudgetPercent, System::nanoTime), cpuNanos::get);
+    }
+
+    private static ModelDefinition modelDefinition(String identifier, String shadowOf) {
+        ModelDefinition modelDefinition = new ModelDefinition();
+        modelDefinition.setIdentifier(identifier);
+        modelDefinition.setShadowOf(shadowOf);
+        return modelDefinition;
+    }
+
+    private static ModelEvaluatorOutput output(double value) {
+        return ModelEvaluatorOutput.builder()
+                .status(ModelEvaluationStatus.SUCCESS)
+                .modelResult(ModelResult.builder().value(value).build())
+                .build();
+    }
+
+    private static ModelEvaluatorOutput errorOutput() {
+        return ModelEvaluatorOutput.builder()
+                .status(ModelEvaluationStatus.ERROR)
+                .build();
+    }
+}
@@ -0,0 +1,101 @@
+// Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+// SPDX-License-Identifier: Apache-2.0
+
+package com.amazon.demanddriventrafficevaluator.evaluation.trace;
+
+import com.amazon.demanddriventrafficevaluator.repository.entity.ModelResult;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class EvaluationTraceTest {
+
+    private EvaluationTrace trace;
+
+    @BeforeEach
+    void setUp() {
+        trace = new EvaluationTrace();
+    }
+
+    @Test
+    void testStart() {
+        assertSame(EvaluationTrace.DISABLED, EvaluationTrace.start(false, 0));
+        assertTrue(EvaluationTrace.start(true, 0).isEnabled());
+        assertTrue(EvaluationTrace.start(false, 1).isEnabled());
+    }
+
+    @Test
+    void testDisabledRecordsNothing() {
+        EvaluationTrace disabled = EvaluationTrace.DISABLED;
+
+        disabled.record(EvaluationTrace.REQUEST_SCOPE, TraceLevel.ERROR, TraceStage.REQUEST, null, "Error", null);
+
+        assertFalse(disabled.isEnabled());
+        assertEquals(EvaluationTrace.REQUEST_SCOPE, disabled.openScope());
+        assertEquals(0, disabled.size());
+        assertTrue(disabled.getMessages(EvaluationTrace.REQUEST_SCOPE).isEmpty());
+        assertEquals("", disabled.format());
+    }
+
+    @Test
+    void testGetMessages_SeparatesScopes() {
+        // Arrange
+        int modelScope = trace.openScope();
+        trace.record(EvaluationTrace.REQUEST_SCOPE, TraceLevel.DEBUG, TraceStage.REQUEST, null, "Request debug", null);
+        trace.record(modelScope, TraceLevel.ERROR, TraceStage.FEATURES, "model1", "Error while getting features.",
+                new IllegalStateException("Feature error"));
+        trace.record(EvaluationTrace.REQUEST_SCOPE, TraceLevel.INFO, TraceStage.REQUEST, null, "Generated id:", "id1");
+
+        // Act
+        List<String> requestMessages = trace.getMessages(EvaluationTrace.REQUEST_SCOPE);
+        List<String> modelMessages = trace.getMessages(modelScope);
+
+        // Assert
+        assertEquals(List.of("[Debug] Request debug\n", "[Info] Generated id: id1\n"), requestMessages);
+        assertEquals(List.of("[Error] Error while getting features.\nFeature error\n"), modelMessages);
+        assertThrows(UnsupportedOperationException.class, () -> modelMessages.add("Should not be added"));
+    }
+
+    @Test
+    void testRecordLookup() {
+        ModelResult modelResult = ModelResult.builder()
+                .keys(List.of("key1", "key2"))
+                .values(List.of(0.0, 1.0))
+                .value(1.0)
+                .hit(true)
+                .build();
+
+        trace.recordLookup(trace.openScope(), "model1", modelResult);
+
+        String text = trace.format();
+        assertTrue(text.contains("LOOKUP #1 model1 [Debug] Model result lookup hit."), text);
+        assertTrue(text.contains("keys: [key1, key2], values: [0.0, 1.0], value: 1.0"), text);
+    }
+
+    @Test
+    void testRecord_GrowsAndResets() {
+        // Arrange
+        for (int i = 0; i < 100; i++) {
+            trace.record(EvaluationTrace.REQUEST_SCOPE, TraceLevel.DEBUG, TraceStage.REQUEST, null, "Debug", i);
+        }
+        trace.openScope();
+        assertEquals(100, trace.size());
+        assertEquals("[Debug] Debug 99\n", trace.getMessages(EvaluationTrace.REQUEST_SCOPE).get(99));
+
+        // Act
+        trace.reset();
+
+        // Assert
+        assertEquals(0, trace.size());
+        assertEquals(1, trace.openScope());
+        trace.record(EvaluationTrace.REQUEST_SCOPE, TraceLevel.DEBUG, TraceStage.REQUEST, null, "Debug", null);
+        assertEquals(List.of("[Debug] Debug\n"), trace.getMessages(EvaluationTrace.REQUEST_SCOPE));
+    }
+}
@@ -11,15 +11,20 @@ import org.mockito.MockedStatic;
 import org.mockito.junit.jupiter.MockitoExtension;
 import software.amazon.awssdk.auth.credentials.AwsCredentialsProvider;
 import software.amazon.awssdk.regions.Region;
+import software.amazon.awssdk.services.s3.S3AsyncClient;
+import software.amazon.awssdk.services.s3.S3AsyncClientBuilder;
 import software.amazon.awssdk.services.s3.S3Client;
 import software.amazon.awssdk.services.s3.S3ClientBuilder;
 
+import java.net.URI;
+
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.Mockito.any;
 import static org.mockito.Mockito.anyBoolean;
 import static org.mockito.Mockito.mockStatic;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -36,6 +41,12 @@ class AWSServiceClientFactoryTest {
     @Mock
     private S3ClientBuilder mockS3ClientBuilder;
 
+    @Mock
+    private S3AsyncClient mockS3AsyncClient;
+
+    @Mock
+    private S3AsyncClientBuilder mockS3AsyncClientBuilder;
+
     private AWSServiceClientFactory factory;
 
     @BeforeEach
@@ -43,6 +54,7 @@ class AWSServiceClientFactoryTest {
         factory = AWSServiceClientFactory.getInstance();
         // Reset the s3Client field before each test
         setS3ClientToNull(factory);
+        setS3AsyncClientToNull(factory);
     }
 
     @Test
@@ -131,6 +143,55 @@ class AWSServiceClientFactoryTest {
         }
     }
 
+    @Test
+    void testGetS3AsyncClient_FirstCall() {
+        // Arrange
+        try (MockedStatic<S3AsyncClient> mockedS3AsyncClient = mockStatic(S3AsyncClient.class)) {
+            String region = "us-west-2";
+            mockedS3AsyncClient.when(S3AsyncClient::builder).thenReturn(mockS3AsyncClientBuilder);
+            when(mockS3AsyncClientBuilder.region(Region.of(region))).thenReturn(mockS3AsyncClientBuilder);
+            when(mockS3AsyncClientBuilder.credentialsProvider(any())).thenReturn(mockS3AsyncClientBuilder);
+            when(mockS3AsyncClientBuilder.crossRegionAccessEnabled(anyBoolean())).thenReturn(mockS3AsyncClientBuilder);
+            when(mockS3AsyncClientBuilder.build()).thenReturn(mockS3AsyncClient);
+
+            // Act
+            S3AsyncClient result1 = factory.getS3AsyncClient(mockCredentialsProvider, region, null);
+            S3AsyncClient result2 = factory.getS3AsyncClient(mockCredentialsProvider, region, null);
+
+            // Assert
+            assertSame(mockS3AsyncClient, result1);
+            assertSame(result1, result2, "Subsequent calls should return the same S3AsyncClient instance");
+            verify(mockS3AsyncClientBuilder).credentialsProvider(mockCredentialsProvider);
+            verify(mockS3AsyncClientBuilder).crossRegionAccessEnabled(true);
+            verify(mockS3AsyncClientBuilder, never()).endpointOverride(any());
+            verify(mockS3AsyncClientBuilder, times(1)).build();
+        }
+    }
+
+    @Test
+    void testGetS3AsyncClient_EndpointOverride() {
+        // Arrange
+        try (MockedStatic<S3AsyncClient> mockedS3AsyncClient = mockStatic(S3AsyncClient.class)) {
+            String region = "us-west-2";
+            URI endpoint = URI.create("http://localhost:9000");
+            mockedS3AsyncClient.when(S3AsyncClient::builder).thenReturn(mockS3AsyncClientBuilder);
+            when(mockS3AsyncClientBuilder.region(Region.of(region))).thenReturn(mockS3AsyncClientBuilder);
+            when(mockS3AsyncClientBuilder.credentialsProvider(any())).thenReturn(mockS3AsyncClientBuilder);
+            when(mockS3AsyncClientBuilder.crossRegionAccessEnabled(anyBoolean())).thenReturn(mockS3AsyncClientBuilder);
+            when(mockS3AsyncClientBuilder.endpointOverride(endpoint)).thenReturn(mockS3AsyncClientBuilder);
+            when(mockS3AsyncClientBuilder.forcePathStyle(anyBoolean())).thenReturn(mockS3AsyncClientBuilder);
+            when(mockS3AsyncClientBuilder.build()).thenReturn(mockS3AsyncClient);
+
+            // Act
+            S3AsyncClient result = factory.getS3AsyncClient(mockCredentialsProvider, region, endpoint);
+
+            // Assert
+            assertSame(mockS3AsyncClient, result);
+            verify(mockS3AsyncClientBuilder).endpointOverride(endpoint);
+            verify(mockS3AsyncClientBuilder).forcePathStyle(true);
+        }
+    }
+
     // Helper method to reset s3Client field using reflection
     private void setS3ClientToNull(AWSServiceClientFactory factory) {
         try {
@@ -141,4 +202,15 @@ class AWSServiceClientFactoryTest {
             throw new RuntimeException("Failed to reset s3Client field", e);
         }
     }
+
+    // Helper method to reset s3AsyncClient field using reflection
+    private void setS3AsyncClientToNull(AWSServiceClientFactory factory) {
+        try {
+            java.lang.reflect.Field field = AWSServiceClientFactory.class.getDeclaredField("s3AsyncClient");
+            field.setAccessible(true);
+            field.set(factory, null);
+        } catch (NoSuchFieldException | IllegalAccessException e) {
+            throw new RuntimeException("Failed to reset s3AsyncClient field", e);
+        }
+    }
 }
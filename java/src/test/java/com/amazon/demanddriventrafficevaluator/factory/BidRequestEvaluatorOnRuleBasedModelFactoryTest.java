@@ -9,7 +9,9 @@ import com.amazon.demanddriventrafficevaluator.evaluation.evaluator.ModelEvaluat
 import com.amazon.demanddriventrafficevaluator.evaluation.evaluator.ModelEvaluationResultsMaxAggregator;
 import com.amazon.demanddriventrafficevaluator.evaluation.evaluator.ModelEvaluator;
 import com.amazon.demanddriventrafficevaluator.evaluation.evaluator.RuleBasedModelEvaluator;
-import com.amazon.demanddriventrafficevaluator.repository.provider.configuration.ModelConfigurationProvider;
+import com.amazon.demanddriventrafficevaluator.evaluation.readiness.EvaluatorReadiness;
+import com.amazon.demanddriventrafficevaluator.repository.entity.ModelConfiguration;
+import com.amazon.demanddriventrafficevaluator.repository.provider.configuration.ConfigurationHolder;
 import com.amazon.demanddriventrafficevaluator.task.TaskInitializer;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -21,7 +23,11 @@ import software.amazon.awssdk.auth.credentials.AwsCredentialsProvider;
 import java.util.concurrent.ScheduledThreadPoolExecutor;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 @ExtendWith(MockitoExtension.class)
@@ -71,10 +77,62 @@ class BidRequestEvaluatorOnRuleBasedModelFactoryTest {
         assertTrue(evaluator instanceof BidRequestEvaluatorOnRuleBasedModel);
     }
 
+    @Test
+    void testGetReadiness_NotWarmedUp() {
+        EvaluatorReadiness readiness = factory.getReadiness();
+        assertFalse(readiness.isReady());
+        assertFalse(readiness.isWarmedUp());
+        assertNotNull(readiness.getModelReadinessByIdentifier());
+    }
+
+    @Test
+    void testWarmUpAndGetReadiness_Defaults() {
+        BidRequestEvaluatorFactory defaultFactory = new BidRequestEvaluatorFactory() {
+            @Override
+            public TaskInitializer getTaskInitializer() {
+                return mockTaskInitializer;
+            }
+
+            @Override
+            public BidRequestEvaluator getEvaluator() {
+                return null;
+            }
+        };
+
+        assertEquals(0L, defaultFactory.warmUp().getRequestCount());
+        EvaluatorReadiness readiness = defaultFactory.getReadiness();
+        assertTrue(readiness.isReady());
+        assertTrue(readiness.getModelReadinessByIdentifier().isEmpty());
+    }
+
+    @Test
+    void testProvideWarmUpEvaluator() {
+        BidRequestEvaluator evaluator = factory.provideWarmUpEvaluator();
+        assertNotNull(evaluator);
+        assertTrue(evaluator instanceof BidRequestEvaluatorOnRuleBasedModel);
+        assertNotSame(evaluator, factory.getEvaluator());
+    }
+
+    @Test
+    void testGetShadowEvaluationReport_Disabled() {
+        factory.getEvaluator();
+        assertFalse(factory.getShadowEvaluationReport().isPresent());
+    }
+
+    @Test
+    void testGetOverloadBypass_Disabled() {
+        assertFalse(factory.getOverloadBypass().isPresent());
+    }
+
+    @Test
+    void testReloadModelResults_NoTaskInitializer() {
+        assertThrows(IllegalStateException.class, factory::reloadModelResults);
+    }
+
     @Test
     void testProvideModelConfigurationProvider() {
-        ModelConfigurationProvider provider = factory.provideModelConfigurationProvider();
-        assertNotNull(provider);
+        ConfigurationHolder<ModelConfiguration> provider = factory.provideModelConfigurationProvider();
+        assertSame(ConfigurationHolderFactory.getInstance().getModelConfigurationHolder(), provider);
     }
 
     @Test
@@ -12,6 +12,7 @@ import com.amazon.demanddriventrafficevaluator.evaluation.evaluator.ModelEvaluat
 import com.amazon.demanddriventrafficevaluator.evaluation.evaluator.Response;
 import com.amazon.demanddriventrafficevaluator.evaluation.evaluator.RuleBasedModelEvaluator;
 import com.amazon.demanddriventrafficevaluator.evaluation.evaluator.Slot;
+import com.amazon.demanddriventrafficevaluator.factory.ConfigurationHolderFactory;
 import com.amazon.demanddriventrafficevaluator.factory.DefaultLocalCacheRegistryFactory;
 import com.amazon.demanddriventrafficevaluator.factory.ExperimentManagerFactory;
 import com.amazon.demanddriventrafficevaluator.factory.ExtractorRegistryFactory;
@@ -200,7 +201,8 @@ public class BidRequestEvaluatorOnRuleBasedModelTest extends BaseTestCase {
                 experimentConfigurationCacheDao,
                 CACHE_KEY_EXPERIMENT_CONFIGURATION,
                 ExperimentConfiguration.class,
-                mapper
+                mapper,
+                ConfigurationHolderFactory.getInstance().getExperimentConfigurationHolder()
         );
         ExperimentConfigurationLoader experimentConfigurationLoader = new ExperimentConfigurationLoader(
                 defaultConfigurationLoader,
@@ -0,0 +1,47 @@
+// Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+// SPDX-License-Identifier: Apache-2.0
+
+package com.amazon.demanddriventrafficevaluator.jfr;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class JfrEventsTest {
+
+    @Test
+    void testCallSuppressed() {
+        assertFalse(JfrEvents.isSuppressed());
+
+        String value = JfrEvents.callSuppressed(() -> {
+            assertTrue(JfrEvents.isSuppressed());
+            return "value";
+        });
+
+        assertEquals("value", value);
+        assertFalse(JfrEvents.isSuppressed());
+    }
+
+    @Test
+    void testCallSuppressed_Nested() {
+        JfrEvents.callSuppressed(() -> {
+            JfrEvents.callSuppressed(() -> null);
+            assertTrue(JfrEvents.isSuppressed());
+            return null;
+        });
+
+        assertFalse(JfrEvents.isSuppressed());
+    }
+
+    @Test
+    void testCallSuppressed_Throws() {
+        assertThrows(IllegalStateException.class, () -> JfrEvents.callSuppressed(() -> {
+            throw new IllegalStateException();
+        }));
+
+        assertFalse(JfrEvents.isSuppressed());
+    }
+}
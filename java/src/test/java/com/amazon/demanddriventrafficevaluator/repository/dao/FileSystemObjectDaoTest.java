@@ -0,0 +1,122 @@
+// Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+// SPDX-License-Identifier: Apache-2.0
+
+package com.amazon.demanddriventrafficevaluator.repository.dao;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Instant;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class FileSystemObjectDaoTest {
+
+    @TempDir
+    Path temporaryDirectory;
+
+    private Path rootDirectory;
+
+    private FileSystemObjectDao fileSystemObjectDao;
+
+    @BeforeEach
+    void setUp() {
+        rootDirectory = temporaryDirectory.resolve("root");
+        fileSystemObjectDao = new FileSystemObjectDao(rootDirectory);
+    }
+
+    @Test
+    void testGet_Success() throws IOException {
+        writeFile("testKey", "testContent");
+
+        // Act
+        Optional<InputStream> result = fileSystemObjectDao.get("testBucket", "testKey");
+
+        // Assert
+        assertTrue(result.isPresent());
+        assertInstanceOf(FileSystemObjectInputStream.class, result.get());
+        try (InputStream inputStream = result.get()) {
+            assertEquals("testContent", new String(inputStream.readAllBytes(), StandardCharsets.UTF_8));
+        }
+    }
+
+    @Test
+    void testGet_SameIdentifierForSameContent() throws IOException {
+        Path file = writeFile("testKey", "testContent");
+        String fileIdentifier = getFileIdentifier("testKey");
+        Files.setLastModifiedTime(file, FileTime.from(Instant.parse("2023-05-20T11:00:00Z")));
+
+        // Act
+        String touchedFileIdentifier = getFileIdentifier("testKey");
+
+        // Assert
+        assertEquals(fileIdentifier, touchedFileIdentifier);
+    }
+
+    @Test
+    void testGet_NewIdentifierForNewContent() throws IOException {
+        writeFile("testKey", "testContent");
+        String fileIdentifier = getFileIdentifier("testKey");
+        writeFile("testKey", "newTestContent");
+
+        // Act
+        String newFileIdentifier = getFileIdentifier("testKey");
+
+        // Assert
+        assertNotEquals(fileIdentifier, newFileIdentifier);
+    }
+
+    @Test
+    void testGet_NotFound() {
+        Optional<InputStream> result = fileSystemObjectDao.get("testBucket", "nonExistentKey");
+
+        assertFalse(result.isPresent());
+    }
+
+    @Test
+    void testGet_KeyOutsideRootDirectory() throws IOException {
+        Files.writeString(temporaryDirectory.resolve("outside"), "testContent");
+
+        Optional<InputStream> result = fileSystemObjectDao.get("testBucket", "../../outside");
+
+        assertFalse(result.isPresent());
+    }
+
+    @Test
+    void testPut_ThrowsUnsupportedOperationException() {
+        InputStream inputStream = new ByteArrayInputStream(new byte[0]);
+
+        assertThrows(UnsupportedOperationException.class, () -> fileSystemObjectDao.put("testBucket", "testKey", inputStream));
+    }
+
+    @Test
+    void testClear_ThrowsUnsupportedOperationException() {
+        assertThrows(UnsupportedOperationException.class, () -> fileSystemObjectDao.clear("testBucket"));
+    }
+
+    private Path writeFile(String key, String content) throws IOException {
+        Path file = rootDirectory.resolve("testBucket").resolve(key);
+        Files.createDirectories(file.getParent());
+        return Files.writeString(file, content);
+    }
+
+    private String getFileIdentifier(String key) throws IOException {
+        try (InputStream inputStream = fileSystemObjectDao.get("testBucket", key).orElseThrow()) {
+            return ((FileSystemObjectInputStream) inputStream).getFileIdentifier();
+        }
+    }
+}
@@ -0,0 +1,138 @@
+// Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+// SPDX-License-Identifier: Apache-2.0
+
+package com.amazon.demanddriventrafficevaluator.repository.dao;
+
+import com.amazon.demanddriventrafficevaluator.repository.store.ModelResultStore;
+import com.amazon.demanddriventrafficevaluator.repository.store.ModelResultStoreRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ModelResultStoreDaoTest {
+
+    @Mock
+    private Dao<String, Double> mockFallbackDao;
+
+    @Mock
+    private ModelResultStore mockStore;
+
+    private ModelResultStoreRegistry registry;
+    private ModelResultStoreDao dao;
+
+    @BeforeEach
+    void setUp() {
+        registry = new ModelResultStoreRegistry(new ConcurrentHashMap<>());
+        dao = new ModelResultStoreDao(registry, mockFallbackDao);
+    }
+
+    @Test
+    void testGet_FromStore() {
+        // Arrange
+        registry.register("model1", mockStore);
+        when(mockStore.tryAcquire()).thenReturn(true);
+        when(mockStore.contains("a|1")).thenReturn(true);
+        when(mockStore.getValue()).thenReturn(0.0);
+
+        // Act
+        Optional<Double> result = dao.get("model1", "a|1");
+
+        // Assert
+        assertEquals(Optional.of(0.0), result);
+        verify(mockStore).release();
+        verify(mockFallbackDao, never()).get(anyString(), anyString());
+    }
+
+    @Test
+    void testGet_MissInStore() {
+        // Arrange
+        registry.register("model1", mockStore);
+        when(mockStore.tryAcquire()).thenReturn(true);
+        when(mockStore.contains("b|2")).thenReturn(false);
+
+        // Act
+        Optional<Double> result = dao.get("model1", "b|2");
+
+        // Assert
+        assertTrue(result.isEmpty());
+        verify(mockFallbackDao, never()).get(anyString(), anyString());
+    }
+
+    @Test
+    void testGet_ReleasesStoreWhenLookupFails() {
+        // Arrange
+        registry.register("model1", mockStore);
+        when(mockStore.tryAcquire()).thenReturn(true);
+        when(mockStore.contains("a|1")).thenThrow(new IllegalStateException());
+
+        // Act & Assert
+        assertThrows(IllegalStateException.class, () -> dao.get("model1", "a|1"));
+        verify(mockStore).release();
+    }
+
+    @Test
+    void testGet_RetriesWhenStoreIsReleased() {
+        // Arrange
+        ModelResultStoreRegistry mockRegistry = mock(ModelResultStoreRegistry.class);
+        ModelResultStore releasedStore = mock(ModelResultStore.class);
+        when(mockRegistry.get("model1")).thenReturn(Optional.of(releasedStore)).thenReturn(Optional.of(mockStore));
+        when(releasedStore.tryAcquire()).thenReturn(false);
+        when(mockStore.tryAcquire()).thenReturn(true);
+        when(mockStore.contains("a|1")).thenReturn(true);
+        when(mockStore.getValue()).thenReturn(0.0);
+        dao = new ModelResultStoreDao(mockRegistry, mockFallbackDao);
+
+        // Act
+        Optional<Double> result = dao.get("model1", "a|1");
+
+        // Assert
+        assertEquals(Optional.of(0.0), result);
+        verify(releasedStore, never()).contains(anyString());
+        verify(releasedStore, never()).release();
+        verify(mockStore).release();
+    }
+
+    @Test
+    void testGet_FallbackWithoutStore() {
+        // Arrange
+        when(mockFallbackDao.get("model1", "a|1")).thenReturn(Optional.of(1.0));
+
+        // Act
+        Optional<Double> result = dao.get("model1", "a|1");
+
+        // Assert
+        assertEquals(Optional.of(1.0), result);
+    }
+
+    @Test
+    void testPut_Unsupported() {
+        assertThrows(UnsupportedOperationException.class, () -> dao.put("model1", "a|1", 0.0));
+    }
+
+    @Test
+    void testClear_DeregistersStore() {
+        // Arrange
+        registry.register("model1", mockStore);
+
+        // Act
+        dao.clear("model1");
+
+        // Assert
+        assertTrue(registry.get("model1").isEmpty());
+    }
+}
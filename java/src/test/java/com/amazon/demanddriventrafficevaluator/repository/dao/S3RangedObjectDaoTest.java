@@ -0,0 +1,189 @@
+// Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+// SPDX-License-Identifier: Apache-2.0
+
+package com.amazon.demanddriventrafficevaluator.repository.dao;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentMatchers;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import software.amazon.awssdk.core.ResponseBytes;
+import software.amazon.awssdk.core.ResponseInputStream;
+import software.amazon.awssdk.core.async.AsyncResponseTransformer;
+import software.amazon.awssdk.services.s3.S3AsyncClient;
+import software.amazon.awssdk.services.s3.model.GetObjectRequest;
+import software.amazon.awssdk.services.s3.model.GetObjectResponse;
+import software.amazon.awssdk.services.s3.model.NoSuchKeyException;
+import software.amazon.awssdk.services.s3.model.S3Exception;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.any;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class S3RangedObjectDaoTest {
+
+    private static final byte[] OBJECT = "line1\nline2\nline3\nline4\nline5\n".getBytes(StandardCharsets.UTF_8);
+
+    @Mock
+    private S3AsyncClient mockS3AsyncClient;
+
+    private final List<GetObjectRequest> requests = new CopyOnWriteArrayList<>();
+
+    private S3RangedObjectDao s3RangedObjectDao;
+
+    @BeforeEach
+    void setUp() {
+        s3RangedObjectDao = new S3RangedObjectDao(mockS3AsyncClient, 8, 2);
+    }
+
+    @Test
+    void testGet_SmallObject() throws IOException {
+        givenObject(OBJECT);
+        S3RangedObjectDao dao = new S3RangedObjectDao(mockS3AsyncClient, 1024, 2);
+
+        // Act
+        Optional<InputStream> result = dao.get("testBucket", "testKey");
+
+        // Assert
+        assertTrue(result.isPresent());
+        assertArrayEquals(OBJECT, readAndClose(result.get()));
+        assertEquals(1, requests.size());
+        assertEquals("bytes=0-1023", requests.get(0).range());
+    }
+
+    @Test
+    void testGet_LargeObjectInParts() throws IOException {
+        givenObject(OBJECT);
+
+        // Act
+        Optional<InputStream> result = s3RangedObjectDao.get("testBucket", "testKey");
+
+        // Assert
+        assertTrue(result.isPresent());
+        ResponseInputStream<?> responseInputStream = assertInstanceOf(ResponseInputStream.class, result.get());
+        GetObjectResponse response = (GetObjectResponse) responseInputStream.response();
+        assertEquals("testETag", response.eTag());
+        assertEquals(OBJECT.length, response.contentLength());
+        assertNull(response.contentRange());
+        // the first part and the parts in flight are requested before the stream is read
+        assertEquals(3, requests.size());
+        assertArrayEquals(OBJECT, readAndClose(result.get()));
+        assertEquals(4, requests.size());
+        assertEquals("bytes=0-7", requests.get(0).range());
+        assertNull(requests.get(0).ifMatch());
+        assertEquals("bytes=24-29", requests.get(3).range());
+        assertTrue(requests.stream().skip(1).allMatch(request -> "testETag".equals(request.ifMatch())));
+    }
+
+    @Test
+    void testGet_EmptyObject() throws IOException {
+        when(mockS3AsyncClient.getObject(any(GetObjectRequest.class), ArgumentMatchers.<AsyncResponseTransformer<GetObjectResponse, ResponseBytes<GetObjectResponse>>>any()))
+                .thenAnswer(invocation -> {
+                    GetObjectRequest request = invocation.getArgument(0);
+                    requests.add(request);
+                    if (request.range() != null) {
+                        return CompletableFuture.failedFuture(S3Exception.builder().statusCode(416).message("Test exception").build());
+                    }
+                    return CompletableFuture.completedFuture(ResponseBytes.fromByteArray(
+                            GetObjectResponse.builder().eTag("testETag").build(), new byte[0]));
+                });
+
+        // Act
+        Optional<InputStream> result = s3RangedObjectDao.get("testBucket", "testKey");
+
+        // Assert
+        assertTrue(result.isPresent());
+        assertEquals(0, readAndClose(result.get()).length);
+        assertEquals(2, requests.size());
+    }
+
+    @Test
+    void testGet_NotFound() {
+        when(mockS3AsyncClient.getObject(any(GetObjectRequest.class), ArgumentMatchers.<AsyncResponseTransformer<GetObjectResponse, ResponseBytes<GetObjectResponse>>>any()))
+                .thenReturn(CompletableFuture.failedFuture(NoSuchKeyException.builder().message("Test exception").build()));
+
+        Optional<InputStream> result = s3RangedObjectDao.get("testBucket", "nonExistentKey");
+
+        assertFalse(result.isPresent());
+    }
+
+    @Test
+    void testGet_PartFails() {
+        when(mockS3AsyncClient.getObject(any(GetObjectRequest.class), ArgumentMatchers.<AsyncResponseTransformer<GetObjectResponse, ResponseBytes<GetObjectResponse>>>any()))
+                .thenAnswer(invocation -> {
+                    GetObjectRequest request = invocation.getArgument(0);
+                    if (request.range().startsWith("bytes=0-")) {
+                        return CompletableFuture.completedFuture(getPart(OBJECT, request.range()));
+                    }
+                    // the object was replaced since the first part was fetched
+                    return CompletableFuture.failedFuture(S3Exception.builder().statusCode(412).message("Test exception").build());
+                });
+
+        // Act
+        InputStream inputStream = s3RangedObjectDao.get("testBucket", "testKey").orElseThrow();
+
+        // Assert
+        assertThrows(IOException.class, inputStream::readAllBytes);
+    }
+
+    @Test
+    void testConstructor_InvalidArguments() {
+        assertThrows(IllegalArgumentException.class, () -> new S3RangedObjectDao(mockS3AsyncClient, 0, 2));
+        assertThrows(IllegalArgumentException.class, () -> new S3RangedObjectDao(mockS3AsyncClient, 8, 0));
+    }
+
+    @Test
+    void testPut_ThrowsUnsupportedOperationException() {
+        assertThrows(UnsupportedOperationException.class, () -> s3RangedObjectDao.put("testBucket", "testKey", InputStream.nullInputStream()));
+    }
+
+    @Test
+    void testClear_ThrowsUnsupportedOperationException() {
+        assertThrows(UnsupportedOperationException.class, () -> s3RangedObjectDao.clear("testBucket"));
+    }
+
+    private void givenObject(byte[] object) {
+        when(mockS3AsyncClient.getObject(any(GetObjectRequest.class), ArgumentMatchers.<AsyncResponseTransformer<GetObjectResponse, ResponseBytes<GetObjectResponse>>>any()))
+                .thenAnswer(invocation -> {
+                    GetObjectRequest request = invocation.getArgument(0);
+                    requests.add(request);
+                    return CompletableFuture.completedFuture(getPart(object, request.range()));
+                });
+    }
+
+    private static ResponseBytes<GetObjectResponse> getPart(byte[] object, String range) {
+        String[] bounds = range.substring("bytes=".length()).split("-");
+        int start = Integer.parseInt(bounds[0]);
+        int end = Math.min(Integer.parseInt(bounds[1]), object.length - 1);
+        GetObjectResponse response = GetObjectResponse.builder()
+                .eTag("testETag")
+                .contentLength((long) (end - start + 1))
+                .contentRange("bytes " + start + "-" + end + "/" + object.length)
+                .build();
+        return ResponseBytes.fromByteArray(response, Arrays.copyOfRange(object, start, end + 1));
+    }
+
+    private static byte[] readAndClose(InputStream inputStream) throws IOException {
+        try (inputStream) {
+            return inputStream.readAllBytes();
+        }
+    }
+}
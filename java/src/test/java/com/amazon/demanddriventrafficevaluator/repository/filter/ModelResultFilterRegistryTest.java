@@ -0,0 +1,66 @@
+// Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+// SPDX-License-Identifier: Apache-2.0
+
+package com.amazon.demanddriventrafficevaluator.repository.filter;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ModelResultFilterRegistryTest {
+
+    private ModelResultFilterRegistry registry;
+
+    @BeforeEach
+    void setUp() {
+        registry = new ModelResultFilterRegistry(new ConcurrentHashMap<>());
+    }
+
+    @Test
+    void testGet_NotRegistered() {
+        assertTrue(registry.get("model1").isEmpty());
+    }
+
+    @Test
+    void testRegisterAndGet() {
+        // Arrange
+        ModelResultFilter filter = ModelResultFilter.builder(0.01).put("key").build();
+
+        // Act
+        registry.register("model1", filter);
+
+        // Assert
+        assertSame(filter, registry.get("model1").get());
+        assertTrue(registry.get("model2").isEmpty());
+    }
+
+    @Test
+    void testRegister_ReplacesExisting() {
+        // Arrange
+        ModelResultFilter oldFilter = ModelResultFilter.builder(0.01).put("old").build();
+        ModelResultFilter newFilter = ModelResultFilter.builder(0.01).put("new").build();
+        registry.register("model1", oldFilter);
+
+        // Act
+        registry.register("model1", newFilter);
+
+        // Assert
+        assertSame(newFilter, registry.get("model1").get());
+    }
+
+    @Test
+    void testDeregister() {
+        // Arrange
+        registry.register("model1", ModelResultFilter.builder(0.01).put("key").build());
+
+        // Act
+        registry.deregister("model1");
+
+        // Assert
+        assertTrue(registry.get("model1").isEmpty());
+    }
+}
@@ -0,0 +1,109 @@
+// Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+// SPDX-License-Identifier: Apache-2.0
+
+package com.amazon.demanddriventrafficevaluator.repository.filter;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ModelResultFilterTest {
+
+    private static final int KEY_COUNT = 50000;
+
+    @Test
+    void testMightContain_NoFalseNegatives() {
+        // Arrange
+        ModelResultFilter.Builder builder = ModelResultFilter.builder(0.01);
+        for (int i = 0; i < KEY_COUNT; i++) {
+            builder.put("site|video|" + i + "|USA");
+        }
+
+        // Act
+        ModelResultFilter filter = builder.build();
+
+        // Assert
+        assertEquals(KEY_COUNT, filter.getEntryCount());
+        for (int i = 0; i < KEY_COUNT; i++) {
+            assertTrue(filter.mightContain("site|video|" + i + "|USA"));
+        }
+    }
+
+    @Test
+    void testMightContain_FalsePositiveRateCloseToTarget() {
+        // Arrange
+        ModelResultFilter.Builder builder = ModelResultFilter.builder(0.01);
+        for (int i = 0; i < KEY_COUNT; i++) {
+            builder.put("site|video|" + i + "|USA");
+        }
+        ModelResultFilter filter = builder.build();
+
+        // Act
+        int falsePositives = 0;
+        for (int i = 0; i < KEY_COUNT; i++) {
+            if (filter.mightContain("app|banner|" + i + "|CAN")) {
+                falsePositives++;
+            }
+        }
+
+        // Assert
+        double observedFalsePositiveRate = (double) falsePositives / KEY_COUNT;
+        assertTrue(observedFalsePositiveRate < 0.02);
+        assertTrue(filter.getMeasuredFalsePositiveRate() < 0.02);
+        assertEquals(0.01, filter.getExpectedFalsePositiveRate());
+    }
+
+    @Test
+    void testMemoryFootprint_ScalesWithEntries() {
+        // Arrange
+        ModelResultFilter.Builder smallBuilder = ModelResultFilter.builder(0.01);
+        ModelResultFilter.Builder largeBuilder = ModelResultFilter.builder(0.01);
+        for (int i = 0; i < KEY_COUNT; i++) {
+            largeBuilder.put("key" + i);
+            if (i < KEY_COUNT / 10) {
+                smallBuilder.put("key" + i);
+            }
+        }
+
+        // Act
+        ModelResultFilter smallFilter = smallBuilder.build();
+        ModelResultFilter largeFilter = largeBuilder.build();
+
+        // Assert
+        assertTrue(largeFilter.getMemoryFootprintBytes() > smallFilter.getMemoryFootprintBytes());
+        // about 9.6 bits per key at a 1% false-positive rate
+        assertTrue(largeFilter.getMemoryFootprintBytes() < KEY_COUNT * 2L);
+    }
+
+    @Test
+    void testEmptyFilter() {
+        // Act
+        ModelResultFilter filter = ModelResultFilter.builder(0.01).build();
+
+        // Assert
+        assertEquals(0, filter.getEntryCount());
+        assertEquals(0.0, filter.getMeasuredFalsePositiveRate());
+        assertFalse(filter.mightContain("anything"));
+        assertEquals(64, filter.getMemoryFootprintBytes());
+    }
+
+    @Test
+    void testMightContainHash_MatchesMightContain() {
+        // Arrange
+        ModelResultFilter filter = ModelResultFilter.builder(0.01).put("a|b|c").build();
+
+        // Act & Assert
+        assertTrue(filter.mightContainHash(ModelResultFilter.hash("a|b|c")));
+        assertEquals(filter.mightContain("x|y|z"), filter.mightContainHash(ModelResultFilter.hash("x|y|z")));
+    }
+
+    @Test
+    void testBuilder_InvalidFalsePositiveRate() {
+        assertThrows(IllegalArgumentException.class, () -> ModelResultFilter.builder(0.0));
+        assertThrows(IllegalArgumentException.class, () -> ModelResultFilter.builder(1.0));
+        assertThrows(IllegalArgumentException.class, () -> ModelResultFilter.builder(Double.NaN));
+    }
+}
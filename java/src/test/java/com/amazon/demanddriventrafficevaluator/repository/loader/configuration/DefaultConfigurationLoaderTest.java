@@ -6,6 +6,7 @@ package com.amazon.demanddriventrafficevaluator.repository.loader.configuration;
 import com.amazon.demanddriventrafficevaluator.repository.dao.Dao;
 import com.amazon.demanddriventrafficevaluator.repository.dao.LocalCacheDao;
 import com.amazon.demanddriventrafficevaluator.repository.entity.ModelConfiguration;
+import com.amazon.demanddriventrafficevaluator.repository.provider.configuration.ConfigurationHolder;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -24,6 +25,7 @@ import java.util.Optional;
 import static com.amazon.demanddriventrafficevaluator.repository.dao.LocalCacheDao.CACHE_IDENTIFIER_CONFIGURATION;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.Mockito.any;
@@ -84,6 +86,37 @@ class DefaultConfigurationLoaderTest {
         verify(mockFileIdentifierCacheDao).put("model-results-identifier", "testConfigKey", "eTag");
     }
 
+    @Test
+    void testLoad_PublishesToHolder() throws IOException {
+        // Arrange
+        ConfigurationHolder<ModelConfiguration> holder = new ConfigurationHolder<>("Model Configuration");
+        loader = new DefaultConfigurationLoader<>(
+                mockFileIdentifierCacheDao,
+                mockFileDao,
+                mockConfigurationCacheDao,
+                CONFIG_CACHE_KEY,
+                ModelConfiguration.class,
+                mockMapper,
+                holder
+        );
+        ConfigurationLoaderInput input = new ConfigurationLoaderInput("testBucket", "testKey", "testVendor", "testType");
+        String s3ObjectKey = "testVendor/configuration/testType/config.json";
+
+        when(mockFileDao.get("testBucket", s3ObjectKey)).thenReturn(Optional.of(mockResponseInputStream));
+        when(mockResponseInputStream.response()).thenReturn(GetObjectResponse.builder().eTag("eTag").build());
+        when(mockMapper.readValue(mockResponseInputStream, ModelConfiguration.class)).thenReturn(mockModelConfiguration);
+        when(mockFileIdentifierCacheDao.get(anyString(), anyString())).thenReturn(Optional.empty());
+
+        // Act
+        boolean result = loader.load(input);
+
+        // Assert
+        assertTrue(result);
+        assertSame(mockModelConfiguration, holder.provide());
+        assertEquals(1L, holder.getVersion());
+        verify(mockConfigurationCacheDao).put(CACHE_IDENTIFIER_CONFIGURATION, CONFIG_CACHE_KEY, mockModelConfiguration);
+    }
+
     @Test
     void testLoad_Successful() throws IOException {
         // Arrange
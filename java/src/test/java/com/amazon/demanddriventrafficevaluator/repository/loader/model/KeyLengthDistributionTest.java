@@ -0,0 +1,70 @@
+// Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+// SPDX-License-Identifier: Apache-2.0
+
+package com.amazon.demanddriventrafficevaluator.repository.loader.model;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class KeyLengthDistributionTest {
+
+    @Test
+    void testBuild() {
+        // Arrange
+        KeyLengthDistribution.Recorder recorder = KeyLengthDistribution.recorder();
+        for (int length = 1; length <= 100; length++) {
+            recorder.record(length);
+        }
+
+        // Act
+        KeyLengthDistribution distribution = recorder.build();
+
+        // Assert
+        assertEquals(100, distribution.getCount());
+        assertEquals(5050, distribution.getTotalLength());
+        assertEquals(1, distribution.getMinLength());
+        assertEquals(100, distribution.getMaxLength());
+        assertEquals(50.5, distribution.getMean());
+        assertEquals(1, distribution.getPercentile(0.0));
+        assertEquals(50, distribution.getPercentile(50.0));
+        assertEquals(99, distribution.getPercentile(99.0));
+        assertEquals(100, distribution.getPercentile(100.0));
+    }
+
+    @Test
+    void testBuild_LongKeys() {
+        // Arrange
+        KeyLengthDistribution.Recorder recorder = KeyLengthDistribution.recorder();
+        recorder.record(10);
+        recorder.record(KeyLengthDistribution.MAX_TRACKED_LENGTH + 10);
+        recorder.record(KeyLengthDistribution.MAX_TRACKED_LENGTH + 20);
+
+        // Act
+        KeyLengthDistribution distribution = recorder.build();
+
+        // Assert
+        assertEquals(10, distribution.getPercentile(10.0));
+        assertEquals(KeyLengthDistribution.MAX_TRACKED_LENGTH + 20, distribution.getPercentile(50.0));
+        assertEquals(KeyLengthDistribution.MAX_TRACKED_LENGTH + 20, distribution.getMaxLength());
+    }
+
+    @Test
+    void testBuild_Empty() {
+        // Act
+        KeyLengthDistribution distribution = KeyLengthDistribution.recorder().build();
+
+        // Assert
+        assertEquals(0, distribution.getCount());
+        assertEquals(0, distribution.getMinLength());
+        assertEquals(0.0, distribution.getMean());
+        assertEquals(0, distribution.getPercentile(99.0));
+    }
+
+    @Test
+    void testGetPercentile_Invalid() {
+        KeyLengthDistribution distribution = KeyLengthDistribution.recorder().build();
+        assertThrows(IllegalArgumentException.class, () -> distribution.getPercentile(100.1));
+    }
+}
@@ -0,0 +1,157 @@
+// Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+// SPDX-License-Identifier: Apache-2.0
+
+package com.amazon.demanddriventrafficevaluator.repository.loader.model;
+
+import com.amazon.demanddriventrafficevaluator.repository.localcache.LocalCacheRegistry;
+import com.amazon.demanddriventrafficevaluator.repository.localcache.builder.LocalCacheBuilderConfig;
+import com.amazon.demanddriventrafficevaluator.repository.store.ModelResultStore;
+import com.amazon.demanddriventrafficevaluator.repository.store.ModelResultStoreRegistry;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ModelMemoryFootprintReporterTest {
+
+    @Mock
+    private RuleBasedModelResultLoader mockModelResultLoader;
+    @Mock
+    private LocalCacheRegistry mockLocalCacheRegistry;
+    @Mock
+    private ModelResultStoreRegistry mockModelResultStoreRegistry;
+    @Mock
+    private ModelResultStore mockStore;
+
+    private ModelMemoryFootprintReporter reporter;
+
+    @BeforeEach
+    void setUp() {
+        reporter = new ModelMemoryFootprintReporter(mockModelResultLoader, mockLocalCacheRegistry, mockModelResultStoreRegistry);
+    }
+
+    @Test
+    void testGetMemoryFootprint_Store() {
+        // Arrange
+        KeyLengthDistribution.Recorder keyLengths = KeyLengthDistribution.recorder();
+        keyLengths.record(7);
+        KeyLengthDistribution keyLengthDistribution = keyLengths.build();
+        ModelMemoryProjection projection = ModelMemoryProjection.builder().modelIdentifier("testModel").projectedBytes(100L).build();
+        stubStatus("testModel", keyLengthDistribution);
+        when(mockModelResultLoader.getMemoryProjection("testModel")).thenReturn(Optional.of(projection));
+        when(mockModelResultStoreRegistry.get("testModel")).thenReturn(Optional.of(mockStore));
+        when(mockStore.getEntryCount()).thenReturn(1000L);
+        when(mockStore.getMemoryFootprintBytes()).thenReturn(64000L);
+
+        // Act
+        ModelMemoryFootprint footprint = reporter.getMemoryFootprint("testModel").get();
+
+        // Assert
+        assertEquals("testModel", footprint.getModelIdentifier());
+        assertEquals("eTag", footprint.getVersion());
+        assertEquals("testVendor/2023-05-20/10/testModel.csv", footprint.getObjectKey());
+        assertEquals(1234L, footprint.getLoadedAtMs());
+        assertEquals(1000L, footprint.getEntryCount());
+        assertEquals(64000L, footprint.getRetainedBytes());
+        assertEquals(0L, footprint.getSampledEntryCount());
+        assertSame(keyLengthDistribution, footprint.getKeyLengthDistribution());
+        assertSame(projection, footprint.getLastProjection());
+    }
+
+    @Test
+    void testGetMemoryFootprint_SampledCache() throws Exception {
+        // Arrange
+        Cache<String, Double> cache = CacheBuilder.newBuilder().build();
+        cache.put("key1", 1.0);
+        cache.put("key2", 1.0);
+        cache.put("key3", 1.0);
+        cache.put("key4", 1.0);
+        stubStatus("testModel", null);
+        when(mockModelResultLoader.getMemoryProjection("testModel")).thenReturn(Optional.empty());
+        when(mockModelResultStoreRegistry.get("testModel")).thenReturn(Optional.empty());
+        when(mockLocalCacheRegistry.getCacheConfig("testModel")).thenReturn(Optional.of(
+                LocalCacheBuilderConfig.builder().cacheName("testModel").populateByteSizeSampleRate(2).build()));
+        when(mockLocalCacheRegistry.getCache("testModel")).thenReturn(cache);
+
+        // Act
+        ModelMemoryFootprint footprint = reporter.getMemoryFootprint("testModel").get();
+
+        // Assert
+        assertEquals(4L, footprint.getEntryCount());
+        assertEquals(2L, footprint.getSampledEntryCount());
+        assertEquals(4 * ModelMemoryFootprintReporter.estimateCacheEntryBytes("key1"), footprint.getRetainedBytes());
+        assertNull(footprint.getLastProjection());
+    }
+
+    @Test
+    void testGetMemoryFootprint_UnsampledCache() throws Exception {
+        // Arrange
+        Cache<String, Double> cache = CacheBuilder.newBuilder().build();
+        cache.put("key1", 1.0);
+        cache.put("key2", 1.0);
+        KeyLengthDistribution.Recorder keyLengths = KeyLengthDistribution.recorder();
+        keyLengths.record(4);
+        keyLengths.record(4);
+        stubStatus("testModel", keyLengths.build());
+        when(mockModelResultLoader.getMemoryProjection("testModel")).thenReturn(Optional.empty());
+        when(mockModelResultStoreRegistry.get("testModel")).thenReturn(Optional.empty());
+        when(mockLocalCacheRegistry.getCacheConfig("testModel")).thenReturn(Optional.of(
+                LocalCacheBuilderConfig.builder().cacheName("testModel").build()));
+        when(mockLocalCacheRegistry.getCache("testModel")).thenReturn(cache);
+
+        // Act
+        ModelMemoryFootprint footprint = reporter.getMemoryFootprint("testModel").get();
+
+        // Assert
+        assertEquals(2L, footprint.getEntryCount());
+        assertEquals(0L, footprint.getSampledEntryCount());
+        assertEquals(Math.round(2 * ModelMemoryFootprintReporter.estimateCacheEntryBytes(4.0)), footprint.getRetainedBytes());
+    }
+
+    @Test
+    void testGetMemoryFootprints_SkipsModelsWithoutModelResults() {
+        // Arrange
+        when(mockModelResultLoader.getModelResultStatus("missingModel")).thenReturn(Optional.empty());
+
+        // Act
+        List<ModelMemoryFootprint> footprints = reporter.getMemoryFootprints(List.of("missingModel"));
+
+        // Assert
+        assertTrue(footprints.isEmpty());
+    }
+
+    @Test
+    void testEstimateCacheEntryBytes() {
+        long overheadBytes = ModelMemoryFootprintReporter.CACHE_ENTRY_OVERHEAD_BYTES + ModelMemoryFootprintReporter.STRING_OVERHEAD_BYTES
+                + ModelMemoryFootprintReporter.DOUBLE_BYTES;
+        // the array of an 8-character Latin-1 key takes 24 bytes, and 32 bytes with UTF-16 characters
+        assertEquals(overheadBytes + 24L, ModelMemoryFootprintReporter.estimateCacheEntryBytes("12345678"));
+        assertEquals(overheadBytes + 32L, ModelMemoryFootprintReporter.estimateCacheEntryBytes("1234567\u20ac"));
+    }
+
+    private void stubStatus(String modelIdentifier, KeyLengthDistribution keyLengthDistribution) {
+        when(mockModelResultLoader.getModelResultStatus(modelIdentifier)).thenReturn(Optional.of(ModelResultStatus.builder()
+                .modelIdentifier(modelIdentifier)
+                .objectKey("testVendor/2023-05-20/10/" + modelIdentifier + ".csv")
+                .version("eTag")
+                .loadedAtMs(1234L)
+                .build()));
+        when(mockModelResultLoader.getLoadStatistics(modelIdentifier)).thenReturn(Optional.of(ModelResultLoadStatistics.builder()
+                .fileIdentifier("eTag")
+                .keyLengthDistribution(keyLengthDistribution)
+                .build()));
+    }
+}
@@ -0,0 +1,119 @@
+// Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+// SPDX-License-Identifier: Apache-2.0
+
+package com.amazon.demanddriventrafficevaluator.repository.loader.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.InterruptedIOException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ModelResultLoadThrottleTest {
+
+    @Test
+    void testOnRow_Unthrottled() throws InterruptedIOException {
+        // Arrange
+        ModelResultLoadThrottle throttle = new ModelResultLoadThrottle(ModelResultLoadThrottle.UNLIMITED_ROWS_PER_SECOND,
+                null, ModelResultLoadThrottle.NO_PAUSE_LATENCY_THRESHOLD, 0L);
+        ModelResultLoadThrottle.Pacer pacer = throttle.newPacer();
+
+        // Act
+        for (int i = 0; i < 10 * ModelResultLoadThrottle.ROWS_PER_BATCH; i++) {
+            pacer.onRow();
+        }
+
+        // Assert
+        assertEquals(10L * ModelResultLoadThrottle.ROWS_PER_BATCH, pacer.getRowCount());
+        assertEquals(0L, throttle.getPauseCount());
+    }
+
+    @Test
+    void testOnRow_LimitsRowsPerSecond() throws InterruptedIOException {
+        // Arrange
+        ModelResultLoadThrottle throttle = new ModelResultLoadThrottle(2L * ModelResultLoadThrottle.ROWS_PER_BATCH,
+                null, ModelResultLoadThrottle.NO_PAUSE_LATENCY_THRESHOLD, 0L);
+        ModelResultLoadThrottle.Pacer pacer = throttle.newPacer();
+        long startNanos = System.nanoTime();
+
+        // Act
+        for (int i = 0; i < 3 * ModelResultLoadThrottle.ROWS_PER_BATCH; i++) {
+            pacer.onRow();
+        }
+
+        // Assert: the first batch is granted at once, the next two wait half a second each
+        assertTrue(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos) >= 900L);
+        assertTrue(pacer.getThrottledDurationMs() >= 900L);
+        assertEquals(pacer.getThrottledDurationMs(), throttle.getThrottledDurationMs());
+    }
+
+    @Test
+    void testOnRow_PausesWhileRequestLatencyIsHigh() throws InterruptedIOException {
+        // Arrange
+        AtomicInteger latencyReads = new AtomicInteger();
+        ModelResultLoadThrottle throttle = new ModelResultLoadThrottle(ModelResultLoadThrottle.UNLIMITED_ROWS_PER_SECOND,
+                () -> latencyReads.incrementAndGet() <= 3 ? 2000000L : 500000L, 1000000L, TimeUnit.SECONDS.toNanos(10L));
+        ModelResultLoadThrottle.Pacer pacer = throttle.newPacer();
+
+        // Act
+        for (int i = 0; i < ModelResultLoadThrottle.ROWS_PER_BATCH; i++) {
+            pacer.onRow();
+        }
+
+        // Assert
+        assertEquals(1L, throttle.getPauseCount());
+        assertEquals(4, latencyReads.get());
+        assertTrue(pacer.getThrottledDurationMs() >= 20L);
+        assertTrue(pacer.getThrottledDurationMs() < 10000L);
+    }
+
+    @Test
+    void testOnRow_PauseIsBounded() throws InterruptedIOException {
+        // Arrange
+        ModelResultLoadThrottle throttle = new ModelResultLoadThrottle(ModelResultLoadThrottle.UNLIMITED_ROWS_PER_SECOND,
+                () -> 2000000L, 1000000L, TimeUnit.MILLISECONDS.toNanos(50L));
+        ModelResultLoadThrottle.Pacer pacer = throttle.newPacer();
+
+        // Act
+        for (int i = 0; i < 2 * ModelResultLoadThrottle.ROWS_PER_BATCH; i++) {
+            pacer.onRow();
+        }
+
+        // Assert
+        assertEquals(2L * ModelResultLoadThrottle.ROWS_PER_BATCH, pacer.getRowCount());
+        assertEquals(2L, throttle.getPauseCount());
+        assertTrue(pacer.getThrottledDurationMs() >= 100L);
+    }
+
+    @Test
+    void testOnRow_InterruptedWhilePaused() {
+        // Arrange
+        ModelResultLoadThrottle throttle = new ModelResultLoadThrottle(ModelResultLoadThrottle.UNLIMITED_ROWS_PER_SECOND,
+                () -> 2000000L, 1000000L, TimeUnit.SECONDS.toNanos(10L));
+        ModelResultLoadThrottle.Pacer pacer = throttle.newPacer();
+        Thread.currentThread().interrupt();
+
+        // Act & Assert
+        try {
+            assertThrows(InterruptedIOException.class, () -> {
+                for (int i = 0; i < ModelResultLoadThrottle.ROWS_PER_BATCH; i++) {
+                    pacer.onRow();
+                }
+            });
+            assertTrue(Thread.currentThread().isInterrupted());
+        } finally {
+            Thread.interrupted();
+        }
+    }
+
+    @Test
+    void testConstructor_InvalidArguments() {
+        assertThrows(IllegalArgumentException.class, () -> new ModelResultLoadThrottle(-1L, null, 0L, 0L));
+        assertThrows(IllegalArgumentException.class, () -> new ModelResultLoadThrottle(0L, null, -1L, 0L));
+        assertThrows(IllegalArgumentException.class, () -> new ModelResultLoadThrottle(0L, null, 0L, -1L));
+    }
+}
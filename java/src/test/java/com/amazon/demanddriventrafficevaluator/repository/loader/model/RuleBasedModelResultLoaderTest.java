@@ -7,11 +7,20 @@ import com.amazon.demanddriventrafficevaluator.factory.DefaultLocalCacheRegistry
 import com.amazon.demanddriventrafficevaluator.repository.dao.Dao;
 import com.amazon.demanddriventrafficevaluator.repository.dao.LocalCacheDao;
 import com.amazon.demanddriventrafficevaluator.repository.entity.ModelValueType;
+import com.amazon.demanddriventrafficevaluator.repository.filter.ModelResultFilter;
+import com.amazon.demanddriventrafficevaluator.repository.filter.ModelResultFilterRegistry;
+import com.amazon.demanddriventrafficevaluator.repository.store.ModelResultStore;
+import com.amazon.demanddriventrafficevaluator.repository.store.ModelResultStoreBuilder;
+import com.amazon.demanddriventrafficevaluator.repository.store.ModelResultStoreFactory;
+import com.amazon.demanddriventrafficevaluator.repository.store.ModelResultStoreRegistry;
+import com.amazon.demanddriventrafficevaluator.repository.store.OffHeapModelResultStoreFactory;
+import com.amazon.demanddriventrafficevaluator.repository.store.PerfectHashModelResultStoreFactory;
+import com.amazon.demanddriventrafficevaluator.repository.store.PublishedModelResultStore;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
 import org.mockito.Mock;
-import org.mockito.MockedStatic;
 import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import software.amazon.awssdk.core.ResponseInputStream;
@@ -21,11 +30,18 @@ import java.io.BufferedReader;
 import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.SequenceInputStream;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
 import java.time.Clock;
 import java.time.Instant;
 import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
@@ -35,9 +51,10 @@ import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.Mockito.any;
 import static org.mockito.Mockito.anyDouble;
 import static org.mockito.Mockito.anyString;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.eq;
 import static org.mockito.Mockito.mock;
-import static org.mockito.Mockito.mockStatic;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
@@ -52,12 +69,43 @@ class RuleBasedModelResultLoaderTest {
     private Dao<String, Double> spyModelResultsCacheDao = new LocalCacheDao<>(DefaultLocalCacheRegistryFactory.getInstance().getDefaultLocalCacheRegistrySingleton());
     @Mock
     private Dao<String, InputStream> mockFileDao;
+    @Mock
+    private ResponseInputStream<GetObjectResponse> mockObjectResponseInputStream;
 
+    private final TestClock clock = new TestClock();
     private RuleBasedModelResultLoader loader;
 
     @BeforeEach
     void setUp() {
-        loader = new RuleBasedModelResultLoader(mockFileIdentifierCacheDao, spyModelResultsCacheDao, mockFileDao);
+        loader = new RuleBasedModelResultLoader(
+                mockFileIdentifierCacheDao,
+                spyModelResultsCacheDao,
+                mockFileDao,
+                RuleBasedModelResultLoaderOptions.builder()
+                        .clock(clock)
+                        .build()
+        );
+    }
+
+    @Test
+    void testIsInterruptible() {
+        ModelResultLoaderInput input = new ModelResultLoaderInput("testBucket", "testKey", "testVendor", "testModel", ModelValueType.LowValue);
+
+        // the model results are cached in place
+        assertFalse(loader.isInterruptible(input));
+
+        // the model results are added to a store built off to the side
+        loader = new RuleBasedModelResultLoader(
+                mockFileIdentifierCacheDao,
+                spyModelResultsCacheDao,
+                mockFileDao,
+                RuleBasedModelResultLoaderOptions.builder()
+                        .modelResultStoreRegistry(new ModelResultStoreRegistry(new ConcurrentHashMap<>()))
+                        .modelResultStoreFactory(mock(ModelResultStoreFactory.class))
+                        .clock(clock)
+                        .build()
+        );
+        assertTrue(loader.isInterruptible(input));
     }
 
     @Test
@@ -68,28 +116,24 @@ class RuleBasedModelResultLoaderTest {
         String modelResult1 = "result1";
         String modelResult2 = "result2";
         InputStream mockInputStream = new ByteArrayInputStream((modelResult1 + "\n" + modelResult2).getBytes(StandardCharsets.UTF_8));
+        clock.setInstant(Instant.parse("2023-05-20T10:15:30Z"));
+        InputStream mockResponseInputStream = new ResponseInputStream<>(GetObjectResponse.builder().eTag("eTag").build(), mockInputStream);
+        when(mockFileDao.get("testBucket", fileKey)).thenReturn(Optional.of(mockResponseInputStream));
+        when(mockFileIdentifierCacheDao.get(anyString(), anyString())).thenReturn(Optional.empty());
 
-        Clock fixedClock = Clock.fixed(Instant.parse("2023-05-20T10:15:30Z"), ZoneId.of("UTC"));
-        try (MockedStatic<Instant> mockedInstant = mockStatic(Instant.class)) {
-            mockedInstant.when(Instant::now).thenReturn(fixedClock.instant());
-            InputStream mockResponseInputStream = new ResponseInputStream<>(GetObjectResponse.builder().eTag("eTag").build(), mockInputStream);
-            when(mockFileDao.get("testBucket", fileKey)).thenReturn(Optional.of(mockResponseInputStream));
-            when(mockFileIdentifierCacheDao.get(anyString(), anyString())).thenReturn(Optional.empty());
-
-            // Act
-            boolean result = loader.load(input);
-
-            // Assert
-            assertTrue(result);
-            verify(spyModelResultsCacheDao).clear("testModel");
-            verify(spyModelResultsCacheDao).put("testModel", modelResult1, 0.0);
-            verify(spyModelResultsCacheDao).put("testModel", modelResult2, 0.0);
-            assertEquals(2, loader.putItemCounter);
-            assertEquals(modelResult1.length() + modelResult2.length(), loader.putItemTotalSize);
-            assertTrue(spyModelResultsCacheDao.get("testModel", modelResult1).isPresent());
-            assertTrue(spyModelResultsCacheDao.get("testModel", modelResult2).isPresent());
-            verify(mockFileIdentifierCacheDao).put("model-results-identifier", "testModel", "eTag");
-        }
+        // Act
+        boolean result = loader.load(input);
+
+        // Assert
+        assertTrue(result);
+        verify(spyModelResultsCacheDao).clear("testModel");
+        verify(spyModelResultsCacheDao).put("testModel", modelResult1, 0.0);
+        verify(spyModelResultsCacheDao).put("testModel", modelResult2, 0.0);
+        assertEquals(2, loader.getLoadStatistics("testModel").get().getItemCount());
+        assertEquals(modelResult1.length() + modelResult2.length(), loader.getLoadStatistics("testModel").get().getItemTotalSize());
+        assertTrue(spyModelResultsCacheDao.get("testModel", modelResult1).isPresent());
+        assertTrue(spyModelResultsCacheDao.get("testModel", modelResult2).isPresent());
+        verify(mockFileIdentifierCacheDao).put("model-results-identifier", "testModel", "eTag");
     }
 
     @Test
@@ -100,28 +144,24 @@ class RuleBasedModelResultLoaderTest {
         String modelResult1 = "result1";
         String modelResult2 = "result2";
         InputStream mockInputStream = new ByteArrayInputStream((modelResult1 + "\n" + modelResult2).getBytes(StandardCharsets.UTF_8));
+        clock.setInstant(Instant.parse("2023-05-20T10:15:30Z"));
+        InputStream mockResponseInputStream = new ResponseInputStream<>(GetObjectResponse.builder().eTag("eTag").build(), mockInputStream);
+        when(mockFileDao.get("testBucket", fileKey)).thenReturn(Optional.of(mockResponseInputStream));
+        when(mockFileIdentifierCacheDao.get(anyString(), anyString())).thenReturn(Optional.empty());
 
-        Clock fixedClock = Clock.fixed(Instant.parse("2023-05-20T10:15:30Z"), ZoneId.of("UTC"));
-        try (MockedStatic<Instant> mockedInstant = mockStatic(Instant.class)) {
-            mockedInstant.when(Instant::now).thenReturn(fixedClock.instant());
-            InputStream mockResponseInputStream = new ResponseInputStream<>(GetObjectResponse.builder().eTag("eTag").build(), mockInputStream);
-            when(mockFileDao.get("testBucket", fileKey)).thenReturn(Optional.of(mockResponseInputStream));
-            when(mockFileIdentifierCacheDao.get(anyString(), anyString())).thenReturn(Optional.empty());
-
-            // Act
-            boolean result = loader.load(input);
-
-            // Assert
-            assertTrue(result);
-            verify(spyModelResultsCacheDao).clear("testModel");
-            verify(spyModelResultsCacheDao).put("testModel", modelResult1, 1.0);
-            verify(spyModelResultsCacheDao).put("testModel", modelResult2, 1.0);
-            assertEquals(2, loader.putItemCounter);
-            assertEquals(modelResult1.length() + modelResult2.length(), loader.putItemTotalSize);
-            assertTrue(spyModelResultsCacheDao.get("testModel", modelResult1).isPresent());
-            assertTrue(spyModelResultsCacheDao.get("testModel", modelResult2).isPresent());
-            verify(mockFileIdentifierCacheDao).put("model-results-identifier", "testModel", "eTag");
-        }
+        // Act
+        boolean result = loader.load(input);
+
+        // Assert
+        assertTrue(result);
+        verify(spyModelResultsCacheDao).clear("testModel");
+        verify(spyModelResultsCacheDao).put("testModel", modelResult1, 1.0);
+        verify(spyModelResultsCacheDao).put("testModel", modelResult2, 1.0);
+        assertEquals(2, loader.getLoadStatistics("testModel").get().getItemCount());
+        assertEquals(modelResult1.length() + modelResult2.length(), loader.getLoadStatistics("testModel").get().getItemTotalSize());
+        assertTrue(spyModelResultsCacheDao.get("testModel", modelResult1).isPresent());
+        assertTrue(spyModelResultsCacheDao.get("testModel", modelResult2).isPresent());
+        verify(mockFileIdentifierCacheDao).put("model-results-identifier", "testModel", "eTag");
     }
 
     @Test
@@ -137,51 +177,47 @@ class RuleBasedModelResultLoaderTest {
         ModelResultLoaderInput secondInput = new ModelResultLoaderInput("testBucket", "testKey", "testVendor", "testModel", ModelValueType.LowValue);
         String secondFileKey = "testVendor/2023-05-20/10/testKey"; // Assuming current date and time
         InputStream secondMockInputStream = new ByteArrayInputStream((modelResult1 + "\n" + modelResult2).getBytes(StandardCharsets.UTF_8));
+        // Setup
+        clock.setInstant(Instant.parse("2023-05-20T10:15:30Z"));
+        InputStream mockResponseInputStream = new ResponseInputStream<>(GetObjectResponse.builder().eTag("eTag").build(), mockInputStream);
+        when(mockFileDao.get("testBucket", fileKey)).thenReturn(Optional.of(mockResponseInputStream));
+        when(mockFileIdentifierCacheDao.get(anyString(), anyString())).thenReturn(Optional.empty());
 
-        Clock fixedClock = Clock.fixed(Instant.parse("2023-05-20T10:15:30Z"), ZoneId.of("UTC"));
-        try (MockedStatic<Instant> mockedInstant = mockStatic(Instant.class)) {
-            // Setup
-            mockedInstant.when(Instant::now).thenReturn(fixedClock.instant());
-            InputStream mockResponseInputStream = new ResponseInputStream<>(GetObjectResponse.builder().eTag("eTag").build(), mockInputStream);
-            when(mockFileDao.get("testBucket", fileKey)).thenReturn(Optional.of(mockResponseInputStream));
-            when(mockFileIdentifierCacheDao.get(anyString(), anyString())).thenReturn(Optional.empty());
-
-            // Act
-            boolean result = loader.load(input);
-
-            // Assert
-            assertTrue(result);
-            verify(spyModelResultsCacheDao).clear("testModel");
-            verify(spyModelResultsCacheDao).put("testModel", modelResult1, 0.0);
-            verify(spyModelResultsCacheDao).put("testModel", modelResult2, 0.0);
-            verify(spyModelResultsCacheDao).put("testModel", modelResult3, 0.0);
-            assertEquals(3, loader.putItemCounter);
-            assertEquals(modelResult1.length() + modelResult2.length() + modelResult3.length(), loader.putItemTotalSize);
-            assertTrue(spyModelResultsCacheDao.get("testModel", modelResult1).isPresent());
-            assertTrue(spyModelResultsCacheDao.get("testModel", modelResult2).isPresent());
-            assertTrue(spyModelResultsCacheDao.get("testModel", modelResult3).isPresent());
-            verify(mockFileIdentifierCacheDao).put("model-results-identifier", "testModel", "eTag");
-
-            // Setup again
-            InputStream secondMockResponseInputStream = new ResponseInputStream<>(GetObjectResponse.builder().eTag("eTag2").build(), secondMockInputStream);
-            when(mockFileDao.get("testBucket", secondFileKey)).thenReturn(Optional.of(secondMockResponseInputStream));
-            when(mockFileIdentifierCacheDao.get(anyString(), anyString())).thenReturn(Optional.of("eTag"));
-
-            // Act again
-            boolean secondResult = loader.load(secondInput);
-
-            // Assert again
-            assertTrue(secondResult);
-            verify(spyModelResultsCacheDao, times(2)).clear("testModel");
-            verify(spyModelResultsCacheDao, times(2)).put("testModel", modelResult1, 0.0);
-            verify(spyModelResultsCacheDao, times(2)).put("testModel", modelResult2, 0.0);
-            assertEquals(2, loader.putItemCounter);
-            assertEquals(modelResult1.length() + modelResult2.length(), loader.putItemTotalSize);
-            assertTrue(spyModelResultsCacheDao.get("testModel", modelResult1).isPresent());
-            assertTrue(spyModelResultsCacheDao.get("testModel", modelResult2).isPresent());
-            assertTrue(spyModelResultsCacheDao.get("testModel", modelResult3).isEmpty());
-            verify(mockFileIdentifierCacheDao).put("model-results-identifier", "testModel", "eTag2");
-        }
+        // Act
+        boolean result = loader.load(input);
+
+        // Assert
+        assertTrue(result);
+        verify(spyModelResultsCacheDao).clear("testModel");
+        verify(spyModelResultsCacheDao).put("testModel", modelResult1, 0.0);
+        verify(spyModelResultsCacheDao).put("testModel", modelResult2, 0.0);
+        verify(spyModelResultsCacheDao).put("testModel", modelResult3, 0.0);
+        assertEquals(3, loader.getLoadStatistics("testModel").get().getItemCount());
+        assertEquals(modelResult1.length() + modelResult2.length() + modelResult3.length(), loader.getLoadStatistics("testModel").get().getItemTotalSize());
+        assertTrue(spyModelResultsCacheDao.get("testModel", modelResult1).isPresent());
+        assertTrue(spyModelResultsCacheDao.get("testModel", modelResult2).isPresent());
+        assertTrue(spyModelResultsCacheDao.get("testModel", modelResult3).isPresent());
+        verify(mockFileIdentifierCacheDao).put("model-results-identifier", "testModel", "eTag");
+
+        // Setup again
+        InputStream secondMockResponseInputStream = new ResponseInputStream<>(GetObjectResponse.builder().eTag("eTag2").build(), secondMockInputStream);
+        when(mockFileDao.get("testBucket", secondFileKey)).thenReturn(Optional.of(secondMockResponseInputStream));
+        when(mockFileIdentifierCacheDao.get(anyString(), anyString())).thenReturn(Optional.of("eTag"));
+
+        // Act again
+        boolean secondResult = loader.load(secondInput);
+
+        // Assert again
+        assertTrue(secondResult);
+        verify(spyModelResultsCacheDao, times(2)).clear("testModel");
+        verify(spyModelResultsCacheDao, times(2)).put("testModel", modelResult1, 0.0);
+        verify(spyModelResultsCacheDao, times(2)).put("testModel", modelResult2, 0.0);
+        assertEquals(2, loader.getLoadStatistics("testModel").get().getItemCount());
+        assertEquals(modelResult1.length() + modelResult2.length(), loader.getLoadStatistics("testModel").get().getItemTotalSize());
+        assertTrue(spyModelResultsCacheDao.get("testModel", modelResult1).isPresent());
+        assertTrue(spyModelResultsCacheDao.get("testModel", modelResult2).isPresent());
+        assertTrue(spyModelResultsCacheDao.get("testModel", modelResult3).isEmpty());
+        verify(mockFileIdentifierCacheDao).put("model-results-identifier", "testModel", "eTag2");
     }
 
     @Test
@@ -197,51 +233,47 @@ class RuleBasedModelResultLoaderTest {
         ModelResultLoaderInput secondInput = new ModelResultLoaderInput("testBucket", "testKey", "testVendor", "testModel", ModelValueType.HighValue);
         String secondFileKey = "testVendor/2023-05-20/10/testKey"; // Assuming current date and time
         InputStream secondMockInputStream = new ByteArrayInputStream((modelResult1 + "\n" + modelResult2).getBytes(StandardCharsets.UTF_8));
+        // Setup
+        clock.setInstant(Instant.parse("2023-05-20T10:15:30Z"));
+        InputStream mockResponseInputStream = new ResponseInputStream<>(GetObjectResponse.builder().eTag("eTag").build(), mockInputStream);
+        when(mockFileDao.get("testBucket", fileKey)).thenReturn(Optional.of(mockResponseInputStream));
+        when(mockFileIdentifierCacheDao.get(anyString(), anyString())).thenReturn(Optional.empty());
 
-        Clock fixedClock = Clock.fixed(Instant.parse("2023-05-20T10:15:30Z"), ZoneId.of("UTC"));
-        try (MockedStatic<Instant> mockedInstant = mockStatic(Instant.class)) {
-            // Setup
-            mockedInstant.when(Instant::now).thenReturn(fixedClock.instant());
-            InputStream mockResponseInputStream = new ResponseInputStream<>(GetObjectResponse.builder().eTag("eTag").build(), mockInputStream);
-            when(mockFileDao.get("testBucket", fileKey)).thenReturn(Optional.of(mockResponseInputStream));
-            when(mockFileIdentifierCacheDao.get(anyString(), anyString())).thenReturn(Optional.empty());
-
-            // Act
-            boolean result = loader.load(input);
-
-            // Assert
-            assertTrue(result);
-            verify(spyModelResultsCacheDao).clear("testModel");
-            verify(spyModelResultsCacheDao).put("testModel", modelResult1, 1.0);
-            verify(spyModelResultsCacheDao).put("testModel", modelResult2, 1.0);
-            verify(spyModelResultsCacheDao).put("testModel", modelResult3, 1.0);
-            assertEquals(3, loader.putItemCounter);
-            assertEquals(modelResult1.length() + modelResult2.length() + modelResult3.length(), loader.putItemTotalSize);
-            assertTrue(spyModelResultsCacheDao.get("testModel", modelResult1).isPresent());
-            assertTrue(spyModelResultsCacheDao.get("testModel", modelResult2).isPresent());
-            assertTrue(spyModelResultsCacheDao.get("testModel", modelResult3).isPresent());
-            verify(mockFileIdentifierCacheDao).put("model-results-identifier", "testModel", "eTag");
-
-            // Setup again
-            InputStream secondMockResponseInputStream = new ResponseInputStream<>(GetObjectResponse.builder().eTag("eTag2").build(), secondMockInputStream);
-            when(mockFileDao.get("testBucket", secondFileKey)).thenReturn(Optional.of(secondMockResponseInputStream));
-            when(mockFileIdentifierCacheDao.get(anyString(), anyString())).thenReturn(Optional.of("eTag"));
-
-            // Act again
-            boolean secondResult = loader.load(secondInput);
-
-            // Assert again
-            assertTrue(secondResult);
-            verify(spyModelResultsCacheDao, times(2)).clear("testModel");
-            verify(spyModelResultsCacheDao, times(2)).put("testModel", modelResult1, 1.0);
-            verify(spyModelResultsCacheDao, times(2)).put("testModel", modelResult2, 1.0);
-            assertEquals(2, loader.putItemCounter);
-            assertEquals(modelResult1.length() + modelResult2.length(), loader.putItemTotalSize);
-            assertTrue(spyModelResultsCacheDao.get("testModel", modelResult1).isPresent());
-            assertTrue(spyModelResultsCacheDao.get("testModel", modelResult2).isPresent());
-            assertTrue(spyModelResultsCacheDao.get("testModel", modelResult3).isEmpty());
-            verify(mockFileIdentifierCacheDao).put("model-results-identifier", "testModel", "eTag2");
-        }
+        // Act
+        boolean result = loader.load(input);
+
+        // Assert
+        assertTrue(result);
+        verify(spyModelResultsCacheDao).clear("testModel");
+        verify(spyModelResultsCacheDao).put("testModel", modelResult1, 1.0);
+        verify(spyModelResultsCacheDao).put("testModel", modelResult2, 1.0);
+        verify(spyModelResultsCacheDao).put("testModel", modelResult3, 1.0);
+        assertEquals(3, loader.getLoadStatistics("testModel").get().getItemCount());
+        assertEquals(modelResult1.length() + modelResult2.length() + modelResult3.length(), loader.getLoadStatistics("testModel").get().getItemTotalSize());
+        assertTrue(spyModelResultsCacheDao.get("testModel", modelResult1).isPresent());
+        assertTrue(spyModelResultsCacheDao.get("testModel", modelResult2).isPresent());
+        assertTrue(spyModelResultsCacheDao.get("testModel", modelResult3).isPresent());
+        verify(mockFileIdentifierCacheDao).put("model-results-identifier", "testModel", "eTag");
+
+        // Setup again
+        InputStream secondMockResponseInputStream = new ResponseInputStream<>(GetObjectResponse.builder().eTag("eTag2").build(), secondMockInputStream);
+        when(mockFileDao.get("testBucket", secondFileKey)).thenReturn(Optional.of(secondMockResponseInputStream));
+        when(mockFileIdentifierCacheDao.get(anyString(), anyString())).thenReturn(Optional.of("eTag"));
+
+        // Act again
+        boolean secondResult = loader.load(secondInput);
+
+        // Assert again
+        assertTrue(secondResult);
+        verify(spyModelResultsCacheDao, times(2)).clear("testModel");
+        verify(spyModelResultsCacheDao, times(2)).put("testModel", modelResult1, 1.0);
+        verify(spyModelResultsCacheDao, times(2)).put("testModel", modelResult2, 1.0);
+        assertEquals(2, loader.getLoadStatistics("testModel").get().getItemCount());
+        assertEquals(modelResult1.length() + modelResult2.length(), loader.getLoadStatistics("testModel").get().getItemTotalSize());
+        assertTrue(spyModelResultsCacheDao.get("testModel", modelResult1).isPresent());
+        assertTrue(spyModelResultsCacheDao.get("testModel", modelResult2).isPresent());
+        assertTrue(spyModelResultsCacheDao.get("testModel", modelResult3).isEmpty());
+        verify(mockFileIdentifierCacheDao).put("model-results-identifier", "testModel", "eTag2");
     }
 
     @Test
@@ -264,10 +296,9 @@ class RuleBasedModelResultLoaderTest {
     void testLoad_NoRefreshNeeded() {
         // Arrange
         ModelResultLoaderInput input = new ModelResultLoaderInput("testBucket", "testKey", "testVendor", "testModel", ModelValueType.LowValue);
-        ResponseInputStream<GetObjectResponse> mockResponseInputStream = mock(ResponseInputStream.class);
 
-        when(mockResponseInputStream.response()).thenReturn(GetObjectResponse.builder().eTag("ETag").build());
-        when(mockFileDao.get(anyString(), anyString())).thenReturn(Optional.of(mockResponseInputStream));
+        when(mockObjectResponseInputStream.response()).thenReturn(GetObjectResponse.builder().eTag("ETag").build());
+        when(mockFileDao.get(anyString(), anyString())).thenReturn(Optional.of(mockObjectResponseInputStream));
         when(mockFileIdentifierCacheDao.get(anyString(), anyString())).thenReturn(Optional.of("ETag"));
 
         // Act
@@ -280,6 +311,23 @@ class RuleBasedModelResultLoaderTest {
         verify(mockFileIdentifierCacheDao, never()).put(anyString(), anyString(), anyString());
     }
 
+    @Test
+    void testReload_InvalidatesFileIdentifiers() {
+        // Arrange
+        ModelResultLoaderInput input = new ModelResultLoaderInput("testBucket", "testKey", "testVendor", "testModel", ModelValueType.LowValue);
+
+        when(mockObjectResponseInputStream.response()).thenReturn(GetObjectResponse.builder().eTag("ETag").build());
+        when(mockFileDao.get(anyString(), anyString())).thenReturn(Optional.of(mockObjectResponseInputStream));
+        when(mockFileIdentifierCacheDao.get(anyString(), anyString())).thenReturn(Optional.of("ETag"));
+
+        // Act
+        loader.reload(input);
+
+        // Assert
+        verify(mockFileIdentifierCacheDao).put("model-results-identifier", "testModel", "");
+        verify(mockFileIdentifierCacheDao).put("model-results-identifier", "published:testModel", "");
+    }
+
     @Test
     void testLoad_ExceptionThrown() throws IOException {
         // Arrange
@@ -296,19 +344,1021 @@ class RuleBasedModelResultLoaderTest {
     }
 
     @Test
-    void testGetS3ObjectKey() {
+    void testLoad_FailedLoadIsRetried() {
+        // Arrange
+        ModelResultLoaderInput input = new ModelResultLoaderInput("testBucket", "testKey", "testVendor", "testModel", ModelValueType.LowValue);
+        InputStream failingInputStream = new SequenceInputStream(
+                new ByteArrayInputStream("result1\n".getBytes(StandardCharsets.UTF_8)),
+                new InputStream() {
+                    @Override
+                    public int read() throws IOException {
+                        throw new IOException("Test exception");
+                    }
+                });
+        InputStream mockResponseInputStream = new ResponseInputStream<>(GetObjectResponse.builder().eTag("eTag").build(), failingInputStream);
+        when(mockFileDao.get(anyString(), anyString())).thenReturn(Optional.of(mockResponseInputStream));
+        when(mockFileIdentifierCacheDao.get(anyString(), anyString())).thenReturn(Optional.empty());
+
+        // Act
+        boolean result = loader.load(input);
+
+        // Assert
+        assertFalse(result);
+        verify(mockFileIdentifierCacheDao).put("model-results-identifier", "testModel", "eTag");
+        // the unchanged file is loaded again next time
+        verify(mockFileIdentifierCacheDao).put("model-results-identifier", "testModel", "");
+    }
+
+    @Test
+    void testLoad_InterruptedLoadAbortsStore() {
+        // Arrange
+        ModelResultStoreFactory mockStoreFactory = mock(ModelResultStoreFactory.class);
+        ModelResultStoreBuilder mockStoreBuilder = mock(ModelResultStoreBuilder.class);
+        loader = new RuleBasedModelResultLoader(
+                mockFileIdentifierCacheDao,
+                spyModelResultsCacheDao,
+                mockFileDao,
+                RuleBasedModelResultLoaderOptions.builder()
+                        .modelResultStoreRegistry(new ModelResultStoreRegistry(new ConcurrentHashMap<>()))
+                        .modelResultStoreFactory(mockStoreFactory)
+                        .clock(clock)
+                        .build()
+        );
+        ModelResultLoaderInput input = new ModelResultLoaderInput("testBucket", "testKey", "testVendor", "storeModel", ModelValueType.LowValue);
+        when(mockStoreFactory.newBuilder(anyString(), anyString(), anyDouble(), anyString())).thenReturn(mockStoreBuilder);
+        when(mockFileDao.get(anyString(), anyString())).thenReturn(Optional.of(getResponseInputStream("eTag", "result1\nresult2")));
+        when(mockFileIdentifierCacheDao.get(anyString(), anyString())).thenReturn(Optional.empty());
+
+        // Act
+        Thread.currentThread().interrupt();
+        boolean result;
+        try {
+            result = loader.load(input);
+        } finally {
+            // the load keeps the interrupt for its caller
+            assertTrue(Thread.interrupted());
+        }
+
+        // Assert
+        assertFalse(result);
+        verify(mockStoreBuilder, never()).put(anyString());
+        verify(mockStoreBuilder, never()).build();
+        verify(mockStoreBuilder).abort();
+        verify(mockFileIdentifierCacheDao).put("model-results-identifier", "storeModel", "");
+    }
+
+    @Test
+    void testLoad_SuccessfulWithFilter() {
+        // Arrange
+        ModelResultFilterRegistry filterRegistry = new ModelResultFilterRegistry(new ConcurrentHashMap<>());
+        loader = new RuleBasedModelResultLoader(
+                mockFileIdentifierCacheDao,
+                spyModelResultsCacheDao,
+                mockFileDao,
+                RuleBasedModelResultLoaderOptions.builder()
+                        .modelResultFilterRegistry(filterRegistry)
+                        .filterFalsePositiveRate(0.01)
+                        .clock(clock)
+                        .build()
+        );
+        ModelResultLoaderInput input = new ModelResultLoaderInput("testBucket", "testKey", "testVendor", "filterModel", ModelValueType.LowValue);
+        String fileKey = "testVendor/2023-05-20/10/testKey";
+        String modelResult1 = "result1";
+        String modelResult2 = "result2";
+        InputStream mockInputStream = new ByteArrayInputStream((modelResult1 + "\n" + modelResult2).getBytes(StandardCharsets.UTF_8));
+        clock.setInstant(Instant.parse("2023-05-20T10:15:30Z"));
+        InputStream mockResponseInputStream = new ResponseInputStream<>(GetObjectResponse.builder().eTag("eTag").build(), mockInputStream);
+        when(mockFileDao.get("testBucket", fileKey)).thenReturn(Optional.of(mockResponseInputStream));
+        when(mockFileIdentifierCacheDao.get(anyString(), anyString())).thenReturn(Optional.empty());
+
+        // Act
+        boolean result = loader.load(input);
+
+        // Assert
+        assertTrue(result);
+        Optional<ModelResultFilter> filter = loader.getModelResultFilter("filterModel");
+        assertTrue(filter.isPresent());
+        assertEquals(2, filter.get().getEntryCount());
+        assertTrue(filter.get().mightContain(modelResult1));
+        assertTrue(filter.get().mightContain(modelResult2));
+        assertTrue(filter.get().getMemoryFootprintBytes() > 0);
+        assertEquals(filter.get(), filterRegistry.get("filterModel").get());
+    }
+
+    @Test
+    void testLoad_NoRefreshNeededKeepsFilter() {
+        // Arrange
+        ModelResultFilterRegistry filterRegistry = new ModelResultFilterRegistry(new ConcurrentHashMap<>());
+        ModelResultFilter existingFilter = ModelResultFilter.builder(0.01).put("result1").build();
+        filterRegistry.register("testModel", existingFilter);
+        loader = new RuleBasedModelResultLoader(
+                mockFileIdentifierCacheDao,
+                spyModelResultsCacheDao,
+                mockFileDao,
+                RuleBasedModelResultLoaderOptions.builder()
+                        .modelResultFilterRegistry(filterRegistry)
+                        .filterFalsePositiveRate(0.01)
+                        .clock(clock)
+                        .build()
+        );
+        ModelResultLoaderInput input = new ModelResultLoaderInput("testBucket", "testKey", "testVendor", "testModel", ModelValueType.LowValue);
+        when(mockObjectResponseInputStream.response()).thenReturn(GetObjectResponse.builder().eTag("ETag").build());
+        when(mockFileDao.get(anyString(), anyString())).thenReturn(Optional.of(mockObjectResponseInputStream));
+        when(mockFileIdentifierCacheDao.get(anyString(), anyString())).thenReturn(Optional.of("ETag"));
+
+        // Act
+        boolean result = loader.load(input);
+
+        // Assert
+        assertFalse(result);
+        assertEquals(existingFilter, loader.getModelResultFilter("testModel").get());
+    }
+
+    @Test
+    void testGetModelResultFilter_Disabled() {
+        // Arrange
+        ModelResultFilterRegistry filterRegistry = new ModelResultFilterRegistry(new ConcurrentHashMap<>());
+        filterRegistry.register("testModel", ModelResultFilter.builder(0.01).put("result1").build());
+        loader = new RuleBasedModelResultLoader(
+                mockFileIdentifierCacheDao,
+                spyModelResultsCacheDao,
+                mockFileDao,
+                RuleBasedModelResultLoaderOptions.builder()
+                        .modelResultFilterRegistry(filterRegistry)
+                        .clock(clock)
+                        .build()
+        );
+
+        // Act & Assert
+        assertTrue(loader.getModelResultFilter("testModel").isEmpty());
+    }
+
+    @Test
+    void testConstructor_InvalidFalsePositiveRate() {
+        ModelResultFilterRegistry filterRegistry = new ModelResultFilterRegistry(new ConcurrentHashMap<>());
+        assertThrows(IllegalArgumentException.class, () -> new RuleBasedModelResultLoader(
+                mockFileIdentifierCacheDao,
+                spyModelResultsCacheDao,
+                mockFileDao,
+                RuleBasedModelResultLoaderOptions.builder()
+                        .modelResultFilterRegistry(filterRegistry)
+                        .filterFalsePositiveRate(1.0)
+                        .build()
+        ));
+        assertThrows(IllegalArgumentException.class, () -> new RuleBasedModelResultLoader(
+                mockFileIdentifierCacheDao,
+                spyModelResultsCacheDao,
+                mockFileDao,
+                RuleBasedModelResultLoaderOptions.builder()
+                        .modelResultFilterRegistry(filterRegistry)
+                        .filterFalsePositiveRate(-0.1)
+                        .build()
+        ));
+    }
+
+    @Test
+    void testLoad_IntoStore(@TempDir Path storeDirectory) {
+        // Arrange
+        ModelResultStoreRegistry storeRegistry = new ModelResultStoreRegistry(new ConcurrentHashMap<>());
+        loader = new RuleBasedModelResultLoader(
+                mockFileIdentifierCacheDao,
+                spyModelResultsCacheDao,
+                mockFileDao,
+                RuleBasedModelResultLoaderOptions.builder()
+                        .modelResultStoreRegistry(storeRegistry)
+                        .modelResultStoreFactory(new PerfectHashModelResultStoreFactory(storeDirectory, ForkJoinPool.commonPool()))
+                        .clock(clock)
+                        .build()
+        );
+        ModelResultLoaderInput input = new ModelResultLoaderInput("testBucket", "testKey", "testVendor", "storeModel", ModelValueType.HighValue);
+        String fileKey = "testVendor/2023-05-20/10/testKey";
+        InputStream mockInputStream = new ByteArrayInputStream("result1\nresult2".getBytes(StandardCharsets.UTF_8));
+        clock.setInstant(Instant.parse("2023-05-20T10:15:30Z"));
+        InputStream mockResponseInputStream = new ResponseInputStream<>(GetObjectResponse.builder().eTag("eTag").build(), mockInputStream);
+        when(mockFileDao.get("testBucket", fileKey)).thenReturn(Optional.of(mockResponseInputStream));
+        when(mockFileIdentifierCacheDao.get(anyString(), anyString())).thenReturn(Optional.empty());
+
+        // Act
+        boolean result = loader.load(input);
+
+        // Assert
+        assertTrue(result);
+        verify(spyModelResultsCacheDao, never()).clear(anyString());
+        verify(spyModelResultsCacheDao, never()).put(anyString(), anyString(), anyDouble());
+        ModelResultStore store = storeRegistry.get("storeModel").get();
+        assertEquals("eTag", store.getVersion());
+        assertEquals(1.0, store.getValue());
+        assertEquals(2, store.getEntryCount());
+        assertTrue(store.contains("result1"));
+        assertTrue(store.contains("result2"));
+        assertFalse(store.contains("result3"));
+        assertEquals(2, loader.getLoadStatistics("storeModel").get().getItemCount());
+        assertEquals("eTag", loader.getLoadStatistics("storeModel").get().getFileIdentifier());
+    }
+
+    @Test
+    void testLoad_RestoresPersistedStore(@TempDir Path storeDirectory) {
+        // Arrange
+        PerfectHashModelResultStoreFactory storeFactory = new PerfectHashModelResultStoreFactory(storeDirectory, ForkJoinPool.commonPool());
+        ModelResultStoreRegistry storeRegistry = new ModelResultStoreRegistry(new ConcurrentHashMap<>());
+        loader = new RuleBasedModelResultLoader(
+                mockFileIdentifierCacheDao,
+                spyModelResultsCacheDao,
+                mockFileDao,
+                RuleBasedModelResultLoaderOptions.builder()
+                        .modelResultStoreRegistry(storeRegistry)
+                        .modelResultStoreFactory(storeFactory)
+                        .clock(clock)
+                        .build()
+        );
+        ModelResultLoaderInput input = new ModelResultLoaderInput("testBucket", "testKey", "testVendor", "storeModel", ModelValueType.LowValue);
+        String fileKey = "testVendor/2023-05-20/10/testKey";
+        clock.setInstant(Instant.parse("2023-05-20T10:15:30Z"));
+        InputStream firstResponseInputStream = new ResponseInputStream<>(GetObjectResponse.builder().eTag("eTag").build(),
+                new ByteArrayInputStream("result1\nresult2".getBytes(StandardCharsets.UTF_8)));
+        when(mockFileDao.get("testBucket", fileKey)).thenReturn(Optional.of(firstResponseInputStream));
+        when(mockFileIdentifierCacheDao.get(anyString(), anyString())).thenReturn(Optional.empty());
+        assertTrue(loader.load(input));
+
+        // a new process with an empty registry sees the same file version again
+        ModelResultStoreRegistry newStoreRegistry = new ModelResultStoreRegistry(new ConcurrentHashMap<>());
+        loader = new RuleBasedModelResultLoader(
+                mockFileIdentifierCacheDao,
+                spyModelResultsCacheDao,
+                mockFileDao,
+                RuleBasedModelResultLoaderOptions.builder()
+                        .modelResultStoreRegistry(newStoreRegistry)
+                        .modelResultStoreFactory(storeFactory)
+                        .clock(clock)
+                        .build()
+        );
+        InputStream secondInputStream = mock(InputStream.class);
+        InputStream secondResponseInputStream = new ResponseInputStream<>(GetObjectResponse.builder().eTag("eTag").build(), secondInputStream);
+        when(mockFileDao.get("testBucket", fileKey)).thenReturn(Optional.of(secondResponseInputStream));
+
+        // Act
+        boolean result = loader.load(input);
+
+        // Assert
+        assertTrue(result);
+        assertTrue(loader.getLoadStatistics("storeModel").isEmpty());
+        ModelResultStore store = newStoreRegistry.get("storeModel").get();
+        assertEquals(2, store.getEntryCount());
+        assertTrue(store.contains("result1"));
+        assertTrue(store.contains("result2"));
+    }
+
+    @Test
+    void testLoad_FromPublishedStore() {
+        // Arrange
+        ModelResultStoreFactory mockStoreFactory = mock(ModelResultStoreFactory.class);
+        ModelResultStore mockStore = mock(ModelResultStore.class);
+        ModelResultStoreRegistry storeRegistry = new ModelResultStoreRegistry(new ConcurrentHashMap<>());
+        loader = new RuleBasedModelResultLoader(
+                mockFileIdentifierCacheDao,
+                spyModelResultsCacheDao,
+                mockFileDao,
+                RuleBasedModelResultLoaderOptions.builder()
+                        .modelResultStoreRegistry(storeRegistry)
+                        .modelResultStoreFactory(mockStoreFactory)
+                        .clock(clock)
+                        .build()
+        );
+        ModelResultLoaderInput input = new ModelResultLoaderInput("testBucket", "testKey", "testVendor", "sharedModel", ModelValueType.LowValue);
+        Instant now = Instant.parse("2023-05-20T10:15:30Z");
+        when(mockStoreFactory.getPublishedStore("sharedModel"))
+                .thenReturn(Optional.of(publishedStore("testVendor/2023-05-20/10/testKey", now.toEpochMilli() - 60000L)));
+        when(mockStoreFactory.restore("sharedModel", "eTag", 0.0)).thenReturn(Optional.of(mockStore));
+        when(mockFileIdentifierCacheDao.get(anyString(), anyString())).thenReturn(Optional.empty());
+
+        clock.setInstant(now);
+
+        // Act
+        boolean result = loader.load(input);
+
+        // Assert
+        assertTrue(result);
+        assertEquals(mockStore, storeRegistry.get("sharedModel").get());
+        assertEquals(now.toEpochMilli(), loader.getModelResultStatus("sharedModel").get().getConfirmedAtMs());
+        verify(mockFileDao, never()).get(anyString(), anyString());
+        verify(mockStoreFactory, never()).newBuilder(anyString(), anyString(), anyDouble(), anyString());
+        verify(mockFileIdentifierCacheDao).put(anyString(), anyString(), eq("eTag"));
+    }
+
+    @Test
+    void testLoad_PublishedStoreAlreadyLoaded() {
+        // Arrange
+        ModelResultStoreFactory mockStoreFactory = mock(ModelResultStoreFactory.class);
+        ModelResultStore mockStore = mock(ModelResultStore.class);
+        ModelResultStoreRegistry storeRegistry = new ModelResultStoreRegistry(new ConcurrentHashMap<>());
+        loader = new RuleBasedModelResultLoader(
+                mockFileIdentifierCacheDao,
+                spyModelResultsCacheDao,
+                mockFileDao,
+                RuleBasedModelResultLoaderOptions.builder()
+                        .modelResultStoreRegistry(storeRegistry)
+                        .modelResultStoreFactory(mockStoreFactory)
+                        .clock(clock)
+                        .build()
+        );
+        ModelResultLoaderInput input = new ModelResultLoaderInput("testBucket", "testKey", "testVendor", "sharedModel", ModelValueType.LowValue);
+        Instant now = Instant.parse("2023-05-20T10:15:30Z");
+        when(mockStoreFactory.getPublishedStore("sharedModel"))
+                .thenReturn(Optional.of(publishedStore("testVendor/2023-05-20/10/testKey", now.toEpochMilli() - 60000L)));
+        when(mockStoreFactory.restore("sharedModel", "eTag", 0.0)).thenReturn(Optional.of(mockStore));
+        when(mockFileIdentifierCacheDao.get(anyString(), anyString())).thenReturn(Optional.of("eTag"));
+
+        clock.setInstant(now);
+
+        // Act
+        boolean result = loader.load(input);
+
+        // Assert
+        assertFalse(result);
+        assertTrue(storeRegistry.get("sharedModel").isEmpty());
+        verify(mockStore).release();
+        verify(mockFileDao, never()).get(anyString(), anyString());
+    }
+
+    @Test
+    void testLoad_PublishedStoreOfPreviousHourReadsFile() {
+        // Arrange
+        ModelResultStoreFactory mockStoreFactory = mock(ModelResultStoreFactory.class);
+        loader = new RuleBasedModelResultLoader(
+                mockFileIdentifierCacheDao,
+                spyModelResultsCacheDao,
+                mockFileDao,
+                RuleBasedModelResultLoaderOptions.builder()
+                        .modelResultStoreRegistry(new ModelResultStoreRegistry(new ConcurrentHashMap<>()))
+                        .modelResultStoreFactory(mockStoreFactory)
+                        .clock(clock)
+                        .build()
+        );
+        ModelResultLoaderInput input = new ModelResultLoaderInput("testBucket", "testKey", "testVendor", "sharedModel", ModelValueType.LowValue);
+        Instant now = Instant.parse("2023-05-20T10:15:30Z");
+        // the writer died before the file of the current hour was published
+        when(mockStoreFactory.getPublishedStore("sharedModel"))
+                .thenReturn(Optional.of(publishedStore("testVendor/2023-05-20/09/testKey", now.toEpochMilli() - 60000L)));
+        when(mockFileDao.get("testBucket", "testVendor/2023-05-20/10/testKey")).thenReturn(Optional.empty());
+
+        clock.setInstant(now);
+
+        // Act
+        boolean result = loader.load(input);
+
+        // Assert
+        assertFalse(result);
+        verify(mockStoreFactory, never()).restore(anyString(), anyString(), anyDouble());
+        verify(mockFileDao).get("testBucket", "testVendor/2023-05-20/10/testKey");
+        assertTrue(loader.getModelResultStatus("sharedModel").isEmpty());
+    }
+
+    @Test
+    void testLoad_StalePublishedStoreReadsFile() {
+        // Arrange
+        ModelResultStoreFactory mockStoreFactory = mock(ModelResultStoreFactory.class);
+        loader = new RuleBasedModelResultLoader(
+                mockFileIdentifierCacheDao,
+                spyModelResultsCacheDao,
+                mockFileDao,
+                RuleBasedModelResultLoaderOptions.builder()
+                        .modelResultStoreRegistry(new ModelResultStoreRegistry(new ConcurrentHashMap<>()))
+                        .modelResultStoreFactory(mockStoreFactory)
+                        .maxStoreStalenessMs(600000L)
+                        .clock(clock)
+                        .build()
+        );
+        ModelResultLoaderInput input = new ModelResultLoaderInput("testBucket", "testKey", "testVendor", "sharedModel", ModelValueType.LowValue);
+        Instant now = Instant.parse("2023-05-20T10:45:30Z");
+        when(mockStoreFactory.getPublishedStore("sharedModel"))
+                .thenReturn(Optional.of(publishedStore("testVendor/2023-05-20/10/testKey", now.toEpochMilli() - 600001L)));
+        when(mockFileDao.get("testBucket", "testVendor/2023-05-20/10/testKey")).thenReturn(Optional.empty());
+
+        clock.setInstant(now);
+
+        // Act
+        boolean result = loader.load(input);
+
+        // Assert
+        assertFalse(result);
+        verify(mockStoreFactory, never()).restore(anyString(), anyString(), anyDouble());
+        verify(mockFileDao).get("testBucket", "testVendor/2023-05-20/10/testKey");
+    }
+
+    @Test
+    void testLoad_PublishedStoreUnavailableReadsFile() {
+        // Arrange
+        ModelResultStoreFactory mockStoreFactory = mock(ModelResultStoreFactory.class);
+        loader = new RuleBasedModelResultLoader(
+                mockFileIdentifierCacheDao,
+                spyModelResultsCacheDao,
+                mockFileDao,
+                RuleBasedModelResultLoaderOptions.builder()
+                        .modelResultStoreRegistry(new ModelResultStoreRegistry(new ConcurrentHashMap<>()))
+                        .modelResultStoreFactory(mockStoreFactory)
+                        .clock(clock)
+                        .build()
+        );
+        ModelResultLoaderInput input = new ModelResultLoaderInput("testBucket", "testKey", "testVendor", "sharedModel", ModelValueType.LowValue);
+        Instant now = Instant.parse("2023-05-20T10:15:30Z");
+        when(mockStoreFactory.getPublishedStore("sharedModel"))
+                .thenReturn(Optional.of(publishedStore("testVendor/2023-05-20/10/testKey", now.toEpochMilli() - 60000L)));
+        when(mockStoreFactory.restore("sharedModel", "eTag", 0.0)).thenReturn(Optional.empty());
+        when(mockFileDao.get(anyString(), anyString())).thenReturn(Optional.empty());
+
+        clock.setInstant(now);
+
+        // Act
+        boolean result = loader.load(input);
+
+        // Assert
+        assertFalse(result);
+        verify(mockFileDao).get(anyString(), anyString());
+        verify(mockFileIdentifierCacheDao, never()).put(anyString(), anyString(), anyString());
+    }
+
+    @Test
+    void testLoad_StoreExceedsMemoryBudget() {
+        // Arrange
+        ModelResultStoreRegistry storeRegistry = new ModelResultStoreRegistry(new ConcurrentHashMap<>(), 1L);
+        loader = new RuleBasedModelResultLoader(
+                mockFileIdentifierCacheDao,
+                spyModelResultsCacheDao,
+                mockFileDao,
+                RuleBasedModelResultLoaderOptions.builder()
+                        .modelResultStoreRegistry(storeRegistry)
+                        .modelResultStoreFactory(new OffHeapModelResultStoreFactory(null))
+                        .clock(clock)
+                        .build()
+        );
+        ModelResultLoaderInput input = new ModelResultLoaderInput("testBucket", "testKey", "testVendor", "storeModel", ModelValueType.LowValue);
+        InputStream mockResponseInputStream = new ResponseInputStream<>(GetObjectResponse.builder().eTag("eTag").build(),
+                new ByteArrayInputStream("result1\nresult2".getBytes(StandardCharsets.UTF_8)));
+        when(mockFileDao.get(anyString(), anyString())).thenReturn(Optional.of(mockResponseInputStream));
+        when(mockFileIdentifierCacheDao.get(anyString(), anyString())).thenReturn(Optional.empty());
+
+        // Act & Assert
+        assertThrows(IllegalStateException.class, () -> loader.load(input));
+        assertTrue(storeRegistry.get("storeModel").isEmpty());
+        assertEquals(1L, storeRegistry.getRejectedRegistrationCount());
+        // the file is loaded again next time even though it is unchanged
+        verify(mockFileIdentifierCacheDao).put(anyString(), eq("storeModel"), eq(""));
+    }
+
+    @Test
+    void testLoad_WithdrawsStaleStore() {
+        // Arrange
+        ModelResultStoreRegistry storeRegistry = new ModelResultStoreRegistry(new ConcurrentHashMap<>());
+        loader = new RuleBasedModelResultLoader(
+                mockFileIdentifierCacheDao,
+                spyModelResultsCacheDao,
+                mockFileDao,
+                RuleBasedModelResultLoaderOptions.builder()
+                        .modelResultStoreRegistry(storeRegistry)
+                        .modelResultStoreFactory(new OffHeapModelResultStoreFactory(null))
+                        .maxStoreStalenessMs(60000L)
+                        .clock(clock)
+                        .build()
+        );
+        ModelResultLoaderInput input = new ModelResultLoaderInput("testBucket", "testKey", "testVendor", "storeModel", ModelValueType.LowValue);
+        Instant firstLoadTime = Instant.parse("2023-05-20T10:59:50Z");
+        Instant withinMaxStalenessTime = Instant.parse("2023-05-20T11:00:30Z");
+        Instant beyondMaxStalenessTime = Instant.parse("2023-05-20T11:01:30Z");
+
+        clock.setInstant(firstLoadTime);
+        InputStream mockResponseInputStream = new ResponseInputStream<>(GetObjectResponse.builder().eTag("eTag").build(),
+                new ByteArrayInputStream("result1".getBytes(StandardCharsets.UTF_8)));
+        when(mockFileDao.get(anyString(), anyString())).thenReturn(Optional.of(mockResponseInputStream));
+        when(mockFileIdentifierCacheDao.get(anyString(), anyString())).thenReturn(Optional.empty());
+        assertTrue(loader.load(input));
+
+        // the file of the next hour is missing, but the store is still within its max staleness
+        when(mockFileDao.get(anyString(), anyString())).thenReturn(Optional.empty());
+        clock.setInstant(withinMaxStalenessTime);
+        assertFalse(loader.load(input));
+        assertTrue(storeRegistry.get("storeModel").isPresent());
+
+        // Act
+        clock.setInstant(beyondMaxStalenessTime);
+        boolean result = loader.load(input);
+
+        // Assert
+        assertFalse(result);
+        assertTrue(storeRegistry.get("storeModel").isEmpty());
+        verify(mockFileIdentifierCacheDao).put(anyString(), eq("storeModel"), eq(""));
+    }
+
+    @Test
+    void testLoad_FallsBackToPreviousHour() {
         // Arrange
+        loader = new RuleBasedModelResultLoader(
+                mockFileIdentifierCacheDao,
+                spyModelResultsCacheDao,
+                mockFileDao,
+                RuleBasedModelResultLoaderOptions.builder()
+                        .maxStoreStalenessMs(RuleBasedModelResultLoader.DEFAULT_MAX_STORE_STALENESS_MS)
+                        .maxFallbackHours(1)
+                        .clock(clock)
+                        .build()
+        );
         ModelResultLoaderInput input = new ModelResultLoaderInput("testBucket", "testKey", "testVendor", "testModel", ModelValueType.LowValue);
-        Clock fixedClock = Clock.fixed(Instant.parse("2023-05-20T10:15:30Z"), ZoneId.of("UTC"));
-        try (MockedStatic<Instant> mockedInstant = mockStatic(Instant.class)) {
-            mockedInstant.when(Instant::now).thenReturn(fixedClock.instant());
+        clock.setInstant(Instant.parse("2023-05-20T10:15:30Z"));
+        InputStream mockResponseInputStream = new ResponseInputStream<>(GetObjectResponse.builder().eTag("eTag").build(),
+                new ByteArrayInputStream("result1".getBytes(StandardCharsets.UTF_8)));
+        when(mockFileDao.get("testBucket", "testVendor/2023-05-20/10/testKey")).thenReturn(Optional.empty());
+        when(mockFileDao.get("testBucket", "testVendor/2023-05-20/09/testKey")).thenReturn(Optional.of(mockResponseInputStream));
+        when(mockFileIdentifierCacheDao.get(anyString(), anyString())).thenReturn(Optional.empty());
+
+        // Act
+        boolean result = loader.load(input);
+
+        // Assert
+        assertTrue(result);
+        verify(spyModelResultsCacheDao).put("testModel", "result1", 0.0);
+    }
 
-            // Act
-            String result = loader.getS3ObjectKey(input);
+    @Test
+    void testPrefetch_SwitchesAtHourStart() {
+        // Arrange
+        ModelResultStoreRegistry storeRegistry = new ModelResultStoreRegistry(new ConcurrentHashMap<>());
+        loader = new RuleBasedModelResultLoader(
+                mockFileIdentifierCacheDao,
+                spyModelResultsCacheDao,
+                mockFileDao,
+                RuleBasedModelResultLoaderOptions.builder()
+                        .modelResultStoreRegistry(storeRegistry)
+                        .modelResultStoreFactory(new OffHeapModelResultStoreFactory(null))
+                        .clock(clock)
+                        .build()
+        );
+        ModelResultLoaderInput input = new ModelResultLoaderInput("testBucket", "testKey", "testVendor", "storeModel", ModelValueType.LowValue);
+        Instant prefetchTime = Instant.parse("2023-05-20T10:59:00Z");
+        Instant hourStart = Instant.parse("2023-05-20T11:00:00Z");
+
+        clock.setInstant(prefetchTime);
+        InputStream mockResponseInputStream = new ResponseInputStream<>(GetObjectResponse.builder().eTag("nextETag").build(),
+                new ByteArrayInputStream("result3".getBytes(StandardCharsets.UTF_8)));
+        when(mockFileDao.get("testBucket", "testVendor/2023-05-20/11/testKey")).thenReturn(Optional.of(mockResponseInputStream));
+        when(mockFileIdentifierCacheDao.get(anyString(), anyString())).thenReturn(Optional.empty());
+
+        assertEquals(ModelResultPrefetchResult.Staged, loader.prefetch(input, hourStart));
+        assertEquals(ModelResultPrefetchResult.Staged, loader.prefetch(input, hourStart));
+        assertEquals(0, loader.activatePrefetchedStores());
+        assertTrue(storeRegistry.get("storeModel").isEmpty());
+
+        // Act
+        clock.setInstant(hourStart);
+        int result = loader.activatePrefetchedStores();
+
+        // Assert
+        assertEquals(1, result);
+        assertTrue(storeRegistry.get("storeModel").get().contains("result3"));
+        assertEquals("nextETag", loader.getLoadStatistics("storeModel").get().getFileIdentifier());
+        verify(mockFileDao, times(1)).get(anyString(), anyString());
+        verify(mockFileIdentifierCacheDao).put(anyString(), eq("storeModel"), eq("nextETag"));
+    }
 
-            // Assert
-            assertEquals("testVendor/2023-05-20/10/testKey", result);
+    @Test
+    void testLoad_UsesPrefetchedStore() {
+        // Arrange
+        ModelResultStoreRegistry storeRegistry = new ModelResultStoreRegistry(new ConcurrentHashMap<>());
+        loader = new RuleBasedModelResultLoader(
+                mockFileIdentifierCacheDao,
+                spyModelResultsCacheDao,
+                mockFileDao,
+                RuleBasedModelResultLoaderOptions.builder()
+                        .modelResultStoreRegistry(storeRegistry)
+                        .modelResultStoreFactory(new OffHeapModelResultStoreFactory(null))
+                        .clock(clock)
+                        .build()
+        );
+        ModelResultLoaderInput input = new ModelResultLoaderInput("testBucket", "testKey", "testVendor", "storeModel", ModelValueType.LowValue);
+        Instant prefetchTime = Instant.parse("2023-05-20T10:59:00Z");
+        Instant hourStart = Instant.parse("2023-05-20T11:00:00Z");
+        Instant loadTime = Instant.parse("2023-05-20T11:00:05Z");
+
+        clock.setInstant(prefetchTime);
+        InputStream firstResponseInputStream = new ResponseInputStream<>(GetObjectResponse.builder().eTag("nextETag").build(),
+                new ByteArrayInputStream("result3".getBytes(StandardCharsets.UTF_8)));
+        InputStream secondInputStream = mock(InputStream.class);
+        InputStream secondResponseInputStream = new ResponseInputStream<>(GetObjectResponse.builder().eTag("nextETag").build(), secondInputStream);
+        when(mockFileDao.get("testBucket", "testVendor/2023-05-20/11/testKey"))
+                .thenReturn(Optional.of(firstResponseInputStream))
+                .thenReturn(Optional.of(secondResponseInputStream));
+        when(mockFileIdentifierCacheDao.get(anyString(), anyString())).thenReturn(Optional.empty());
+        assertEquals(ModelResultPrefetchResult.Staged, loader.prefetch(input, hourStart));
+
+        // Act
+        clock.setInstant(loadTime);
+        boolean result = loader.load(input);
+
+        // Assert
+        assertTrue(result);
+        assertTrue(storeRegistry.get("storeModel").get().contains("result3"));
+        assertEquals(0, loader.activatePrefetchedStores());
+        when(mockFileIdentifierCacheDao.get(anyString(), eq("storeModel"))).thenReturn(Optional.of("nextETag"));
+        assertEquals(ModelResultPrefetchResult.Live, loader.prefetch(input, hourStart));
+    }
+
+    @Test
+    void testPrefetch_SkipsStoresSharedAcrossProcesses() {
+        // Arrange
+        ModelResultStoreFactory mockStoreFactory = mock(ModelResultStoreFactory.class);
+        when(mockStoreFactory.isSharedAcrossProcesses()).thenReturn(true);
+        loader = new RuleBasedModelResultLoader(
+                mockFileIdentifierCacheDao,
+                spyModelResultsCacheDao,
+                mockFileDao,
+                RuleBasedModelResultLoaderOptions.builder()
+                        .modelResultStoreRegistry(new ModelResultStoreRegistry(new ConcurrentHashMap<>()))
+                        .modelResultStoreFactory(mockStoreFactory)
+                        .clock(clock)
+                        .build()
+        );
+        ModelResultLoaderInput input = new ModelResultLoaderInput("testBucket", "testKey", "testVendor", "sharedModel", ModelValueType.LowValue);
+        Instant prefetchTime = Instant.parse("2023-05-20T10:59:00Z");
+        Instant hourStart = Instant.parse("2023-05-20T11:00:00Z");
+
+        clock.setInstant(prefetchTime);
+
+        // Act
+        ModelResultPrefetchResult result = loader.prefetch(input, hourStart);
+
+        // Assert
+        assertEquals(ModelResultPrefetchResult.Unavailable, result);
+        verify(mockFileDao, never()).get(anyString(), anyString());
+        verify(mockStoreFactory, never()).newBuilder(anyString(), anyString(), anyDouble(), anyString());
+    }
+
+    @Test
+    void testLoad_AppliesDelta() {
+        // Arrange
+        ModelResultStoreRegistry storeRegistry = new ModelResultStoreRegistry(new ConcurrentHashMap<>());
+        loader = new RuleBasedModelResultLoader(
+                mockFileIdentifierCacheDao,
+                spyModelResultsCacheDao,
+                mockFileDao,
+                RuleBasedModelResultLoaderOptions.builder()
+                        .modelResultStoreRegistry(storeRegistry)
+                        .modelResultStoreFactory(new OffHeapModelResultStoreFactory(null))
+                        .maxStoreStalenessMs(RuleBasedModelResultLoader.DEFAULT_MAX_STORE_STALENESS_MS)
+                        .maxDeltaOverlayRatio(0.5)
+                        .clock(clock)
+                        .build()
+        );
+        ModelResultLoaderInput input = new ModelResultLoaderInput("testBucket", "testKey.csv", "testVendor", "storeModel", ModelValueType.LowValue);
+        Instant firstLoadTime = Instant.parse("2023-05-20T10:15:30Z");
+        Instant secondLoadTime = Instant.parse("2023-05-20T11:05:00Z");
+
+        clock.setInstant(firstLoadTime);
+        when(mockFileDao.get("testBucket", "testVendor/2023-05-20/10/testKey.csv"))
+                .thenReturn(Optional.of(getResponseInputStream("baseETag", "result1\nresult2\nresult3\nresult4")));
+        when(mockFileDao.get("testBucket", "testVendor/2023-05-20/11/testKey.delta.csv"))
+                .thenAnswer(invocation -> Optional.of(getResponseInputStream("deltaETag", "#base=baseETag\n+result5\n-result1")));
+        when(mockFileDao.get("testBucket", "testVendor/2023-05-20/11/testKey.csv"))
+                .thenAnswer(invocation -> Optional.of(getResponseInputStream("fullETag", "result2\nresult3\nresult4\nresult5")));
+        stubFileIdentifierCache();
+        assertTrue(loader.load(input));
+
+        // Act
+        clock.setInstant(secondLoadTime);
+        boolean result = loader.load(input);
+        boolean secondResult = loader.load(input);
+
+        // Assert
+        assertTrue(result);
+        assertFalse(secondResult);
+        ModelResultStore store = storeRegistry.get("storeModel").get();
+        assertEquals("deltaETag", store.getVersion());
+        assertEquals(4, store.getEntryCount());
+        assertFalse(store.contains("result1"));
+        assertTrue(store.contains("result2"));
+        assertTrue(store.contains("result5"));
+        assertEquals(2, loader.getLoadStatistics("storeModel").get().getItemCount());
+        assertEquals("deltaETag", loader.getLoadStatistics("storeModel").get().getFileIdentifier());
+        assertEquals(secondLoadTime.toEpochMilli(), loader.getModelResultStatus("storeModel").get().getConfirmedAtMs());
+    }
+
+    @Test
+    void testLoad_FullFileReplacedAfterDeltaLoadsFullFile() {
+        // Arrange
+        ModelResultStoreRegistry storeRegistry = new ModelResultStoreRegistry(new ConcurrentHashMap<>());
+        loader = new RuleBasedModelResultLoader(
+                mockFileIdentifierCacheDao,
+                spyModelResultsCacheDao,
+                mockFileDao,
+                RuleBasedModelResultLoaderOptions.builder()
+                        .modelResultStoreRegistry(storeRegistry)
+                        .modelResultStoreFactory(new OffHeapModelResultStoreFactory(null))
+                        .maxStoreStalenessMs(RuleBasedModelResultLoader.DEFAULT_MAX_STORE_STALENESS_MS)
+                        .maxDeltaOverlayRatio(0.5)
+                        .clock(clock)
+                        .build()
+        );
+        ModelResultLoaderInput input = new ModelResultLoaderInput("testBucket", "testKey.csv", "testVendor", "storeModel", ModelValueType.LowValue);
+        Instant firstLoadTime = Instant.parse("2023-05-20T10:15:30Z");
+        Instant secondLoadTime = Instant.parse("2023-05-20T11:05:00Z");
+
+        clock.setInstant(firstLoadTime);
+        when(mockFileDao.get("testBucket", "testVendor/2023-05-20/10/testKey.csv"))
+                .thenReturn(Optional.of(getResponseInputStream("baseETag", "result1\nresult2\nresult3\nresult4")));
+        when(mockFileDao.get("testBucket", "testVendor/2023-05-20/11/testKey.delta.csv"))
+                .thenAnswer(invocation -> Optional.of(getResponseInputStream("deltaETag", "#base=baseETag\n+result5\n-result1")));
+        when(mockFileDao.get("testBucket", "testVendor/2023-05-20/11/testKey.csv"))
+                .thenReturn(Optional.of(getResponseInputStream("fullETag", "result2\nresult3\nresult4\nresult5")))
+                .thenReturn(Optional.of(getResponseInputStream("replacedETag", "result6\nresult7")));
+        stubFileIdentifierCache();
+        assertTrue(loader.load(input));
+        clock.setInstant(secondLoadTime);
+        assertTrue(loader.load(input));
+
+        // Act
+        // the full model result file is replaced, but the delta of the hour is left in place
+        boolean result = loader.load(input);
+
+        // Assert
+        assertTrue(result);
+        ModelResultStore store = storeRegistry.get("storeModel").get();
+        assertEquals("replacedETag", store.getVersion());
+        assertEquals(2, store.getEntryCount());
+        assertFalse(store.contains("result5"));
+        assertTrue(store.contains("result7"));
+        assertEquals("replacedETag", loader.getLoadStatistics("storeModel").get().getFileIdentifier());
+    }
+
+    @Test
+    void testLoad_DeltaOfOtherBaseLoadsFullFile() {
+        // Arrange
+        ModelResultStoreRegistry storeRegistry = new ModelResultStoreRegistry(new ConcurrentHashMap<>());
+        loader = new RuleBasedModelResultLoader(
+                mockFileIdentifierCacheDao,
+                spyModelResultsCacheDao,
+                mockFileDao,
+                RuleBasedModelResultLoaderOptions.builder()
+                        .modelResultStoreRegistry(storeRegistry)
+                        .modelResultStoreFactory(new OffHeapModelResultStoreFactory(null))
+                        .maxStoreStalenessMs(RuleBasedModelResultLoader.DEFAULT_MAX_STORE_STALENESS_MS)
+                        .maxDeltaOverlayRatio(0.5)
+                        .clock(clock)
+                        .build()
+        );
+        ModelResultLoaderInput input = new ModelResultLoaderInput("testBucket", "testKey.csv", "testVendor", "storeModel", ModelValueType.LowValue);
+        Instant firstLoadTime = Instant.parse("2023-05-20T10:15:30Z");
+        Instant secondLoadTime = Instant.parse("2023-05-20T11:05:00Z");
+
+        clock.setInstant(firstLoadTime);
+        when(mockFileDao.get("testBucket", "testVendor/2023-05-20/10/testKey.csv"))
+                .thenReturn(Optional.of(getResponseInputStream("baseETag", "result1\nresult2")));
+        when(mockFileDao.get("testBucket", "testVendor/2023-05-20/11/testKey.delta.csv"))
+                .thenReturn(Optional.of(getResponseInputStream("deltaETag", "#base=otherETag\n+result5")));
+        when(mockFileDao.get("testBucket", "testVendor/2023-05-20/11/testKey.csv"))
+                .thenReturn(Optional.of(getResponseInputStream("nextETag", "result9")));
+        when(mockFileIdentifierCacheDao.get(anyString(), anyString())).thenReturn(Optional.empty());
+        assertTrue(loader.load(input));
+
+        // Act
+        clock.setInstant(secondLoadTime);
+        boolean result = loader.load(input);
+
+        // Assert
+        assertTrue(result);
+        ModelResultStore store = storeRegistry.get("storeModel").get();
+        assertEquals("nextETag", store.getVersion());
+        assertTrue(store.contains("result9"));
+        assertFalse(store.contains("result5"));
+    }
+
+    @Test
+    void testLoad_DeltaExceedingMaxOverlayRatioLoadsFullFile() {
+        // Arrange
+        ModelResultStoreRegistry storeRegistry = new ModelResultStoreRegistry(new ConcurrentHashMap<>());
+        loader = new RuleBasedModelResultLoader(
+                mockFileIdentifierCacheDao,
+                spyModelResultsCacheDao,
+                mockFileDao,
+                RuleBasedModelResultLoaderOptions.builder()
+                        .modelResultStoreRegistry(storeRegistry)
+                        .modelResultStoreFactory(new OffHeapModelResultStoreFactory(null))
+                        .maxStoreStalenessMs(RuleBasedModelResultLoader.DEFAULT_MAX_STORE_STALENESS_MS)
+                        .maxDeltaOverlayRatio(0.25)
+                        .clock(clock)
+                        .build()
+        );
+        ModelResultLoaderInput input = new ModelResultLoaderInput("testBucket", "testKey.csv", "testVendor", "storeModel", ModelValueType.LowValue);
+        Instant firstLoadTime = Instant.parse("2023-05-20T10:15:30Z");
+        Instant secondLoadTime = Instant.parse("2023-05-20T11:05:00Z");
+
+        clock.setInstant(firstLoadTime);
+        when(mockFileDao.get("testBucket", "testVendor/2023-05-20/10/testKey.csv"))
+                .thenReturn(Optional.of(getResponseInputStream("baseETag", "result1\nresult2\nresult3\nresult4")));
+        when(mockFileDao.get("testBucket", "testVendor/2023-05-20/11/testKey.delta.csv"))
+                .thenReturn(Optional.of(getResponseInputStream("deltaETag", "#base=baseETag\n+result5\n+result6")));
+        when(mockFileDao.get("testBucket", "testVendor/2023-05-20/11/testKey.csv"))
+                .thenReturn(Optional.of(getResponseInputStream("nextETag", "result5\nresult6")));
+        when(mockFileIdentifierCacheDao.get(anyString(), anyString())).thenReturn(Optional.empty());
+        assertTrue(loader.load(input));
+
+        // Act
+        clock.setInstant(secondLoadTime);
+        boolean result = loader.load(input);
+
+        // Assert
+        assertTrue(result);
+        ModelResultStore store = storeRegistry.get("storeModel").get();
+        assertEquals("nextETag", store.getVersion());
+        assertEquals(2, store.getEntryCount());
+    }
+
+    @Test
+    void testConstructor_InvalidDeltaOverlayRatio() {
+        assertThrows(IllegalArgumentException.class, () -> new RuleBasedModelResultLoader(
+                mockFileIdentifierCacheDao,
+                spyModelResultsCacheDao,
+                mockFileDao,
+                RuleBasedModelResultLoaderOptions.builder()
+                        .maxStoreStalenessMs(RuleBasedModelResultLoader.DEFAULT_MAX_STORE_STALENESS_MS)
+                        .maxDeltaOverlayRatio(-0.1)
+                        .build()
+        ));
+    }
+
+    @Test
+    void testLoad_Throttled() {
+        // Arrange
+        ModelResultLoadThrottle loadThrottle = new ModelResultLoadThrottle(ModelResultLoadThrottle.UNLIMITED_ROWS_PER_SECOND,
+                () -> 2000000L, 1000000L, TimeUnit.MILLISECONDS.toNanos(20L));
+        loader = new RuleBasedModelResultLoader(
+                mockFileIdentifierCacheDao,
+                spyModelResultsCacheDao,
+                mockFileDao,
+                RuleBasedModelResultLoaderOptions.builder()
+                        .modelResultStoreRegistry(new ModelResultStoreRegistry(new ConcurrentHashMap<>()))
+                        .modelResultStoreFactory(new OffHeapModelResultStoreFactory(null))
+                        .maxStoreStalenessMs(RuleBasedModelResultLoader.DEFAULT_MAX_STORE_STALENESS_MS)
+                        .loadThrottle(loadThrottle)
+                        .clock(clock)
+                        .build()
+        );
+        ModelResultLoaderInput input = new ModelResultLoaderInput("testBucket", "testKey", "testVendor", "storeModel", ModelValueType.LowValue);
+        StringBuilder content = new StringBuilder();
+        for (int i = 0; i < ModelResultLoadThrottle.ROWS_PER_BATCH; i++) {
+            content.append("result").append(i).append('\n');
         }
+        Instant loadTime = Instant.parse("2023-05-20T10:15:30Z");
+
+        clock.setInstant(loadTime);
+        when(mockFileDao.get("testBucket", "testVendor/2023-05-20/10/testKey"))
+                .thenReturn(Optional.of(getResponseInputStream("eTag", content.toString())));
+        when(mockFileIdentifierCacheDao.get(anyString(), anyString())).thenReturn(Optional.empty());
+
+        // Act
+        boolean result = loader.load(input);
+
+        // Assert
+        assertTrue(result);
+        assertEquals(ModelResultLoadThrottle.ROWS_PER_BATCH, loader.getLoadStatistics("storeModel").get().getItemCount());
+        assertTrue(loader.getLoadStatistics("storeModel").get().getThrottleDurationMs() >= 20L);
+        assertEquals(1L, loadThrottle.getPauseCount());
+        assertTrue(loader.getLoadProgress("storeModel").isEmpty());
+    }
+
+    @Test
+    void testGetModelResultStatus() {
+        // Arrange
+        ModelResultLoaderInput input = new ModelResultLoaderInput("testBucket", "testKey", "testVendor", "testModel", ModelValueType.LowValue);
+        String fileKey = "testVendor/2023-05-20/10/testKey";
+        Instant now = Instant.parse("2023-05-20T10:15:30Z");
+        assertTrue(loader.getModelResultStatus("testModel").isEmpty());
+
+        clock.setInstant(now);
+        when(mockFileDao.get("testBucket", fileKey)).thenReturn(Optional.of(getResponseInputStream("eTag", "result1")));
+        when(mockFileIdentifierCacheDao.get(anyString(), anyString())).thenReturn(Optional.empty());
+
+        // Act
+        loader.load(input);
+
+        // Assert
+        ModelResultStatus status = loader.getModelResultStatus("testModel").get();
+        assertEquals("testModel", status.getModelIdentifier());
+        assertEquals(fileKey, status.getObjectKey());
+        assertEquals("eTag", status.getVersion());
+        assertEquals(now.toEpochMilli(), status.getConfirmedAtMs());
+        assertEquals(now.toEpochMilli(), status.getLoadedAtMs());
+    }
+
+    @Test
+    void testGetModelResultStatus_Store() {
+        // Arrange
+        ModelResultStoreRegistry storeRegistry = new ModelResultStoreRegistry(new ConcurrentHashMap<>());
+        loader = new RuleBasedModelResultLoader(
+                mockFileIdentifierCacheDao,
+                spyModelResultsCacheDao,
+                mockFileDao,
+                RuleBasedModelResultLoaderOptions.builder()
+                        .modelResultStoreRegistry(storeRegistry)
+                        .modelResultStoreFactory(new OffHeapModelResultStoreFactory(null))
+                        .clock(clock)
+                        .build()
+        );
+        ModelResultLoaderInput input = new ModelResultLoaderInput("testBucket", "testKey", "testVendor", "storeModel", ModelValueType.HighValue);
+        String fileKey = "testVendor/2023-05-20/10/testKey";
+        Instant now = Instant.parse("2023-05-20T10:15:30Z");
+
+        clock.setInstant(now);
+        when(mockFileDao.get("testBucket", fileKey)).thenReturn(Optional.of(getResponseInputStream("eTag", "result1")));
+        when(mockFileIdentifierCacheDao.get(anyString(), anyString())).thenReturn(Optional.empty());
+        loader.load(input);
+
+        // Act
+        ModelResultStatus status = loader.getModelResultStatus("storeModel").get();
+        storeRegistry.deregister("storeModel");
+
+        // Assert
+        assertEquals("eTag", status.getVersion());
+        assertEquals(now.toEpochMilli(), status.getConfirmedAtMs());
+        assertTrue(loader.getModelResultStatus("storeModel").isEmpty());
+    }
+
+    @Test
+    void testLoad_ProjectsMemoryOfNewFile() {
+        // Arrange
+        ModelResultStoreRegistry storeRegistry = new ModelResultStoreRegistry(new ConcurrentHashMap<>());
+        loader = new RuleBasedModelResultLoader(
+                mockFileIdentifierCacheDao,
+                spyModelResultsCacheDao,
+                mockFileDao,
+                RuleBasedModelResultLoaderOptions.builder()
+                        .modelResultStoreRegistry(storeRegistry)
+                        .modelResultStoreFactory(new OffHeapModelResultStoreFactory(null))
+                        .clock(clock)
+                        .build()
+        );
+        ModelResultLoaderInput input = new ModelResultLoaderInput("testBucket", "testKey", "testVendor", "storeModel", ModelValueType.HighValue);
+        String fileKey = "testVendor/2023-05-20/10/testKey";
+        InputStream currentFile = getResponseInputStream("eTag1", "result1\nresult22");
+        String newContent = "result1\nresult2\nresult3\nresult4\n";
+        InputStream newFile = new ResponseInputStream<>(
+                GetObjectResponse.builder().eTag("eTag2").contentLength((long) newContent.length()).build(),
+                new ByteArrayInputStream(newContent.getBytes(StandardCharsets.UTF_8)));
+
+        clock.setInstant(Instant.parse("2023-05-20T10:15:30Z"));
+        when(mockFileDao.get("testBucket", fileKey))
+                .thenReturn(Optional.of(currentFile))
+                .thenReturn(Optional.of(newFile));
+        when(mockFileIdentifierCacheDao.get(anyString(), anyString())).thenReturn(Optional.empty());
+        loader.load(input);
+        long currentBytes = storeRegistry.get("storeModel").get().getMemoryFootprintBytes();
+        KeyLengthDistribution keyLengths = loader.getLoadStatistics("storeModel").get().getKeyLengthDistribution();
+        assertEquals(2, keyLengths.getCount());
+        assertEquals(7, keyLengths.getMinLength());
+        assertEquals(8, keyLengths.getMaxLength());
+        assertEquals(7.5, keyLengths.getMean());
+        assertTrue(loader.getMemoryProjection("storeModel").isEmpty());
+
+        // Act
+        loader.load(input);
+
+        // Assert
+        ModelMemoryProjection projection = loader.getMemoryProjection("storeModel").get();
+        assertEquals(fileKey, projection.getObjectKey());
+        assertEquals(newContent.length(), projection.getFileSizeBytes());
+        assertEquals(4, projection.getProjectedEntryCount());
+        assertEquals(currentBytes, projection.getCurrentBytes());
+        assertEquals(currentBytes * 2, projection.getProjectedBytes());
+        assertEquals(7.0, loader.getLoadStatistics("storeModel").get().getKeyLengthDistribution().getMean());
+    }
+
+    @Test
+    void testGetDeltaS3ObjectKey() {
+        assertEquals("testVendor/2023-05-20/10/testKey.delta.csv",
+                RuleBasedModelResultLoader.getDeltaS3ObjectKey("testVendor/2023-05-20/10/testKey.csv"));
+        assertEquals("testVendor/2023-05-20/10/testKey.delta",
+                RuleBasedModelResultLoader.getDeltaS3ObjectKey("testVendor/2023-05-20/10/testKey"));
+    }
+
+    @Test
+    void testGetS3ObjectKey_ForGivenTime() {
+        // Arrange
+        ModelResultLoaderInput input = new ModelResultLoaderInput("testBucket", "testKey", "testVendor", "testModel", ModelValueType.LowValue);
+
+        // Act
+        String result = loader.getS3ObjectKey(input, Instant.parse("2023-05-20T23:59:59Z"));
+
+        // Assert
+        assertEquals("testVendor/2023-05-20/23/testKey", result);
+    }
+
+    @Test
+    void testGetS3ObjectKey() {
+        // Arrange
+        ModelResultLoaderInput input = new ModelResultLoaderInput("testBucket", "testKey", "testVendor", "testModel", ModelValueType.LowValue);
+        clock.setInstant(Instant.parse("2023-05-20T10:15:30Z"));
+
+        // Act
+        String result = loader.getS3ObjectKey(input);
+
+        // Assert
+        assertEquals("testVendor/2023-05-20/10/testKey", result);
     }
 
     @Test
@@ -323,4 +1373,51 @@ class RuleBasedModelResultLoaderTest {
         assertNotNull(reader);
         assertEquals("test", reader.readLine());
     }
+
+    private static InputStream getResponseInputStream(String eTag, String content) {
+        return new ResponseInputStream<>(GetObjectResponse.builder().eTag(eTag).build(),
+                new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    private static PublishedModelResultStore publishedStore(String sourceKey, long publishedAtMs) {
+        return PublishedModelResultStore.builder()
+                .version("eTag")
+                .sourceKey(sourceKey)
+                .publishedAtMs(publishedAtMs)
+                .build();
+    }
+
+    private void stubFileIdentifierCache() {
+        Map<String, String> fileIdentifiers = new ConcurrentHashMap<>();
+        when(mockFileIdentifierCacheDao.get(anyString(), anyString()))
+                .thenAnswer(invocation -> Optional.ofNullable(fileIdentifiers.get(invocation.<String>getArgument(1))));
+        doAnswer(invocation -> fileIdentifiers.put(invocation.getArgument(1), invocation.getArgument(2)))
+                .when(mockFileIdentifierCacheDao).put(anyString(), anyString(), anyString());
+    }
+
+    /**
+     * A clock set by hand, so that a test moves the loader from one hour to the next.
+     */
+    private static final class TestClock extends Clock {
+        private Instant instant = Instant.parse("2023-05-20T10:15:30Z");
+
+        void setInstant(Instant instant) {
+            this.instant = instant;
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public Instant instant() {
+            return instant;
+        }
+    }
 }
@@ -25,7 +25,6 @@ import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.Mockito.any;
 import static org.mockito.Mockito.argThat;
-import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -38,6 +37,12 @@ class LocalCacheRegistryImplTest {
     @Mock
     private Cache mockCache;
 
+    @Mock
+    private Cache<Object, Object> newMockCache;
+
+    @Mock
+    private ConcurrentMap<Object, Object> existingCacheMap;
+
     private ConcurrentMap<String, ImmutablePair<Integer, Cache>> cacheMap;
     private LocalCacheRegistryImpl registry;
     private String cacheName;
@@ -138,8 +143,6 @@ class LocalCacheRegistryImplTest {
     void testRegisterCache_ExistingCache_DifferentConfig() throws Exception {
         // Arrange
         String cacheName = "existingCache";
-        Cache newMockCache = mock(Cache.class);
-        ConcurrentMap<Object, Object> existingCacheMap = mock(ConcurrentMap.class);
         when(mockLocalCacheFactory.getLocalCache(newMockConfig)).thenReturn(newMockCache);
         when(mockCache.asMap()).thenReturn(existingCacheMap);
         cacheMap.put(cacheName, ImmutablePair.of(mockConfig.hashCode(), mockCache));
@@ -153,6 +156,20 @@ class LocalCacheRegistryImplTest {
         verify(mockCache).cleanUp();
     }
 
+    @Test
+    void testGetCacheConfig() throws Exception {
+        // Arrange
+        when(mockLocalCacheFactory.getLocalCache(mockConfig)).thenReturn(mockCache);
+        assertTrue(registry.getCacheConfig(cacheName).isEmpty());
+
+        // Act
+        registry.registerCache(mockConfig);
+
+        // Assert
+        assertSame(mockConfig, registry.getCacheConfig(cacheName).get());
+        assertTrue(registry.getCacheConfig("otherCache").isEmpty());
+    }
+
     @Test
     void testRegisterCache_FactoryThrowsException() throws LocalCacheCreationException {
         // Arrange
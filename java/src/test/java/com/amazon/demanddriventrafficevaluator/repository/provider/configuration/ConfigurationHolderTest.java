@@ -0,0 +1,107 @@
+// Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+// SPDX-License-Identifier: Apache-2.0
+
+package com.amazon.demanddriventrafficevaluator.repository.provider.configuration;
+
+import com.amazon.demanddriventrafficevaluator.repository.entity.ModelConfiguration;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+@ExtendWith(MockitoExtension.class)
+class ConfigurationHolderTest {
+
+    @Mock
+    private ModelConfiguration mockConfiguration;
+    @Mock
+    private ModelConfiguration mockNextConfiguration;
+    @Mock
+    private ConfigurationListener<ModelConfiguration> mockListener;
+    @Mock
+    private ConfigurationListener<ModelConfiguration> mockOtherListener;
+    private ConfigurationHolder<ModelConfiguration> holder;
+
+    @BeforeEach
+    void setUp() {
+        holder = new ConfigurationHolder<>("Model Configuration");
+    }
+
+    @Test
+    void testProvide_NotPublished() {
+        IllegalStateException exception = assertThrows(IllegalStateException.class, () -> holder.provide());
+        assertEquals("Cannot get Model Configuration: it has not been loaded yet", exception.getMessage());
+        assertEquals(0L, holder.getVersion());
+    }
+
+    @Test
+    void testPublish() {
+        holder.publish(mockConfiguration);
+        assertSame(mockConfiguration, holder.provide());
+        assertEquals(1L, holder.getVersion());
+
+        holder.publish(mockNextConfiguration);
+        assertSame(mockNextConfiguration, holder.provide());
+        assertEquals(2L, holder.getVersion());
+    }
+
+    @Test
+    void testPublish_Null() {
+        assertThrows(IllegalArgumentException.class, () -> holder.publish(null));
+        assertEquals(0L, holder.getVersion());
+    }
+
+    @Test
+    void testSubscribe_NotifiesPublications() {
+        holder.subscribe(mockListener);
+        verifyNoInteractions(mockListener);
+
+        holder.publish(mockConfiguration);
+        holder.publish(mockNextConfiguration);
+
+        verify(mockListener).onConfigurationChange(mockConfiguration, 1L);
+        verify(mockListener).onConfigurationChange(mockNextConfiguration, 2L);
+    }
+
+    @Test
+    void testSubscribe_ReplaysCurrentConfiguration() {
+        holder.publish(mockConfiguration);
+
+        holder.subscribe(mockListener);
+
+        verify(mockListener).onConfigurationChange(mockConfiguration, 1L);
+    }
+
+    @Test
+    void testPublish_ListenerFailure() {
+        RuntimeException failure = new IllegalStateException("Invalid configuration");
+        doThrow(failure).when(mockListener).onConfigurationChange(mockConfiguration, 1L);
+        holder.subscribe(mockListener);
+        holder.subscribe(mockOtherListener);
+
+        RuntimeException exception = assertThrows(RuntimeException.class, () -> holder.publish(mockConfiguration));
+
+        assertSame(failure, exception);
+        verify(mockOtherListener).onConfigurationChange(mockConfiguration, 1L);
+        assertSame(mockConfiguration, holder.provide());
+    }
+
+    @Test
+    void testUnsubscribe() {
+        holder.subscribe(mockListener);
+        holder.unsubscribe(mockListener);
+
+        holder.publish(mockConfiguration);
+
+        verify(mockListener, never()).onConfigurationChange(mockConfiguration, 1L);
+    }
+}
@@ -0,0 +1,151 @@
+// Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+// SPDX-License-Identifier: Apache-2.0
+
+package com.amazon.demanddriventrafficevaluator.repository.provider.model;
+
+import com.amazon.demanddriventrafficevaluator.modelfeature.ModelFeature;
+import com.amazon.demanddriventrafficevaluator.repository.entity.ModelResult;
+import com.amazon.demanddriventrafficevaluator.repository.store.ModelResultStore;
+import com.amazon.demanddriventrafficevaluator.repository.store.ModelResultStoreRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@ExtendWith(MockitoExtension.class)
+class ModelResultMemoTest {
+
+    @Mock
+    private ModelResultStore mockStore1;
+
+    @Mock
+    private ModelResultStore mockStore2;
+
+    private ModelResultStoreRegistry registry;
+    private ModelResultMemo memo;
+    private AtomicInteger computeCount;
+
+    @BeforeEach
+    void setUp() {
+        registry = new ModelResultStoreRegistry(new ConcurrentHashMap<>());
+        memo = new ModelResultMemo(100, registry);
+        computeCount = new AtomicInteger();
+    }
+
+    @Test
+    void testConstructor_RoundsCapacityUp() {
+        assertEquals(128, memo.getCapacity());
+        assertEquals(64, new ModelResultMemo(64, registry).getCapacity());
+        assertThrows(IllegalArgumentException.class, () -> new ModelResultMemo(0, registry));
+    }
+
+    @Test
+    void testGetOrCompute_MemoizesTuple() {
+        // Arrange
+        registry.register("model1", mockStore1);
+
+        // Act
+        ModelResult first = memo.getOrCompute("model1", features("app", "US"), supplier(0.0));
+        ModelResult second = memo.getOrCompute("model1", features("app", "US"), supplier(1.0));
+
+        // Assert
+        assertSame(first, second);
+        assertEquals(1, computeCount.get());
+        assertEquals(1L, memo.getHitCount());
+        assertEquals(1L, memo.getMissCount());
+        assertEquals(0.5, memo.getHitRate());
+        assertEquals(1, memo.getEntryCount());
+        assertTrue(memo.getMemoryFootprintBytes() > 0L);
+    }
+
+    @Test
+    void testGetOrCompute_DistinguishesTuplesAndModels() {
+        // Arrange
+        registry.register("model1", mockStore1);
+        registry.register("model2", mockStore2);
+        memo.getOrCompute("model1", features("app", "US"), supplier(0.0));
+
+        // Act
+        ModelResult otherTuple = memo.getOrCompute("model1", features("app", "CA"), supplier(1.0));
+        ModelResult otherModel = memo.getOrCompute("model2", features("app", "US"), supplier(1.0));
+
+        // Assert
+        assertEquals(1.0, otherTuple.getValue());
+        assertEquals(1.0, otherModel.getValue());
+        assertEquals(3, computeCount.get());
+        assertEquals(0L, memo.getHitCount());
+    }
+
+    @Test
+    void testGetOrCompute_StoreSwapInvalidates() {
+        // Arrange
+        registry.register("model1", mockStore1);
+        memo.getOrCompute("model1", features("app", "US"), supplier(0.0));
+
+        // Act
+        registry.register("model1", mockStore2);
+        ModelResult result = memo.getOrCompute("model1", features("app", "US"), supplier(1.0));
+
+        // Assert
+        assertEquals(1.0, result.getValue());
+        assertEquals(2, computeCount.get());
+        assertEquals(1, memo.getEntryCount());
+    }
+
+    @Test
+    void testGetOrCompute_NoStoreIsNotMemoized() {
+        // Act
+        memo.getOrCompute("model1", features("app", "US"), supplier(0.0));
+        memo.getOrCompute("model1", features("app", "US"), supplier(0.0));
+
+        // Assert
+        assertEquals(2, computeCount.get());
+        assertEquals(0L, memo.getHitCount());
+        assertEquals(0L, memo.getMissCount());
+        assertEquals(0.0, memo.getHitRate());
+        assertEquals(0, memo.getEntryCount());
+    }
+
+    @Test
+    void testHash_SeparatesFeatures() {
+        List<ModelFeature> twoValuesThenOne = List.of(
+                ModelFeature.builder().values(List.of("a", "b")).build(),
+                ModelFeature.builder().values(List.of("c")).build());
+        List<ModelFeature> oneValueThenTwo = List.of(
+                ModelFeature.builder().values(List.of("a")).build(),
+                ModelFeature.builder().values(List.of("b", "c")).build());
+
+        assertNotEquals(ModelResultMemo.hash("model1", twoValuesThenOne), ModelResultMemo.hash("model1", oneValueThenTwo));
+        assertEquals(ModelResultMemo.hash("model1", twoValuesThenOne), ModelResultMemo.hash("model1", List.copyOf(twoValuesThenOne)));
+    }
+
+    private Supplier<ModelResult> supplier(double value) {
+        return () -> {
+            computeCount.incrementAndGet();
+            return ModelResult.builder()
+                    .keys(List.of("key"))
+                    .values(List.of(value))
+                    .value(value)
+                    .build();
+        };
+    }
+
+    private static List<ModelFeature> features(String... values) {
+        return Arrays.stream(values)
+                .map(value -> ModelFeature.builder().values(List.of(value)).build())
+                .toList();
+    }
+}
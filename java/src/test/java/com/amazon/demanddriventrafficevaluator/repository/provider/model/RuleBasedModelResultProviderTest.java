@@ -8,6 +8,10 @@ import com.amazon.demanddriventrafficevaluator.repository.dao.Dao;
 import com.amazon.demanddriventrafficevaluator.repository.entity.ModelDefinition;
 import com.amazon.demanddriventrafficevaluator.repository.entity.ModelResult;
 import com.amazon.demanddriventrafficevaluator.repository.entity.ModelValueType;
+import com.amazon.demanddriventrafficevaluator.repository.filter.ModelResultFilter;
+import com.amazon.demanddriventrafficevaluator.repository.filter.ModelResultFilterRegistry;
+import com.amazon.demanddriventrafficevaluator.repository.store.ModelResultStore;
+import com.amazon.demanddriventrafficevaluator.repository.store.ModelResultStoreRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -18,12 +22,15 @@ import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -317,6 +324,79 @@ class RuleBasedModelResultProviderTest {
         assertEquals(Collections.singletonList("A|1"), result);
     }
 
+    @Test
+    void testProvide_WithFilter_SkipsDefinitelyAbsentKeys() {
+        // Arrange
+        ModelResultFilterRegistry filterRegistry = new ModelResultFilterRegistry(new ConcurrentHashMap<>());
+        filterRegistry.register("model1", ModelResultFilter.builder(0.0001).put("a|1").build());
+        provider = new RuleBasedModelResultProvider(mockRuleBasedModelResultDao, filterRegistry);
+        List<ModelFeature> modelFeatures = Arrays.asList(
+                createModelFeature("a", "b"),
+                createModelFeature("1")
+        );
+        when(mockInput.getModelFeatures()).thenReturn(modelFeatures);
+        when(mockInput.getModelDefinition()).thenReturn(mockModelDefinition);
+        when(mockModelDefinition.getIdentifier()).thenReturn("model1");
+        when(mockModelDefinition.getType()).thenReturn(ModelValueType.LowValue);
+        when(mockRuleBasedModelResultDao.get("model1", "a|1")).thenReturn(Optional.of(0.0));
+
+        // Act
+        ModelResult result = provider.provide(mockInput);
+
+        // Assert
+        assertEquals(Arrays.asList("a|1", "b|1"), result.getKeys());
+        assertEquals(Arrays.asList(0.0, 1.0), result.getValues());
+        assertEquals(0.0, result.getValue());
+        verify(mockRuleBasedModelResultDao).get("model1", "a|1");
+        verify(mockRuleBasedModelResultDao, never()).get("model1", "b|1");
+    }
+
+    @Test
+    void testProvide_WithFilterRegistry_NoFilterForModel() {
+        // Arrange
+        ModelResultFilterRegistry filterRegistry = new ModelResultFilterRegistry(new ConcurrentHashMap<>());
+        provider = new RuleBasedModelResultProvider(mockRuleBasedModelResultDao, filterRegistry);
+        List<ModelFeature> modelFeatures = Collections.singletonList(createModelFeature("value1"));
+        when(mockInput.getModelFeatures()).thenReturn(modelFeatures);
+        when(mockInput.getModelDefinition()).thenReturn(mockModelDefinition);
+        when(mockModelDefinition.getIdentifier()).thenReturn("model1");
+        when(mockModelDefinition.getType()).thenReturn(ModelValueType.LowValue);
+        when(mockRuleBasedModelResultDao.get("model1", "value1")).thenReturn(Optional.of(0.0));
+
+        // Act
+        ModelResult result = provider.provide(mockInput);
+
+        // Assert
+        assertEquals(0.0, result.getValue());
+        verify(mockRuleBasedModelResultDao).get("model1", "value1");
+    }
+
+    @Test
+    void testProvide_WithMemo() {
+        // Arrange
+        ModelResultStoreRegistry storeRegistry = new ModelResultStoreRegistry(new ConcurrentHashMap<>());
+        storeRegistry.register("model1", mock(ModelResultStore.class));
+        provider = new RuleBasedModelResultProvider(mockRuleBasedModelResultDao, null, new ModelResultMemo(16, storeRegistry));
+        List<ModelFeature> modelFeatures = Arrays.asList(
+                createModelFeature("value1"),
+                createModelFeature("value2")
+        );
+        when(mockInput.getModelFeatures()).thenReturn(modelFeatures);
+        when(mockInput.getModelDefinition()).thenReturn(mockModelDefinition);
+        when(mockModelDefinition.getIdentifier()).thenReturn("model1");
+        when(mockModelDefinition.getType()).thenReturn(ModelValueType.LowValue);
+        when(mockRuleBasedModelResultDao.get("model1", "value1|value2")).thenReturn(Optional.of(0.5));
+
+        // Act
+        ModelResult first = provider.provide(mockInput);
+        ModelResult second = provider.provide(mockInput);
+
+        // Assert
+        assertSame(first, second);
+        assertEquals(0.5, second.getValue());
+        verify(mockRuleBasedModelResultDao, times(1)).get("model1", "value1|value2");
+    }
+
     private ModelFeature createModelFeature(String... values) {
         ModelFeature feature = mock(ModelFeature.class);
         when(feature.getValues()).thenReturn(Arrays.asList(values));
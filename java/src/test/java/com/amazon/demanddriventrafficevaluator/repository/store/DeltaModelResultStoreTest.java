@@ -0,0 +1,100 @@
+// Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+// SPDX-License-Identifier: Apache-2.0
+
+package com.amazon.demanddriventrafficevaluator.repository.store;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class DeltaModelResultStoreTest {
+
+    @Test
+    void testApply_AddsAndRemovesKeys() {
+        // Arrange
+        OffHeapModelResultStore baseStore = build("a|1", "b|2", "c|3");
+
+        // Act
+        DeltaModelResultStore store = DeltaModelResultStore.apply(baseStore, "deltaETag", List.of("d|4", "a|1"), List.of("b|2", "e|5"));
+
+        // Assert
+        assertEquals("deltaETag", store.getVersion());
+        assertEquals("\"eTag\"", store.getBaseVersion());
+        assertEquals(1.0, store.getValue());
+        assertEquals(3, store.getEntryCount());
+        assertEquals(2, store.getOverlayEntryCount());
+        assertTrue(store.contains("a|1"));
+        assertFalse(store.contains("b|2"));
+        assertTrue(store.contains("c|3"));
+        assertTrue(store.contains("d|4"));
+        assertFalse(store.contains("e|5"));
+        assertTrue(store.getMemoryFootprintBytes() > baseStore.getMemoryFootprintBytes());
+    }
+
+    @Test
+    void testApply_FoldsSuccessiveDeltasOverTheSameBase() {
+        // Arrange
+        OffHeapModelResultStore baseStore = build("a|1", "b|2", "c|3");
+        DeltaModelResultStore firstStore = DeltaModelResultStore.apply(baseStore, "firstETag", List.of("d|4"), List.of("a|1"));
+
+        // Act
+        DeltaModelResultStore secondStore = DeltaModelResultStore.apply(firstStore, "secondETag", List.of("a|1"), List.of("d|4", "c|3"));
+
+        // Assert
+        assertEquals("\"eTag\"", secondStore.getBaseVersion());
+        assertEquals(2, secondStore.getEntryCount());
+        assertEquals(1, secondStore.getOverlayEntryCount());
+        assertTrue(secondStore.contains("a|1"));
+        assertTrue(secondStore.contains("b|2"));
+        assertFalse(secondStore.contains("c|3"));
+        assertFalse(secondStore.contains("d|4"));
+        // the previous overlay is left unchanged
+        assertFalse(firstStore.contains("a|1"));
+        assertTrue(firstStore.contains("c|3"));
+        assertTrue(firstStore.contains("d|4"));
+    }
+
+    @Test
+    void testRelease_ReleasesBaseStoreWithLastOverlay() {
+        // Arrange
+        OffHeapModelResultStore baseStore = build("a|1");
+        DeltaModelResultStore firstStore = DeltaModelResultStore.apply(baseStore, "firstETag", List.of("b|2"), List.of());
+        DeltaModelResultStore secondStore = DeltaModelResultStore.apply(firstStore, "secondETag", List.of("c|3"), List.of());
+        baseStore.release();
+
+        // Act & Assert
+        firstStore.release();
+        assertFalse(baseStore.isReleased());
+        assertTrue(secondStore.contains("a|1"));
+        assertTrue(secondStore.tryAcquire());
+        secondStore.release();
+        secondStore.release();
+        assertTrue(baseStore.isReleased());
+        assertFalse(secondStore.tryAcquire());
+        assertThrows(IllegalStateException.class, secondStore::release);
+    }
+
+    @Test
+    void testApply_ReleasedBaseStore() {
+        // Arrange
+        OffHeapModelResultStore baseStore = build("a|1");
+        baseStore.release();
+
+        // Act & Assert
+        assertThrows(IllegalStateException.class, () -> DeltaModelResultStore.apply(baseStore, "deltaETag", List.of("b|2"), List.of()));
+    }
+
+    private static OffHeapModelResultStore build(String... keys) {
+        StagedRecords records = new StagedRecords();
+        for (String key : keys) {
+            records.append(key);
+        }
+        return OffHeapModelResultStore.build(records, "\"eTag\"", 1.0, ByteBuffer::allocateDirect, null);
+    }
+}
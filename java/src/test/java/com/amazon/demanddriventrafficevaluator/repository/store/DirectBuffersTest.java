@@ -0,0 +1,25 @@
+// Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+// SPDX-License-Identifier: Apache-2.0
+
+package com.amazon.demanddriventrafficevaluator.repository.store;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class DirectBuffersTest {
+
+    @Test
+    void testFree_DirectBuffer() {
+        assertTrue(DirectBuffers.free(ByteBuffer.allocateDirect(1024)));
+    }
+
+    @Test
+    void testFree_HeapBuffer() {
+        assertFalse(DirectBuffers.free(ByteBuffer.allocate(1024)));
+        assertFalse(DirectBuffers.free(null));
+    }
+}
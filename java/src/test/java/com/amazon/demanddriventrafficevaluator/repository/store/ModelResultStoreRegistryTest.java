@@ -0,0 +1,173 @@
+// Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+// SPDX-License-Identifier: Apache-2.0
+
+package com.amazon.demanddriventrafficevaluator.repository.store;
+
+import com.amazon.demanddriventrafficevaluator.repository.store.exception.ModelResultStoreMemoryBudgetExceededException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ModelResultStoreRegistryTest {
+
+    @Mock
+    private ModelResultStore mockStore1;
+
+    @Mock
+    private ModelResultStore mockStore2;
+
+    private ModelResultStoreRegistry registry;
+
+    @BeforeEach
+    void setUp() {
+        registry = new ModelResultStoreRegistry(new ConcurrentHashMap<>());
+    }
+
+    @Test
+    void testGet_NotRegistered() {
+        assertTrue(registry.get("model1").isEmpty());
+    }
+
+    @Test
+    void testRegisterAndGet() {
+        // Act
+        registry.register("model1", mockStore1);
+
+        // Assert
+        assertSame(mockStore1, registry.get("model1").get());
+        assertTrue(registry.get("model2").isEmpty());
+    }
+
+    @Test
+    void testRegister_ReplacesExisting() {
+        // Arrange
+        registry.register("model1", mockStore1);
+
+        // Act
+        registry.register("model1", mockStore2);
+
+        // Assert
+        assertSame(mockStore2, registry.get("model1").get());
+        verify(mockStore1).release();
+        verify(mockStore2, never()).release();
+    }
+
+    @Test
+    void testGetSnapshotVersion() {
+        assertEquals(ModelResultStoreRegistry.NO_SNAPSHOT, registry.getSnapshotVersion("model1"));
+
+        registry.register("model1", mockStore1);
+        long firstVersion = registry.getSnapshotVersion("model1");
+        registry.register("model1", mockStore1);
+        assertEquals(firstVersion, registry.getSnapshotVersion("model1"));
+
+        registry.register("model1", mockStore2);
+        long secondVersion = registry.getSnapshotVersion("model1");
+        assertTrue(secondVersion > firstVersion);
+
+        registry.deregister("model1");
+        assertEquals(ModelResultStoreRegistry.NO_SNAPSHOT, registry.getSnapshotVersion("model1"));
+        registry.register("model1", mockStore1);
+        assertTrue(registry.getSnapshotVersion("model1") > secondVersion);
+    }
+
+    @Test
+    void testRegister_SameStoreIsNotReleased() {
+        // Arrange
+        registry.register("model1", mockStore1);
+
+        // Act
+        registry.register("model1", mockStore1);
+
+        // Assert
+        assertSame(mockStore1, registry.get("model1").get());
+        verify(mockStore1, never()).release();
+    }
+
+    @Test
+    void testDeregister() {
+        // Arrange
+        registry.register("model1", mockStore1);
+
+        // Act
+        registry.deregister("model1");
+
+        // Assert
+        assertTrue(registry.get("model1").isEmpty());
+        verify(mockStore1).release();
+    }
+
+    @Test
+    void testMemoryFootprint() {
+        // Arrange
+        when(mockStore1.getMemoryFootprintBytes()).thenReturn(100L);
+        when(mockStore2.getMemoryFootprintBytes()).thenReturn(30L);
+        when(mockStore1.getEntryCount()).thenReturn(10L);
+        when(mockStore2.getEntryCount()).thenReturn(3L);
+
+        // Act
+        registry.register("model1", mockStore1);
+        registry.register("model2", mockStore2);
+
+        // Assert
+        assertEquals(130L, registry.getMemoryFootprintBytes());
+        assertEquals(13L, registry.getEntryCount());
+        registry.deregister("model1");
+        assertEquals(30L, registry.getMemoryFootprintBytes());
+        assertEquals(ModelResultStoreRegistry.UNLIMITED_MEMORY_BUDGET, registry.getMemoryBudgetBytes());
+    }
+
+    @Test
+    void testRegister_WithinMemoryBudget() {
+        // Arrange
+        registry = new ModelResultStoreRegistry(new ConcurrentHashMap<>(), 100L);
+        when(mockStore1.getMemoryFootprintBytes()).thenReturn(60L);
+        when(mockStore2.getMemoryFootprintBytes()).thenReturn(90L);
+        registry.register("model1", mockStore1);
+
+        // Act: the replaced store no longer counts against the budget
+        registry.register("model1", mockStore2);
+
+        // Assert
+        assertSame(mockStore2, registry.get("model1").get());
+        assertEquals(90L, registry.getMemoryFootprintBytes());
+        assertEquals(0L, registry.getRejectedRegistrationCount());
+    }
+
+    @Test
+    void testRegister_ExceedsMemoryBudget() {
+        // Arrange
+        registry = new ModelResultStoreRegistry(new ConcurrentHashMap<>(), 100L);
+        when(mockStore1.getMemoryFootprintBytes()).thenReturn(60L);
+        when(mockStore2.getMemoryFootprintBytes()).thenReturn(50L);
+        registry.register("model1", mockStore1);
+
+        // Act & Assert
+        ModelResultStoreMemoryBudgetExceededException exception = assertThrows(ModelResultStoreMemoryBudgetExceededException.class,
+                () -> registry.register("model2", mockStore2));
+        assertTrue(exception.getMessage().contains("model2"));
+        assertTrue(registry.get("model2").isEmpty());
+        assertSame(mockStore1, registry.get("model1").get());
+        assertEquals(60L, registry.getMemoryFootprintBytes());
+        assertEquals(1L, registry.getRejectedRegistrationCount());
+        verify(mockStore2, never()).release();
+    }
+
+    @Test
+    void testConstructor_InvalidMemoryBudget() {
+        assertThrows(IllegalArgumentException.class, () -> new ModelResultStoreRegistry(new ConcurrentHashMap<>(), -1L));
+    }
+}
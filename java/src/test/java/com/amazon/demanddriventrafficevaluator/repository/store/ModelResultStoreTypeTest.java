@@ -0,0 +1,25 @@
+// Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+// SPDX-License-Identifier: Apache-2.0
+
+package com.amazon.demanddriventrafficevaluator.repository.store;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class ModelResultStoreTypeTest {
+
+    @ParameterizedTest
+    @EnumSource(ModelResultStoreType.class)
+    void testFromString(ModelResultStoreType type) {
+        assertEquals(type, ModelResultStoreType.fromString(type.name()));
+    }
+
+    @Test
+    void testFromString_WithInvalidValue() {
+        assertThrows(IllegalArgumentException.class, () -> ModelResultStoreType.fromString("InvalidType"));
+    }
+}
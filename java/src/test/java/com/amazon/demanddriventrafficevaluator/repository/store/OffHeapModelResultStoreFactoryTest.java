@@ -0,0 +1,92 @@
+// Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+// SPDX-License-Identifier: Apache-2.0
+
+package com.amazon.demanddriventrafficevaluator.repository.store;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class OffHeapModelResultStoreFactoryTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void testNewBuilder_DirectBuffer() {
+        // Arrange
+        OffHeapModelResultStoreFactory factory = new OffHeapModelResultStoreFactory(null);
+
+        // Act
+        ModelResultStore store = build(factory, "model1", "\"eTag1\"", "a|1", "b|2");
+
+        // Assert
+        assertEquals(2, store.getEntryCount());
+        assertEquals("\"eTag1\"", store.getVersion());
+        assertEquals(0.0, store.getValue());
+        assertTrue(store.contains("a|1"));
+        assertTrue(store.contains("b|2"));
+        assertFalse(store.contains("c|3"));
+        assertTrue(factory.restore("model1", "\"eTag1\"", 0.0).isEmpty());
+    }
+
+    @Test
+    void testNewBuilder_MappedFileIsDeletedOnRelease() throws IOException {
+        // Arrange
+        OffHeapModelResultStoreFactory factory = new OffHeapModelResultStoreFactory(directory);
+
+        // Act
+        ModelResultStore store = build(factory, "model/1", "\"eTag1\"", "a|1", "b|2");
+
+        // Assert
+        assertTrue(store.contains("a|1"));
+        assertFalse(store.contains("c|3"));
+        assertEquals(1, countFiles());
+
+        // Act
+        store.release();
+
+        // Assert
+        assertEquals(0, countFiles());
+    }
+
+    @Test
+    void testNewBuilder_VersionsAreMappedSeparately() throws IOException {
+        // Arrange
+        OffHeapModelResultStoreFactory factory = new OffHeapModelResultStoreFactory(directory);
+        ModelResultStore store1 = build(factory, "model1", "\"eTag1\"", "a|1");
+
+        // Act
+        ModelResultStore store2 = build(factory, "model1", "\"eTag2\"", "b|2");
+
+        // Assert
+        assertEquals(2, countFiles());
+        assertTrue(store1.contains("a|1"));
+        assertTrue(store2.contains("b|2"));
+        store1.release();
+        assertEquals(1, countFiles());
+        assertTrue(store2.contains("b|2"));
+    }
+
+    private long countFiles() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.count();
+        }
+    }
+
+    private static ModelResultStore build(OffHeapModelResultStoreFactory factory, String modelIdentifier, String version, String... keys) {
+        ModelResultStoreBuilder builder = factory.newBuilder(modelIdentifier, version, 0.0);
+        for (String key : keys) {
+            builder.put(key);
+        }
+        return builder.build();
+    }
+}
@@ -0,0 +1,178 @@
+// Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+// SPDX-License-Identifier: Apache-2.0
+
+package com.amazon.demanddriventrafficevaluator.repository.store;
+
+import org.junit.jupiter.api.Test;
+
+import java.lang.management.BufferPoolMXBean;
+import java.lang.management.ManagementFactory;
+import java.nio.ByteBuffer;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class OffHeapModelResultStoreTest {
+
+    private static final int KEY_COUNT = 100000;
+
+    @Test
+    void testContains_AllMembers() {
+        // Act
+        OffHeapModelResultStore store = build(null, keys(KEY_COUNT));
+
+        // Assert
+        assertEquals(KEY_COUNT, store.getEntryCount());
+        for (int i = 0; i < KEY_COUNT; i++) {
+            assertTrue(store.contains(key(i)));
+        }
+    }
+
+    @Test
+    void testContains_RejectsNonMembers() {
+        // Arrange
+        OffHeapModelResultStore store = build(null, keys(KEY_COUNT));
+
+        // Act & Assert
+        for (int i = KEY_COUNT; i < 2 * KEY_COUNT; i++) {
+            assertFalse(store.contains(key(i)));
+        }
+        assertFalse(store.contains(""));
+        assertFalse(store.contains("0|"));
+    }
+
+    @Test
+    void testContains_NonAsciiKeys() {
+        // Arrange
+        OffHeapModelResultStore store = build(null, "café|1", "€|2", "😀|3", "bad\ud800|4");
+
+        // Act & Assert
+        assertTrue(store.contains("café|1"));
+        assertTrue(store.contains("€|2"));
+        assertTrue(store.contains("😀|3"));
+        // unpaired surrogates are stored the way String.getBytes encodes them
+        assertTrue(store.contains("bad\ud800|4"));
+        assertTrue(store.contains("bad?|4"));
+        assertFalse(store.contains("cafe|1"));
+    }
+
+    @Test
+    void testBuild_DuplicateKeys() {
+        // Act
+        OffHeapModelResultStore store = build(null, "a|1", "b|2", "a|1");
+
+        // Assert
+        assertEquals(2, store.getEntryCount());
+        assertTrue(store.contains("a|1"));
+        assertTrue(store.contains("b|2"));
+    }
+
+    @Test
+    void testBuild_Empty() {
+        // Act
+        OffHeapModelResultStore store = build(null);
+
+        // Assert
+        assertEquals(0, store.getEntryCount());
+        assertFalse(store.contains("a|1"));
+    }
+
+    @Test
+    void testGetters() {
+        // Act
+        OffHeapModelResultStore store = build(null, "a|1");
+
+        // Assert
+        assertEquals("\"eTag\"", store.getVersion());
+        assertEquals(1.0, store.getValue());
+        assertTrue(store.getMemoryFootprintBytes() > 0);
+    }
+
+    @Test
+    void testOpen_ExistingBuffer() {
+        // Arrange
+        ByteBuffer[] buffer = new ByteBuffer[1];
+        StagedRecords records = new StagedRecords();
+        records.append("a|1");
+        OffHeapModelResultStore.build(records, "\"eTag\"", 1.0, size -> buffer[0] = ByteBuffer.allocateDirect(size), null);
+
+        // Act
+        OffHeapModelResultStore opened = OffHeapModelResultStore.open(buffer[0], null);
+
+        // Assert
+        assertEquals("\"eTag\"", opened.getVersion());
+        assertEquals(1, opened.getEntryCount());
+        assertTrue(opened.contains("a|1"));
+        assertFalse(opened.contains("b|2"));
+    }
+
+    @Test
+    void testOpen_InvalidBuffer() {
+        assertThrows(IllegalStateException.class, () -> OffHeapModelResultStore.open(ByteBuffer.allocate(64), null));
+    }
+
+    @Test
+    void testRelease_FreesDirectBuffer() {
+        // Arrange
+        BufferPoolMXBean directBufferPool = ManagementFactory.getPlatformMXBeans(BufferPoolMXBean.class).stream()
+                .filter(pool -> pool.getName().equals("direct"))
+                .findFirst()
+                .get();
+        OffHeapModelResultStore store = build(null, keys(KEY_COUNT));
+        long usedBytes = directBufferPool.getMemoryUsed();
+
+        // Act
+        store.release();
+
+        // Assert: the memory is returned without waiting for a collection of the buffer
+        assertTrue(directBufferPool.getMemoryUsed() <= usedBytes - store.getMemoryFootprintBytes());
+    }
+
+    @Test
+    void testRelease_AfterReadersDrain() {
+        // Arrange
+        AtomicInteger releaseCount = new AtomicInteger();
+        OffHeapModelResultStore store = build(releaseCount::incrementAndGet, "a|1");
+        assertTrue(store.tryAcquire());
+
+        // Act
+        store.release();
+
+        // Assert: the reader still holds a reference
+        assertEquals(0, releaseCount.get());
+        assertTrue(store.contains("a|1"));
+
+        // Act
+        store.release();
+
+        // Assert
+        assertEquals(1, releaseCount.get());
+        assertTrue(store.isReleased());
+        assertFalse(store.tryAcquire());
+        assertThrows(IllegalStateException.class, () -> store.contains("a|1"));
+        assertThrows(IllegalStateException.class, store::release);
+    }
+
+    private static OffHeapModelResultStore build(Runnable onRelease, String... keys) {
+        StagedRecords records = new StagedRecords();
+        for (String key : keys) {
+            records.append(key);
+        }
+        return OffHeapModelResultStore.build(records, "\"eTag\"", 1.0, ByteBuffer::allocateDirect, onRelease);
+    }
+
+    private static String[] keys(int count) {
+        String[] keys = new String[count];
+        for (int i = 0; i < count; i++) {
+            keys[i] = key(i);
+        }
+        return keys;
+    }
+
+    private static String key(int i) {
+        return i + "|" + (i % 7);
+    }
+}
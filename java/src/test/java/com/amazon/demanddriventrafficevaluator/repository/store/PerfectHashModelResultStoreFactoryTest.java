@@ -0,0 +1,134 @@
+// Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+// SPDX-License-Identifier: Apache-2.0
+
+package com.amazon.demanddriventrafficevaluator.repository.store;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Optional;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class PerfectHashModelResultStoreFactoryTest {
+
+    @TempDir
+    Path directory;
+
+    private PerfectHashModelResultStoreFactory factory;
+
+    @BeforeEach
+    void setUp() {
+        factory = new PerfectHashModelResultStoreFactory(directory, ForkJoinPool.commonPool());
+    }
+
+    @Test
+    void testNewBuilder_BuildsStore() {
+        // Act
+        ModelResultStore store = build(factory, "model1", "\"eTag1\"", "a|1", "b|2");
+
+        // Assert
+        assertEquals(2, store.getEntryCount());
+        assertEquals("\"eTag1\"", store.getVersion());
+        assertEquals(0.0, store.getValue());
+        assertTrue(store.contains("a|1"));
+        assertTrue(store.contains("b|2"));
+        assertFalse(store.contains("c|3"));
+        assertTrue(Files.isRegularFile(factory.getFile("model1", "\"eTag1\"")));
+    }
+
+    @Test
+    void testRestore_SameVersion() {
+        // Arrange
+        build(factory, "model1", "\"eTag1\"", "a|1", "b|2");
+
+        // Act
+        Optional<ModelResultStore> restored = factory.restore("model1", "\"eTag1\"", 0.0);
+
+        // Assert
+        assertTrue(restored.isPresent());
+        assertEquals(2, restored.get().getEntryCount());
+        assertTrue(restored.get().contains("a|1"));
+        assertTrue(restored.get().contains("b|2"));
+    }
+
+    @Test
+    void testRestore_UnknownVersion() {
+        // Arrange
+        build(factory, "model1", "\"eTag1\"", "a|1");
+
+        // Act & Assert
+        assertTrue(factory.restore("model1", "\"eTag2\"", 0.0).isEmpty());
+        assertTrue(factory.restore("model2", "\"eTag1\"", 0.0).isEmpty());
+    }
+
+    @Test
+    void testRestore_DifferentValueIsIgnored() {
+        // Arrange
+        build(factory, "model1", "\"eTag1\"", "a|1");
+
+        // Act
+        Optional<ModelResultStore> restored = factory.restore("model1", "\"eTag1\"", 1.0);
+
+        // Assert
+        assertTrue(restored.isEmpty());
+        assertFalse(Files.exists(factory.getFile("model1", "\"eTag1\"")));
+    }
+
+    @Test
+    void testRestore_CorruptedFileIsDeleted() throws IOException {
+        // Arrange
+        Path file = factory.getFile("model1", "\"eTag1\"");
+        Files.write(file, new byte[]{1, 2, 3});
+
+        // Act
+        Optional<ModelResultStore> restored = factory.restore("model1", "\"eTag1\"", 0.0);
+
+        // Assert
+        assertTrue(restored.isEmpty());
+        assertFalse(Files.exists(file));
+    }
+
+    @Test
+    void testNewBuilder_DeletesStaleVersions() {
+        // Arrange
+        build(factory, "model1", "\"eTag1\"", "a|1");
+        build(factory, "model2", "\"eTag1\"", "a|1");
+
+        // Act
+        build(factory, "model1", "\"eTag2\"", "a|1", "b|2");
+
+        // Assert
+        assertFalse(Files.exists(factory.getFile("model1", "\"eTag1\"")));
+        assertTrue(Files.exists(factory.getFile("model1", "\"eTag2\"")));
+        assertTrue(Files.exists(factory.getFile("model2", "\"eTag1\"")));
+    }
+
+    @Test
+    void testWithoutDirectory() {
+        // Arrange
+        factory = new PerfectHashModelResultStoreFactory(null, ForkJoinPool.commonPool());
+
+        // Act
+        ModelResultStore store = build(factory, "model1", "\"eTag1\"", "a|1");
+
+        // Assert
+        assertTrue(store.contains("a|1"));
+        assertTrue(factory.restore("model1", "\"eTag1\"", 0.0).isEmpty());
+    }
+
+    private static ModelResultStore build(PerfectHashModelResultStoreFactory factory, String modelIdentifier, String version, String... keys) {
+        ModelResultStoreBuilder builder = factory.newBuilder(modelIdentifier, version, 0.0);
+        for (String key : keys) {
+            builder.put(key);
+        }
+        return builder.build();
+    }
+}
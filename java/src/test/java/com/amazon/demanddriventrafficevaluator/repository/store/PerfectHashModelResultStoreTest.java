@@ -0,0 +1,161 @@
+// Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+// SPDX-License-Identifier: Apache-2.0
+
+package com.amazon.demanddriventrafficevaluator.repository.store;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class PerfectHashModelResultStoreTest {
+
+    private static final int KEY_COUNT = 100000;
+
+    private static ForkJoinPool pool;
+
+    @BeforeAll
+    static void setUpPool() {
+        pool = new ForkJoinPool(4);
+    }
+
+    @AfterAll
+    static void tearDownPool() {
+        pool.shutdown();
+    }
+
+    @Test
+    void testContains_AllMembers() {
+        // Arrange
+        long[] hashes = hashes(KEY_COUNT);
+
+        // Act
+        PerfectHashModelResultStore store = PerfectHashModelResultStore.build(hashes, KEY_COUNT, "eTag", 0.0, pool);
+
+        // Assert
+        assertEquals(KEY_COUNT, store.getEntryCount());
+        for (int i = 0; i < KEY_COUNT; i++) {
+            assertTrue(store.contains(key(i)));
+        }
+    }
+
+    @Test
+    void testContains_RejectsNonMembers() {
+        // Arrange
+        PerfectHashModelResultStore store = PerfectHashModelResultStore.build(hashes(KEY_COUNT), KEY_COUNT, "eTag", 0.0, pool);
+
+        // Act
+        int falsePositives = 0;
+        for (int i = 0; i < KEY_COUNT; i++) {
+            if (store.contains("app|banner|" + i + "|CAN")) {
+                falsePositives++;
+            }
+        }
+
+        // Assert
+        // 24-bit fingerprints reject non-members with a false-positive probability of about 6e-8
+        assertTrue(falsePositives <= 1);
+    }
+
+    @Test
+    void testMemoryFootprint_AboutThreeAndAHalfBytesPerKey() {
+        // Act
+        PerfectHashModelResultStore store = PerfectHashModelResultStore.build(hashes(KEY_COUNT), KEY_COUNT, "eTag", 0.0, pool);
+
+        // Assert
+        double bytesPerKey = (double) store.getMemoryFootprintBytes() / KEY_COUNT;
+        assertTrue(bytesPerKey > 3.0 && bytesPerKey < 4.0, "bytes per key: " + bytesPerKey);
+    }
+
+    @Test
+    void testBuild_DuplicatedKeys() {
+        // Arrange
+        long[] hashes = new long[]{
+                PerfectHashModelResultStore.hash("a|1"),
+                PerfectHashModelResultStore.hash("b|2"),
+                PerfectHashModelResultStore.hash("a|1")
+        };
+
+        // Act
+        PerfectHashModelResultStore store = PerfectHashModelResultStore.build(hashes, hashes.length, "eTag", 1.0, pool);
+
+        // Assert
+        assertEquals(2, store.getEntryCount());
+        assertTrue(store.contains("a|1"));
+        assertTrue(store.contains("b|2"));
+        assertFalse(store.contains("c|3"));
+    }
+
+    @Test
+    void testBuild_Empty() {
+        // Act
+        PerfectHashModelResultStore store = PerfectHashModelResultStore.build(new long[0], 0, "eTag", 1.0, pool);
+
+        // Assert
+        assertEquals(0, store.getEntryCount());
+        assertEquals(0, store.getLevelCount());
+        assertFalse(store.contains("a|1"));
+    }
+
+    @Test
+    void testGetters() {
+        // Act
+        PerfectHashModelResultStore store = PerfectHashModelResultStore.build(hashes(10), 10, "eTag", 1.0, pool);
+
+        // Assert
+        assertEquals("eTag", store.getVersion());
+        assertEquals(1.0, store.getValue());
+        assertTrue(store.getLevelCount() > 0);
+    }
+
+    @Test
+    void testWriteToAndReadFrom() throws IOException {
+        // Arrange
+        PerfectHashModelResultStore store = PerfectHashModelResultStore.build(hashes(KEY_COUNT), KEY_COUNT, "eTag", 1.0, pool);
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+
+        // Act
+        store.writeTo(new DataOutputStream(bytes));
+        PerfectHashModelResultStore restored = PerfectHashModelResultStore.readFrom(
+                new DataInputStream(new ByteArrayInputStream(bytes.toByteArray())));
+
+        // Assert
+        assertEquals("eTag", restored.getVersion());
+        assertEquals(1.0, restored.getValue());
+        assertEquals(store.getEntryCount(), restored.getEntryCount());
+        assertEquals(store.getMemoryFootprintBytes(), restored.getMemoryFootprintBytes());
+        for (int i = 0; i < KEY_COUNT; i++) {
+            assertTrue(restored.contains(key(i)));
+        }
+        assertFalse(restored.contains("app|banner|1|CAN"));
+    }
+
+    @Test
+    void testReadFrom_InvalidContent() {
+        DataInputStream input = new DataInputStream(new ByteArrayInputStream(new byte[]{1, 2, 3, 4, 5, 6, 7, 8}));
+        assertThrows(IOException.class, () -> PerfectHashModelResultStore.readFrom(input));
+    }
+
+    private static long[] hashes(int count) {
+        long[] hashes = new long[count];
+        for (int i = 0; i < count; i++) {
+            hashes[i] = PerfectHashModelResultStore.hash(key(i));
+        }
+        return hashes;
+    }
+
+    private static String key(int i) {
+        return "site|video|" + i + "|USA";
+    }
+}
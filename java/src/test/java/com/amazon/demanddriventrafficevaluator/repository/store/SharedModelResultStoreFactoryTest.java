@@ -0,0 +1,158 @@
+// Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+// SPDX-License-Identifier: Apache-2.0
+
+package com.amazon.demanddriventrafficevaluator.repository.store;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SharedModelResultStoreFactoryTest {
+
+    @TempDir
+    Path directory;
+
+    private SharedModelResultStoreFactory writer;
+    private SharedModelResultStoreFactory reader;
+
+    @BeforeEach
+    void setUp() {
+        writer = new SharedModelResultStoreFactory(directory);
+        reader = new SharedModelResultStoreFactory(directory);
+        // the first factory to check the lock becomes the writer
+        assertTrue(writer.isWriter());
+    }
+
+    @Test
+    void testIsWriter_OnlyOneWriter() {
+        assertFalse(reader.isWriter());
+        assertTrue(writer.isWriter());
+    }
+
+    @Test
+    void testIsSharedAcrossProcesses() {
+        assertTrue(writer.isSharedAcrossProcesses());
+        assertFalse(new OffHeapModelResultStoreFactory(null).isSharedAcrossProcesses());
+    }
+
+    @Test
+    void testNewBuilder_WriterPublishesStore() {
+        // Act
+        ModelResultStore store = build(writer, "model1", "\"eTag1\"", "a|1", "b|2");
+
+        // Assert
+        assertTrue(store.contains("a|1"));
+        assertTrue(Files.isRegularFile(writer.getManifestFile("model1")));
+        assertEquals("\"eTag1\"", reader.getPublishedStore("model1").get().getVersion());
+        assertTrue(writer.getPublishedStore("model1").isEmpty());
+        assertTrue(reader.getPublishedStore("model2").isEmpty());
+    }
+
+    @Test
+    void testNewBuilder_ManifestRecordsSourceKeyAndPublishTime() {
+        // Arrange
+        long beforePublishMs = System.currentTimeMillis();
+
+        // Act
+        ModelResultStoreBuilder builder = writer.newBuilder("model1", "\"eTag1\"", 0.0, "vendor/2024-05-20/11/model1.csv");
+        builder.put("a|1");
+        builder.build();
+
+        // Assert
+        PublishedModelResultStore published = reader.getPublishedStore("model1").get();
+        assertEquals("\"eTag1\"", published.getVersion());
+        assertEquals("vendor/2024-05-20/11/model1.csv", published.getSourceKey());
+        assertTrue(published.getPublishedAtMs() >= beforePublishMs);
+        assertTrue(published.getPublishedAtMs() <= System.currentTimeMillis());
+    }
+
+    @Test
+    void testGetPublishedStore_NoSourceKey() {
+        // Act
+        build(writer, "model1", "\"eTag1\"", "a|1");
+
+        // Assert
+        assertNull(reader.getPublishedStore("model1").get().getSourceKey());
+    }
+
+    @Test
+    void testRestore_ReaderMapsPublishedStore() {
+        // Arrange
+        build(writer, "model1", "\"eTag1\"", "a|1", "b|2");
+
+        // Act
+        Optional<ModelResultStore> restored = reader.restore("model1", "\"eTag1\"", 0.0);
+
+        // Assert
+        assertTrue(restored.isPresent());
+        assertEquals(2, restored.get().getEntryCount());
+        assertEquals("\"eTag1\"", restored.get().getVersion());
+        assertTrue(restored.get().contains("a|1"));
+        assertTrue(restored.get().contains("b|2"));
+        assertFalse(restored.get().contains("c|3"));
+    }
+
+    @Test
+    void testRestore_OtherVersionOrValue() {
+        // Arrange
+        build(writer, "model1", "\"eTag1\"", "a|1");
+
+        // Act & Assert
+        assertTrue(reader.restore("model1", "\"eTag2\"", 0.0).isEmpty());
+        assertTrue(reader.restore("model1", "\"eTag1\"", 1.0).isEmpty());
+        assertTrue(reader.restore("model2", "\"eTag1\"", 0.0).isEmpty());
+    }
+
+    @Test
+    void testNewBuilder_NewVersionReplacesSnapshot() throws IOException {
+        // Arrange
+        build(writer, "model1", "\"eTag1\"", "a|1");
+        ModelResultStore previous = reader.restore("model1", "\"eTag1\"", 0.0).get();
+
+        // Act
+        build(writer, "model1", "\"eTag2\"", "b|2");
+
+        // Assert
+        assertEquals("\"eTag2\"", reader.getPublishedStore("model1").get().getVersion());
+        assertEquals(1, countSnapshots());
+        assertTrue(reader.restore("model1", "\"eTag2\"", 0.0).get().contains("b|2"));
+        // the superseded snapshot stays readable while it is mapped
+        assertTrue(previous.contains("a|1"));
+    }
+
+    @Test
+    void testNewBuilder_ReaderBuildsPrivateStore() throws IOException {
+        // Act
+        ModelResultStore store = build(reader, "model1", "\"eTag1\"", "a|1");
+
+        // Assert
+        assertTrue(store.contains("a|1"));
+        assertEquals(0, countSnapshots());
+        assertFalse(Files.exists(reader.getManifestFile("model1")));
+    }
+
+    private long countSnapshots() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(file -> file.getFileName().toString().endsWith(".ohs")).count();
+        }
+    }
+
+    private static ModelResultStore build(SharedModelResultStoreFactory factory, String modelIdentifier, String version, String... keys) {
+        ModelResultStoreBuilder builder = factory.newBuilder(modelIdentifier, version, 0.0);
+        for (String key : keys) {
+            builder.put(key);
+        }
+        return builder.build();
+    }
+}
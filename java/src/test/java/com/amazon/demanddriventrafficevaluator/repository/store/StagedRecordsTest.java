@@ -0,0 +1,69 @@
+// Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+// SPDX-License-Identifier: Apache-2.0
+
+package com.amazon.demanddriventrafficevaluator.repository.store;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class StagedRecordsTest {
+
+    @Test
+    void testAppend_CopiesRecordsBackToBack() {
+        // Arrange
+        StagedRecords records = new StagedRecords();
+        records.append("a|1");
+        records.append("café|2");
+        ByteBuffer buffer = ByteBuffer.allocate(4 + records.getLength());
+
+        // Act
+        records.copyTo(buffer, 4);
+
+        // Assert
+        assertEquals(2, records.getCount());
+        assertEquals(2 + 3 + 2 + 7, records.getLength());
+        assertEquals(3, buffer.getShort(4));
+        assertEquals("a|1", decode(buffer, 6, 3));
+        assertEquals(7, buffer.getShort(9));
+        assertEquals("café|2", decode(buffer, 11, 7));
+    }
+
+    @Test
+    void testAppend_RecordsSpanningChunks() {
+        // Arrange
+        StagedRecords records = new StagedRecords();
+        String key = "k".repeat(60000);
+        for (int i = 0; i < 40; i++) {
+            records.append(key);
+        }
+        ByteBuffer buffer = ByteBuffer.allocate(records.getLength());
+
+        // Act
+        records.copyTo(buffer, 0);
+
+        // Assert
+        assertEquals(40 * (2 + 60000), records.getLength());
+        for (int i = 0; i < 40; i++) {
+            int position = i * (2 + 60000);
+            assertEquals(60000, buffer.getShort(position) & 0xFFFF);
+            assertEquals(key, decode(buffer, position + 2, 60000));
+        }
+    }
+
+    @Test
+    void testAppend_KeyTooLong() {
+        StagedRecords records = new StagedRecords();
+        assertThrows(IllegalStateException.class, () -> records.append("a".repeat(70000)));
+    }
+
+    private static String decode(ByteBuffer buffer, int position, int length) {
+        byte[] bytes = new byte[length];
+        buffer.get(position, bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
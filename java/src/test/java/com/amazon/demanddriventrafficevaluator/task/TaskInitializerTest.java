@@ -8,11 +8,18 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.times;
@@ -101,8 +108,264 @@ class TaskInitializerTest {
             return null;
         }).when(mockTask1).run();
 
+        // Act
+        RuntimeException exception = assertThrows(RuntimeException.class, () -> taskInitializer.init());
+
+        // Assert: the hung task is named
+        assertTrue(exception.getMessage().contains("tasks still running: [Task1]"));
+    }
+
+    @Test
+    void testInit_RunsFollowUpTasksBeyondTheNumberOfTasks() {
+        // Arrange
+        List<String> completedTasks = Collections.synchronizedList(new ArrayList<>());
+        CountDownLatch followUpTasksStarted = new CountDownLatch(2);
+        TestTask followUpTask1 = new AwaitingTask("FollowUp1", followUpTasksStarted, completedTasks);
+        TestTask followUpTask2 = new AwaitingTask("FollowUp2", followUpTasksStarted, completedTasks);
+        TestTask parentTask = new TestTask("Parent", 0L, completedTasks) {
+            @Override
+            public List<InitializerTask> getFollowUpTasks() {
+                return List.of(followUpTask1, followUpTask2);
+            }
+        };
+        taskInitializer = new TaskInitializer(List.of(parentTask), 10000);
+
+        // Act
+        taskInitializer.init();
+
+        // Assert: both follow-up tasks ran at once, although the initialization has a single task
+        assertEquals(Set.of("Parent", "FollowUp1", "FollowUp2"), Set.copyOf(completedTasks));
+    }
+
+    @Test
+    void testInit_LimitsConcurrentTasks() {
+        // Arrange
+        AtomicInteger runningTaskCount = new AtomicInteger();
+        AtomicInteger maxRunningTaskCount = new AtomicInteger();
+        List<InitializerTask> tasks = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            tasks.add(new InitializerTask("Task" + i, 1, 0L, 0L) {
+                @Override
+                public void run() {
+                    maxRunningTaskCount.accumulateAndGet(runningTaskCount.incrementAndGet(), Math::max);
+                    try {
+                        Thread.sleep(50L);
+                    } catch (InterruptedException e) {
+                        throw new RuntimeException(e);
+                    } finally {
+                        runningTaskCount.decrementAndGet();
+                    }
+                }
+            });
+        }
+        taskInitializer = new TaskInitializer(tasks, 10000, 1);
+
+        // Act
+        taskInitializer.init();
+
+        // Assert
+        assertEquals(1, maxRunningTaskCount.get());
+        assertEquals(3, taskInitializer.getTaskDurationsMs().size());
+    }
+
+    @Test
+    void testConstructor_InvalidMaxConcurrentTasks() {
+        assertThrows(IllegalArgumentException.class, () -> new TaskInitializer(List.of(mockTask1), 10000, -1));
+    }
+
+    @Test
+    void testInit_RunsTasksAfterTheirDependencies() {
+        // Arrange
+        List<String> completedTasks = Collections.synchronizedList(new ArrayList<>());
+        TestTask configurationTask = new TestTask("Configuration", 50L, completedTasks);
+        TestTask registrationTask = new TestTask("Registration", 0L, completedTasks);
+        TestTask modelResultTask = new TestTask("ModelResult", 0L, completedTasks);
+        modelResultTask.dependsOn(configurationTask);
+        taskInitializer = new TaskInitializer(List.of(modelResultTask, registrationTask, configurationTask), 10000);
+
+        // Act
+        taskInitializer.init();
+
+        // Assert
+        assertEquals(List.of("Registration", "Configuration", "ModelResult"), completedTasks);
+        assertEquals(Set.of("Configuration", "Registration", "ModelResult"), taskInitializer.getTaskDurationsMs().keySet());
+        assertTrue(taskInitializer.getTaskDurationsMs().get("Configuration") >= 50L);
+    }
+
+    @Test
+    void testInit_RunsIndependentTasksConcurrently() {
+        // Arrange
+        List<String> completedTasks = Collections.synchronizedList(new ArrayList<>());
+        TestTask slowTask = new TestTask("Slow", 300L, completedTasks);
+        TestTask fastTask = new TestTask("Fast", 0L, completedTasks);
+        TestTask dependentTask = new TestTask("Dependent", 0L, completedTasks);
+        dependentTask.dependsOn(fastTask);
+        taskInitializer = new TaskInitializer(List.of(slowTask, fastTask, dependentTask), 10000);
+
+        // Act
+        taskInitializer.init();
+
+        // Assert: the dependent task does not wait for the unrelated slow task
+        assertEquals(List.of("Fast", "Dependent", "Slow"), completedTasks);
+    }
+
+    @Test
+    void testInit_WaitsForFollowUpTasks() {
+        // Arrange
+        List<String> completedTasks = Collections.synchronizedList(new ArrayList<>());
+        TestTask followUpTask1 = new TestTask("FollowUp1", 50L, completedTasks);
+        TestTask followUpTask2 = new TestTask("FollowUp2", 100L, completedTasks);
+        TestTask parentTask = new TestTask("Parent", 0L, completedTasks) {
+            @Override
+            public List<InitializerTask> getFollowUpTasks() {
+                return List.of(followUpTask1, followUpTask2);
+            }
+        };
+        TestTask dependentTask = new TestTask("Dependent", 0L, completedTasks);
+        dependentTask.dependsOn(parentTask);
+        taskInitializer = new TaskInitializer(List.of(parentTask, dependentTask), 10000);
+
+        // Act
+        taskInitializer.init();
+
+        // Assert
+        assertEquals(List.of("Parent", "FollowUp1", "FollowUp2", "Dependent"), completedTasks);
+        assertTrue(taskInitializer.getTaskDurationsMs().containsKey("FollowUp2"));
+    }
+
+    @Test
+    void testInit_WaitsForOptionalFollowUpTasksWithinTimeout() {
+        // Arrange
+        List<String> completedTasks = Collections.synchronizedList(new ArrayList<>());
+        TestTask optionalFollowUpTask = new OptionalTestTask("OptionalFollowUp", 50L, completedTasks);
+        TestTask parentTask = new TestTask("Parent", 0L, completedTasks) {
+            @Override
+            public List<InitializerTask> getFollowUpTasks() {
+                return List.of(optionalFollowUpTask);
+            }
+        };
+        taskInitializer = new TaskInitializer(List.of(parentTask), 10000);
+
+        // Act
+        taskInitializer.init();
+
+        // Assert
+        assertEquals(List.of("Parent", "OptionalFollowUp"), completedTasks);
+    }
+
+    @Test
+    void testInit_SlowOptionalFollowUpTaskDoesNotFailInitialization() {
+        // Arrange
+        List<String> completedTasks = Collections.synchronizedList(new ArrayList<>());
+        TestTask optionalFollowUpTask = new OptionalTestTask("OptionalFollowUp", 2000L, completedTasks);
+        TestTask parentTask = new TestTask("Parent", 0L, completedTasks) {
+            @Override
+            public List<InitializerTask> getFollowUpTasks() {
+                return List.of(optionalFollowUpTask);
+            }
+        };
+        TestTask dependentTask = new TestTask("Dependent", 0L, completedTasks);
+        dependentTask.dependsOn(parentTask);
+        taskInitializer = new TaskInitializer(List.of(parentTask, dependentTask), 200);
+        long startTime = System.currentTimeMillis();
+
+        // Act
+        taskInitializer.init();
+
+        // Assert: the dependent task does not wait for the optional follow-up task either
+        assertTrue(System.currentTimeMillis() - startTime < 2000L);
+        assertEquals(List.of("Parent", "Dependent"), completedTasks);
+    }
+
+    @Test
+    void testInit_FailureStopsRunningTasks() {
+        // Arrange
+        List<String> completedTasks = Collections.synchronizedList(new ArrayList<>());
+        TestTask slowTask = new TestTask("Slow", 5000L, completedTasks);
+        TestTask failingTask = new TestTask("Failing", 0L, completedTasks) {
+            @Override
+            public void run() {
+                throw new RuntimeException("Task failed");
+            }
+        };
+        taskInitializer = new TaskInitializer(List.of(slowTask, failingTask), 10000);
+        long startTime = System.currentTimeMillis();
+
         // Act & Assert
         assertThrows(RuntimeException.class, () -> taskInitializer.init());
+        assertTrue(System.currentTimeMillis() - startTime < 5000L);
+        assertTrue(completedTasks.isEmpty());
+    }
+
+    @Test
+    void testInit_OptionalTaskFailure() {
+        // Arrange
+        List<String> completedTasks = Collections.synchronizedList(new ArrayList<>());
+        TestTask optionalTask = new TestTask("Optional", 0L, completedTasks) {
+            @Override
+            public void run() {
+                throw new RuntimeException("Task failed");
+            }
+
+            @Override
+            public boolean isOptional() {
+                return true;
+            }
+        };
+        TestTask dependentTask = new TestTask("Dependent", 0L, completedTasks);
+        dependentTask.dependsOn(optionalTask);
+        taskInitializer = new TaskInitializer(List.of(optionalTask, dependentTask), 10000);
+
+        // Act
+        taskInitializer.init();
+
+        // Assert
+        assertEquals(List.of("Dependent"), completedTasks);
+    }
+
+    @Test
+    void testInit_RequiredTaskFailureSkipsDependentTasks() {
+        // Arrange
+        List<String> completedTasks = Collections.synchronizedList(new ArrayList<>());
+        TestTask failingTask = new TestTask("Failing", 0L, completedTasks) {
+            @Override
+            public void run() {
+                throw new RuntimeException("Task failed");
+            }
+        };
+        TestTask dependentTask = new TestTask("Dependent", 0L, completedTasks);
+        dependentTask.dependsOn(failingTask);
+        taskInitializer = new TaskInitializer(List.of(failingTask, dependentTask), 10000);
+
+        // Act & Assert
+        RuntimeException exception = assertThrows(RuntimeException.class, () -> taskInitializer.init());
+        assertTrue(exception.getMessage().contains("Failing"));
+        assertTrue(completedTasks.isEmpty());
+    }
+
+    @Test
+    void testInit_DependencyCycle() {
+        // Arrange
+        TestTask task1 = new TestTask("Task1", 0L, new ArrayList<>());
+        TestTask task2 = new TestTask("Task2", 0L, new ArrayList<>());
+        task1.dependsOn(task2);
+        task2.dependsOn(task1);
+        taskInitializer = new TaskInitializer(List.of(task1, task2), 10000);
+
+        // Act & Assert
+        assertThrows(IllegalStateException.class, () -> taskInitializer.init());
+    }
+
+    @Test
+    void testInit_DependencyOutsideOfInitialization() {
+        // Arrange
+        TestTask task1 = new TestTask("Task1", 0L, new ArrayList<>());
+        TestTask task2 = new TestTask("Task2", 0L, new ArrayList<>());
+        task1.dependsOn(task2);
+        taskInitializer = new TaskInitializer(List.of(task1), 10000);
+
+        // Act & Assert
+        assertThrows(IllegalStateException.class, () -> taskInitializer.init());
     }
 
     @Test
@@ -159,4 +422,61 @@ class TaskInitializerTest {
         assertEquals(400, TaskInitializer.calculateDelay(4, 200, 10, 1000));
         assertEquals(1000, TaskInitializer.calculateDelay(5, 800, 10, 1000));
     }
+
+    private static class OptionalTestTask extends TestTask {
+        private OptionalTestTask(String name, long durationMs, List<String> completedTasks) {
+            super(name, durationMs, completedTasks);
+        }
+
+        @Override
+        public boolean isOptional() {
+            return true;
+        }
+    }
+
+    private static class TestTask extends InitializerTask {
+        private final long durationMs;
+        private final List<String> completedTasks;
+
+        private TestTask(String name, long durationMs, List<String> completedTasks) {
+            super(name, 1, 0L, 0L);
+            this.durationMs = durationMs;
+            this.completedTasks = completedTasks;
+        }
+
+        @Override
+        public void run() {
+            try {
+                Thread.sleep(durationMs);
+            } catch (InterruptedException e) {
+                throw new RuntimeException(e);
+            }
+            completedTasks.add(getName());
+        }
+    }
+
+    /**
+     * A task that completes only once all the tasks sharing its latch are running.
+     */
+    private static class AwaitingTask extends TestTask {
+        private final CountDownLatch started;
+
+        private AwaitingTask(String name, CountDownLatch started, List<String> completedTasks) {
+            super(name, 0L, completedTasks);
+            this.started = started;
+        }
+
+        @Override
+        public void run() {
+            started.countDown();
+            try {
+                if (!started.await(5L, TimeUnit.SECONDS)) {
+                    throw new IllegalStateException("Task " + getName() + " did not run concurrently");
+                }
+            } catch (InterruptedException e) {
+                throw new RuntimeException(e);
+            }
+            super.run();
+        }
+    }
 }
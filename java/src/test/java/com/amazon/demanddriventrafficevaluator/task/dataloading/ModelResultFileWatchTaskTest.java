@@ -0,0 +1,206 @@
+// Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+// SPDX-License-Identifier: Apache-2.0
+
+package com.amazon.demanddriventrafficevaluator.task.dataloading;
+
+import com.amazon.demanddriventrafficevaluator.repository.dao.FileSystemObjectDao;
+import com.amazon.demanddriventrafficevaluator.repository.entity.ModelConfiguration;
+import com.amazon.demanddriventrafficevaluator.repository.entity.ModelDefinition;
+import com.amazon.demanddriventrafficevaluator.repository.loader.model.RuleBasedModelResultLoader;
+import com.amazon.demanddriventrafficevaluator.repository.provider.configuration.ConfigurationProvider;
+import com.amazon.demanddriventrafficevaluator.util.PropertiesUtil;
+import com.google.common.util.concurrent.MoreExecutors;
+import org.apache.commons.configuration2.Configuration;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.MockedStatic;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.any;
+import static org.mockito.Mockito.anyLong;
+import static org.mockito.Mockito.argThat;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.eq;
+import static org.mockito.Mockito.mockStatic;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ModelResultFileWatchTaskTest {
+
+    private static final Instant HOUR_START = Instant.parse("2023-05-20T11:00:00Z");
+
+    @TempDir
+    Path rootDirectory;
+
+    @Mock
+    private ScheduledThreadPoolExecutor mockExecutor;
+
+    @Mock
+    private ConfigurationProvider<ModelConfiguration> mockModelConfigurationProvider;
+
+    @Mock
+    private RuleBasedModelResultLoader mockModelResultLoader;
+
+    @Mock
+    private ModelConfiguration mockModelConfiguration;
+
+    @Mock
+    private Configuration mockFileSharingS3BucketProperties;
+
+    @Mock
+    private ScheduledFuture<?> mockScheduledFuture;
+
+    private MockedStatic<PropertiesUtil> mockPropertiesUtil;
+
+    private Path vendorDirectory;
+
+    private ModelResultFileWatchTask task;
+
+    @BeforeEach
+    void setUp() {
+        mockPropertiesUtil = mockStatic(PropertiesUtil.class);
+        vendorDirectory = rootDirectory.resolve("testBucket").resolve("testSSP");
+        task = new ModelResultFileWatchTask(
+                "testSSP",
+                "TestTask",
+                mockExecutor,
+                mockModelConfigurationProvider,
+                mockModelResultLoader,
+                new FileSystemObjectDao(rootDirectory),
+                "test-bucket",
+                MoreExecutors.newDirectExecutorService(),
+                50
+        );
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        task.close();
+        mockPropertiesUtil.close();
+    }
+
+    @Test
+    void testOnFileChanged_LoadsModelAfterDebounce() {
+        initializeTask();
+        givenModels("model1");
+        ArgumentCaptor<Runnable> loadCaptor = ArgumentCaptor.forClass(Runnable.class);
+
+        // Act
+        task.onFileChanged(vendorDirectory.resolve("2023-05-20/11/model1.csv"));
+
+        // Assert
+        verify(mockExecutor).schedule(loadCaptor.capture(), eq(50L), eq(TimeUnit.MILLISECONDS));
+        loadCaptor.getValue().run();
+        verify(mockModelResultLoader).prefetch(argThat(input -> input.getModelIdentifier().equals("model1")
+                && input.getS3Bucket().equals("testBucket")
+                && input.getS3ObjectKey().equals("model1.csv")
+                && input.getVendor().equals("testSSP")), eq(HOUR_START));
+    }
+
+    @Test
+    void testOnFileChanged_IgnoresOtherFiles() {
+        initializeTask();
+
+        // Act
+        task.onFileChanged(vendorDirectory.resolve("2023-05-20/11/.model1.csv.Ab12Cd"));
+        task.onFileChanged(vendorDirectory.resolve("2023-05-20/11/model1.txt"));
+        task.onFileChanged(vendorDirectory.resolve("2023-05-20/model1.csv"));
+        task.onFileChanged(vendorDirectory.resolve("2023-05-20/24/model1.csv"));
+        task.onFileChanged(vendorDirectory.resolve("latest/11/model1.csv"));
+
+        // Assert
+        verify(mockExecutor, never()).schedule(any(Runnable.class), anyLong(), any(TimeUnit.class));
+    }
+
+    @Test
+    void testOnFileChanged_ReplacesPendingLoad() {
+        initializeTask();
+        doReturn(mockScheduledFuture).when(mockExecutor).schedule(any(Runnable.class), anyLong(), any(TimeUnit.class));
+
+        // Act
+        task.onFileChanged(vendorDirectory.resolve("2023-05-20/11/model1.csv"));
+        task.onFileChanged(vendorDirectory.resolve("2023-05-20/11/model1.csv"));
+
+        // Assert
+        verify(mockExecutor, times(2)).schedule(any(Runnable.class), eq(50L), eq(TimeUnit.MILLISECONDS));
+        verify(mockScheduledFuture).cancel(false);
+    }
+
+    @Test
+    void testOnFileChanged_IgnoresUnknownModels() {
+        initializeTask();
+        givenModels("model2");
+        ArgumentCaptor<Runnable> loadCaptor = ArgumentCaptor.forClass(Runnable.class);
+
+        // Act
+        task.onFileChanged(vendorDirectory.resolve("2023-05-20/11/model1.csv"));
+        verify(mockExecutor).schedule(loadCaptor.capture(), eq(50L), eq(TimeUnit.MILLISECONDS));
+        loadCaptor.getValue().run();
+
+        // Assert
+        verify(mockModelResultLoader, never()).prefetch(any(), any());
+    }
+
+    @Test
+    void testInitialize_HandlesExistingFiles() throws IOException {
+        Path hourDirectory = Files.createDirectories(vendorDirectory.resolve("2023-05-20/11"));
+        Files.writeString(hourDirectory.resolve("model1.csv"), "key,value\n");
+
+        // Act
+        initializeTask();
+
+        // Assert
+        verify(mockExecutor).schedule(any(Runnable.class), eq(50L), eq(TimeUnit.MILLISECONDS));
+    }
+
+    @Test
+    void testConstructor_NegativeDebounce() {
+        assertThrows(IllegalArgumentException.class, () -> new ModelResultFileWatchTask(
+                "testSSP",
+                "TestTask",
+                mockExecutor,
+                mockModelConfigurationProvider,
+                mockModelResultLoader,
+                new FileSystemObjectDao(rootDirectory),
+                "test-bucket",
+                MoreExecutors.newDirectExecutorService(),
+                -1
+        ));
+    }
+
+    private void initializeTask() {
+        mockPropertiesUtil.when(PropertiesUtil::getFileSharingS3BucketProperties).thenReturn(mockFileSharingS3BucketProperties);
+        when(mockFileSharingS3BucketProperties.getString("adsp", "test-bucket")).thenReturn("testBucket");
+        task.initialize();
+    }
+
+    private void givenModels(String... modelIdentifiers) {
+        Map<String, ModelDefinition> modelDefinitions = new HashMap<>();
+        for (String modelIdentifier : modelIdentifiers) {
+            ModelDefinition modelDefinition = new ModelDefinition();
+            modelDefinition.setIdentifier(modelIdentifier);
+            modelDefinitions.put(modelIdentifier, modelDefinition);
+        }
+        when(mockModelConfigurationProvider.provide()).thenReturn(mockModelConfiguration);
+        when(mockModelConfiguration.getModelDefinitionByIdentifier()).thenReturn(modelDefinitions);
+    }
+}
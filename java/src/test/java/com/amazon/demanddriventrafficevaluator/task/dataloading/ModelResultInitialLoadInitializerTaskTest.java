@@ -0,0 +1,112 @@
+// Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+// SPDX-License-Identifier: Apache-2.0
+
+package com.amazon.demanddriventrafficevaluator.task.dataloading;
+
+import com.amazon.demanddriventrafficevaluator.repository.entity.ModelConfiguration;
+import com.amazon.demanddriventrafficevaluator.repository.entity.ModelDefinition;
+import com.amazon.demanddriventrafficevaluator.repository.loader.DefaultLoader;
+import com.amazon.demanddriventrafficevaluator.repository.loader.model.ModelResultLoaderInput;
+import com.amazon.demanddriventrafficevaluator.repository.provider.configuration.ConfigurationProvider;
+import com.amazon.demanddriventrafficevaluator.task.InitializerTask;
+import com.amazon.demanddriventrafficevaluator.util.PropertiesUtil;
+import org.apache.commons.configuration2.Configuration;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.MockedStatic;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.any;
+import static org.mockito.Mockito.mockStatic;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ModelResultInitialLoadInitializerTaskTest {
+
+    @Mock
+    private ConfigurationProvider<ModelConfiguration> mockModelConfigurationProvider;
+
+    @Mock
+    private DefaultLoader<ModelResultLoaderInput> mockModelResultLoader;
+
+    @Mock
+    private ModelConfiguration mockModelConfiguration;
+
+    @Mock
+    private Configuration mockFileSharingS3BucketProperties;
+
+    private ModelResultInitialLoadInitializerTask task;
+
+    @BeforeEach
+    void setUp() {
+        task = new ModelResultInitialLoadInitializerTask(
+                "testSSP",
+                "TestTask",
+                3,
+                100,
+                1000,
+                mockModelConfigurationProvider,
+                mockModelResultLoader,
+                "test-bucket"
+        );
+    }
+
+    @Test
+    void testRun_CreatesOneLoadTaskPerModel() {
+        try (MockedStatic<PropertiesUtil> mockPropertiesUtil = mockStatic(PropertiesUtil.class)) {
+            mockPropertiesUtil.when(PropertiesUtil::getFileSharingS3BucketProperties).thenReturn(mockFileSharingS3BucketProperties);
+            // Arrange
+            Map<String, ModelDefinition> modelDefinitions = new LinkedHashMap<>();
+            ModelDefinition modelDef1 = new ModelDefinition();
+            modelDef1.setIdentifier("model1");
+            ModelDefinition modelDef2 = new ModelDefinition();
+            modelDef2.setIdentifier("model2");
+            modelDefinitions.put("model1", modelDef1);
+            modelDefinitions.put("model2", modelDef2);
+            when(mockModelConfigurationProvider.provide()).thenReturn(mockModelConfiguration);
+            when(mockModelConfiguration.getModelDefinitionByIdentifier()).thenReturn(modelDefinitions);
+            when(mockFileSharingS3BucketProperties.getString("adsp", "test-bucket")).thenReturn("testBucket");
+
+            // Act
+            task.run();
+
+            // Assert
+            List<InitializerTask> followUpTasks = task.getFollowUpTasks();
+            assertEquals(2, followUpTasks.size());
+            assertEquals("TestTask:model1", followUpTasks.get(0).getName());
+            assertEquals(3, followUpTasks.get(0).getMaximumAttempts());
+            assertTrue(followUpTasks.get(0).isOptional());
+            verify(mockModelResultLoader, never()).load(any());
+
+            followUpTasks.get(1).run();
+            ArgumentCaptor<ModelResultLoaderInput> inputCaptor = ArgumentCaptor.forClass(ModelResultLoaderInput.class);
+            verify(mockModelResultLoader).load(inputCaptor.capture());
+            assertEquals("testBucket", inputCaptor.getValue().getS3Bucket());
+            assertEquals("model2.csv", inputCaptor.getValue().getS3ObjectKey());
+            assertEquals("model2", inputCaptor.getValue().getModelIdentifier());
+            assertEquals("testSSP", inputCaptor.getValue().getVendor());
+        }
+    }
+
+    @Test
+    void testRun_WithoutModelConfiguration() {
+        // Arrange
+        when(mockModelConfigurationProvider.provide()).thenThrow(new IllegalStateException("Cannot get Model Configuration from the cache"));
+
+        // Act & Assert
+        assertThrows(IllegalStateException.class, () -> task.run());
+        assertTrue(task.getFollowUpTasks().isEmpty());
+    }
+}
@@ -21,13 +21,20 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.concurrent.ScheduledThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.Mockito.any;
 import static org.mockito.Mockito.anyLong;
+import static org.mockito.Mockito.argThat;
 import static org.mockito.Mockito.eq;
 import static org.mockito.Mockito.mockStatic;
 import static org.mockito.Mockito.never;
@@ -144,6 +151,125 @@ class ModelResultPeriodicLoadingTaskTest {
         assertThrows(RuntimeException.class, () -> task.executeTask());
     }
 
+    @Test
+    void testExecuteTask_LoadsModelsConcurrently() {
+        ExecutorService modelLoadingExecutor = Executors.newFixedThreadPool(2);
+        try (MockedStatic<PropertiesUtil> mockPropertiesUtil = mockStatic(PropertiesUtil.class)) {
+            mockPropertiesUtil.when(PropertiesUtil::getFileSharingS3BucketProperties).thenReturn(mockFileSharingS3BucketProperties);
+            givenModels("model1", "model2");
+            // every load waits for the other one, so they can only complete when they run concurrently
+            CountDownLatch bothLoading = new CountDownLatch(2);
+            when(mockModelResultLoader.load(any())).thenAnswer(invocation -> {
+                bothLoading.countDown();
+                return bothLoading.await(5, TimeUnit.SECONDS);
+            });
+            task = newConcurrentTask(mockExecutor, modelLoadingExecutor, ModelResultPeriodicLoadingTask.NO_MODEL_LOAD_TIMEOUT);
+
+            task.executeTask();
+
+            verify(mockModelResultLoader, times(2)).load(any());
+            assertEquals(0, bothLoading.getCount());
+        } finally {
+            modelLoadingExecutor.shutdownNow();
+        }
+    }
+
+    @Test
+    void testExecuteTask_FailingModelDoesNotAffectOthers() {
+        ExecutorService modelLoadingExecutor = Executors.newFixedThreadPool(2);
+        try (MockedStatic<PropertiesUtil> mockPropertiesUtil = mockStatic(PropertiesUtil.class)) {
+            mockPropertiesUtil.when(PropertiesUtil::getFileSharingS3BucketProperties).thenReturn(mockFileSharingS3BucketProperties);
+            givenModels("model1", "model2");
+            when(mockModelResultLoader.load(argThat(input -> input != null && input.getModelIdentifier().equals("model1"))))
+                    .thenThrow(new IllegalStateException("Test exception"));
+            when(mockModelResultLoader.load(argThat(input -> input != null && input.getModelIdentifier().equals("model2"))))
+                    .thenReturn(true);
+            task = newConcurrentTask(mockExecutor, modelLoadingExecutor, ModelResultPeriodicLoadingTask.NO_MODEL_LOAD_TIMEOUT);
+
+            task.executeTask();
+
+            verify(mockModelResultLoader, times(2)).load(any());
+        } finally {
+            modelLoadingExecutor.shutdownNow();
+        }
+    }
+
+    @Test
+    void testExecuteTask_CancelsModelLoadOnTimeout() {
+        ScheduledThreadPoolExecutor executor = new ScheduledThreadPoolExecutor(1);
+        ExecutorService modelLoadingExecutor = Executors.newFixedThreadPool(2);
+        try (MockedStatic<PropertiesUtil> mockPropertiesUtil = mockStatic(PropertiesUtil.class)) {
+            mockPropertiesUtil.when(PropertiesUtil::getFileSharingS3BucketProperties).thenReturn(mockFileSharingS3BucketProperties);
+            givenModels("model1");
+            when(mockModelResultLoader.isInterruptible(any())).thenReturn(true);
+            AtomicBoolean interrupted = new AtomicBoolean(false);
+            when(mockModelResultLoader.load(any())).thenAnswer(invocation -> {
+                try {
+                    Thread.sleep(10000);
+                } catch (InterruptedException e) {
+                    interrupted.set(true);
+                }
+                return false;
+            });
+            task = newConcurrentTask(executor, modelLoadingExecutor, 100);
+
+            long start = System.nanoTime();
+            task.executeTask();
+
+            assertTrue(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) < 5000);
+            modelLoadingExecutor.shutdown();
+            assertTrue(modelLoadingExecutor.awaitTermination(5, TimeUnit.SECONDS));
+            assertTrue(interrupted.get());
+        } catch (InterruptedException e) {
+            throw new AssertionError(e);
+        } finally {
+            modelLoadingExecutor.shutdownNow();
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void testExecuteTask_LetsUninterruptibleModelLoadCompleteOnTimeout() {
+        ScheduledThreadPoolExecutor executor = new ScheduledThreadPoolExecutor(1);
+        ExecutorService modelLoadingExecutor = Executors.newFixedThreadPool(2);
+        try (MockedStatic<PropertiesUtil> mockPropertiesUtil = mockStatic(PropertiesUtil.class)) {
+            mockPropertiesUtil.when(PropertiesUtil::getFileSharingS3BucketProperties).thenReturn(mockFileSharingS3BucketProperties);
+            givenModels("model1");
+            when(mockModelResultLoader.isInterruptible(any())).thenReturn(false);
+            AtomicBoolean interrupted = new AtomicBoolean(false);
+            AtomicBoolean completed = new AtomicBoolean(false);
+            when(mockModelResultLoader.load(any())).thenAnswer(invocation -> {
+                try {
+                    Thread.sleep(500);
+                    completed.set(true);
+                } catch (InterruptedException e) {
+                    interrupted.set(true);
+                }
+                return true;
+            });
+            task = newConcurrentTask(executor, modelLoadingExecutor, 100);
+
+            task.executeTask();
+
+            // the task waits for the load past its timeout, without interrupting it
+            assertTrue(completed.get());
+            assertFalse(interrupted.get());
+        } finally {
+            modelLoadingExecutor.shutdownNow();
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void testConstructor_WithNegativeModelLoadTimeout() {
+        ExecutorService modelLoadingExecutor = Executors.newSingleThreadExecutor();
+        try {
+            assertThrows(IllegalArgumentException.class, () -> newConcurrentTask(mockExecutor, modelLoadingExecutor, -1));
+        } finally {
+            modelLoadingExecutor.shutdownNow();
+        }
+    }
+
     @Test
     void testInitialize() {
         // Act
@@ -152,4 +278,31 @@ class ModelResultPeriodicLoadingTaskTest {
         // Assert
         verify(mockExecutor).scheduleAtFixedRate(any(Runnable.class), anyLong(), eq(5000L), eq(TimeUnit.MILLISECONDS));
     }
+
+    private void givenModels(String... modelIdentifiers) {
+        Map<String, ModelDefinition> modelDefinitions = new HashMap<>();
+        for (String modelIdentifier : modelIdentifiers) {
+            ModelDefinition modelDefinition = new ModelDefinition();
+            modelDefinition.setIdentifier(modelIdentifier);
+            modelDefinitions.put(modelIdentifier, modelDefinition);
+        }
+        when(mockModelConfigurationProvider.provide()).thenReturn(mockModelConfiguration);
+        when(mockModelConfiguration.getModelDefinitionByIdentifier()).thenReturn(modelDefinitions);
+        when(mockFileSharingS3BucketProperties.getString("adsp", "test-bucket")).thenReturn("testBucket");
+    }
+
+    private ModelResultPeriodicLoadingTask newConcurrentTask(
+            ScheduledThreadPoolExecutor executor, ExecutorService modelLoadingExecutor, long modelLoadTimeoutMs) {
+        return new ModelResultPeriodicLoadingTask(
+                "testSSP",
+                "TestTask",
+                5000,
+                executor,
+                mockModelConfigurationProvider,
+                mockModelResultLoader,
+                "test-bucket",
+                modelLoadingExecutor,
+                modelLoadTimeoutMs
+        );
+    }
 }
@@ -0,0 +1,171 @@
+// Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+// SPDX-License-Identifier: Apache-2.0
+
+package com.amazon.demanddriventrafficevaluator.task.dataloading;
+
+import com.amazon.demanddriventrafficevaluator.repository.entity.ModelConfiguration;
+import com.amazon.demanddriventrafficevaluator.repository.entity.ModelDefinition;
+import com.amazon.demanddriventrafficevaluator.repository.loader.model.ModelResultLoaderInput;
+import com.amazon.demanddriventrafficevaluator.repository.loader.model.ModelResultPrefetchResult;
+import com.amazon.demanddriventrafficevaluator.repository.loader.model.RuleBasedModelResultLoader;
+import com.amazon.demanddriventrafficevaluator.repository.provider.configuration.ConfigurationProvider;
+import com.amazon.demanddriventrafficevaluator.util.PropertiesUtil;
+import com.google.common.util.concurrent.MoreExecutors;
+import org.apache.commons.configuration2.Configuration;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.MockedStatic;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.any;
+import static org.mockito.Mockito.argThat;
+import static org.mockito.Mockito.eq;
+import static org.mockito.Mockito.mockStatic;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ModelResultPrefetchTaskTest {
+
+    private static final Instant HOUR_START = Instant.parse("2023-05-20T11:00:00Z");
+
+    @Mock
+    private ScheduledThreadPoolExecutor mockExecutor;
+
+    @Mock
+    private ConfigurationProvider<ModelConfiguration> mockModelConfigurationProvider;
+
+    @Mock
+    private RuleBasedModelResultLoader mockModelResultLoader;
+
+    @Mock
+    private ModelConfiguration mockModelConfiguration;
+
+    @Mock
+    private Configuration mockFileSharingS3BucketProperties;
+
+    private ModelResultPrefetchTask task;
+
+    @BeforeEach
+    void setUp() {
+        task = new ModelResultPrefetchTask(
+                "testSSP",
+                "TestTask",
+                10000,
+                mockExecutor,
+                mockModelConfigurationProvider,
+                mockModelResultLoader,
+                "test-bucket",
+                MoreExecutors.newDirectExecutorService(),
+                300000,
+                600000
+        );
+    }
+
+    @Test
+    void testStartWindow_SchedulesSwitchAtHourStart() {
+        try (MockedStatic<PropertiesUtil> mockPropertiesUtil = mockStatic(PropertiesUtil.class)) {
+            mockPropertiesUtil.when(PropertiesUtil::getFileSharingS3BucketProperties).thenReturn(mockFileSharingS3BucketProperties);
+            givenModels("model1");
+            when(mockModelResultLoader.prefetch(any(), eq(HOUR_START))).thenReturn(ModelResultPrefetchResult.Staged);
+
+            // Act
+            task.startWindow(HOUR_START, HOUR_START.minusSeconds(60));
+
+            // Assert
+            assertEquals(HOUR_START, task.getHourStart());
+            verify(mockExecutor).schedule(any(Runnable.class), eq(60000L), eq(TimeUnit.MILLISECONDS));
+            verify(mockModelResultLoader).prefetch(argThat(input -> input.getModelIdentifier().equals("model1")
+                    && input.getS3Bucket().equals("testBucket")
+                    && input.getS3ObjectKey().equals("model1.csv")), eq(HOUR_START));
+        }
+    }
+
+    @Test
+    void testPoll_SkipsPrefetchedModels() {
+        try (MockedStatic<PropertiesUtil> mockPropertiesUtil = mockStatic(PropertiesUtil.class)) {
+            mockPropertiesUtil.when(PropertiesUtil::getFileSharingS3BucketProperties).thenReturn(mockFileSharingS3BucketProperties);
+            givenModels("model1", "model2");
+            when(mockModelResultLoader.prefetch(argThat(input -> input != null && input.getModelIdentifier().equals("model1")), eq(HOUR_START)))
+                    .thenReturn(ModelResultPrefetchResult.Staged);
+            when(mockModelResultLoader.prefetch(argThat(input -> input != null && input.getModelIdentifier().equals("model2")), eq(HOUR_START)))
+                    .thenReturn(ModelResultPrefetchResult.Unavailable, ModelResultPrefetchResult.Live);
+            task.startWindow(HOUR_START, HOUR_START.minusSeconds(60));
+
+            // Act
+            boolean secondPollComplete = task.poll();
+            boolean thirdPollComplete = task.poll();
+
+            // Assert
+            assertFalse(secondPollComplete);
+            assertTrue(thirdPollComplete);
+            verify(mockModelResultLoader, times(1)).prefetch(argThat(input -> input.getModelIdentifier().equals("model1")), eq(HOUR_START));
+            verify(mockModelResultLoader, times(2)).prefetch(argThat(input -> input.getModelIdentifier().equals("model2")), eq(HOUR_START));
+        }
+    }
+
+    @Test
+    void testPoll_FailingModelDoesNotAffectOthers() {
+        try (MockedStatic<PropertiesUtil> mockPropertiesUtil = mockStatic(PropertiesUtil.class)) {
+            mockPropertiesUtil.when(PropertiesUtil::getFileSharingS3BucketProperties).thenReturn(mockFileSharingS3BucketProperties);
+            givenModels("model1", "model2");
+            when(mockModelResultLoader.prefetch(argThat(input -> input != null && input.getModelIdentifier().equals("model1")), eq(HOUR_START)))
+                    .thenThrow(new IllegalStateException("Test exception"));
+            when(mockModelResultLoader.prefetch(argThat(input -> input != null && input.getModelIdentifier().equals("model2")), eq(HOUR_START)))
+                    .thenReturn(ModelResultPrefetchResult.Staged);
+
+            // Act
+            task.startWindow(HOUR_START, HOUR_START.minusSeconds(60));
+
+            // Assert
+            verify(mockModelResultLoader, times(2)).prefetch(any(), eq(HOUR_START));
+            assertFalse(task.poll());
+        }
+    }
+
+    @Test
+    void testExecuteTask_NotInitialized() {
+        assertThrows(IllegalStateException.class, () -> task.executeTask());
+    }
+
+    @Test
+    void testConstructor_WithInvalidWindow() {
+        assertThrows(IllegalArgumentException.class, () -> new ModelResultPrefetchTask(
+                "testSSP",
+                "TestTask",
+                10000,
+                mockExecutor,
+                mockModelConfigurationProvider,
+                mockModelResultLoader,
+                "test-bucket",
+                MoreExecutors.newDirectExecutorService(),
+                1800000,
+                1800000
+        ));
+    }
+
+    private void givenModels(String... modelIdentifiers) {
+        Map<String, ModelDefinition> modelDefinitions = new HashMap<>();
+        for (String modelIdentifier : modelIdentifiers) {
+            ModelDefinition modelDefinition = new ModelDefinition();
+            modelDefinition.setIdentifier(modelIdentifier);
+            modelDefinitions.put(modelIdentifier, modelDefinition);
+        }
+        when(mockModelConfigurationProvider.provide()).thenReturn(mockModelConfiguration);
+        when(mockModelConfiguration.getModelDefinitionByIdentifier()).thenReturn(modelDefinitions);
+        when(mockFileSharingS3BucketProperties.getString("adsp", "test-bucket")).thenReturn("testBucket");
+    }
+}
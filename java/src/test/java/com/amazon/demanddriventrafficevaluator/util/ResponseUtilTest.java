@@ -62,6 +62,24 @@ class ResponseUtilTest {
         assertTrue(slot.getExt().contains("\"decision\":0.7"));
     }
 
+    @Test
+    void testBuildSlotsPerImpression() {
+        // Arrange
+        List<AggregatedModelEvaluationResult> aggregatedResults = List.of(
+                AggregatedModelEvaluationResult.builder().score(0.0).scoreWithTreatment(0.0).build(),
+                AggregatedModelEvaluationResult.builder().score(1.0).scoreWithTreatment(1.0).build());
+
+        // Act
+        List<Slot> slots = ResponseUtil.buildSlots(aggregatedResults);
+
+        // Assert
+        assertEquals(2, slots.size());
+        assertEquals(0.0, slots.get(0).getFilterDecision());
+        assertTrue(slots.get(0).getExt().contains("\"decision\":0.0"));
+        assertEquals(1.0, slots.get(1).getFilterDecision());
+        assertTrue(slots.get(1).getExt().contains("\"decision\":1.0"));
+    }
+
     @Test
     void testBuildExtension() throws Exception {
         // Arrange